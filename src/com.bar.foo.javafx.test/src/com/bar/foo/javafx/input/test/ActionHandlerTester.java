@@ -0,0 +1,145 @@
+package com.bar.foo.javafx.input.test;
+
+import static com.bar.foo.math.test.AllocationMeter.assertBudget;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javafx.event.EventType;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+
+import org.junit.Test;
+
+import com.bar.foo.javafx.IFrameRateManager;
+import com.bar.foo.javafx.input.KeyActionHandler;
+import com.bar.foo.javafx.input.KeyAnalogAction;
+import com.bar.foo.javafx.input.KeyToggleAction;
+
+/**
+ * This class checks the event dispatch provided by
+ * {@link com.bar.foo.javafx.input.ActionHandler}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class ActionHandlerTester {
+
+	/**
+	 * The number of times the test toggle action was pressed.
+	 */
+	private int pressed = 0;
+	/**
+	 * The number of times the test toggle action was released.
+	 */
+	private int released = 0;
+	/**
+	 * The sum of the values passed to the test analog action.
+	 */
+	private float analogTotal = 0f;
+
+	/**
+	 * This checks that events are dispatched to the toggle and analog actions
+	 * registered for their trigger.
+	 */
+	@Test
+	public void checkHandle() {
+		KeyActionHandler handler = createHandler();
+		KeyEvent press = createEvent(KeyEvent.KEY_PRESSED, KeyCode.W);
+		KeyEvent release = createEvent(KeyEvent.KEY_RELEASED, KeyCode.W);
+		KeyEvent other = createEvent(KeyEvent.KEY_PRESSED, KeyCode.S);
+
+		// Toggles only fire when the state changes. Analogs always fire.
+		handler.handle(press);
+		handler.handle(press);
+		assertEquals(1, pressed);
+		assertEquals(0, released);
+		assertEquals(2f, analogTotal, 0f);
+		assertTrue(press.isConsumed());
+
+		handler.handle(release);
+		assertEquals(1, pressed);
+		assertEquals(1, released);
+		assertEquals(2f, analogTotal, 0f);
+
+		// Other triggers are ignored.
+		handler.handle(other);
+		assertEquals(1, pressed);
+		assertEquals(2f, analogTotal, 0f);
+
+		return;
+	}
+
+	/**
+	 * This checks that handling an event creates no objects.
+	 */
+	@Test
+	public void checkHandleAllocation() {
+		final KeyActionHandler handler = createHandler();
+		final KeyEvent press = createEvent(KeyEvent.KEY_PRESSED, KeyCode.W);
+		final KeyEvent release = createEvent(KeyEvent.KEY_RELEASED, KeyCode.W);
+
+		assertBudget("ActionHandler.handle", 0, new Runnable() {
+			@Override
+			public void run() {
+				handler.handle(press);
+				handler.handle(release);
+			}
+		});
+		return;
+	}
+
+	// ---- Utility methods ---- //
+	/**
+	 * Creates a handler with one toggle and one analog action registered for
+	 * {@link KeyCode#W}. The actions update the counters in this tester.
+	 *
+	 * @return The new handler.
+	 */
+	private KeyActionHandler createHandler() {
+		KeyActionHandler handler = new KeyActionHandler(
+				new IFrameRateManager() {
+					@Override
+					public float getFPS() {
+						return 60f;
+					}
+
+					@Override
+					public float getTPF() {
+						return 1f / 60f;
+					}
+				});
+		handler.addToggle(KeyCode.W, new KeyToggleAction() {
+			@Override
+			public void pressed(float timePerFrame, KeyEvent event) {
+				pressed++;
+			}
+
+			@Override
+			public void released(float timePerFrame, KeyEvent event) {
+				released++;
+			}
+		});
+		handler.addAnalog(KeyCode.W, new KeyAnalogAction() {
+			@Override
+			public void run(float value, float timePerFrame, KeyEvent event) {
+				analogTotal += value;
+			}
+		});
+		return handler;
+	}
+
+	/**
+	 * Creates a key event without modifiers.
+	 *
+	 * @param type
+	 *            The type of key event.
+	 * @param code
+	 *            The key code.
+	 * @return The new event.
+	 */
+	private static KeyEvent createEvent(EventType<KeyEvent> type,
+			KeyCode code) {
+		return new KeyEvent(type, "", "", code, false, false, false, false);
+	}
+	// ------------------------- //
+}
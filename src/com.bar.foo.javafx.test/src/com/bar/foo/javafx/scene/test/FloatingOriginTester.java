@@ -0,0 +1,146 @@
+package com.bar.foo.javafx.scene.test;
+
+import static com.bar.foo.math.test.AllocationMeter.assertBudget;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.bar.foo.javafx.scene.FloatingOrigin;
+import com.bar.foo.javafx.scene.GeneralTransform;
+import com.bar.foo.math.Vector3d;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the camera-relative positioning provided by
+ * {@link FloatingOrigin}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class FloatingOriginTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-6;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "FloatingOriginTester failure: ";
+
+	/**
+	 * This checks registering and removing transforms.
+	 */
+	@Test
+	public void checkRegistration() {
+		FloatingOrigin origin = new FloatingOrigin();
+		try {
+			new FloatingOrigin(-1.0);
+			fail(failurePrefix + "Exception not thrown for negative distance.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			origin.add(null, new Vector3d());
+			fail(failurePrefix + "Exception not thrown for null transform.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+
+		// Register enough transforms to grow the registry.
+		GeneralTransform[] transforms = new GeneralTransform[40];
+		int[] handles = new int[transforms.length];
+		for (int i = 0; i < transforms.length; i++) {
+			transforms[i] = new GeneralTransform();
+			handles[i] = origin.add(transforms[i], new Vector3d(i, 0.0, 0.0));
+		}
+		assertEquals(transforms.length, origin.size());
+		assertEquals(3.0, origin.getPosition(handles[3], null).x, 0.0);
+
+		// Removed handles are re-used.
+		assertSame(transforms[5], origin.remove(handles[5]));
+		assertEquals(transforms.length - 1, origin.size());
+		try {
+			origin.setPosition(handles[5], new Vector3d());
+			fail(failurePrefix + "Exception not thrown for removed handle.");
+		} catch (IndexOutOfBoundsException e) {
+			// Exception thrown as expected.
+		}
+		assertEquals(handles[5], origin.add(transforms[5], new Vector3d()));
+	}
+
+	/**
+	 * This checks that transforms are placed relative to the origin, and that
+	 * only moved transforms are updated until the origin moves.
+	 */
+	@Test
+	public void checkUpdate() {
+		FloatingOrigin origin = new FloatingOrigin(100.0);
+		GeneralTransform near = new GeneralTransform();
+		GeneralTransform far = new GeneralTransform();
+		// Far from the world origin, a millimetre apart.
+		int nearHandle = origin.add(near, new Vector3d(1e6, 0.0, 0.0));
+		origin.add(far, new Vector3d(1e6 + 0.001, 0.0, 0.0));
+
+		// The first update moves the origin to the camera.
+		Vector3d camera = new Vector3d(1e6 - 1.0, 0.0, 0.0);
+		assertEquals(2, origin.update(camera));
+		assertEquals(1, origin.getRebaseCount());
+		assertEquals(1f, near.translation.x, delta);
+		assertEquals(1.001f, far.translation.x, delta);
+		assertEquals(0.0, origin.getOrigin(null).distance(camera), 0.0);
+
+		// Nothing moved, so nothing is updated.
+		camera.x += 10.0;
+		assertEquals(0, origin.update(camera));
+		Vector3f local = origin.toLocal(camera, null);
+		assertEquals(10f, local.x, delta);
+		assertEquals(1e6 + 9.0, origin.toWorld(local, null).x, delta);
+
+		// Only the moved transform is updated.
+		origin.setPosition(nearHandle, 1e6 + 5.0, 1.0, 0.0);
+		origin.setPosition(nearHandle, 1e6 + 5.0, 2.0, 0.0);
+		assertEquals(1, origin.update(camera));
+		assertEquals(6f, near.translation.x, delta);
+		assertEquals(2f, near.translation.y, delta);
+		assertEquals(1, origin.getRebaseCount());
+
+		// Moving the camera too far rebases everything.
+		camera.x += 200.0;
+		assertEquals(2, origin.update(camera));
+		assertEquals(2, origin.getRebaseCount());
+		assertEquals(-204f, near.translation.x, delta);
+		assertEquals(-208.999f, far.translation.x, 1e-5);
+	}
+
+	/**
+	 * This checks that updating moved transforms creates no objects.
+	 */
+	@Test
+	public void checkUpdateAllocation() {
+		final FloatingOrigin origin = new FloatingOrigin(100.0);
+		final int[] handles = new int[64];
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = origin.add(new GeneralTransform(), new Vector3d(i,
+					0.0, 0.0));
+		}
+
+		assertBudget("FloatingOrigin.update", 0, new Runnable() {
+			private final Vector3d camera = new Vector3d();
+			private double x;
+
+			@Override
+			public void run() {
+				x += 0.5;
+				for (int i = 0; i < handles.length; i += 4) {
+					origin.setPosition(handles[i], x + i, 0.0, 0.0);
+				}
+				camera.x = x % 1000.0;
+				origin.update(camera);
+			}
+		});
+		return;
+	}
+}
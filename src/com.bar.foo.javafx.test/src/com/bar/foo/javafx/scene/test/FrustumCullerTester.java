@@ -0,0 +1,218 @@
+package com.bar.foo.javafx.scene.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Box;
+
+import org.junit.Test;
+
+import com.bar.foo.javafx.scene.FrustumCuller;
+import com.bar.foo.javafx.scene.Node;
+import com.bar.foo.math.Frustum;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the visibility changes made by {@link FrustumCuller}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class FrustumCullerTester {
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "FrustumCullerTester failure: ";
+
+	/**
+	 * A frustum at the origin looking down the negative z axis.
+	 */
+	private final Frustum forward = createFrustum(0f);
+	/**
+	 * A frustum at the origin looking down the positive z axis.
+	 */
+	private final Frustum backward = createFrustum((float) Math.PI);
+
+	/**
+	 * This checks that nodes outside the frustum are hidden, that their
+	 * descendants are not tested, and that they are shown again when they
+	 * come into view.
+	 */
+	@Test
+	public void checkCull() {
+		Group root = new Group();
+		Node front = createNode(root, 0f, 0f, -10f);
+		Node back = createNode(root, 0f, 0f, 10f);
+		// A subtree entirely behind the camera.
+		Node group = createNode(root, 0f, 0f, 20f);
+		Node first = createNode(group, 1f, 0f, 0f);
+		Node second = createNode(group, -1f, 0f, 0f);
+
+		try {
+			new FrustumCuller(null);
+			fail(failurePrefix + "Exception not thrown for null root.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		FrustumCuller culler = new FrustumCuller(root);
+		try {
+			culler.cull(null);
+			fail(failurePrefix + "Exception not thrown for null frustum.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+
+		// Only the top-most nodes are tested. The group is rejected, so its
+		// children are not tested.
+		culler.cull(forward);
+		assertTrue(front.isVisible());
+		assertFalse(back.isVisible());
+		assertFalse(group.isVisible());
+		assertTrue(first.isVisible());
+		assertTrue(second.isVisible());
+		assertEquals(3, culler.getTestedCount());
+		assertEquals(2, culler.getCulledCount());
+		assertEquals(1, culler.getVisibleCount());
+		assertTrue(culler.getCullTime() >= 0L);
+
+		// Culling again changes nothing.
+		culler.cull(forward);
+		assertTrue(front.isVisible());
+		assertFalse(back.isVisible());
+		assertFalse(group.isVisible());
+		assertEquals(2, culler.getCulledCount());
+
+		// Turn around. The culled nodes are shown. The group is entirely in
+		// view, so its children are visible without being tested.
+		culler.cull(backward);
+		assertFalse(front.isVisible());
+		assertTrue(back.isVisible());
+		assertTrue(group.isVisible());
+		assertTrue(first.isVisible());
+		assertTrue(second.isVisible());
+		assertEquals(3, culler.getTestedCount());
+		assertEquals(1, culler.getCulledCount());
+		assertEquals(4, culler.getVisibleCount());
+
+		// Resetting shows everything.
+		culler.reset();
+		assertTrue(front.isVisible());
+		assertEquals(0, culler.getCulledCount());
+
+		return;
+	}
+
+	/**
+	 * This checks that a node is not hidden when its bounds, which do not
+	 * include its hidden children, are outside the frustum but one of those
+	 * children is inside it.
+	 */
+	@Test
+	public void checkCulledDescendants() {
+		Group root = new Group();
+		// The parent's own box is above the camera, out of view. Everything is
+		// to the side of the camera so it can be culled by looking away.
+		Node parent = createNode(root, 5f, 50f, 0f);
+		Node front = createNode(parent, 0f, -50f, -10f);
+		Node back = createNode(parent, 0f, -50f, 10f);
+		FrustumCuller culler = new FrustumCuller(root);
+
+		// The parent's bounds span both children, so only its back child is
+		// hidden.
+		culler.cull(forward);
+		assertTrue(parent.isVisible());
+		assertTrue(front.isVisible());
+		assertFalse(back.isVisible());
+
+		// The parent's bounds now only include the front child, which is out
+		// of view, but the back child is in view.
+		culler.cull(backward);
+		assertTrue(parent.isVisible());
+		assertFalse(front.isVisible());
+		assertTrue(back.isVisible());
+
+		// Move the parent out of view. It is hidden instead of its children.
+		Frustum aside = createFrustum((float) (Math.PI / 2.0));
+		culler.cull(aside);
+		assertFalse(parent.isVisible());
+		assertTrue(front.isVisible());
+		assertTrue(back.isVisible());
+		assertEquals(1, culler.getCulledCount());
+
+		// Removing a culled node from the scene shows it.
+		root.getChildren().remove(parent);
+		assertTrue(parent.isVisible());
+
+		return;
+	}
+
+	/**
+	 * This checks that nodes that are not cullable and nodes hidden by the
+	 * application are left alone.
+	 */
+	@Test
+	public void checkSkippedNodes() {
+		Group root = new Group();
+		Node uncullable = createNode(root, 0f, 0f, 10f);
+		uncullable.setCullable(false);
+		Node child = createNode(uncullable, 0f, 0f, 0f);
+		Node hidden = createNode(root, 0f, 0f, -10f);
+		hidden.setVisible(false);
+		FrustumCuller culler = new FrustumCuller(root);
+
+		// The node that is not cullable stays visible, but its child does not.
+		culler.cull(forward);
+		assertTrue(uncullable.isVisible());
+		assertFalse(child.isVisible());
+		// The node hidden by the application is not shown.
+		assertFalse(hidden.isVisible());
+		assertEquals(1, culler.getTestedCount());
+
+		// Turning off culling for a culled node shows it.
+		child.setCullable(false);
+		assertTrue(child.isVisible());
+		assertFalse(child.isCullable());
+
+		return;
+	}
+
+	// ---- Utility methods ---- //
+	/**
+	 * Creates a frustum at the origin with a 90 degree field of view.
+	 *
+	 * @param yaw
+	 *            The rotation about the y axis from the negative z axis.
+	 */
+	private static Frustum createFrustum(float yaw) {
+		return new Frustum().set((float) (Math.PI / 2.0), 1f, 0.1f, 100f,
+				Quaternion.fromAxisAngle(Vector3f.UNIT_Y, yaw),
+				new Vector3f());
+	}
+
+	/**
+	 * Creates a node containing a unit box and adds it to a parent.
+	 */
+	private static Node createNode(Group parent, float x, float y, float z) {
+		TestNode node = new TestNode();
+		node.setTranslation(x, y, z);
+		node.getChildren().add(new Box(1.0, 1.0, 1.0));
+		parent.getChildren().add(node);
+		return node;
+	}
+
+	/**
+	 * Exposes the protected transform of a {@link Node}.
+	 */
+	private static class TestNode extends Node {
+		public void setTranslation(float x, float y, float z) {
+			transform.translation.set(x, y, z);
+			transform.refresh(false);
+		}
+	}
+	// ------------------------- //
+}
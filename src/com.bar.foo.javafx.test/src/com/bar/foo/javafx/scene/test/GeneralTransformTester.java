@@ -0,0 +1,371 @@
+package com.bar.foo.javafx.scene.test;
+
+import static com.bar.foo.math.test.AllocationMeter.assertBudget;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import javafx.geometry.Point3D;
+import javafx.scene.transform.NonInvertibleTransformException;
+
+import org.junit.Test;
+
+import com.bar.foo.javafx.scene.GeneralTransform;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the transformation matrix provided by
+ * {@link GeneralTransform}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class GeneralTransformTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-5;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "GeneralTransformTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * This checks that refreshing the transform recomputes its matrix from the
+	 * scale, rotation, and translation.
+	 */
+	@Test
+	public void checkRefresh() {
+		GeneralTransform transform = new GeneralTransform();
+
+		// The default transform is the identity.
+		assertEquals(1.0, transform.getMxx(), delta);
+		assertEquals(1.0, transform.getMyy(), delta);
+		assertEquals(1.0, transform.getMzz(), delta);
+		assertEquals(0.0, transform.getMxy(), delta);
+		assertEquals(0.0, transform.getTx(), delta);
+
+		// A quarter turn about z followed by a scale of 2 along x.
+		transform.scale.set(2f, 1f, 1f);
+		Quaternion.fromAxisAngle(Vector3f.UNIT_Z, (float) (Math.PI / 2.0),
+				transform.rotation);
+		transform.translation.set(1f, 2f, 3f);
+		transform.refresh(true);
+
+		assertEquals(0.0, transform.getMxx(), delta);
+		assertEquals(-2.0, transform.getMxy(), delta);
+		assertEquals(1.0, transform.getMyx(), delta);
+		assertEquals(0.0, transform.getMyy(), delta);
+		assertEquals(1.0, transform.getMzz(), delta);
+		assertEquals(1.0, transform.getTx(), delta);
+		assertEquals(2.0, transform.getTy(), delta);
+		assertEquals(3.0, transform.getTz(), delta);
+
+		// A translation-only refresh leaves the matrix alone.
+		transform.translation.set(4f, 5f, 6f);
+		transform.refresh(false);
+		assertEquals(-2.0, transform.getMxy(), delta);
+		assertEquals(4.0, transform.getTx(), delta);
+
+		return;
+	}
+
+	/**
+	 * This checks that transforming points directly (when the matrix is out
+	 * of date) and with the matrix give the same results.
+	 */
+	@Test
+	public void checkPointTransforms() {
+		// The matrix is stored as floats, so allow for its rounding.
+		final double pointDelta = 1e-4;
+
+		GeneralTransform transform = new GeneralTransform();
+		transform.scale.set(2f, 0.5f, 3f);
+		Quaternion.fromAxisAngle(new Vector3f(1f, 2f, 3f).normalize(), 0.7f,
+				transform.rotation);
+		transform.translation.set(1f, -2f, 3f);
+
+		double[] points = new double[GeneralTransform.DIRECT_POINT_LIMIT * 6];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = random.nextDouble() * 10.0 - 5.0;
+		}
+
+		// Transform a few points directly, since the matrix is out of date.
+		transform.refresh(true);
+		Point3D direct = transform.transform(points[0], points[1], points[2]);
+		Point3D directDelta = transform.deltaTransform(points[0], points[1],
+				points[2]);
+		double[] directPoints = new double[6];
+		transform.transform3DPoints(points, 0, directPoints, 0, 2);
+
+		// Compute the expected values with the matrix, which brings it up to
+		// date, then transform the same points with it.
+		double[] expected = new double[points.length];
+		for (int i = 0; i < points.length; i += 3) {
+			double x = points[i], y = points[i + 1], z = points[i + 2];
+			expected[i] = transform.getMxx() * x + transform.getMxy() * y
+					+ transform.getMxz() * z + transform.getTx();
+			expected[i + 1] = transform.getMyx() * x + transform.getMyy() * y
+					+ transform.getMyz() * z + transform.getTy();
+			expected[i + 2] = transform.getMzx() * x + transform.getMzy() * y
+					+ transform.getMzz() * z + transform.getTz();
+		}
+		Point3D matrix = transform.transform(points[0], points[1], points[2]);
+
+		assertPoint(expected, 0, direct, pointDelta);
+		assertPoint(expected, 0, matrix, pointDelta);
+		assertEquals(expected[0] - 1.0, directDelta.getX(), pointDelta);
+		assertEquals(expected[1] + 2.0, directDelta.getY(), pointDelta);
+		assertEquals(expected[2] - 3.0, directDelta.getZ(), pointDelta);
+		for (int i = 0; i < directPoints.length; i++) {
+			assertEquals(expected[i], directPoints[i], pointDelta);
+		}
+
+		// Many points rebuild the matrix. The points can be transformed in
+		// place.
+		transform.refresh(true);
+		transform.transform3DPoints(points, 0, points, 0, points.length / 3);
+		for (int i = 0; i < points.length; i++) {
+			assertEquals(expected[i], points[i], pointDelta);
+		}
+
+		try {
+			transform.transform3DPoints(null, 0, points, 0, 1);
+			fail(failurePrefix + "Exception not thrown for null points.");
+		} catch (NullPointerException e) {
+			// Exception thrown as expected.
+		}
+
+		return;
+	}
+
+	/**
+	 * This checks that points can be transformed between overlapping ranges
+	 * of the same array.
+	 */
+	@Test
+	public void checkOverlappingPoints() {
+		final double pointDelta = 1e-4;
+
+		GeneralTransform transform = new GeneralTransform();
+		transform.scale.set(2f, 0.5f, 3f);
+		Quaternion.fromAxisAngle(Vector3f.UNIT_Z, 0.7f, transform.rotation);
+		transform.translation.set(1f, -2f, 3f);
+		transform.refresh(true);
+
+		// Check both the direct path (few points, matrix out of date) and the
+		// matrix path (many points).
+		final int[] sizes = { 2, GeneralTransform.DIRECT_POINT_LIMIT };
+		for (int numPts : sizes) {
+			double[] source = new double[numPts * 3];
+			for (int i = 0; i < source.length; i++) {
+				source[i] = random.nextDouble() * 10.0 - 5.0;
+			}
+			double[] expected = new double[source.length];
+			transform.transform3DPoints(source, 0, expected, 0, numPts);
+
+			// The destination starts inside the source, one point later.
+			double[] points = new double[source.length + 3];
+			System.arraycopy(source, 0, points, 0, source.length);
+			transform.refresh(true);
+			transform.transform3DPoints(points, 0, points, 3, numPts);
+			for (int i = 0; i < expected.length; i++) {
+				assertEquals(expected[i], points[i + 3], pointDelta);
+			}
+
+			// The destination starts before the source.
+			System.arraycopy(source, 0, points, 3, source.length);
+			transform.refresh(true);
+			transform.transform3DPoints(points, 3, points, 1, numPts);
+			for (int i = 0; i < expected.length; i++) {
+				assertEquals(expected[i], points[i + 1], pointDelta);
+			}
+
+			// The inverse undoes the transformation, also when overlapping.
+			transform.refresh(true);
+			try {
+				transform.inverseTransform3DPoints(points, 1, points, 3,
+						numPts);
+			} catch (NonInvertibleTransformException e) {
+				fail(failurePrefix + "Transform was not invertible.");
+			}
+			for (int i = 0; i < source.length; i++) {
+				assertEquals(source[i], points[i + 3], pointDelta);
+			}
+		}
+
+		// 2D points stay in the xy plane for a rotation about z.
+		double[] points = { 1.0, 2.0, -3.0, 0.5, 4.0, 1.0 };
+		Point3D first = transform.transform(1.0, 2.0, 0.0);
+		Point3D second = transform.transform(-3.0, 0.5, 0.0);
+		transform.transform2DPoints(points, 0, points, 2, 2);
+		assertEquals(first.getX(), points[2], pointDelta);
+		assertEquals(first.getY(), points[3], pointDelta);
+		assertEquals(second.getX(), points[4], pointDelta);
+		assertEquals(second.getY(), points[5], pointDelta);
+
+		// Other rotations cannot transform 2D points.
+		Quaternion.fromAxisAngle(Vector3f.UNIT_X, 0.7f, transform.rotation);
+		transform.refresh(true);
+		try {
+			transform.transform2DPoints(points, 0, points, 0, 1);
+			fail(failurePrefix + "Exception not thrown for a 3D transform.");
+		} catch (IllegalStateException e) {
+			// Exception thrown as expected.
+		}
+
+		return;
+	}
+
+	/**
+	 * This checks that single points are transformed back by the inverse
+	 * transformation, and that a zero scale cannot be inverted.
+	 */
+	@Test
+	public void checkInverseTransforms() {
+		final double pointDelta = 1e-4;
+
+		GeneralTransform transform = new GeneralTransform();
+		transform.scale.set(2f, 0.5f, 3f);
+		Quaternion.fromAxisAngle(new Vector3f(1f, 2f, 3f).normalize(), 0.7f,
+				transform.rotation);
+		transform.translation.set(1f, -2f, 3f);
+		transform.refresh(true);
+
+		Point3D point = new Point3D(1.0, 2.0, 3.0);
+		try {
+			// Directly, since the matrix is out of date.
+			Point3D moved = transform.transform(point);
+			Point3D direction = transform.deltaTransform(point);
+			Point3D direct = transform.inverseTransform(moved);
+			Point3D directDelta = transform.inverseDeltaTransform(direction);
+			// With the matrix, since transforming many points rebuilt it.
+			final int numPts = GeneralTransform.DIRECT_POINT_LIMIT;
+			double[] points = new double[numPts * 3];
+			transform.transform3DPoints(points, 0, points, 0, numPts);
+			Point3D matrix = transform.inverseTransform(moved);
+			Point3D matrixDelta = transform.inverseDeltaTransform(direction);
+
+			for (Point3D result : new Point3D[] { direct, directDelta,
+					matrix, matrixDelta }) {
+				assertEquals(1.0, result.getX(), pointDelta);
+				assertEquals(2.0, result.getY(), pointDelta);
+				assertEquals(3.0, result.getZ(), pointDelta);
+			}
+		} catch (NonInvertibleTransformException e) {
+			fail(failurePrefix + "Transform was not invertible.");
+		}
+
+		transform.scale.set(1f, 0f, 1f);
+		transform.refresh(true);
+		try {
+			transform.inverseTransform(point);
+			fail(failurePrefix + "Exception not thrown for a zero scale.");
+		} catch (NonInvertibleTransformException e) {
+			// Exception thrown as expected.
+		}
+
+		return;
+	}
+
+	/**
+	 * This checks that deferred refreshes are only applied when committed,
+	 * and that several refreshes are committed once.
+	 */
+	@Test
+	public void checkDeferred() {
+		GeneralTransform transform = new GeneralTransform();
+		GeneralTransform other = new GeneralTransform();
+		assertFalse(transform.isDeferred());
+		transform.setDeferred(true);
+		other.setDeferred(true);
+		assertTrue(transform.isDeferred());
+
+		// Several refreshes are recorded but not applied. They are still
+		// counted right away.
+		int refreshCount = transform.getRefreshCount();
+		Quaternion.fromAxisAngle(Vector3f.UNIT_Z, (float) (Math.PI / 2.0),
+				transform.rotation);
+		transform.refresh(true);
+		transform.translation.set(1f, 2f, 3f);
+		transform.refresh(false);
+		other.refresh(false);
+		assertEquals(refreshCount + 2, transform.getRefreshCount());
+		assertEquals(1.0, transform.getMxx(), delta);
+		assertEquals(0.0, transform.getMxy(), delta);
+
+		// Committing the batch applies each transform once.
+		assertEquals(2, GeneralTransform.commitDeferred());
+		assertEquals(0.0, transform.getMxx(), delta);
+		assertEquals(-1.0, transform.getMxy(), delta);
+		assertEquals(0, GeneralTransform.commitDeferred());
+
+		// A transform can be committed on its own.
+		Quaternion.fromAxisAngle(Vector3f.UNIT_Z, 0f, transform.rotation);
+		transform.refresh(true);
+		assertTrue(transform.commit());
+		assertFalse(transform.commit());
+		assertEquals(1.0, transform.getMxx(), delta);
+		assertEquals(0, GeneralTransform.commitDeferred());
+
+		// Turning off deferral commits any pending changes.
+		transform.scale.set(2f, 1f, 1f);
+		transform.refresh(true);
+		transform.setDeferred(false);
+		assertFalse(transform.isDeferred());
+		assertEquals(2.0, transform.getMxx(), delta);
+		assertEquals(0, GeneralTransform.commitDeferred());
+
+		// Deferring twice only needs to be turned off once.
+		other.setDeferred(true);
+		other.refresh(false);
+		other.setDeferred(false);
+		assertFalse(other.isDeferred());
+		assertEquals(0, GeneralTransform.commitDeferred());
+
+		return;
+	}
+
+	/**
+	 * This checks that refreshing the transform creates no objects.
+	 */
+	@Test
+	public void checkRefreshAllocation() {
+		final GeneralTransform transform = new GeneralTransform();
+		final Quaternion step = Quaternion.fromAxisAngle(Vector3f.UNIT_Y,
+				0.01f);
+
+		assertBudget("GeneralTransform.refresh", 0, new Runnable() {
+			@Override
+			public void run() {
+				transform.rotation.multiply(step).normalize();
+				transform.translation.add(0.1f, 0f, 0f);
+				transform.refresh(true);
+				transform.refresh(false);
+			}
+		});
+		return;
+	}
+
+	// ---- Utility methods ---- //
+	/**
+	 * Checks a point against packed coordinates.
+	 */
+	private void assertPoint(double[] expected, int offset, Point3D point,
+			double delta) {
+		assertEquals(expected[offset], point.getX(), delta);
+		assertEquals(expected[offset + 1], point.getY(), delta);
+		assertEquals(expected[offset + 2], point.getZ(), delta);
+	}
+	// ------------------------- //
+}
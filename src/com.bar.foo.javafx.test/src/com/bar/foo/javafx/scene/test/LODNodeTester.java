@@ -0,0 +1,268 @@
+package com.bar.foo.javafx.scene.test;
+
+import static com.bar.foo.math.test.AllocationMeter.assertBudget;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import javafx.scene.Group;
+
+import org.junit.Test;
+
+import com.bar.foo.javafx.scene.GeneralTransform;
+import com.bar.foo.javafx.scene.LODController;
+import com.bar.foo.javafx.scene.LODNode;
+import com.bar.foo.javafx.scene.camera.FlyCamera;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the level of detail switching provided by
+ * {@link LODNode} and {@link LODController}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class LODNodeTester {
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "LODNodeTester failure: ";
+
+	/**
+	 * This checks adding levels and the hysteresis fraction.
+	 */
+	@Test
+	public void checkLevels() {
+		LODNode node = new LODNode();
+		Group fine = new Group();
+		Group coarse = new Group();
+		assertEquals(0, node.getLevelCount());
+		assertEquals(-1, node.getCurrentLevel());
+		assertEquals(LODNode.DEFAULT_HYSTERESIS, node.getHysteresis(), 0f);
+
+		assertEquals(0, node.addLevel(fine, 10f));
+		assertEquals(1, node.addLevel(coarse, 20f));
+		assertEquals(2, node.getLevelCount());
+		assertSame(coarse, node.getLevel(1));
+		assertEquals(20f, node.getMaxDistance(1), 0f);
+
+		// Invalid levels are rejected.
+		try {
+			node.addLevel(null, 30f);
+			fail(failurePrefix + "Exception not thrown for null level.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			node.addLevel(new Group(), 20f);
+			fail(failurePrefix + "Exception not thrown for a distance that "
+					+ "does not increase.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			node.getLevel(2);
+			fail(failurePrefix + "Exception not thrown for a bad index.");
+		} catch (IndexOutOfBoundsException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			node.setHysteresis(1f);
+			fail(failurePrefix + "Exception not thrown for a bad hysteresis.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		node.setHysteresis(0.25f);
+		assertEquals(0.25f, node.getHysteresis(), 0f);
+
+		return;
+	}
+
+	/**
+	 * This checks that the shown level switches with distance, only past the
+	 * hysteresis band around each threshold.
+	 */
+	@Test
+	public void checkSwitching() {
+		LODNode node = new LODNode();
+		Group fine = new Group();
+		Group coarse = new Group();
+		node.addLevel(fine, 10f);
+		node.addLevel(coarse, 20f);
+		node.setHysteresis(0.1f);
+		Vector3f view = new Vector3f();
+
+		// The first update picks the level without hysteresis.
+		view.set(0f, 0f, 10.5f);
+		assertTrue(node.update(view));
+		assertEquals(1, node.getCurrentLevel());
+		assertEquals(1, node.getChildren().size());
+		assertSame(coarse, node.getChildren().get(0));
+
+		// Moving back inside the threshold, but not past the band, does not
+		// switch.
+		view.set(0f, 9.5f, 0f);
+		assertFalse(node.update(view));
+		assertEquals(1, node.getCurrentLevel());
+		view.set(0f, 8.9f, 0f);
+		assertTrue(node.update(view));
+		assertEquals(0, node.getCurrentLevel());
+		assertSame(fine, node.getChildren().get(0));
+
+		// The same applies going out.
+		view.set(10.9f, 0f, 0f);
+		assertFalse(node.update(view));
+		view.set(11.1f, 0f, 0f);
+		assertTrue(node.update(view));
+		assertEquals(1, node.getCurrentLevel());
+
+		// Beyond the last level, nothing is shown. Coming straight back in
+		// skips a level.
+		view.set(0f, 0f, -30f);
+		assertTrue(node.update(view));
+		assertEquals(-1, node.getCurrentLevel());
+		assertEquals(0, node.getChildren().size());
+		view.set(0f, 0f, 1f);
+		assertTrue(node.update(view));
+		assertEquals(0, node.getCurrentLevel());
+		assertSame(fine, node.getChildren().get(0));
+
+		return;
+	}
+
+	/**
+	 * This checks that a controller updates its nodes.
+	 */
+	@Test
+	public void checkController() {
+		LODController controller = new LODController();
+		LODNode near = new LODNode();
+		near.addLevel(new Group(), 10f);
+		LODNode far = new LODNode();
+		far.addLevel(new Group(), 100f);
+
+		assertTrue(controller.add(near));
+		assertTrue(controller.add(far));
+		assertFalse(controller.add(near));
+		assertFalse(controller.add(null));
+		assertEquals(2, controller.size());
+		assertFalse(controller.isStarted());
+		try {
+			controller.update(null);
+			fail(failurePrefix + "Exception not thrown for null position.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			controller.start(null);
+			fail(failurePrefix + "Exception not thrown for null camera.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+
+		assertEquals(2, controller.update(new Vector3f(0f, 0f, 50f)));
+		assertEquals(-1, near.getCurrentLevel());
+		assertEquals(0, far.getCurrentLevel());
+		assertEquals(0, controller.update(new Vector3f(0f, 0f, 50f)));
+		assertEquals(0, controller.getSwitchCount());
+
+		assertTrue(controller.remove(near));
+		assertFalse(controller.remove(near));
+		assertEquals(0, controller.update(new Vector3f()));
+		assertEquals(-1, near.getCurrentLevel());
+
+		return;
+	}
+
+	/**
+	 * This checks that a controller follows a camera that is moved through its
+	 * transform, as the camera's movement controls do.
+	 */
+	@Test
+	public void checkCameraMovement() {
+		LODController controller = new LODController();
+		LODNode node = new LODNode();
+		node.addLevel(new Group(), 10f);
+		node.addLevel(new Group(), 100f);
+		controller.add(node);
+		TestCamera camera = new TestCamera();
+		try {
+			controller.updateFrom(null);
+			fail(failurePrefix + "Exception not thrown for null viewer.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+
+		camera.setTranslation(0f, 0f, 5f);
+		assertEquals(1, controller.updateFrom(camera));
+		assertEquals(0, node.getCurrentLevel());
+
+		// Flying away switches to the coarse level.
+		camera.setTranslation(0f, 0f, 50f);
+		assertEquals(1, controller.updateFrom(camera));
+		assertEquals(1, node.getCurrentLevel());
+		assertEquals(0, controller.updateFrom(camera));
+
+		return;
+	}
+
+	/**
+	 * This checks that a camera's frustum follows a camera that is moved
+	 * through its transform rather than through its own methods.
+	 */
+	@Test
+	public void checkCameraFrustum() {
+		TestCamera camera = new TestCamera();
+		Vector3f point = new Vector3f(0f, 0f, 0f);
+
+		// The camera looks down the negative z axis.
+		camera.setTranslation(0f, 0f, 5f);
+		assertTrue(camera.getFrustum().contains(point));
+
+		// The point is behind the camera once it is moved past it.
+		camera.setTranslation(0f, 0f, -5f);
+		assertFalse(camera.getFrustum().contains(point));
+
+		return;
+	}
+
+	/**
+	 * This checks that updating nodes that do not switch creates no objects.
+	 */
+	@Test
+	public void checkUpdateAllocation() {
+		final LODController controller = new LODController();
+		for (int i = 0; i < 16; i++) {
+			LODNode node = new LODNode();
+			node.addLevel(new Group(), 10f);
+			node.addLevel(new Group(), 100f);
+			controller.add(node);
+		}
+		final Vector3f view = new Vector3f(0f, 0f, 50f);
+		controller.update(view);
+
+		assertBudget("LODController.update", 0, new Runnable() {
+			@Override
+			public void run() {
+				view.z = (view.z == 50f ? 60f : 50f);
+				controller.update(view);
+			}
+		});
+		return;
+	}
+
+	/**
+	 * Exposes the protected transform of a {@link FlyCamera}.
+	 */
+	private static class TestCamera extends FlyCamera {
+		public void setTranslation(float x, float y, float z) {
+			transform.translation.set(x, y, z);
+			transform.refresh(false);
+			// The camera defers its transform until the next frame.
+			GeneralTransform.commitDeferred();
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package com.bar.foo.javafx.scene.test;
+
+import static com.bar.foo.math.test.AllocationMeter.assertBudget;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import javafx.scene.Group;
+
+import org.junit.Test;
+
+import com.bar.foo.javafx.scene.GeneralTransform;
+import com.bar.foo.javafx.scene.Node;
+import com.bar.foo.math.Matrix4f;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Quaternionc;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the world transformations cached by {@link Node}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class NodeTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-5;
+
+	/**
+	 * This checks that world transformations combine the transforms of
+	 * ancestor nodes and are updated when an ancestor is refreshed.
+	 */
+	@Test
+	public void checkWorldTransform() {
+		TestNode root = new TestNode();
+		TestNode child = new TestNode();
+		TestNode grandchild = new TestNode();
+		root.getChildren().add(child);
+		child.getChildren().add(grandchild);
+
+		// With no transforms, everything is at the origin.
+		assertVector(0f, 0f, 0f, grandchild.getWorldPosition(null));
+		assertEquals(new Matrix4f(Matrix4f.IDENTITY),
+				grandchild.getWorldTransform());
+
+		// A quarter turn about z at the root rotates the children's offsets.
+		Quaternion.fromAxisAngle(Vector3f.UNIT_Z, (float) (Math.PI / 2.0),
+				root.getTransform().rotation);
+		root.getTransform().translation.set(10f, 0f, 0f);
+		root.getTransform().refresh(true);
+		child.getTransform().translation.set(1f, 0f, 0f);
+		child.getTransform().refresh(false);
+		grandchild.getTransform().translation.set(0f, 2f, 0f);
+		grandchild.getTransform().refresh(false);
+
+		assertVector(10f, 1f, 0f, child.getWorldPosition(null));
+		assertVector(8f, 1f, 0f, grandchild.getWorldPosition(null));
+		Vector3f point = grandchild.getWorldTransform().transformPoint(
+				new Vector3f(1f, 0f, 0f), null);
+		assertVector(8f, 2f, 0f, point);
+		// The world rotation is the combined rotation.
+		Quaternionc rotation = grandchild.getWorldRotation();
+		assertEquals(root.getTransform().rotation.w(), rotation.w(), delta);
+		assertEquals(root.getTransform().rotation.z(), rotation.z(), delta);
+
+		// Refreshing an ancestor updates its descendants.
+		root.getTransform().translation.set(0f, 0f, 5f);
+		root.getTransform().refresh(false);
+		assertVector(0f, 1f, 5f, child.getWorldPosition(null));
+		assertVector(-2f, 1f, 5f, grandchild.getWorldPosition(null));
+
+		// Changes are not seen until the transform is refreshed.
+		child.getTransform().translation.set(0f, 0f, 0f);
+		assertVector(0f, 1f, 5f, child.getWorldPosition(null));
+		child.getTransform().refresh(false);
+		assertVector(0f, 0f, 5f, child.getWorldPosition(null));
+
+		// Reading the cache repeatedly returns the same matrix.
+		assertSame(grandchild.getWorldTransform(),
+				grandchild.getWorldTransform());
+
+		return;
+	}
+
+	/**
+	 * This checks that moving a node to a new parent updates its world
+	 * transformation, including through parents that are not nodes.
+	 */
+	@Test
+	public void checkReparent() {
+		TestNode first = new TestNode();
+		first.getTransform().translation.set(1f, 0f, 0f);
+		first.getTransform().refresh(false);
+		TestNode second = new TestNode();
+		second.getTransform().translation.set(0f, 1f, 0f);
+		second.getTransform().refresh(false);
+
+		TestNode node = new TestNode();
+		node.getTransform().translation.set(0f, 0f, 1f);
+		node.getTransform().refresh(false);
+		assertVector(0f, 0f, 1f, node.getWorldPosition(null));
+
+		first.getChildren().add(node);
+		assertVector(1f, 0f, 1f, node.getWorldPosition(null));
+
+		first.getChildren().remove(node);
+		Group group = new Group();
+		second.getChildren().add(group);
+		group.getChildren().add(node);
+		assertVector(0f, 1f, 1f, node.getWorldPosition(null));
+
+		// Refreshing an ancestor through the group still reaches the node.
+		second.getTransform().translation.set(0f, 2f, 0f);
+		second.getTransform().refresh(false);
+		assertVector(0f, 2f, 1f, node.getWorldPosition(null));
+
+		// Moving the group to another node moves the node with it.
+		second.getChildren().remove(group);
+		first.getChildren().add(group);
+		assertVector(1f, 0f, 1f, node.getWorldPosition(null));
+		first.getTransform().translation.set(3f, 0f, 0f);
+		first.getTransform().refresh(false);
+		assertVector(3f, 0f, 1f, node.getWorldPosition(null));
+
+		// The old parent no longer affects it.
+		second.getTransform().translation.set(0f, 4f, 0f);
+		second.getTransform().refresh(false);
+		assertVector(3f, 0f, 1f, node.getWorldPosition(null));
+
+		group.getChildren().remove(node);
+		assertVector(0f, 0f, 1f, node.getWorldPosition(null));
+
+		// A node with no contents has empty bounds.
+		assertTrue(node.getWorldBounds(null).isEmpty());
+
+		return;
+	}
+
+	/**
+	 * This checks that editing and reading the world transformation creates
+	 * no objects.
+	 */
+	@Test
+	public void checkWorldTransformAllocation() {
+		final TestNode root = new TestNode();
+		final TestNode child = new TestNode();
+		root.getChildren().add(child);
+		child.getTransform().translation.set(1f, 0f, 0f);
+		child.getTransform().refresh(false);
+		final Quaternion step = Quaternion.fromAxisAngle(Vector3f.UNIT_Y,
+				0.01f);
+		final Vector3f position = new Vector3f();
+
+		assertBudget("Node.getWorldTransform", 0, new Runnable() {
+			@Override
+			public void run() {
+				root.getTransform().rotation.multiply(step).normalize();
+				root.getTransform().refresh(true);
+				child.getWorldPosition(position);
+				child.getWorldRotation();
+			}
+		});
+		return;
+	}
+
+	// ---- Utility methods ---- //
+	/**
+	 * Exposes the protected transform of a {@link Node}.
+	 */
+	private static class TestNode extends Node {
+		public GeneralTransform getTransform() {
+			return transform;
+		}
+	}
+
+	/**
+	 * Checks the components of a vector.
+	 */
+	private void assertVector(float x, float y, float z, Vector3f vector) {
+		assertEquals(x, vector.x, delta);
+		assertEquals(y, vector.y, delta);
+		assertEquals(z, vector.z, delta);
+	}
+	// ------------------------- //
+}
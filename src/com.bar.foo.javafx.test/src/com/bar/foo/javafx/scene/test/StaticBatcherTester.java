@@ -0,0 +1,305 @@
+package com.bar.foo.javafx.scene.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import javafx.scene.Group;
+import javafx.scene.Parent;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.Box;
+import javafx.scene.shape.DrawMode;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import org.junit.Test;
+
+import com.bar.foo.javafx.scene.LODNode;
+import com.bar.foo.javafx.scene.Node;
+import com.bar.foo.javafx.scene.StaticBatcher;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the shapes merged by {@link StaticBatcher}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class StaticBatcherTester {
+
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-4;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "StaticBatcherTester failure: ";
+
+	/**
+	 * This checks that shapes sharing a material are replaced with one view,
+	 * that other shapes are left alone, and that unbatching restores them.
+	 */
+	@Test
+	public void checkBatch() {
+		PhongMaterial red = new PhongMaterial();
+		PhongMaterial blue = new PhongMaterial();
+		Group root = new Group();
+		TestNode node = new TestNode();
+		node.setTranslation(10f, 0f, 0f);
+		Box first = createBox(node, red);
+		Box second = createBox(node, red);
+		root.getChildren().add(node);
+		Box third = createBox(root, blue);
+		// Wireframes, levels of detail, and shapes outside groups are not
+		// batched.
+		Box wireframe = createBox(root, red);
+		wireframe.setDrawMode(DrawMode.LINE);
+		LODNode lod = new LODNode();
+		Group level = new Group();
+		Box levelBox = createBox(level, red);
+		lod.addLevel(level, 10f);
+		lod.update(new Vector3f());
+		root.getChildren().add(lod);
+		TestParent pane = new TestParent();
+		Box paneBox = new Box(1.0, 1.0, 1.0);
+		paneBox.setMaterial(red);
+		pane.add(paneBox);
+		root.getChildren().add(pane);
+
+		try {
+			new StaticBatcher(null);
+			fail(failurePrefix + "Exception not thrown for null root.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		StaticBatcher batcher = new StaticBatcher(root);
+		assertFalse(batcher.isBatched());
+		try {
+			batcher.update(node);
+			fail(failurePrefix + "Exception not thrown for update before "
+					+ "batching.");
+		} catch (IllegalStateException e) {
+			// Exception thrown as expected.
+		}
+
+		batcher.batch();
+		assertTrue(batcher.isBatched());
+		assertEquals(2, batcher.getBatchCount());
+		assertEquals(3, batcher.getShapeCount());
+		assertNull(first.getParent());
+		assertNull(second.getParent());
+		assertNull(third.getParent());
+		assertSame(root, wireframe.getParent());
+		assertSame(level, levelBox.getParent());
+		assertSame(pane, paneBox.getParent());
+		try {
+			batcher.batch();
+			fail(failurePrefix + "Exception not thrown for batching twice.");
+		} catch (IllegalStateException e) {
+			// Exception thrown as expected.
+		}
+
+		// Both red boxes are merged with the node's translation baked in.
+		MeshView view = batcher.getView(red);
+		assertSame(root, view.getParent());
+		assertSame(red, view.getMaterial());
+		TriangleMesh mesh = (TriangleMesh) view.getMesh();
+		float[] points = mesh.getPoints().toArray(null);
+		assertEquals(16 * 3, points.length);
+		assertEquals(24 * 6, mesh.getFaces().toArray(null).length);
+		assertEquals(24, mesh.getFaceSmoothingGroups().toArray(null).length);
+		for (int i = 0; i < points.length; i += 3) {
+			assertEquals(10f, points[i], 0.5 + delta);
+		}
+		assertNull(batcher.getView(new PhongMaterial()));
+
+		// Unbatching puts the shapes back in order.
+		batcher.unbatch();
+		assertFalse(batcher.isBatched());
+		assertEquals(0, batcher.getBatchCount());
+		assertNull(view.getParent());
+		assertSame(first, node.getChildren().get(0));
+		assertSame(second, node.getChildren().get(1));
+		assertSame(third, root.getChildren().get(1));
+		assertEquals(5, root.getChildren().size());
+
+		return;
+	}
+
+	/**
+	 * This checks that unbatching restores siblings of different materials in
+	 * their original order around the shapes that were not batched.
+	 */
+	@Test
+	public void checkUnbatchOrder() {
+		PhongMaterial red = new PhongMaterial();
+		PhongMaterial blue = new PhongMaterial();
+		Group root = new Group();
+		Box[] boxes = new Box[5];
+		boxes[0] = createBox(root, red);
+		boxes[1] = createBox(root, blue);
+		boxes[2] = createBox(root, red);
+		boxes[3] = createBox(root, red);
+		boxes[4] = createBox(root, red);
+		boxes[2].setDrawMode(DrawMode.LINE);
+		boxes[4].setDrawMode(DrawMode.LINE);
+		StaticBatcher batcher = new StaticBatcher(root);
+		batcher.batch();
+		assertEquals(4, root.getChildren().size());
+
+		batcher.unbatch();
+		assertEquals(boxes.length, root.getChildren().size());
+		for (int i = 0; i < boxes.length; i++) {
+			assertSame(boxes[i], root.getChildren().get(i));
+		}
+
+		return;
+	}
+
+	/**
+	 * This checks that updates only re-bake the changed shapes and move
+	 * shapes between batches when their materials change.
+	 */
+	@Test
+	public void checkUpdate() {
+		PhongMaterial red = new PhongMaterial();
+		PhongMaterial blue = new PhongMaterial();
+		Group root = new Group();
+		TestNode node = new TestNode();
+		Box moved = createBox(node, red);
+		root.getChildren().add(node);
+		Box still = createBox(root, red);
+		createBox(root, blue);
+		StaticBatcher batcher = new StaticBatcher(root);
+		batcher.batch();
+		TriangleMesh mesh = (TriangleMesh) batcher.getView(red).getMesh();
+
+		// Moving the node rewrites the moved box's points in place.
+		node.setTranslation(0f, 5f, 0f);
+		assertEquals(0, batcher.update(new Group()));
+		assertEquals(1, batcher.update(node));
+		assertSame(mesh, batcher.getView(red).getMesh());
+		float[] points = mesh.getPoints().toArray(null);
+		for (int i = 1; i < 24; i += 3) {
+			assertEquals(5f, points[i], 0.5 + delta);
+			assertEquals(0f, points[24 + i], 0.5 + delta);
+		}
+
+		// A new material moves the box to the other batch.
+		still.setMaterial(blue);
+		assertEquals(1, batcher.update(still));
+		assertEquals(2, batcher.getBatchCount());
+		assertEquals(16 * 3, ((TriangleMesh) batcher.getView(blue).getMesh())
+				.getPoints().toArray(null).length);
+		assertEquals(8 * 3, mesh.getPoints().toArray(null).length);
+
+		// A shape that is hidden is put back.
+		moved.setVisible(false);
+		assertEquals(1, batcher.update(moved));
+		assertSame(node, moved.getParent());
+		assertEquals(1, batcher.getBatchCount());
+		assertNull(batcher.getView(red));
+		assertEquals(2, batcher.getShapeCount());
+
+		return;
+	}
+
+	/**
+	 * This checks that the faces of adjacent sides of a batched box do not
+	 * share a smoothing group, so its edges are as sharp as the box's own.
+	 */
+	@Test
+	public void checkBoxSmoothingGroups() {
+		PhongMaterial red = new PhongMaterial();
+		Group root = new Group();
+		createBox(root, red);
+		StaticBatcher batcher = new StaticBatcher(root);
+		batcher.batch();
+		TriangleMesh mesh = (TriangleMesh) batcher.getView(red).getMesh();
+		float[] points = mesh.getPoints().toArray(null);
+		int[] faces = mesh.getFaces().toArray(null);
+		int[] groups = mesh.getFaceSmoothingGroups().toArray(null);
+		assertEquals(12, groups.length);
+
+		// Faces that share a point but face different ways are on adjacent
+		// sides.
+		int adjacent = 0;
+		for (int i = 0; i < groups.length; i++) {
+			Vector3f normal = getNormal(points, faces, i);
+			for (int j = i + 1; j < groups.length; j++) {
+				if (sharePoint(faces, i, j)
+						&& normal.dot(getNormal(points, faces, j)) < 0.5f) {
+					assertEquals(0, groups[i] & groups[j]);
+					adjacent++;
+				}
+			}
+		}
+		assertTrue(adjacent > 0);
+
+		return;
+	}
+
+	// ---- Utility methods ---- //
+	/**
+	 * Gets the unit normal of a triangle in a mesh.
+	 */
+	private static Vector3f getNormal(float[] points, int[] faces, int face) {
+		Vector3f[] corners = new Vector3f[3];
+		for (int k = 0; k < 3; k++) {
+			int p = faces[face * 6 + k * 2] * 3;
+			corners[k] = new Vector3f(points[p], points[p + 1], points[p + 2]);
+		}
+		Vector3f u = new Vector3f(corners[1]).subtract(corners[0]);
+		Vector3f v = new Vector3f(corners[2]).subtract(corners[0]);
+		return u.cross(v).normalize();
+	}
+
+	/**
+	 * Checks whether two triangles in a mesh share any point.
+	 */
+	private static boolean sharePoint(int[] faces, int first, int second) {
+		for (int k = 0; k < 6; k += 2) {
+			for (int l = 0; l < 6; l += 2) {
+				if (faces[first * 6 + k] == faces[second * 6 + l]) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Creates a unit box with a material and adds it to a parent.
+	 */
+	private static Box createBox(Group parent, PhongMaterial material) {
+		Box box = new Box(1.0, 1.0, 1.0);
+		box.setMaterial(material);
+		parent.getChildren().add(box);
+		return box;
+	}
+
+	/**
+	 * A parent that is not a {@link Group}, like a layout pane.
+	 */
+	private static class TestParent extends Parent {
+		public void add(javafx.scene.Node child) {
+			getChildren().add(child);
+		}
+	}
+
+	/**
+	 * Exposes the protected transform of a {@link Node}.
+	 */
+	private static class TestNode extends Node {
+		public void setTranslation(float x, float y, float z) {
+			transform.translation.set(x, y, z);
+			transform.refresh(false);
+		}
+	}
+	// ------------------------- //
+}
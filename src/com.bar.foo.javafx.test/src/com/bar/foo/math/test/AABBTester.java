@@ -0,0 +1,211 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.AABB;
+import com.bar.foo.math.BoundingSphere;
+import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Matrix4f;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks all methods provided by {@link AABB}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class AABBTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-5;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "AABBTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * This checks the constructors, setters, getters, and equality.
+	 */
+	@Test
+	public void checkConstructorsAndSet() {
+		AABB box = new AABB();
+		assertTrue(box.isEmpty());
+
+		box = new AABB(-1f, -2f, -3f, 1f, 4f, 5f);
+		assertFalse(box.isEmpty());
+		assertEquals(new Vector3f(0f, 1f, 1f), box.getCenter(null));
+		Vector3f cache = new Vector3f();
+		assertSame(cache, box.getExtents(cache));
+		assertEquals(new Vector3f(1f, 3f, 4f), cache);
+
+		AABB copy = new AABB(box);
+		assertNotSame(box, copy);
+		assertEquals(box, copy);
+		assertEquals(box.hashCode(), copy.hashCode());
+		assertEquals(box, new AABB(box.min, box.max));
+		assertTrue(new AABB(null).isEmpty());
+
+		assertSame(copy, copy.setEmpty());
+		assertTrue(copy.isEmpty());
+		assertFalse(box.equals(copy));
+		assertSame(copy, copy.set(box));
+		assertEquals(box, copy);
+	}
+
+	/**
+	 * This checks merging, containment, and intersection.
+	 */
+	@Test
+	public void checkMergeAndIntersect() {
+		AABB box = new AABB();
+		// Merging a point into an empty box gives a point box.
+		assertSame(box, box.merge(1f, 2f, 3f));
+		assertEquals(new AABB(1f, 2f, 3f, 1f, 2f, 3f), box);
+		box.merge(new Vector3f(-1f, 4f, 0f));
+		assertEquals(new AABB(-1f, 2f, 0f, 1f, 4f, 3f), box);
+
+		AABB other = new AABB(0f, 0f, 0f, 5f, 3f, 1f);
+		AABB merged = box.merge(other, null);
+		assertEquals(new AABB(-1f, 0f, 0f, 5f, 4f, 3f), merged);
+		assertTrue(merged.contains(box));
+		assertTrue(merged.contains(other));
+		assertFalse(box.contains(merged));
+		// Merging with an empty box changes nothing.
+		assertEquals(box, box.merge(new AABB(), new AABB()));
+		assertEquals(box, new AABB().merge(box));
+
+		// Points, including the boundary.
+		assertTrue(box.contains(0f, 3f, 1f));
+		assertTrue(box.contains(box.max));
+		assertFalse(box.contains(0f, 5f, 1f));
+		assertFalse(new AABB().contains(0f, 0f, 0f));
+
+		// Boxes.
+		assertTrue(box.intersects(other));
+		assertTrue(other.intersects(box));
+		assertTrue(box.intersects(new AABB(1f, 4f, 3f, 2f, 5f, 4f)));
+		assertFalse(box.intersects(new AABB(1.1f, 0f, 0f, 2f, 5f, 4f)));
+		assertFalse(box.intersects(new AABB()));
+		assertFalse(new AABB().intersects(new AABB()));
+		assertFalse(box.contains(new AABB()));
+
+		// Spheres.
+		assertTrue(box.intersects(new BoundingSphere(0f, 3f, 1f, 0.1f)));
+		assertTrue(box.intersects(new BoundingSphere(2f, 3f, 1f, 1f)));
+		assertFalse(box.intersects(new BoundingSphere(2f, 5f, 4f, 1.5f)));
+		assertFalse(box.intersects(new BoundingSphere()));
+		assertEquals(3f, box.distanceSquared(new Vector3f(2f, 5f, 4f)), delta);
+		assertEquals(0f, box.distanceSquared(new Vector3f(0f, 3f, 1f)), delta);
+	}
+
+	/**
+	 * This checks the transformations against transforming all eight corners.
+	 */
+	@Test
+	public void checkTransform() {
+		AABB box = new AABB(-1f, -2f, 0.5f, 3f, 1f, 2f);
+		Vector3f translation = new Vector3f(5f, -6f, 7f);
+		Quaternion rotation = Quaternion.fromAxisAngle(new Vector3f(
+				random.nextFloat(), random.nextFloat(), random.nextFloat()),
+				random.nextFloat() * 3f);
+		Matrix3f matrix = rotation.fillRotationMatrix(null);
+		matrix.multiply(new Matrix3f(2f, 0f, 0f, 0f, 0.5f, 0f, 0f, 0f, 3f));
+		AABB cache = new AABB();
+
+		assertSame(cache, box.transform(matrix, translation, cache));
+		assertBoxEquals(transformCorners(box, matrix, translation), cache);
+
+		assertSame(cache, box.transform(rotation, translation, cache));
+		assertBoxEquals(transformCorners(box, rotation.fillRotationMatrix(null),
+				translation), cache);
+
+		Matrix4f affine = new Matrix4f(matrix, translation);
+		assertBoxEquals(transformCorners(box, matrix, translation),
+				box.transform(affine, null));
+
+		// A pure rotation about a coordinate axis is exact.
+		AABB rotated = box.transform(Quaternion.fromAxisAngle(Vector3f.UNIT_Z,
+				(float) (Math.PI / 2.0)), Vector3f.ZERO, null);
+		assertBoxEquals(new AABB(-1f, -1f, 0.5f, 2f, 3f, 2f), rotated);
+
+		// In place.
+		AABB copy = new AABB(box);
+		assertSame(copy, copy.transform(matrix, translation));
+		assertBoxEquals(box.transform(matrix, translation, null), copy);
+		assertSame(copy, copy.translate(translation));
+		assertBoxEquals(box.transform(matrix, translation, null).translate(
+				translation, null), copy);
+
+		// Empty boxes stay empty.
+		assertTrue(new AABB().transform(matrix, translation).isEmpty());
+	}
+
+	/**
+	 * This checks the bulk computation from packed vertices.
+	 */
+	@Test
+	public void checkFromPoints() {
+		final int count = 50;
+		float[] points = new float[count * 3 + 2];
+		AABB expected = new AABB();
+		for (int i = 0; i < points.length; i++) {
+			points[i] = random.nextFloat() * 10f - 5f;
+		}
+		for (int i = 1; i < 1 + count * 3; i += 3) {
+			expected.merge(points[i], points[i + 1], points[i + 2]);
+		}
+		AABB cache = new AABB();
+		assertSame(cache, AABB.fromPoints(points, 1, count, cache));
+		assertEquals(expected, cache);
+		assertTrue(AABB.fromPoints(points, 0, 0, null).isEmpty());
+
+		try {
+			AABB.fromPoints(points, 3, count, cache);
+			fail(failurePrefix + "Out-of-range count accepted.");
+		} catch (IndexOutOfBoundsException e) {
+			// Exception thrown as expected.
+		}
+	}
+
+	// ---- Utility methods ---- //
+
+	private static AABB transformCorners(AABB box, Matrix3f matrix,
+			Vector3f translation) {
+		AABB result = new AABB();
+		Vector3f corner = new Vector3f();
+		for (int i = 0; i < 8; i++) {
+			corner.set((i & 1) == 0 ? box.min.x : box.max.x,
+					(i & 2) == 0 ? box.min.y : box.max.y,
+					(i & 4) == 0 ? box.min.z : box.max.z);
+			result.merge(matrix.multiply(corner, corner).add(translation));
+		}
+		return result;
+	}
+
+	private static void assertBoxEquals(AABB expected, AABB actual) {
+		assertEquals(expected.min.x, actual.min.x, delta);
+		assertEquals(expected.min.y, actual.min.y, delta);
+		assertEquals(expected.min.z, actual.min.z, delta);
+		assertEquals(expected.max.x, actual.max.x, delta);
+		assertEquals(expected.max.y, actual.max.y, delta);
+		assertEquals(expected.max.z, actual.max.z, delta);
+	}
+	// ------------------------- //
+}
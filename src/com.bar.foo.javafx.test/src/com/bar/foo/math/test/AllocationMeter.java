@@ -0,0 +1,194 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * This class measures how many bytes an operation allocates on the heap per
+ * call. It is used by tests to check that operations documented as creating no
+ * objects (e.g., math operations with a <i>cache</i> argument) do not
+ * allocate once the JIT has compiled them.
+ * <p>
+ * Measurements use
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}, so
+ * they only count allocations made by the calling thread. Each operation is
+ * first run in a warm-up loop so that it is compiled (and so that escape
+ * analysis can remove temporaries that never leave the operation, as it would
+ * in the running application). It is then measured over several rounds, and
+ * the cheapest round is reported so that a stray compilation or GC does not
+ * cause a false failure.
+ * </p>
+ * <p>
+ * Operations are declared as {@link Runnable}s with a budget:
+ * </p>
+ *
+ * <pre>
+ * AllocationMeter.assertBudget(&quot;Vector3f.add&quot;, 0, new Runnable() {
+ * 	{@literal @}Override
+ * 	public void run() {
+ * 		a.add(b, cache);
+ * 	}
+ * });
+ * </pre>
+ * <p>
+ * Any objects the operation uses (including caches) should be created
+ * beforehand, e.g., as fields of the {@code Runnable}. If the JVM does not
+ * support allocation measurements, the calling test is skipped.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public final class AllocationMeter {
+
+	/**
+	 * The default number of calls made to warm up an operation. This is
+	 * comfortably above the invocation count at which HotSpot compiles a
+	 * method with C2.
+	 */
+	public static final int DEFAULT_WARMUP_CALLS = 50000;
+	/**
+	 * The default number of calls made per measured round.
+	 */
+	public static final int DEFAULT_CALLS = 100000;
+	/**
+	 * The number of measured rounds. The cheapest round is reported.
+	 */
+	private static final int ROUNDS = 3;
+
+	/**
+	 * The platform bean for the thread system, or null if it does not support
+	 * measuring allocations.
+	 */
+	private static final com.sun.management.ThreadMXBean threads = createThreadBean();
+
+	/**
+	 * A private constructor to prevent instantiation.
+	 */
+	private AllocationMeter() {
+		// Nothing to do.
+	}
+
+	/**
+	 * Gets whether the JVM supports measuring per-thread allocations.
+	 *
+	 * @return True if allocations can be measured, false otherwise.
+	 */
+	public static boolean isSupported() {
+		return threads != null;
+	}
+
+	/**
+	 * Measures the bytes allocated per call of the operation, using the
+	 * default numbers of warm-up and measured calls.
+	 *
+	 * @param operation
+	 *            The operation to measure.
+	 * @return The average number of bytes allocated per call.
+	 * @throws IllegalStateException
+	 *             If allocations cannot be measured.
+	 */
+	public static double measure(Runnable operation) {
+		return measure(operation, DEFAULT_WARMUP_CALLS, DEFAULT_CALLS);
+	}
+
+	/**
+	 * Measures the bytes allocated per call of the operation.
+	 *
+	 * @param operation
+	 *            The operation to measure.
+	 * @param warmupCalls
+	 *            The number of calls made before measuring.
+	 * @param calls
+	 *            The number of calls made per measured round. Must be
+	 *            positive.
+	 * @return The average number of bytes allocated per call.
+	 * @throws IllegalStateException
+	 *             If allocations cannot be measured.
+	 * @throws IllegalArgumentException
+	 *             If the number of calls is not positive.
+	 */
+	public static double measure(Runnable operation, int warmupCalls,
+			int calls) {
+		if (threads == null) {
+			throw new IllegalStateException("AllocationMeter error: "
+					+ "The JVM does not support measuring allocations.");
+		} else if (calls <= 0) {
+			throw new IllegalArgumentException("AllocationMeter error: "
+					+ "The number of calls must be positive.");
+		}
+
+		final long thread = Thread.currentThread().getId();
+
+		for (int i = 0; i < warmupCalls; i++) {
+			operation.run();
+		}
+
+		// Querying the bean may itself allocate, so measure an empty interval
+		// and subtract it from each round.
+		long overhead = threads.getThreadAllocatedBytes(thread);
+		overhead = threads.getThreadAllocatedBytes(thread) - overhead;
+
+		long best = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = threads.getThreadAllocatedBytes(thread);
+			for (int i = 0; i < calls; i++) {
+				operation.run();
+			}
+			long bytes = threads.getThreadAllocatedBytes(thread) - start
+					- overhead;
+			best = Math.min(best, Math.max(bytes, 0L));
+		}
+		return (double) best / calls;
+	}
+
+	/**
+	 * Measures the operation and fails if it allocates more bytes per call
+	 * than its budget. If allocations cannot be measured, the calling test is
+	 * skipped.
+	 *
+	 * @param name
+	 *            The name of the operation, used in the failure message.
+	 * @param budget
+	 *            The maximum number of bytes the operation may allocate per
+	 *            call. This is 0 for operations that should not allocate.
+	 * @param operation
+	 *            The operation to measure.
+	 */
+	public static void assertBudget(String name, long budget,
+			Runnable operation) {
+		assumeTrue("Allocations cannot be measured on this JVM.",
+				isSupported());
+		double bytesPerCall = measure(operation);
+		if (bytesPerCall > budget) {
+			fail("AllocationMeter failure: " + name + " allocated "
+					+ bytesPerCall + " bytes per call (budget: " + budget
+					+ ").");
+		}
+	}
+
+	// ---- Utility methods ---- //
+	/**
+	 * Gets the platform thread bean and enables allocation measurements.
+	 *
+	 * @return The bean, or null if the JVM does not support allocation
+	 *         measurements.
+	 */
+	private static com.sun.management.ThreadMXBean createThreadBean() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory
+				.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+			if (threads.isThreadAllocatedMemorySupported()) {
+				if (!threads.isThreadAllocatedMemoryEnabled()) {
+					threads.setThreadAllocatedMemoryEnabled(true);
+				}
+				return threads;
+			}
+		}
+		return null;
+	}
+	// ------------------------- //
+}
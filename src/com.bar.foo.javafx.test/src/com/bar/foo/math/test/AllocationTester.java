@@ -0,0 +1,435 @@
+package com.bar.foo.math.test;
+
+import static com.bar.foo.math.test.AllocationMeter.assertBudget;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Test;
+
+import com.bar.foo.math.AABB;
+import com.bar.foo.math.BoundingSphere;
+import com.bar.foo.math.CatmullRomSpline;
+import com.bar.foo.math.DualQuaternion;
+import com.bar.foo.math.Encoding;
+import com.bar.foo.math.Frustum;
+import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.QuaternionTrack;
+import com.bar.foo.math.Ray;
+import com.bar.foo.math.RayHit;
+import com.bar.foo.math.Scratch;
+import com.bar.foo.math.SkinningKernel;
+import com.bar.foo.math.Spline;
+import com.bar.foo.math.TriangleBVH;
+import com.bar.foo.math.Vector3f;
+import com.bar.foo.math.Vector3fArray;
+
+/**
+ * This class checks that the math operations documented as creating no objects
+ * do not allocate once they are compiled. Each operation is declared with its
+ * allocation budget (in bytes per call) and measured with an
+ * {@link AllocationMeter}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class AllocationTester {
+
+	/**
+	 * This checks that the meter itself detects allocations, so that the
+	 * zero-allocation checks below cannot pass vacuously.
+	 */
+	@Test
+	public void checkMeter() {
+		assumeTrue(AllocationMeter.isSupported());
+
+		// A new vector that escapes must be counted.
+		double bytes = AllocationMeter.measure(new Runnable() {
+			private final Vector3f a = new Vector3f(1f, 2f, 3f);
+			private final Vector3f b = new Vector3f(4f, 5f, 6f);
+			private Vector3f sink;
+
+			@Override
+			public void run() {
+				sink = a.cross(b);
+			}
+		});
+		assertTrue(bytes >= 16.0);
+
+		// An empty operation allocates nothing.
+		bytes = AllocationMeter.measure(new Runnable() {
+			@Override
+			public void run() {
+				// Nothing to do.
+			}
+		});
+		assertEquals(0.0, bytes, 0.0);
+
+		return;
+	}
+
+	/**
+	 * This checks the {@link Vector3f} operations that take a <i>cache</i> or
+	 * operate in place.
+	 */
+	@Test
+	public void checkVector3f() {
+		assertBudget("Vector3f.add/subtract/multiply", 0, new Runnable() {
+			private final Vector3f a = new Vector3f(1f, 2f, 3f);
+			private final Vector3f b = new Vector3f(4f, 5f, 6f);
+			private final Vector3f cache = new Vector3f();
+
+			@Override
+			public void run() {
+				a.add(b, cache).subtract(b).multiply(0.5f);
+			}
+		});
+		assertBudget("Vector3f.cross/normalize", 0, new Runnable() {
+			private final Vector3f a = new Vector3f(1f, 2f, 3f);
+			private final Vector3f b = new Vector3f(4f, 5f, 6f);
+			private final Vector3f cache = new Vector3f();
+
+			@Override
+			public void run() {
+				a.cross(b, cache).normalize();
+			}
+		});
+		assertBudget("Vector3f.dot/distance", 0, new Runnable() {
+			private final Vector3f a = new Vector3f(1f, 2f, 3f);
+			private final Vector3f b = new Vector3f(4f, 5f, 6f);
+			private float sink;
+
+			@Override
+			public void run() {
+				sink += a.dot(b) + a.distance(b) + Vector3f.UNIT_X.dot(a);
+			}
+		});
+		return;
+	}
+
+	/**
+	 * This checks the {@link Matrix3f} operations that take a <i>cache</i> or
+	 * operate in place.
+	 */
+	@Test
+	public void checkMatrix3f() {
+		assertBudget("Matrix3f.multiply", 0, new Runnable() {
+			private final Matrix3f a = new Matrix3f(1f, 2f, 3f, 0f, 1f, 4f, 5f,
+					6f, 0f);
+			private final Matrix3f cache = new Matrix3f();
+			private final Vector3f vector = new Vector3f(1f, 2f, 3f);
+			private final Vector3f vectorCache = new Vector3f();
+
+			@Override
+			public void run() {
+				a.multiply(a, cache).multiply(Matrix3f.IDENTITY);
+				cache.multiply(vector, vectorCache);
+			}
+		});
+		assertBudget("Matrix3f.invert/transpose/orthonormalize", 0,
+				new Runnable() {
+					private final Matrix3f a = new Matrix3f(1f, 2f, 3f, 0f, 1f,
+							4f, 5f, 6f, 0f);
+					private final Matrix3f cache = new Matrix3f();
+
+					@Override
+					public void run() {
+						a.invert(cache).transpose().orthonormalize();
+					}
+				});
+		assertBudget("Matrix3f.transform", 0, new Runnable() {
+			private final Matrix3f a = new Matrix3f(1f, 2f, 3f, 0f, 1f, 4f, 5f,
+					6f, 0f);
+			private final float[] src = new float[3 * 64];
+			private final float[] dst = new float[3 * 64];
+
+			@Override
+			public void run() {
+				a.transform(src, 0, dst, 0, 64);
+				a.transformNormals(src, 0, dst, 0, 64);
+			}
+		});
+		return;
+	}
+
+	/**
+	 * This checks the {@link Quaternion} operations that take a <i>cache</i>
+	 * or operate in place.
+	 */
+	@Test
+	public void checkQuaternion() {
+		assertBudget("Quaternion.multiply/normalize", 0, new Runnable() {
+			private final Quaternion a = new Quaternion(1f, 2f, 3f, 4f);
+			private final Quaternion cache = new Quaternion();
+
+			@Override
+			public void run() {
+				a.multiply(a, cache).normalize().conjugate().reciprocate();
+			}
+		});
+		assertBudget("Quaternion.rotate", 0, new Runnable() {
+			private final Quaternion a = new Quaternion(1f, 2f, 3f, 4f);
+			private final Vector3f vector = new Vector3f(1f, 2f, 3f);
+			private final Vector3f cache = new Vector3f();
+
+			@Override
+			public void run() {
+				a.rotate(vector, cache);
+				a.rotateUnit(cache);
+			}
+		});
+		assertBudget("Quaternion.rotateAll", 0, new Runnable() {
+			private final Quaternion a = new Quaternion(1f, 2f, 3f, 4f);
+			private final float[] in = new float[3 * 64];
+			private final float[] out = new float[3 * 64];
+
+			@Override
+			public void run() {
+				a.rotateAll(in, out, 0, 64);
+			}
+		});
+		assertBudget("Quaternion.fillRotationMatrix/fromRotationMatrix", 0,
+				new Runnable() {
+					private final Quaternion a = new Quaternion(1f, 2f, 3f, 4f);
+					private final Quaternion cache = new Quaternion();
+					private final Matrix3f matrix = new Matrix3f();
+
+					@Override
+					public void run() {
+						Quaternion.fromRotationMatrix(
+								a.fillRotationMatrix(matrix), cache);
+					}
+				});
+		assertBudget("Quaternion.fromAxisAngle/fromTwoVectors", 0,
+				new Runnable() {
+					private final Vector3f u = new Vector3f(1f, 2f, 3f);
+					private final Vector3f v = new Vector3f(3f, 2f, 1f);
+					private final Quaternion cache = new Quaternion();
+
+					@Override
+					public void run() {
+						Quaternion.fromAxisAngle(u, 0.5f, cache);
+						Quaternion.fromTwoVectors(u, v, cache);
+					}
+				});
+		assertBudget("Quaternion.slerp/nlerp", 0, new Runnable() {
+			private final Quaternion from = Quaternion.fromAxisAngle(
+					Vector3f.UNIT_Y, 0.2f);
+			private final Quaternion to = Quaternion.fromAxisAngle(
+					Vector3f.UNIT_Y, 2f);
+			private final Quaternion cache = new Quaternion();
+
+			@Override
+			public void run() {
+				Quaternion.slerp(from, to, 0.3f, cache);
+				Quaternion.nlerp(from, to, 0.3f, cache);
+			}
+		});
+		return;
+	}
+
+	/**
+	 * This checks the bulk operations and the classes built on the basic math
+	 * types.
+	 */
+	@Test
+	public void checkDerivedTypes() {
+		assertBudget("Vector3fArray", 0, new Runnable() {
+			private final Vector3fArray a = new Vector3fArray(64);
+			private final Vector3fArray b = new Vector3fArray(64);
+			private final Quaternion rotation = new Quaternion(1f, 2f, 3f, 4f);
+
+			@Override
+			public void run() {
+				a.add(b, 0, 64).cross(b, a, 0, 64);
+				a.rotate(rotation, 0, 64);
+			}
+		});
+		assertBudget("Scratch", 0, new Runnable() {
+			private final Vector3f a = new Vector3f(1f, 2f, 3f);
+
+			@Override
+			public void run() {
+				try (Scratch scratch = Scratch.open()) {
+					Quaternion q = Quaternion.fromAxisAngle(a, 0.5f,
+							scratch.quaternion());
+					q.rotate(a, scratch.vector3f());
+					q.fillRotationMatrix(scratch.matrix3f());
+				}
+			}
+		});
+		assertBudget("AABB/BoundingSphere.transform", 0, new Runnable() {
+			private final AABB box = new AABB(-1f, -2f, -3f, 1f, 2f, 3f);
+			private final AABB boxCache = new AABB();
+			private final BoundingSphere sphere = new BoundingSphere(
+					new Vector3f(1f, 2f, 3f), 4f);
+			private final BoundingSphere sphereCache = new BoundingSphere();
+			private final Quaternion rotation = new Quaternion(1f, 2f, 3f, 4f);
+			private final Vector3f translation = new Vector3f(1f, 2f, 3f);
+
+			@Override
+			public void run() {
+				box.transform(rotation, translation, boxCache);
+				sphere.transform(rotation, translation, sphereCache);
+			}
+		});
+		assertBudget("Frustum", 0, new Runnable() {
+			private final Frustum frustum = new Frustum();
+			private final Quaternion rotation = new Quaternion(1f, 2f, 3f, 4f);
+			private final Vector3f position = new Vector3f(1f, 2f, 3f);
+			private final AABB box = new AABB(-1f, -2f, -30f, 1f, 2f, -3f);
+			private int sink;
+
+			@Override
+			public void run() {
+				frustum.set(0.5f, 1.5f, 0.1f, 100f, rotation, position);
+				sink += frustum.test(box, Frustum.ALL_PLANES, 0);
+			}
+		});
+		assertBudget("QuaternionTrack.Sampler", 0, new Runnable() {
+			private final QuaternionTrack.Sampler sampler = new QuaternionTrack(
+					new float[] { 0f, 1f, 2f }, new Quaternion[] {
+							new Quaternion(),
+							Quaternion.fromAxisAngle(Vector3f.UNIT_Y, 1f),
+							Quaternion.fromAxisAngle(Vector3f.UNIT_X, 1f) })
+					.sampler();
+			private final Quaternion cache = new Quaternion();
+			private float time;
+
+			@Override
+			public void run() {
+				time = (time + 0.01f) % 2f;
+				sampler.sample(time, cache);
+			}
+		});
+		assertBudget("QuaternionTrack.Sampler.sampleSmooth", 0, new Runnable() {
+			private final QuaternionTrack.Sampler sampler = new QuaternionTrack(
+					new float[] { 0f, 1f, 2f }, new Quaternion[] {
+							new Quaternion(),
+							Quaternion.fromAxisAngle(Vector3f.UNIT_Y, 1f),
+							Quaternion.fromAxisAngle(Vector3f.UNIT_X, 1f) })
+					.sampler();
+			private final Quaternion cache = new Quaternion();
+			private float time;
+
+			@Override
+			public void run() {
+				time = (time + 0.01f) % 2f;
+				sampler.sampleSmooth(time, cache);
+			}
+		});
+		assertBudget("Spline.Sampler", 0, new Runnable() {
+			private final Spline.Sampler sampler = new CatmullRomSpline(
+					new Vector3f[] { new Vector3f(0f, 0f, 0f),
+							new Vector3f(1f, 2f, 0f), new Vector3f(4f, 1f, 3f),
+							new Vector3f(6f, 0f, 1f) }).sampler();
+			private final Vector3f cache = new Vector3f();
+			private float distance;
+
+			@Override
+			public void run() {
+				distance = (distance + 0.01f) % 8f;
+				sampler.sample(distance, cache);
+			}
+		});
+		assertBudget("DualQuaternion", 0, new Runnable() {
+			private final DualQuaternion a = new DualQuaternion(
+					Quaternion.fromAxisAngle(Vector3f.UNIT_Y, 1f), new Vector3f(
+							1f, 2f, 3f));
+			private final DualQuaternion b = new DualQuaternion(
+					Quaternion.fromAxisAngle(Vector3f.UNIT_X, 2f), new Vector3f(
+							3f, 2f, 1f));
+			private final DualQuaternion cache = new DualQuaternion();
+			private final Vector3f point = new Vector3f(1f, 1f, 1f);
+
+			@Override
+			public void run() {
+				a.multiply(b, cache).normalize().conjugate();
+				DualQuaternion.blend(a, cache, 0.3f, cache);
+				cache.transformPoint(point, point);
+			}
+		});
+		assertBudget("SkinningKernel.skin", 0, new Runnable() {
+			private final int[] indices = new int[200];
+			private final float[] weights = new float[200];
+			private final SkinningKernel kernel = new SkinningKernel(
+					new float[300], indices, weights, 2, 2);
+			private final float[] output = new float[300];
+			{
+				// Blend bones 0 and 1 equally.
+				for (int i = 0; i < 200; i += 2) {
+					indices[i + 1] = 1;
+					weights[i] = weights[i + 1] = 0.5f;
+				}
+				kernel.setBone(1, new DualQuaternion(Quaternion.fromAxisAngle(
+						Vector3f.UNIT_Z, 1f), new Vector3f(1f, 0f, 0f)));
+			}
+
+			@Override
+			public void run() {
+				kernel.skin(output);
+			}
+		});
+		assertBudget("TriangleBVH.intersect", 0, new Runnable() {
+			private final TriangleBVH tree;
+			private final Ray ray = new Ray();
+			private final RayHit hit = new RayHit();
+			private float x;
+			{
+				// A 16x16 grid of quads in the z = 0 plane.
+				float[] points = new float[17 * 17 * 3];
+				int[] faces = new int[16 * 16 * 2 * 6];
+				for (int j = 0, p = 0; j <= 16; j++) {
+					for (int i = 0; i <= 16; i++) {
+						points[p++] = i;
+						points[p++] = j;
+						p++;
+					}
+				}
+				for (int j = 0, f = 0; j < 16; j++) {
+					for (int i = 0; i < 16; i++) {
+						int corner = j * 17 + i;
+						faces[f] = corner;
+						faces[f + 2] = corner + 1;
+						faces[f + 4] = corner + 18;
+						faces[f + 6] = corner;
+						faces[f + 8] = corner + 18;
+						faces[f + 10] = corner + 17;
+						f += 12;
+					}
+				}
+				tree = new TriangleBVH(points, faces);
+			}
+
+			@Override
+			public void run() {
+				x = (x + 0.37f) % 16f;
+				ray.origin.set(x, 8.5f, 10f);
+				tree.intersect(ray, hit.reset());
+			}
+		});
+		assertBudget("Encoding", 0, new Runnable() {
+			private final ByteBuffer buffer = ByteBuffer.allocateDirect(64)
+					.order(ByteOrder.nativeOrder());
+			private final Quaternion rotation = new Quaternion(1f, 2f, 3f, 4f);
+			private final Vector3f vector = new Vector3f(1f, 2f, 3f);
+			private final AABB range = new AABB(-10f, -10f, -10f, 10f, 10f,
+					10f);
+
+			@Override
+			public void run() {
+				buffer.clear();
+				Encoding.putQuaternion48(buffer, rotation);
+				Encoding.putVector16(buffer, vector, range);
+				buffer.flip();
+				Encoding.getQuaternion48(buffer, rotation);
+				Encoding.getVector16(buffer, range, vector);
+			}
+		});
+		return;
+	}
+}
@@ -0,0 +1,189 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.AABB;
+import com.bar.foo.math.BoundingSphere;
+import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Matrix4f;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks all methods provided by {@link BoundingSphere}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class BoundingSphereTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-4;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "BoundingSphereTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * This checks the constructors, setters, and equality.
+	 */
+	@Test
+	public void checkConstructorsAndSet() {
+		BoundingSphere sphere = new BoundingSphere();
+		assertTrue(sphere.isEmpty());
+
+		sphere = new BoundingSphere(1f, 2f, 3f, 4f);
+		assertFalse(sphere.isEmpty());
+		BoundingSphere copy = new BoundingSphere(sphere);
+		assertNotSame(sphere, copy);
+		assertEquals(sphere, copy);
+		assertEquals(sphere.hashCode(), copy.hashCode());
+		assertEquals(sphere, new BoundingSphere(new Vector3f(1f, 2f, 3f), 4f));
+		assertTrue(new BoundingSphere(null).isEmpty());
+
+		assertSame(copy, copy.setEmpty());
+		assertTrue(copy.isEmpty());
+		assertSame(copy, copy.set(sphere.center, 4f));
+		assertEquals(sphere, copy);
+	}
+
+	/**
+	 * This checks merging, containment, and intersection.
+	 */
+	@Test
+	public void checkMergeAndIntersect() {
+		BoundingSphere sphere = new BoundingSphere();
+		assertSame(sphere, sphere.merge(1f, 0f, 0f));
+		assertEquals(new BoundingSphere(1f, 0f, 0f, 0f), sphere);
+		sphere.merge(new Vector3f(-1f, 0f, 0f));
+		assertSphereEquals(new BoundingSphere(0f, 0f, 0f, 1f), sphere);
+		// Points inside do not change the sphere.
+		sphere.merge(0f, 0.5f, 0.5f);
+		assertSphereEquals(new BoundingSphere(0f, 0f, 0f, 1f), sphere);
+
+		// Merging spheres gives the smallest enclosing sphere.
+		BoundingSphere other = new BoundingSphere(4f, 0f, 0f, 1f);
+		BoundingSphere merged = sphere.merge(other, null);
+		assertSphereEquals(new BoundingSphere(2f, 0f, 0f, 3f), merged);
+		assertTrue(merged.contains(new BoundingSphere(0f, 0f, 0f, 0.99f)));
+		assertFalse(sphere.contains(merged));
+		// Nested and empty spheres.
+		BoundingSphere inner = new BoundingSphere(0.1f, 0f, 0f, 0.5f);
+		assertEquals(sphere, sphere.merge(inner, new BoundingSphere()));
+		assertEquals(sphere, inner.merge(sphere, null));
+		assertEquals(sphere, sphere.merge(new BoundingSphere(), null));
+		assertEquals(sphere, new BoundingSphere().merge(sphere));
+
+		// Containment and intersection.
+		assertTrue(sphere.contains(0f, 1f, 0f));
+		assertFalse(sphere.contains(new Vector3f(0.8f, 0.8f, 0f)));
+		assertTrue(sphere.intersects(new BoundingSphere(2.5f, 0f, 0f, 1.5f)));
+		assertFalse(sphere.intersects(other));
+		assertFalse(sphere.intersects(new BoundingSphere()));
+		assertTrue(sphere.intersects(new AABB(0.9f, 0f, 0f, 2f, 1f, 1f)));
+		assertFalse(sphere.intersects(new AABB(0.8f, 0.8f, 0f, 2f, 1f, 1f)));
+	}
+
+	/**
+	 * This checks the transformations.
+	 */
+	@Test
+	public void checkTransform() {
+		BoundingSphere sphere = new BoundingSphere(1f, 2f, 3f, 2f);
+		Vector3f translation = new Vector3f(5f, -6f, 7f);
+		Quaternion rotation = Quaternion.fromAxisAngle(new Vector3f(
+				random.nextFloat(), random.nextFloat(), random.nextFloat()),
+				random.nextFloat() * 3f);
+		BoundingSphere cache = new BoundingSphere();
+
+		// Rotations only move the center.
+		assertSame(cache, sphere.transform(rotation, translation, cache));
+		Vector3f center = rotation.rotate(new Vector3f(1f, 2f, 3f)).add(
+				translation);
+		assertSphereEquals(new BoundingSphere(center, 2f), cache);
+
+		// Scales grow the radius by the largest factor.
+		Matrix3f matrix = rotation.fillRotationMatrix(null).multiply(
+				new Matrix3f(2f, 0f, 0f, 0f, 0.5f, 0f, 0f, 0f, 3f));
+		center = matrix.multiply(new Vector3f(1f, 2f, 3f)).add(translation);
+		assertSphereEquals(new BoundingSphere(center, 6f),
+				sphere.transform(matrix, translation, null));
+		assertSphereEquals(new BoundingSphere(center, 6f),
+				sphere.transform(new Matrix4f(matrix, translation), null));
+
+		// In place.
+		BoundingSphere copy = new BoundingSphere(sphere);
+		assertSame(copy, copy.transform(rotation, translation));
+		assertSame(copy, copy.translate(translation));
+		center = rotation.rotate(new Vector3f(1f, 2f, 3f)).add(translation)
+				.add(translation);
+		assertSphereEquals(new BoundingSphere(center, 2f), copy);
+
+		assertTrue(new BoundingSphere().transform(matrix, translation)
+				.isEmpty());
+	}
+
+	/**
+	 * This checks the bulk computation from packed vertices and boxes.
+	 */
+	@Test
+	public void checkFromPoints() {
+		final int count = 200;
+		float[] points = new float[count * 3 + 1];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = random.nextFloat() * 10f - 5f;
+		}
+		BoundingSphere cache = new BoundingSphere();
+		assertSame(cache, BoundingSphere.fromPoints(points, 1, count, cache));
+		for (int i = 1; i < points.length; i += 3) {
+			float dx = points[i] - cache.center.x;
+			float dy = points[i + 1] - cache.center.y;
+			float dz = points[i + 2] - cache.center.z;
+			assertTrue(dx * dx + dy * dy + dz * dz <= cache.radius
+					* cache.radius * 1.0001f);
+		}
+		// The points fill a cube of side 10, so the sphere should not be much
+		// larger than the cube's circumscribed sphere.
+		assertTrue(cache.radius < 5f * Math.sqrt(3.0) * 1.2);
+		assertTrue(BoundingSphere.fromPoints(points, 0, 0, null).isEmpty());
+
+		try {
+			BoundingSphere.fromPoints(points, 2, count, cache);
+			fail(failurePrefix + "Out-of-range count accepted.");
+		} catch (IndexOutOfBoundsException e) {
+			// Exception thrown as expected.
+		}
+
+		AABB box = new AABB(-1f, -2f, -2f, 1f, 2f, 2f);
+		assertSphereEquals(new BoundingSphere(0f, 0f, 0f, 3f),
+				BoundingSphere.fromAABB(box, null));
+		assertTrue(BoundingSphere.fromAABB(new AABB(), cache).isEmpty());
+	}
+
+	// ---- Utility methods ---- //
+
+	private static void assertSphereEquals(BoundingSphere expected,
+			BoundingSphere actual) {
+		assertEquals(expected.center.x, actual.center.x, delta);
+		assertEquals(expected.center.y, actual.center.y, delta);
+		assertEquals(expected.center.z, actual.center.z, delta);
+		assertEquals(expected.radius, actual.radius, delta);
+	}
+	// ------------------------- //
+}
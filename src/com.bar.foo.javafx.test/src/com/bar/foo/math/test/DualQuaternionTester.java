@@ -0,0 +1,179 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.DualQuaternion;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Quaternionc;
+import com.bar.foo.math.Vector3f;
+import com.bar.foo.math.Vector3fc;
+
+/**
+ * This class checks all methods provided by {@link DualQuaternion}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class DualQuaternionTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-4;
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * This checks the constructors, setters, and getters.
+	 */
+	@Test
+	public void checkConstruction() {
+		Vector3f point = createVector();
+		Vector3f cache = new Vector3f();
+
+		// The default is the identity.
+		DualQuaternion identity = new DualQuaternion();
+		assertSame(cache, identity.transformPoint(point, cache));
+		assertVectorEquals(point, cache);
+
+		// The rotation and translation can be recovered.
+		Quaternion rotation = createRotation();
+		Vector3f translation = createVector();
+		DualQuaternion q = new DualQuaternion(rotation, translation);
+		assertQuaternionEquals(rotation, q.getRotation(null));
+		Quaternion rotationCache = new Quaternion();
+		assertSame(rotationCache, q.getRotation(rotationCache));
+		assertVectorEquals(translation, q.getTranslation(null));
+		assertSame(cache, q.getTranslation(cache));
+
+		// Copies are independent.
+		DualQuaternion copy = new DualQuaternion(q);
+		q.setIdentity();
+		assertVectorEquals(translation, copy.getTranslation(null));
+		assertVectorEquals(Vector3f.ZERO, q.getTranslation(null));
+		assertSame(q, q.set(copy));
+		assertVectorEquals(translation, q.getTranslation(null));
+	}
+
+	/**
+	 * This checks transforming points, composing, and inverting.
+	 */
+	@Test
+	public void checkOperations() {
+		Quaternion rotation1 = createRotation();
+		Quaternion rotation2 = createRotation();
+		Vector3f translation1 = createVector();
+		Vector3f translation2 = createVector();
+		DualQuaternion q1 = new DualQuaternion(rotation1, translation1);
+		DualQuaternion q2 = new DualQuaternion(rotation2, translation2);
+		Vector3f point = createVector();
+
+		// A point is rotated, then translated.
+		Vector3f expected = rotation1.rotate(point, null).add(translation1);
+		assertVectorEquals(expected, q1.transformPoint(point, null));
+
+		// q1 * q2 applies q2, then q1.
+		expected = q1.transformPoint(q2.transformPoint(point, null), null);
+		DualQuaternion product = q1.multiply(q2, null);
+		assertVectorEquals(expected, product.transformPoint(point, null));
+		// The result can be stored in either argument.
+		DualQuaternion copy = new DualQuaternion(q2);
+		assertSame(copy, q1.multiply(copy, copy));
+		assertVectorEquals(expected, copy.transformPoint(point, null));
+		copy.set(q1);
+		assertSame(copy, copy.multiply(q2));
+		assertVectorEquals(expected, copy.transformPoint(point, null));
+
+		// The conjugate is the inverse.
+		DualQuaternion inverse = q1.conjugate(null);
+		Vector3f moved = q1.transformPoint(point, null);
+		assertVectorEquals(point, inverse.transformPoint(moved, moved));
+		copy.set(q1).conjugate().multiply(q1);
+		assertQuaternionEquals(Quaternion.IDENTITY, copy.real);
+		assertQuaternionEquals(Quaternion.ZERO, copy.dual);
+	}
+
+	/**
+	 * This checks normalizing and blending.
+	 */
+	@Test
+	public void checkBlend() {
+		Quaternion rotation = createRotation();
+		Vector3f translation = createVector();
+		DualQuaternion q = new DualQuaternion(rotation, translation);
+
+		// Scaling a dual quaternion does not change its normalized form.
+		DualQuaternion scaled = new DualQuaternion(q);
+		scaled.real.multiply(3f);
+		scaled.dual.multiply(3f);
+		assertSame(scaled, scaled.normalize());
+		assertQuaternionEquals(q.real, scaled.real);
+		assertQuaternionEquals(q.dual, scaled.dual);
+
+		// Blending two translations gives the translation between them.
+		DualQuaternion a = new DualQuaternion(Quaternion.IDENTITY,
+				new Vector3f(2f, 0f, 0f));
+		DualQuaternion b = new DualQuaternion(Quaternion.IDENTITY,
+				new Vector3f(0f, 4f, 0f));
+		DualQuaternion blend = DualQuaternion.blend(a, b, 0.25f, null);
+		assertVectorEquals(new Vector3f(1.5f, 1f, 0f),
+				blend.getTranslation(null));
+
+		// Blending two rotations about an axis through the origin rotates
+		// about that axis by the interpolated angle.
+		Vector3f axis = new Vector3f(1f, 2f, 3f);
+		a = new DualQuaternion(Quaternion.fromAxisAngle(axis, 0.2f),
+				Vector3f.ZERO);
+		b = new DualQuaternion(Quaternion.fromAxisAngle(axis, 1.0f),
+				Vector3f.ZERO);
+		assertSame(blend, DualQuaternion.blend(a, b, 0.5f, blend));
+		assertQuaternionEquals(Quaternion.fromAxisAngle(axis, 0.6f),
+				blend.real);
+		assertVectorEquals(Vector3f.ZERO, blend.getTranslation(null));
+
+		// The blend takes the shortest path when a rotation is negated.
+		b.real.multiply(-1f);
+		b.dual.multiply(-1f);
+		DualQuaternion.blend(a, b, 0.5f, blend);
+		assertQuaternionEquals(Quaternion.fromAxisAngle(axis, 0.6f),
+				blend.real);
+
+		// The end points are returned.
+		DualQuaternion.blend(q, a, 0f, blend);
+		assertVectorEquals(translation, blend.getTranslation(null));
+	}
+
+	// ---- Utility methods ---- //
+	private static Vector3f createVector() {
+		return new Vector3f(random.nextFloat() * 10f - 5f,
+				random.nextFloat() * 10f - 5f, random.nextFloat() * 10f - 5f);
+	}
+
+	private static Quaternion createRotation() {
+		return Quaternion.fromAxisAngle(new Vector3f(random.nextFloat(),
+				random.nextFloat(), random.nextFloat() + 0.1f),
+				random.nextFloat() * 3f);
+	}
+
+	private static void assertQuaternionEquals(Quaternionc expected,
+			Quaternionc actual) {
+		assertEquals(expected.w(), actual.w(), delta);
+		assertEquals(expected.x(), actual.x(), delta);
+		assertEquals(expected.y(), actual.y(), delta);
+		assertEquals(expected.z(), actual.z(), delta);
+	}
+
+	private static void assertVectorEquals(Vector3fc expected, Vector3fc actual) {
+		assertEquals(expected.x(), actual.x(), delta);
+		assertEquals(expected.y(), actual.y(), delta);
+		assertEquals(expected.z(), actual.z(), delta);
+	}
+	// ------------------------- //
+}
@@ -0,0 +1,275 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.AABB;
+import com.bar.foo.math.Encoding;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Quaternionc;
+import com.bar.foo.math.Vector3f;
+import com.bar.foo.math.Vector3fc;
+
+/**
+ * This class checks all encodings provided by {@link Encoding}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class EncodingTester {
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "EncodingTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * The number of values used in the bulk tests.
+	 */
+	private static final int size = 100;
+
+	/**
+	 * This checks the 32- and 48-bit smallest three quaternion encodings.
+	 */
+	@Test
+	public void checkQuaternions() {
+		ByteBuffer buffer = ByteBuffer.allocate(size * 6);
+		Quaternion q = new Quaternion();
+		Quaternion cache = new Quaternion();
+
+		for (int i = 0; i < size; i++) {
+			randomRotation(q);
+			// Encode the same rotation with a negative sign half the time.
+			if (i % 2 == 0) {
+				q.set(-q.w, -q.x, -q.y, -q.z);
+			}
+			buffer.clear();
+			assertSame(buffer, Encoding.putQuaternion32(buffer, q));
+			assertSame(buffer, Encoding.putQuaternion48(buffer, q));
+			assertEquals(Encoding.QUATERNION32_BYTES
+					+ Encoding.QUATERNION48_BYTES, buffer.position());
+			buffer.flip();
+			assertSame(cache, Encoding.getQuaternion32(buffer, cache));
+			assertRotationEquals(q, cache, 2.5e-3f);
+			assertRotationEquals(q, Encoding.getQuaternion48(buffer, null),
+					8e-5f);
+		}
+
+		// The axes, which have zeros and a tie-free largest component.
+		Quaternionc[] exact = { Quaternion.IDENTITY,
+				new Quaternion(0f, 1f, 0f, 0f), new Quaternion(0f, 0f, -1f, 0f),
+				new Quaternion(0f, 0f, 0f, 1f) };
+		for (Quaternionc rotation : exact) {
+			buffer.clear();
+			Encoding.putQuaternion48(buffer, rotation).flip();
+			assertRotationEquals(rotation,
+					Encoding.getQuaternion48(buffer, cache), 8e-5f);
+		}
+
+		// Non-unit quaternions are normalized.
+		buffer.clear();
+		Encoding.putQuaternion48(buffer, new Quaternion(2f, 0f, 0f, 0f)).flip();
+		assertRotationEquals(Quaternion.IDENTITY,
+				Encoding.getQuaternion48(buffer, cache), 8e-5f);
+
+		// Bulk encoding with both byte orders.
+		float[] src = new float[size * 4 + 1];
+		for (int i = 1; i < src.length; i += 4) {
+			randomRotation(q);
+			src[i] = q.w;
+			src[i + 1] = q.x;
+			src[i + 2] = q.y;
+			src[i + 3] = q.z;
+		}
+		for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN,
+				ByteOrder.LITTLE_ENDIAN }) {
+			buffer = ByteBuffer.allocateDirect(size * 10).order(order);
+			Encoding.putQuaternions32(buffer, src, 1, size);
+			Encoding.putQuaternions48(buffer, src, 1, size);
+			assertEquals(size * 10, buffer.position());
+			buffer.flip();
+			float[] dst32 = Encoding.getQuaternions32(buffer,
+					new float[src.length], 1, size);
+			float[] dst48 = Encoding.getQuaternions48(buffer,
+					new float[src.length], 1, size);
+			Quaternion expected = new Quaternion();
+			for (int i = 1; i < src.length; i += 4) {
+				expected.set(src[i], src[i + 1], src[i + 2], src[i + 3]);
+				q.set(dst32[i], dst32[i + 1], dst32[i + 2], dst32[i + 3]);
+				assertRotationEquals(expected, q, 2.5e-3f);
+				q.set(dst48[i], dst48[i + 1], dst48[i + 2], dst48[i + 3]);
+				assertRotationEquals(expected, q, 8e-5f);
+			}
+		}
+
+		// Bad ranges and buffers fail before anything is written.
+		buffer = ByteBuffer.allocate(size * 4 - 1);
+		try {
+			Encoding.putQuaternions32(buffer, src, 1, size);
+			fail(failurePrefix + "Buffer overflow not detected.");
+		} catch (BufferOverflowException e) {
+			assertEquals(0, buffer.position());
+		}
+		try {
+			Encoding.putQuaternions32(buffer, src, 2, size);
+			fail(failurePrefix + "Out-of-range count accepted.");
+		} catch (IndexOutOfBoundsException e) {
+			// Exception thrown as expected.
+		}
+	}
+
+	/**
+	 * This checks the quantized vector encoding.
+	 */
+	@Test
+	public void checkVectors() {
+		AABB range = new AABB(-100f, 0f, -1f, 100f, 50f, 1f);
+		ByteBuffer buffer = ByteBuffer.allocate(size * 6);
+		Vector3f v = new Vector3f();
+		Vector3f cache = new Vector3f();
+		float[] errors = { 200f / 131070f, 50f / 131070f, 2f / 131070f };
+
+		float[] src = new float[size * 3];
+		for (int i = 0; i < size; i++) {
+			v.set(random.nextFloat() * 200f - 100f, random.nextFloat() * 50f,
+					random.nextFloat() * 2f - 1f);
+			src[i * 3] = v.x;
+			src[i * 3 + 1] = v.y;
+			src[i * 3 + 2] = v.z;
+			buffer.clear();
+			assertSame(buffer, Encoding.putVector16(buffer, v, range));
+			assertEquals(Encoding.VECTOR16_BYTES, buffer.position());
+			buffer.flip();
+			assertSame(cache, Encoding.getVector16(buffer, range, cache));
+			assertVectorEquals(v, cache, errors);
+		}
+
+		// The corners are exact, and values outside the range are clamped.
+		buffer.clear();
+		Encoding.putVector16(buffer, range.min, range);
+		Encoding.putVector16(buffer, range.max, range);
+		Encoding.putVector16(buffer, new Vector3f(-200f, 51f, 0f), range);
+		buffer.flip();
+		assertEquals(range.min, Encoding.getVector16(buffer, range, null));
+		assertEquals(range.max, Encoding.getVector16(buffer, range, null));
+		assertVectorEquals(new Vector3f(-100f, 50f, 0f),
+				Encoding.getVector16(buffer, range, null), errors);
+
+		// Bulk encoding.
+		buffer.clear();
+		Encoding.putVectors16(buffer, src, 0, size, range);
+		buffer.flip();
+		float[] dst = Encoding.getVectors16(buffer, new float[src.length], 0,
+				size, range);
+		for (int i = 0; i < src.length; i++) {
+			assertEquals(src[i], dst[i], errors[i % 3]);
+		}
+		buffer.rewind().limit(size * 6 - 1);
+		try {
+			Encoding.getVectors16(buffer, dst, 0, size, range);
+			fail(failurePrefix + "Buffer underflow not detected.");
+		} catch (BufferUnderflowException e) {
+			assertEquals(0, buffer.position());
+		}
+	}
+
+	/**
+	 * This checks the half float conversions.
+	 */
+	@Test
+	public void checkHalfs() {
+		// Known values.
+		assertEquals((short) 0x0000, Encoding.toHalf(0f));
+		assertEquals((short) 0x8000, Encoding.toHalf(-0f));
+		assertEquals((short) 0x3c00, Encoding.toHalf(1f));
+		assertEquals((short) 0xc000, Encoding.toHalf(-2f));
+		assertEquals((short) 0x7bff, Encoding.toHalf(65504f));
+		assertEquals((short) 0x7c00, Encoding.toHalf(65520f));
+		assertEquals((short) 0x7c00, Encoding.toHalf(Float.POSITIVE_INFINITY));
+		assertEquals((short) 0xfc00, Encoding.toHalf(-1e10f));
+		assertEquals((short) 0x0400, Encoding.toHalf(0x1p-14f));
+		assertEquals((short) 0x0001, Encoding.toHalf(0x1p-24f));
+		assertEquals((short) 0x0000, Encoding.toHalf(0x1p-26f));
+		assertEquals((short) 0x3555, Encoding.toHalf(1f / 3f));
+		// Ties round to even.
+		assertEquals((short) 0x3c00, Encoding.toHalf(1f + 0x1p-11f));
+		assertEquals((short) 0x3c02, Encoding.toHalf(1f + 0x3p-11f));
+		assertEquals((short) 0x0000, Encoding.toHalf(0x1p-25f));
+		assertEquals((short) 0x0002, Encoding.toHalf(0x3p-25f));
+		assertTrue(Float.isNaN(Encoding.fromHalf(Encoding.toHalf(Float.NaN))));
+		assertEquals(Float.NEGATIVE_INFINITY,
+				Encoding.fromHalf((short) 0xfc00), 0f);
+		assertEquals(0x1p-24f, Encoding.fromHalf((short) 0x0001), 0f);
+		assertEquals(-65504f, Encoding.fromHalf((short) 0xfbff), 0f);
+
+		// Every half float survives a round trip exactly.
+		for (int i = 0; i < 0x10000; i++) {
+			short half = (short) i;
+			float value = Encoding.fromHalf(half);
+			if (!Float.isNaN(value)) {
+				assertEquals(half, Encoding.toHalf(value));
+			}
+		}
+
+		// Random values are within half of a unit in the last place.
+		ByteBuffer buffer = ByteBuffer.allocate(size * 2);
+		float[] src = new float[size];
+		for (int i = 0; i < size; i++) {
+			src[i] = (random.nextFloat() - 0.5f) * 1000f;
+			buffer.clear();
+			Encoding.putHalf(buffer, src[i]).flip();
+			assertEquals(src[i], Encoding.getHalf(buffer),
+					Math.abs(src[i]) * 0x1p-11f);
+		}
+		buffer.clear();
+		Encoding.putHalfs(buffer, src, 0, size).flip();
+		float[] dst = Encoding.getHalfs(buffer, new float[size], 0, size);
+		for (int i = 0; i < size; i++) {
+			assertEquals(Encoding.fromHalf(Encoding.toHalf(src[i])), dst[i],
+					0f);
+		}
+	}
+
+	// ---- Utility methods ---- //
+
+	private static Quaternion randomRotation(Quaternion cache) {
+		return Quaternion.fromAxisAngle(new Vector3f(random.nextFloat() - 0.5f,
+				random.nextFloat() - 0.5f, random.nextFloat() - 0.5f),
+				random.nextFloat() * 6f, cache);
+	}
+
+	private static void assertRotationEquals(Quaternionc expected,
+			Quaternion actual, float delta) {
+		// q and -q are the same rotation.
+		float sign = expected.w() * actual.w + expected.x() * actual.x
+				+ expected.y() * actual.y + expected.z() * actual.z < 0f ? -1f
+				: 1f;
+		assertEquals(expected.w(), sign * actual.w, delta);
+		assertEquals(expected.x(), sign * actual.x, delta);
+		assertEquals(expected.y(), sign * actual.y, delta);
+		assertEquals(expected.z(), sign * actual.z, delta);
+	}
+
+	private static void assertVectorEquals(Vector3fc expected, Vector3f actual,
+			float[] delta) {
+		assertEquals(expected.x(), actual.x, delta[0]);
+		assertEquals(expected.y(), actual.y, delta[1]);
+		assertEquals(expected.z(), actual.z, delta[2]);
+	}
+	// ------------------------- //
+}
@@ -0,0 +1,186 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.bar.foo.math.FloatMath;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the operations provided by {@link FloatMath}, including
+ * the published error bounds of the fast approximations.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class FloatMathTester {
+
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-5;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "FloatMathTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * The number of random samples used to check each error bound.
+	 */
+	private static final int samples = 100000;
+
+	/**
+	 * Restores the default table precision after each test.
+	 */
+	@After
+	public void resetTableBits() {
+		FloatMath.setTableBits(FloatMath.DEFAULT_TABLE_BITS);
+	}
+
+	/**
+	 * Checks the exact operations.
+	 */
+	@Test
+	public void checkExact() {
+		assertEquals(3f, FloatMath.sqrt(9f), 0.0);
+		assertEquals(0.5f, FloatMath.invSqrt(4f), 0.0);
+		assertEquals(1f, FloatMath.cos(0f), 0.0);
+		assertEquals(0f, FloatMath.sin(0f), 0.0);
+		assertEquals(1f, FloatMath.clamp(2f, -1f, 1f), 0.0);
+		assertEquals(-1f, FloatMath.clamp(-2f, -1f, 1f), 0.0);
+		assertEquals(0.5f, FloatMath.clamp(0.5f, -1f, 1f), 0.0);
+	}
+
+	/**
+	 * Checks the error bounds of the fast square roots.
+	 */
+	@Test
+	public void checkSqrtFast() {
+		// Check a sweep of values spanning many orders of magnitude.
+		for (int i = 0; i < samples; i++) {
+			float value = (float) Math.pow(10.0, random.nextDouble() * 20.0 - 10.0);
+			double expected = 1.0 / Math.sqrt(value);
+			assertEquals(expected, FloatMath.invSqrtFast(value), expected * 1.76e-3);
+			expected = Math.sqrt(value);
+			assertEquals(expected, FloatMath.sqrtFast(value), expected * 1.76e-3);
+		}
+		// Values close to 1 should be much more accurate.
+		for (int i = 0; i < samples; i++) {
+			float value = 1f + (random.nextFloat() - 0.5f) * 2e-3f;
+			assertEquals(1.0 / Math.sqrt(value), FloatMath.invSqrtFast(value),
+					1e-6);
+		}
+		assertEquals(0f, FloatMath.sqrtFast(0f), 0.0);
+	}
+
+	/**
+	 * Checks the error bounds of the table-based sine and cosine at several
+	 * precisions.
+	 */
+	@Test
+	public void checkSinCosFast() {
+		assertEquals(FloatMath.DEFAULT_TABLE_BITS, FloatMath.getTableBits());
+		checkSinCosFast(12, 4.1e-7);
+		checkSinCosFast(10, 4.8e-6);
+		checkSinCosFast(8, 7.6e-5);
+		assertEquals(8, FloatMath.getTableBits());
+
+		// Bad precisions should throw exceptions.
+		try {
+			FloatMath.setTableBits(FloatMath.MIN_TABLE_BITS - 1);
+			fail(failurePrefix + "Too few table bits accepted.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			FloatMath.setTableBits(FloatMath.MAX_TABLE_BITS + 1);
+			fail(failurePrefix + "Too many table bits accepted.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+	}
+
+	private void checkSinCosFast(int bits, double bound) {
+		FloatMath.setTableBits(bits);
+		for (int i = 0; i < samples; i++) {
+			// Most samples are small angles, but some are as large as 1e5.
+			float angle = (float) ((random.nextDouble() - 0.5)
+					* (i % 10 == 0 ? 2e5 : 20.0));
+			assertEquals(Math.sin(angle), FloatMath.sinFast(angle), bound);
+			assertEquals(Math.cos(angle), FloatMath.cosFast(angle), bound);
+		}
+	}
+
+	/**
+	 * Checks the error bounds of the table-based arctangent, including each
+	 * quadrant and the axes.
+	 */
+	@Test
+	public void checkAtan2Fast() {
+		for (int i = 0; i < samples; i++) {
+			float y = (random.nextFloat() - 0.5f) * 100f;
+			float x = (random.nextFloat() - 0.5f) * 100f;
+			assertEquals(Math.atan2(y, x), FloatMath.atan2Fast(y, x), 3e-7);
+		}
+		FloatMath.setTableBits(8);
+		for (int i = 0; i < samples; i++) {
+			float y = random.nextFloat() - 0.5f;
+			float x = random.nextFloat() - 0.5f;
+			assertEquals(Math.atan2(y, x), FloatMath.atan2Fast(y, x), 1.6e-6);
+		}
+
+		float[] values = { 0f, -0f, 1f, -1f };
+		for (float y : values) {
+			for (float x : values) {
+				assertEquals(Math.atan2(y, x), FloatMath.atan2Fast(y, x), 3e-7);
+			}
+		}
+	}
+
+	/**
+	 * Checks the fast normalization of vectors and quaternions.
+	 */
+	@Test
+	public void checkNormalizeFast() {
+		Vector3f vector = new Vector3f(3f, 4f, 12f);
+		Vector3f cache = new Vector3f();
+		assertSame(cache, vector.normalizeFast(cache));
+		assertEquals(1f, cache.length(), 1.76e-3);
+		assertEquals(vector.normalize(null).x, cache.x, 1.76e-3);
+		assertSame(vector, vector.normalizeFast());
+		assertEquals(cache, vector);
+		// Re-normalizing a nearly-unit vector is accurate.
+		vector.multiply(1.0004f).normalizeFast();
+		assertEquals(1f, vector.length(), 1e-6);
+		// The zero vector is left alone.
+		assertEquals(new Vector3f(), new Vector3f().normalizeFast(null));
+
+		Quaternion quaternion = new Quaternion(1f, 2f, 3f, 4f);
+		Quaternion quaternionCache = new Quaternion();
+		assertSame(quaternionCache, quaternion.normalizeFast(quaternionCache));
+		assertEquals(1f, quaternionCache.norm(), 1.76e-3);
+		assertSame(quaternion, quaternion.normalizeFast());
+		assertEquals(quaternionCache.w, quaternion.w, 0.0);
+		for (int i = 0; i < 100; i++) {
+			quaternion.multiply(Quaternion.fromAxisAngle(new Vector3f(
+					random.nextFloat(), random.nextFloat(), random.nextFloat()),
+					random.nextFloat())).normalizeFast();
+		}
+		assertEquals(1f, quaternion.norm(), delta);
+		assertTrue(new Quaternion(0f, 0f, 0f, 0f).normalizeFast(null).normSquared() == 0f);
+	}
+}
@@ -0,0 +1,254 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.AABB;
+import com.bar.foo.math.BoundingSphere;
+import com.bar.foo.math.Frustum;
+import com.bar.foo.math.Matrix4f;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+import com.bar.foo.math.Vector3fc;
+
+/**
+ * This class checks all methods provided by {@link Frustum}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class FrustumTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-4;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "FrustumTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * A 90 degree vertical field of view, so the side planes are at 45
+	 * degrees when the aspect ratio is 1.
+	 */
+	private static final float fov = (float) (Math.PI / 2.0);
+
+	/**
+	 * This checks the planes of a frustum in camera space.
+	 */
+	@Test
+	public void checkPlanes() {
+		Frustum frustum = new Frustum();
+		frustum.set(fov, 2f, 1f, 100f, Quaternion.IDENTITY, Vector3f.ZERO);
+		assertEquals(fov, frustum.getFieldOfView(), 0.0);
+		assertEquals(2f, frustum.getAspectRatio(), 0.0);
+		assertEquals(1f, frustum.getNear(), 0.0);
+		assertEquals(100f, frustum.getFar(), 0.0);
+
+		Vector3f normal = new Vector3f();
+		assertEquals(-1f, frustum.getPlane(Frustum.NEAR, normal), delta);
+		assertVectorEquals(new Vector3f(0f, 0f, -1f), normal);
+		assertEquals(100f, frustum.getPlane(Frustum.FAR, normal), delta);
+		assertVectorEquals(Vector3f.UNIT_Z, normal);
+		float s = (float) Math.sqrt(0.5);
+		assertEquals(0f, frustum.getPlane(Frustum.TOP, normal), delta);
+		assertVectorEquals(new Vector3f(0f, -s, -s), normal);
+		frustum.getPlane(Frustum.RIGHT, normal);
+		assertVectorEquals(new Vector3f(-1f, 0f, -2f).normalize(), normal);
+
+		// Points at the edges of the view.
+		assertTrue(frustum.contains(new Vector3f(0f, 0f, -50f)));
+		assertTrue(frustum.contains(new Vector3f(9.99f, 4.99f, -5f)));
+		assertFalse(frustum.contains(new Vector3f(10.1f, 0f, -5f)));
+		assertFalse(frustum.contains(new Vector3f(0f, -5.1f, -5f)));
+		assertFalse(frustum.contains(new Vector3f(0f, 0f, -0.9f)));
+		assertFalse(frustum.contains(new Vector3f(0f, 0f, -100.1f)));
+		assertFalse(frustum.contains(new Vector3f(0f, 0f, 5f)));
+
+		// Copies.
+		Frustum copy = new Frustum(frustum);
+		assertEquals(frustum, copy);
+		assertEquals(frustum.hashCode(), copy.hashCode());
+		assertFalse(frustum.equals(new Frustum()));
+		assertSame(copy, copy.set(new Frustum()));
+		assertEquals(new Frustum(), copy);
+
+		// Invalid projections.
+		try {
+			frustum.set(0f, 1f, 1f, 2f, Quaternion.IDENTITY, Vector3f.ZERO);
+			fail(failurePrefix + "Zero field of view accepted.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			frustum.set(fov, -1f, 1f, 2f, Quaternion.IDENTITY, Vector3f.ZERO);
+			fail(failurePrefix + "Negative aspect ratio accepted.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			frustum.set(fov, 1f, 2f, 1f, Matrix4f.IDENTITY);
+			fail(failurePrefix + "Far plane before near plane accepted.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			frustum.getPlane(Frustum.PLANE_COUNT, normal);
+			fail(failurePrefix + "Invalid plane index accepted.");
+		} catch (IndexOutOfBoundsException e) {
+			// Exception thrown as expected.
+		}
+	}
+
+	/**
+	 * This checks that transformed frustums match transforming the points
+	 * into camera space.
+	 */
+	@Test
+	public void checkTransform() {
+		Quaternion rotation = Quaternion.fromAxisAngle(new Vector3f(
+				random.nextFloat(), random.nextFloat(), random.nextFloat()),
+				random.nextFloat() * 3f);
+		Vector3f position = new Vector3f(10f, -20f, 30f);
+		Frustum local = new Frustum();
+		local.set(fov, 1.5f, 1f, 100f, Quaternion.IDENTITY, Vector3f.ZERO);
+		Frustum world = new Frustum();
+		world.set(fov, 1.5f, 1f, 100f, rotation, position);
+
+		// A rigid transform via the matrix should give the same planes.
+		Matrix4f cameraToWorld = Matrix4f.fromTransform(Vector3f.IDENTITY,
+				rotation, position);
+		Frustum fromMatrix = new Frustum();
+		fromMatrix.set(fov, 1.5f, 1f, 100f, cameraToWorld);
+		Vector3f n1 = new Vector3f();
+		Vector3f n2 = new Vector3f();
+		for (int i = 0; i < Frustum.PLANE_COUNT; i++) {
+			assertEquals(world.getPlane(i, n1), fromMatrix.getPlane(i, n2),
+					delta);
+			assertVectorEquals(n1, n2);
+		}
+
+		Matrix4f worldToCamera = cameraToWorld.invertAffine(null);
+		Vector3f point = new Vector3f();
+		Vector3f localPoint = new Vector3f();
+		for (int i = 0; i < 500; i++) {
+			point.set(random.nextFloat() * 200f - 100f,
+					random.nextFloat() * 200f - 100f,
+					random.nextFloat() * 200f - 100f);
+			worldToCamera.transformPoint(point, localPoint);
+			assertEquals(local.contains(localPoint), world.contains(point));
+		}
+
+		// A scaled camera stretches its frustum.
+		Frustum scaled = new Frustum();
+		scaled.set(fov, 1f, 1f, 100f, Matrix4f.fromTransform(new Vector3f(2f,
+				2f, 2f), Quaternion.IDENTITY, Vector3f.ZERO));
+		assertTrue(scaled.contains(new Vector3f(0f, 0f, -199f)));
+		assertFalse(scaled.contains(new Vector3f(0f, 0f, -1.9f)));
+		assertEquals(-2f, scaled.getPlane(Frustum.NEAR, null), delta);
+	}
+
+	/**
+	 * This checks the sphere and box tests, including masking and plane
+	 * coherency.
+	 */
+	@Test
+	public void checkTests() {
+		Frustum frustum = new Frustum();
+		frustum.set(fov, 1f, 1f, 100f, Quaternion.IDENTITY, Vector3f.ZERO);
+
+		// Entirely inside.
+		BoundingSphere sphere = new BoundingSphere(0f, 0f, -50f, 1f);
+		AABB box = new AABB(-1f, -1f, -51f, 1f, 1f, -49f);
+		assertTrue(frustum.intersects(sphere));
+		assertTrue(frustum.intersects(box));
+		assertEquals(Frustum.INSIDE,
+				frustum.test(sphere, Frustum.ALL_PLANES, 0));
+		assertEquals(Frustum.INSIDE, frustum.test(box, Frustum.ALL_PLANES, 0));
+
+		// Straddling the far plane.
+		sphere.set(0f, 0f, -100f, 1f);
+		box.set(-1f, -1f, -101f, 1f, 1f, -99f);
+		assertEquals(1 << Frustum.FAR,
+				frustum.test(sphere, Frustum.ALL_PLANES, 0));
+		assertEquals(1 << Frustum.FAR,
+				frustum.test(box, Frustum.ALL_PLANES, 3));
+		// With the far plane masked out, the volumes are inside.
+		int mask = Frustum.ALL_PLANES & ~(1 << Frustum.FAR);
+		assertEquals(Frustum.INSIDE, frustum.test(sphere, mask, 0));
+		assertEquals(Frustum.INSIDE, frustum.test(box, mask, 0));
+		// A mask of INSIDE skips all tests.
+		sphere.set(0f, 0f, 50f, 1f);
+		assertEquals(Frustum.INSIDE,
+				frustum.test(sphere, Frustum.INSIDE, 0));
+
+		// Entirely outside the left plane, but also behind the camera.
+		sphere.set(-100f, 0f, 10f, 1f);
+		box.set(-101f, -1f, 9f, -99f, 1f, 11f);
+		assertFalse(frustum.intersects(sphere));
+		assertFalse(frustum.intersects(box));
+		// The first plane tested should be the one to reject.
+		int result = frustum.test(sphere, Frustum.ALL_PLANES, Frustum.LEFT);
+		assertTrue(result < 0);
+		assertEquals(Frustum.LEFT, Frustum.getRejectingPlane(result));
+		result = frustum.test(sphere, Frustum.ALL_PLANES, Frustum.NEAR);
+		assertEquals(Frustum.NEAR, Frustum.getRejectingPlane(result));
+		result = frustum.test(box, Frustum.ALL_PLANES, Frustum.NEAR);
+		assertEquals(Frustum.NEAR, Frustum.getRejectingPlane(result));
+		// Masking out the plane means it cannot reject.
+		result = frustum.test(box, 1 << Frustum.NEAR, Frustum.LEFT);
+		assertEquals(Frustum.NEAR, Frustum.getRejectingPlane(result));
+
+		// Empty volumes are never visible.
+		assertFalse(frustum.intersects(new BoundingSphere()));
+		assertFalse(frustum.intersects(new AABB()));
+
+		// Random volumes agree with a box's corners for boxes entirely inside.
+		Vector3f corner = new Vector3f();
+		for (int i = 0; i < 200; i++) {
+			float x = random.nextFloat() * 200f - 100f;
+			float y = random.nextFloat() * 200f - 100f;
+			float z = random.nextFloat() * 200f - 100f;
+			float e = random.nextFloat() * 10f;
+			box.set(x - e, y - e, z - e, x + e, y + e, z + e);
+			boolean allInside = true;
+			boolean anyInside = false;
+			for (int c = 0; c < 8; c++) {
+				corner.set((c & 1) == 0 ? box.min.x : box.max.x,
+						(c & 2) == 0 ? box.min.y : box.max.y,
+						(c & 4) == 0 ? box.min.z : box.max.z);
+				boolean inside = frustum.contains(corner);
+				allInside &= inside;
+				anyInside |= inside;
+			}
+			result = frustum.test(box, Frustum.ALL_PLANES, i % 6);
+			assertEquals(allInside, result == Frustum.INSIDE);
+			if (anyInside) {
+				assertTrue(result >= 0);
+			}
+		}
+	}
+
+	// ---- Utility methods ---- //
+
+	private static void assertVectorEquals(Vector3fc expected,
+			Vector3f actual) {
+		assertEquals(expected.x(), actual.x, delta);
+		assertEquals(expected.y(), actual.y, delta);
+		assertEquals(expected.z(), actual.z, delta);
+	}
+	// ------------------------- //
+}
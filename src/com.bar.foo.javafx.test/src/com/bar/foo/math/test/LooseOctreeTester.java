@@ -0,0 +1,402 @@
+package com.bar.foo.math.test;
+
+import static com.bar.foo.math.test.AllocationMeter.assertBudget;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.AABB;
+import com.bar.foo.math.Frustum;
+import com.bar.foo.math.LooseOctree;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks all methods provided by {@link LooseOctree}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class LooseOctreeTester {
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "LooseOctreeTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * The bounds of the test trees.
+	 */
+	private static final AABB world = new AABB(-100f, -100f, -100f, 100f,
+			100f, 100f);
+
+	/**
+	 * This checks the constructors and the handle-based accessors.
+	 */
+	@Test
+	public void checkItems() {
+		LooseOctree<String> tree = new LooseOctree<String>(world);
+		assertEquals(LooseOctree.DEFAULT_MAX_DEPTH, tree.getMaxDepth());
+		assertEquals(0, tree.size());
+		assertEquals(1, tree.getNodeCount());
+
+		// Invalid arguments.
+		try {
+			new LooseOctree<String>(new AABB());
+			fail(failurePrefix + "Exception not thrown for empty bounds.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new LooseOctree<String>(world, -1);
+			fail(failurePrefix + "Exception not thrown for negative depth.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			tree.get(0);
+			fail(failurePrefix + "Exception not thrown for unused handle.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			tree.insert("empty", new AABB());
+			fail(failurePrefix + "Exception not thrown for empty item bounds.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+
+		// Insert a point and a box.
+		int a = tree.insert("a", new Vector3f(1f, 2f, 3f));
+		int b = tree.insert("b", new AABB(-5f, -5f, -5f, 5f, 5f, 5f));
+		assertNotEquals(a, b);
+		assertEquals(2, tree.size());
+		assertTrue(tree.contains(a));
+		assertTrue(tree.contains(b));
+		assertEquals("a", tree.get(a));
+		assertEquals("b", tree.get(b));
+		assertEquals(new AABB(1f, 2f, 3f, 1f, 2f, 3f), tree.getBounds(a, null));
+		AABB cache = new AABB();
+		assertSame(cache, tree.getBounds(b, cache));
+		assertEquals(new AABB(-5f, -5f, -5f, 5f, 5f, 5f), cache);
+
+		// The point is small, so it is stored at the maximum depth.
+		assertTrue(tree.getNodeCount() > LooseOctree.DEFAULT_MAX_DEPTH);
+
+		// Remove an item. Its nodes are released and its handle is re-used.
+		assertEquals("a", tree.remove(a));
+		assertFalse(tree.contains(a));
+		assertEquals(1, tree.size());
+		int c = tree.insert("c", new Vector3f(-1f, -2f, -3f));
+		assertEquals(a, c);
+		assertEquals("c", tree.get(c));
+
+		// Items outside the bounds are still stored.
+		int d = tree.insert("d", new Vector3f(500f, 0f, 0f));
+		assertEquals(new AABB(500f, 0f, 0f, 500f, 0f, 0f),
+				tree.getBounds(d, null));
+
+		// Clearing releases every node but the root.
+		tree.clear();
+		assertEquals(0, tree.size());
+		assertEquals(1, tree.getNodeCount());
+		assertFalse(tree.contains(b));
+
+		return;
+	}
+
+	/**
+	 * This checks box, radius, and frustum queries against a brute-force
+	 * search, including after items are moved and removed.
+	 */
+	@Test
+	public void checkQueries() {
+		final int count = 2000;
+		LooseOctree<Integer> tree = new LooseOctree<Integer>(world, 6);
+		AABB[] boxes = new AABB[count];
+		int[] handles = new int[count];
+		for (int i = 0; i < count; i++) {
+			boxes[i] = createBox();
+			handles[i] = tree.insert(i, boxes[i]);
+		}
+		checkQueries(tree, boxes, handles);
+
+		// Move half of the items, some of them outside the tree's bounds.
+		for (int i = 0; i < count; i += 2) {
+			boxes[i] = createBox();
+			if (i % 10 == 0) {
+				boxes[i].min.x += 300f;
+				boxes[i].max.x += 300f;
+			}
+			tree.move(handles[i], boxes[i]);
+		}
+		checkQueries(tree, boxes, handles);
+
+		// Remove a third of the items.
+		for (int i = 0; i < count; i += 3) {
+			tree.remove(handles[i]);
+			boxes[i] = null;
+		}
+		checkQueries(tree, boxes, handles);
+
+		// Removing everything returns all nodes to the pool.
+		for (int i = 0; i < count; i++) {
+			if (boxes[i] != null) {
+				tree.remove(handles[i]);
+			}
+		}
+		assertEquals(0, tree.size());
+		assertEquals(1, tree.getNodeCount());
+
+		return;
+	}
+
+	/**
+	 * This checks that moves within a node's cell do not relink the item.
+	 */
+	@Test
+	public void checkMove() {
+		LooseOctree<String> tree = new LooseOctree<String>(world, 4);
+		// The root cell is 200 wide, so depth-4 cells are 12.5 wide.
+		int handle = tree.insert("a", new Vector3f(1f, 1f, 1f));
+		int nodes = tree.getNodeCount();
+		assertEquals(5, nodes);
+
+		assertFalse(tree.move(handle, new Vector3f(2f, 3f, 4f)));
+		assertEquals(new AABB(2f, 3f, 4f, 2f, 3f, 4f),
+				tree.getBounds(handle, null));
+		assertEquals(nodes, tree.getNodeCount());
+
+		// Crossing into another cell relinks the item.
+		assertTrue(tree.move(handle, new Vector3f(-1f, 1f, 1f)));
+		assertEquals(nodes, tree.getNodeCount());
+
+		// Growing the item moves it up the tree.
+		assertTrue(tree.move(handle, new AABB(-20f, -20f, -20f, 20f, 20f,
+				20f)));
+		assertEquals(3, tree.getNodeCount());
+
+		// A query finds it wherever it is.
+		final int[] found = new int[1];
+		LooseOctree.Visitor<String> visitor = new LooseOctree.Visitor<String>() {
+			@Override
+			public boolean visit(int handle, String item) {
+				found[0]++;
+				return true;
+			}
+		};
+		assertEquals(1, tree.queryRadius(new Vector3f(25f, 0f, 0f), 6f,
+				visitor));
+		assertEquals(1, found[0]);
+
+		return;
+	}
+
+	/**
+	 * This checks that queries stop when the visitor returns false.
+	 */
+	@Test
+	public void checkStop() {
+		LooseOctree<Integer> tree = new LooseOctree<Integer>(world);
+		for (int i = 0; i < 100; i++) {
+			tree.insert(i, createBox());
+		}
+		LooseOctree.Visitor<Integer> first = new LooseOctree.Visitor<Integer>() {
+			@Override
+			public boolean visit(int handle, Integer item) {
+				return false;
+			}
+		};
+		assertEquals(1, tree.queryBox(world, first));
+		assertEquals(1, tree.queryRadius(Vector3f.ZERO, 1000f, first));
+		return;
+	}
+
+	/**
+	 * This checks that queries and small moves create no objects.
+	 */
+	@Test
+	public void checkAllocation() {
+		final LooseOctree<Integer> tree = new LooseOctree<Integer>(world);
+		final int[] handles = new int[500];
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = tree.insert(i, createBox());
+		}
+
+		assertBudget("LooseOctree queries", 0, new Runnable() {
+			private final AABB box = new AABB(-20f, -20f, -20f, 20f, 20f, 20f);
+			private final Vector3f point = new Vector3f(10f, 20f, 30f);
+			private final Frustum frustum = new Frustum().set(1f, 1.5f, 1f,
+					100f, Quaternion.IDENTITY, Vector3f.ZERO);
+			private final LooseOctree.Visitor<Integer> visitor = new LooseOctree.Visitor<Integer>() {
+				@Override
+				public boolean visit(int handle, Integer item) {
+					sink += handle;
+					return true;
+				}
+			};
+			private int sink;
+
+			@Override
+			public void run() {
+				tree.queryBox(box, visitor);
+				tree.queryRadius(point, 30f, visitor);
+				tree.queryFrustum(frustum, visitor);
+				sink += tree.nearest(point, Float.POSITIVE_INFINITY);
+			}
+		});
+		assertBudget("LooseOctree.move", 0, new Runnable() {
+			private final AABB box = new AABB();
+			private final Vector3f position = new Vector3f();
+			private int next;
+
+			@Override
+			public void run() {
+				int handle = handles[next++ % handles.length];
+				tree.getBounds(handle, box).getCenter(position);
+				position.add(0.5f, -0.5f, 0.25f);
+				if (position.x > 100f) {
+					position.x -= 200f;
+				}
+				tree.move(handle, position);
+			}
+		});
+
+		return;
+	}
+
+	// ---- Utility methods ---- //
+	/**
+	 * Checks the tree's queries against a brute-force search over the boxes.
+	 *
+	 * @param tree
+	 *            The tree to check.
+	 * @param boxes
+	 *            The bounds of each item, or null for removed items.
+	 * @param handles
+	 *            The handle of each item.
+	 */
+	private void checkQueries(LooseOctree<Integer> tree, AABB[] boxes,
+			int[] handles) {
+		final BitSet found = new BitSet();
+		final BitSet expected = new BitSet();
+		LooseOctree.Visitor<Integer> visitor = new LooseOctree.Visitor<Integer>() {
+			@Override
+			public boolean visit(int handle, Integer item) {
+				assertFalse(found.get(item));
+				found.set(item);
+				return true;
+			}
+		};
+
+		for (int n = 0; n < 20; n++) {
+			// Box queries.
+			AABB query = createBox();
+			query.min.subtract(10f, 10f, 10f);
+			query.max.add(10f, 10f, 10f);
+			found.clear();
+			expected.clear();
+			int visited = tree.queryBox(query, visitor);
+			for (int i = 0; i < boxes.length; i++) {
+				if (boxes[i] != null && boxes[i].intersects(query)) {
+					expected.set(i);
+				}
+			}
+			assertEquals(expected, found);
+			assertEquals(expected.cardinality(), visited);
+
+			// Radius queries.
+			Vector3f point = createPoint(120f);
+			float radius = random.nextFloat() * 40f;
+			found.clear();
+			expected.clear();
+			visited = tree.queryRadius(point, radius, visitor);
+			for (int i = 0; i < boxes.length; i++) {
+				if (boxes[i] != null
+						&& boxes[i].distanceSquared(point) <= radius * radius) {
+					expected.set(i);
+				}
+			}
+			assertEquals(expected, found);
+			assertEquals(expected.cardinality(), visited);
+
+			// Frustum queries.
+			Frustum frustum = new Frustum().set(1f, 1.5f, 1f, 150f,
+					Quaternion.fromAxisAngle(createPoint(1f).normalize(),
+							random.nextFloat() * 6f), createPoint(50f));
+			found.clear();
+			expected.clear();
+			visited = tree.queryFrustum(frustum, visitor);
+			for (int i = 0; i < boxes.length; i++) {
+				if (boxes[i] != null && frustum.intersects(boxes[i])) {
+					expected.set(i);
+				}
+			}
+			assertEquals(expected, found);
+			assertEquals(expected.cardinality(), visited);
+
+			// Nearest-neighbour queries. Ties may be broken either way, so
+			// only the distance is compared.
+			float best = Float.POSITIVE_INFINITY;
+			for (int i = 0; i < boxes.length; i++) {
+				if (boxes[i] != null) {
+					best = Math.min(best, boxes[i].distanceSquared(point));
+				}
+			}
+			int nearest = tree.nearest(point, Float.POSITIVE_INFINITY);
+			assertEquals(best,
+					tree.getBounds(nearest, null).distanceSquared(point), 0f);
+			assertEquals(LooseOctree.NONE,
+					tree.nearest(point, (float) Math.sqrt(best) * 0.99f - 1e-3f));
+		}
+		return;
+	}
+
+	/**
+	 * Creates a random point in a cube.
+	 *
+	 * @param half
+	 *            Half the width of the cube.
+	 * @return The new point.
+	 */
+	private Vector3f createPoint(float half) {
+		return new Vector3f((random.nextFloat() * 2f - 1f) * half,
+				(random.nextFloat() * 2f - 1f) * half,
+				(random.nextFloat() * 2f - 1f) * half);
+	}
+
+	/**
+	 * Creates a random box inside the test bounds. Most boxes are small, but
+	 * some are points and some are large.
+	 *
+	 * @return The new box.
+	 */
+	private AABB createBox() {
+		Vector3f center = createPoint(100f);
+		float size;
+		int kind = random.nextInt(10);
+		if (kind == 0) {
+			size = 0f;
+		} else if (kind == 1) {
+			size = random.nextFloat() * 50f;
+		} else {
+			size = random.nextFloat() * 3f;
+		}
+		return new AABB(center.x - size, center.y - size, center.z - size,
+				center.x + size, center.y + size, center.z + size);
+	}
+	// ------------------------- //
+}
@@ -0,0 +1,116 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.Matrix3d;
+import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Vector3d;
+
+/**
+ * This class checks the double-precision matrix provided by {@link Matrix3d}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class Matrix3dTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-9;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "Matrix3dTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * This checks the constructors and conversions.
+	 */
+	@Test
+	public void checkConstruction() {
+		assertEquals(new Matrix3d(0, 0, 0, 0, 0, 0, 0, 0, 0), new Matrix3d());
+		Matrix3d matrix = new Matrix3d(1, 2, 3, 4, 5, 6, 7, 8, 9);
+		Matrix3d copy = new Matrix3d(matrix);
+		assertEquals(matrix, copy);
+		assertEquals(matrix.hashCode(), copy.hashCode());
+		assertEquals(matrix, new Matrix3d(Matrix3f.IDENTITY).set(matrix));
+		assertEquals(new Matrix3d().setIdentity(), new Matrix3d(
+				Matrix3f.IDENTITY));
+
+		Matrix3f cache = new Matrix3f();
+		assertSame(cache, matrix.toMatrix3f(cache));
+		assertEquals(new Matrix3f(1f, 2f, 3f, 4f, 5f, 6f, 7f, 8f, 9f), cache);
+	}
+
+	/**
+	 * This checks multiplication, transposition, and inversion.
+	 */
+	@Test
+	public void checkOperations() {
+		Matrix3d a = createMatrix();
+		Matrix3d b = createMatrix();
+		Vector3d vector = new Vector3d(1.0, -2.0, 0.5);
+
+		// (AB)v = A(Bv), and the result can be stored in either matrix.
+		Vector3d expected = a.multiply(b.multiply(vector));
+		Matrix3d product = a.multiply(b, null);
+		assertVectorEquals(expected, product.multiply(vector));
+		Matrix3d copy = new Matrix3d(b);
+		assertSame(copy, a.multiply(copy, copy));
+		assertEquals(product, copy);
+		copy.set(a);
+		assertSame(copy, copy.multiply(b));
+		assertEquals(product, copy);
+
+		// The transpose swaps rows and columns.
+		Matrix3d transpose = a.transpose(null);
+		assertEquals(a.m01, transpose.m10, 0.0);
+		assertEquals(a.m21, transpose.m12, 0.0);
+		assertEquals(a, transpose.transpose());
+
+		// det(AB) = det(A)det(B), and A^-1 A = I.
+		assertEquals(a.determinant() * b.determinant(),
+				product.determinant(), delta);
+		Matrix3d identity = a.invert(null).multiply(a);
+		Matrix3d expectedIdentity = new Matrix3d().setIdentity();
+		assertEquals(expectedIdentity.m00, identity.m00, delta);
+		assertEquals(expectedIdentity.m01, identity.m01, delta);
+		assertEquals(expectedIdentity.m12, identity.m12, delta);
+		assertEquals(expectedIdentity.m22, identity.m22, delta);
+
+		try {
+			new Matrix3d(1, 2, 3, 2, 4, 6, 0, 0, 1).invert();
+			fail(failurePrefix + "Singular matrix inverted.");
+		} catch (IllegalStateException e) {
+			// Exception thrown as expected.
+		}
+	}
+
+	// ---- Utility methods ---- //
+	private static Matrix3d createMatrix() {
+		// Add the identity so the matrix is (almost surely) invertible.
+		return new Matrix3d(random.nextDouble() + 1.0, random.nextDouble(),
+				random.nextDouble(), random.nextDouble(),
+				random.nextDouble() + 1.0, random.nextDouble(),
+				random.nextDouble(), random.nextDouble(),
+				random.nextDouble() + 1.0);
+	}
+
+	private static void assertVectorEquals(Vector3d expected, Vector3d actual) {
+		assertEquals(expected.x, actual.x, delta);
+		assertEquals(expected.y, actual.y, delta);
+		assertEquals(expected.z, actual.z, delta);
+	}
+	// ------------------------- //
+}
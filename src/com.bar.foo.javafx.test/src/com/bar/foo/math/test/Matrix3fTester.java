@@ -12,7 +12,9 @@ import java.util.Random;
 
 import org.junit.Test;
 
+import com.bar.foo.math.FloatMath;
 import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Matrix3fc;
 import com.bar.foo.math.Vector3f;
 
 /**
@@ -43,26 +45,40 @@ public class Matrix3fTester {
 	@Test
 	public void checkStaticMatrices() {
 		// zero matrix
-		assertEquals(0f, Matrix3f.ZERO.m00, delta);
-		assertEquals(0f, Matrix3f.ZERO.m01, delta);
-		assertEquals(0f, Matrix3f.ZERO.m02, delta);
-		assertEquals(0f, Matrix3f.ZERO.m10, delta);
-		assertEquals(0f, Matrix3f.ZERO.m11, delta);
-		assertEquals(0f, Matrix3f.ZERO.m12, delta);
-		assertEquals(0f, Matrix3f.ZERO.m20, delta);
-		assertEquals(0f, Matrix3f.ZERO.m21, delta);
-		assertEquals(0f, Matrix3f.ZERO.m22, delta);
+		assertEquals(0f, Matrix3f.ZERO.m00(), delta);
+		assertEquals(0f, Matrix3f.ZERO.m01(), delta);
+		assertEquals(0f, Matrix3f.ZERO.m02(), delta);
+		assertEquals(0f, Matrix3f.ZERO.m10(), delta);
+		assertEquals(0f, Matrix3f.ZERO.m11(), delta);
+		assertEquals(0f, Matrix3f.ZERO.m12(), delta);
+		assertEquals(0f, Matrix3f.ZERO.m20(), delta);
+		assertEquals(0f, Matrix3f.ZERO.m21(), delta);
+		assertEquals(0f, Matrix3f.ZERO.m22(), delta);
 
 		// identity matrix with ones down the diagonal top-left to bottom-right
-		assertEquals(1f, Matrix3f.IDENTITY.m00, delta);
-		assertEquals(0f, Matrix3f.IDENTITY.m01, delta);
-		assertEquals(0f, Matrix3f.IDENTITY.m02, delta);
-		assertEquals(0f, Matrix3f.IDENTITY.m10, delta);
-		assertEquals(1f, Matrix3f.IDENTITY.m11, delta);
-		assertEquals(0f, Matrix3f.IDENTITY.m12, delta);
-		assertEquals(0f, Matrix3f.IDENTITY.m20, delta);
-		assertEquals(0f, Matrix3f.IDENTITY.m21, delta);
-		assertEquals(1f, Matrix3f.IDENTITY.m22, delta);
+		assertEquals(1f, Matrix3f.IDENTITY.m00(), delta);
+		assertEquals(0f, Matrix3f.IDENTITY.m01(), delta);
+		assertEquals(0f, Matrix3f.IDENTITY.m02(), delta);
+		assertEquals(0f, Matrix3f.IDENTITY.m10(), delta);
+		assertEquals(1f, Matrix3f.IDENTITY.m11(), delta);
+		assertEquals(0f, Matrix3f.IDENTITY.m12(), delta);
+		assertEquals(0f, Matrix3f.IDENTITY.m20(), delta);
+		assertEquals(0f, Matrix3f.IDENTITY.m21(), delta);
+		assertEquals(1f, Matrix3f.IDENTITY.m22(), delta);
+
+		// The constants are read-only views, not modifiable matrices, but they
+		// are equal to modifiable matrices with the same values.
+		assertFalse(Matrix3f.IDENTITY instanceof Matrix3f);
+		Matrix3f identity = new Matrix3f(1f, 0f, 0f, 0f, 1f, 0f, 0f, 0f, 1f);
+		assertEquals(identity, Matrix3f.IDENTITY);
+		assertEquals(Matrix3f.IDENTITY, identity);
+		assertEquals(identity.hashCode(), Matrix3f.IDENTITY.hashCode());
+		assertFalse(Matrix3f.IDENTITY.equals(Matrix3f.ZERO));
+
+		// Operations on the constants write to the cache.
+		Matrix3f cache = new Matrix3f();
+		assertSame(cache, Matrix3f.IDENTITY.invert(cache));
+		assertEquals(identity, cache);
 
 		return;
 	}
@@ -886,4 +902,137 @@ public class Matrix3fTester {
 
 		return;
 	}
+
+	/**
+	 * This tests the transpose, determinant, inverse, and orthonormalization.
+	 */
+	@Test
+	public void checkInverse() {
+		Matrix3f A = new Matrix3f(2f, 1f, 0f, 0f, 3f, 1f, 1f, 0f, 4f);
+		Matrix3f cache = new Matrix3f();
+
+		// Check the transpose.
+		Matrix3f transpose = new Matrix3f(2f, 0f, 1f, 1f, 3f, 0f, 0f, 1f, 4f);
+		assertEquals(transpose, A.transpose(null));
+		assertSame(cache, A.transpose(cache));
+		assertEquals(transpose, cache);
+		assertSame(cache, cache.transpose());
+		assertEquals(A, cache);
+
+		// Check the determinant: 2*(12-0) - 1*(0-1) + 0 = 25.
+		assertEquals(25f, A.determinant(), delta);
+		assertEquals(1f, Matrix3f.IDENTITY.determinant(), delta);
+		assertEquals(0f, Matrix3f.ZERO.determinant(), delta);
+
+		// A * A^-1 should be the identity.
+		Matrix3f inverse = A.invert(null);
+		assertMatrixEquals(Matrix3f.IDENTITY, A.multiply(inverse, cache));
+		assertEquals(1f / 25f, inverse.determinant(), delta);
+		Matrix3f copy = new Matrix3f(A);
+		assertSame(copy, copy.invert());
+		assertMatrixEquals(inverse, copy);
+		try {
+			new Matrix3f(Matrix3f.ZERO).invert();
+			fail(failurePrefix + "Singular matrix inverted.");
+		} catch (IllegalStateException e) {
+			// Exception thrown as expected.
+		}
+
+		// An orthonormalized matrix's transpose is its inverse.
+		Matrix3f drifted = new Matrix3f(1f, 0.01f, 0f, -0.02f, 1.01f, 0f,
+				0.01f, 0f, 0.99f);
+		assertSame(cache, drifted.orthonormalize(cache));
+		assertMatrixEquals(Matrix3f.IDENTITY,
+				cache.multiply(cache.transpose(null), null));
+		assertEquals(1f, cache.determinant(), delta);
+		// The first column keeps its direction.
+		float length = FloatMath.sqrt(1f + 0.02f * 0.02f + 0.01f * 0.01f);
+		assertEquals(1f / length, cache.m00, delta);
+		assertEquals(-0.02f / length, cache.m10, delta);
+		assertSame(drifted, drifted.orthonormalize());
+		assertMatrixEquals(cache, drifted);
+
+		return;
+	}
+
+	/**
+	 * This tests the bulk point and normal transforms.
+	 */
+	@Test
+	public void checkBulkTransform() {
+		final int count = 17;
+		Matrix3f A = new Matrix3f(random.nextFloat(), random.nextFloat(),
+				random.nextFloat(), random.nextFloat(), random.nextFloat(),
+				random.nextFloat(), random.nextFloat(), random.nextFloat(),
+				random.nextFloat());
+		A.m00 += 2f;
+		A.m11 += 2f;
+		A.m22 += 2f;
+		float[] src = new float[count * 3 + 2];
+		for (int i = 0; i < src.length; i++) {
+			src[i] = random.nextFloat() - 0.5f;
+		}
+		float[] dst = new float[count * 3 + 1];
+		Vector3f vector = new Vector3f();
+
+		// Points match the single-vector multiply.
+		assertSame(dst, A.transform(src, 2, dst, 1, count));
+		for (int i = 0; i < count; i++) {
+			A.multiply(vector.set(src[2 + i * 3], src[3 + i * 3],
+					src[4 + i * 3]), vector);
+			assertEquals(vector.x, dst[1 + i * 3], delta);
+			assertEquals(vector.y, dst[2 + i * 3], delta);
+			assertEquals(vector.z, dst[3 + i * 3], delta);
+		}
+		assertEquals(0f, dst[0], 0.0);
+
+		// Normals are multiplied by the normalized inverse transpose.
+		Matrix3f inverseTranspose = A.invert(null).transpose();
+		float[] normals = src.clone();
+		assertSame(normals, A.transformNormals(normals, 2, normals, 2, count));
+		for (int i = 0; i < count; i++) {
+			inverseTranspose.multiply(vector.set(src[2 + i * 3],
+					src[3 + i * 3], src[4 + i * 3]), vector).normalize();
+			assertEquals(vector.x, normals[2 + i * 3], delta);
+			assertEquals(vector.y, normals[3 + i * 3], delta);
+			assertEquals(vector.z, normals[4 + i * 3], delta);
+		}
+
+		// A transformed normal stays perpendicular to a transformed tangent.
+		float[] tangent = { 1f, 0f, 0f };
+		float[] normal = { 0f, 1f, 0f };
+		Matrix3f shear = new Matrix3f(1f, 2f, 0f, 0f, 1f, 0f, 0f, 0f, 3f);
+		shear.transform(tangent, 0, tangent, 0, 1);
+		shear.transformNormals(normal, 0, normal, 0, 1);
+		assertEquals(0f, tangent[0] * normal[0] + tangent[1] * normal[1]
+				+ tangent[2] * normal[2], delta);
+
+		// Bad ranges should throw exceptions.
+		try {
+			A.transform(src, 0, dst, 2, count);
+			fail(failurePrefix + "Out-of-range count accepted.");
+		} catch (IndexOutOfBoundsException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			A.transformNormals(src, -1, dst, 0, 1);
+			fail(failurePrefix + "Negative offset accepted.");
+		} catch (IndexOutOfBoundsException e) {
+			// Exception thrown as expected.
+		}
+
+		return;
+	}
+
+	private static void assertMatrixEquals(Matrix3fc expected,
+			Matrix3f actual) {
+		float[] e = { expected.m00(), expected.m01(), expected.m02(),
+				expected.m10(), expected.m11(), expected.m12(), expected.m20(),
+				expected.m21(), expected.m22() };
+		float[] a = { actual.m00, actual.m01, actual.m02, actual.m10,
+				actual.m11, actual.m12, actual.m20, actual.m21, actual.m22 };
+		for (int i = 0; i < 9; i++) {
+			assertEquals(e[i], a[i], delta);
+		}
+	}
 }
@@ -0,0 +1,325 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Matrix4f;
+import com.bar.foo.math.Matrix4fc;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks all methods and attributes provided by {@link Matrix4f}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class Matrix4fTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-4;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "Matrix4fTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * This tests the static matrices provided by {@code Matrix4f}.
+	 */
+	@Test
+	public void checkStaticMatrices() {
+		assertEqualElements(new float[16], Matrix4f.ZERO);
+		assertEqualElements(new float[] { 1f, 0f, 0f, 0f, 0f, 1f, 0f, 0f, 0f,
+				0f, 1f, 0f, 0f, 0f, 0f, 1f }, Matrix4f.IDENTITY);
+
+		// The constants are read-only views, but equal to modifiable copies.
+		assertFalse(Matrix4f.IDENTITY instanceof Matrix4f);
+		Matrix4f identity = new Matrix4f(Matrix4f.IDENTITY);
+		assertEquals(identity, Matrix4f.IDENTITY);
+		assertEquals(Matrix4f.IDENTITY, identity);
+		assertEquals(identity.hashCode(), Matrix4f.IDENTITY.hashCode());
+
+		// Operations on the constants store their results in the cache.
+		Matrix4f cache = new Matrix4f();
+		assertSame(cache, Matrix4f.IDENTITY.invert(cache));
+		assertEquals(identity, cache);
+		assertSame(cache, Matrix4f.ZERO.multiply(identity, cache));
+		assertEquals(Matrix4f.ZERO, cache);
+		assertEquals(1f, Matrix4f.IDENTITY.determinant(), delta);
+	}
+
+	/**
+	 * This tests the constructors and setters provided by {@code Matrix4f}.
+	 */
+	@Test
+	public void checkConstructorsAndSet() {
+		final float[] elements = randomElements();
+		Matrix4f matrix;
+
+		// Check the default constructor.
+		assertEqualElements(new float[16], new Matrix4f());
+
+		// Check the full constructor.
+		matrix = fromElements(elements);
+		assertEqualElements(elements, matrix);
+
+		// Check the copy constructor, including a null matrix.
+		Matrix4f copy = new Matrix4f(matrix);
+		assertNotSame(matrix, copy);
+		assertEquals(matrix, copy);
+		assertEquals(Matrix4f.ZERO, new Matrix4f(null));
+
+		// Check the affine constructor.
+		Matrix3f m = new Matrix3f(1f, 2f, 3f, 4f, 5f, 6f, 7f, 8f, 9f);
+		Vector3f t = new Vector3f(10f, 11f, 12f);
+		matrix = new Matrix4f(m, t);
+		assertEqualElements(new float[] { 1f, 2f, 3f, 10f, 4f, 5f, 6f, 11f,
+				7f, 8f, 9f, 12f, 0f, 0f, 0f, 1f }, matrix);
+		assertEquals(m, matrix.getMatrix3f(null));
+		assertEquals(t, matrix.getTranslation(null));
+
+		// Check setTranslation only modifies the fourth column.
+		Vector3f cache = new Vector3f();
+		assertSame(matrix, matrix.setTranslation(new Vector3f(-1f, -2f, -3f)));
+		assertSame(cache, matrix.getTranslation(cache));
+		assertEquals(new Vector3f(-1f, -2f, -3f), cache);
+		assertEquals(m, matrix.getMatrix3f(new Matrix3f()));
+
+		// Check set(Matrix4f).
+		matrix = new Matrix4f();
+		assertSame(matrix, matrix.set(copy));
+		assertEquals(copy, matrix);
+	}
+
+	/**
+	 * Checks the equals and hashCode methods.
+	 */
+	@Test
+	public void checkEquality() {
+		final float[] elements = randomElements();
+		Matrix4f object = fromElements(elements);
+		Matrix4f equalObject = fromElements(elements);
+		Matrix4f unequalObject = new Matrix4f(object);
+		unequalObject.m32 += 1f;
+
+		assertFalse(object.equals(null));
+		assertFalse(object.equals("the one"));
+		assertTrue(object.equals(object));
+		assertTrue(object.equals(equalObject));
+		assertTrue(equalObject.equals(object));
+		assertFalse(object.equals(unequalObject));
+		assertFalse(unequalObject.equals(object));
+		assertTrue(object.hashCode() == equalObject.hashCode());
+		assertFalse(object.hashCode() == unequalObject.hashCode());
+	}
+
+	/**
+	 * This tests matrix multiplication and transposition.
+	 */
+	@Test
+	public void checkMultiplyAndTranspose() {
+		final float[] a = randomElements();
+		final float[] b = randomElements();
+		final float[] ab = new float[16];
+		for (int i = 0; i < 4; i++) {
+			for (int j = 0; j < 4; j++) {
+				float sum = 0f;
+				for (int k = 0; k < 4; k++) {
+					sum += a[i * 4 + k] * b[k * 4 + j];
+				}
+				ab[i * 4 + j] = sum;
+			}
+		}
+
+		Matrix4f A = fromElements(a);
+		Matrix4f B = fromElements(b);
+		Matrix4f cache = new Matrix4f();
+
+		// Multiply into a new matrix.
+		Matrix4f result = A.multiply(B, null);
+		assertNotNull(result);
+		assertEqualElements(ab, result);
+		// Multiply into a cache.
+		assertSame(cache, A.multiply(B, cache));
+		assertEqualElements(ab, cache);
+		// Multiply into the argument matrix.
+		Matrix4f Bcopy = new Matrix4f(B);
+		assertSame(Bcopy, A.multiply(Bcopy, Bcopy));
+		assertEqualElements(ab, Bcopy);
+		// Multiply in place.
+		assertSame(A, A.multiply(B));
+		assertEqualElements(ab, A);
+
+		// Check the transpose.
+		A = fromElements(a);
+		Matrix4f transpose = A.transpose(null);
+		for (int i = 0; i < 4; i++) {
+			for (int j = 0; j < 4; j++) {
+				assertEquals(get(A, i, j), get(transpose, j, i), 0.0);
+			}
+		}
+		assertSame(A, A.transpose().transpose());
+		assertEqualElements(a, A);
+	}
+
+	/**
+	 * This tests the determinant and the general, affine, and rigid inverses.
+	 */
+	@Test
+	public void checkInverse() {
+		Matrix4f cache = new Matrix4f();
+
+		// A simple diagonal matrix has an obvious determinant.
+		Matrix4f diagonal = new Matrix4f(2f, 0f, 0f, 0f, 0f, 3f, 0f, 0f, 0f,
+				0f, 4f, 0f, 0f, 0f, 0f, 5f);
+		assertEquals(120f, diagonal.determinant(), delta);
+		assertEquals(1f, Matrix4f.IDENTITY.determinant(), delta);
+		assertEquals(0f, Matrix4f.ZERO.determinant(), delta);
+
+		// M * M^-1 should be the identity.
+		Matrix4f matrix = fromElements(randomElements());
+		matrix.m00 += 4f;
+		matrix.m11 += 4f;
+		matrix.m22 += 4f;
+		matrix.m33 += 4f;
+		Matrix4f inverse = matrix.invert(null);
+		assertEqualElements(Matrix4f.IDENTITY, matrix.multiply(inverse, cache));
+		assertEquals(1f / matrix.determinant(), inverse.determinant(), delta);
+		// Invert in place.
+		Matrix4f copy = new Matrix4f(matrix);
+		assertSame(copy, copy.invert());
+		assertEqualElements(inverse, copy);
+
+		// A singular matrix cannot be inverted.
+		try {
+			new Matrix4f(Matrix4f.ZERO).invert();
+			fail(failurePrefix + "Singular matrix inverted.");
+		} catch (IllegalStateException e) {
+			// Exception thrown as expected.
+		}
+
+		// Check the affine inverse against the general inverse.
+		Quaternion rotation = Quaternion.fromAxisAngle(new Vector3f(1f, 2f,
+				3f), 0.7f);
+		Vector3f scale = new Vector3f(2f, 0.5f, 3f);
+		Vector3f translation = new Vector3f(5f, -6f, 7f);
+		Matrix4f affine = Matrix4f.fromTransform(scale, rotation, translation);
+		assertEqualElements(affine.invert(null), affine.invertAffine(cache));
+		assertEqualElements(Matrix4f.IDENTITY, affine.multiply(cache, null));
+
+		// Check the rigid inverse against the general inverse.
+		Matrix4f rigid = Matrix4f.fromTransform(Vector3f.IDENTITY, rotation,
+				translation);
+		assertSame(cache, rigid.invertRigid(cache));
+		assertEqualElements(rigid.invert(null), cache);
+		assertEqualElements(Matrix4f.IDENTITY, rigid.multiply(cache, null));
+	}
+
+	/**
+	 * This tests the scale-rotation-translation helper and the point and
+	 * direction transforms.
+	 */
+	@Test
+	public void checkTransform() {
+		Quaternion rotation = Quaternion.fromAxisAngle(new Vector3f(0f, 0f,
+				1f), (float) (Math.PI / 2.0));
+		Vector3f scale = new Vector3f(2f, 3f, 4f);
+		Vector3f translation = new Vector3f(10f, 20f, 30f);
+		Matrix4f cache = new Matrix4f();
+
+		assertSame(cache,
+				Matrix4f.fromTransform(scale, rotation, translation, cache));
+
+		// The point is scaled to (2, 3, 4), rotated to (-3, 2, 4), and then
+		// translated to (7, 22, 34).
+		Vector3f point = new Vector3f(1f, 1f, 1f);
+		Vector3f result = new Vector3f();
+		assertSame(result, cache.transformPoint(point, result));
+		assertEquals(7f, result.x, delta);
+		assertEquals(22f, result.y, delta);
+		assertEquals(34f, result.z, delta);
+		// In place.
+		assertSame(point, cache.transformPoint(point));
+		assertEquals(result.x, point.x, delta);
+		assertEquals(result.y, point.y, delta);
+		assertEquals(result.z, point.z, delta);
+
+		// Directions ignore the translation.
+		Vector3f direction = new Vector3f(1f, 1f, 1f);
+		assertSame(direction, cache.transformDirection(direction));
+		assertEquals(-3f, direction.x, delta);
+		assertEquals(2f, direction.y, delta);
+		assertEquals(4f, direction.z, delta);
+
+		// The composed matrix should match T * R * S built by hand.
+		Matrix4f t = new Matrix4f(Matrix3f.IDENTITY, translation);
+		Matrix4f r = new Matrix4f(rotation.fillRotationMatrix(null),
+				Vector3f.ZERO);
+		Matrix4f s = new Matrix4f(new Matrix3f(scale.x, 0f, 0f, 0f, scale.y,
+				0f, 0f, 0f, scale.z), Vector3f.ZERO);
+		assertEqualElements(t.multiply(r).multiply(s), cache);
+
+		// A projection divides by the homogeneous coordinate.
+		Matrix4f projection = new Matrix4f(1f, 0f, 0f, 0f, 0f, 1f, 0f, 0f, 0f,
+				0f, 1f, 0f, 0f, 0f, 1f, 0f);
+		projection.projectPoint(new Vector3f(2f, 4f, 2f), result);
+		assertEquals(1f, result.x, delta);
+		assertEquals(2f, result.y, delta);
+		assertEquals(1f, result.z, delta);
+	}
+
+	// ---- Utility methods ---- //
+
+	private static float[] randomElements() {
+		float[] elements = new float[16];
+		for (int i = 0; i < 16; i++) {
+			elements[i] = random.nextFloat();
+		}
+		return elements;
+	}
+
+	private static Matrix4f fromElements(float[] e) {
+		return new Matrix4f(e[0], e[1], e[2], e[3], e[4], e[5], e[6], e[7],
+				e[8], e[9], e[10], e[11], e[12], e[13], e[14], e[15]);
+	}
+
+	private static float get(Matrix4fc m, int row, int column) {
+		float[] e = { m.m00(), m.m01(), m.m02(), m.m03(), m.m10(), m.m11(),
+				m.m12(), m.m13(), m.m20(), m.m21(), m.m22(), m.m23(), m.m30(),
+				m.m31(), m.m32(), m.m33() };
+		return e[row * 4 + column];
+	}
+
+	private static void assertEqualElements(float[] expected,
+			Matrix4fc actual) {
+		for (int i = 0; i < 16; i++) {
+			assertEquals(expected[i], get(actual, i / 4, i % 4), delta);
+		}
+	}
+
+	private static void assertEqualElements(Matrix4fc expected,
+			Matrix4fc actual) {
+		for (int i = 0; i < 16; i++) {
+			assertEquals(get(expected, i / 4, i % 4),
+					get(actual, i / 4, i % 4), delta);
+		}
+	}
+	// ------------------------- //
+}
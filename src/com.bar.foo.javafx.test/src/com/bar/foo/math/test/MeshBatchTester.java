@@ -0,0 +1,236 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.Matrix4f;
+import com.bar.foo.math.MeshBatch;
+
+/**
+ * This class checks the mesh merging provided by {@link MeshBatch}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class MeshBatchTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-4;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "MeshBatchTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * The points of a triangle.
+	 */
+	private static final float[] points = new float[] { 0f, 0f, 0f, 1f, 0f,
+			0f, 0f, 1f, 0f };
+	/**
+	 * The texture coordinates of a triangle.
+	 */
+	private static final float[] texCoords = new float[] { 0f, 0f, 1f, 0f, 0f,
+			1f };
+	/**
+	 * The face of a triangle.
+	 */
+	private static final int[] faces = new int[] { 0, 0, 1, 1, 2, 2 };
+
+	/**
+	 * This checks that invalid members are rejected.
+	 */
+	@Test
+	public void checkAdd() {
+		MeshBatch batch = new MeshBatch();
+		Matrix4f identity = new Matrix4f(Matrix4f.IDENTITY);
+
+		try {
+			batch.add(null, texCoords, faces, null, identity);
+			fail(failurePrefix + "Exception not thrown for null points.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			batch.add(points, texCoords, faces, null, null);
+			fail(failurePrefix + "Exception not thrown for null transform.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			batch.add(points, texCoords, new int[] { 0, 0, 1, 1 }, null,
+					identity);
+			fail(failurePrefix + "Exception not thrown for a bad stride.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			batch.add(points, texCoords, new int[] { 0, 0, 1, 1, 3, 2 }, null,
+					identity);
+			fail(failurePrefix + "Exception not thrown for a bad point index.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			batch.add(points, texCoords, faces, new int[] { 1, 2 }, identity);
+			fail(failurePrefix + "Exception not thrown for bad smoothing "
+					+ "groups.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		assertEquals(0, batch.size());
+
+		assertEquals(0, batch.add(points, texCoords, faces, new int[0],
+				identity));
+		assertEquals(1, batch.size());
+		assertFalse(batch.isBuilt());
+		try {
+			batch.getPointOffset(1);
+			fail(failurePrefix + "Exception not thrown for a bad index.");
+		} catch (IndexOutOfBoundsException e) {
+			// Exception thrown as expected.
+		}
+
+		return;
+	}
+
+	/**
+	 * This checks that members are transformed and offset into the merged
+	 * arrays, and that mirrored members keep their winding.
+	 */
+	@Test
+	public void checkBuild() {
+		MeshBatch batch = new MeshBatch();
+		Matrix4f translation = new Matrix4f(Matrix4f.IDENTITY);
+		translation.m03 = 5f;
+		Matrix4f mirror = new Matrix4f(Matrix4f.IDENTITY);
+		mirror.m00 = -1f;
+
+		batch.add(points, texCoords, faces, null, new Matrix4f(
+				Matrix4f.IDENTITY));
+		batch.add(points, texCoords, faces, new int[] { 4 }, translation);
+		batch.add(points, texCoords, faces, null, mirror);
+		// Changing the transform after adding it does not affect the batch.
+		translation.m03 = 100f;
+		batch.build(false);
+		assertTrue(batch.isBuilt());
+
+		assertEquals(27, batch.getPoints().length);
+		assertEquals(18, batch.getTexCoords().length);
+		assertEquals(6, batch.getPointOffset(2));
+		assertEquals(2, batch.getFaceOffset(2));
+		assertEquals(3, batch.getPointCount(1));
+		assertEquals(1, batch.getFaceCount(1));
+
+		// The second member is translated and the third mirrored.
+		assertArrayEquals(new float[] { 0f, 0f, 0f, 1f, 0f, 0f, 0f, 1f, 0f, 5f,
+				0f, 0f, 6f, 0f, 0f, 5f, 1f, 0f, 0f, 0f, 0f, -1f, 0f, 0f, 0f,
+				1f, 0f }, batch.getPoints(), (float) delta);
+		// The mirrored face's second and third vertices are swapped.
+		assertArrayEquals(new int[] { 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6,
+				6, 8, 8, 7, 7 }, batch.getFaces());
+		// Members without smoothing groups get the default group.
+		assertArrayEquals(new int[] { 1, 4, 1 }, batch.getSmoothingGroups());
+
+		// Without any smoothing groups, none are merged.
+		batch = new MeshBatch();
+		batch.add(points, texCoords, faces, null, mirror);
+		batch.build(true);
+		assertEquals(0, batch.getSmoothingGroups().length);
+
+		return;
+	}
+
+	/**
+	 * This checks that updating a member only rewrites its ranges.
+	 */
+	@Test
+	public void checkUpdate() {
+		MeshBatch batch = new MeshBatch();
+		Matrix4f identity = new Matrix4f(Matrix4f.IDENTITY);
+		batch.add(points, texCoords, faces, null, identity);
+		batch.add(points, texCoords, faces, null, identity);
+
+		// Members cannot be updated until the batch is built.
+		assertFalse(batch.update(1, null, identity));
+		batch.build(false);
+		float[] before = batch.getPoints().clone();
+		int[] facesBefore = batch.getFaces().clone();
+		try {
+			batch.update(0, null, null);
+			fail(failurePrefix + "Exception not thrown for null transform.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+
+		// Moving the second member leaves the first alone.
+		Matrix4f translation = new Matrix4f(Matrix4f.IDENTITY);
+		translation.m13 = 2f;
+		assertTrue(batch.update(1, null, translation));
+		for (int i = 0; i < 9; i++) {
+			assertEquals(before[i], batch.getPoints()[i], 0f);
+			assertEquals(before[9 + i] + (i % 3 == 1 ? 2f : 0f),
+					batch.getPoints()[9 + i], delta);
+		}
+		assertArrayEquals(facesBefore, batch.getFaces());
+
+		// Re-shaping it with the same number of points works. A different
+		// number of points requires a rebuild.
+		float[] scaled = new float[points.length];
+		for (int i = 0; i < points.length; i++) {
+			scaled[i] = points[i] * 3f;
+		}
+		assertTrue(batch.update(1, scaled, identity));
+		assertEquals(3f, batch.getPoints()[12], delta);
+		assertFalse(batch.update(1, new float[12], identity));
+
+		return;
+	}
+
+	/**
+	 * This checks that merging many members in parallel gives the same arrays
+	 * as merging them sequentially.
+	 */
+	@Test
+	public void checkParallel() {
+		MeshBatch sequential = new MeshBatch();
+		MeshBatch parallel = new MeshBatch();
+		Matrix4f transform = new Matrix4f();
+		for (int i = 0; i < 2048; i++) {
+			float[] memberPoints = new float[points.length * 4];
+			for (int j = 0; j < memberPoints.length; j++) {
+				memberPoints[j] = random.nextFloat();
+			}
+			transform.set(Matrix4f.IDENTITY);
+			transform.m00 = (random.nextBoolean() ? -1f : 1f);
+			transform.m03 = random.nextFloat() * 100f;
+			sequential.add(memberPoints, texCoords, faces, null, transform);
+			parallel.add(memberPoints, texCoords, faces, new int[] { i },
+					transform);
+		}
+		sequential.build(false);
+		parallel.build(true);
+
+		assertArrayEquals(sequential.getPoints(), parallel.getPoints(), 0f);
+		assertArrayEquals(sequential.getTexCoords(), parallel.getTexCoords(),
+				0f);
+		assertArrayEquals(sequential.getFaces(), parallel.getFaces());
+		assertEquals(2048, parallel.getSmoothingGroups().length);
+		assertEquals(2047, parallel.getSmoothingGroups()[2047]);
+
+		return;
+	}
+}
@@ -0,0 +1,227 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.MeshDecimator;
+
+/**
+ * This class checks the vertex clustering provided by {@link MeshDecimator}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class MeshDecimatorTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-4;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "MeshDecimatorTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * This checks that invalid mesh data and cell sizes are rejected.
+	 */
+	@Test
+	public void checkConstruction() {
+		float[] points = new float[] { 0f, 0f, 0f, 1f, 0f, 0f, 0f, 1f, 2f };
+		int[] faces = new int[] { 0, 0, 1, 0, 2, 0 };
+
+		try {
+			new MeshDecimator(null, faces);
+			fail(failurePrefix + "Exception not thrown for null points.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new MeshDecimator(points, null);
+			fail(failurePrefix + "Exception not thrown for null faces.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new MeshDecimator(points, faces, 4, false);
+			fail(failurePrefix + "Exception not thrown for a bad stride.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new MeshDecimator(points, new int[] { 0, 0, 1, 0, 3, 0 });
+			fail(failurePrefix + "Exception not thrown for a bad point index.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+
+		MeshDecimator decimator = new MeshDecimator(points, faces);
+		assertEquals(3, decimator.getPointCount());
+		assertEquals(1, decimator.getFaceCount());
+		float[] invalidSizes = new float[] { 0f, -1f, Float.NaN,
+				Float.POSITIVE_INFINITY };
+		for (float cellSize : invalidSizes) {
+			try {
+				decimator.decimate(cellSize);
+				fail(failurePrefix + "Exception not thrown for cell size "
+						+ cellSize + ".");
+			} catch (IllegalArgumentException e) {
+				// Exception thrown as expected.
+			}
+		}
+		try {
+			decimator.decimateAll(null);
+			fail(failurePrefix + "Exception not thrown for null cell sizes.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+
+		return;
+	}
+
+	/**
+	 * This checks that points are merged within cells and that collapsed
+	 * faces are dropped.
+	 */
+	@Test
+	public void checkDecimate() {
+		final int size = 16;
+		float[] points = createPoints(size);
+		int[] faces = createFaces(size);
+		MeshDecimator decimator = new MeshDecimator(points, faces);
+		int pointCount = decimator.getPointCount();
+		int faceCount = decimator.getFaceCount();
+
+		// Cells smaller than the spacing keep every point and face.
+		MeshDecimator.Level level = decimator.decimate(0.5f);
+		assertEquals(0.5f, level.cellSize, 0f);
+		assertEquals(pointCount * 3, level.points.length);
+		assertEquals(faces.length, level.faces.length);
+		for (int f = 0; f < faces.length; f += 6) {
+			for (int k = 0; k < 6; k += 2) {
+				int original = faces[f + k] * 3;
+				int merged = level.faces[f + k] * 3;
+				for (int axis = 0; axis < 3; axis++) {
+					assertEquals(points[original + axis], level.points[merged
+							+ axis], delta);
+				}
+				// The texture coordinates are not changed.
+				assertEquals(faces[f + k + 1], level.faces[f + k + 1]);
+			}
+		}
+
+		// Larger cells merge points. The remaining faces are not degenerate
+		// and the points stay within the mesh's bounds.
+		level = decimator.decimate(2f);
+		int mergedCount = level.points.length / 3;
+		assertTrue(mergedCount < pointCount);
+		assertTrue(level.faces.length < faces.length);
+		assertTrue(level.faces.length > 0);
+		for (int f = 0; f < level.faces.length; f += 6) {
+			int a = level.faces[f];
+			int b = level.faces[f + 2];
+			int c = level.faces[f + 4];
+			assertTrue(a != b && b != c && a != c);
+			assertTrue(a >= 0 && a < mergedCount);
+			assertTrue(b >= 0 && b < mergedCount);
+			assertTrue(c >= 0 && c < mergedCount);
+		}
+		for (int i = 0; i < level.points.length; i += 3) {
+			assertTrue(level.points[i] >= 0f && level.points[i] <= size);
+			assertTrue(level.points[i + 1] >= 0f && level.points[i + 1] <= size);
+		}
+
+		// A cell covering the mesh merges it into its average point.
+		level = decimator.decimate(size * 2f);
+		assertEquals(3, level.points.length);
+		assertEquals(0, level.faces.length);
+		float[] average = new float[3];
+		for (int i = 0; i < points.length; i++) {
+			average[i % 3] += points[i] / pointCount;
+		}
+		assertEquals(average[0], level.points[0], delta);
+		assertEquals(average[1], level.points[1], delta);
+		assertEquals(average[2], level.points[2], delta);
+
+		return;
+	}
+
+	/**
+	 * This checks that decimating a large mesh in parallel gives the same
+	 * levels as decimating it sequentially.
+	 */
+	@Test
+	public void checkParallel() {
+		final int size = 128;
+		float[] points = createPoints(size);
+		int[] faces = createFaces(size);
+		MeshDecimator sequential = new MeshDecimator(points, faces, 6, false);
+		MeshDecimator parallel = new MeshDecimator(points, faces, 6, true);
+
+		float[] cellSizes = new float[] { 1.5f, 4f, 10f };
+		MeshDecimator.Level[] levels = parallel.decimateAll(cellSizes);
+		assertEquals(cellSizes.length, levels.length);
+		for (int i = 0; i < cellSizes.length; i++) {
+			MeshDecimator.Level expected = sequential.decimate(cellSizes[i]);
+			assertEquals(cellSizes[i], levels[i].cellSize, 0f);
+			assertArrayEquals(expected.points, levels[i].points, 0f);
+			assertArrayEquals(expected.faces, levels[i].faces);
+			// Coarser levels have fewer faces.
+			if (i > 0) {
+				assertTrue(levels[i].faces.length < levels[i - 1].faces.length);
+			}
+		}
+
+		return;
+	}
+
+	// ---- Utility methods ---- //
+	/**
+	 * Creates the points of a height field with unit spacing and random
+	 * heights.
+	 */
+	private static float[] createPoints(int size) {
+		float[] points = new float[(size + 1) * (size + 1) * 3];
+		for (int j = 0, p = 0; j <= size; j++) {
+			for (int i = 0; i <= size; i++) {
+				points[p++] = i;
+				points[p++] = j;
+				points[p++] = random.nextFloat();
+			}
+		}
+		return points;
+	}
+
+	/**
+	 * Creates the faces of a height field, two triangles per square. Each
+	 * vertex's texture coordinate index is its point index.
+	 */
+	private static int[] createFaces(int size) {
+		int[] faces = new int[size * size * 2 * 6];
+		for (int j = 0, f = 0; j < size; j++) {
+			for (int i = 0; i < size; i++) {
+				int corner = j * (size + 1) + i;
+				int[] square = new int[] { corner, corner + 1,
+						corner + size + 2, corner, corner + size + 2,
+						corner + size + 1 };
+				for (int k = 0; k < square.length; k++) {
+					faces[f++] = square[k];
+					faces[f++] = square[k];
+				}
+			}
+		}
+		return faces;
+	}
+	// ------------------------- //
+}
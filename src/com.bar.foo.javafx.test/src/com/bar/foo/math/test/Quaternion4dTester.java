@@ -0,0 +1,120 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.Matrix3d;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Quaternion4d;
+import com.bar.foo.math.Vector3d;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the double-precision quaternion provided by
+ * {@link Quaternion4d}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class Quaternion4dTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-12;
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * This checks that rotations agree with the float quaternion.
+	 */
+	@Test
+	public void checkRotate() {
+		Vector3f axis = new Vector3f(random.nextFloat(), random.nextFloat(),
+				random.nextFloat() + 0.1f);
+		float angle = random.nextFloat() * 3f;
+		Quaternion expected = Quaternion.fromAxisAngle(axis, angle);
+		Quaternion4d q = Quaternion4d.fromAxisAngle(new Vector3d(axis), angle,
+				null);
+		Quaternion rounded = q.toQuaternion(null);
+		assertEquals(expected.w, rounded.w, 1e-6);
+		assertEquals(expected.x, rounded.x, 1e-6);
+		assertEquals(expected.y, rounded.y, 1e-6);
+		assertEquals(expected.z, rounded.z, 1e-6);
+		assertEquals(1.0, q.norm(), delta);
+
+		// Rotating a vector matches the float rotation and the matrix.
+		Vector3f vector = new Vector3f(1f, -2f, 3f);
+		Vector3f rotated = expected.rotate(vector, null);
+		Vector3d cache = new Vector3d();
+		assertSame(cache, q.rotate(new Vector3d(vector), cache));
+		assertEquals(rotated.x, cache.x, 1e-5);
+		assertEquals(rotated.y, cache.y, 1e-5);
+		assertEquals(rotated.z, cache.z, 1e-5);
+		Vector3d byMatrix = q.fillRotationMatrix(null).multiply(
+				new Vector3d(vector));
+		assertEquals(cache.x, byMatrix.x, 1e-9);
+		assertEquals(cache.y, byMatrix.y, 1e-9);
+		assertEquals(cache.z, byMatrix.z, 1e-9);
+
+		// A non-unit quaternion rotates the same as its normalized form.
+		Quaternion4d scaled = q.multiply(3.0, null);
+		scaled.rotate(new Vector3d(vector), byMatrix);
+		assertEquals(cache.x, byMatrix.x, 1e-9);
+		assertEquals(1.0, scaled.normalize().norm(), delta);
+	}
+
+	/**
+	 * This checks products, inverses, and interpolation.
+	 */
+	@Test
+	public void checkOperations() {
+		Vector3d axis = new Vector3d(1.0, 2.0, 3.0);
+		Quaternion4d a = Quaternion4d.fromAxisAngle(axis, 0.3, null);
+		Quaternion4d b = Quaternion4d.fromAxisAngle(axis, 0.9, null);
+
+		// Rotations about the same axis add.
+		Quaternion4d product = a.multiply(b, null);
+		assertQuaternionEquals(Quaternion4d.fromAxisAngle(axis, 1.2, null),
+				product);
+		// The reciprocal undoes the rotation.
+		assertSame(product, product.multiply(b.reciprocate(null)));
+		assertQuaternionEquals(a, product);
+		assertQuaternionEquals(new Quaternion4d(), a.multiply(a.conjugate(null),
+				null));
+
+		// Slerp and nlerp agree with the angle at the midpoint, and negated
+		// quaternions still take the shortest path.
+		Quaternion4d mid = Quaternion4d.fromAxisAngle(axis, 0.6, null);
+		assertQuaternionEquals(mid, Quaternion4d.slerp(a, b, 0.5, null));
+		assertQuaternionEquals(mid, Quaternion4d.nlerp(a, b, 0.5, null));
+		Quaternion4d negated = b.multiply(-1.0, null);
+		assertQuaternionEquals(mid, Quaternion4d.slerp(a, negated, 0.5, null));
+		Quaternion4d cache = new Quaternion4d(a);
+		assertSame(cache, Quaternion4d.slerp(cache, b, 0.25, cache));
+		assertQuaternionEquals(Quaternion4d.fromAxisAngle(axis, 0.45, null),
+				cache);
+
+		// The identity rotation of the zero axis.
+		assertQuaternionEquals(new Quaternion4d(), Quaternion4d.fromAxisAngle(
+				new Vector3d(), 1.0, null));
+		assertEquals(new Matrix3d().setIdentity(), new Quaternion4d()
+				.fillRotationMatrix(new Matrix3d()));
+	}
+
+	// ---- Utility methods ---- //
+	private static void assertQuaternionEquals(Quaternion4d expected,
+			Quaternion4d actual) {
+		assertEquals(expected.w, actual.w, 1e-9);
+		assertEquals(expected.x, actual.x, 1e-9);
+		assertEquals(expected.y, actual.y, 1e-9);
+		assertEquals(expected.z, actual.z, 1e-9);
+	}
+	// ------------------------- //
+}
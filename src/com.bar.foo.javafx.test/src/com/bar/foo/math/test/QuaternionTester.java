@@ -3,6 +3,10 @@
  */
 package com.bar.foo.math.test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import java.util.Random;
@@ -10,6 +14,7 @@ import java.util.Random;
 import org.junit.Test;
 
 import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
 
 /**
  * This class tests all constructors and methods provided by {@link Quaternion}.
@@ -38,8 +43,33 @@ public class QuaternionTester {
 	 */
 	@Test
 	public void checkStaticMatrices() {
-		// TODO
-		fail("Not implemented...");
+		// zero quaternion
+		assertEquals(0f, Quaternion.ZERO.w(), delta);
+		assertEquals(0f, Quaternion.ZERO.x(), delta);
+		assertEquals(0f, Quaternion.ZERO.y(), delta);
+		assertEquals(0f, Quaternion.ZERO.z(), delta);
+
+		// identity quaternion
+		assertEquals(1f, Quaternion.IDENTITY.w(), delta);
+		assertEquals(0f, Quaternion.IDENTITY.x(), delta);
+		assertEquals(0f, Quaternion.IDENTITY.y(), delta);
+		assertEquals(0f, Quaternion.IDENTITY.z(), delta);
+
+		// The constants are read-only views, not modifiable quaternions.
+		assertFalse(Quaternion.ZERO instanceof Quaternion);
+		assertFalse(Quaternion.IDENTITY instanceof Quaternion);
+
+		// Operations on the constants write to the cache.
+		Quaternion cache = new Quaternion(2f, 3f, 4f, 5f);
+		assertSame(cache, Quaternion.IDENTITY.multiply(cache, cache));
+		assertQuaternionEquals(new Quaternion(2f, 3f, 4f, 5f), cache);
+		assertQuaternionEquals(new Quaternion(),
+				new Quaternion(Quaternion.IDENTITY));
+		Vector3f vector = new Vector3f(1f, 2f, 3f);
+		assertSame(vector, Quaternion.IDENTITY.rotate(vector));
+		assertEquals(new Vector3f(1f, 2f, 3f), vector);
+
+		return;
 	}
 
 	/**
@@ -51,5 +81,221 @@ public class QuaternionTester {
 		fail("Not implemented...");
 	}
 	
+	/**
+	 * This tests the vector rotation methods provided by {@code Quaternion},
+	 * including non-unit quaternions and bulk rotation.
+	 */
+	@Test
+	public void checkRotate() {
+		Vector3f vector;
+		Vector3f cache = new Vector3f();
+
+		// A rotation of 90 degrees about the z axis takes x to y.
+		Quaternion q = Quaternion.fromAxisAngle(new Vector3f(0f, 0f, 1f),
+				(float) (Math.PI / 2.0));
+		vector = new Vector3f(1f, 0f, 0f);
+		assertSame(cache, q.rotate(vector, cache));
+		assertEquals(0f, cache.x, delta);
+		assertEquals(1f, cache.y, delta);
+		assertEquals(0f, cache.z, delta);
+		// The vector itself is unchanged.
+		assertEquals(new Vector3f(1f, 0f, 0f), vector);
+		// Rotating in place.
+		assertSame(vector, q.rotateUnit(vector));
+		assertEquals(0f, vector.x, delta);
+		assertEquals(1f, vector.y, delta);
+		assertEquals(0f, vector.z, delta);
+		// Rotating into a new vector.
+		assertNotNull(q.rotate(vector, null));
+
+		// Compare a random rotation against q*p*q^-1.
+		q = Quaternion.fromAxisAngle(new Vector3f(random.nextFloat(),
+				random.nextFloat(), random.nextFloat()), random.nextFloat());
+		vector = new Vector3f(random.nextFloat(), random.nextFloat(),
+				random.nextFloat());
+		Quaternion p = new Quaternion(0f, vector);
+		q.multiply(p, p).multiply(q.reciprocate(null));
+		q.rotateUnit(vector, cache);
+		assertEquals(p.x, cache.x, delta);
+		assertEquals(p.y, cache.y, delta);
+		assertEquals(p.z, cache.z, delta);
+
+		// A non-unit quaternion rotates the same as its normalized form.
+		Quaternion scaled = q.multiply(3f, new Quaternion());
+		scaled.rotate(vector, cache);
+		assertEquals(p.x, cache.x, delta);
+		assertEquals(p.y, cache.y, delta);
+		assertEquals(p.z, cache.z, delta);
+
+		// The zero quaternion leaves the vector unchanged, both alone and in
+		// bulk, as its rotation matrix is the identity.
+		Quaternion zero = new Quaternion(Quaternion.ZERO);
+		zero.rotate(vector, cache);
+		assertEquals(vector, cache);
+		float[] single = new float[] { vector.x, vector.y, vector.z };
+		zero.rotateAll(single, single, 0, 1);
+		assertEquals(vector.x, single[0], 0f);
+		assertEquals(vector.y, single[1], 0f);
+		assertEquals(vector.z, single[2], 0f);
+
+		// Bulk rotation should match the single-vector rotation, including
+		// the offset.
+		final int count = 10;
+		float[] in = new float[count * 3 + 2];
+		for (int i = 0; i < in.length; i++) {
+			in[i] = random.nextFloat();
+		}
+		float[] out = new float[in.length];
+		assertSame(out, scaled.rotateAll(in, out, 2, count));
+		for (int i = 2; i < in.length; i += 3) {
+			q.rotate(new Vector3f(in[i], in[i + 1], in[i + 2]), cache);
+			assertEquals(cache.x, out[i], delta);
+			assertEquals(cache.y, out[i + 1], delta);
+			assertEquals(cache.z, out[i + 2], delta);
+		}
+		// In place.
+		q.rotateAll(in, in, 2, count);
+		for (int i = 2; i < in.length; i++) {
+			assertEquals(out[i], in[i], delta);
+		}
+		try {
+			q.rotateAll(in, out, 3, count);
+			fail(failurePrefix + "Out-of-range vectors rotated.");
+		} catch (IndexOutOfBoundsException e) {
+			// Exception thrown as expected.
+		}
+	}
+
+	/**
+	 * This tests spherical and normalized linear interpolation, including the
+	 * shortest-path handling.
+	 */
+	@Test
+	public void checkInterpolation() {
+		Vector3f axis = new Vector3f(1f, 2f, 3f);
+		Quaternion from = Quaternion.fromAxisAngle(axis, 0.2f);
+		Quaternion to = Quaternion.fromAxisAngle(axis, 1.4f);
+		Quaternion cache = new Quaternion();
+
+		// The end points are returned exactly.
+		assertSame(cache, Quaternion.slerp(from, to, 0f, cache));
+		assertQuaternionEquals(from, cache);
+		assertQuaternionEquals(to, Quaternion.slerp(from, to, 1f, null));
+
+		// Slerp moves at a constant angular velocity about the shared axis.
+		for (int i = 0; i <= 10; i++) {
+			float t = i / 10f;
+			Quaternion.slerp(from, to, t, cache);
+			assertQuaternionEquals(
+					Quaternion.fromAxisAngle(axis, 0.2f + 1.2f * t), cache);
+			assertEquals(1f, cache.norm(), delta);
+		}
+
+		// Nlerp follows the same path, so the midpoint is the same.
+		assertSame(cache, Quaternion.nlerp(from, to, 0.5f, cache));
+		assertQuaternionEquals(Quaternion.fromAxisAngle(axis, 0.8f), cache);
+		assertEquals(1f, Quaternion.nlerp(from, to, 0.3f, null).norm(), delta);
+
+		// Negating a quaternion gives the same rotation, and interpolation
+		// should still take the shortest path.
+		Quaternion negated = new Quaternion(to).multiply(-1f);
+		Quaternion.slerp(from, negated, 0.5f, cache);
+		assertRotationEquals(Quaternion.fromAxisAngle(axis, 0.8f), cache);
+		Quaternion.nlerp(from, negated, 0.5f, cache);
+		assertRotationEquals(Quaternion.fromAxisAngle(axis, 0.8f), cache);
+
+		// Very close rotations should not produce NaNs.
+		Quaternion close = Quaternion.fromAxisAngle(axis, 0.2001f);
+		Quaternion.slerp(from, close, 0.5f, cache);
+		assertRotationEquals(Quaternion.fromAxisAngle(axis, 0.20005f), cache);
+		Quaternion.slerp(from, from, 0.5f, cache);
+		assertQuaternionEquals(from, cache);
+
+		// The result can be stored in one of the arguments.
+		Quaternion copy = new Quaternion(from);
+		assertSame(copy, Quaternion.slerp(copy, to, 0.5f, copy));
+		assertQuaternionEquals(Quaternion.fromAxisAngle(axis, 0.8f), copy);
+	}
+
+	/**
+	 * This tests SQUAD interpolation and tangents.
+	 */
+	@Test
+	public void checkSquad() {
+		Vector3f axis = new Vector3f(1f, 2f, 3f);
+		Quaternion q0 = Quaternion.fromAxisAngle(axis, 0.2f);
+		Quaternion q1 = Quaternion.fromAxisAngle(axis, 0.7f);
+		Quaternion q2 = Quaternion.fromAxisAngle(axis, 1.2f);
+		Quaternion a1 = new Quaternion();
+		Quaternion a2 = new Quaternion();
+		Quaternion cache = new Quaternion();
+
+		// Evenly spaced rotations about one axis have tangents equal to the
+		// keys, and SQUAD reduces to slerp. (q2's tangent is q2 itself if the
+		// keys continue evenly.)
+		assertSame(a1, Quaternion.squadTangent(q0, q1, q2, a1));
+		assertQuaternionEquals(q1, a1);
+		for (int i = 0; i <= 10; i++) {
+			float t = i / 10f;
+			assertSame(cache, Quaternion.squad(q1, a1, q2, q2, t, cache));
+			assertRotationEquals(Quaternion.slerp(q1, q2, t, null), cache);
+		}
+
+		// With rotations about different axes, SQUAD still passes through the
+		// keys, and the angular velocity does not jump at the middle key.
+		q0 = Quaternion.fromAxisAngle(Vector3f.UNIT_X, 0.3f);
+		q1 = Quaternion.fromAxisAngle(Vector3f.UNIT_Y, 0.8f);
+		q2 = Quaternion.fromAxisAngle(new Vector3f(1f, 1f, 1f), 1.5f);
+		Quaternion a0 = Quaternion.squadTangent(q0, q0, q1, null);
+		Quaternion.squadTangent(q0, q1, q2, a1);
+		Quaternion.squadTangent(q1, q2, q2, a2);
+		assertQuaternionEquals(q0, Quaternion.squad(q0, a0, a1, q1, 0f, cache));
+		assertRotationEquals(q1, Quaternion.squad(q0, a0, a1, q1, 1f, cache));
+		assertRotationEquals(q2, Quaternion.squad(q1, a1, a2, q2, 1f, cache));
+
+		final float h = 1e-2f;
+		Quaternion before = Quaternion.squad(q0, a0, a1, q1, 1f - h, null);
+		Quaternion after = Quaternion.squad(q1, a1, a2, q2, h, null);
+		float angleBefore = getAngle(before, q1);
+		float angleAfter = getAngle(q1, after);
+		assertEquals(angleBefore, angleAfter, angleBefore * 0.05f);
+
+		// The result can be stored in one of the arguments.
+		Quaternion copy = new Quaternion(q0);
+		assertSame(copy, Quaternion.squad(copy, a0, a1, q1, 0.5f, copy));
+		assertRotationEquals(Quaternion.squad(q0, a0, a1, q1, 0.5f, null),
+				copy);
+	}
+
 	// TODO Other tests
+
+	// ---- Utility methods ---- //
+
+	private static void assertQuaternionEquals(Quaternion expected,
+			Quaternion actual) {
+		assertEquals(expected.w, actual.w, delta);
+		assertEquals(expected.x, actual.x, delta);
+		assertEquals(expected.y, actual.y, delta);
+		assertEquals(expected.z, actual.z, delta);
+	}
+
+	/**
+	 * Compares two unit quaternions as rotations, i.e., q and -q are equal.
+	 */
+	private static void assertRotationEquals(Quaternion expected,
+			Quaternion actual) {
+		float dot = expected.w * actual.w + expected.x * actual.x + expected.y
+				* actual.y + expected.z * actual.z;
+		assertEquals(1f, Math.abs(dot), delta);
+	}
+
+	/**
+	 * Gets the angle of the rotation between two unit quaternions.
+	 */
+	private static float getAngle(Quaternion from, Quaternion to) {
+		float dot = from.w * to.w + from.x * to.x + from.y * to.y + from.z
+				* to.z;
+		return 2f * (float) Math.acos(Math.min(Math.abs(dot), 1f));
+	}
+	// ------------------------- //
 }
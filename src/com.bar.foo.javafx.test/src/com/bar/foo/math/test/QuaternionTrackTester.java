@@ -0,0 +1,245 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.QuaternionTrack;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the keyframes and sampling provided by
+ * {@link QuaternionTrack}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class QuaternionTrackTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-5;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "QuaternionTrackTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * The axis for all rotations in the test track.
+	 */
+	private static final Vector3f axis = new Vector3f(0f, 1f, 0f);
+
+	/**
+	 * This checks the constructors and getters.
+	 */
+	@Test
+	public void checkConstruction() {
+		float[] times = { 0f, 1f, 3f };
+		Quaternion[] rotations = { Quaternion.fromAxisAngle(axis, 0f),
+				Quaternion.fromAxisAngle(axis, 1f),
+				new Quaternion(Quaternion.fromAxisAngle(axis, 2f)).multiply(-2f) };
+		QuaternionTrack track = new QuaternionTrack(times, rotations);
+		assertEquals(3, track.size());
+		assertEquals(0f, track.getStartTime(), 0.0);
+		assertEquals(3f, track.getEndTime(), 0.0);
+		assertEquals(1f, track.getTime(1), 0.0);
+
+		// Keys are normalized and flipped into the same hemisphere.
+		Quaternion cache = new Quaternion();
+		assertSame(cache, track.getRotation(2, cache));
+		assertQuaternionEquals(Quaternion.fromAxisAngle(axis, 2f), cache);
+
+		// The arrays are copied.
+		times[1] = 2f;
+		assertEquals(1f, track.getTime(1), 0.0);
+
+		// The interleaved constructor gives the same track.
+		QuaternionTrack interleaved = new QuaternionTrack(new float[] { 0f,
+				1f, 3f }, new float[] { 1f, 0f, 0f, 0f, rotations[1].w,
+				rotations[1].x, rotations[1].y, rotations[1].z, rotations[2].w,
+				rotations[2].x, rotations[2].y, rotations[2].z });
+		for (int i = 0; i < 3; i++) {
+			assertQuaternionEquals(track.getRotation(i, null),
+					interleaved.getRotation(i, cache));
+		}
+
+		// Bad arguments should throw exceptions.
+		try {
+			new QuaternionTrack(new float[0], new Quaternion[0]);
+			fail(failurePrefix + "Empty track accepted.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new QuaternionTrack(new float[] { 0f, 0f }, new Quaternion[] {
+					new Quaternion(), new Quaternion() });
+			fail(failurePrefix + "Repeated time accepted.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new QuaternionTrack(new float[] { 0f, 1f },
+					new Quaternion[] { new Quaternion() });
+			fail(failurePrefix + "Missing rotation accepted.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new QuaternionTrack(new float[] { 0f }, new float[] { 0f, 0f, 0f,
+					0f });
+			fail(failurePrefix + "Zero rotation accepted.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+	}
+
+	/**
+	 * This checks sampling forward, backward, at random times, and outside
+	 * the track.
+	 */
+	@Test
+	public void checkSample() {
+		// Each key i is at time i^2 / 4 with angle i / 4, so the angle is not
+		// linear in time across segments.
+		final int size = 20;
+		float[] times = new float[size];
+		Quaternion[] rotations = new Quaternion[size];
+		for (int i = 0; i < size; i++) {
+			times[i] = i * i / 4f;
+			rotations[i] = Quaternion.fromAxisAngle(axis, i / 4f);
+		}
+		QuaternionTrack track = new QuaternionTrack(times, rotations);
+		QuaternionTrack.Sampler sampler = track.sampler();
+		assertSame(track, sampler.getTrack());
+		Quaternion cache = new Quaternion();
+
+		// Play forward in small steps.
+		for (float time = 0f; time < track.getEndTime(); time += 0.05f) {
+			assertSame(cache, sampler.sample(time, cache));
+			assertQuaternionEquals(expected(times, time), cache);
+		}
+		// Play backward.
+		for (float time = track.getEndTime(); time > 0f; time -= 0.3f) {
+			assertQuaternionEquals(expected(times, time),
+					sampler.sample(time, cache));
+		}
+		// Seek randomly.
+		for (int i = 0; i < 100; i++) {
+			float time = random.nextFloat() * track.getEndTime();
+			assertQuaternionEquals(expected(times, time),
+					sampler.sample(time, cache));
+		}
+		// Keys are hit exactly, and times outside the track are clamped.
+		assertQuaternionEquals(rotations[5], sampler.sample(times[5], cache));
+		assertQuaternionEquals(rotations[0], sampler.sample(-1f, cache));
+		assertQuaternionEquals(rotations[size - 1],
+				sampler.sample(1000f, null));
+
+		// A single-key track is constant.
+		QuaternionTrack single = new QuaternionTrack(new float[] { 2f },
+				new Quaternion[] { rotations[3] });
+		QuaternionTrack.Sampler singleSampler = single.sampler();
+		assertQuaternionEquals(rotations[3], singleSampler.sample(0f, cache));
+		assertQuaternionEquals(rotations[3], singleSampler.sample(5f, cache));
+	}
+
+	/**
+	 * This checks SQUAD sampling, which should hit the keys and agree with
+	 * the SQUAD operations in {@link Quaternion}.
+	 */
+	@Test
+	public void checkSampleSmooth() {
+		final int size = 10;
+		float[] times = new float[size];
+		Quaternion[] rotations = new Quaternion[size];
+		for (int i = 0; i < size; i++) {
+			times[i] = i;
+			rotations[i] = Quaternion.fromAxisAngle(new Vector3f(
+					random.nextFloat(), random.nextFloat(), 1f),
+					random.nextFloat() * 3f);
+		}
+		QuaternionTrack track = new QuaternionTrack(times, rotations);
+		QuaternionTrack.Sampler sampler = track.sampler();
+		Quaternion cache = new Quaternion();
+
+		// Keys are hit, and times outside the track are clamped.
+		for (int i = 0; i < size; i++) {
+			assertRotationEquals(rotations[i],
+					sampler.sampleSmooth(times[i], cache));
+		}
+		assertRotationEquals(rotations[0], sampler.sampleSmooth(-1f, cache));
+		assertRotationEquals(rotations[size - 1],
+				sampler.sampleSmooth(100f, null));
+
+		// Between keys, the sample matches SQUAD with the keys' tangents.
+		Quaternion q0 = track.getRotation(3, null);
+		Quaternion q1 = track.getRotation(4, null);
+		Quaternion a0 = Quaternion.squadTangent(track.getRotation(2, null),
+				q0, q1, null);
+		Quaternion a1 = Quaternion.squadTangent(q0, q1,
+				track.getRotation(5, null), null);
+		for (float time = 3f; time < 4f; time += 0.1f) {
+			assertSame(cache, sampler.sampleSmooth(time, cache));
+			assertQuaternionEquals(
+					Quaternion.squad(q0, a0, a1, q1, time - 3f, null), cache);
+		}
+
+		// Plain and smooth sampling can share a sampler.
+		assertQuaternionEquals(expectedSlerp(track, 5.5f),
+				sampler.sample(5.5f, cache));
+	}
+
+	// ---- Utility methods ---- //
+
+	/**
+	 * Computes the expected rotation for the test track in
+	 * {@link #checkSample()}.
+	 */
+	private static Quaternion expected(float[] times, float time) {
+		int i = 0;
+		while (i < times.length - 2 && times[i + 1] <= time) {
+			i++;
+		}
+		float t = (time - times[i]) / (times[i + 1] - times[i]);
+		return Quaternion.fromAxisAngle(axis, (i + t) / 4f);
+	}
+
+	/**
+	 * Computes the expected slerp sample halfway through a unit-time segment.
+	 */
+	private static Quaternion expectedSlerp(QuaternionTrack track, float time) {
+		int i = (int) time;
+		return Quaternion.slerp(track.getRotation(i, null),
+				track.getRotation(i + 1, null), time - i, null);
+	}
+
+	/**
+	 * Compares two unit quaternions as rotations, i.e., q and -q are equal.
+	 */
+	private static void assertRotationEquals(Quaternion expected,
+			Quaternion actual) {
+		float dot = expected.w * actual.w + expected.x * actual.x + expected.y
+				* actual.y + expected.z * actual.z;
+		assertEquals(1f, Math.abs(dot), delta);
+	}
+
+	private static void assertQuaternionEquals(Quaternion expected,
+			Quaternion actual) {
+		assertEquals(expected.w, actual.w, delta);
+		assertEquals(expected.x, actual.x, delta);
+		assertEquals(expected.y, actual.y, delta);
+		assertEquals(expected.z, actual.z, delta);
+	}
+	// ------------------------- //
+}
@@ -0,0 +1,209 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.bar.foo.math.AABB;
+import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Ray;
+import com.bar.foo.math.RayHit;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the ray/box and ray/triangle tests provided by
+ * {@link Ray} and the bookkeeping in {@link RayHit}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class RayTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-5;
+
+	/**
+	 * This checks the constructors, setters, and {@link Ray#getPoint(float,
+	 * Vector3f)}.
+	 */
+	@Test
+	public void checkConstruction() {
+		Ray ray = new Ray();
+		assertEquals(new Vector3f(), ray.origin);
+		assertEquals(new Vector3f(0f, 0f, -1f), ray.direction);
+
+		Vector3f origin = new Vector3f(1f, 2f, 3f);
+		Vector3f direction = new Vector3f(0f, 2f, 0f);
+		ray = new Ray(origin, direction);
+		// The vectors should be copied.
+		origin.set(0f, 0f, 0f);
+		assertEquals(new Vector3f(1f, 2f, 3f), ray.origin);
+		assertEquals(direction, ray.direction);
+
+		Ray copy = new Ray(ray);
+		assertEquals(ray.origin, copy.origin);
+		assertEquals(ray.direction, copy.direction);
+		assertSame(copy, copy.set(new Ray()));
+		assertEquals(new Vector3f(0f, 0f, -1f), copy.direction);
+
+		// Distances are in multiples of the direction's length.
+		Vector3f cache = new Vector3f();
+		assertSame(cache, ray.getPoint(1.5f, cache));
+		assertEquals(new Vector3f(1f, 5f, 3f), cache);
+		assertEquals(new Vector3f(1f, 2f, 3f), ray.getPoint(0f, null));
+
+		RayHit hit = new RayHit();
+		assertEquals(Float.POSITIVE_INFINITY, hit.distance, 0.0);
+		assertEquals(-1, hit.face);
+		hit.distance = 1f;
+		hit.u = 0.25f;
+		hit.v = 0.5f;
+		hit.face = 3;
+		assertEquals(new Vector3f(0.25f, 0.25f, 0.5f), hit.getBarycentric(null));
+		RayHit hitCopy = new RayHit().set(hit);
+		assertEquals(3, hitCopy.face);
+		assertEquals(0.5f, hitCopy.v, 0.0);
+		assertSame(hit, hit.reset(5f));
+		assertEquals(5f, hit.distance, 0.0);
+		assertEquals(-1, hit.face);
+
+		return;
+	}
+
+	/**
+	 * This checks {@link Ray#intersect(AABB)}.
+	 */
+	@Test
+	public void checkIntersectBox() {
+		AABB box = new AABB(-1f, -1f, -1f, 1f, 1f, 1f);
+
+		// A ray toward the box hits its near face.
+		Ray ray = new Ray(new Vector3f(0f, 0f, 5f), new Vector3f(0f, 0f, -1f));
+		assertEquals(4f, ray.intersect(box), delta);
+		// The distance scales with the direction's length.
+		ray.direction.set(0f, 0f, -2f);
+		assertEquals(2f, ray.intersect(box), delta);
+
+		// A ray pointing away misses.
+		ray.direction.set(0f, 0f, 1f);
+		assertEquals(Float.POSITIVE_INFINITY, ray.intersect(box), 0.0);
+
+		// A ray parallel to the box's faces but outside them misses.
+		ray.set(new Vector3f(2f, 0f, 5f), new Vector3f(0f, 0f, -1f));
+		assertEquals(Float.POSITIVE_INFINITY, ray.intersect(box), 0.0);
+
+		// A ray along a face is inside the slab and hits.
+		ray.origin.set(1f, 0f, 5f);
+		assertEquals(4f, ray.intersect(box), delta);
+
+		// A ray from inside the box hits at 0.
+		ray.origin.set(0.5f, 0.5f, 0.5f);
+		assertEquals(0f, ray.intersect(box), 0.0);
+
+		// A diagonal ray.
+		ray.set(new Vector3f(-3f, -3f, 0f), new Vector3f(1f, 1f, 0f));
+		assertEquals(2f, ray.intersect(box), delta);
+		ray.set(new Vector3f(-3f, -2f, 0f), new Vector3f(1f, -1f, 0f));
+		assertEquals(Float.POSITIVE_INFINITY, ray.intersect(box), 0.0);
+
+		return;
+	}
+
+	/**
+	 * This checks {@link Ray#intersect(com.bar.foo.math.Vector3fc,
+	 * com.bar.foo.math.Vector3fc, com.bar.foo.math.Vector3fc, RayHit)}.
+	 */
+	@Test
+	public void checkIntersectTriangle() {
+		Vector3f v0 = new Vector3f(0f, 0f, 0f);
+		Vector3f v1 = new Vector3f(4f, 0f, 0f);
+		Vector3f v2 = new Vector3f(0f, 4f, 0f);
+		RayHit hit = new RayHit();
+
+		// Hit the triangle from the front.
+		Ray ray = new Ray(new Vector3f(1f, 2f, 3f), new Vector3f(0f, 0f, -1f));
+		assertTrue(ray.intersect(v0, v1, v2, hit));
+		assertEquals(3f, hit.distance, delta);
+		assertEquals(0.25f, hit.u, delta);
+		assertEquals(0.5f, hit.v, delta);
+		assertEquals(-1, hit.face);
+		// The barycentric coordinates recover the point.
+		Vector3f weights = hit.getBarycentric(null);
+		Vector3f point = new Vector3f(v0).multiply(weights.x)
+				.add(new Vector3f(v1).multiply(weights.y))
+				.add(new Vector3f(v2).multiply(weights.z));
+		assertEquals(ray.getPoint(hit.distance, null), point);
+
+		// A farther hit does not replace a closer one.
+		ray.origin.set(1f, 1f, 10f);
+		assertFalse(ray.intersect(v0, v1, v2, hit));
+		assertEquals(3f, hit.distance, delta);
+
+		// Hit the triangle from the back.
+		ray.set(new Vector3f(1f, 1f, -1f), new Vector3f(0f, 0f, 1f));
+		assertTrue(ray.intersect(v0, v1, v2, hit));
+		assertEquals(1f, hit.distance, delta);
+		assertEquals(0.25f, hit.u, delta);
+		assertEquals(0.25f, hit.v, delta);
+
+		// Misses: outside the edges, behind the ray, and parallel.
+		hit.reset();
+		ray.set(new Vector3f(3f, 3f, 1f), new Vector3f(0f, 0f, -1f));
+		assertFalse(ray.intersect(v0, v1, v2, hit));
+		ray.set(new Vector3f(-1f, 1f, 1f), new Vector3f(0f, 0f, -1f));
+		assertFalse(ray.intersect(v0, v1, v2, hit));
+		ray.set(new Vector3f(1f, 1f, 1f), new Vector3f(0f, 0f, 1f));
+		assertFalse(ray.intersect(v0, v1, v2, hit));
+		ray.set(new Vector3f(-1f, 1f, 0f), new Vector3f(1f, 0f, 0f));
+		assertFalse(ray.intersect(v0, v1, v2, hit));
+		assertEquals(Float.POSITIVE_INFINITY, hit.distance, 0.0);
+
+		// Hits beyond a maximum distance are ignored.
+		ray.set(new Vector3f(1f, 1f, 5f), new Vector3f(0f, 0f, -1f));
+		assertFalse(ray.intersect(v0, v1, v2, hit.reset(4f)));
+		assertTrue(ray.intersect(v0, v1, v2, hit.reset(6f)));
+
+		return;
+	}
+
+	/**
+	 * This checks {@link Ray#transform(com.bar.foo.math.Matrix3fc,
+	 * com.bar.foo.math.Vector3fc, Ray)}.
+	 */
+	@Test
+	public void checkTransform() {
+		Ray ray = new Ray(new Vector3f(1f, 0f, 0f), new Vector3f(0f, 0f, -1f));
+		Matrix3f matrix = new Matrix3f();
+		Quaternion.fromAxisAngle(Vector3f.UNIT_Y, (float) Math.PI * 0.5f,
+				null).fillRotationMatrix(matrix);
+		matrix.multiply(new Matrix3f(2f, 0f, 0f, 0f, 2f, 0f, 0f, 0f, 2f));
+		Vector3f translation = new Vector3f(0f, 1f, 0f);
+
+		Ray transformed = ray.transform(matrix, translation, null);
+		assertEquals(0f, transformed.origin.x, delta);
+		assertEquals(1f, transformed.origin.y, delta);
+		assertEquals(-2f, transformed.origin.z, delta);
+		// The direction is not renormalized.
+		assertEquals(-2f, transformed.direction.x, delta);
+		assertEquals(0f, transformed.direction.y, delta);
+		assertEquals(0f, transformed.direction.z, delta);
+
+		// The ray can be transformed in place, and the point at a distance
+		// along the transformed ray is the transformed point.
+		Vector3f expected = matrix.multiply(ray.getPoint(3f, null)).add(
+				translation);
+		assertSame(ray, ray.transform(matrix, translation, ray));
+		assertEquals(transformed.origin, ray.origin);
+		Vector3f actual = ray.getPoint(3f, null);
+		assertEquals(expected.x, actual.x, delta);
+		assertEquals(expected.y, actual.y, delta);
+		assertEquals(expected.z, actual.z, delta);
+
+		return;
+	}
+}
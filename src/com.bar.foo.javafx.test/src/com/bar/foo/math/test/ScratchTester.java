@@ -0,0 +1,173 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Matrix4f;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Scratch;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the per-thread temporary pool provided by {@link Scratch}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class ScratchTester {
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "ScratchTester failure: ";
+
+	/**
+	 * Restores the default debug setting after each test.
+	 */
+	@After
+	public void resetDebug() {
+		Scratch.setDebug(Boolean.getBoolean(Scratch.DEBUG_PROPERTY));
+	}
+
+	/**
+	 * Checks that temporaries are distinct within a scope and re-used across
+	 * scopes.
+	 */
+	@Test
+	public void checkReuse() {
+		Vector3f v1, v2;
+		Quaternion q;
+		Matrix3f m3;
+		Matrix4f m4;
+
+		try (Scratch scratch = Scratch.open()) {
+			v1 = scratch.vector3f();
+			v2 = scratch.vector3f();
+			q = scratch.quaternion();
+			m3 = scratch.matrix3f();
+			m4 = scratch.matrix4f();
+			assertNotNull(v1);
+			assertNotSame(v1, v2);
+			assertNotNull(q);
+			assertNotNull(m3);
+			assertNotNull(m4);
+
+			// A nested scope gets new temporaries.
+			try (Scratch nested = Scratch.open()) {
+				assertNotSame(v1, nested.vector3f());
+				assertNotSame(v2, nested.vector3f());
+			}
+		}
+		Scratch.checkReleased();
+
+		// The same temporaries are handed out by the next scope.
+		try (Scratch scratch = Scratch.open()) {
+			assertSame(v1, scratch.vector3f());
+			assertSame(v2, scratch.vector3f());
+			assertSame(q, scratch.quaternion());
+			assertSame(m3, scratch.matrix3f());
+			assertSame(m4, scratch.matrix4f());
+		}
+
+		// Growing the pool past its initial size should work.
+		try (Scratch scratch = Scratch.open()) {
+			for (int i = 0; i < 100; i++) {
+				scratch.vector3f().set(i, i, i);
+			}
+		}
+		Scratch.checkReleased();
+	}
+
+	/**
+	 * Checks that closing a nested scope twice without debugging does not
+	 * release the temporaries of its enclosing scope.
+	 */
+	@Test
+	public void checkDoubleClose() {
+		Scratch.setDebug(false);
+
+		Scratch outer = Scratch.open();
+		Vector3f v1 = outer.vector3f();
+		Scratch inner = Scratch.open();
+		inner.vector3f();
+		inner.close();
+		Vector3f v2 = outer.vector3f();
+		inner.close();
+		Vector3f v3 = outer.vector3f();
+		assertNotSame(v1, v2);
+		assertNotSame(v1, v3);
+		assertNotSame(v2, v3);
+		outer.close();
+		Scratch.checkReleased();
+	}
+
+	/**
+	 * Checks that misused scopes are reported when debugging.
+	 */
+	@Test
+	public void checkDebug() {
+		Scratch.setDebug(true);
+
+		// Closing a scope twice.
+		Scratch scratch = Scratch.open();
+		scratch.close();
+		try {
+			scratch.close();
+			fail(failurePrefix + "Double close not detected.");
+		} catch (IllegalStateException e) {
+			assertNotNull(e.getCause());
+		}
+		Scratch.checkReleased();
+
+		// Acquiring from a closed scope.
+		try {
+			scratch.vector3f();
+			fail(failurePrefix + "Use after close not detected.");
+		} catch (IllegalStateException e) {
+			assertNotNull(e.getCause());
+		}
+
+		// Acquiring from an outer scope while a nested one is open.
+		Scratch outer = Scratch.open();
+		Scratch inner = Scratch.open();
+		try {
+			outer.quaternion();
+			fail(failurePrefix + "Use of outer scope not detected.");
+		} catch (IllegalStateException e) {
+			assertNotNull(e.getCause());
+		}
+
+		// The nested scope was never closed. The cause should be where it was
+		// opened.
+		try {
+			Scratch.checkReleased();
+			fail(failurePrefix + "Open scope not detected.");
+		} catch (IllegalStateException e) {
+			assertNotNull(e.getCause());
+		}
+		try {
+			outer.close();
+			fail(failurePrefix + "Leaked nested scope not detected.");
+		} catch (IllegalStateException e) {
+			assertNotNull(e.getCause());
+		}
+		// The pool should have recovered.
+		Scratch.checkReleased();
+		try {
+			inner.matrix3f();
+			fail(failurePrefix + "Use of unwound scope not detected.");
+		} catch (IllegalStateException e) {
+			// Exception thrown as expected.
+		}
+		try (Scratch recovered = Scratch.open()) {
+			assertNotNull(recovered.matrix4f());
+		}
+		Scratch.checkReleased();
+	}
+}
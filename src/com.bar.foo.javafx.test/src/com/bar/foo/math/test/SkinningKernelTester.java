@@ -0,0 +1,227 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.DualQuaternion;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.SkinningKernel;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the dual quaternion skinning provided by
+ * {@link SkinningKernel}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class SkinningKernelTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-4;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "SkinningKernelTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * This checks that invalid mesh data is rejected.
+	 */
+	@Test
+	public void checkConstruction() {
+		float[] positions = new float[6];
+		int[] indices = new int[4];
+		float[] weights = new float[4];
+
+		try {
+			new SkinningKernel(null, indices, weights, 2, 1);
+			fail(failurePrefix + "Exception not thrown for null positions.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new SkinningKernel(positions, indices, new float[3], 2, 1);
+			fail(failurePrefix + "Exception not thrown for too few weights.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new SkinningKernel(positions, indices, weights, 0, 1);
+			fail(failurePrefix + "Exception not thrown for no influences.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new SkinningKernel(positions, new int[] { 0, 0, 0, 1 }, weights,
+					2, 1);
+			fail(failurePrefix + "Exception not thrown for a bad bone index.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new SkinningKernel(positions, indices, weights, 2, 1, 0);
+			fail(failurePrefix + "Exception not thrown for a zero grain.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+
+		SkinningKernel kernel = new SkinningKernel(positions, indices,
+				weights, 2, 3);
+		assertEquals(2, kernel.getVertexCount());
+		assertEquals(3, kernel.getBoneCount());
+		assertEquals(SkinningKernel.DEFAULT_GRAIN, kernel.getGrain());
+		try {
+			kernel.setBone(3, new DualQuaternion());
+			fail(failurePrefix + "Exception not thrown for a bad bone.");
+		} catch (IndexOutOfBoundsException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			kernel.skin(new float[5]);
+			fail(failurePrefix + "Exception not thrown for a small output.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+	}
+
+	/**
+	 * This checks that skinned vertices match the blended bone poses.
+	 */
+	@Test
+	public void checkSkin() {
+		final int vertexCount = 50;
+		final int influences = 3;
+		float[] positions = createPositions(vertexCount);
+		int[] indices = new int[vertexCount * influences];
+		float[] weights = new float[indices.length];
+		for (int v = 0; v < vertexCount; v++) {
+			int b = v * influences;
+			// The first vertex has no weights. The rest are split between
+			// bones 0 and 1.
+			if (v > 0) {
+				float weight = random.nextFloat();
+				indices[b] = 0;
+				weights[b] = weight;
+				indices[b + 1] = 1;
+				weights[b + 1] = 1f - weight;
+				indices[b + 2] = 2;
+			}
+		}
+		SkinningKernel kernel = new SkinningKernel(positions, indices,
+				weights, influences, 3);
+
+		// With the identity pose, the bind pose is unchanged.
+		float[] output = kernel.skin(null);
+		assertArrayEquals(positions, output);
+
+		DualQuaternion bone0 = createPose();
+		DualQuaternion bone1 = createPose();
+		// Negating bone 1 gives the same transformation and must not change
+		// the blend.
+		bone1.real.multiply(-1f);
+		bone1.dual.multiply(-1f);
+		kernel.setBone(0, bone0);
+		kernel.setBone(1, bone1);
+		kernel.setBone(2, createPose());
+		assertSame(output, kernel.skin(output));
+
+		DualQuaternion blend = new DualQuaternion();
+		Vector3f point = new Vector3f();
+		Vector3f expected = new Vector3f();
+		for (int v = 0; v < vertexCount; v++) {
+			int p = v * 3;
+			point.set(positions[p], positions[p + 1], positions[p + 2]);
+			if (v == 0) {
+				expected.set(point);
+			} else {
+				DualQuaternion.blend(bone0, bone1, weights[v * influences + 1],
+						blend);
+				blend.transformPoint(point, expected);
+			}
+			assertEquals(expected.x, output[p], delta);
+			assertEquals(expected.y, output[p + 1], delta);
+			assertEquals(expected.z, output[p + 2], delta);
+		}
+	}
+
+	/**
+	 * This checks that parallel skinning matches sequential skinning.
+	 */
+	@Test
+	public void checkParallel() {
+		final int vertexCount = 10000;
+		final int influences = 4;
+		final int boneCount = 8;
+		float[] positions = createPositions(vertexCount);
+		int[] indices = new int[vertexCount * influences];
+		float[] weights = new float[indices.length];
+		for (int b = 0; b < indices.length; b += influences) {
+			float sum = 0f;
+			for (int j = 0; j < influences; j++) {
+				indices[b + j] = random.nextInt(boneCount);
+				weights[b + j] = random.nextFloat();
+				sum += weights[b + j];
+			}
+			for (int j = 0; j < influences; j++) {
+				weights[b + j] /= sum;
+			}
+		}
+
+		// A small grain so that the mesh is split into many chunks.
+		SkinningKernel kernel = new SkinningKernel(positions, indices,
+				weights, influences, boneCount, 256);
+		for (int i = 0; i < boneCount; i++) {
+			kernel.setBone(i, createPose());
+		}
+
+		float[] parallel = kernel.skin(new float[vertexCount * 3]);
+		kernel.setParallel(false);
+		float[] sequential = kernel.skin(null);
+		assertArrayEquals(sequential, parallel);
+
+		// Skinning a range only writes that range.
+		float[] range = new float[vertexCount * 3];
+		kernel.skin(range, 100, 50);
+		for (int i = 0; i < range.length; i++) {
+			assertEquals(i >= 300 && i < 450 ? sequential[i] : 0f, range[i],
+					delta);
+		}
+	}
+
+	// ---- Utility methods ---- //
+	private static float[] createPositions(int vertexCount) {
+		float[] positions = new float[vertexCount * 3];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = random.nextFloat() * 10f - 5f;
+		}
+		return positions;
+	}
+
+	private static DualQuaternion createPose() {
+		return new DualQuaternion(Quaternion.fromAxisAngle(new Vector3f(
+				random.nextFloat(), random.nextFloat(),
+				random.nextFloat() + 0.1f), random.nextFloat() * 3f),
+				new Vector3f(random.nextFloat(), random.nextFloat(),
+						random.nextFloat()));
+	}
+
+	private static void assertArrayEquals(float[] expected, float[] actual) {
+		assertEquals(expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], actual[i], delta);
+		}
+	}
+	// ------------------------- //
+}
@@ -0,0 +1,224 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.BezierSpline;
+import com.bar.foo.math.CatmullRomSpline;
+import com.bar.foo.math.Spline;
+import com.bar.foo.math.Vector3f;
+import com.bar.foo.math.Vector3fc;
+
+/**
+ * This class checks the curves and arc-length sampling provided by
+ * {@link Spline}, {@link CatmullRomSpline}, and {@link BezierSpline}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class SplineTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-4;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "SplineTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * This checks that invalid control points are rejected.
+	 */
+	@Test
+	public void checkConstruction() {
+		try {
+			new CatmullRomSpline(new Vector3f[] { new Vector3f() });
+			fail(failurePrefix + "Exception not thrown for one point.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new CatmullRomSpline(new Vector3f[] { new Vector3f(), null });
+			fail(failurePrefix + "Exception not thrown for null point.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new CatmullRomSpline(new float[] { 0f, 0f, 0f, 1f, 1f }, 4);
+			fail(failurePrefix + "Exception not thrown for partial point.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new CatmullRomSpline(new float[] { 0f, 0f, 0f, 1f, 1f, 1f }, 0);
+			fail(failurePrefix + "Exception not thrown for no samples.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new BezierSpline(new float[15], 4);
+			fail(failurePrefix + "Exception not thrown for five points.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new BezierSpline((Vector3fc[]) null);
+			fail(failurePrefix + "Exception not thrown for null points.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+
+		// The points are copied.
+		Vector3f[] points = createPoints(4);
+		Spline spline = new CatmullRomSpline(points);
+		Vector3f first = new Vector3f(points[0]);
+		points[0].set(100f, 100f, 100f);
+		assertEquals(4, spline.size());
+		assertEquals(3, spline.getSegmentCount());
+		assertVectorEquals(first, spline.getControlPoint(0, null));
+
+		spline = new BezierSpline(createPoints(7));
+		assertEquals(7, spline.size());
+		assertEquals(2, spline.getSegmentCount());
+	}
+
+	/**
+	 * This checks that a Catmull-Rom spline passes through its control points
+	 * and is straight when its points are.
+	 */
+	@Test
+	public void checkCatmullRom() {
+		Vector3f[] points = createPoints(6);
+		CatmullRomSpline spline = new CatmullRomSpline(points);
+		Vector3f cache = new Vector3f();
+
+		for (int i = 0; i < spline.getSegmentCount(); i++) {
+			assertSame(cache, spline.getPoint(i, 0f, cache));
+			assertVectorEquals(points[i], cache);
+			assertVectorEquals(points[i + 1], spline.getPoint(i, 1f, cache));
+		}
+
+		// Evenly spaced points on a line give a straight line traversed at a
+		// constant rate.
+		points = new Vector3f[] { new Vector3f(0f, 0f, 0f),
+				new Vector3f(1f, 2f, 2f), new Vector3f(2f, 4f, 4f) };
+		spline = new CatmullRomSpline(points);
+		assertEquals(6f, spline.getLength(), delta);
+		assertVectorEquals(new Vector3f(0.5f, 1f, 1f),
+				spline.getPoint(0, 0.5f, null));
+		assertVectorEquals(new Vector3f(1.25f, 2.5f, 2.5f),
+				spline.getPoint(1, 0.25f, null));
+	}
+
+	/**
+	 * This checks a Bezier spline against the Bernstein form.
+	 */
+	@Test
+	public void checkBezier() {
+		Vector3f[] points = createPoints(7);
+		BezierSpline spline = new BezierSpline(points);
+		Vector3f cache = new Vector3f();
+
+		// The curve passes through every third point.
+		assertVectorEquals(points[0], spline.getPoint(0, 0f, cache));
+		assertVectorEquals(points[3], spline.getPoint(0, 1f, cache));
+		assertVectorEquals(points[3], spline.getPoint(1, 0f, cache));
+		assertVectorEquals(points[6], spline.getPoint(1, 1f, cache));
+
+		// De Casteljau's construction gives the same point.
+		float t = 0.3f;
+		Vector3f a = lerp(points[3], points[4], t);
+		Vector3f b = lerp(points[4], points[5], t);
+		Vector3f c = lerp(points[5], points[6], t);
+		Vector3f expected = lerp(lerp(a, b, t), lerp(b, c, t), t);
+		assertSame(cache, spline.getPoint(1, t, cache));
+		assertVectorEquals(expected, cache);
+	}
+
+	/**
+	 * This checks that sampling by distance moves at a constant speed, and
+	 * that a sampler agrees with the binary search.
+	 */
+	@Test
+	public void checkArcLength() {
+		// A curve whose control points are unevenly spaced, so its natural
+		// parameter moves at different speeds along it.
+		Vector3f[] points = new Vector3f[] { new Vector3f(0f, 0f, 0f),
+				new Vector3f(2f, 0f, 0f), new Vector3f(3f, 1f, 0f),
+				new Vector3f(8f, 4f, 2f), new Vector3f(12f, 0f, -3f) };
+		Spline spline = new CatmullRomSpline(points);
+		Spline.Sampler sampler = spline.sampler();
+		assertSame(spline, sampler.getSpline());
+		float length = spline.getLength();
+
+		// The length is at least the sum of the chords between the points.
+		float chords = 0f;
+		for (int i = 1; i < points.length; i++) {
+			chords += points[i].distance(points[i - 1]);
+		}
+		assertEquals(true, length >= chords - delta);
+
+		// Equal steps in distance give (nearly) equal steps along the curve.
+		final int steps = 200;
+		float step = length / steps;
+		Vector3f previous = sampler.sample(0f, null);
+		Vector3f current = new Vector3f();
+		for (int i = 1; i <= steps; i++) {
+			float distance = i * step;
+			assertSame(current, sampler.sample(distance, current));
+			assertEquals(step, current.distance(previous), step * 0.05f);
+			assertVectorEquals(spline.getPointAtDistance(distance, null),
+					current);
+			previous.set(current);
+		}
+
+		// The ends are clamped.
+		assertVectorEquals(points[0], sampler.sample(-1f, current));
+		assertVectorEquals(points[points.length - 1],
+				sampler.sample(length + 1f, current));
+
+		// Seek randomly.
+		for (int i = 0; i < 100; i++) {
+			float distance = random.nextFloat() * length;
+			assertVectorEquals(spline.getPointAtDistance(distance, null),
+					sampler.sample(distance, current));
+		}
+	}
+
+	// ---- Utility methods ---- //
+	/**
+	 * Creates random points in a cube centered at the origin.
+	 */
+	private static Vector3f[] createPoints(int count) {
+		Vector3f[] points = new Vector3f[count];
+		for (int i = 0; i < count; i++) {
+			points[i] = new Vector3f(random.nextFloat() * 20f - 10f,
+					random.nextFloat() * 20f - 10f,
+					random.nextFloat() * 20f - 10f);
+		}
+		return points;
+	}
+
+	private static Vector3f lerp(Vector3f a, Vector3f b, float t) {
+		return new Vector3f(a.x + (b.x - a.x) * t, a.y + (b.y - a.y) * t, a.z
+				+ (b.z - a.z) * t);
+	}
+
+	private static void assertVectorEquals(Vector3fc expected, Vector3fc actual) {
+		assertEquals(expected.x(), actual.x(), delta);
+		assertEquals(expected.y(), actual.y(), delta);
+		assertEquals(expected.z(), actual.z(), delta);
+	}
+	// ------------------------- //
+}
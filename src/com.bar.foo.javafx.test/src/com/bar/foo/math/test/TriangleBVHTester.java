@@ -0,0 +1,330 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.AABB;
+import com.bar.foo.math.Ray;
+import com.bar.foo.math.RayHit;
+import com.bar.foo.math.TriangleBVH;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the ray casting provided by {@link TriangleBVH}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class TriangleBVHTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-4;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "TriangleBVHTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * This checks that invalid mesh data is rejected and that the tree
+	 * reports its size and bounds.
+	 */
+	@Test
+	public void checkConstruction() {
+		float[] points = new float[] { 0f, 0f, 0f, 1f, 0f, 0f, 0f, 1f, 2f };
+		int[] faces = new int[] { 0, 0, 1, 0, 2, 0 };
+
+		try {
+			new TriangleBVH(null, faces);
+			fail(failurePrefix + "Exception not thrown for null points.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new TriangleBVH(points, null);
+			fail(failurePrefix + "Exception not thrown for null faces.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new TriangleBVH(points, faces, 4, false);
+			fail(failurePrefix + "Exception not thrown for a bad stride.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new TriangleBVH(points, new int[] { 0, 0, 1, 0, 2 });
+			fail(failurePrefix + "Exception not thrown for a partial face.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			new TriangleBVH(points, new int[] { 0, 0, 1, 0, 3, 0 });
+			fail(failurePrefix + "Exception not thrown for a bad point index.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+
+		TriangleBVH tree = new TriangleBVH(points, faces);
+		assertEquals(1, tree.getTriangleCount());
+		assertEquals(1, tree.getNodeCount());
+		assertEquals(0, tree.getDepth());
+		AABB bounds = new AABB();
+		assertSame(bounds, tree.getBounds(bounds));
+		assertEquals(new AABB(0f, 0f, 0f, 1f, 1f, 2f), bounds);
+
+		// An empty mesh has no nodes and is never hit.
+		tree = new TriangleBVH(new float[0], new int[0]);
+		assertEquals(0, tree.getTriangleCount());
+		assertEquals(0, tree.getNodeCount());
+		assertTrue(tree.getBounds(null).isEmpty());
+		assertFalse(tree.intersect(new Ray(), new RayHit()));
+
+		return;
+	}
+
+	/**
+	 * This checks that the tree finds the same closest triangle as testing
+	 * every triangle, for random rays through a random mesh.
+	 */
+	@Test
+	public void checkIntersect() {
+		float[] points = createPoints(1000);
+		int[] faces = createFaces(1000, 6);
+		TriangleBVH tree = new TriangleBVH(points, faces, 6, false);
+		assertEquals(1000, tree.getTriangleCount());
+		assertTrue(tree.getNodeCount() > 1);
+		assertTrue(tree.getNodeCount() <= 2 * 1000 - 1);
+		assertTrue(tree.getDepth() > 0);
+
+		int hits = checkAgainstBruteForce(tree, points, faces, 6, 500);
+		// Rays are aimed at the mesh, so most of them should hit something.
+		assertTrue(failurePrefix + "Too few hits: " + hits, hits > 100);
+
+		// A hit closer than anything in the tree is kept.
+		Ray ray = createRay(null);
+		RayHit hit = new RayHit().reset(1e-6f);
+		assertFalse(tree.intersect(ray, hit));
+		assertEquals(-1, hit.face);
+
+		return;
+	}
+
+	/**
+	 * This checks a grid of quads, where many triangles share edges and lie in
+	 * the same plane, with faces that include normal indices.
+	 */
+	@Test
+	public void checkGrid() {
+		final int size = 20;
+		float[] points = new float[(size + 1) * (size + 1) * 3];
+		for (int j = 0, p = 0; j <= size; j++) {
+			for (int i = 0; i <= size; i++) {
+				points[p++] = i;
+				points[p++] = j;
+				points[p++] = 0f;
+			}
+		}
+		int[] faces = new int[size * size * 2 * 9];
+		for (int j = 0, f = 0; j < size; j++) {
+			for (int i = 0; i < size; i++) {
+				int corner = j * (size + 1) + i;
+				faces[f] = corner;
+				faces[f + 3] = corner + 1;
+				faces[f + 6] = corner + size + 2;
+				faces[f + 9] = corner;
+				faces[f + 12] = corner + size + 2;
+				faces[f + 15] = corner + size + 1;
+				f += 18;
+			}
+		}
+		TriangleBVH tree = new TriangleBVH(points, faces, 9, false);
+
+		// Rays straight down hit the quad below them.
+		Ray ray = new Ray();
+		RayHit hit = new RayHit();
+		for (int i = 0; i < 100; i++) {
+			float x = random.nextFloat() * size;
+			float y = random.nextFloat() * size;
+			ray.origin.set(x, y, 5f);
+			assertTrue(tree.intersect(ray, hit.reset()));
+			assertEquals(5f, hit.distance, delta);
+			int quad = (int) y * size + (int) x;
+			assertEquals(quad, hit.face / 2);
+			// The barycentric coordinates recover the point.
+			int face = hit.face * 9;
+			Vector3f weights = hit.getBarycentric(null);
+			float px = 0f;
+			float py = 0f;
+			for (int k = 0; k < 3; k++) {
+				int point = faces[face + k * 3] * 3;
+				px += points[point] * getWeight(weights, k);
+				py += points[point + 1] * getWeight(weights, k);
+			}
+			assertEquals(x, px, delta);
+			assertEquals(y, py, delta);
+		}
+
+		// Rays beside the grid miss.
+		ray.origin.set(-1f, 5f, 5f);
+		assertFalse(tree.intersect(ray, hit.reset()));
+		ray.origin.set(5f, 5f, 5f);
+		ray.direction.set(0f, 0f, 1f);
+		assertFalse(tree.intersect(ray, hit.reset()));
+
+		return;
+	}
+
+	/**
+	 * This checks that a tree built in parallel matches one built on a single
+	 * thread.
+	 */
+	@Test
+	public void checkParallel() {
+		final int count = 40000;
+		float[] points = createPoints(count);
+		int[] faces = createFaces(count, 6);
+
+		TriangleBVH sequential = new TriangleBVH(points, faces, 6, false);
+		TriangleBVH parallel = new TriangleBVH(points, faces, 6, true);
+		assertEquals(sequential.getTriangleCount(),
+				parallel.getTriangleCount());
+		assertEquals(sequential.getBounds(null), parallel.getBounds(null));
+
+		// The trees may number their nodes differently, but they must find
+		// hits at the same distances.
+		Ray ray = new Ray();
+		RayHit expected = new RayHit();
+		RayHit actual = new RayHit();
+		for (int i = 0; i < 200; i++) {
+			createRay(ray);
+			sequential.intersect(ray, expected.reset());
+			parallel.intersect(ray, actual.reset());
+			assertEquals(expected.distance, actual.distance, 0.0);
+		}
+		checkAgainstBruteForce(parallel, points, faces, 6, 100);
+
+		return;
+	}
+
+	// ---- Utility methods ---- //
+	/**
+	 * Creates the points for small random triangles in a 10x10x10 cube
+	 * centered at the origin. Each triangle's vertices are consecutive and
+	 * near each other so that the mesh is not one big tangle.
+	 */
+	private float[] createPoints(int triangleCount) {
+		float[] points = new float[triangleCount * 9];
+		for (int i = 0; i < points.length; i += 9) {
+			for (int axis = 0; axis < 3; axis++) {
+				float center = random.nextFloat() * 10f - 5f;
+				for (int k = 0; k < 9; k += 3) {
+					points[i + k + axis] = center + random.nextFloat() - 0.5f;
+				}
+			}
+		}
+		return points;
+	}
+
+	/**
+	 * Creates the faces for the triangles from {@link #createPoints(int)}.
+	 */
+	private int[] createFaces(int triangleCount, int stride) {
+		int[] faces = new int[triangleCount * stride];
+		int vertexStride = stride / 3;
+		for (int f = 0; f < triangleCount; f++) {
+			for (int k = 0; k < 3; k++) {
+				faces[f * stride + k * vertexStride] = f * 3 + k;
+			}
+		}
+		return faces;
+	}
+
+	/**
+	 * Creates a random ray from outside the mesh toward its interior.
+	 */
+	private Ray createRay(Ray ray) {
+		if (ray == null) {
+			ray = new Ray();
+		}
+		ray.origin.set(random.nextFloat() * 30f - 15f,
+				random.nextFloat() * 30f - 15f, 20f);
+		ray.direction.set(random.nextFloat() * 6f - 3f,
+				random.nextFloat() * 6f - 3f, 0f).subtract(ray.origin)
+				.normalize();
+		return ray;
+	}
+
+	/**
+	 * Casts random rays through a tree and through every triangle, checking
+	 * that they find the same closest hit.
+	 *
+	 * @return The number of rays that hit something.
+	 */
+	private int checkAgainstBruteForce(TriangleBVH tree, float[] points,
+			int[] faces, int stride, int rays) {
+		int hits = 0;
+		Ray ray = new Ray();
+		RayHit expected = new RayHit();
+		RayHit actual = new RayHit();
+		Vector3f v0 = new Vector3f();
+		Vector3f v1 = new Vector3f();
+		Vector3f v2 = new Vector3f();
+		int vertexStride = stride / 3;
+		for (int i = 0; i < rays; i++) {
+			createRay(ray);
+			expected.reset();
+			for (int f = 0; f < faces.length / stride; f++) {
+				int a = faces[f * stride] * 3;
+				int b = faces[f * stride + vertexStride] * 3;
+				int c = faces[f * stride + 2 * vertexStride] * 3;
+				v0.set(points[a], points[a + 1], points[a + 2]);
+				v1.set(points[b], points[b + 1], points[b + 2]);
+				v2.set(points[c], points[c + 1], points[c + 2]);
+				if (ray.intersect(v0, v1, v2, expected)) {
+					expected.face = f;
+				}
+			}
+			assertEquals(expected.face != -1, tree.intersect(ray, actual.reset()));
+			assertEquals(expected.distance, actual.distance, 0.0);
+			if (expected.face != -1) {
+				// Coincident triangles may tie, so check that the reported
+				// face is hit at the same distance rather than comparing
+				// faces.
+				int a = faces[actual.face * stride] * 3;
+				int b = faces[actual.face * stride + vertexStride] * 3;
+				int c = faces[actual.face * stride + 2 * vertexStride] * 3;
+				v0.set(points[a], points[a + 1], points[a + 2]);
+				v1.set(points[b], points[b + 1], points[b + 2]);
+				v2.set(points[c], points[c + 1], points[c + 2]);
+				assertTrue(ray.intersect(v0, v1, v2, expected.reset()));
+				assertEquals(expected.distance, actual.distance, 0.0);
+				assertEquals(expected.u, actual.u, 0.0);
+				assertEquals(expected.v, actual.v, 0.0);
+				hits++;
+			}
+		}
+		return hits;
+	}
+
+	/**
+	 * Gets a component of a vector by its index.
+	 */
+	private float getWeight(Vector3f weights, int index) {
+		return (index == 0 ? weights.x : (index == 1 ? weights.y : weights.z));
+	}
+	// ------------------------- //
+}
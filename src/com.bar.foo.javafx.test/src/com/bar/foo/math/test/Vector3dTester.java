@@ -0,0 +1,128 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.Vector3d;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class checks the double-precision vector provided by {@link Vector3d}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class Vector3dTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-12;
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * This checks the constructors, setters, equals, and hashCode.
+	 */
+	@Test
+	public void checkConstruction() {
+		assertVectorEquals(0.0, 0.0, 0.0, new Vector3d());
+		assertVectorEquals(0.0, 0.0, 0.0, new Vector3d((Vector3d) null));
+		Vector3d vector = new Vector3d(1.5, -2.5, 3.5);
+		assertVectorEquals(1.5, -2.5, 3.5, vector);
+		assertVectorEquals(1.0, 2.0, 3.0, new Vector3d(new Vector3f(1f, 2f,
+				3f)));
+
+		Vector3d copy = new Vector3d(vector);
+		assertEquals(vector, copy);
+		assertEquals(vector.hashCode(), copy.hashCode());
+		assertSame(copy, copy.set(4.0, 5.0, 6.0));
+		assertFalse(vector.equals(copy));
+		assertSame(copy, copy.set(vector));
+		assertEquals(vector, copy);
+		assertSame(copy, copy.set(Vector3f.UNIT_Y));
+		assertVectorEquals(0.0, 1.0, 0.0, copy);
+	}
+
+	/**
+	 * This checks the arithmetic operations against their float counterparts.
+	 */
+	@Test
+	public void checkOperations() {
+		Vector3d a = createVector();
+		Vector3d b = createVector();
+		Vector3d cache = new Vector3d();
+
+		assertSame(cache, a.add(b, cache));
+		assertVectorEquals(a.x + b.x, a.y + b.y, a.z + b.z, cache);
+		assertSame(cache, a.subtract(b, cache));
+		assertVectorEquals(a.x - b.x, a.y - b.y, a.z - b.z, cache);
+		assertVectorEquals(a.x * 2.0, a.y * 2.0, a.z * 2.0,
+				a.multiply(2.0, null));
+		assertVectorEquals(-a.x, -a.y, -a.z, a.negate(null));
+		assertEquals(a.x * b.x + a.y * b.y + a.z * b.z, a.dot(b), delta);
+		assertEquals(Math.sqrt(a.dot(a)), a.length(), delta);
+		assertEquals(a.subtract(b, null).length(), a.distance(b), delta);
+
+		// The cross product is perpendicular to both vectors.
+		Vector3d cross = a.cross(b);
+		assertNotSame(a, cross);
+		assertEquals(0.0, cross.dot(a), 1e-9);
+		assertEquals(0.0, cross.dot(b), 1e-9);
+		Vector3d copy = new Vector3d(a);
+		assertSame(copy, copy.crossLocal(b));
+		assertEquals(cross, copy);
+
+		assertEquals(1.0, a.normalize(null).length(), delta);
+		assertVectorEquals(0.0, 0.0, 0.0, new Vector3d().normalize());
+
+		// In place.
+		copy.set(a).add(b).subtract(b);
+		assertVectorEquals(a.x, a.y, a.z, copy);
+	}
+
+	/**
+	 * This checks that offsets between distant positions keep their precision
+	 * when rounded to float.
+	 */
+	@Test
+	public void checkOffset() {
+		// Two points a millimetre apart, 1000 km from the world origin.
+		Vector3d origin = new Vector3d(1e6, -2e6, 5e5);
+		Vector3d position = new Vector3d(1e6 + 0.001, -2e6, 5e5 - 0.002);
+
+		Vector3f cache = new Vector3f();
+		assertSame(cache, position.offsetFrom(origin, cache));
+		assertEquals(0.001f, cache.x, 1e-7);
+		assertEquals(0f, cache.y, 1e-7);
+		assertEquals(-0.002f, cache.z, 1e-7);
+
+		// Rounding first loses the millimetre entirely.
+		Vector3f rounded = position.toVector3f(null)
+				.subtract(origin.toVector3f(null));
+		assertEquals(0f, rounded.x, 0f);
+	}
+
+	// ---- Utility methods ---- //
+	private static Vector3d createVector() {
+		return new Vector3d(random.nextDouble() * 10.0 - 5.0,
+				random.nextDouble() * 10.0 - 5.0,
+				random.nextDouble() * 10.0 - 5.0);
+	}
+
+	private static void assertVectorEquals(double x, double y, double z,
+			Vector3d actual) {
+		assertEquals(x, actual.x, delta);
+		assertEquals(y, actual.y, delta);
+		assertEquals(z, actual.z, delta);
+	}
+	// ------------------------- //
+}
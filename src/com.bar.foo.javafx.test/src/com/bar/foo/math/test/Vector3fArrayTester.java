@@ -0,0 +1,210 @@
+package com.bar.foo.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+import com.bar.foo.math.Vector3fArray;
+
+/**
+ * This class checks the bulk operations provided by {@link Vector3fArray}
+ * against the equivalent single-vector operations in {@link Vector3f}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class Vector3fArrayTester {
+	/**
+	 * The delta value to be used in all float/double comparisons.
+	 */
+	private static final double delta = 1e-5;
+
+	/**
+	 * A prefix used when failing with a custom message.
+	 */
+	private static final String failurePrefix = "Vector3fArrayTester failure: ";
+
+	/**
+	 * A random instance used to generate random numbers.
+	 */
+	private static final Random random = new Random(System.nanoTime());
+
+	/**
+	 * The number of vectors used in each test array.
+	 */
+	private static final int size = 37;
+
+	/**
+	 * This checks the constructors, getters, setters, and interleaved
+	 * conversions.
+	 */
+	@Test
+	public void checkConstructorsAndSet() {
+		Vector3fArray array = new Vector3fArray(size);
+		assertEquals(size, array.size());
+		assertEquals(new Vector3f(), array.get(5, null));
+
+		Vector3f cache = new Vector3f();
+		assertSame(array, array.set(3, 1f, 2f, 3f));
+		assertSame(cache, array.get(3, cache));
+		assertEquals(new Vector3f(1f, 2f, 3f), cache);
+		assertSame(array, array.set(4, cache));
+		assertEquals(cache, array.get(4, null));
+
+		Vector3fArray copy = new Vector3fArray(array);
+		array.set(3, 0f, 0f, 0f);
+		assertEquals(cache, copy.get(3, null));
+
+		// Round-trip through an interleaved array with offsets.
+		float[] interleaved = new float[size * 3 + 1];
+		for (int i = 0; i < interleaved.length; i++) {
+			interleaved[i] = random.nextFloat();
+		}
+		array.fromInterleaved(interleaved, 1, 2, size - 2);
+		assertEquals(interleaved[1], array.x[2], 0.0);
+		assertEquals(interleaved[2], array.y[2], 0.0);
+		assertEquals(interleaved[3], array.z[2], 0.0);
+		float[] result = new float[interleaved.length];
+		array.toInterleaved(result, 1, 2, size - 2);
+		for (int i = 1; i < 1 + (size - 2) * 3; i++) {
+			assertEquals(interleaved[i], result[i], 0.0);
+		}
+
+		// Bad sizes and ranges should throw exceptions.
+		try {
+			new Vector3fArray(-1);
+			fail(failurePrefix + "Negative size accepted.");
+		} catch (IllegalArgumentException e) {
+			// Exception thrown as expected.
+		}
+		try {
+			array.normalize(size - 1, 2);
+			fail(failurePrefix + "Out-of-range count accepted.");
+		} catch (IndexOutOfBoundsException e) {
+			// Exception thrown as expected.
+		}
+	}
+
+	/**
+	 * This checks the bulk arithmetic operations.
+	 */
+	@Test
+	public void checkArithmetic() {
+		final Vector3fArray a = randomArray();
+		final Vector3fArray b = randomArray();
+		final Vector3fArray cache = new Vector3fArray(size);
+		final Vector3f u = new Vector3f();
+		final Vector3f v = new Vector3f();
+		final Vector3f offsetVector = new Vector3f(1f, -2f, 3f);
+		final int offset = 3;
+		final int count = size - 5;
+
+		assertSame(cache, a.add(b, cache, offset, count));
+		for (int i = offset; i < offset + count; i++) {
+			assertEqual(a.get(i, u).add(b.get(i, v)), cache, i);
+		}
+		// Values outside the range are untouched.
+		assertEqual(new Vector3f(), cache, offset - 1);
+		assertEqual(new Vector3f(), cache, offset + count);
+
+		assertSame(cache, a.subtract(b, cache, offset, count));
+		for (int i = offset; i < offset + count; i++) {
+			assertEqual(a.get(i, u).subtract(b.get(i, v)), cache, i);
+		}
+
+		assertSame(cache, a.multiply(2.5f, cache, offset, count));
+		for (int i = offset; i < offset + count; i++) {
+			assertEqual(a.get(i, u).multiply(2.5f), cache, i);
+		}
+
+		float[] dots = a.dot(b, null, offset, count);
+		for (int i = offset; i < offset + count; i++) {
+			assertEquals(a.get(i, u).dot(b.get(i, v)), dots[i], delta);
+		}
+
+		assertSame(cache, a.cross(b, cache, offset, count));
+		for (int i = offset; i < offset + count; i++) {
+			assertEqual(a.get(i, u).cross(b.get(i, v), null), cache, i);
+		}
+
+		assertSame(cache, a.lerp(b, 0.25f, cache, offset, count));
+		for (int i = offset; i < offset + count; i++) {
+			b.get(i, v).subtract(a.get(i, u)).multiply(0.25f).add(u);
+			assertEqual(v, cache, i);
+		}
+
+		// In-place operations.
+		Vector3fArray copy = new Vector3fArray(a);
+		assertSame(copy, copy.add(offsetVector, offset, count));
+		assertSame(copy, copy.subtract(b, offset, count));
+		for (int i = offset; i < offset + count; i++) {
+			a.get(i, u).add(offsetVector).subtract(b.get(i, v));
+			assertEqual(u, copy, i);
+		}
+		copy = new Vector3fArray(a);
+		assertSame(copy, copy.normalize(0, size));
+		for (int i = 0; i < size; i++) {
+			assertEqual(a.get(i, u).normalize(), copy, i);
+		}
+		// The cross product can be stored in one of its arguments.
+		copy = new Vector3fArray(a);
+		copy.cross(b, copy, 0, size);
+		for (int i = 0; i < size; i++) {
+			assertEqual(a.get(i, u).crossLocal(b.get(i, v)), copy, i);
+		}
+	}
+
+	/**
+	 * This checks the bulk matrix and quaternion transformations.
+	 */
+	@Test
+	public void checkTransformations() {
+		final Vector3fArray a = randomArray();
+		final Vector3fArray cache = new Vector3fArray(size);
+		final Vector3f u = new Vector3f();
+		final Matrix3f matrix = new Matrix3f(random.nextFloat(),
+				random.nextFloat(), random.nextFloat(), random.nextFloat(),
+				random.nextFloat(), random.nextFloat(), random.nextFloat(),
+				random.nextFloat(), random.nextFloat());
+		final Quaternion rotation = Quaternion.fromAxisAngle(new Vector3f(
+				random.nextFloat(), random.nextFloat(), random.nextFloat()),
+				random.nextFloat());
+
+		assertSame(cache, a.multiply(matrix, cache, 0, size));
+		for (int i = 0; i < size; i++) {
+			assertEqual(matrix.multiply(a.get(i, u), u), cache, i);
+		}
+
+		Vector3fArray copy = new Vector3fArray(a);
+		assertSame(copy, copy.rotate(rotation, 0, size));
+		for (int i = 0; i < size; i++) {
+			assertEqual(rotation.rotate(a.get(i, u)), copy, i);
+		}
+	}
+
+	// ---- Utility methods ---- //
+
+	private static Vector3fArray randomArray() {
+		Vector3fArray array = new Vector3fArray(size);
+		for (int i = 0; i < size; i++) {
+			array.set(i, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f,
+					random.nextFloat() - 0.5f);
+		}
+		return array;
+	}
+
+	private static void assertEqual(Vector3f expected, Vector3fArray array,
+			int index) {
+		assertEquals(expected.x, array.x[index], delta);
+		assertEquals(expected.y, array.y[index], delta);
+		assertEquals(expected.z, array.z[index], delta);
+	}
+	// ------------------------- //
+}
@@ -13,6 +13,7 @@ import org.junit.Test;
 
 import com.bar.foo.math.FloatMath;
 import com.bar.foo.math.Vector3f;
+import com.bar.foo.math.Vector3fc;
 
 /**
  * This class checks all methods and attributes provided by {@link Vector3f}.
@@ -46,29 +47,49 @@ public class Vector3fTester {
 	@Test
 	public void checkStaticVectors() {
 		// zero vector
-		assertEquals(0f, Vector3f.ZERO.x, delta);
-		assertEquals(0f, Vector3f.ZERO.y, delta);
-		assertEquals(0f, Vector3f.ZERO.z, delta);
+		assertEquals(0f, Vector3f.ZERO.x(), delta);
+		assertEquals(0f, Vector3f.ZERO.y(), delta);
+		assertEquals(0f, Vector3f.ZERO.z(), delta);
 
 		// unit-x vector
-		assertEquals(1f, Vector3f.UNIT_X.x, delta);
-		assertEquals(0f, Vector3f.UNIT_X.y, delta);
-		assertEquals(0f, Vector3f.UNIT_X.z, delta);
+		assertEquals(1f, Vector3f.UNIT_X.x(), delta);
+		assertEquals(0f, Vector3f.UNIT_X.y(), delta);
+		assertEquals(0f, Vector3f.UNIT_X.z(), delta);
 
 		// unit-y vector
-		assertEquals(0f, Vector3f.UNIT_Y.x, delta);
-		assertEquals(1f, Vector3f.UNIT_Y.y, delta);
-		assertEquals(0f, Vector3f.UNIT_Y.z, delta);
+		assertEquals(0f, Vector3f.UNIT_Y.x(), delta);
+		assertEquals(1f, Vector3f.UNIT_Y.y(), delta);
+		assertEquals(0f, Vector3f.UNIT_Y.z(), delta);
 
 		// unit-z vector
-		assertEquals(0f, Vector3f.UNIT_Z.x, delta);
-		assertEquals(0f, Vector3f.UNIT_Z.y, delta);
-		assertEquals(1f, Vector3f.UNIT_Z.z, delta);
+		assertEquals(0f, Vector3f.UNIT_Z.x(), delta);
+		assertEquals(0f, Vector3f.UNIT_Z.y(), delta);
+		assertEquals(1f, Vector3f.UNIT_Z.z(), delta);
 
 		// identity vector
-		assertEquals(1f, Vector3f.IDENTITY.x, delta);
-		assertEquals(1f, Vector3f.IDENTITY.y, delta);
-		assertEquals(1f, Vector3f.IDENTITY.z, delta);
+		assertEquals(1f, Vector3f.IDENTITY.x(), delta);
+		assertEquals(1f, Vector3f.IDENTITY.y(), delta);
+		assertEquals(1f, Vector3f.IDENTITY.z(), delta);
+
+		// The constants are read-only views, not modifiable vectors, but they
+		// are equal to modifiable vectors with the same values.
+		assertFalse(Vector3f.UNIT_X instanceof Vector3f);
+		assertEquals(new Vector3f(1f, 0f, 0f), Vector3f.UNIT_X);
+		assertEquals(Vector3f.UNIT_X, new Vector3f(1f, 0f, 0f));
+		assertEquals(Vector3f.UNIT_X.hashCode(),
+				new Vector3f(1f, 0f, 0f).hashCode());
+		assertFalse(Vector3f.UNIT_X.equals(Vector3f.UNIT_Y));
+
+		// Operations on the constants write to the cache.
+		Vector3f cache = new Vector3f();
+		assertSame(cache, Vector3f.UNIT_X.cross(Vector3f.UNIT_Y, cache));
+		assertEquals(Vector3f.UNIT_Z, cache);
+		assertEquals(1f, Vector3f.UNIT_Z.dot(cache), delta);
+
+		// Custom constants can also be created.
+		Vector3fc constant = Vector3f.constant(1f, 2f, 3f);
+		assertFalse(constant instanceof Vector3f);
+		assertEquals(new Vector3f(1f, 2f, 3f), constant);
 
 		return;
 	}
@@ -110,15 +110,18 @@ public abstract class ActionHandler<K, T extends Event> implements
 		// might be more accurate to do it below...
 		// float timePerFrame = app.getTimePerFrame();
 
+		// The lists are iterated by index rather than with iterators so that
+		// handling an event creates no objects.
 		List<ToggleAction<T>> toggles = toggleMap.get(key);
 		if (toggles != null) {
+			final int size = toggles.size();
 			if (isOn(event)) {
-				for (ToggleAction<T> toggle : toggles) {
-					toggle.on(frameRateManager.getTPF(), event);
+				for (int i = 0; i < size; i++) {
+					toggles.get(i).on(frameRateManager.getTPF(), event);
 				}
 			} else {
-				for (ToggleAction<T> toggle : toggles) {
-					toggle.off(frameRateManager.getTPF(), event);
+				for (int i = 0; i < size; i++) {
+					toggles.get(i).off(frameRateManager.getTPF(), event);
 				}
 			}
 		}
@@ -126,8 +129,9 @@ public abstract class ActionHandler<K, T extends Event> implements
 		List<AnalogAction<T>> analogs = analogMap.get(key);
 		if (analogs != null) {
 			float value = getValue(event);
-			for (AnalogAction<T> analog : analogs) {
-				analog.run(value, frameRateManager.getTPF(), event);
+			final int size = analogs.size();
+			for (int i = 0; i < size; i++) {
+				analogs.get(i).run(value, frameRateManager.getTPF(), event);
 			}
 		}
 
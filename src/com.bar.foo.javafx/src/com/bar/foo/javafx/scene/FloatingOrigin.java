@@ -0,0 +1,416 @@
+/**
+ *
+ */
+package com.bar.foo.javafx.scene;
+
+import java.util.Arrays;
+
+import com.bar.foo.math.Vector3d;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class supports camera-relative rendering of scenes that are too large
+ * for single-precision positions. It stores the world position of each
+ * registered {@link GeneralTransform} in double precision and sets the
+ * transform's (float) {@link GeneralTransform#translation translation} to its
+ * offset from a floating origin that stays near the camera. Offsets near the
+ * camera are small, so they keep their precision when rounded to float, and
+ * nearby geometry no longer jitters.
+ * <p>
+ * Each frame, call {@link #update(Vector3d)} with the camera's world
+ * position, then place the camera at
+ * {@link #toLocal(Vector3d, Vector3f) toLocal(cameraPosition, cache)}. The
+ * origin only jumps to the camera once the camera has moved more than the
+ * rebase distance from it, at which point every transform is rebased. Between
+ * jumps, only the transforms whose positions were changed with
+ * {@link #setPosition(int, double, double, double)} are recomputed, so the
+ * cost of a frame is proportional to the number of moving objects rather than
+ * the size of the scene.
+ * </p>
+ * <p>
+ * Transforms are identified by the integer handles returned from
+ * {@link #add(GeneralTransform, Vector3d)}. Handles are re-used after they
+ * are removed. Once the registry has grown to its peak size, no objects are
+ * created.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class FloatingOrigin {
+
+	/**
+	 * The default distance the camera may move from the origin before the
+	 * origin is moved to the camera. Single-precision offsets within this
+	 * distance are accurate to about 0.1 millimetre if the unit is a metre.
+	 */
+	public static final double DEFAULT_REBASE_DISTANCE = 1024.0;
+
+	/**
+	 * The handle value used to mark the end of the free list.
+	 */
+	private static final int NONE = -1;
+
+	/**
+	 * The squared distance the camera may move from the origin before the
+	 * origin is moved to the camera.
+	 */
+	private final double rebaseDistanceSquared;
+	/**
+	 * The current origin in world coordinates.
+	 */
+	private final Vector3d origin = new Vector3d();
+	/**
+	 * The number of times the origin has moved.
+	 */
+	private int rebaseCount = 0;
+
+	// ---- Entries ---- //
+	/**
+	 * The transform for each handle, or null if the handle is free.
+	 */
+	private GeneralTransform[] transforms;
+	/**
+	 * The world position for each handle, stored as x0, y0, z0, x1, ...
+	 */
+	private double[] positions;
+	/**
+	 * The next free handle for each free handle.
+	 */
+	private int[] next;
+	/**
+	 * Whether each handle is in the {@link #dirty} list.
+	 */
+	private boolean[] isDirty;
+	/**
+	 * The handles whose transforms need to be recomputed.
+	 */
+	private int[] dirty;
+	/**
+	 * The number of handles in the {@link #dirty} list.
+	 */
+	private int dirtyCount = 0;
+	/**
+	 * The first free handle.
+	 */
+	private int firstFree = NONE;
+	/**
+	 * The number of handles that have ever been used.
+	 */
+	private int usedSlots = 0;
+	/**
+	 * The number of registered transforms.
+	 */
+	private int size = 0;
+	// ----------------- //
+
+	/**
+	 * The offset written to each transform.
+	 */
+	private final Vector3f offset = new Vector3f();
+
+	/**
+	 * Creates a floating origin at the world origin with the default rebase
+	 * distance.
+	 */
+	public FloatingOrigin() {
+		this(DEFAULT_REBASE_DISTANCE);
+	}
+
+	/**
+	 * Creates a floating origin at the world origin.
+	 *
+	 * @param rebaseDistance
+	 *            The distance the camera may move from the origin before the
+	 *            origin is moved to the camera. If 0, the origin follows the
+	 *            camera exactly, and every transform is rebased whenever the
+	 *            camera moves.
+	 * @throws IllegalArgumentException
+	 *             If the rebase distance is negative or not a number.
+	 */
+	public FloatingOrigin(double rebaseDistance) {
+		if (!(rebaseDistance >= 0.0)) {
+			throw new IllegalArgumentException("FloatingOrigin error: "
+					+ "The rebase distance cannot be negative.");
+		}
+		rebaseDistanceSquared = rebaseDistance * rebaseDistance;
+
+		final int capacity = 16;
+		transforms = new GeneralTransform[capacity];
+		positions = new double[capacity * 3];
+		next = new int[capacity];
+		isDirty = new boolean[capacity];
+		dirty = new int[capacity];
+		return;
+	}
+
+	// ---- Registration ---- //
+	/**
+	 * Registers a transform at a world position. Its translation is set on the
+	 * next {@link #update(Vector3d)}.
+	 *
+	 * @param transform
+	 *            The transform to position. Its scale and rotation are left
+	 *            alone.
+	 * @param position
+	 *            The transform's world position.
+	 * @return The transform's handle.
+	 * @throws IllegalArgumentException
+	 *             If the transform or position is null.
+	 */
+	public int add(GeneralTransform transform, Vector3d position) {
+		if (transform == null || position == null) {
+			throw new IllegalArgumentException("FloatingOrigin error: "
+					+ "Null transform or position not allowed.");
+		}
+		int handle;
+		if (firstFree != NONE) {
+			handle = firstFree;
+			firstFree = next[handle];
+		} else {
+			if (usedSlots == transforms.length) {
+				grow();
+			}
+			handle = usedSlots++;
+		}
+		transforms[handle] = transform;
+		size++;
+		setPosition(handle, position.x, position.y, position.z);
+		return handle;
+	}
+
+	/**
+	 * Unregisters a transform. Its translation is left as it was. The handle
+	 * may be re-used by a later call to {@link #add(GeneralTransform, Vector3d)}.
+	 *
+	 * @param handle
+	 *            The transform's handle.
+	 * @return The transform that was removed.
+	 * @throws IndexOutOfBoundsException
+	 *             If the handle is not valid.
+	 */
+	public GeneralTransform remove(int handle) {
+		checkHandle(handle);
+		GeneralTransform transform = transforms[handle];
+		transforms[handle] = null;
+		// Dirty handles are skipped when the dirty list is processed.
+		next[handle] = firstFree;
+		firstFree = handle;
+		size--;
+		return transform;
+	}
+
+	/**
+	 * Gets the number of registered transforms.
+	 *
+	 * @return The number of transforms.
+	 */
+	public int size() {
+		return size;
+	}
+	// ---------------------- //
+
+	// ---- Positions ---- //
+	/**
+	 * Moves a transform to a new world position. Its translation is updated
+	 * on the next {@link #update(Vector3d)}.
+	 *
+	 * @param handle
+	 *            The transform's handle.
+	 * @param position
+	 *            The new world position.
+	 * @throws IndexOutOfBoundsException
+	 *             If the handle is not valid.
+	 */
+	public void setPosition(int handle, Vector3d position) {
+		setPosition(handle, position.x, position.y, position.z);
+		return;
+	}
+
+	/**
+	 * Moves a transform to a new world position. Its translation is updated
+	 * on the next {@link #update(Vector3d)}.
+	 *
+	 * @param handle
+	 *            The transform's handle.
+	 * @param x
+	 *            The new world x coordinate.
+	 * @param y
+	 *            The new world y coordinate.
+	 * @param z
+	 *            The new world z coordinate.
+	 * @throws IndexOutOfBoundsException
+	 *             If the handle is not valid.
+	 */
+	public void setPosition(int handle, double x, double y, double z) {
+		checkHandle(handle);
+		int i = handle * 3;
+		positions[i] = x;
+		positions[i + 1] = y;
+		positions[i + 2] = z;
+		if (!isDirty[handle]) {
+			isDirty[handle] = true;
+			dirty[dirtyCount++] = handle;
+		}
+		return;
+	}
+
+	/**
+	 * Gets a transform's world position.
+	 *
+	 * @param handle
+	 *            The transform's handle.
+	 * @param cache
+	 *            The vector in which to store the position. If {@code null},
+	 *            a new vector is created.
+	 * @return The <i>cache</i> vector.
+	 * @throws IndexOutOfBoundsException
+	 *             If the handle is not valid.
+	 */
+	public Vector3d getPosition(int handle, Vector3d cache) {
+		checkHandle(handle);
+		int i = handle * 3;
+		if (cache == null) {
+			cache = new Vector3d();
+		}
+		return cache.set(positions[i], positions[i + 1], positions[i + 2]);
+	}
+	// ------------------- //
+
+	// ---- Origin ---- //
+	/**
+	 * Moves the origin to the camera if the camera has strayed too far from
+	 * it, then updates the translation of every transform whose offset from
+	 * the origin has changed. This should be called once per frame before the
+	 * camera is placed.
+	 *
+	 * @param camera
+	 *            The camera's world position.
+	 * @return The number of transforms whose translations were updated.
+	 */
+	public int update(Vector3d camera) {
+		int rebased = 0;
+		if (origin.distanceSquared(camera) > rebaseDistanceSquared) {
+			origin.set(camera);
+			rebaseCount++;
+			// Every offset has changed, so rebase every transform and forget
+			// the dirty list.
+			for (int handle = 0; handle < usedSlots; handle++) {
+				isDirty[handle] = false;
+				if (transforms[handle] != null && rebase(handle)) {
+					rebased++;
+				}
+			}
+		} else {
+			for (int d = 0; d < dirtyCount; d++) {
+				int handle = dirty[d];
+				isDirty[handle] = false;
+				if (transforms[handle] != null && rebase(handle)) {
+					rebased++;
+				}
+			}
+		}
+		dirtyCount = 0;
+		return rebased;
+	}
+
+	/**
+	 * Gets the current origin.
+	 *
+	 * @param cache
+	 *            The vector in which to store the origin. If {@code null}, a
+	 *            new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3d getOrigin(Vector3d cache) {
+		if (cache == null) {
+			cache = new Vector3d();
+		}
+		return cache.set(origin);
+	}
+
+	/**
+	 * Gets the number of times the origin has moved. This is useful for
+	 * monitoring how often the whole scene is rebased.
+	 *
+	 * @return The number of times the origin has moved.
+	 */
+	public int getRebaseCount() {
+		return rebaseCount;
+	}
+
+	/**
+	 * Converts a world position to the single-precision, origin-relative
+	 * coordinates used for rendering, e.g. to place the camera.
+	 *
+	 * @param position
+	 *            The world position.
+	 * @param cache
+	 *            The vector in which to store the local position. If
+	 *            {@code null}, a new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3f toLocal(Vector3d position, Vector3f cache) {
+		return position.offsetFrom(origin, cache);
+	}
+
+	/**
+	 * Converts a single-precision, origin-relative position (e.g., a picked
+	 * point) back to world coordinates.
+	 *
+	 * @param local
+	 *            The local position.
+	 * @param cache
+	 *            The vector in which to store the world position. If
+	 *            {@code null}, a new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3d toWorld(Vector3f local, Vector3d cache) {
+		return origin.add(local.x, local.y, local.z, cache);
+	}
+	// ---------------- //
+
+	/**
+	 * Sets a transform's translation to its offset from the origin. Only the
+	 * translation changes, so the transform's matrix is not recomputed.
+	 *
+	 * @return True if the translation changed, false otherwise.
+	 */
+	private boolean rebase(int handle) {
+		int i = handle * 3;
+		offset.set((float) (positions[i] - origin.x),
+				(float) (positions[i + 1] - origin.y),
+				(float) (positions[i + 2] - origin.z));
+		GeneralTransform transform = transforms[handle];
+		if (!offset.equals(transform.translation)) {
+			transform.translation.set(offset);
+			transform.refresh(false);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Throws an exception if the handle is not registered.
+	 */
+	private void checkHandle(int handle) {
+		if (handle < 0 || handle >= usedSlots || transforms[handle] == null) {
+			throw new IndexOutOfBoundsException("FloatingOrigin error: "
+					+ "Invalid handle " + handle + ".");
+		}
+		return;
+	}
+
+	/**
+	 * Doubles the number of handles.
+	 */
+	private void grow() {
+		int capacity = transforms.length * 2;
+		transforms = Arrays.copyOf(transforms, capacity);
+		positions = Arrays.copyOf(positions, capacity * 3);
+		next = Arrays.copyOf(next, capacity);
+		isDirty = Arrays.copyOf(isDirty, capacity);
+		dirty = Arrays.copyOf(dirty, capacity);
+		return;
+	}
+}
@@ -0,0 +1,446 @@
+/**
+ *
+ */
+package com.bar.foo.javafx.scene;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Parent;
+
+import com.bar.foo.javafx.scene.camera.FlyCamera;
+import com.bar.foo.math.AABB;
+import com.bar.foo.math.Frustum;
+
+/**
+ * This class hides the {@link Node}s under a root that are outside a camera's
+ * view frustum, so JavaFX does not sync or render them. Once started, it
+ * culls the scene each frame from the view of a {@link FlyCamera}. A single
+ * pass can also be made with {@link #cull(Frustum)}.
+ * <p>
+ * Each pass walks the node hierarchy and tests the nodes' cached
+ * {@link Node#getWorldBounds(AABB) world bounds} against the frustum:
+ * </p>
+ * <ul>
+ * <li><b>Hierarchical early-out</b> - A rejected node is hidden and its
+ * descendants are not tested. A node's descendants are only tested against
+ * the planes the node straddles, so nothing is tested beneath a node that is
+ * entirely inside the frustum.</li>
+ * <li><b>Plane coherency</b> - Each node remembers the plane that last
+ * rejected it and tests that plane first, which usually rejects it again
+ * after one plane test.</li>
+ * <li><b>Batched toggles</b> - Visibility changes are collected during the
+ * walk and applied together after it. Hiding a node changes its ancestors'
+ * bounds, so changing it mid-walk would make JavaFX recompute bounds that are
+ * still being tested.</li>
+ * </ul>
+ * <p>
+ * JavaFX leaves hidden nodes out of their parents' bounds. A hidden node is
+ * therefore always tested against every plane, and a rejected node is only
+ * hidden if the hidden nodes beneath it are also rejected. Only the top-most
+ * rejected node of a subtree is hidden.
+ * </p>
+ * <p>
+ * Nodes that are not {@link Node#isCullable() cullable}, such as the camera,
+ * are never hidden, and nodes hidden by the application are skipped along
+ * with their descendants. The application should not change the visibility
+ * of nodes hidden by the culler. The world bounds must be in the frustum's
+ * coordinates, so the camera must be attached to the root (or another node
+ * with no transform). Like the rest of the scene graph, the culler must only
+ * be used on the JavaFX application thread.
+ * </p>
+ * <p>
+ * The statistics of the last pass (nodes tested, culled, and visible, and
+ * the time taken) are available from the culler's getters.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class FrustumCuller {
+
+	/**
+	 * The root of the culled scene.
+	 */
+	private final Parent root;
+
+	/**
+	 * The camera whose view is culled each frame, or {@code null} if the
+	 * culler is not started.
+	 */
+	private FlyCamera camera = null;
+	/**
+	 * The timer that culls the scene each frame. This is created when first
+	 * needed, since creating it requires the JavaFX toolkit.
+	 */
+	private AnimationTimer timer = null;
+
+	/**
+	 * The frustum for the current pass.
+	 */
+	private Frustum frustum;
+	/**
+	 * The world bounds of the node being tested.
+	 */
+	private final AABB bounds = new AABB();
+	/**
+	 * The nodes to hide at the end of the current pass.
+	 */
+	private final List<Node> hidden = new ArrayList<Node>();
+	/**
+	 * The nodes to show at the end of the current pass.
+	 */
+	private final List<Node> shown = new ArrayList<Node>();
+	/**
+	 * The hidden nodes found beneath a rejected node.
+	 */
+	private final List<Node> culledDescendants = new ArrayList<Node>();
+
+	// ---- Statistics ---- //
+	/**
+	 * The number of nodes tested against the frustum in the last pass.
+	 */
+	private int testedCount = 0;
+	/**
+	 * The number of nodes hidden after the last pass.
+	 */
+	private int culledCount = 0;
+	/**
+	 * The number of nodes left visible by the last pass.
+	 */
+	private int visibleCount = 0;
+	/**
+	 * The time taken by the last pass, in nanoseconds.
+	 */
+	private long cullTime = 0L;
+	// -------------------- //
+
+	/**
+	 * Creates a culler for a scene.
+	 *
+	 * @param root
+	 *            The root of the scene. This may itself be a {@link Node}.
+	 *            This must not be {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the root is {@code null}.
+	 */
+	public FrustumCuller(Parent root) {
+		if (root == null) {
+			throw new IllegalArgumentException("FrustumCuller error: "
+					+ "Null root not allowed.");
+		}
+		this.root = root;
+		return;
+	}
+
+	/**
+	 * Starts culling the scene before each frame from the view of a camera.
+	 * Changes made by animation timers started after the culler are only
+	 * culled in the next frame, so it should be started after the
+	 * application's own timers.
+	 *
+	 * @param camera
+	 *            The camera. This must not be {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the camera is {@code null}.
+	 */
+	public void start(FlyCamera camera) {
+		if (camera == null) {
+			throw new IllegalArgumentException("FrustumCuller error: "
+					+ "Null camera not allowed.");
+		}
+		this.camera = camera;
+		if (timer == null) {
+			timer = new AnimationTimer() {
+				@Override
+				public void handle(long now) {
+					// JavaFX still runs a timer in the pulse in which it was
+					// stopped, so the culler may have been stopped already.
+					FlyCamera camera = FrustumCuller.this.camera;
+					if (camera == null) {
+						return;
+					}
+					// Apply any deferred transforms so that the world bounds
+					// are up to date.
+					GeneralTransform.commitDeferred();
+					cull(camera.getFrustum());
+				}
+			};
+		}
+		timer.start();
+		return;
+	}
+
+	/**
+	 * Stops culling the scene each frame and shows every culled node.
+	 */
+	public void stop() {
+		if (timer != null) {
+			timer.stop();
+		}
+		camera = null;
+		reset();
+		return;
+	}
+
+	/**
+	 * Gets whether the culler has been started.
+	 *
+	 * @return True if the scene is culled each frame, false otherwise.
+	 */
+	public boolean isStarted() {
+		return camera != null;
+	}
+
+	/**
+	 * Culls the scene once, hiding the nodes outside the frustum and showing
+	 * the culled nodes that are now inside it.
+	 *
+	 * @param frustum
+	 *            The view frustum in the coordinate space of the root's
+	 *            parent. This must not be {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the frustum is {@code null}.
+	 */
+	public void cull(Frustum frustum) {
+		if (frustum == null) {
+			throw new IllegalArgumentException("FrustumCuller error: "
+					+ "Null frustum not allowed.");
+		}
+		long start = System.nanoTime();
+
+		this.frustum = frustum;
+		testedCount = 0;
+		culledCount = 0;
+		visibleCount = 0;
+		cull(root, Frustum.ALL_PLANES);
+		this.frustum = null;
+
+		// Apply the visibility changes.
+		for (int i = 0; i < hidden.size(); i++) {
+			hidden.get(i).setVisible(false);
+		}
+		for (int i = 0; i < shown.size(); i++) {
+			shown.get(i).setVisible(true);
+		}
+		hidden.clear();
+		shown.clear();
+
+		cullTime = System.nanoTime() - start;
+		return;
+	}
+
+	/**
+	 * Shows every node hidden by the culler.
+	 */
+	public void reset() {
+		if (root instanceof Node && ((Node) root).culled) {
+			culledDescendants.add((Node) root);
+		} else {
+			findCulled(root, culledDescendants);
+		}
+		for (int i = 0; i < culledDescendants.size(); i++) {
+			Node node = culledDescendants.get(i);
+			node.culled = false;
+			node.setVisible(true);
+		}
+		culledDescendants.clear();
+		culledCount = 0;
+		return;
+	}
+
+	// ---- Statistics ---- //
+	/**
+	 * Gets the number of nodes tested against the frustum in the last pass.
+	 * Nodes beneath a rejected node or a node entirely inside the frustum are
+	 * not tested.
+	 *
+	 * @return The number of tested nodes.
+	 */
+	public int getTestedCount() {
+		return testedCount;
+	}
+
+	/**
+	 * Gets the number of nodes hidden after the last pass. Only the top-most
+	 * hidden node of each subtree is counted.
+	 *
+	 * @return The number of culled nodes.
+	 */
+	public int getCulledCount() {
+		return culledCount;
+	}
+
+	/**
+	 * Gets the number of nodes left visible by the last pass.
+	 *
+	 * @return The number of visible nodes.
+	 */
+	public int getVisibleCount() {
+		return visibleCount;
+	}
+
+	/**
+	 * Gets the time taken by the last pass, including the visibility changes.
+	 *
+	 * @return The time in nanoseconds.
+	 */
+	public long getCullTime() {
+		return cullTime;
+	}
+	// -------------------- //
+
+	/**
+	 * Culls a JavaFX node. Only {@link Node}s are tested. Other parents are
+	 * walked through with the same plane mask.
+	 *
+	 * @param child
+	 *            The JavaFX node.
+	 * @param mask
+	 *            The planes its enclosing node straddles.
+	 */
+	private void cull(javafx.scene.Node child, int mask) {
+		if (child instanceof Node) {
+			cullNode((Node) child, mask);
+		} else if (child instanceof Parent && child.isVisible()) {
+			cullChildren((Parent) child, mask);
+		}
+		return;
+	}
+
+	/**
+	 * Culls the children of a parent.
+	 *
+	 * @param parent
+	 *            The parent.
+	 * @param mask
+	 *            The planes the parent straddles.
+	 */
+	private void cullChildren(Parent parent, int mask) {
+		List<javafx.scene.Node> children = parent.getChildrenUnmodifiable();
+		for (int i = 0; i < children.size(); i++) {
+			cull(children.get(i), mask);
+		}
+		return;
+	}
+
+	/**
+	 * Culls a node and, if it is visible, its descendants.
+	 *
+	 * @param node
+	 *            The node.
+	 * @param mask
+	 *            The planes its enclosing node straddles.
+	 */
+	private void cullNode(Node node, int mask) {
+		if (node.culled) {
+			// Hidden nodes are not part of their parent's bounds, so all
+			// planes must be tested.
+			int result = test(node, Frustum.ALL_PLANES);
+			if (result < 0) {
+				culledCount++;
+				return;
+			}
+			node.culled = false;
+			shown.add(node);
+			mask = result;
+		} else if (!node.isVisible()) {
+			// The node was hidden by the application.
+			return;
+		} else if (!node.isCullable()) {
+			mask = Frustum.ALL_PLANES;
+		} else if (mask != Frustum.INSIDE) {
+			int result = test(node, mask);
+			if (result >= 0) {
+				mask = result;
+			} else if (hasVisibleCulledDescendant(node)) {
+				// The node's bounds do not include its hidden descendants, so
+				// test its children against all planes.
+				mask = Frustum.ALL_PLANES;
+			} else {
+				node.culled = true;
+				hidden.add(node);
+				culledCount++;
+				return;
+			}
+		}
+		visibleCount++;
+		cullChildren(node, mask);
+		return;
+	}
+
+	/**
+	 * Tests a node's world bounds against the planes in the mask, starting
+	 * with the plane that last rejected it.
+	 *
+	 * @param node
+	 *            The node.
+	 * @param mask
+	 *            The planes to test.
+	 * @return The result of {@link Frustum#test(AABB, int, int)}. Nodes with
+	 *         no contents are never rejected, since hiding them would not
+	 *         save any work.
+	 */
+	private int test(Node node, int mask) {
+		testedCount++;
+		node.getWorldBounds(bounds);
+		if (bounds.isEmpty()) {
+			return Frustum.ALL_PLANES;
+		}
+		int result = frustum.test(bounds, mask, node.cullPlane);
+		if (result < 0) {
+			node.cullPlane = Frustum.getRejectingPlane(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Determines whether any hidden node beneath a rejected node is inside
+	 * the frustum. If not, the hidden nodes are shown, since the rejected
+	 * node is about to be hidden instead.
+	 *
+	 * @param node
+	 *            The rejected node.
+	 * @return True if a hidden descendant is inside the frustum, false
+	 *         otherwise.
+	 */
+	private boolean hasVisibleCulledDescendant(Node node) {
+		findCulled(node, culledDescendants);
+		boolean visible = false;
+		for (int i = 0; !visible && i < culledDescendants.size(); i++) {
+			visible = (test(culledDescendants.get(i), Frustum.ALL_PLANES) >= 0);
+		}
+		if (!visible) {
+			for (int i = 0; i < culledDescendants.size(); i++) {
+				Node descendant = culledDescendants.get(i);
+				descendant.culled = false;
+				shown.add(descendant);
+			}
+		}
+		culledDescendants.clear();
+		return visible;
+	}
+
+	/**
+	 * Finds the nodes hidden by the culler beneath a parent. Hidden nodes
+	 * never have hidden descendants, so their descendants are not searched.
+	 *
+	 * @param parent
+	 *            The parent.
+	 * @param culled
+	 *            The list to which the hidden nodes are added.
+	 */
+	private static void findCulled(Parent parent, List<Node> culled) {
+		List<javafx.scene.Node> children = parent.getChildrenUnmodifiable();
+		for (int i = 0; i < children.size(); i++) {
+			javafx.scene.Node child = children.get(i);
+			if (child instanceof Node && ((Node) child).culled) {
+				culled.add((Node) child);
+			} else if (child instanceof Parent) {
+				findCulled((Parent) child, culled);
+			}
+		}
+		return;
+	}
+}
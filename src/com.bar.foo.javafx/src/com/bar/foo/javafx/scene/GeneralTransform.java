@@ -1,8 +1,11 @@
 package com.bar.foo.javafx.scene;
 
+import javafx.geometry.Point3D;
+import javafx.scene.transform.NonInvertibleTransformException;
 import javafx.scene.transform.Transform;
 
 import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Matrix4f;
 import com.bar.foo.math.Quaternion;
 import com.bar.foo.math.Vector3f;
 import com.sun.javafx.geom.transform.Affine3D;
@@ -17,12 +20,41 @@ import com.sun.javafx.geom.transform.BaseTransform;
  * and/or {@link #translation}, then call {@link #refresh(boolean)} to ensure
  * the changes are applied to the underlying rendering engine.
  * </p>
+ * <p>
+ * The scale and rotation are combined into a 3x3 matrix for JavaFX. After the
+ * scale or rotation changes, the matrix is rebuilt lazily. Rendering
+ * ({@code impl_apply} and {@code impl_derive}) always rebuilds it first, as
+ * do requests to transform many points or any 2D points. Only point queries
+ * made off the render path while the matrix is out of date (e.g., picking
+ * between a change and the next pulse) apply the rotation and scale directly
+ * instead (see {@link #DIRECT_POINT_LIMIT}).
+ * </p>
+ * <p>
+ * A transform that is edited several times per frame (e.g., by several held
+ * keys) can be {@link #setDeferred(boolean) deferred}. Its refreshes are then
+ * only recorded, and all deferred transforms are committed together once per
+ * frame before the scene is rendered, so each is announced to JavaFX at most
+ * once per frame. Changes made by an animation timer may only be committed in
+ * the next frame (see {@link #setDeferred(boolean)}).
+ * </p>
  * 
  * @author Jordan Deyton
  *
  */
 public class GeneralTransform extends Transform {
 
+	/**
+	 * Requests to transform fewer than this many points while the
+	 * {@link #transformMatrix} is out of date apply the rotation and scale
+	 * directly. Larger requests rebuild the matrix first. This only affects
+	 * point queries made off the render path, since rendering always rebuilds
+	 * the matrix before reading it. The limit is the
+	 * crossover measured by {@code TransformStrategyBenchmark}, where
+	 * rebuilding the matrix costs about as much as transforming four to eight
+	 * points directly.
+	 */
+	public static final int DIRECT_POINT_LIMIT = 8;
+
 	/**
 	 * The transformation's scale. Any of the x, y, and z coordinates can be
 	 * specified individually. This is applied before rotating or translating.
@@ -46,28 +78,201 @@ public class GeneralTransform extends Transform {
 	 * vector). Instead, we separate the 3x3 scale and rotation elements from
 	 * the translation vector.
 	 * <p>
-	 * When the {@link #scale} or {@link #rotation} is changed, this will need
-	 * to be updated via {@link #recomputeTransformMatrix()} before calling
-	 * {@link #transformChanged()}.
+	 * When the {@link #scale} or {@link #rotation} is changed, this is flagged
+	 * as {@link #matrixDirty dirty} and updated via
+	 * {@link #recomputeTransformMatrix()} when it is next needed.
 	 * </p>
 	 */
 	private final Matrix3f transformMatrix = new Matrix3f(Matrix3f.IDENTITY);
+	/**
+	 * Whether the {@link #transformMatrix} needs to be recomputed.
+	 */
+	private boolean matrixDirty = false;
+	/**
+	 * Holds a single point transformed by {@link #transformPoint(double,
+	 * double, double, boolean)} so that it does not need a temporary array.
+	 * Like the rest of the scene graph, this is only used from the JavaFX
+	 * application thread.
+	 */
+	private final double[] point = new double[3];
+
+	/**
+	 * The {@link Node} that owns this transformation, if any. It is told when
+	 * the transformation is refreshed so that it can invalidate its cached
+	 * world transformation.
+	 */
+	Node node = null;
+
+	/**
+	 * Whether refreshes are deferred until the next commit.
+	 */
+	private boolean deferred = false;
+	/**
+	 * Whether this transformation has been refreshed since it was last
+	 * committed. If true, it is in the {@link RefreshBatch}.
+	 */
+	private boolean pending = false;
+	/**
+	 * Whether any of the pending refreshes changed the scale or rotation.
+	 */
+	private boolean pendingScaledOrRotated = false;
+	/**
+	 * The number of times this transformation has been refreshed.
+	 */
+	private int refreshCount = 0;
 
 	/**
 	 * Applies any changes with the transformation to the underlying rendering
-	 * system.
+	 * system. If this transformation is {@link #setDeferred(boolean)
+	 * deferred}, the changes are applied when it is next committed.
 	 * 
 	 * @param scaledOrRotated
 	 *            Whether or not the scale or rotation has been changed. If
 	 *            true, the transformation matrix will need to be recomputed.
 	 */
 	public void refresh(boolean scaledOrRotated) {
-		// If the scale or rotation has changed, recompute the 3x3
-		// transformation matrix.
+		refreshCount++;
+		if (deferred) {
+			pendingScaledOrRotated |= scaledOrRotated;
+			if (!pending) {
+				pending = true;
+				RefreshBatch.add(this);
+			}
+		} else {
+			apply(scaledOrRotated);
+		}
+	}
+
+	/**
+	 * Gets the number of times this transformation has been refreshed. This
+	 * is incremented immediately, even if the refresh is
+	 * {@link #setDeferred(boolean) deferred}, so values derived from the
+	 * {@link #rotation}, {@link #scale}, or {@link #translation} can be
+	 * checked against it to see if they are out of date.
+	 * 
+	 * @return The refresh count. This may wrap around, so it should only be
+	 *         compared for equality.
+	 */
+	public int getRefreshCount() {
+		return refreshCount;
+	}
+
+	/**
+	 * Sets whether refreshes are deferred. A deferred transformation only
+	 * records its refreshes. They are committed, all at once, just before
+	 * the next frame is rendered, or sooner by calling {@link #commit()} or
+	 * {@link #commitDeferred()}. Until then, JavaFX and the owning
+	 * {@link Node}'s world transformation are not told about the changes.
+	 * <p>
+	 * The commit is made by an animation timer that only runs while there
+	 * are changes waiting, so an unchanged deferred transformation costs
+	 * nothing. Changes made during a pulse (e.g., by an animation timer) are
+	 * committed in the next frame, unless {@link #commitDeferred()} is
+	 * called once they are done.
+	 * </p>
+	 * <p>
+	 * <b>Note:</b> Deferral must only be changed, and deferred
+	 * transformations must only be refreshed, on the JavaFX application
+	 * thread.
+	 * </p>
+	 * 
+	 * @param deferred
+	 *            Whether to defer refreshes. If false, any pending changes are
+	 *            committed immediately.
+	 */
+	public void setDeferred(boolean deferred) {
+		if (deferred == this.deferred) {
+			return;
+		}
+		this.deferred = deferred;
+		if (!deferred) {
+			commit();
+		}
+		return;
+	}
+
+	/**
+	 * Gets whether refreshes are deferred.
+	 * 
+	 * @return True if refreshes are deferred until the next commit, false if
+	 *         they are applied immediately.
+	 */
+	public boolean isDeferred() {
+		return deferred;
+	}
+
+	/**
+	 * Applies the changes from any refreshes since the last commit.
+	 * 
+	 * @return True if there were changes to apply, false otherwise.
+	 */
+	public boolean commit() {
+		boolean committed = pending;
+		if (pending) {
+			pending = false;
+			boolean scaledOrRotated = pendingScaledOrRotated;
+			pendingScaledOrRotated = false;
+			apply(scaledOrRotated);
+		}
+		return committed;
+	}
+
+	/**
+	 * Commits every deferred transformation with pending changes. This is
+	 * called automatically once per frame, but it may also be called to
+	 * apply changes sooner (e.g., before picking).
+	 * 
+	 * @return The number of transformations that were committed.
+	 */
+	public static int commitDeferred() {
+		return RefreshBatch.commit();
+	}
+
+	/**
+	 * Applies changes with the transformation to the underlying rendering
+	 * system and the owning {@link Node}.
+	 * 
+	 * @param scaledOrRotated
+	 *            Whether or not the scale or rotation has been changed.
+	 */
+	private void apply(boolean scaledOrRotated) {
+		// If the scale or rotation has changed, the 3x3 transformation matrix
+		// will be recomputed when it is next needed.
 		if (scaledOrRotated) {
-			recomputeTransformMatrix();
+			matrixDirty = true;
 		}
 		transformChanged();
+		if (node != null) {
+			node.invalidateWorldTransform();
+		}
+	}
+
+	/**
+	 * Gets the transformation as a 4x4 matrix. This is the same matrix given
+	 * to JavaFX.
+	 * 
+	 * @param cache
+	 *            The matrix in which to store the transformation. If
+	 *            {@code null}, a new matrix is created.
+	 * @return The <i>cache</i> matrix.
+	 */
+	public Matrix4f getMatrix(Matrix4f cache) {
+		if (cache == null) {
+			cache = new Matrix4f();
+		}
+		validateTransformMatrix();
+		return cache.set(transformMatrix, translation);
+	}
+
+	/**
+	 * Recomputes the {@link #transformMatrix} if the scale or rotation has
+	 * changed since it was last computed.
+	 */
+	private void validateTransformMatrix() {
+		if (matrixDirty) {
+			recomputeTransformMatrix();
+			matrixDirty = false;
+		}
 	}
 
 	/**
@@ -98,11 +303,6 @@ public class GeneralTransform extends Transform {
 	}
 
 	// ---- Transformation matrix getters from class Transform ---- //
-	// TODO We may also be able to override the transform methods (e.g.,
-	// transformPoint3D) instead of using the transformation matrix. The number
-	// of mathematical operations from computing the transformation
-	// matrix/multiplying it by points will need to be compared with directly
-	// applying the scale, rotation, and translation to the point.
 
 	/*
 	 * (non-Javadoc)
@@ -111,6 +311,7 @@ public class GeneralTransform extends Transform {
 	 */
 	@Override
 	public double getMxx() {
+		validateTransformMatrix();
 		return transformMatrix.m00;
 	}
 
@@ -121,6 +322,7 @@ public class GeneralTransform extends Transform {
 	 */
 	@Override
 	public double getMxy() {
+		validateTransformMatrix();
 		return transformMatrix.m01;
 	}
 
@@ -131,6 +333,7 @@ public class GeneralTransform extends Transform {
 	 */
 	@Override
 	public double getMxz() {
+		validateTransformMatrix();
 		return transformMatrix.m02;
 	}
 
@@ -141,6 +344,7 @@ public class GeneralTransform extends Transform {
 	 */
 	@Override
 	public double getMyx() {
+		validateTransformMatrix();
 		return transformMatrix.m10;
 	}
 
@@ -151,6 +355,7 @@ public class GeneralTransform extends Transform {
 	 */
 	@Override
 	public double getMyy() {
+		validateTransformMatrix();
 		return transformMatrix.m11;
 	}
 
@@ -161,6 +366,7 @@ public class GeneralTransform extends Transform {
 	 */
 	@Override
 	public double getMyz() {
+		validateTransformMatrix();
 		return transformMatrix.m12;
 	}
 
@@ -171,6 +377,7 @@ public class GeneralTransform extends Transform {
 	 */
 	@Override
 	public double getMzx() {
+		validateTransformMatrix();
 		return transformMatrix.m20;
 	}
 
@@ -181,6 +388,7 @@ public class GeneralTransform extends Transform {
 	 */
 	@Override
 	public double getMzy() {
+		validateTransformMatrix();
 		return transformMatrix.m21;
 	}
 
@@ -191,6 +399,7 @@ public class GeneralTransform extends Transform {
 	 */
 	@Override
 	public double getMzz() {
+		validateTransformMatrix();
 		return transformMatrix.m22;
 	}
 
@@ -240,9 +449,10 @@ public class GeneralTransform extends Transform {
 	 */
 	@Override
 	public void impl_apply(Affine3D t) {
-		t.concatenate(getMxx(), getMxy(), getMxz(), getTx(), getMyx(),
-				getMyy(), getMyz(), getTy(), getMzx(), getMzy(), getMzz(),
-				getTz());
+		validateTransformMatrix();
+		final Matrix3f m = transformMatrix;
+		t.concatenate(m.m00, m.m01, m.m02, translation.x, m.m10, m.m11, m.m12,
+				translation.y, m.m20, m.m21, m.m22, translation.z);
 	}
 
 	/*
@@ -254,9 +464,361 @@ public class GeneralTransform extends Transform {
 	 */
 	@Override
 	public BaseTransform impl_derive(BaseTransform t) {
-		return t.deriveWithConcatenation(getMxx(), getMxy(), getMxz(), getTx(),
-				getMyx(), getMyy(), getMyz(), getTy(), getMzx(), getMzy(),
-				getMzz(), getTz());
+		validateTransformMatrix();
+		final Matrix3f m = transformMatrix;
+		return t.deriveWithConcatenation(m.m00, m.m01, m.m02, translation.x,
+				m.m10, m.m11, m.m12, translation.y, m.m20, m.m21, m.m22,
+				translation.z);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javafx.scene.transform.Transform#transform(double, double, double)
+	 */
+	@Override
+	public Point3D transform(double x, double y, double z) {
+		return transformPoint(x, y, z, true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javafx.scene.transform.Transform#deltaTransform(double, double,
+	 * double)
+	 */
+	@Override
+	public Point3D deltaTransform(double x, double y, double z) {
+		return transformPoint(x, y, z, false);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javafx.scene.transform.Transform#transform3DPoints(double[], int,
+	 * double[], int, int)
+	 */
+	@Override
+	public void transform3DPoints(double[] srcPts, int srcOff,
+			double[] dstPts, int dstOff, int numPts) {
+		if (srcPts == null || dstPts == null) {
+			throw new NullPointerException();
+		}
+		srcOff = copyOverlap(srcPts, srcOff, dstPts, dstOff, numPts * 3);
+		transformPoints(srcPts, srcOff, dstPts, dstOff, numPts, true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javafx.scene.transform.Transform#transform2DPoints(double[], int,
+	 * double[], int, int)
+	 */
+	@Override
+	public void transform2DPoints(double[] srcPts, int srcOff,
+			double[] dstPts, int dstOff, int numPts) {
+		if (srcPts == null || dstPts == null) {
+			throw new NullPointerException();
+		}
+		// Like JavaFX, 2D points can only be transformed if they stay in the
+		// xy plane. This needs the matrix, so 2D points are never transformed
+		// directly.
+		validateTransformMatrix();
+		final Matrix3f m = transformMatrix;
+		if (m.m20 != 0f || m.m21 != 0f) {
+			throw new IllegalStateException(
+					"Cannot transform 2D point with a 3D transform");
+		}
+		srcOff = copyOverlap(srcPts, srcOff, dstPts, dstOff, numPts * 2);
+
+		final double m00 = m.m00, m01 = m.m01, tx = translation.x;
+		final double m10 = m.m10, m11 = m.m11, ty = translation.y;
+		final int end = srcOff + numPts * 2;
+		for (int i = srcOff, j = dstOff; i < end; i += 2, j += 2) {
+			double x = srcPts[i], y = srcPts[i + 1];
+			dstPts[j] = m00 * x + m01 * y + tx;
+			dstPts[j + 1] = m10 * x + m11 * y + ty;
+		}
+		return;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javafx.scene.transform.Transform#inverseTransform(double, double,
+	 * double)
+	 */
+	@Override
+	public Point3D inverseTransform(double x, double y, double z)
+			throws NonInvertibleTransformException {
+		ensureInvertible();
+		inverseTransformPoint(x, y, z, true);
+		return new Point3D(point[0], point[1], point[2]);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javafx.scene.transform.Transform#inverseDeltaTransform(double,
+	 * double, double)
+	 */
+	@Override
+	public Point3D inverseDeltaTransform(double x, double y, double z)
+			throws NonInvertibleTransformException {
+		ensureInvertible();
+		inverseTransformPoint(x, y, z, false);
+		return new Point3D(point[0], point[1], point[2]);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javafx.scene.transform.Transform#inverseTransform3DPoints(double[],
+	 * int, double[], int, int)
+	 */
+	@Override
+	public void inverseTransform3DPoints(double[] srcPts, int srcOff,
+			double[] dstPts, int dstOff, int numPts)
+			throws NonInvertibleTransformException {
+		if (srcPts == null || dstPts == null) {
+			throw new NullPointerException();
+		}
+		ensureInvertible();
+		srcOff = copyOverlap(srcPts, srcOff, dstPts, dstOff, numPts * 3);
+		inverseTransformPoints(srcPts, srcOff, dstPts, dstOff, numPts);
 	}
 	// --------------------------- //
+
+	/**
+	 * Prepares packed coordinates to be transformed from one range of an
+	 * array to another. If the ranges are in the same array and the
+	 * destination starts inside the source, transforming forward would
+	 * overwrite points before they are read. In that case, the source is
+	 * first copied to the destination, as in JavaFX's own transforms, so that
+	 * the points can be transformed in place.
+	 * 
+	 * @param length
+	 *            The number of coordinates to transform.
+	 * @return The offset from which the source coordinates should be read.
+	 */
+	private static int copyOverlap(double[] src, int srcOff, double[] dst,
+			int dstOff, int length) {
+		if (src == dst && dstOff > srcOff && dstOff < srcOff + length) {
+			System.arraycopy(src, srcOff, dst, dstOff, length);
+			return dstOff;
+		}
+		return srcOff;
+	}
+
+	/**
+	 * Throws an exception if this transformation cannot be inverted, i.e., if
+	 * any of its scale factors is zero. The rotation is always invertible.
+	 * 
+	 * @throws NonInvertibleTransformException
+	 *             If the transformation cannot be inverted.
+	 */
+	private void ensureInvertible() throws NonInvertibleTransformException {
+		if (scale.x == 0f || scale.y == 0f || scale.z == 0f) {
+			throw new NonInvertibleTransformException("Determinant is 0");
+		}
+	}
+
+	/**
+	 * Transforms a single point the same way as
+	 * {@link #transformPoints(double[], int, double[], int, int, boolean)},
+	 * but without a temporary array.
+	 * 
+	 * @param translate
+	 *            Whether to translate the point. Directions (deltas) are not
+	 *            translated.
+	 * @return The transformed point.
+	 */
+	private Point3D transformPoint(double vx, double vy, double vz,
+			boolean translate) {
+		final double tx = (translate ? translation.x : 0.0);
+		final double ty = (translate ? translation.y : 0.0);
+		final double tz = (translate ? translation.z : 0.0);
+
+		if (matrixDirty) {
+			transformDirect(vx, vy, vz, tx, ty, tz, point, 0);
+			return new Point3D(point[0], point[1], point[2]);
+		}
+		final Matrix3f m = transformMatrix;
+		return new Point3D(m.m00 * vx + m.m01 * vy + m.m02 * vz + tx, m.m10
+				* vx + m.m11 * vy + m.m12 * vz + ty, m.m20 * vx + m.m21 * vy
+				+ m.m22 * vz + tz);
+	}
+
+	/**
+	 * Transforms packed points (x0, y0, z0, x1, ...). Points are transformed
+	 * in order, each read before it is written, so the destination may be the
+	 * same as the source or start before it. Other overlapping ranges must
+	 * first be prepared with {@link #copyOverlap(double[], int, double[],
+	 * int, int)}.
+	 * <p>
+	 * If the {@link #transformMatrix} is up to date or there are many points,
+	 * the points are multiplied by the matrix. Otherwise, it is cheaper to
+	 * rotate and scale the few points directly than to rebuild the matrix.
+	 * </p>
+	 * 
+	 * @param translate
+	 *            Whether to translate the points. Directions (deltas) are not
+	 *            translated.
+	 */
+	private void transformPoints(double[] src, int srcOff, double[] dst,
+			int dstOff, int numPts, boolean translate) {
+		final double tx = (translate ? translation.x : 0.0);
+		final double ty = (translate ? translation.y : 0.0);
+		final double tz = (translate ? translation.z : 0.0);
+		final int end = srcOff + numPts * 3;
+
+		if (matrixDirty && numPts < DIRECT_POINT_LIMIT) {
+			for (int i = srcOff, j = dstOff; i < end; i += 3, j += 3) {
+				transformDirect(src[i], src[i + 1], src[i + 2], tx, ty, tz, dst,
+						j);
+			}
+		} else {
+			validateTransformMatrix();
+			final Matrix3f m = transformMatrix;
+			final double m00 = m.m00, m01 = m.m01, m02 = m.m02;
+			final double m10 = m.m10, m11 = m.m11, m12 = m.m12;
+			final double m20 = m.m20, m21 = m.m21, m22 = m.m22;
+			for (int i = srcOff, j = dstOff; i < end; i += 3, j += 3) {
+				double x = src[i], y = src[i + 1], z = src[i + 2];
+				dst[j] = m00 * x + m01 * y + m02 * z + tx;
+				dst[j + 1] = m10 * x + m11 * y + m12 * z + ty;
+				dst[j + 2] = m20 * x + m21 * y + m22 * z + tz;
+			}
+		}
+		return;
+	}
+
+	/**
+	 * Applies the inverse transformation to a single point, storing the
+	 * result in {@link #point}. The caller must first check that the
+	 * transformation is invertible.
+	 * 
+	 * @param translate
+	 *            Whether to undo the translation. Directions (deltas) are not
+	 *            translated.
+	 */
+	private void inverseTransformPoint(double vx, double vy, double vz,
+			boolean translate) {
+		if (translate) {
+			vx -= translation.x;
+			vy -= translation.y;
+			vz -= translation.z;
+		}
+		if (matrixDirty) {
+			inverseTransformDirect(vx, vy, vz, point, 0);
+		} else {
+			final Matrix3f m = transformMatrix;
+			final double sx = 1.0 / ((double) scale.x * scale.x);
+			final double sy = 1.0 / ((double) scale.y * scale.y);
+			final double sz = 1.0 / ((double) scale.z * scale.z);
+			point[0] = m.m00 * sx * vx + m.m10 * sy * vy + m.m20 * sz * vz;
+			point[1] = m.m01 * sx * vx + m.m11 * sy * vy + m.m21 * sz * vz;
+			point[2] = m.m02 * sx * vx + m.m12 * sy * vy + m.m22 * sz * vz;
+		}
+		return;
+	}
+
+	/**
+	 * Applies the inverse transformation to packed points (x0, y0, z0, x1,
+	 * ...). The same rules for overlapping ranges apply as for
+	 * {@link #transformPoints(double[], int, double[], int, int, boolean)}.
+	 * The caller must first check that the transformation is invertible.
+	 * <p>
+	 * The matrix is scale times rotation, so its inverse is its transpose
+	 * with each column j divided by the square of scale j. Like the forward
+	 * transformation, few points are transformed directly while the matrix
+	 * is out of date.
+	 * </p>
+	 */
+	private void inverseTransformPoints(double[] src, int srcOff,
+			double[] dst, int dstOff, int numPts) {
+		final double tx = translation.x, ty = translation.y;
+		final double tz = translation.z;
+		final int end = srcOff + numPts * 3;
+
+		if (matrixDirty && numPts < DIRECT_POINT_LIMIT) {
+			for (int i = srcOff, j = dstOff; i < end; i += 3, j += 3) {
+				inverseTransformDirect(src[i] - tx, src[i + 1] - ty,
+						src[i + 2] - tz, dst, j);
+			}
+		} else {
+			validateTransformMatrix();
+			final Matrix3f m = transformMatrix;
+			final double sx = 1.0 / ((double) scale.x * scale.x);
+			final double sy = 1.0 / ((double) scale.y * scale.y);
+			final double sz = 1.0 / ((double) scale.z * scale.z);
+			final double m00 = m.m00 * sx, m01 = m.m10 * sy, m02 = m.m20 * sz;
+			final double m10 = m.m01 * sx, m11 = m.m11 * sy, m12 = m.m21 * sz;
+			final double m20 = m.m02 * sx, m21 = m.m12 * sy, m22 = m.m22 * sz;
+			for (int i = srcOff, j = dstOff; i < end; i += 3, j += 3) {
+				double x = src[i] - tx, y = src[i + 1] - ty;
+				double z = src[i + 2] - tz;
+				dst[j] = m00 * x + m01 * y + m02 * z;
+				dst[j + 1] = m10 * x + m11 * y + m12 * z;
+				dst[j + 2] = m20 * x + m21 * y + m22 * z;
+			}
+		}
+		return;
+	}
+
+	/**
+	 * Undoes the scale and rotation of a point without the
+	 * {@link #transformMatrix}. This is the inverse of
+	 * {@link #transformDirect(double, double, double, double, double, double,
+	 * double[], int)}: the point is divided by the scale, then rotated by the
+	 * conjugate rotation, which negates the w(u x v) term.
+	 * 
+	 * @param dst
+	 *            The array that receives the transformed point.
+	 * @param dstOff
+	 *            The index of the transformed point's x coordinate in dst.
+	 */
+	private void inverseTransformDirect(double vx, double vy, double vz,
+			double[] dst, int dstOff) {
+		vx /= scale.x;
+		vy /= scale.y;
+		vz /= scale.z;
+		final double w = rotation.w, x = rotation.x, y = rotation.y;
+		final double z = rotation.z;
+		final double normSquared = w * w + x * x + y * y + z * z;
+		final double f = (normSquared > 0.0 ? 2.0 / normSquared : 0.0);
+		final double cx = y * vz - z * vy;
+		final double cy = z * vx - x * vz;
+		final double cz = x * vy - y * vx;
+		dst[dstOff] = vx + f * (-w * cx + y * cz - z * cy);
+		dst[dstOff + 1] = vy + f * (-w * cy + z * cx - x * cz);
+		dst[dstOff + 2] = vz + f * (-w * cz + x * cy - y * cx);
+		return;
+	}
+
+	/**
+	 * Rotates, scales, and translates a point without the
+	 * {@link #transformMatrix}. This matches the matrix, which rotates and
+	 * then scales each row: v' = s * (v + f(w(u x v) + u x (u x v))) + t,
+	 * where the rotation has vector part u, scalar part w, and f = 2/|q|^2.
+	 * 
+	 * @param dst
+	 *            The array that receives the transformed point.
+	 * @param dstOff
+	 *            The index of the transformed point's x coordinate in dst.
+	 */
+	private void transformDirect(double vx, double vy, double vz, double tx,
+			double ty, double tz, double[] dst, int dstOff) {
+		final double w = rotation.w, x = rotation.x, y = rotation.y;
+		final double z = rotation.z;
+		final double normSquared = w * w + x * x + y * y + z * z;
+		final double f = (normSquared > 0.0 ? 2.0 / normSquared : 0.0);
+		final double cx = y * vz - z * vy;
+		final double cy = z * vx - x * vz;
+		final double cz = x * vy - y * vx;
+		dst[dstOff] = scale.x * (vx + f * (w * cx + y * cz - z * cy)) + tx;
+		dst[dstOff + 1] = scale.y * (vy + f * (w * cy + z * cx - x * cz)) + ty;
+		dst[dstOff + 2] = scale.z * (vz + f * (w * cz + x * cy - y * cx)) + tz;
+		return;
+	}
 }
@@ -0,0 +1,36 @@
+/**
+ *
+ */
+package com.bar.foo.javafx.scene;
+
+import javafx.scene.Node;
+import javafx.scene.input.MouseEvent;
+
+import com.bar.foo.math.RayHit;
+
+/**
+ * This is an interface for objects that want to know what is under the mouse.
+ * Listeners are registered with a {@link Picker}.
+ *
+ * @author Jordan Deyton
+ *
+ */
+public interface IPickListener {
+
+	/**
+	 * Called after the {@link Picker} casts a ray for a mouse event.
+	 *
+	 * @param node
+	 *            The closest node under the mouse, or {@code null} if nothing
+	 *            was hit.
+	 * @param hit
+	 *            The hit in the node's mesh, including the face and the
+	 *            barycentric coordinates within it. This is re-used by the
+	 *            picker and should be copied if it is needed later.
+	 * @param event
+	 *            The mouse event that triggered the pick. Moves trigger
+	 *            {@code MOUSE_MOVED} events and clicks trigger
+	 *            {@code MOUSE_PRESSED} events.
+	 */
+	public void picked(Node node, RayHit hit, MouseEvent event);
+}
@@ -0,0 +1,206 @@
+/**
+ *
+ */
+package com.bar.foo.javafx.scene;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.animation.AnimationTimer;
+
+import com.bar.foo.javafx.scene.camera.FlyCamera;
+import com.bar.foo.math.Vector3f;
+import com.bar.foo.math.Vector3fc;
+
+/**
+ * This class updates the levels of detail of a set of {@link LODNode}s. Once
+ * started, it updates them before each frame from the world position of a
+ * {@link FlyCamera}. They can also be updated directly with
+ * {@link #update(Vector3fc)} or {@link #updateFrom(Node)}.
+ * <p>
+ * Switching a level changes the node's bounds, so if a {@link FrustumCuller}
+ * is also used, this should be started first so the culler sees the new
+ * levels in the same frame. The camera's world position is compared with the
+ * nodes' world transformations, so the camera and the nodes must share a root
+ * node. Like the rest of the scene graph, this must only be used on the JavaFX
+ * application thread.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class LODController {
+
+	/**
+	 * The nodes whose levels are updated.
+	 */
+	private final List<LODNode> nodes = new ArrayList<LODNode>();
+
+	/**
+	 * The camera whose position is used each frame, or {@code null} if the
+	 * controller is not started.
+	 */
+	private FlyCamera camera = null;
+	/**
+	 * The timer that updates the nodes each frame. This is created when first
+	 * needed, since creating it requires the JavaFX toolkit.
+	 */
+	private AnimationTimer timer = null;
+
+	/**
+	 * The number of nodes that switched levels in the last update.
+	 */
+	private int switchCount = 0;
+
+	/**
+	 * The viewer's world position, re-used by each update.
+	 */
+	private final Vector3f viewPosition = new Vector3f();
+
+	/**
+	 * Adds a node whose levels should be updated.
+	 *
+	 * @param node
+	 *            The node.
+	 * @return True if the node was added, false if it was {@code null} or
+	 *         already added.
+	 */
+	public boolean add(LODNode node) {
+		boolean added = false;
+		if (node != null && !nodes.contains(node)) {
+			nodes.add(node);
+			added = true;
+		}
+		return added;
+	}
+
+	/**
+	 * Stops updating a node's levels. Its current level is still shown.
+	 *
+	 * @param node
+	 *            The node.
+	 * @return True if the node was removed, false if it was not added.
+	 */
+	public boolean remove(LODNode node) {
+		return nodes.remove(node);
+	}
+
+	/**
+	 * Gets the number of nodes whose levels are updated.
+	 *
+	 * @return The number of nodes.
+	 */
+	public int size() {
+		return nodes.size();
+	}
+
+	/**
+	 * Starts updating the nodes before each frame from the position of a
+	 * camera.
+	 *
+	 * @param camera
+	 *            The camera. This must not be {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the camera is {@code null}.
+	 */
+	public void start(FlyCamera camera) {
+		if (camera == null) {
+			throw new IllegalArgumentException("LODController error: "
+					+ "Null camera not allowed.");
+		}
+		this.camera = camera;
+		if (timer == null) {
+			timer = new AnimationTimer() {
+				@Override
+				public void handle(long now) {
+					// JavaFX still runs a timer in the pulse in which it was
+					// stopped, so the controller may have been stopped
+					// already.
+					FlyCamera camera = LODController.this.camera;
+					if (camera == null) {
+						return;
+					}
+					// Apply any deferred transforms so that the world
+					// positions, including the camera's, are up to date.
+					GeneralTransform.commitDeferred();
+					updateFrom(camera);
+				}
+			};
+		}
+		timer.start();
+		return;
+	}
+
+	/**
+	 * Stops updating the nodes each frame. Their current levels are still
+	 * shown.
+	 */
+	public void stop() {
+		if (timer != null) {
+			timer.stop();
+		}
+		camera = null;
+		return;
+	}
+
+	/**
+	 * Gets whether the controller has been started.
+	 *
+	 * @return True if the nodes are updated each frame, false otherwise.
+	 */
+	public boolean isStarted() {
+		return camera != null;
+	}
+
+	/**
+	 * Updates the levels of all nodes for a viewer's position.
+	 *
+	 * @param viewPosition
+	 *            The viewer's position in the coordinate space of the nodes'
+	 *            world transformations. This must not be {@code null}.
+	 * @return The number of nodes that switched levels.
+	 * @throws IllegalArgumentException
+	 *             If the position is {@code null}.
+	 */
+	public int update(Vector3fc viewPosition) {
+		if (viewPosition == null) {
+			throw new IllegalArgumentException("LODController error: "
+					+ "Null position not allowed.");
+		}
+		switchCount = 0;
+		for (int i = 0; i < nodes.size(); i++) {
+			if (nodes.get(i).update(viewPosition)) {
+				switchCount++;
+			}
+		}
+		return switchCount;
+	}
+
+	/**
+	 * Updates the levels of all nodes for the world position of a viewer,
+	 * usually the camera. Any deferred transforms should be committed first.
+	 *
+	 * @param viewer
+	 *            The node whose world position is used. This must not be
+	 *            {@code null}.
+	 * @return The number of nodes that switched levels.
+	 * @throws IllegalArgumentException
+	 *             If the viewer is {@code null}.
+	 */
+	public int updateFrom(Node viewer) {
+		if (viewer == null) {
+			throw new IllegalArgumentException("LODController error: "
+					+ "Null viewer not allowed.");
+		}
+		return update(viewer.getWorldPosition(viewPosition));
+	}
+
+	/**
+	 * Gets the number of nodes that switched levels in the last update.
+	 *
+	 * @return The number of switches.
+	 */
+	public int getSwitchCount() {
+		return switchCount;
+	}
+}
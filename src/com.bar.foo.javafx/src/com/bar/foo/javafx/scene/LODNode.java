@@ -0,0 +1,296 @@
+/**
+ *
+ */
+package com.bar.foo.javafx.scene;
+
+import java.util.Arrays;
+
+import com.bar.foo.math.Vector3f;
+import com.bar.foo.math.Vector3fc;
+
+/**
+ * This class provides a {@link Node} that shows one of several
+ * representations (levels of detail) of the same object depending on its
+ * distance from the camera. Level 0 is the most detailed and is shown up to
+ * its maximum distance, after which level 1 is shown, and so on. Beyond the
+ * last level's maximum distance, nothing is shown.
+ * <p>
+ * To keep an object near a threshold from switching back and forth every
+ * frame, each threshold has a band of hysteresis around it: a coarser level
+ * is only chosen once the distance passes the threshold by the
+ * {@link #setHysteresis(float) hysteresis} fraction, and a finer level is
+ * only chosen once the distance is that fraction below it.
+ * </p>
+ * <p>
+ * The levels are evaluated by {@link #update(Vector3fc)}, usually once per
+ * frame for all registered nodes by an {@link LODController}. Only the
+ * current level is attached as a child, so the node's bounds (and hence
+ * culling) only cover what is shown. The representations should not be
+ * added to or removed from the children directly. Evaluating the levels
+ * creates no objects. Switching levels changes the children, which JavaFX
+ * may allocate for.
+ * </p>
+ * <p>
+ * Coarser levels for a {@code TriangleMesh} can be built in the background
+ * with {@link MeshDecimation}.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class LODNode extends Node {
+
+	/**
+	 * The default fraction of each threshold distance by which the distance
+	 * must pass it before the level is switched.
+	 */
+	public static final float DEFAULT_HYSTERESIS = 0.1f;
+
+	/**
+	 * The value of {@link #current} before the first update.
+	 */
+	private static final int UNSELECTED = -1;
+
+	/**
+	 * The representation for each level.
+	 */
+	private javafx.scene.Node[] levels = new javafx.scene.Node[4];
+	/**
+	 * The maximum distance for each level.
+	 */
+	private float[] distances = new float[4];
+	/**
+	 * The squared distance above which each level switches to a coarser one.
+	 */
+	private float[] outerSquared = new float[4];
+	/**
+	 * The squared distance below which each level's next, coarser level
+	 * switches back to it.
+	 */
+	private float[] innerSquared = new float[4];
+	/**
+	 * The number of levels.
+	 */
+	private int levelCount = 0;
+
+	/**
+	 * The index of the shown level. If this is {@link #levelCount}, the node
+	 * is too far away and no level is shown.
+	 */
+	private int current = UNSELECTED;
+	/**
+	 * The fraction of each threshold by which the distance must pass it.
+	 */
+	private float hysteresis = DEFAULT_HYSTERESIS;
+
+	/**
+	 * The world position of this node, used when updating.
+	 */
+	private final Vector3f position = new Vector3f();
+
+	/**
+	 * Adds a coarser level of detail.
+	 *
+	 * @param representation
+	 *            The level's representation, e.g. a {@code MeshView}.
+	 * @param maxDistance
+	 *            The distance up to which the level is shown. This must be
+	 *            greater than the previous level's maximum distance. Use
+	 *            {@link Float#POSITIVE_INFINITY} for a level that is always
+	 *            shown beyond the previous level.
+	 * @return The index of the new level.
+	 * @throws IllegalArgumentException
+	 *             If the representation is {@code null} or the distance is
+	 *             not positive and greater than the previous level's.
+	 */
+	public int addLevel(javafx.scene.Node representation, float maxDistance) {
+		if (representation == null) {
+			throw new IllegalArgumentException("LODNode error: "
+					+ "Null representation not allowed.");
+		} else if (!(maxDistance > 0f)
+				|| (levelCount > 0 && !(maxDistance > distances[levelCount - 1]))) {
+			throw new IllegalArgumentException("LODNode error: "
+					+ "The maximum distance must be positive and greater than "
+					+ "the previous level's.");
+		}
+
+		if (levelCount == levels.length) {
+			int length = levelCount * 2;
+			levels = Arrays.copyOf(levels, length);
+			distances = Arrays.copyOf(distances, length);
+			outerSquared = Arrays.copyOf(outerSquared, length);
+			innerSquared = Arrays.copyOf(innerSquared, length);
+		}
+		levels[levelCount] = representation;
+		distances[levelCount] = maxDistance;
+		levelCount++;
+		updateThresholds();
+
+		// Re-select the level on the next update.
+		show(UNSELECTED);
+		return levelCount - 1;
+	}
+
+	/**
+	 * Gets the number of levels of detail.
+	 *
+	 * @return The number of levels.
+	 */
+	public int getLevelCount() {
+		return levelCount;
+	}
+
+	/**
+	 * Gets the representation for a level of detail.
+	 *
+	 * @param level
+	 *            The index of the level.
+	 * @return The level's representation.
+	 * @throws IndexOutOfBoundsException
+	 *             If the index is not a valid level index.
+	 */
+	public javafx.scene.Node getLevel(int level) {
+		checkLevel(level);
+		return levels[level];
+	}
+
+	/**
+	 * Gets the distance up to which a level of detail is shown.
+	 *
+	 * @param level
+	 *            The index of the level.
+	 * @return The level's maximum distance.
+	 * @throws IndexOutOfBoundsException
+	 *             If the index is not a valid level index.
+	 */
+	public float getMaxDistance(int level) {
+		checkLevel(level);
+		return distances[level];
+	}
+
+	/**
+	 * Gets the level of detail currently shown.
+	 *
+	 * @return The index of the shown level, or -1 if no level is shown
+	 *         because the node has not been updated or is too far away.
+	 */
+	public int getCurrentLevel() {
+		return (current < levelCount ? current : UNSELECTED);
+	}
+
+	/**
+	 * Gets the fraction of each threshold distance by which the distance must
+	 * pass it before the level is switched.
+	 *
+	 * @return The hysteresis fraction.
+	 */
+	public float getHysteresis() {
+		return hysteresis;
+	}
+
+	/**
+	 * Sets the fraction of each threshold distance by which the distance must
+	 * pass it before the level is switched. The default is
+	 * {@value #DEFAULT_HYSTERESIS}.
+	 *
+	 * @param hysteresis
+	 *            The hysteresis fraction. This must be at least 0 and less
+	 *            than 1.
+	 * @throws IllegalArgumentException
+	 *             If the fraction is out of range.
+	 */
+	public void setHysteresis(float hysteresis) {
+		if (!(hysteresis >= 0f && hysteresis < 1f)) {
+			throw new IllegalArgumentException("LODNode error: "
+					+ "The hysteresis must be in the range [0, 1).");
+		}
+		this.hysteresis = hysteresis;
+		updateThresholds();
+		return;
+	}
+
+	/**
+	 * Shows the level of detail for the node's distance from a viewer. The
+	 * first update shows the level for the distance without hysteresis.
+	 *
+	 * @param viewPosition
+	 *            The viewer's position, e.g. the camera's position, in the
+	 *            same coordinate space as the node's world transformation.
+	 * @return True if the shown level changed, false otherwise.
+	 */
+	public boolean update(Vector3fc viewPosition) {
+		getWorldPosition(position);
+		float x = position.x - viewPosition.x();
+		float y = position.y - viewPosition.y();
+		float z = position.z - viewPosition.z();
+		float distanceSquared = x * x + y * y + z * z;
+
+		int level = current;
+		if (level == UNSELECTED) {
+			level = 0;
+			while (level < levelCount
+					&& distanceSquared > distances[level] * distances[level]) {
+				level++;
+			}
+		} else {
+			while (level < levelCount && distanceSquared > outerSquared[level]) {
+				level++;
+			}
+			while (level > 0 && distanceSquared < innerSquared[level - 1]) {
+				level--;
+			}
+		}
+		return show(level);
+	}
+
+	/**
+	 * Replaces the shown representation with that of a new level.
+	 *
+	 * @param level
+	 *            The new level, {@link #levelCount} to show nothing, or
+	 *            {@link #UNSELECTED}.
+	 * @return True if the level changed, false otherwise.
+	 */
+	private boolean show(int level) {
+		boolean changed = (level != current);
+		if (changed) {
+			if (current >= 0 && current < levelCount) {
+				getChildren().remove(levels[current]);
+			}
+			current = level;
+			if (current >= 0 && current < levelCount) {
+				getChildren().add(levels[current]);
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Recomputes the squared switching distances of the levels.
+	 */
+	private void updateThresholds() {
+		for (int i = 0; i < levelCount; i++) {
+			float outer = distances[i] * (1f + hysteresis);
+			float inner = distances[i] * (1f - hysteresis);
+			outerSquared[i] = outer * outer;
+			innerSquared[i] = inner * inner;
+		}
+		return;
+	}
+
+	/**
+	 * Checks that a level index is valid.
+	 *
+	 * @param level
+	 *            The index of the level.
+	 * @throws IndexOutOfBoundsException
+	 *             If the index is not a valid level index.
+	 */
+	private void checkLevel(int level) {
+		if (level < 0 || level >= levelCount) {
+			throw new IndexOutOfBoundsException("LODNode error: "
+					+ "Invalid level index " + level + ".");
+		}
+		return;
+	}
+}
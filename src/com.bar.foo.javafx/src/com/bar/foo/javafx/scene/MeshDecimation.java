@@ -0,0 +1,94 @@
+/**
+ *
+ */
+package com.bar.foo.javafx.scene;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import javafx.scene.shape.TriangleMesh;
+
+import com.bar.foo.math.MeshDecimator;
+
+/**
+ * This class builds the coarser levels of detail of a {@link TriangleMesh}
+ * in the background with a {@link MeshDecimator}, for use with an
+ * {@link LODNode}.
+ * <p>
+ * The mesh's arrays are copied on the calling thread, which should be the
+ * JavaFX application thread if the mesh is in a scene. The levels are then
+ * built in parallel on the common {@link ForkJoinPool}. The new meshes are
+ * not in a scene yet, so they can be created there too, but they must be
+ * added to the scene on the JavaFX application thread, e.g. with
+ * {@code Platform.runLater(Runnable)}.
+ * </p>
+ * <p>
+ * Only meshes with the default vertex format (a point and a texture
+ * coordinate for each vertex) are supported. The texture coordinates are
+ * shared with the source mesh. Face smoothing groups are not copied, so the
+ * coarser meshes are smooth everywhere.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public final class MeshDecimation {
+
+	/**
+	 * This class cannot be instantiated.
+	 */
+	private MeshDecimation() {
+		// Nothing to do.
+	}
+
+	/**
+	 * Starts building coarser versions of a mesh in the background.
+	 *
+	 * @param mesh
+	 *            The source mesh. This must not be {@code null}.
+	 * @param cellSizes
+	 *            The size of the cells used to merge points for each level.
+	 *            Each must be positive. See
+	 *            {@link MeshDecimator#decimate(float)}.
+	 * @return A future that completes with a new mesh for each cell size, in
+	 *         the same order. It completes exceptionally if the mesh's faces
+	 *         are malformed or a cell size is not positive.
+	 * @throws IllegalArgumentException
+	 *             If the mesh or array is {@code null} or the mesh does not
+	 *             have the default vertex format.
+	 */
+	public static CompletableFuture<TriangleMesh[]> decimate(TriangleMesh mesh,
+			final float[] cellSizes) {
+		if (mesh == null || cellSizes == null) {
+			throw new IllegalArgumentException("MeshDecimation error: "
+					+ "Null arguments not allowed.");
+		} else if (mesh.getFaceElementSize() != 6) {
+			throw new IllegalArgumentException("MeshDecimation error: "
+					+ "Only the default vertex format is supported.");
+		}
+
+		// Copy the mesh on this thread. The observable arrays must not be
+		// read while the scene may change them.
+		final float[] points = mesh.getPoints().toArray(null);
+		final float[] texCoords = mesh.getTexCoords().toArray(null);
+		final int[] faces = mesh.getFaces().toArray(null);
+		final float[] sizes = cellSizes.clone();
+
+		return CompletableFuture.supplyAsync(new Supplier<TriangleMesh[]>() {
+			@Override
+			public TriangleMesh[] get() {
+				MeshDecimator decimator = new MeshDecimator(points, faces);
+				MeshDecimator.Level[] levels = decimator.decimateAll(sizes);
+				TriangleMesh[] meshes = new TriangleMesh[levels.length];
+				for (int i = 0; i < levels.length; i++) {
+					meshes[i] = new TriangleMesh();
+					meshes[i].getPoints().setAll(levels[i].points);
+					meshes[i].getTexCoords().setAll(texCoords);
+					meshes[i].getFaces().setAll(levels[i].faces);
+				}
+				return meshes;
+			}
+		});
+	}
+}
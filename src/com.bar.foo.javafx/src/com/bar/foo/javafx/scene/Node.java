@@ -1,12 +1,46 @@
 package com.bar.foo.javafx.scene;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.geometry.Bounds;
 import javafx.scene.Group;
+import javafx.scene.Parent;
+
+import com.bar.foo.math.AABB;
+import com.bar.foo.math.Matrix4f;
+import com.bar.foo.math.Matrix4fc;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Quaternionc;
+import com.bar.foo.math.Vector3f;
 
 /**
  * This class provides a {@link Group} for 3D-based objects. It maintains added
  * 3D transformations so they are not re-calculated by the JavaFX rendering
  * engine.
- * 
+ * <p>
+ * Each node also caches its world transformation, which combines its
+ * {@link #transform} with those of its ancestor nodes, so that its world
+ * position, rotation, and bounds can be read without walking up the scene
+ * graph. Refreshing the transform only flags the node and its descendants as
+ * dirty (stopping at nodes that are already dirty), and the cache is
+ * recomputed the next time it is read. So however many times a subtree is
+ * edited during a pulse, each of its nodes is recomputed at most once when
+ * it is next read (e.g., for culling).
+ * </p>
+ * <p>
+ * Only the transforms of these nodes are included. Any other parents between
+ * two nodes (e.g., a plain {@link Group}) are treated as untransformed.
+ * Moving such a parent to a new parent still invalidates the cache of the
+ * nodes beneath it.
+ * </p>
+ * <p>
+ * Nodes may also be hidden by a {@link FrustumCuller} while they are outside
+ * the camera's view. See {@link #setCullable(boolean)}.
+ * </p>
+ *
  * @author Jordan Deyton
  *
  */
@@ -15,9 +49,263 @@ public class Node extends Group {
 	// TODO Change this to private and expose it via setters for scaling,
 	// rotating, and translating.
 	protected final GeneralTransform transform = new GeneralTransform();
-	
+
+	/**
+	 * The closest ancestor that is a {@link Node}, or {@code null} if there is
+	 * none. This is updated when this node or any of its {@link #ancestors} is
+	 * added to a new parent.
+	 */
+	private Node parentNode = null;
+	/**
+	 * The parents between this node and its {@link #parentNode} (e.g., plain
+	 * {@link Group}s). Moving one of them also moves this node, so the
+	 * {@link #parentListener} is added to each of them.
+	 */
+	private final List<Parent> ancestors = new ArrayList<Parent>();
+	/**
+	 * Finds the new parent node and invalidates the world transformation when
+	 * this node or one of its {@link #ancestors} is moved.
+	 */
+	private final InvalidationListener parentListener = new InvalidationListener() {
+		@Override
+		public void invalidated(Observable observable) {
+			updateParentNode();
+			invalidateWorldTransform();
+			// A node moved out of a culled scene should not stay hidden.
+			uncull();
+		}
+	};
+
+	/**
+	 * The cached world transformation.
+	 */
+	private final Matrix4f worldTransform = new Matrix4f(Matrix4f.IDENTITY);
+	/**
+	 * The cached world rotation.
+	 */
+	private final Quaternion worldRotation = new Quaternion(Quaternion.IDENTITY);
+	/**
+	 * The cached world bounds.
+	 */
+	private final AABB worldBounds = new AABB();
+	/**
+	 * Whether the {@link #worldTransform} and {@link #worldRotation} are out of
+	 * date. If a node is dirty, so are all of its descendants.
+	 */
+	private boolean worldDirty = true;
+	/**
+	 * Whether the {@link #worldBounds} are out of date.
+	 */
+	private boolean boundsDirty = true;
+
+	/**
+	 * Whether this node may be hidden by a {@link FrustumCuller}.
+	 */
+	private boolean cullable = true;
+	/**
+	 * Whether this node is currently hidden by a {@link FrustumCuller}.
+	 */
+	boolean culled = false;
+	/**
+	 * The frustum plane that last rejected this node. It is tested first the
+	 * next time the node is culled.
+	 */
+	int cullPlane = 0;
+
 	public Node() {
 		super();
 		getTransforms().add(transform);
+		transform.node = this;
+
+		// Find the new parent node and invalidate the world transformation
+		// when this node is moved.
+		parentProperty().addListener(parentListener);
+		// The world bounds also depend on the children.
+		boundsInLocalProperty().addListener(new InvalidationListener() {
+			@Override
+			public void invalidated(Observable observable) {
+				boundsDirty = true;
+			}
+		});
+		return;
+	}
+
+	// ---- World Transformation ---- //
+	/**
+	 * Gets the world transformation, which maps this node's local coordinates
+	 * to the coordinate space of its root node's parent.
+	 *
+	 * @return A read-only view of the cached world transformation.
+	 */
+	public Matrix4fc getWorldTransform() {
+		validateWorldTransform();
+		return worldTransform;
+	}
+
+	/**
+	 * Gets the world rotation, which combines this node's rotation with those
+	 * of its ancestor nodes.
+	 *
+	 * @return The cached world rotation.
+	 */
+	public Quaternionc getWorldRotation() {
+		validateWorldTransform();
+		return worldRotation;
+	}
+
+	/**
+	 * Gets the world position of this node's origin.
+	 *
+	 * @param cache
+	 *            The vector in which to store the position. If {@code null}, a
+	 *            new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3f getWorldPosition(Vector3f cache) {
+		validateWorldTransform();
+		return worldTransform.getTranslation(cache);
+	}
+
+	/**
+	 * Gets the bounds of this node's contents in world coordinates.
+	 *
+	 * @param cache
+	 *            The box in which to store the bounds. If {@code null}, a new
+	 *            box is created.
+	 * @return The <i>cache</i> box. This is empty if the node has no contents.
+	 */
+	public AABB getWorldBounds(AABB cache) {
+		if (cache == null) {
+			cache = new AABB();
+		}
+		if (boundsDirty || worldDirty) {
+			validateWorldTransform();
+			// The local bounds do not include this node's transforms.
+			Bounds bounds = getBoundsInLocal();
+			if (bounds.isEmpty()) {
+				worldBounds.setEmpty();
+			} else {
+				worldBounds.set((float) bounds.getMinX(),
+						(float) bounds.getMinY(), (float) bounds.getMinZ(),
+						(float) bounds.getMaxX(), (float) bounds.getMaxY(),
+						(float) bounds.getMaxZ()).transform(worldTransform);
+			}
+			boundsDirty = false;
+		}
+		return cache.set(worldBounds);
+	}
+
+	/**
+	 * Flags the world transformation of this node and its descendants as out
+	 * of date. This is called when the {@link #transform} is refreshed.
+	 */
+	void invalidateWorldTransform() {
+		// If this node is already dirty, so are its descendants.
+		if (!worldDirty) {
+			worldDirty = true;
+			boundsDirty = true;
+			invalidateChildren(this);
+		}
+		return;
+	}
+
+	/**
+	 * Recomputes the world transformation if it is out of date. Only dirty
+	 * ancestors are recomputed.
+	 */
+	private void validateWorldTransform() {
+		if (worldDirty) {
+			transform.getMatrix(worldTransform);
+			worldRotation.set(transform.rotation);
+			if (parentNode != null) {
+				parentNode.validateWorldTransform();
+				parentNode.worldTransform.multiply(worldTransform,
+						worldTransform);
+				parentNode.worldRotation.multiply(worldRotation, worldRotation);
+			}
+			worldDirty = false;
+		}
+		return;
+	}
+
+	/**
+	 * Finds the closest ancestor that is a {@link Node} and listens for any
+	 * of the parents in between being moved.
+	 */
+	private void updateParentNode() {
+		for (int i = 0; i < ancestors.size(); i++) {
+			ancestors.get(i).parentProperty().removeListener(parentListener);
+		}
+		ancestors.clear();
+		Parent parent = getParent();
+		while (parent != null && !(parent instanceof Node)) {
+			parent.parentProperty().addListener(parentListener);
+			ancestors.add(parent);
+			parent = parent.getParent();
+		}
+		parentNode = (Node) parent;
+		return;
+	}
+
+	/**
+	 * Invalidates the world transformation of the closest descendant nodes of
+	 * a parent. Their descendants are invalidated in turn.
+	 *
+	 * @param parent
+	 *            The parent whose children will be invalidated.
+	 */
+	private static void invalidateChildren(Parent parent) {
+		List<javafx.scene.Node> children = parent.getChildrenUnmodifiable();
+		for (int i = 0; i < children.size(); i++) {
+			javafx.scene.Node child = children.get(i);
+			if (child instanceof Node) {
+				((Node) child).invalidateWorldTransform();
+			} else if (child instanceof Parent) {
+				invalidateChildren((Parent) child);
+			}
+		}
+		return;
+	}
+	// ------------------------------ //
+
+	// ---- Culling ---- //
+	/**
+	 * Gets whether this node may be hidden by a {@link FrustumCuller} when it
+	 * is outside the view frustum.
+	 *
+	 * @return True if the node may be culled, false otherwise.
+	 */
+	public boolean isCullable() {
+		return cullable;
+	}
+
+	/**
+	 * Sets whether this node may be hidden by a {@link FrustumCuller} when it
+	 * is outside the view frustum. Nodes whose bounds do not cover what they
+	 * affect, like cameras and lights, should not be culled. Their
+	 * descendants may still be culled.
+	 *
+	 * @param cullable
+	 *            Whether the node may be culled. If false and the node is
+	 *            currently culled, it is shown.
+	 */
+	public void setCullable(boolean cullable) {
+		this.cullable = cullable;
+		if (!cullable) {
+			uncull();
+		}
+		return;
+	}
+
+	/**
+	 * Shows this node if it was hidden by a {@link FrustumCuller}.
+	 */
+	private void uncull() {
+		if (culled) {
+			culled = false;
+			setVisible(true);
+		}
+		return;
 	}
+	// ----------------- //
 }
@@ -0,0 +1,346 @@
+/**
+ *
+ */
+package com.bar.foo.javafx.scene;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.scene.Node;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.transform.Transform;
+
+import com.bar.foo.javafx.input.ControlManager;
+import com.bar.foo.javafx.input.IControlContributor;
+import com.bar.foo.javafx.input.MouseAnalogAction;
+import com.bar.foo.javafx.input.MouseCode;
+import com.bar.foo.javafx.input.MouseToggleAction;
+import com.bar.foo.javafx.scene.camera.FlyCamera;
+import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Ray;
+import com.bar.foo.math.RayHit;
+import com.bar.foo.math.TriangleBVH;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class finds the mesh under the mouse. Each pickable node is registered
+ * with a {@link TriangleBVH} built from its mesh. When the mouse moves or the
+ * primary button is pressed, a ray is cast from the {@link FlyCamera} through
+ * the mouse into each node's local space, and the closest node, face, and
+ * barycentric coordinates are reported to the {@link IPickListener}s.
+ * <p>
+ * The camera must be attached to the scene's root (or another node with no
+ * transform) so that its pick ray is in scene coordinates.
+ * </p>
+ * <p>
+ * Picks can also be made directly with {@link #pick(double, double)}, which
+ * does not need the controls to be registered. Picking re-uses its rays and
+ * hits, so it must only be done on the JavaFX application thread.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class Picker implements IControlContributor {
+
+	/**
+	 * The camera whose view is picked.
+	 */
+	private final FlyCamera camera;
+
+	/**
+	 * The pickable nodes.
+	 */
+	private final List<Node> nodes = new ArrayList<Node>();
+	/**
+	 * The trees for the meshes of the {@link #nodes}, in the same order.
+	 */
+	private final List<TriangleBVH> trees = new ArrayList<TriangleBVH>();
+	/**
+	 * The listeners notified of picks made with the mouse.
+	 */
+	private final List<IPickListener> listeners = new ArrayList<IPickListener>();
+
+	/**
+	 * The registered {@link ControlManager}, or {@code null} if the controls
+	 * are not registered.
+	 */
+	private ControlManager controls = null;
+	/**
+	 * The {@link ControlManager}s to which the mouse actions have been added.
+	 * Actions cannot be removed, so they are added to each manager only once
+	 * and ignore events unless their manager is the registered one.
+	 */
+	private final List<ControlManager> managers = new ArrayList<ControlManager>();
+
+	/**
+	 * The ray through the mouse in scene coordinates.
+	 */
+	private final Ray ray = new Ray();
+	/**
+	 * The ray through the mouse in a node's local coordinates.
+	 */
+	private final Ray localRay = new Ray();
+	/**
+	 * The closest hit from the last pick.
+	 */
+	private final RayHit hit = new RayHit();
+	/**
+	 * The inverse of a node's local-to-scene matrix.
+	 */
+	private final Matrix3f inverse = new Matrix3f();
+	/**
+	 * The translation of a node's scene-to-local transform.
+	 */
+	private final Vector3f translation = new Vector3f();
+
+	/**
+	 * Creates a picker for a camera's view.
+	 *
+	 * @param camera
+	 *            The camera. This must not be {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the camera is {@code null}.
+	 */
+	public Picker(FlyCamera camera) {
+		if (camera == null) {
+			throw new IllegalArgumentException("Picker error: "
+					+ "Null camera not allowed.");
+		}
+		this.camera = camera;
+		return;
+	}
+
+	/**
+	 * Makes a node pickable.
+	 *
+	 * @param node
+	 *            The node, usually a {@code MeshView}.
+	 * @param tree
+	 *            The tree built from the node's mesh, in the node's local
+	 *            coordinates.
+	 * @return True if the node was added, false if either argument was
+	 *         {@code null} or the node was already pickable.
+	 */
+	public boolean add(Node node, TriangleBVH tree) {
+		boolean added = false;
+		if (node != null && tree != null && !nodes.contains(node)) {
+			nodes.add(node);
+			trees.add(tree);
+			added = true;
+		}
+		return added;
+	}
+
+	/**
+	 * Stops a node from being pickable.
+	 *
+	 * @param node
+	 *            The node.
+	 * @return True if the node was removed, false if it was not pickable.
+	 */
+	public boolean remove(Node node) {
+		int index = nodes.indexOf(node);
+		if (index >= 0) {
+			nodes.remove(index);
+			trees.remove(index);
+		}
+		return index >= 0;
+	}
+
+	/**
+	 * Adds a listener for picks made with the mouse.
+	 *
+	 * @param listener
+	 *            The listener.
+	 * @return True if the listener was added, false if it was {@code null} or
+	 *         already added.
+	 */
+	public boolean addListener(IPickListener listener) {
+		boolean added = false;
+		if (listener != null && !listeners.contains(listener)) {
+			added = listeners.add(listener);
+		}
+		return added;
+	}
+
+	/**
+	 * Removes a listener for picks made with the mouse.
+	 *
+	 * @param listener
+	 *            The listener.
+	 * @return True if the listener was removed, false otherwise.
+	 */
+	public boolean removeListener(IPickListener listener) {
+		return listeners.remove(listener);
+	}
+
+	/**
+	 * Finds the closest pickable node under a point on the screen. Hidden
+	 * nodes and nodes outside the scene are skipped.
+	 *
+	 * @param sceneX
+	 *            The x coordinate of the point in the scene.
+	 * @param sceneY
+	 *            The y coordinate of the point in the scene.
+	 * @return The closest node, or {@code null} if nothing was hit. The face
+	 *         and barycentric coordinates are available from {@link #getHit()}.
+	 */
+	public Node pick(double sceneX, double sceneY) {
+		camera.getPickRay(sceneX, sceneY, ray);
+		hit.reset();
+
+		// The pick ray's direction is normalized, and the local rays are not
+		// renormalized, so the hit distances are all in scene units and can be
+		// compared across nodes.
+		Node picked = null;
+		for (int i = 0; i < nodes.size(); i++) {
+			Node node = nodes.get(i);
+			if (isShowing(node) && toLocal(node.getLocalToSceneTransform())
+					&& trees.get(i).intersect(localRay, hit)) {
+				picked = node;
+			}
+		}
+		return picked;
+	}
+
+	/**
+	 * Gets the closest hit from the last pick. This is re-used by each pick.
+	 *
+	 * @return The hit. Its face is -1 if nothing was hit.
+	 */
+	public RayHit getHit() {
+		return hit;
+	}
+
+	/**
+	 * Transforms the pick {@link #ray} into the local space of a node.
+	 *
+	 * @param transform
+	 *            The node's local-to-scene transform.
+	 * @return True if the {@link #localRay} was set, false if the transform is
+	 *         singular (e.g., the node is scaled to 0) and cannot be hit.
+	 */
+	private boolean toLocal(Transform transform) {
+		inverse.set((float) transform.getMxx(), (float) transform.getMxy(),
+				(float) transform.getMxz(), (float) transform.getMyx(),
+				(float) transform.getMyy(), (float) transform.getMyz(),
+				(float) transform.getMzx(), (float) transform.getMzy(),
+				(float) transform.getMzz());
+		if (inverse.determinant() == 0f) {
+			return false;
+		}
+		inverse.invert();
+		// The local point is M^-1 (p - t) = M^-1 p - M^-1 t.
+		translation.set((float) transform.getTx(), (float) transform.getTy(),
+				(float) transform.getTz());
+		inverse.multiply(translation, translation).negate();
+		ray.transform(inverse, translation, localRay);
+		return true;
+	}
+
+	/**
+	 * Determines whether a node and all of its ancestors are visible in a
+	 * scene.
+	 */
+	private static boolean isShowing(Node node) {
+		if (node.getScene() == null) {
+			return false;
+		}
+		while (node != null) {
+			if (!node.isVisible()) {
+				return false;
+			}
+			node = node.getParent();
+		}
+		return true;
+	}
+
+	/**
+	 * Picks the node under a mouse event and notifies the listeners.
+	 *
+	 * @param manager
+	 *            The manager whose action received the event.
+	 * @param event
+	 *            The mouse event.
+	 */
+	private void pick(ControlManager manager, MouseEvent event) {
+		// Actions cannot be removed from a ControlManager, so they are ignored
+		// unless their manager is the registered one.
+		if (manager == controls && event != null) {
+			Node node = pick(event.getSceneX(), event.getSceneY());
+			for (int i = 0; i < listeners.size(); i++) {
+				listeners.get(i).picked(node, hit, event);
+			}
+		}
+		return;
+	}
+
+	// ---- Implements IControlContributor ---- //
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * com.bar.foo.javafx.input.IControlContributor#registerControls(com.bar
+	 * .foo.javafx.input.ControlManager)
+	 */
+	@Override
+	public boolean registerControls(ControlManager controlManager) {
+		boolean registered = false;
+		if (controls == null && controlManager != null) {
+			// Update the reference to the registered ControlManager.
+			controls = controlManager;
+
+			// Pick whatever is under the mouse as it moves (e.g., to highlight
+			// it) and when the primary button is pressed (e.g., to select it).
+			// If this manager was registered before, its actions are re-used.
+			if (!managers.contains(controlManager)) {
+				managers.add(controlManager);
+				final ControlManager manager = controlManager;
+				manager.mouse.addAnalog(MouseCode.MOVE,
+						new MouseAnalogAction() {
+							@Override
+							public void run(float value, float timePerFrame,
+									MouseEvent event) {
+								pick(manager, event);
+							}
+						});
+				manager.mouse.addToggle(MouseCode.BUTTON_PRIMARY,
+						new MouseToggleAction() {
+							@Override
+							public void pressed(float timePerFrame,
+									MouseEvent event) {
+								pick(manager, event);
+							}
+
+							@Override
+							public void released(float timePerFrame,
+									MouseEvent event) {
+								// Nothing to do.
+							}
+						});
+			}
+
+			registered = true;
+		}
+		return registered;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.javafx.input.IControlContributor#unregisterControls()
+	 */
+	@Override
+	public boolean unregisterControls() {
+		boolean unregistered = false;
+		if (controls != null) {
+			// Update the reference to the registered ControlManager.
+			controls = null;
+			unregistered = true;
+		}
+		return unregistered;
+	}
+	// ---------------------------------------- //
+}
@@ -0,0 +1,113 @@
+/**
+ *
+ */
+package com.bar.foo.javafx.scene;
+
+import java.util.Arrays;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * This class collects the {@link GeneralTransform}s whose refreshes have been
+ * deferred and commits them together once per frame.
+ * <p>
+ * The commit is triggered by an {@link AnimationTimer}. JavaFX runs animation
+ * timers at the start of each pulse, before the scene is laid out and synced
+ * with the renderer, so this acts as a pre-pulse listener. The timer is only
+ * started when a transformation is added to an empty batch and is stopped
+ * once the batch has been committed, so deferred transformations without
+ * changes do not keep JavaFX pulsing.
+ * </p>
+ * <p>
+ * JavaFX runs the timers that were running when the pulse began. A timer
+ * started during a pulse is first run in the next pulse. Changes are thus
+ * committed in the same pulse only if the batch was started before the pulse
+ * (e.g., by an input handler). Changes that start the batch during a pulse
+ * (e.g., from an app's update loop) are committed in the next pulse and so
+ * are rendered one frame late. Such code should call
+ * {@link GeneralTransform#commitDeferred()} itself once it is done.
+ * </p>
+ * <p>
+ * Like the rest of the scene graph, this must only be used on the JavaFX
+ * application thread.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+final class RefreshBatch {
+
+	/**
+	 * The transformations waiting to be committed.
+	 */
+	private static GeneralTransform[] pending = new GeneralTransform[16];
+	/**
+	 * The number of {@link #pending} transformations.
+	 */
+	private static int size = 0;
+
+	/**
+	 * The timer that commits the pending transformations before the next
+	 * pulse. This is created when first needed, since creating it requires
+	 * the JavaFX toolkit. It only runs while there are pending
+	 * transformations.
+	 */
+	private static AnimationTimer timer = null;
+
+	/**
+	 * This class cannot be instantiated.
+	 */
+	private RefreshBatch() {
+		// Nothing to do.
+	}
+
+	/**
+	 * Adds a transformation to the batch. It will be committed before the
+	 * next pulse. A transformation should only be added once until it is
+	 * committed. The timer is started when the first one is added.
+	 *
+	 * @param transform
+	 *            The transformation.
+	 */
+	static void add(GeneralTransform transform) {
+		if (size == 0) {
+			if (timer == null) {
+				timer = new AnimationTimer() {
+					@Override
+					public void handle(long now) {
+						commit();
+					}
+				};
+			}
+			timer.start();
+		} else if (size == pending.length) {
+			pending = Arrays.copyOf(pending, size * 2);
+		}
+		pending[size++] = transform;
+		return;
+	}
+
+	/**
+	 * Commits every transformation in the batch. The timer is stopped once
+	 * the batch is empty.
+	 *
+	 * @return The number of transformations that were committed.
+	 */
+	static int commit() {
+		int committed = 0;
+		// Committing may, through listeners, add transformations to the
+		// batch, so keep going until it is empty.
+		for (int i = 0; i < size; i++) {
+			GeneralTransform transform = pending[i];
+			pending[i] = null;
+			if (transform.commit()) {
+				committed++;
+			}
+		}
+		size = 0;
+		if (timer != null) {
+			timer.stop();
+		}
+		return committed;
+	}
+}
@@ -0,0 +1,705 @@
+/**
+ *
+ */
+package com.bar.foo.javafx.scene;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Parent;
+import javafx.scene.paint.Material;
+import javafx.scene.shape.Box;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.DrawMode;
+import javafx.scene.shape.Mesh;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.Shape3D;
+import javafx.scene.shape.TriangleMesh;
+import javafx.scene.transform.Transform;
+
+import com.bar.foo.math.Matrix4f;
+import com.bar.foo.math.MeshBatch;
+
+/**
+ * This class merges the static shapes under a root that share a material into
+ * one {@link MeshView} per material. Scenes with thousands of small shapes
+ * spend most of each frame on per-node overhead. Batching them leaves JavaFX
+ * with one node and one draw per material.
+ * <p>
+ * {@link Box}es and {@link MeshView}s of {@link TriangleMesh}es with the
+ * default vertex format are batched. Each shape's transformation relative to
+ * the root (including any {@link GeneralTransform}s of the {@link Node}s in
+ * between) is baked into its points, the shape is removed from its parent,
+ * and the merged views are added to the root. Shapes that are hidden, not
+ * filled, or do not cull back faces are left alone, as are shapes whose
+ * parents are not {@link Group}s and the levels of {@link LODNode}s, which
+ * must stay separate to be switched.
+ * </p>
+ * <p>
+ * The merged arrays can be built in the background with
+ * {@link #batchAsync()}. When a batched shape or one of its former ancestors
+ * changes, {@link #update(javafx.scene.Node)} re-bakes only the shapes beneath
+ * it. A shape that only moved (or kept its number of points) is rewritten in
+ * place, so only its range of the merged mesh is sent to JavaFX again. The
+ * merged meshes of other materials are not touched. {@link #unbatch()} puts
+ * the original shapes back.
+ * </p>
+ * <p>
+ * Apart from the background merge, the batcher must only be used on the
+ * JavaFX application thread.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class StaticBatcher {
+
+	/**
+	 * Runs tasks on the JavaFX application thread.
+	 */
+	private static final Executor FX_EXECUTOR = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			Platform.runLater(command);
+		}
+	};
+
+	/**
+	 * Orders members by their original indices in their parents.
+	 */
+	private static final Comparator<Member> MEMBER_ORDER =
+			new Comparator<Member>() {
+				@Override
+				public int compare(Member a, Member b) {
+					return Integer.compare(a.index, b.index);
+				}
+			};
+
+	/**
+	 * A batched shape.
+	 */
+	private static final class Member {
+		private final Shape3D shape;
+		/**
+		 * The shape's parent before it was batched.
+		 */
+		private final Group parent;
+		/**
+		 * The shape's index in its parent's children before it was batched.
+		 */
+		private final int index;
+		private float[] points;
+		private float[] texCoords;
+		private int[] faces;
+		private int[] smoothingGroups;
+		/**
+		 * The transformation from the shape to the root.
+		 */
+		private final Matrix4f transform = new Matrix4f();
+		/**
+		 * The shape's index in its batch's {@link MeshBatch}.
+		 */
+		private int batchIndex;
+
+		private Member(Shape3D shape, Group parent, int index) {
+			this.shape = shape;
+			this.parent = parent;
+			this.index = index;
+		}
+	}
+
+	/**
+	 * The shapes sharing a material and their merged view.
+	 */
+	private static final class Batch {
+		private final Material material;
+		private final List<Member> members = new ArrayList<Member>();
+		private MeshBatch meshBatch;
+		private TriangleMesh mesh;
+		private MeshView view;
+
+		private Batch(Material material) {
+			this.material = material;
+		}
+	}
+
+	/**
+	 * The root whose shapes are batched.
+	 */
+	private final Group root;
+
+	/**
+	 * The batches for each material, in the order their first shapes were
+	 * found.
+	 */
+	private final Map<Material, Batch> batches = new LinkedHashMap<Material, Batch>();
+	/**
+	 * Whether the shapes have been collected into {@link #batches}.
+	 */
+	private boolean batched = false;
+
+	/**
+	 * A transformation used when computing members' transformations.
+	 */
+	private final Matrix4f parentTransform = new Matrix4f();
+
+	/**
+	 * Creates a batcher for the shapes under a root. The root must be a
+	 * {@link Group} so that the merged views can be added to it.
+	 *
+	 * @param root
+	 *            The root. This must not be {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the root is {@code null}.
+	 */
+	public StaticBatcher(Group root) {
+		if (root == null) {
+			throw new IllegalArgumentException("StaticBatcher error: "
+					+ "Null root not allowed.");
+		}
+		this.root = root;
+		return;
+	}
+
+	/**
+	 * Batches the shapes under the root, merging them on this thread.
+	 *
+	 * @throws IllegalStateException
+	 *             If the shapes are already batched.
+	 */
+	public void batch() {
+		collect();
+		merge();
+		apply();
+		return;
+	}
+
+	/**
+	 * Batches the shapes under the root, merging them in the background. The
+	 * shapes are collected on this thread, and they are replaced with the
+	 * merged views on the JavaFX application thread once merged. Until then,
+	 * the shapes must not be changed.
+	 *
+	 * @return A future that completes once the shapes are replaced.
+	 * @throws IllegalStateException
+	 *             If the shapes are already batched.
+	 */
+	public CompletableFuture<Void> batchAsync() {
+		collect();
+		return CompletableFuture.runAsync(new Runnable() {
+			@Override
+			public void run() {
+				merge();
+			}
+		}, ForkJoinPool.commonPool()).thenRunAsync(new Runnable() {
+			@Override
+			public void run() {
+				apply();
+			}
+		}, FX_EXECUTOR);
+	}
+
+	/**
+	 * Re-bakes the batched shapes at or beneath a node after it changed,
+	 * e.g. after a shape's material changed or a node's transform was
+	 * refreshed. Only the affected ranges of the merged meshes are updated
+	 * where possible. Batches whose members changed materials or numbers of
+	 * points are rebuilt on this thread.
+	 *
+	 * @param changed
+	 *            The batched shape or former ancestor that changed.
+	 * @return The number of shapes re-baked.
+	 * @throws IllegalStateException
+	 *             If the shapes are not batched.
+	 */
+	public int update(javafx.scene.Node changed) {
+		if (!batched) {
+			throw new IllegalStateException("StaticBatcher error: "
+					+ "The shapes are not batched.");
+		}
+		List<Batch> rebuilt = new ArrayList<Batch>();
+		List<Member> moved = new ArrayList<Member>();
+		int count = 0;
+
+		for (Batch batch : batches.values()) {
+			for (int i = batch.members.size() - 1; i >= 0; i--) {
+				Member member = batch.members.get(i);
+				if (!isAffected(member, changed)) {
+					continue;
+				}
+				count++;
+				float[] oldTexCoords = member.texCoords;
+				int[] oldFaces = member.faces;
+				int[] oldSmoothingGroups = member.smoothingGroups;
+				if (!isBatchable(member.shape) || !read(member)) {
+					// The shape can no longer be batched, so put it back.
+					batch.members.remove(i);
+					restore(member);
+					addOnce(rebuilt, batch);
+				} else if (member.shape.getMaterial() != batch.material) {
+					batch.members.remove(i);
+					moved.add(member);
+					addOnce(rebuilt, batch);
+				} else if (!rebuilt.contains(batch)) {
+					// Rewrite the shape's range in place if its faces are the
+					// same.
+					boolean inPlace = Arrays.equals(oldFaces, member.faces)
+							&& Arrays.equals(oldTexCoords, member.texCoords)
+							&& Arrays.equals(oldSmoothingGroups,
+									member.smoothingGroups)
+							&& batch.meshBatch.update(member.batchIndex,
+									member.points, member.transform);
+					if (inPlace) {
+						MeshBatch meshBatch = batch.meshBatch;
+						int index = member.batchIndex;
+						int offset = meshBatch.getPointOffset(index) * 3;
+						int length = meshBatch.getPointCount(index) * 3;
+						batch.mesh.getPoints().set(offset,
+								meshBatch.getPoints(), offset, length);
+						offset = meshBatch.getFaceOffset(index) * 6;
+						length = meshBatch.getFaceCount(index) * 6;
+						batch.mesh.getFaces().set(offset, meshBatch.getFaces(),
+								offset, length);
+					} else {
+						addOnce(rebuilt, batch);
+					}
+				}
+			}
+		}
+
+		// Move the shapes whose materials changed to their new batches.
+		for (int i = 0; i < moved.size(); i++) {
+			Member member = moved.get(i);
+			Batch batch = getBatch(member.shape.getMaterial());
+			batch.members.add(member);
+			addOnce(rebuilt, batch);
+		}
+		for (int i = 0; i < rebuilt.size(); i++) {
+			Batch batch = rebuilt.get(i);
+			merge(batch);
+			show(batch);
+		}
+		return count;
+	}
+
+	/**
+	 * Removes the merged views and puts the batched shapes back in their
+	 * parents, in their original order.
+	 */
+	public void unbatch() {
+		List<Member> members = new ArrayList<Member>();
+		for (Batch batch : batches.values()) {
+			if (batch.view != null) {
+				root.getChildren().remove(batch.view);
+			}
+			members.addAll(batch.members);
+		}
+		// The batches are in material order, so siblings must be re-inserted
+		// by ascending index for each to land at its original position.
+		Collections.sort(members, MEMBER_ORDER);
+		for (int i = 0; i < members.size(); i++) {
+			restore(members.get(i));
+		}
+		batches.clear();
+		batched = false;
+		return;
+	}
+
+	/**
+	 * Gets whether the shapes are batched. This is true as soon as a batch is
+	 * started, even if it is merging in the background.
+	 *
+	 * @return True if the shapes are batched, false otherwise.
+	 */
+	public boolean isBatched() {
+		return batched;
+	}
+
+	/**
+	 * Gets the number of merged views, one for each material.
+	 *
+	 * @return The number of batches.
+	 */
+	public int getBatchCount() {
+		int count = 0;
+		for (Batch batch : batches.values()) {
+			if (!batch.members.isEmpty()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the number of batched shapes.
+	 *
+	 * @return The number of shapes replaced by merged views.
+	 */
+	public int getShapeCount() {
+		int count = 0;
+		for (Batch batch : batches.values()) {
+			count += batch.members.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the merged view for a material.
+	 *
+	 * @param material
+	 *            The material. This may be {@code null}.
+	 * @return The merged view, or {@code null} if no shapes with the
+	 *         material are batched.
+	 */
+	public MeshView getView(Material material) {
+		Batch batch = batches.get(material);
+		return (batch != null && !batch.members.isEmpty() ? batch.view : null);
+	}
+
+	// ---- Batching ---- //
+	/**
+	 * Finds the batchable shapes under the root and reads their meshes.
+	 *
+	 * @throws IllegalStateException
+	 *             If the shapes are already batched.
+	 */
+	private void collect() {
+		if (batched) {
+			throw new IllegalStateException("StaticBatcher error: "
+					+ "The shapes are already batched.");
+		}
+		batched = true;
+		collect(root);
+		return;
+	}
+
+	/**
+	 * Finds the batchable shapes under a parent and reads their meshes. Only
+	 * the shapes in {@link Group}s are batched, since the children of other
+	 * parents (e.g., layout panes) may not be modifiable.
+	 *
+	 * @param parent
+	 *            The parent.
+	 */
+	private void collect(Parent parent) {
+		List<javafx.scene.Node> children = parent.getChildrenUnmodifiable();
+		for (int i = 0; i < children.size(); i++) {
+			javafx.scene.Node child = children.get(i);
+			if (child instanceof Shape3D && parent instanceof Group) {
+				Shape3D shape = (Shape3D) child;
+				Member member = new Member(shape, (Group) parent, i);
+				if (isBatchable(shape) && read(member)) {
+					getBatch(shape.getMaterial()).members.add(member);
+				}
+			} else if (child instanceof Parent && !(child instanceof LODNode)
+					&& (child.isVisible() || isCulled(child))) {
+				// Nodes hidden by a culler are still batched.
+				collect((Parent) child);
+			}
+		}
+		return;
+	}
+
+	/**
+	 * Merges every batch's members.
+	 */
+	private void merge() {
+		for (Batch batch : batches.values()) {
+			merge(batch);
+		}
+		return;
+	}
+
+	/**
+	 * Merges a batch's members into a new {@link MeshBatch}.
+	 *
+	 * @param batch
+	 *            The batch.
+	 */
+	private void merge(Batch batch) {
+		MeshBatch meshBatch = new MeshBatch();
+		for (int i = 0; i < batch.members.size(); i++) {
+			Member member = batch.members.get(i);
+			member.batchIndex = meshBatch.add(member.points, member.texCoords,
+					member.faces, member.smoothingGroups, member.transform);
+		}
+		meshBatch.build(true);
+		batch.meshBatch = meshBatch;
+		return;
+	}
+
+	/**
+	 * Replaces the batched shapes with the merged views.
+	 */
+	private void apply() {
+		for (Batch batch : batches.values()) {
+			for (int i = 0; i < batch.members.size(); i++) {
+				Member member = batch.members.get(i);
+				member.parent.getChildren().remove(member.shape);
+			}
+			show(batch);
+		}
+		return;
+	}
+
+	/**
+	 * Sends a batch's merged arrays to its view, creating the view if needed,
+	 * or removes the view if the batch is empty.
+	 *
+	 * @param batch
+	 *            The batch.
+	 */
+	private void show(Batch batch) {
+		if (batch.members.isEmpty()) {
+			if (batch.view != null) {
+				root.getChildren().remove(batch.view);
+				batch.view = null;
+				batch.mesh = null;
+			}
+		} else {
+			if (batch.view == null) {
+				batch.mesh = new TriangleMesh();
+				batch.view = new MeshView(batch.mesh);
+				batch.view.setMaterial(batch.material);
+				root.getChildren().add(batch.view);
+			}
+			MeshBatch meshBatch = batch.meshBatch;
+			batch.mesh.getPoints().setAll(meshBatch.getPoints());
+			batch.mesh.getTexCoords().setAll(meshBatch.getTexCoords());
+			batch.mesh.getFaces().setAll(meshBatch.getFaces());
+			batch.mesh.getFaceSmoothingGroups().setAll(
+					meshBatch.getSmoothingGroups());
+		}
+		return;
+	}
+
+	/**
+	 * Puts a batched shape back in its parent at its original position (or
+	 * the end, if the parent has fewer children now).
+	 *
+	 * @param member
+	 *            The member.
+	 */
+	private static void restore(Member member) {
+		List<javafx.scene.Node> children = member.parent.getChildren();
+		if (member.shape.getParent() == null) {
+			children.add(Math.min(member.index, children.size()), member.shape);
+		}
+		return;
+	}
+	// ------------------ //
+
+	// ---- Members ---- //
+	/**
+	 * Gets the batch for a material, creating it if necessary.
+	 *
+	 * @param material
+	 *            The material.
+	 * @return The batch.
+	 */
+	private Batch getBatch(Material material) {
+		Batch batch = batches.get(material);
+		if (batch == null) {
+			batch = new Batch(material);
+			batches.put(material, batch);
+		}
+		return batch;
+	}
+
+	/**
+	 * Determines whether a shape can be batched.
+	 *
+	 * @param shape
+	 *            The shape.
+	 * @return True if the shape is a visible, filled box or triangle mesh
+	 *         view that culls back faces, false otherwise.
+	 */
+	private static boolean isBatchable(Shape3D shape) {
+		boolean batchable = shape.isVisible()
+				&& shape.getDrawMode() == DrawMode.FILL
+				&& shape.getCullFace() == CullFace.BACK;
+		if (batchable && shape instanceof MeshView) {
+			Mesh mesh = ((MeshView) shape).getMesh();
+			batchable = (mesh instanceof TriangleMesh && ((TriangleMesh) mesh)
+					.getFaceElementSize() == 6);
+		} else if (batchable) {
+			batchable = (shape instanceof Box);
+		}
+		return batchable;
+	}
+
+	/**
+	 * Determines whether a node is hidden by a {@link FrustumCuller} rather
+	 * than by the application.
+	 *
+	 * @param node
+	 *            The node.
+	 * @return True if the node is culled, false otherwise.
+	 */
+	private static boolean isCulled(javafx.scene.Node node) {
+		return node instanceof Node && ((Node) node).culled;
+	}
+
+	/**
+	 * Determines whether a member is at or beneath a changed node.
+	 *
+	 * @param member
+	 *            The member.
+	 * @param changed
+	 *            The changed node.
+	 * @return True if the member is affected by the change, false otherwise.
+	 */
+	private boolean isAffected(Member member, javafx.scene.Node changed) {
+		boolean affected = (member.shape == changed);
+		Parent parent = member.parent;
+		while (!affected && parent != null && parent != root) {
+			affected = (parent == changed);
+			parent = parent.getParent();
+		}
+		return affected;
+	}
+
+	/**
+	 * Reads a member's mesh and its transformation relative to the root.
+	 *
+	 * @param member
+	 *            The member.
+	 * @return True if the member was read, false if its parent is no longer
+	 *         beneath the root.
+	 */
+	private boolean read(Member member) {
+		// Combine the transforms from the shape up to the root.
+		Matrix4f transform = getMatrix(
+				member.shape.getLocalToParentTransform(), member.transform);
+		Parent parent = member.parent;
+		while (parent != null && parent != root) {
+			getMatrix(parent.getLocalToParentTransform(), parentTransform)
+					.multiply(transform, transform);
+			parent = parent.getParent();
+		}
+		if (parent == null) {
+			return false;
+		}
+
+		if (member.shape instanceof Box) {
+			Box box = (Box) member.shape;
+			member.points = createBoxPoints((float) box.getWidth(),
+					(float) box.getHeight(), (float) box.getDepth());
+			member.texCoords = BOX_TEX_COORDS;
+			member.faces = BOX_FACES;
+			member.smoothingGroups = BOX_SMOOTHING_GROUPS;
+		} else {
+			TriangleMesh mesh = (TriangleMesh) ((MeshView) member.shape)
+					.getMesh();
+			member.points = mesh.getPoints().toArray(null);
+			member.texCoords = mesh.getTexCoords().toArray(null);
+			member.faces = mesh.getFaces().toArray(null);
+			member.smoothingGroups = mesh.getFaceSmoothingGroups().toArray(
+					null);
+		}
+		return true;
+	}
+
+	/**
+	 * Copies a JavaFX transformation into a matrix.
+	 *
+	 * @param transform
+	 *            The JavaFX transformation.
+	 * @param cache
+	 *            The matrix in which to store it.
+	 * @return The <i>cache</i> matrix.
+	 */
+	private static Matrix4f getMatrix(Transform transform, Matrix4f cache) {
+		return cache.set((float) transform.getMxx(),
+				(float) transform.getMxy(), (float) transform.getMxz(),
+				(float) transform.getTx(), (float) transform.getMyx(),
+				(float) transform.getMyy(), (float) transform.getMyz(),
+				(float) transform.getTy(), (float) transform.getMzx(),
+				(float) transform.getMzy(), (float) transform.getMzz(),
+				(float) transform.getTz(), 0f, 0f, 0f, 1f);
+	}
+
+	/**
+	 * Adds a batch to a list if it is not already in it.
+	 *
+	 * @param list
+	 *            The list.
+	 * @param batch
+	 *            The batch.
+	 */
+	private static void addOnce(List<Batch> list, Batch batch) {
+		if (!list.contains(batch)) {
+			list.add(batch);
+		}
+		return;
+	}
+	// ----------------- //
+
+	// ---- Box mesh ---- //
+	/**
+	 * The texture coordinates of a box, one set for the corners of each side.
+	 */
+	private static final float[] BOX_TEX_COORDS = new float[] { 0f, 0f, 1f,
+			0f, 1f, 1f, 0f, 1f };
+	/**
+	 * The faces of a box, two on each side, with their fronts facing out.
+	 */
+	private static final int[] BOX_FACES = new int[] {
+			0, 0, 2, 2, 1, 1,
+			2, 2, 0, 0, 3, 3,
+			1, 0, 6, 2, 5, 1,
+			6, 2, 1, 0, 2, 3,
+			5, 0, 7, 2, 4, 1,
+			7, 2, 5, 0, 6, 3,
+			4, 0, 3, 2, 0, 1,
+			3, 2, 4, 0, 7, 3,
+			3, 0, 6, 2, 2, 1,
+			6, 2, 3, 0, 7, 3,
+			4, 0, 1, 2, 5, 1,
+			1, 2, 4, 0, 0, 3 };
+	/**
+	 * The smoothing groups of a box's faces. The sides are, in order, -z, +x,
+	 * +z, -x, +y, and -y. Opposite sides share a group, so adjacent sides are
+	 * in different groups and their edges stay sharp.
+	 */
+	private static final int[] BOX_SMOOTHING_GROUPS = new int[] { 1, 1, 2, 2,
+			1, 1, 2, 2, 4, 4, 4, 4 };
+
+	/**
+	 * Creates the corners of a box centered on the origin, as JavaFX does.
+	 *
+	 * @param width
+	 *            The box's size along the x axis.
+	 * @param height
+	 *            The box's size along the y axis.
+	 * @param depth
+	 *            The box's size along the z axis.
+	 * @return The points for the {@link #BOX_FACES}.
+	 */
+	private static float[] createBoxPoints(float width, float height,
+			float depth) {
+		float w = width * 0.5f;
+		float h = height * 0.5f;
+		float d = depth * 0.5f;
+		return new float[] {
+				-w, -h, -d,
+				w, -h, -d,
+				w, h, -d,
+				-w, h, -d,
+				-w, -h, d,
+				w, -h, d,
+				w, h, d,
+				-w, h, d };
+	}
+	// ------------------ //
+}
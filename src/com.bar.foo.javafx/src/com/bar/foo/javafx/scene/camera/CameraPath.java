@@ -0,0 +1,216 @@
+/**
+ *
+ */
+package com.bar.foo.javafx.scene.camera;
+
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.QuaternionTrack;
+import com.bar.foo.math.Spline;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * This class plays a scripted fly-through on a {@link FlyCamera}. The camera's
+ * position follows a {@link Spline} at a constant speed, and its rotation, if
+ * set, follows a {@link QuaternionTrack} sampled with SQUAD so that it turns
+ * smoothly through each key.
+ * <p>
+ * The path should be updated once per frame, e.g. from
+ * {@link com.bar.foo.javafx.app.AppMode#updateMode(float)}. Each update
+ * samples the spline and track in constant time and poses the camera with
+ * {@link FlyCamera#setPose(com.bar.foo.math.Vector3fc, com.bar.foo.math.Quaternionc)
+ * setPose}, so playing a path creates no objects.
+ * </p>
+ * <p>
+ * By default, the path advances by the time per frame passed to
+ * {@link #update(float)}. To play back a recorded path at a locked frame rate
+ * regardless of how long frames actually take, set a fixed time step with
+ * {@link #setFixedStep(float)}.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class CameraPath {
+
+	/**
+	 * The camera moved by this path.
+	 */
+	private final FlyCamera camera;
+	/**
+	 * Samples the camera's position by distance.
+	 */
+	private final Spline.Sampler positions;
+	/**
+	 * Samples the camera's rotation by time, or null to leave the rotation
+	 * alone.
+	 */
+	private final QuaternionTrack.Sampler rotations;
+
+	/**
+	 * The speed at which the camera moves along the spline.
+	 */
+	private float speed;
+	/**
+	 * The fixed amount of time each update advances, or 0 to use the time per
+	 * frame.
+	 */
+	private float fixedStep = 0f;
+	/**
+	 * Whether the path restarts when it reaches its end.
+	 */
+	private boolean looping = false;
+	/**
+	 * The current time along the path.
+	 */
+	private float time = 0f;
+
+	/**
+	 * The position sampled from the spline.
+	 */
+	private final Vector3f position = new Vector3f();
+	/**
+	 * The rotation sampled from the track. This is the identity if there is
+	 * no track.
+	 */
+	private final Quaternion rotation = new Quaternion();
+
+	/**
+	 * Creates a path for a camera.
+	 *
+	 * @param camera
+	 *            The camera to move.
+	 * @param spline
+	 *            The path the camera's position follows.
+	 * @param speed
+	 *            The speed at which the camera moves along the spline, in
+	 *            distance per second. This must be positive.
+	 * @param track
+	 *            The camera's rotation over time, in seconds, or null to keep
+	 *            the camera's current rotation.
+	 * @throws IllegalArgumentException
+	 *             If the camera or spline is null or the speed is not
+	 *             positive.
+	 */
+	public CameraPath(FlyCamera camera, Spline spline, float speed,
+			QuaternionTrack track) {
+		if (camera == null || spline == null) {
+			throw new IllegalArgumentException("CameraPath error: "
+					+ "Null camera or spline not allowed.");
+		} else if (!(speed > 0f)) {
+			throw new IllegalArgumentException("CameraPath error: "
+					+ "The speed must be positive.");
+		}
+		this.camera = camera;
+		this.speed = speed;
+		positions = spline.sampler();
+		rotations = (track != null ? track.sampler() : null);
+		return;
+	}
+
+	/**
+	 * Advances the path and poses the camera. This should be called once per
+	 * frame.
+	 *
+	 * @param timePerFrame
+	 *            The time since the last frame, in seconds. This is ignored
+	 *            if a fixed step is set.
+	 * @return True if the path is still playing, false if it has reached its
+	 *         end (this is never false for a looping path).
+	 */
+	public boolean update(float timePerFrame) {
+		float step = (fixedStep > 0f ? fixedStep : timePerFrame);
+		return setTime(time + step);
+	}
+
+	/**
+	 * Moves to a time along the path and poses the camera.
+	 *
+	 * @param time
+	 *            The new time, in seconds. This is clamped to the path's
+	 *            duration or, if the path is looping, wrapped around it.
+	 * @return True if the time is before the end of the path, false
+	 *         otherwise (this is never false for a looping path).
+	 */
+	public boolean setTime(float time) {
+		float duration = getDuration();
+		boolean playing = true;
+		if (time >= duration) {
+			if (looping && duration > 0f) {
+				time %= duration;
+			} else {
+				time = duration;
+				playing = false;
+			}
+		} else if (time < 0f) {
+			time = 0f;
+		}
+		this.time = time;
+
+		positions.sample(time * speed, position);
+		if (rotations != null) {
+			rotations.sampleSmooth(time, rotation);
+			camera.setPose(position, rotation);
+		} else {
+			// Only the translation changes, so skip the rotation refresh.
+			camera.setPosition(position);
+		}
+		return playing;
+	}
+
+	/**
+	 * Gets the current time along the path.
+	 *
+	 * @return The current time, in seconds.
+	 */
+	public float getTime() {
+		return time;
+	}
+
+	/**
+	 * Gets the time the camera takes to travel the whole spline.
+	 *
+	 * @return The duration of the path, in seconds.
+	 */
+	public float getDuration() {
+		return positions.getSpline().getLength() / speed;
+	}
+
+	/**
+	 * Sets the speed at which the camera moves along the spline. The current
+	 * time is not changed, so the camera may jump along the spline on the
+	 * next update.
+	 *
+	 * @param speed
+	 *            The new speed, in distance per second. This should be
+	 *            positive.
+	 */
+	public void setSpeed(float speed) {
+		if (speed > 0f) {
+			this.speed = speed;
+		}
+	}
+
+	/**
+	 * Sets a fixed amount of time to advance with each update.
+	 *
+	 * @param fixedStep
+	 *            The fixed time step in seconds, e.g. 1/60 for a path
+	 *            recorded at 60 frames per second. If 0, each update advances
+	 *            by the time per frame.
+	 */
+	public void setFixedStep(float fixedStep) {
+		if (fixedStep >= 0f) {
+			this.fixedStep = fixedStep;
+		}
+	}
+
+	/**
+	 * Sets whether the path restarts when it reaches its end.
+	 *
+	 * @param looping
+	 *            Whether or not the path should loop.
+	 */
+	public void setLooping(boolean looping) {
+		this.looping = looping;
+	}
+}
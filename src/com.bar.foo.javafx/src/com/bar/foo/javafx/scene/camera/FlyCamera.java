@@ -3,6 +3,8 @@
  */
 package com.bar.foo.javafx.scene.camera;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.scene.Camera;
 import javafx.scene.PerspectiveCamera;
 import javafx.scene.Scene;
@@ -14,11 +16,17 @@ import com.bar.foo.javafx.input.ControlManager;
 import com.bar.foo.javafx.input.IControlContributor;
 import com.bar.foo.javafx.input.KeyAnalogAction;
 import com.bar.foo.javafx.input.KeyToggleAction;
+import com.bar.foo.javafx.scene.GeneralTransform;
 import com.bar.foo.javafx.scene.Node;
 import com.bar.foo.math.FloatMath;
+import com.bar.foo.math.Frustum;
 import com.bar.foo.math.Matrix3f;
 import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Quaternionc;
+import com.bar.foo.math.Ray;
+import com.bar.foo.math.Scratch;
 import com.bar.foo.math.Vector3f;
+import com.bar.foo.math.Vector3fc;
 
 /**
  * This class provides a "flying" camera that includes setters used to imitate,
@@ -29,6 +37,10 @@ import com.bar.foo.math.Vector3f;
  * <p>
  * This class extends {@link Node} and wraps a JavaFX {@link PerspectiveCamera}.
  * </p>
+ * <p>
+ * The camera's view {@link Frustum} is available via {@link #getFrustum()}
+ * so that scene code can skip work for objects that are off-screen.
+ * </p>
  * 
  * @author Jordan Deyton
  *
@@ -51,6 +63,35 @@ public class FlyCamera extends Node implements IControlContributor {
 
 	private ControlManager controls = null;
 
+	/**
+	 * The camera's view frustum in the coordinate space of this camera's
+	 * parent. This is only recomputed when requested after the camera has
+	 * changed.
+	 */
+	private final Frustum frustum = new Frustum();
+	/**
+	 * Whether or not the camera's projection has changed since the
+	 * {@link #frustum} was last computed.
+	 */
+	private boolean frustumDirty = true;
+	/**
+	 * The {@link GeneralTransform#getRefreshCount() refresh count} of the
+	 * camera's {@link #transform} when the {@link #frustum} was last computed.
+	 * The frustum is out of date if the transform has been refreshed since,
+	 * whoever refreshed it.
+	 */
+	private int frustumRefreshCount = 0;
+	/**
+	 * Marks the {@link #frustum} as out of date when a property affecting the
+	 * projection, such as the field of view or the scene size, changes.
+	 */
+	private final InvalidationListener projectionListener = new InvalidationListener() {
+		@Override
+		public void invalidated(Observable observable) {
+			frustumDirty = true;
+		}
+	};
+
 	/**
 	 * The rate at which the camera moves forward, backward, and sideways.
 	 */
@@ -64,15 +105,10 @@ public class FlyCamera extends Node implements IControlContributor {
 	 */
 	private float zoomRate = 10f;
 
-	private final Vector3f defaultDir = new Vector3f(0f, 0f, -1f);
-	private final Vector3f defaultUp = new Vector3f(0f, 1f, 0f);
-	private final Vector3f defaultRight = new Vector3f(1f, 0f, 0f);
+	private static final Vector3fc defaultDir = Vector3f.constant(0f, 0f, -1f);
+	private static final Vector3fc defaultUp = Vector3f.UNIT_Y;
+	private static final Vector3fc defaultRight = Vector3f.UNIT_X;
 	
-	/**
-	 * The current position or location of the camera.
-	 */
-	private final Vector3f position = new Vector3f();
-
 	/**
 	 * The current direction in which the camera points.
 	 */
@@ -113,6 +149,11 @@ public class FlyCamera extends Node implements IControlContributor {
 		// Set the limits for rendering objects.
 		camera.setNearClip(0.1);
 		camera.setFarClip(10000.0);
+		// Update the frustum when the projection changes.
+		camera.fieldOfViewProperty().addListener(projectionListener);
+		camera.verticalFieldOfViewProperty().addListener(projectionListener);
+		camera.nearClipProperty().addListener(projectionListener);
+		camera.farClipProperty().addListener(projectionListener);
 		// The camera starts off with positive y going top to bottom and
 		// positive z going into the screen. This rotates the camera 180 degrees
 		// around the x axis so y increases up and z increases to the user. Note
@@ -120,6 +161,11 @@ public class FlyCamera extends Node implements IControlContributor {
 		camera.getTransforms().add(new Rotate(180.0, Rotate.X_AXIS));
 		// Attach the PerspectiveCamera to this Node (Group).
 		getChildren().add(camera);
+		// Several controls may move the camera in the same frame, so only
+		// apply the changes to the transform once per frame.
+		transform.setDeferred(true);
+		// The camera's bounds do not cover its view, so it must not be culled.
+		setCullable(false);
 
 		// Views the scene from the positive x = z axis.
 //		setPosition(new Vector3f(1000f, 0f, 1000f));
@@ -156,17 +202,138 @@ public class FlyCamera extends Node implements IControlContributor {
 			// Unset the JavaFX Camera from the previous scene.
 			if (this.scene != null) {
 				this.scene.setCamera(null);
+				this.scene.widthProperty().removeListener(projectionListener);
+				this.scene.heightProperty().removeListener(projectionListener);
 			}
 			// Set the reference to the new scene.
 			this.scene = scene;
 			// Set the JavaFX Camera for the new scene if possible.
 			if (scene != null) {
 				scene.setCamera(camera);
+				// The aspect ratio depends on the scene size.
+				scene.widthProperty().addListener(projectionListener);
+				scene.heightProperty().addListener(projectionListener);
 			}
+			frustumDirty = true;
 		}
 		return;
 	}
 
+	/**
+	 * Gets the camera's view frustum. This is expressed in the coordinate
+	 * space of this camera's parent, which is the scene's coordinate space
+	 * when, as usual, the camera is attached to the root node.
+	 * <p>
+	 * The frustum is re-used and only recomputed when the camera has moved or
+	 * its projection (field of view, clipping planes, or scene size) has
+	 * changed since the last call, so this is cheap to call every frame.
+	 * <b>The returned frustum should not be modified.</b>
+	 * </p>
+	 * 
+	 * @return The camera's current view frustum.
+	 */
+	public Frustum getFrustum() {
+		int refreshCount = transform.getRefreshCount();
+		if (frustumDirty || frustumRefreshCount != refreshCount) {
+			float aspect = getAspectRatio();
+			float fov = getVerticalFieldOfView(aspect);
+			// The PerspectiveCamera is flipped to look down the negative z
+			// axis with y up, which is the frustum's convention, so only this
+			// node's rotation and translation are needed.
+			frustum.set(fov, aspect, (float) camera.getNearClip(),
+					(float) camera.getFarClip(), transform.rotation,
+					transform.translation);
+			frustumDirty = false;
+			frustumRefreshCount = refreshCount;
+		}
+		return frustum;
+	}
+
+	/**
+	 * Gets the ray from the camera through a point on the screen, e.g. for
+	 * picking the object under the mouse. Like the {@link #getFrustum()
+	 * frustum}, this is expressed in the coordinate space of this camera's
+	 * parent.
+	 * 
+	 * @param sceneX
+	 *            The x coordinate of the point in the scene, as in
+	 *            {@code MouseEvent.getSceneX()}.
+	 * @param sceneY
+	 *            The y coordinate of the point in the scene, as in
+	 *            {@code MouseEvent.getSceneY()}.
+	 * @param cache
+	 *            The ray in which to store the result. If {@code null}, a new
+	 *            ray is created.
+	 * @return The <i>cache</i> ray. Its origin is the camera's position and
+	 *         its direction is normalized.
+	 */
+	public Ray getPickRay(double sceneX, double sceneY, Ray cache) {
+		if (cache == null) {
+			cache = new Ray();
+		}
+
+		// Convert the point to normalized device coordinates, where the view
+		// spans [-1, 1] on each axis and y increases up.
+		float ndcX = 0f;
+		float ndcY = 0f;
+		if (scene != null && scene.getHeight() > 0.0
+				&& scene.getWidth() > 0.0) {
+			ndcX = (float) (2.0 * sceneX / scene.getWidth() - 1.0);
+			ndcY = (float) (1.0 - 2.0 * sceneY / scene.getHeight());
+		}
+
+		// Unproject the point onto the plane 1 unit in front of the camera,
+		// then rotate it into the parent's space.
+		float aspect = getAspectRatio();
+		float halfHeight = (float) Math.tan(getVerticalFieldOfView(aspect) * 0.5f);
+		cache.direction.set(ndcX * halfHeight * aspect, ndcY * halfHeight, -1f);
+		transform.rotation.rotate(cache.direction, cache.direction).normalize();
+		cache.origin.set(transform.translation);
+		return cache;
+	}
+
+	/**
+	 * Gets the aspect ratio (width over height) of the {@link #scene}. This
+	 * defaults to a square view if the scene is not set or has no size yet.
+	 * 
+	 * @return The aspect ratio.
+	 */
+	private float getAspectRatio() {
+		float aspect = 1f;
+		if (scene != null && scene.getHeight() > 0.0 && scene.getWidth() > 0.0) {
+			aspect = (float) (scene.getWidth() / scene.getHeight());
+		}
+		return aspect;
+	}
+
+	/**
+	 * Gets the vertical field of view of the {@link #camera}, converting its
+	 * field of view if it is horizontal.
+	 * 
+	 * @param aspect
+	 *            The aspect ratio of the view.
+	 * @return The vertical field of view in radians.
+	 */
+	private float getVerticalFieldOfView(float aspect) {
+		float fov = (float) Math.toRadians(camera.getFieldOfView());
+		if (!camera.isVerticalFieldOfView()) {
+			fov = 2f * (float) Math.atan(Math.tan(fov * 0.5f) / aspect);
+		}
+		return fov;
+	}
+
+	/**
+	 * Refreshes the camera's {@link #transform}, which also marks the
+	 * {@link #frustum} as out of date. The transform is deferred, so the
+	 * changes are applied to JavaFX once per frame.
+	 * 
+	 * @param scaledOrRotated
+	 *            Whether or not the camera was rotated.
+	 */
+	private void refreshTransform(boolean scaledOrRotated) {
+		transform.refresh(scaledOrRotated);
+	}
+
 	// ---- Implements IControlContributor ---- //
 
 	/*
@@ -193,14 +360,14 @@ public class FlyCamera extends Node implements IControlContributor {
 				public void run(float value, float timePerFrame, KeyEvent event) {
 					System.out.println("Moving forward. Time per frame: " + timePerFrame);
 					transform.translation.subtract(0f, 0f, moveRate);
-					transform.refresh(false);
+					refreshTransform(false);
 				}
 			});
 			controls.keys.addToggle(KeyCode.S, new KeyToggleAction() {
 				@Override
 				public void pressed(float timePerFrame, KeyEvent event) {
 					transform.translation.add(0f, 0f, moveRate);
-					transform.refresh(false);
+					refreshTransform(false);
 				}
 
 				@Override
@@ -212,7 +379,7 @@ public class FlyCamera extends Node implements IControlContributor {
 				@Override
 				public void pressed(float timePerFrame, KeyEvent event) {
 					transform.translation.subtract(moveRate, 0f, 0f);
-					transform.refresh(false);
+					refreshTransform(false);
 				}
 
 				@Override
@@ -224,7 +391,7 @@ public class FlyCamera extends Node implements IControlContributor {
 				@Override
 				public void pressed(float timePerFrame, KeyEvent event) {
 					transform.translation.add(moveRate, 0f, 0f);
-					transform.refresh(false);
+					refreshTransform(false);
 				}
 
 				@Override
@@ -235,11 +402,13 @@ public class FlyCamera extends Node implements IControlContributor {
 			controls.keys.addToggle(KeyCode.Q, new KeyToggleAction() {
 				@Override
 				public void pressed(float timePerFrame, KeyEvent event) {
-					Quaternion q = Quaternion.fromUnitAxisAngle(Vector3f.UNIT_Y,
-							(float) (Math.PI / 20.0), null);
-					q.multiply(transform.rotation);
-					transform.rotation.set(q);
-					transform.refresh(true);
+					try (Scratch scratch = Scratch.open()) {
+						Quaternion q = Quaternion.fromUnitAxisAngle(
+								Vector3f.UNIT_Y, (float) (Math.PI / 20.0),
+								scratch.quaternion());
+						q.multiply(transform.rotation, transform.rotation);
+					}
+					refreshTransform(true);
 				}
 
 				@Override
@@ -250,11 +419,12 @@ public class FlyCamera extends Node implements IControlContributor {
 			controls.keys.addToggle(KeyCode.E, new KeyToggleAction() {
 				@Override
 				public void pressed(float timePerFrame, KeyEvent event) {
-					Quaternion q = Quaternion.fromAxisAngle(Vector3f.UNIT_Y,
-							(float) (Math.PI / -20.0), null);
-					q.multiply(transform.rotation);
-					transform.rotation.set(q);
-					transform.refresh(true);
+					try (Scratch scratch = Scratch.open()) {
+						Quaternion q = Quaternion.fromAxisAngle(Vector3f.UNIT_Y,
+								(float) (Math.PI / -20.0), scratch.quaternion());
+						q.multiply(transform.rotation, transform.rotation);
+					}
+					refreshTransform(true);
 				}
 
 				@Override
@@ -267,7 +437,7 @@ public class FlyCamera extends Node implements IControlContributor {
 				@Override
 				public void pressed(float timePerFrame, KeyEvent event) {
 					transform.translation.add(0f, moveRate, 0f);
-					transform.refresh(false);
+					refreshTransform(false);
 				}
 
 				@Override
@@ -280,7 +450,7 @@ public class FlyCamera extends Node implements IControlContributor {
 				@Override
 				public void pressed(float timePerFrame, KeyEvent event) {
 					transform.translation.subtract(0f, moveRate, 0f);
-					transform.refresh(false);
+					refreshTransform(false);
 				}
 
 				@Override
@@ -354,6 +524,28 @@ public class FlyCamera extends Node implements IControlContributor {
 	}
 	// --------------------------------------- //
 
+	/**
+	 * Gets the current position of the camera. This is a read-only view of
+	 * the camera's translation, not a copy, so it will reflect later changes,
+	 * including incremental movement.
+	 * 
+	 * @return The camera's position.
+	 */
+	public Vector3fc getPosition() {
+		return transform.translation;
+	}
+
+	/**
+	 * Gets the current rotation of the camera from its default orientation
+	 * (looking down the negative z axis with y up). This is a read-only view
+	 * of the camera's rotation, not a copy, so it will reflect later changes.
+	 * 
+	 * @return The camera's rotation.
+	 */
+	public Quaternionc getRotation() {
+		return transform.rotation;
+	}
+
 	// ---- Non-incremental Setters ---- //
 	/**
 	 * Sets the position of the camera at once, as opposed to incremental
@@ -366,15 +558,16 @@ public class FlyCamera extends Node implements IControlContributor {
 	 * @see #strafeCamera(float)
 	 * @see #raiseCamera(float)
 	 */
-	public void setPosition(Vector3f position) {
+	public void setPosition(Vector3fc position) {
 		// Check for nulls first.
 		if (position == null) {
 			throw new IllegalArgumentException("FlyCamera error: "
 					+ "Null arguments not accepted for positioning the camera.");
 		}
 
-		// Update the local position and the camera.
-		transform.translation.set(this.position.set(position));
+		// Update the camera.
+		transform.translation.set(position);
+		refreshTransform(false);
 
 		return;
 	}
@@ -394,7 +587,7 @@ public class FlyCamera extends Node implements IControlContributor {
 	 * @see #pitchCamera(float)
 	 * @see #yawCamera(float)
 	 */
-	public void setOrientation(Vector3f direction, Vector3f up) {
+	public void setOrientation(Vector3fc direction, Vector3fc up) {
 		// Check for nulls first.
 		if (direction == null || up == null) {
 			throw new IllegalArgumentException("FlightCamera error: "
@@ -416,11 +609,41 @@ public class FlyCamera extends Node implements IControlContributor {
 
 		// This is a right-handed system. Compute right by crossing direction
 		// with up.
-		Vector3f right = direction.cross(up).normalize();
+		try (Scratch scratch = Scratch.open()) {
+			Vector3f right = direction.cross(up, scratch.vector3f())
+					.normalize();
+			Quaternion.fromTwoUnitVectors(defaultRight, right,
+					transform.rotation);
+		}
+		refreshTransform(true);
+
+		return;
+	}
+
+	/**
+	 * Sets the position and rotation of the camera at once. Unlike
+	 * {@link #setPosition(Vector3fc)} and
+	 * {@link #setOrientation(Vector3fc, Vector3fc)}, this refreshes the
+	 * camera's transform only once and creates no objects, so it is suitable
+	 * for moving the camera every frame (e.g., with a {@link CameraPath}).
+	 * 
+	 * @param position
+	 *            The new position. If null, an exception is thrown.
+	 * @param rotation
+	 *            The new rotation from the camera's default orientation
+	 *            (looking down the negative z axis with y up). This should be
+	 *            a unit quaternion. If null, an exception is thrown.
+	 */
+	public void setPose(Vector3fc position, Quaternionc rotation) {
+		// Check for nulls first.
+		if (position == null || rotation == null) {
+			throw new IllegalArgumentException("FlyCamera error: "
+					+ "Null arguments not accepted for posing the camera.");
+		}
 
-		Quaternion q = Quaternion.fromTwoUnitVectors(defaultRight, right);
-		transform.rotation.set(q);
-		transform.refresh(true);
+		transform.translation.set(position);
+		transform.rotation.set(rotation);
+		refreshTransform(true);
 
 		return;
 	}
@@ -0,0 +1,656 @@
+/**
+ * 
+ */
+package com.bar.foo.math;
+
+/**
+ * This class provides an axis-aligned bounding box (AABB) defined by its
+ * minimum and maximum corners.
+ * <p>
+ * A box may be <i>empty</i>, in which case its minimum is greater than its
+ * maximum. An empty box contains and intersects nothing, and merging anything
+ * into it results in that thing's bounds. New boxes are empty by default.
+ * </p>
+ * <p>
+ * As with the other math classes, each operation that produces a box has a
+ * version that updates this box and a version that stores the result in a
+ * <i>cache</i>, so no objects need to be created.
+ * </p>
+ * 
+ * @author Jordan Deyton
+ *
+ */
+public class AABB {
+
+	/**
+	 * The minimum corner of the box.
+	 */
+	public final Vector3f min;
+	/**
+	 * The maximum corner of the box.
+	 */
+	public final Vector3f max;
+
+	/**
+	 * The default constructor. Creates an empty box.
+	 */
+	public AABB() {
+		min = new Vector3f();
+		max = new Vector3f();
+		setEmpty();
+		return;
+	}
+
+	/**
+	 * The full constructor. All coordinates must be specified.
+	 * 
+	 * @param minX
+	 *            The minimum x coordinate.
+	 * @param minY
+	 *            The minimum y coordinate.
+	 * @param minZ
+	 *            The minimum z coordinate.
+	 * @param maxX
+	 *            The maximum x coordinate.
+	 * @param maxY
+	 *            The maximum y coordinate.
+	 * @param maxZ
+	 *            The maximum z coordinate.
+	 */
+	public AABB(float minX, float minY, float minZ, float maxX, float maxY,
+			float maxZ) {
+		min = new Vector3f(minX, minY, minZ);
+		max = new Vector3f(maxX, maxY, maxZ);
+		return;
+	}
+
+	/**
+	 * Creates a box from its corners. The vectors are copied.
+	 * 
+	 * @param min
+	 *            The minimum corner.
+	 * @param max
+	 *            The maximum corner.
+	 */
+	public AABB(Vector3fc min, Vector3fc max) {
+		this.min = new Vector3f(min);
+		this.max = new Vector3f(max);
+		return;
+	}
+
+	/**
+	 * A copy constructor.
+	 * 
+	 * @param box
+	 *            The box to copy. If {@code null}, the box will be empty.
+	 */
+	public AABB(AABB box) {
+		this();
+		if (box != null) {
+			set(box);
+		}
+		return;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object object) {
+		boolean equals = super.equals(object);
+		if (!equals && object instanceof AABB) {
+			AABB box = (AABB) object;
+			equals = min.equals(box.min) && max.equals(box.max);
+		}
+		return equals;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return min.hashCode() * 31 + max.hashCode();
+	}
+
+	// ---- Getters and Setters ---- //
+	/**
+	 * Sets the corners of the box.
+	 * 
+	 * @param minX
+	 *            The minimum x coordinate.
+	 * @param minY
+	 *            The minimum y coordinate.
+	 * @param minZ
+	 *            The minimum z coordinate.
+	 * @param maxX
+	 *            The maximum x coordinate.
+	 * @param maxY
+	 *            The maximum y coordinate.
+	 * @param maxZ
+	 *            The maximum z coordinate.
+	 * @return A reference to this box.
+	 */
+	public AABB set(float minX, float minY, float minZ, float maxX,
+			float maxY, float maxZ) {
+		min.set(minX, minY, minZ);
+		max.set(maxX, maxY, maxZ);
+		return this;
+	}
+
+	/**
+	 * Sets the corners of the box.
+	 * 
+	 * @param min
+	 *            The new minimum corner.
+	 * @param max
+	 *            The new maximum corner.
+	 * @return A reference to this box.
+	 */
+	public AABB set(Vector3fc min, Vector3fc max) {
+		this.min.set(min);
+		this.max.set(max);
+		return this;
+	}
+
+	/**
+	 * Copies another box.
+	 * 
+	 * @param box
+	 *            The box to copy.
+	 * @return A reference to this box.
+	 */
+	public AABB set(AABB box) {
+		min.set(box.min);
+		max.set(box.max);
+		return this;
+	}
+
+	/**
+	 * Makes this box empty.
+	 * 
+	 * @return A reference to this box.
+	 */
+	public AABB setEmpty() {
+		min.set(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY,
+				Float.POSITIVE_INFINITY);
+		max.set(Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY,
+				Float.NEGATIVE_INFINITY);
+		return this;
+	}
+
+	/**
+	 * Gets whether the box is empty.
+	 * 
+	 * @return True if the minimum is greater than the maximum along any axis,
+	 *         false otherwise.
+	 */
+	public boolean isEmpty() {
+		return min.x > max.x || min.y > max.y || min.z > max.z;
+	}
+
+	/**
+	 * Gets the center of the box.
+	 * 
+	 * @param cache
+	 *            The vector in which to store the center. If {@code null}, a
+	 *            new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3f getCenter(Vector3f cache) {
+		float x = (min.x + max.x) * 0.5f;
+		float y = (min.y + max.y) * 0.5f;
+		float z = (min.z + max.z) * 0.5f;
+		if (cache != null) {
+			cache.set(x, y, z);
+		} else {
+			cache = new Vector3f(x, y, z);
+		}
+		return cache;
+	}
+
+	/**
+	 * Gets the extents of the box, i.e., half of its size along each axis.
+	 * 
+	 * @param cache
+	 *            The vector in which to store the extents. If {@code null}, a
+	 *            new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3f getExtents(Vector3f cache) {
+		float x = (max.x - min.x) * 0.5f;
+		float y = (max.y - min.y) * 0.5f;
+		float z = (max.z - min.z) * 0.5f;
+		if (cache != null) {
+			cache.set(x, y, z);
+		} else {
+			cache = new Vector3f(x, y, z);
+		}
+		return cache;
+	}
+	// ----------------------------- //
+
+	// ---- Merging ---- //
+	/**
+	 * Grows the box to contain the specified point.
+	 * 
+	 * @param x
+	 *            The x coordinate of the point.
+	 * @param y
+	 *            The y coordinate of the point.
+	 * @param z
+	 *            The z coordinate of the point.
+	 * @return A reference to this box.
+	 */
+	public AABB merge(float x, float y, float z) {
+		if (x < min.x) {
+			min.x = x;
+		}
+		if (x > max.x) {
+			max.x = x;
+		}
+		if (y < min.y) {
+			min.y = y;
+		}
+		if (y > max.y) {
+			max.y = y;
+		}
+		if (z < min.z) {
+			min.z = z;
+		}
+		if (z > max.z) {
+			max.z = z;
+		}
+		return this;
+	}
+
+	/**
+	 * Grows the box to contain the specified point.
+	 * 
+	 * @param point
+	 *            The point to contain.
+	 * @return A reference to this box.
+	 */
+	public AABB merge(Vector3fc point) {
+		return merge(point.x(), point.y(), point.z());
+	}
+
+	/**
+	 * Grows the box to contain another box.
+	 * 
+	 * @param box
+	 *            The box to contain.
+	 * @return A reference to this box.
+	 */
+	public AABB merge(AABB box) {
+		return merge(box, this);
+	}
+
+	/**
+	 * Computes the smallest box containing both this box and another box and
+	 * stores it in the <i>cache</i>.
+	 * 
+	 * @param box
+	 *            The box to contain.
+	 * @param cache
+	 *            The box in which to store the result. If {@code null}, a new
+	 *            box is created.
+	 * @return The <i>cache</i> box.
+	 */
+	public AABB merge(AABB box, AABB cache) {
+		if (cache == null) {
+			cache = new AABB();
+		}
+		// Empty boxes have infinite bounds, so they fall out naturally.
+		cache.min.set(Math.min(min.x, box.min.x), Math.min(min.y, box.min.y),
+				Math.min(min.z, box.min.z));
+		cache.max.set(Math.max(max.x, box.max.x), Math.max(max.y, box.max.y),
+				Math.max(max.z, box.max.z));
+		return cache;
+	}
+	// ----------------- //
+
+	// ---- Containment and Intersection ---- //
+	/**
+	 * Determines whether the box contains a point. Points on the boundary are
+	 * contained.
+	 * 
+	 * @param x
+	 *            The x coordinate of the point.
+	 * @param y
+	 *            The y coordinate of the point.
+	 * @param z
+	 *            The z coordinate of the point.
+	 * @return True if the point is in the box, false otherwise.
+	 */
+	public boolean contains(float x, float y, float z) {
+		return x >= min.x && x <= max.x && y >= min.y && y <= max.y
+				&& z >= min.z && z <= max.z;
+	}
+
+	/**
+	 * Determines whether the box contains a point. Points on the boundary are
+	 * contained.
+	 * 
+	 * @param point
+	 *            The point.
+	 * @return True if the point is in the box, false otherwise.
+	 */
+	public boolean contains(Vector3fc point) {
+		return contains(point.x(), point.y(), point.z());
+	}
+
+	/**
+	 * Determines whether the box entirely contains another box.
+	 * 
+	 * @param box
+	 *            The other box.
+	 * @return True if the other box is non-empty and inside this box, false
+	 *         otherwise.
+	 */
+	public boolean contains(AABB box) {
+		return !box.isEmpty() && box.min.x >= min.x && box.max.x <= max.x
+				&& box.min.y >= min.y && box.max.y <= max.y
+				&& box.min.z >= min.z && box.max.z <= max.z;
+	}
+
+	/**
+	 * Determines whether the box overlaps another box. Boxes that only touch
+	 * are considered to overlap.
+	 * 
+	 * @param box
+	 *            The other box.
+	 * @return True if the boxes overlap, false otherwise.
+	 */
+	public boolean intersects(AABB box) {
+		// Empty boxes fail at least one of these tests.
+		return min.x <= box.max.x && max.x >= box.min.x && min.y <= box.max.y
+				&& max.y >= box.min.y && min.z <= box.max.z
+				&& max.z >= box.min.z;
+	}
+
+	/**
+	 * Determines whether the box overlaps a sphere.
+	 * 
+	 * @param sphere
+	 *            The sphere.
+	 * @return True if the box and sphere overlap, false otherwise.
+	 */
+	public boolean intersects(BoundingSphere sphere) {
+		return !isEmpty() && !sphere.isEmpty()
+				&& distanceSquared(sphere.center) <= sphere.radius
+						* sphere.radius;
+	}
+
+	/**
+	 * Computes the squared distance from a point to the nearest point in the
+	 * box.
+	 * 
+	 * @param point
+	 *            The point.
+	 * @return The squared distance, or 0 if the point is in the box. This is
+	 *         undefined if the box is empty.
+	 */
+	public float distanceSquared(Vector3fc point) {
+		float dx = Math.max(Math.max(min.x - point.x(), point.x() - max.x), 0f);
+		float dy = Math.max(Math.max(min.y - point.y(), point.y() - max.y), 0f);
+		float dz = Math.max(Math.max(min.z - point.z(), point.z() - max.z), 0f);
+		return dx * dx + dy * dy + dz * dz;
+	}
+	// -------------------------------------- //
+
+	// ---- Transformation ---- //
+	/**
+	 * Translates the box.
+	 * 
+	 * @param translation
+	 *            The translation.
+	 * @return A reference to this box.
+	 */
+	public AABB translate(Vector3fc translation) {
+		return translate(translation, this);
+	}
+
+	/**
+	 * Translates the box and stores the result in the <i>cache</i>.
+	 * 
+	 * @param translation
+	 *            The translation.
+	 * @param cache
+	 *            The box in which to store the result. If {@code null}, a new
+	 *            box is created.
+	 * @return The <i>cache</i> box.
+	 */
+	public AABB translate(Vector3fc translation, AABB cache) {
+		if (cache == null) {
+			cache = new AABB();
+		}
+		min.add(translation, cache.min);
+		max.add(translation, cache.max);
+		return cache;
+	}
+
+	/**
+	 * Transforms the box by a matrix followed by a translation. The result is
+	 * the smallest axis-aligned box containing the transformed box.
+	 * 
+	 * @param matrix
+	 *            The matrix (e.g., a rotation and scale).
+	 * @param translation
+	 *            The translation applied after the matrix.
+	 * @return A reference to this box.
+	 */
+	public AABB transform(Matrix3fc matrix, Vector3fc translation) {
+		return transform(matrix, translation, this);
+	}
+
+	/**
+	 * Transforms the box by a matrix followed by a translation and stores the
+	 * result in the <i>cache</i>. The result is the smallest axis-aligned box
+	 * containing the transformed box. This uses Arvo's method, which only
+	 * needs the two corners rather than all eight.
+	 * 
+	 * @param matrix
+	 *            The matrix (e.g., a rotation and scale).
+	 * @param translation
+	 *            The translation applied after the matrix.
+	 * @param cache
+	 *            The box in which to store the result. If {@code null}, a new
+	 *            box is created. This may be this box.
+	 * @return The <i>cache</i> box.
+	 */
+	public AABB transform(Matrix3fc matrix, Vector3fc translation, AABB cache) {
+		return transform(matrix.m00(), matrix.m01(), matrix.m02(),
+				matrix.m10(), matrix.m11(), matrix.m12(), matrix.m20(),
+				matrix.m21(), matrix.m22(), translation.x(), translation.y(),
+				translation.z(), cache);
+	}
+
+	/**
+	 * Transforms the box by a rotation followed by a translation. The result
+	 * is the smallest axis-aligned box containing the rotated box.
+	 * 
+	 * @param rotation
+	 *            The rotation.
+	 * @param translation
+	 *            The translation applied after the rotation.
+	 * @return A reference to this box.
+	 */
+	public AABB transform(Quaternionc rotation, Vector3fc translation) {
+		return transform(rotation, translation, this);
+	}
+
+	/**
+	 * Transforms the box by a rotation followed by a translation and stores
+	 * the result in the <i>cache</i>. The result is the smallest axis-aligned
+	 * box containing the rotated box.
+	 * 
+	 * @param rotation
+	 *            The rotation.
+	 * @param translation
+	 *            The translation applied after the rotation.
+	 * @param cache
+	 *            The box in which to store the result. If {@code null}, a new
+	 *            box is created. This may be this box.
+	 * @return The <i>cache</i> box.
+	 */
+	public AABB transform(Quaternionc rotation, Vector3fc translation,
+			AABB cache) {
+		try (Scratch scratch = Scratch.open()) {
+			return transform(rotation.fillRotationMatrix(scratch.matrix3f()),
+					translation, cache);
+		}
+	}
+
+	/**
+	 * Transforms the box by an affine matrix. The result is the smallest
+	 * axis-aligned box containing the transformed box.
+	 * 
+	 * @param matrix
+	 *            The affine matrix. The bottom row is ignored.
+	 * @return A reference to this box.
+	 */
+	public AABB transform(Matrix4fc matrix) {
+		return transform(matrix, this);
+	}
+
+	/**
+	 * Transforms the box by an affine matrix and stores the result in the
+	 * <i>cache</i>. The result is the smallest axis-aligned box containing the
+	 * transformed box.
+	 * 
+	 * @param matrix
+	 *            The affine matrix. The bottom row is ignored.
+	 * @param cache
+	 *            The box in which to store the result. If {@code null}, a new
+	 *            box is created. This may be this box.
+	 * @return The <i>cache</i> box.
+	 */
+	public AABB transform(Matrix4fc matrix, AABB cache) {
+		return transform(matrix.m00(), matrix.m01(), matrix.m02(),
+				matrix.m10(), matrix.m11(), matrix.m12(), matrix.m20(),
+				matrix.m21(), matrix.m22(), matrix.m03(), matrix.m13(),
+				matrix.m23(), cache);
+	}
+
+	/**
+	 * Implements Arvo's method. Each row of the matrix contributes the
+	 * smaller of its products with the minimum and maximum to the new minimum
+	 * and the larger to the new maximum.
+	 */
+	private AABB transform(float m00, float m01, float m02, float m10,
+			float m11, float m12, float m20, float m21, float m22, float tx,
+			float ty, float tz, AABB cache) {
+		if (cache == null) {
+			cache = new AABB();
+		}
+		if (isEmpty()) {
+			return cache.setEmpty();
+		}
+
+		float minX = min.x, minY = min.y, minZ = min.z;
+		float maxX = max.x, maxY = max.y, maxZ = max.z;
+
+		float a, b;
+		float newMinX = tx, newMaxX = tx;
+		a = m00 * minX;
+		b = m00 * maxX;
+		newMinX += Math.min(a, b);
+		newMaxX += Math.max(a, b);
+		a = m01 * minY;
+		b = m01 * maxY;
+		newMinX += Math.min(a, b);
+		newMaxX += Math.max(a, b);
+		a = m02 * minZ;
+		b = m02 * maxZ;
+		newMinX += Math.min(a, b);
+		newMaxX += Math.max(a, b);
+
+		float newMinY = ty, newMaxY = ty;
+		a = m10 * minX;
+		b = m10 * maxX;
+		newMinY += Math.min(a, b);
+		newMaxY += Math.max(a, b);
+		a = m11 * minY;
+		b = m11 * maxY;
+		newMinY += Math.min(a, b);
+		newMaxY += Math.max(a, b);
+		a = m12 * minZ;
+		b = m12 * maxZ;
+		newMinY += Math.min(a, b);
+		newMaxY += Math.max(a, b);
+
+		float newMinZ = tz, newMaxZ = tz;
+		a = m20 * minX;
+		b = m20 * maxX;
+		newMinZ += Math.min(a, b);
+		newMaxZ += Math.max(a, b);
+		a = m21 * minY;
+		b = m21 * maxY;
+		newMinZ += Math.min(a, b);
+		newMaxZ += Math.max(a, b);
+		a = m22 * minZ;
+		b = m22 * maxZ;
+		newMinZ += Math.min(a, b);
+		newMaxZ += Math.max(a, b);
+
+		return cache.set(newMinX, newMinY, newMinZ, newMaxX, newMaxY, newMaxZ);
+	}
+	// ------------------------ //
+
+	// ---- Static Helpers for Creating Boxes ---- //
+	/**
+	 * Computes the bounds of many points stored in an interleaved float array
+	 * (x0, y0, z0, x1, y1, z1, ...), such as the points of a
+	 * {@code TriangleMesh}. No objects are created if a cache is provided.
+	 * 
+	 * @param points
+	 *            The interleaved array of points.
+	 * @param offset
+	 *            The index of the first point's x coordinate.
+	 * @param count
+	 *            The number of points.
+	 * @param cache
+	 *            The box in which to store the bounds. If {@code null}, a new
+	 *            box is created. If there are no points, the box is empty.
+	 * @return The <i>cache</i> box.
+	 */
+	public static AABB fromPoints(float[] points, int offset, int count,
+			AABB cache) {
+		int end = offset + count * 3;
+		if (offset < 0 || count < 0 || end > points.length) {
+			throw new IndexOutOfBoundsException("AABB error: "
+					+ "The range of points exceeds the array bounds.");
+		}
+
+		float minX = Float.POSITIVE_INFINITY;
+		float minY = Float.POSITIVE_INFINITY;
+		float minZ = Float.POSITIVE_INFINITY;
+		float maxX = Float.NEGATIVE_INFINITY;
+		float maxY = Float.NEGATIVE_INFINITY;
+		float maxZ = Float.NEGATIVE_INFINITY;
+		for (int i = offset; i < end; i += 3) {
+			float x = points[i];
+			float y = points[i + 1];
+			float z = points[i + 2];
+			// Plain comparisons are cheaper than Math.min/max, which must
+			// also handle NaN and -0.
+			minX = x < minX ? x : minX;
+			maxX = x > maxX ? x : maxX;
+			minY = y < minY ? y : minY;
+			maxY = y > maxY ? y : maxY;
+			minZ = z < minZ ? z : minZ;
+			maxZ = z > maxZ ? z : maxZ;
+		}
+
+		if (cache == null) {
+			cache = new AABB();
+		}
+		return cache.set(minX, minY, minZ, maxX, maxY, maxZ);
+	}
+	// ------------------------------------------- //
+}
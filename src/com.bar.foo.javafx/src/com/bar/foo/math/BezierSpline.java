@@ -0,0 +1,101 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This class provides a piecewise cubic Bezier spline. Each segment has four
+ * control points, and consecutive segments share their end points, so a
+ * spline with <i>n</i> segments has 3<i>n</i> + 1 control points: the curve
+ * passes through points 0, 3, 6, ..., and the points in between pull the
+ * curve toward them.
+ * <p>
+ * This is the natural choice for a path designed by hand, where the tangent
+ * at each end point should be controlled directly.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public final class BezierSpline extends Spline {
+
+	/**
+	 * Creates a spline from the specified control points.
+	 *
+	 * @param points
+	 *            The control points. There must be 3<i>n</i> + 1 points for
+	 *            some <i>n</i> &ge; 1.
+	 * @throws IllegalArgumentException
+	 *             If the array or any of its points is {@code null}, or if
+	 *             there is not a valid number of points.
+	 */
+	public BezierSpline(Vector3fc[] points) {
+		this(toArray(points, "BezierSpline"), DEFAULT_SAMPLES);
+	}
+
+	/**
+	 * Creates a spline from the specified control points.
+	 *
+	 * @param points
+	 *            The interleaved control points (x0, y0, z0, x1, ...). There
+	 *            must be 3<i>n</i> + 1 points for some <i>n</i> &ge; 1. The
+	 *            array is copied.
+	 * @param samples
+	 *            The number of arc-length table entries per segment. More
+	 *            entries make constant-speed sampling more accurate on tight
+	 *            curves.
+	 * @throws IllegalArgumentException
+	 *             If the array is {@code null}, if its length is not a
+	 *             multiple of 3, if there is not a valid number of points, or
+	 *             if the number of samples is not positive.
+	 */
+	public BezierSpline(float[] points, int samples) {
+		super(validate(points), (points.length / 3 - 1) / 3, samples);
+	}
+
+	/**
+	 * Validates the control points before they are passed to the super
+	 * constructor.
+	 */
+	private static float[] validate(float[] points) {
+		if (points == null || points.length % 3 != 0 || points.length < 12
+				|| (points.length / 3 - 1) % 3 != 0) {
+			throw new IllegalArgumentException("BezierSpline error: "
+					+ "There must be 3n + 1 points of three coordinates.");
+		}
+		return points;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Spline#getPoint(int, float,
+	 * com.bar.foo.math.Vector3f)
+	 */
+	@Override
+	public Vector3f getPoint(int segment, float t, Vector3f cache) {
+		final float[] points = this.points;
+		int i = segment * 9;
+
+		// Blend the four points with the Bernstein polynomials.
+		float s = 1f - t;
+		float b0 = s * s * s;
+		float b1 = 3f * s * s * t;
+		float b2 = 3f * s * t * t;
+		float b3 = t * t * t;
+
+		float x = b0 * points[i] + b1 * points[i + 3] + b2 * points[i + 6]
+				+ b3 * points[i + 9];
+		float y = b0 * points[i + 1] + b1 * points[i + 4] + b2
+				* points[i + 7] + b3 * points[i + 10];
+		float z = b0 * points[i + 2] + b1 * points[i + 5] + b2
+				* points[i + 8] + b3 * points[i + 11];
+
+		if (cache != null) {
+			cache.set(x, y, z);
+		} else {
+			cache = new Vector3f(x, y, z);
+		}
+		return cache;
+	}
+}
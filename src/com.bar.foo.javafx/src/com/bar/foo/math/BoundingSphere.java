@@ -0,0 +1,617 @@
+/**
+ * 
+ */
+package com.bar.foo.math;
+
+/**
+ * This class provides a bounding sphere defined by its center and radius.
+ * <p>
+ * A sphere may be <i>empty</i>, in which case its radius is negative. An
+ * empty sphere contains and intersects nothing, and merging anything into it
+ * results in that thing's bounds. New spheres are empty by default.
+ * </p>
+ * <p>
+ * As with the other math classes, each operation that produces a sphere has a
+ * version that updates this sphere and a version that stores the result in a
+ * <i>cache</i>, so no objects need to be created.
+ * </p>
+ * 
+ * @author Jordan Deyton
+ *
+ */
+public class BoundingSphere {
+
+	/**
+	 * The center of the sphere.
+	 */
+	public final Vector3f center;
+	/**
+	 * The radius of the sphere. If negative, the sphere is empty.
+	 */
+	public float radius;
+
+	/**
+	 * The default constructor. Creates an empty sphere.
+	 */
+	public BoundingSphere() {
+		center = new Vector3f();
+		radius = -1f;
+		return;
+	}
+
+	/**
+	 * The full constructor. All values must be specified.
+	 * 
+	 * @param x
+	 *            The x coordinate of the center.
+	 * @param y
+	 *            The y coordinate of the center.
+	 * @param z
+	 *            The z coordinate of the center.
+	 * @param radius
+	 *            The radius.
+	 */
+	public BoundingSphere(float x, float y, float z, float radius) {
+		center = new Vector3f(x, y, z);
+		this.radius = radius;
+		return;
+	}
+
+	/**
+	 * Creates a sphere from its center and radius. The center is copied.
+	 * 
+	 * @param center
+	 *            The center.
+	 * @param radius
+	 *            The radius.
+	 */
+	public BoundingSphere(Vector3fc center, float radius) {
+		this.center = new Vector3f(center);
+		this.radius = radius;
+		return;
+	}
+
+	/**
+	 * A copy constructor.
+	 * 
+	 * @param sphere
+	 *            The sphere to copy. If {@code null}, the sphere will be
+	 *            empty.
+	 */
+	public BoundingSphere(BoundingSphere sphere) {
+		this();
+		if (sphere != null) {
+			set(sphere);
+		}
+		return;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object object) {
+		boolean equals = super.equals(object);
+		if (!equals && object instanceof BoundingSphere) {
+			BoundingSphere sphere = (BoundingSphere) object;
+			equals = center.equals(sphere.center)
+					&& Float.compare(radius, sphere.radius) == 0;
+		}
+		return equals;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return center.hashCode() * 31 + Float.hashCode(radius);
+	}
+
+	// ---- Getters and Setters ---- //
+	/**
+	 * Sets the center and radius of the sphere.
+	 * 
+	 * @param x
+	 *            The x coordinate of the center.
+	 * @param y
+	 *            The y coordinate of the center.
+	 * @param z
+	 *            The z coordinate of the center.
+	 * @param radius
+	 *            The radius.
+	 * @return A reference to this sphere.
+	 */
+	public BoundingSphere set(float x, float y, float z, float radius) {
+		center.set(x, y, z);
+		this.radius = radius;
+		return this;
+	}
+
+	/**
+	 * Sets the center and radius of the sphere.
+	 * 
+	 * @param center
+	 *            The new center.
+	 * @param radius
+	 *            The new radius.
+	 * @return A reference to this sphere.
+	 */
+	public BoundingSphere set(Vector3fc center, float radius) {
+		this.center.set(center);
+		this.radius = radius;
+		return this;
+	}
+
+	/**
+	 * Copies another sphere.
+	 * 
+	 * @param sphere
+	 *            The sphere to copy.
+	 * @return A reference to this sphere.
+	 */
+	public BoundingSphere set(BoundingSphere sphere) {
+		center.set(sphere.center);
+		radius = sphere.radius;
+		return this;
+	}
+
+	/**
+	 * Makes this sphere empty.
+	 * 
+	 * @return A reference to this sphere.
+	 */
+	public BoundingSphere setEmpty() {
+		center.set(0f, 0f, 0f);
+		radius = -1f;
+		return this;
+	}
+
+	/**
+	 * Gets whether the sphere is empty.
+	 * 
+	 * @return True if the radius is negative, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return radius < 0f;
+	}
+	// ----------------------------- //
+
+	// ---- Merging ---- //
+	/**
+	 * Grows the sphere to contain the specified point. The sphere grows as
+	 * little as possible while still containing its old bounds.
+	 * 
+	 * @param x
+	 *            The x coordinate of the point.
+	 * @param y
+	 *            The y coordinate of the point.
+	 * @param z
+	 *            The z coordinate of the point.
+	 * @return A reference to this sphere.
+	 */
+	public BoundingSphere merge(float x, float y, float z) {
+		if (radius < 0f) {
+			return set(x, y, z, 0f);
+		}
+		float dx = x - center.x;
+		float dy = y - center.y;
+		float dz = z - center.z;
+		float distanceSquared = dx * dx + dy * dy + dz * dz;
+		if (distanceSquared > radius * radius) {
+			// Move the center toward the point so the far side of the old
+			// sphere and the point are both on the new boundary.
+			float distance = FloatMath.sqrt(distanceSquared);
+			float newRadius = (radius + distance) * 0.5f;
+			float scale = (newRadius - radius) / distance;
+			center.add(dx * scale, dy * scale, dz * scale);
+			radius = newRadius;
+		}
+		return this;
+	}
+
+	/**
+	 * Grows the sphere to contain the specified point.
+	 * 
+	 * @param point
+	 *            The point to contain.
+	 * @return A reference to this sphere.
+	 * @see #merge(float, float, float)
+	 */
+	public BoundingSphere merge(Vector3fc point) {
+		return merge(point.x(), point.y(), point.z());
+	}
+
+	/**
+	 * Grows the sphere to contain another sphere.
+	 * 
+	 * @param sphere
+	 *            The sphere to contain.
+	 * @return A reference to this sphere.
+	 */
+	public BoundingSphere merge(BoundingSphere sphere) {
+		return merge(sphere, this);
+	}
+
+	/**
+	 * Computes the smallest sphere containing both this sphere and another
+	 * sphere and stores it in the <i>cache</i>.
+	 * 
+	 * @param sphere
+	 *            The sphere to contain.
+	 * @param cache
+	 *            The sphere in which to store the result. If {@code null}, a
+	 *            new sphere is created. This may be either sphere.
+	 * @return The <i>cache</i> sphere.
+	 */
+	public BoundingSphere merge(BoundingSphere sphere, BoundingSphere cache) {
+		if (cache == null) {
+			cache = new BoundingSphere();
+		}
+		if (sphere.radius < 0f) {
+			return cache.set(this);
+		} else if (radius < 0f) {
+			return cache.set(sphere);
+		}
+
+		float dx = sphere.center.x - center.x;
+		float dy = sphere.center.y - center.y;
+		float dz = sphere.center.z - center.z;
+		float distance = FloatMath.sqrt(dx * dx + dy * dy + dz * dz);
+
+		if (distance + sphere.radius <= radius) {
+			// The other sphere is inside this one.
+			return cache.set(this);
+		} else if (distance + radius <= sphere.radius) {
+			// This sphere is inside the other one.
+			return cache.set(sphere);
+		}
+
+		// The new sphere spans from the far side of this sphere to the far
+		// side of the other sphere.
+		float newRadius = (distance + radius + sphere.radius) * 0.5f;
+		float scale = (newRadius - radius) / distance;
+		return cache.set(center.x + dx * scale, center.y + dy * scale,
+				center.z + dz * scale, newRadius);
+	}
+	// ----------------- //
+
+	// ---- Containment and Intersection ---- //
+	/**
+	 * Determines whether the sphere contains a point. Points on the boundary
+	 * are contained.
+	 * 
+	 * @param x
+	 *            The x coordinate of the point.
+	 * @param y
+	 *            The y coordinate of the point.
+	 * @param z
+	 *            The z coordinate of the point.
+	 * @return True if the point is in the sphere, false otherwise.
+	 */
+	public boolean contains(float x, float y, float z) {
+		float dx = x - center.x;
+		float dy = y - center.y;
+		float dz = z - center.z;
+		return radius >= 0f && dx * dx + dy * dy + dz * dz <= radius * radius;
+	}
+
+	/**
+	 * Determines whether the sphere contains a point. Points on the boundary
+	 * are contained.
+	 * 
+	 * @param point
+	 *            The point.
+	 * @return True if the point is in the sphere, false otherwise.
+	 */
+	public boolean contains(Vector3fc point) {
+		return contains(point.x(), point.y(), point.z());
+	}
+
+	/**
+	 * Determines whether the sphere entirely contains another sphere.
+	 * 
+	 * @param sphere
+	 *            The other sphere.
+	 * @return True if the other sphere is non-empty and inside this sphere,
+	 *         false otherwise.
+	 */
+	public boolean contains(BoundingSphere sphere) {
+		if (radius < 0f || sphere.radius < 0f || sphere.radius > radius) {
+			return false;
+		}
+		float difference = radius - sphere.radius;
+		return center.distanceSquared(sphere.center) <= difference * difference;
+	}
+
+	/**
+	 * Determines whether the sphere overlaps another sphere. Spheres that only
+	 * touch are considered to overlap.
+	 * 
+	 * @param sphere
+	 *            The other sphere.
+	 * @return True if the spheres overlap, false otherwise.
+	 */
+	public boolean intersects(BoundingSphere sphere) {
+		if (radius < 0f || sphere.radius < 0f) {
+			return false;
+		}
+		float sum = radius + sphere.radius;
+		return center.distanceSquared(sphere.center) <= sum * sum;
+	}
+
+	/**
+	 * Determines whether the sphere overlaps a box.
+	 * 
+	 * @param box
+	 *            The box.
+	 * @return True if the sphere and box overlap, false otherwise.
+	 */
+	public boolean intersects(AABB box) {
+		return box.intersects(this);
+	}
+	// -------------------------------------- //
+
+	// ---- Transformation ---- //
+	/**
+	 * Translates the sphere.
+	 * 
+	 * @param translation
+	 *            The translation.
+	 * @return A reference to this sphere.
+	 */
+	public BoundingSphere translate(Vector3fc translation) {
+		return translate(translation, this);
+	}
+
+	/**
+	 * Translates the sphere and stores the result in the <i>cache</i>.
+	 * 
+	 * @param translation
+	 *            The translation.
+	 * @param cache
+	 *            The sphere in which to store the result. If {@code null}, a
+	 *            new sphere is created.
+	 * @return The <i>cache</i> sphere.
+	 */
+	public BoundingSphere translate(Vector3fc translation,
+			BoundingSphere cache) {
+		if (cache == null) {
+			cache = new BoundingSphere();
+		}
+		center.add(translation, cache.center);
+		cache.radius = radius;
+		return cache;
+	}
+
+	/**
+	 * Transforms the sphere by a matrix followed by a translation.
+	 * 
+	 * @param matrix
+	 *            The matrix (e.g., a rotation and scale).
+	 * @param translation
+	 *            The translation applied after the matrix.
+	 * @return A reference to this sphere.
+	 * @see #transform(Matrix3fc, Vector3fc, BoundingSphere)
+	 */
+	public BoundingSphere transform(Matrix3fc matrix, Vector3fc translation) {
+		return transform(matrix, translation, this);
+	}
+
+	/**
+	 * Transforms the sphere by a matrix followed by a translation and stores
+	 * the result in the <i>cache</i>. If the matrix scales non-uniformly, the
+	 * transformed shape is an ellipsoid, so the radius is scaled by the
+	 * largest scale factor to keep the bounds conservative.
+	 * 
+	 * @param matrix
+	 *            The matrix (e.g., a rotation and scale).
+	 * @param translation
+	 *            The translation applied after the matrix.
+	 * @param cache
+	 *            The sphere in which to store the result. If {@code null}, a
+	 *            new sphere is created.
+	 * @return The <i>cache</i> sphere.
+	 */
+	public BoundingSphere transform(Matrix3fc matrix, Vector3fc translation,
+			BoundingSphere cache) {
+		return transform(matrix.m00(), matrix.m01(), matrix.m02(),
+				matrix.m10(), matrix.m11(), matrix.m12(), matrix.m20(),
+				matrix.m21(), matrix.m22(), translation.x(), translation.y(),
+				translation.z(), cache);
+	}
+
+	/**
+	 * Transforms the sphere by a rotation followed by a translation.
+	 * 
+	 * @param rotation
+	 *            The rotation.
+	 * @param translation
+	 *            The translation applied after the rotation.
+	 * @return A reference to this sphere.
+	 */
+	public BoundingSphere transform(Quaternionc rotation,
+			Vector3fc translation) {
+		return transform(rotation, translation, this);
+	}
+
+	/**
+	 * Transforms the sphere by a rotation followed by a translation and stores
+	 * the result in the <i>cache</i>. Only the center moves.
+	 * 
+	 * @param rotation
+	 *            The rotation. This should be a unit quaternion.
+	 * @param translation
+	 *            The translation applied after the rotation.
+	 * @param cache
+	 *            The sphere in which to store the result. If {@code null}, a
+	 *            new sphere is created.
+	 * @return The <i>cache</i> sphere.
+	 */
+	public BoundingSphere transform(Quaternionc rotation, Vector3fc translation,
+			BoundingSphere cache) {
+		if (cache == null) {
+			cache = new BoundingSphere();
+		}
+		rotation.rotate(center, cache.center).add(translation);
+		cache.radius = radius;
+		return cache;
+	}
+
+	/**
+	 * Transforms the sphere by an affine matrix.
+	 * 
+	 * @param matrix
+	 *            The affine matrix. The bottom row is ignored.
+	 * @return A reference to this sphere.
+	 * @see #transform(Matrix3fc, Vector3fc, BoundingSphere)
+	 */
+	public BoundingSphere transform(Matrix4fc matrix) {
+		return transform(matrix, this);
+	}
+
+	/**
+	 * Transforms the sphere by an affine matrix and stores the result in the
+	 * <i>cache</i>.
+	 * 
+	 * @param matrix
+	 *            The affine matrix. The bottom row is ignored.
+	 * @param cache
+	 *            The sphere in which to store the result. If {@code null}, a
+	 *            new sphere is created.
+	 * @return The <i>cache</i> sphere.
+	 * @see #transform(Matrix3fc, Vector3fc, BoundingSphere)
+	 */
+	public BoundingSphere transform(Matrix4fc matrix, BoundingSphere cache) {
+		return transform(matrix.m00(), matrix.m01(), matrix.m02(),
+				matrix.m10(), matrix.m11(), matrix.m12(), matrix.m20(),
+				matrix.m21(), matrix.m22(), matrix.m03(), matrix.m13(),
+				matrix.m23(), cache);
+	}
+
+	/**
+	 * Transforms the center and scales the radius by the length of the
+	 * longest column of the matrix.
+	 */
+	private BoundingSphere transform(float m00, float m01, float m02,
+			float m10, float m11, float m12, float m20, float m21, float m22,
+			float tx, float ty, float tz, BoundingSphere cache) {
+		if (cache == null) {
+			cache = new BoundingSphere();
+		}
+		if (radius < 0f) {
+			return cache.setEmpty();
+		}
+		float x = center.x, y = center.y, z = center.z;
+		float scaleSquared = Math.max(m00 * m00 + m10 * m10 + m20 * m20,
+				Math.max(m01 * m01 + m11 * m11 + m21 * m21, m02 * m02 + m12
+						* m12 + m22 * m22));
+		return cache.set(m00 * x + m01 * y + m02 * z + tx, m10 * x + m11 * y
+				+ m12 * z + ty, m20 * x + m21 * y + m22 * z + tz, radius
+				* FloatMath.sqrt(scaleSquared));
+	}
+	// ------------------------ //
+
+	// ---- Static Helpers for Creating Spheres ---- //
+	/**
+	 * Computes a bounding sphere for many points stored in an interleaved
+	 * float array (x0, y0, z0, x1, y1, z1, ...), such as the points of a
+	 * {@code TriangleMesh}. This uses Ritter's algorithm, which makes three
+	 * passes over the points and gives a sphere within about 5-20% of the
+	 * smallest possible radius. No objects are created if a cache is provided.
+	 * 
+	 * @param points
+	 *            The interleaved array of points.
+	 * @param offset
+	 *            The index of the first point's x coordinate.
+	 * @param count
+	 *            The number of points.
+	 * @param cache
+	 *            The sphere in which to store the bounds. If {@code null}, a
+	 *            new sphere is created. If there are no points, the sphere is
+	 *            empty.
+	 * @return The <i>cache</i> sphere.
+	 */
+	public static BoundingSphere fromPoints(float[] points, int offset,
+			int count, BoundingSphere cache) {
+		int end = offset + count * 3;
+		if (offset < 0 || count < 0 || end > points.length) {
+			throw new IndexOutOfBoundsException("BoundingSphere error: "
+					+ "The range of points exceeds the array bounds.");
+		}
+		if (cache == null) {
+			cache = new BoundingSphere();
+		}
+		if (count == 0) {
+			return cache.setEmpty();
+		}
+
+		// Find the point farthest from the first point, then the point
+		// farthest from that one. These two points span the initial sphere.
+		int a = farthest(points, offset, end, points[offset],
+				points[offset + 1], points[offset + 2]);
+		int b = farthest(points, offset, end, points[a], points[a + 1],
+				points[a + 2]);
+		float x = (points[a] + points[b]) * 0.5f;
+		float y = (points[a + 1] + points[b + 1]) * 0.5f;
+		float z = (points[a + 2] + points[b + 2]) * 0.5f;
+		float dx = points[b] - x;
+		float dy = points[b + 1] - y;
+		float dz = points[b + 2] - z;
+		cache.set(x, y, z, FloatMath.sqrt(dx * dx + dy * dy + dz * dz));
+
+		// Grow the sphere to contain any points outside it.
+		for (int i = offset; i < end; i += 3) {
+			cache.merge(points[i], points[i + 1], points[i + 2]);
+		}
+		return cache;
+	}
+
+	/**
+	 * Computes a sphere that contains a box.
+	 * 
+	 * @param box
+	 *            The box.
+	 * @param cache
+	 *            The sphere in which to store the bounds. If {@code null}, a
+	 *            new sphere is created. If the box is empty, the sphere is
+	 *            empty.
+	 * @return The <i>cache</i> sphere.
+	 */
+	public static BoundingSphere fromAABB(AABB box, BoundingSphere cache) {
+		if (cache == null) {
+			cache = new BoundingSphere();
+		}
+		if (box.isEmpty()) {
+			return cache.setEmpty();
+		}
+		box.getCenter(cache.center);
+		cache.radius = cache.center.distance(box.max);
+		return cache;
+	}
+
+	/**
+	 * Gets the index of the point farthest from the specified point.
+	 */
+	private static int farthest(float[] points, int offset, int end, float x,
+			float y, float z) {
+		int farthest = offset;
+		float max = -1f;
+		for (int i = offset; i < end; i += 3) {
+			float dx = points[i] - x;
+			float dy = points[i + 1] - y;
+			float dz = points[i + 2] - z;
+			float distanceSquared = dx * dx + dy * dy + dz * dz;
+			if (distanceSquared > max) {
+				max = distanceSquared;
+				farthest = i;
+			}
+		}
+		return farthest;
+	}
+	// --------------------------------------------- //
+}
@@ -0,0 +1,124 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This class provides a uniform Catmull-Rom spline, which passes through each
+ * of its control points. Each segment between two control points is shaped
+ * by the points on either side of it. For the first and last segments, the
+ * missing neighbors are mirrored from the end points, so the curve leaves the
+ * first point heading toward the second and arrives at the last point heading
+ * away from the second-to-last.
+ * <p>
+ * This is the natural choice for a path recorded as a series of positions,
+ * such as a camera fly-through. The parameterization is uniform, so the curve
+ * can overshoot where short and long gaps between points are adjacent; paths
+ * recorded at a steady rate do not have this problem.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public final class CatmullRomSpline extends Spline {
+
+	/**
+	 * Creates a spline through the specified points.
+	 *
+	 * @param points
+	 *            The control points. There must be at least two.
+	 * @throws IllegalArgumentException
+	 *             If the array or any of its points is {@code null}, or if
+	 *             there are fewer than two points.
+	 */
+	public CatmullRomSpline(Vector3fc[] points) {
+		this(toArray(points, "CatmullRomSpline"), DEFAULT_SAMPLES);
+	}
+
+	/**
+	 * Creates a spline through the specified points.
+	 *
+	 * @param points
+	 *            The interleaved control points (x0, y0, z0, x1, ...). There
+	 *            must be at least two. The array is copied.
+	 * @param samples
+	 *            The number of arc-length table entries per segment. More
+	 *            entries make constant-speed sampling more accurate on tight
+	 *            curves.
+	 * @throws IllegalArgumentException
+	 *             If the array is {@code null}, if its length is not a
+	 *             multiple of 3, if there are fewer than two points, or if the
+	 *             number of samples is not positive.
+	 */
+	public CatmullRomSpline(float[] points, int samples) {
+		super(validate(points), points.length / 3 - 1, samples);
+	}
+
+	/**
+	 * Validates the control points before they are passed to the super
+	 * constructor.
+	 */
+	private static float[] validate(float[] points) {
+		if (points == null || points.length % 3 != 0 || points.length < 6) {
+			throw new IllegalArgumentException("CatmullRomSpline error: "
+					+ "There must be at least two points of three coordinates.");
+		}
+		return points;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Spline#getPoint(int, float,
+	 * com.bar.foo.math.Vector3f)
+	 */
+	@Override
+	public Vector3f getPoint(int segment, float t, Vector3f cache) {
+		final float[] points = this.points;
+		final int last = points.length - 3;
+
+		// The segment runs from p1 to p2. p0 and p3 are their neighbors,
+		// mirrored at the ends of the spline.
+		int i1 = segment * 3;
+		int i2 = i1 + 3;
+
+		// Blend the four points with the Catmull-Rom basis functions.
+		float t2 = t * t;
+		float t3 = t2 * t;
+		float b0 = 0.5f * (-t3 + 2f * t2 - t);
+		float b1 = 0.5f * (3f * t3 - 5f * t2 + 2f);
+		float b2 = 0.5f * (-3f * t3 + 4f * t2 + t);
+		float b3 = 0.5f * (t3 - t2);
+
+		float x = b1 * points[i1] + b2 * points[i2];
+		float y = b1 * points[i1 + 1] + b2 * points[i2 + 1];
+		float z = b1 * points[i1 + 2] + b2 * points[i2 + 2];
+		if (i1 > 0) {
+			x += b0 * points[i1 - 3];
+			y += b0 * points[i1 - 2];
+			z += b0 * points[i1 - 1];
+		} else {
+			// p0 = 2 * p1 - p2
+			x += b0 * (2f * points[i1] - points[i2]);
+			y += b0 * (2f * points[i1 + 1] - points[i2 + 1]);
+			z += b0 * (2f * points[i1 + 2] - points[i2 + 2]);
+		}
+		if (i2 < last) {
+			x += b3 * points[i2 + 3];
+			y += b3 * points[i2 + 4];
+			z += b3 * points[i2 + 5];
+		} else {
+			// p3 = 2 * p2 - p1
+			x += b3 * (2f * points[i2] - points[i1]);
+			y += b3 * (2f * points[i2 + 1] - points[i1 + 1]);
+			z += b3 * (2f * points[i2 + 2] - points[i1 + 2]);
+		}
+
+		if (cache != null) {
+			cache.set(x, y, z);
+		} else {
+			cache = new Vector3f(x, y, z);
+		}
+		return cache;
+	}
+}
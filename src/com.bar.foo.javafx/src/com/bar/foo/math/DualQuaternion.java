@@ -0,0 +1,346 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This class provides a dual quaternion, which represents a rigid
+ * transformation (a rotation followed by a translation) in 8 numbers.
+ * <p>
+ * A unit dual quaternion has a unit {@link #real} part, which is the rotation,
+ * and a {@link #dual} part equal to half the translation (as a pure
+ * quaternion) times the rotation. Unlike matrices, dual quaternions can be
+ * blended by a weighted sum followed by {@link #normalize()} and still give a
+ * rigid transformation. This makes them well suited to skinning meshes, where
+ * blending bone matrices would shrink the mesh around bent joints (see
+ * {@link SkinningKernel}).
+ * </p>
+ * <p>
+ * Like the other math types, operations that return a dual quaternion either
+ * modify {@code this} one or store their result in a <i>cache</i> argument,
+ * so none of them create objects when a cache is provided.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class DualQuaternion {
+
+	/**
+	 * The real part, i.e., the rotation.
+	 */
+	public final Quaternion real;
+	/**
+	 * The dual part, i.e., half the translation times the rotation.
+	 */
+	public final Quaternion dual;
+
+	/**
+	 * Creates an identity dual quaternion.
+	 */
+	public DualQuaternion() {
+		real = new Quaternion(1f, 0f, 0f, 0f);
+		dual = new Quaternion(0f, 0f, 0f, 0f);
+		return;
+	}
+
+	/**
+	 * Creates a dual quaternion for a rotation followed by a translation.
+	 *
+	 * @param rotation
+	 *            The rotation. This should be a unit quaternion.
+	 * @param translation
+	 *            The translation.
+	 */
+	public DualQuaternion(Quaternionc rotation, Vector3fc translation) {
+		this();
+		set(rotation, translation);
+		return;
+	}
+
+	/**
+	 * A copy constructor.
+	 *
+	 * @param dualQuaternion
+	 *            The dual quaternion to copy.
+	 */
+	public DualQuaternion(DualQuaternion dualQuaternion) {
+		real = new Quaternion(dualQuaternion.real);
+		dual = new Quaternion(dualQuaternion.dual);
+		return;
+	}
+
+	// ---- Getters and Setters ---- //
+	/**
+	 * Sets this dual quaternion to the identity.
+	 *
+	 * @return This dual quaternion.
+	 */
+	public DualQuaternion setIdentity() {
+		real.set(1f, 0f, 0f, 0f);
+		dual.set(0f, 0f, 0f, 0f);
+		return this;
+	}
+
+	/**
+	 * Copies another dual quaternion.
+	 *
+	 * @param dualQuaternion
+	 *            The dual quaternion to copy.
+	 * @return This dual quaternion.
+	 */
+	public DualQuaternion set(DualQuaternion dualQuaternion) {
+		real.set(dualQuaternion.real);
+		dual.set(dualQuaternion.dual);
+		return this;
+	}
+
+	/**
+	 * Sets this dual quaternion to a rotation followed by a translation.
+	 *
+	 * @param rotation
+	 *            The rotation. This should be a unit quaternion.
+	 * @param translation
+	 *            The translation.
+	 * @return This dual quaternion.
+	 */
+	public DualQuaternion set(Quaternionc rotation, Vector3fc translation) {
+		float rw = rotation.w(), rx = rotation.x(), ry = rotation.y(), rz = rotation
+				.z();
+		float tx = translation.x(), ty = translation.y(), tz = translation.z();
+		real.set(rw, rx, ry, rz);
+		// dual = 0.5 * (0, t) * r
+		dual.set(-0.5f * (tx * rx + ty * ry + tz * rz),
+				0.5f * (tx * rw + ty * rz - tz * ry),
+				0.5f * (-tx * rz + ty * rw + tz * rx),
+				0.5f * (tx * ry - ty * rx + tz * rw));
+		return this;
+	}
+
+	/**
+	 * Gets the rotation of this dual quaternion.
+	 *
+	 * @param cache
+	 *            The quaternion in which to store the rotation. If
+	 *            {@code null}, a new quaternion is created.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public Quaternion getRotation(Quaternion cache) {
+		if (cache != null) {
+			cache.set(real);
+		} else {
+			cache = new Quaternion(real);
+		}
+		return cache;
+	}
+
+	/**
+	 * Gets the translation of this unit dual quaternion.
+	 *
+	 * @param cache
+	 *            The vector in which to store the translation. If
+	 *            {@code null}, a new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3f getTranslation(Vector3f cache) {
+		// t = 2 * dual * conjugate(real), which is a pure quaternion.
+		final Quaternion r = real, d = dual;
+		float x = 2f * (-d.w * r.x + d.x * r.w - d.y * r.z + d.z * r.y);
+		float y = 2f * (-d.w * r.y + d.x * r.z + d.y * r.w - d.z * r.x);
+		float z = 2f * (-d.w * r.z - d.x * r.y + d.y * r.x + d.z * r.w);
+		if (cache != null) {
+			cache.set(x, y, z);
+		} else {
+			cache = new Vector3f(x, y, z);
+		}
+		return cache;
+	}
+	// ----------------------------- //
+
+	// ---- Operations ---- //
+	/**
+	 * Multiplies this dual quaternion by another. The result applies the
+	 * other transformation first, then this one.
+	 *
+	 * @param q
+	 *            The dual quaternion on the right.
+	 * @return This dual quaternion.
+	 */
+	public DualQuaternion multiply(DualQuaternion q) {
+		return multiply(q, this);
+	}
+
+	/**
+	 * Multiplies this dual quaternion by another. The result applies the
+	 * other transformation first, then this one.
+	 *
+	 * @param q
+	 *            The dual quaternion on the right.
+	 * @param cache
+	 *            The dual quaternion in which to store the product. If
+	 *            {@code null}, a new dual quaternion is created. This may be
+	 *            {@code this} or <i>q</i>.
+	 * @return The <i>cache</i> dual quaternion.
+	 */
+	public DualQuaternion multiply(DualQuaternion q, DualQuaternion cache) {
+		if (cache == null) {
+			cache = new DualQuaternion();
+		}
+		final Quaternion ar = real, ad = dual, br = q.real, bd = q.dual;
+		// dual = ar * bd + ad * br. Compute it before the real part, which
+		// may overwrite ar or br.
+		float dw = ar.w * bd.w - ar.x * bd.x - ar.y * bd.y - ar.z * bd.z
+				+ ad.w * br.w - ad.x * br.x - ad.y * br.y - ad.z * br.z;
+		float dx = ar.w * bd.x + ar.x * bd.w + ar.y * bd.z - ar.z * bd.y
+				+ ad.w * br.x + ad.x * br.w + ad.y * br.z - ad.z * br.y;
+		float dy = ar.w * bd.y - ar.x * bd.z + ar.y * bd.w + ar.z * bd.x
+				+ ad.w * br.y - ad.x * br.z + ad.y * br.w + ad.z * br.x;
+		float dz = ar.w * bd.z + ar.x * bd.y - ar.y * bd.x + ar.z * bd.w
+				+ ad.w * br.z + ad.x * br.y - ad.y * br.x + ad.z * br.w;
+		ar.multiply(br, cache.real);
+		cache.dual.set(dw, dx, dy, dz);
+		return cache;
+	}
+
+	/**
+	 * Normalizes this dual quaternion so that it represents a rigid
+	 * transformation. The real part is scaled to unit length, and the dual
+	 * part is scaled likewise and made orthogonal to the real part.
+	 *
+	 * @return This dual quaternion.
+	 */
+	public DualQuaternion normalize() {
+		return normalize(this);
+	}
+
+	/**
+	 * Normalizes this dual quaternion so that it represents a rigid
+	 * transformation. The real part is scaled to unit length, and the dual
+	 * part is scaled likewise and made orthogonal to the real part.
+	 *
+	 * @param cache
+	 *            The dual quaternion in which to store the result. If
+	 *            {@code null}, a new dual quaternion is created. This may be
+	 *            {@code this}.
+	 * @return The <i>cache</i> dual quaternion.
+	 */
+	public DualQuaternion normalize(DualQuaternion cache) {
+		if (cache == null) {
+			cache = new DualQuaternion();
+		}
+		final Quaternion r = real, d = dual;
+		float normSquared = r.w * r.w + r.x * r.x + r.y * r.y + r.z * r.z;
+		if (normSquared == 0f) {
+			return cache.set(this);
+		}
+		float scale = 1f / FloatMath.sqrt(normSquared);
+		float rw = r.w * scale, rx = r.x * scale, ry = r.y * scale, rz = r.z
+				* scale;
+		float dw = d.w * scale, dx = d.x * scale, dy = d.y * scale, dz = d.z
+				* scale;
+		float dot = rw * dw + rx * dx + ry * dy + rz * dz;
+		cache.real.set(rw, rx, ry, rz);
+		cache.dual.set(dw - dot * rw, dx - dot * rx, dy - dot * ry, dz - dot
+				* rz);
+		return cache;
+	}
+
+	/**
+	 * Conjugates this dual quaternion. For a unit dual quaternion, this gives
+	 * the inverse transformation.
+	 *
+	 * @return This dual quaternion.
+	 */
+	public DualQuaternion conjugate() {
+		return conjugate(this);
+	}
+
+	/**
+	 * Conjugates this dual quaternion. For a unit dual quaternion, this gives
+	 * the inverse transformation.
+	 *
+	 * @param cache
+	 *            The dual quaternion in which to store the result. If
+	 *            {@code null}, a new dual quaternion is created. This may be
+	 *            {@code this}.
+	 * @return The <i>cache</i> dual quaternion.
+	 */
+	public DualQuaternion conjugate(DualQuaternion cache) {
+		if (cache == null) {
+			cache = new DualQuaternion();
+		}
+		real.conjugate(cache.real);
+		dual.conjugate(cache.dual);
+		return cache;
+	}
+
+	/**
+	 * Transforms a point by this unit dual quaternion, i.e., rotates it and
+	 * then translates it.
+	 *
+	 * @param point
+	 *            The point to transform.
+	 * @param cache
+	 *            The vector in which to store the result. If {@code null}, a
+	 *            new vector is created. This may be the point.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3f transformPoint(Vector3fc point, Vector3f cache) {
+		final float rw = real.w, rx = real.x, ry = real.y, rz = real.z;
+		final float dw = dual.w, dx = dual.x, dy = dual.y, dz = dual.z;
+		final float px = point.x(), py = point.y(), pz = point.z();
+		// Rotate: p + 2 * r.v x (r.v x p + r.w * p)
+		float cx = ry * pz - rz * py + rw * px;
+		float cy = rz * px - rx * pz + rw * py;
+		float cz = rx * py - ry * px + rw * pz;
+		float x = px + 2f * (ry * cz - rz * cy);
+		float y = py + 2f * (rz * cx - rx * cz);
+		float z = pz + 2f * (rx * cy - ry * cx);
+		// Translate: 2 * (r.w * d.v - d.w * r.v + r.v x d.v)
+		x += 2f * (rw * dx - dw * rx + ry * dz - rz * dy);
+		y += 2f * (rw * dy - dw * ry + rz * dx - rx * dz);
+		z += 2f * (rw * dz - dw * rz + rx * dy - ry * dx);
+		if (cache != null) {
+			cache.set(x, y, z);
+		} else {
+			cache = new Vector3f(x, y, z);
+		}
+		return cache;
+	}
+
+	/**
+	 * Blends two unit dual quaternions with dual quaternion linear blending:
+	 * a weighted sum along the shortest path, normalized. This is a fast
+	 * approximation of screw linear interpolation.
+	 *
+	 * @param from
+	 *            The transformation at <i>t</i> = 0.
+	 * @param to
+	 *            The transformation at <i>t</i> = 1.
+	 * @param t
+	 *            The interpolation parameter, usually between 0 and 1.
+	 * @param cache
+	 *            The dual quaternion in which to store the result. If
+	 *            {@code null}, a new dual quaternion is created. This may be
+	 *            either of the other dual quaternions.
+	 * @return The <i>cache</i> dual quaternion.
+	 */
+	public static DualQuaternion blend(DualQuaternion from, DualQuaternion to,
+			float t, DualQuaternion cache) {
+		if (cache == null) {
+			cache = new DualQuaternion();
+		}
+		final Quaternion ar = from.real, ad = from.dual, br = to.real, bd = to.dual;
+		float s0 = 1f - t;
+		// q and -q are the same rotation. Negate the second dual quaternion
+		// if necessary to take the shortest path.
+		float s1 = (ar.w * br.w + ar.x * br.x + ar.y * br.y + ar.z * br.z < 0f) ? -t
+				: t;
+		cache.real.set(s0 * ar.w + s1 * br.w, s0 * ar.x + s1 * br.x, s0 * ar.y
+				+ s1 * br.y, s0 * ar.z + s1 * br.z);
+		cache.dual.set(s0 * ad.w + s1 * bd.w, s0 * ad.x + s1 * bd.x, s0 * ad.y
+				+ s1 * bd.y, s0 * ad.z + s1 * bd.z);
+		return cache.normalize();
+	}
+	// -------------------- //
+}
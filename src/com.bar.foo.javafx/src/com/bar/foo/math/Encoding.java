@@ -0,0 +1,764 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * This class provides compact binary encodings of rotations, positions, and
+ * floats for snapshots and network payloads. All encodings are written to and
+ * read from the current position of a {@link ByteBuffer} in the buffer's byte
+ * order, and the same byte order must be used to decode them.
+ * <p>
+ * The following encodings are supported:
+ * </p>
+ * <ul>
+ * <li><b>Quaternions</b> use the <i>smallest three</i> encoding in either 32
+ * or 48 bits. Since a rotation's unit quaternion <i>q</i> and <i>-q</i> are
+ * the same rotation, the largest component is made positive and dropped,
+ * leaving three components in the range [-1/sqrt(2), 1/sqrt(2)]. These are
+ * quantized to 10 bits each (32 bits total) or 15 bits each (48 bits total)
+ * along with the 2-bit index of the dropped component. The maximum error in
+ * the three encoded components is about 7e-4 for 32 bits and 2.2e-5 for 48
+ * bits. The dropped component is recomputed from the others, so its error
+ * may be up to three times as large.</li>
+ * <li><b>Vectors</b> are quantized to 16 bits per coordinate over the range
+ * of an {@link AABB} (48 bits total). The maximum error along each axis is
+ * the box's size along that axis divided by 131070. Coordinates outside the
+ * box are clamped to it.</li>
+ * <li><b>Half floats</b> use the IEEE 754 binary16 format (16 bits), which
+ * has 11 bits of precision and a maximum magnitude of 65504.</li>
+ * </ul>
+ * <p>
+ * Each encoding has a version for single values and a bulk version for
+ * packed float arrays. None of them create any objects.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public final class Encoding {
+
+	/**
+	 * The number of bytes in a quaternion encoded with
+	 * {@link #putQuaternion32(ByteBuffer, Quaternionc)}.
+	 */
+	public static final int QUATERNION32_BYTES = 4;
+	/**
+	 * The number of bytes in a quaternion encoded with
+	 * {@link #putQuaternion48(ByteBuffer, Quaternionc)}.
+	 */
+	public static final int QUATERNION48_BYTES = 6;
+	/**
+	 * The number of bytes in a vector encoded with
+	 * {@link #putVector16(ByteBuffer, Vector3fc, AABB)}.
+	 */
+	public static final int VECTOR16_BYTES = 6;
+	/**
+	 * The number of bytes in a half float.
+	 */
+	public static final int HALF_BYTES = 2;
+
+	/**
+	 * The largest possible magnitude of the three smallest components of a
+	 * unit quaternion.
+	 */
+	private static final float SMALLEST_THREE_RANGE = (float) (1.0 / Math
+			.sqrt(2.0));
+
+	/**
+	 * The largest 16-bit quantized value.
+	 */
+	private static final int MAX_16 = 0xffff;
+
+	/**
+	 * This class only provides static methods.
+	 */
+	private Encoding() {
+		// Nothing to do.
+	}
+
+	// ---- Quaternions ---- //
+
+	/**
+	 * Writes a rotation in 32 bits using the smallest three encoding.
+	 *
+	 * @param buffer
+	 *            The buffer to write to.
+	 * @param rotation
+	 *            The rotation to write. This should be a unit quaternion, but
+	 *            it will be normalized when encoded.
+	 * @return A reference to the buffer.
+	 * @throws BufferOverflowException
+	 *             If the buffer has less than 4 bytes remaining.
+	 */
+	public static ByteBuffer putQuaternion32(ByteBuffer buffer,
+			Quaternionc rotation) {
+		return buffer.putInt((int) encodeSmallestThree(rotation.w(),
+				rotation.x(), rotation.y(), rotation.z(), 10));
+	}
+
+	/**
+	 * Reads a rotation written by
+	 * {@link #putQuaternion32(ByteBuffer, Quaternionc)}.
+	 *
+	 * @param buffer
+	 *            The buffer to read from.
+	 * @param cache
+	 *            The quaternion in which to store the rotation. If null, a
+	 *            new quaternion is created.
+	 * @return A reference to the cache. This will be a unit quaternion.
+	 * @throws BufferUnderflowException
+	 *             If the buffer has less than 4 bytes remaining.
+	 */
+	public static Quaternion getQuaternion32(ByteBuffer buffer,
+			Quaternion cache) {
+		return decodeSmallestThree(buffer.getInt() & 0xffffffffL, 10, cache);
+	}
+
+	/**
+	 * Writes a rotation in 48 bits using the smallest three encoding.
+	 *
+	 * @param buffer
+	 *            The buffer to write to.
+	 * @param rotation
+	 *            The rotation to write. This should be a unit quaternion, but
+	 *            it will be normalized when encoded.
+	 * @return A reference to the buffer.
+	 * @throws BufferOverflowException
+	 *             If the buffer has less than 6 bytes remaining.
+	 */
+	public static ByteBuffer putQuaternion48(ByteBuffer buffer,
+			Quaternionc rotation) {
+		return put48(buffer, encodeSmallestThree(rotation.w(), rotation.x(),
+				rotation.y(), rotation.z(), 15));
+	}
+
+	/**
+	 * Reads a rotation written by
+	 * {@link #putQuaternion48(ByteBuffer, Quaternionc)}.
+	 *
+	 * @param buffer
+	 *            The buffer to read from.
+	 * @param cache
+	 *            The quaternion in which to store the rotation. If null, a
+	 *            new quaternion is created.
+	 * @return A reference to the cache. This will be a unit quaternion.
+	 * @throws BufferUnderflowException
+	 *             If the buffer has less than 6 bytes remaining.
+	 */
+	public static Quaternion getQuaternion48(ByteBuffer buffer,
+			Quaternion cache) {
+		return decodeSmallestThree(get48(buffer), 15, cache);
+	}
+
+	/**
+	 * Writes rotations from a packed array in 32 bits each using the smallest
+	 * three encoding.
+	 *
+	 * @param buffer
+	 *            The buffer to write to.
+	 * @param src
+	 *            The rotations as consecutive w, x, y, and z components.
+	 * @param offset
+	 *            The index of the first rotation's w component.
+	 * @param count
+	 *            The number of rotations to write.
+	 * @return A reference to the buffer.
+	 * @throws IndexOutOfBoundsException
+	 *             If the range of rotations exceeds the array bounds.
+	 * @throws BufferOverflowException
+	 *             If the buffer does not have room for all the rotations.
+	 */
+	public static ByteBuffer putQuaternions32(ByteBuffer buffer, float[] src,
+			int offset, int count) {
+		checkRange(src, offset, count, 4);
+		checkRemaining(buffer, count, QUATERNION32_BYTES, true);
+		for (int i = offset, end = offset + count * 4; i < end; i += 4) {
+			buffer.putInt((int) encodeSmallestThree(src[i], src[i + 1],
+					src[i + 2], src[i + 3], 10));
+		}
+		return buffer;
+	}
+
+	/**
+	 * Reads rotations written by
+	 * {@link #putQuaternion32(ByteBuffer, Quaternionc)} into a packed array.
+	 *
+	 * @param buffer
+	 *            The buffer to read from.
+	 * @param dst
+	 *            The array in which to store the rotations as consecutive w,
+	 *            x, y, and z components.
+	 * @param offset
+	 *            The index of the first rotation's w component.
+	 * @param count
+	 *            The number of rotations to read.
+	 * @return A reference to the array.
+	 * @throws IndexOutOfBoundsException
+	 *             If the range of rotations exceeds the array bounds.
+	 * @throws BufferUnderflowException
+	 *             If the buffer does not contain all the rotations.
+	 */
+	public static float[] getQuaternions32(ByteBuffer buffer, float[] dst,
+			int offset, int count) {
+		checkRange(dst, offset, count, 4);
+		checkRemaining(buffer, count, QUATERNION32_BYTES, false);
+		try (Scratch scratch = Scratch.open()) {
+			Quaternion q = scratch.quaternion();
+			for (int i = offset, end = offset + count * 4; i < end; i += 4) {
+				decodeSmallestThree(buffer.getInt() & 0xffffffffL, 10, q);
+				dst[i] = q.w;
+				dst[i + 1] = q.x;
+				dst[i + 2] = q.y;
+				dst[i + 3] = q.z;
+			}
+		}
+		return dst;
+	}
+
+	/**
+	 * Writes rotations from a packed array in 48 bits each using the smallest
+	 * three encoding.
+	 *
+	 * @param buffer
+	 *            The buffer to write to.
+	 * @param src
+	 *            The rotations as consecutive w, x, y, and z components.
+	 * @param offset
+	 *            The index of the first rotation's w component.
+	 * @param count
+	 *            The number of rotations to write.
+	 * @return A reference to the buffer.
+	 * @throws IndexOutOfBoundsException
+	 *             If the range of rotations exceeds the array bounds.
+	 * @throws BufferOverflowException
+	 *             If the buffer does not have room for all the rotations.
+	 */
+	public static ByteBuffer putQuaternions48(ByteBuffer buffer, float[] src,
+			int offset, int count) {
+		checkRange(src, offset, count, 4);
+		checkRemaining(buffer, count, QUATERNION48_BYTES, true);
+		for (int i = offset, end = offset + count * 4; i < end; i += 4) {
+			put48(buffer, encodeSmallestThree(src[i], src[i + 1], src[i + 2],
+					src[i + 3], 15));
+		}
+		return buffer;
+	}
+
+	/**
+	 * Reads rotations written by
+	 * {@link #putQuaternion48(ByteBuffer, Quaternionc)} into a packed array.
+	 *
+	 * @param buffer
+	 *            The buffer to read from.
+	 * @param dst
+	 *            The array in which to store the rotations as consecutive w,
+	 *            x, y, and z components.
+	 * @param offset
+	 *            The index of the first rotation's w component.
+	 * @param count
+	 *            The number of rotations to read.
+	 * @return A reference to the array.
+	 * @throws IndexOutOfBoundsException
+	 *             If the range of rotations exceeds the array bounds.
+	 * @throws BufferUnderflowException
+	 *             If the buffer does not contain all the rotations.
+	 */
+	public static float[] getQuaternions48(ByteBuffer buffer, float[] dst,
+			int offset, int count) {
+		checkRange(dst, offset, count, 4);
+		checkRemaining(buffer, count, QUATERNION48_BYTES, false);
+		try (Scratch scratch = Scratch.open()) {
+			Quaternion q = scratch.quaternion();
+			for (int i = offset, end = offset + count * 4; i < end; i += 4) {
+				decodeSmallestThree(get48(buffer), 15, q);
+				dst[i] = q.w;
+				dst[i + 1] = q.x;
+				dst[i + 2] = q.y;
+				dst[i + 3] = q.z;
+			}
+		}
+		return dst;
+	}
+
+	/**
+	 * Encodes a quaternion with the smallest three encoding. The two highest
+	 * bits hold the index (w, x, y, z) of the largest component, followed by
+	 * the other three components in order.
+	 *
+	 * @param bits
+	 *            The number of bits per component.
+	 * @return The encoded quaternion in the lowest 2 + 3 * bits bits.
+	 */
+	private static long encodeSmallestThree(float w, float x, float y,
+			float z, int bits) {
+		// Find the largest component.
+		float aw = Math.abs(w);
+		float ax = Math.abs(x);
+		float ay = Math.abs(y);
+		float az = Math.abs(z);
+		int largest = 0;
+		float max = aw;
+		if (ax > max) {
+			largest = 1;
+			max = ax;
+		}
+		if (ay > max) {
+			largest = 2;
+			max = ay;
+		}
+		if (az > max) {
+			largest = 3;
+			max = az;
+		}
+
+		// Normalize, and flip the sign so that the largest is positive.
+		float lengthSquared = w * w + x * x + y * y + z * z;
+		float scale = lengthSquared > 0f ? 1f / (float) Math
+				.sqrt(lengthSquared) : 0f;
+		float component = largest == 0 ? w : largest == 1 ? x
+				: largest == 2 ? y : z;
+		if (component < 0f) {
+			scale = -scale;
+		}
+
+		// Quantize the three smallest components.
+		final int maxValue = (1 << bits) - 1;
+		final float quantize = scale * maxValue * 0.5f / SMALLEST_THREE_RANGE;
+		final float half = maxValue * 0.5f;
+		long encoded = largest;
+		if (largest != 0) {
+			encoded = (encoded << bits) | quantize(w, quantize, half, maxValue);
+		}
+		if (largest != 1) {
+			encoded = (encoded << bits) | quantize(x, quantize, half, maxValue);
+		}
+		if (largest != 2) {
+			encoded = (encoded << bits) | quantize(y, quantize, half, maxValue);
+		}
+		if (largest != 3) {
+			encoded = (encoded << bits) | quantize(z, quantize, half, maxValue);
+		}
+		return encoded;
+	}
+
+	/**
+	 * Quantizes a value to the range [0, maxValue], rounding to the nearest
+	 * integer.
+	 */
+	private static int quantize(float value, float scale, float offset,
+			int maxValue) {
+		int quantized = (int) (value * scale + offset + 0.5f);
+		return quantized < 0 ? 0 : quantized > maxValue ? maxValue
+				: quantized;
+	}
+
+	/**
+	 * Decodes a quaternion encoded with
+	 * {@link #encodeSmallestThree(float, float, float, float, int)}.
+	 */
+	private static Quaternion decodeSmallestThree(long encoded, int bits,
+			Quaternion cache) {
+		final int maxValue = (1 << bits) - 1;
+		final float scale = 2f * SMALLEST_THREE_RANGE / maxValue;
+		float c = (encoded & maxValue) * scale - SMALLEST_THREE_RANGE;
+		encoded >>>= bits;
+		float b = (encoded & maxValue) * scale - SMALLEST_THREE_RANGE;
+		encoded >>>= bits;
+		float a = (encoded & maxValue) * scale - SMALLEST_THREE_RANGE;
+		int largest = (int) (encoded >>> bits) & 3;
+
+		// The largest component is positive and completes the unit length.
+		float squared = 1f - a * a - b * b - c * c;
+		float d = squared > 0f ? (float) Math.sqrt(squared) : 0f;
+
+		if (cache == null) {
+			cache = new Quaternion();
+		}
+		switch (largest) {
+		case 0:
+			cache.set(d, a, b, c);
+			break;
+		case 1:
+			cache.set(a, d, b, c);
+			break;
+		case 2:
+			cache.set(a, b, d, c);
+			break;
+		default:
+			cache.set(a, b, c, d);
+			break;
+		}
+		return cache;
+	}
+
+	/**
+	 * Writes the lowest 48 bits of the value as a short followed by an int.
+	 */
+	private static ByteBuffer put48(ByteBuffer buffer, long value) {
+		return buffer.putShort((short) (value >>> 32)).putInt((int) value);
+	}
+
+	/**
+	 * Reads a value written by {@link #put48(ByteBuffer, long)}.
+	 */
+	private static long get48(ByteBuffer buffer) {
+		long high = buffer.getShort() & 0xffffL;
+		return (high << 32) | (buffer.getInt() & 0xffffffffL);
+	}
+	// -------------------- //
+
+	// ---- Vectors ---- //
+
+	/**
+	 * Writes a vector quantized to 16 bits per coordinate over the specified
+	 * range.
+	 *
+	 * @param buffer
+	 *            The buffer to write to.
+	 * @param vector
+	 *            The vector to write. It is clamped to the range.
+	 * @param range
+	 *            The range of the vector's coordinates. This must not be
+	 *            empty.
+	 * @return A reference to the buffer.
+	 * @throws BufferOverflowException
+	 *             If the buffer has less than 6 bytes remaining.
+	 */
+	public static ByteBuffer putVector16(ByteBuffer buffer, Vector3fc vector,
+			AABB range) {
+		Vector3f min = range.min;
+		Vector3f max = range.max;
+		return buffer
+				.putShort(quantize16(vector.x(), min.x, max.x))
+				.putShort(quantize16(vector.y(), min.y, max.y))
+				.putShort(quantize16(vector.z(), min.z, max.z));
+	}
+
+	/**
+	 * Reads a vector written by
+	 * {@link #putVector16(ByteBuffer, Vector3fc, AABB)}.
+	 *
+	 * @param buffer
+	 *            The buffer to read from.
+	 * @param range
+	 *            The range used to write the vector.
+	 * @param cache
+	 *            The vector in which to store the values. If null, a new
+	 *            vector is created.
+	 * @return A reference to the cache.
+	 * @throws BufferUnderflowException
+	 *             If the buffer has less than 6 bytes remaining.
+	 */
+	public static Vector3f getVector16(ByteBuffer buffer, AABB range,
+			Vector3f cache) {
+		Vector3f min = range.min;
+		Vector3f max = range.max;
+		float x = dequantize16(buffer.getShort(), min.x, max.x);
+		float y = dequantize16(buffer.getShort(), min.y, max.y);
+		float z = dequantize16(buffer.getShort(), min.z, max.z);
+		if (cache != null) {
+			cache.set(x, y, z);
+		} else {
+			cache = new Vector3f(x, y, z);
+		}
+		return cache;
+	}
+
+	/**
+	 * Writes vectors from a packed array quantized to 16 bits per coordinate
+	 * over the specified range.
+	 *
+	 * @param buffer
+	 *            The buffer to write to.
+	 * @param src
+	 *            The vectors as consecutive x, y, and z coordinates. They are
+	 *            clamped to the range.
+	 * @param offset
+	 *            The index of the first vector's x coordinate.
+	 * @param count
+	 *            The number of vectors to write.
+	 * @param range
+	 *            The range of the vectors' coordinates. This must not be
+	 *            empty.
+	 * @return A reference to the buffer.
+	 * @throws IndexOutOfBoundsException
+	 *             If the range of vectors exceeds the array bounds.
+	 * @throws BufferOverflowException
+	 *             If the buffer does not have room for all the vectors.
+	 */
+	public static ByteBuffer putVectors16(ByteBuffer buffer, float[] src,
+			int offset, int count, AABB range) {
+		checkRange(src, offset, count, 3);
+		checkRemaining(buffer, count, VECTOR16_BYTES, true);
+		final float minX = range.min.x;
+		final float minY = range.min.y;
+		final float minZ = range.min.z;
+		final float maxX = range.max.x;
+		final float maxY = range.max.y;
+		final float maxZ = range.max.z;
+		for (int i = offset, end = offset + count * 3; i < end; i += 3) {
+			buffer.putShort(quantize16(src[i], minX, maxX));
+			buffer.putShort(quantize16(src[i + 1], minY, maxY));
+			buffer.putShort(quantize16(src[i + 2], minZ, maxZ));
+		}
+		return buffer;
+	}
+
+	/**
+	 * Reads vectors written by
+	 * {@link #putVector16(ByteBuffer, Vector3fc, AABB)} into a packed array.
+	 *
+	 * @param buffer
+	 *            The buffer to read from.
+	 * @param dst
+	 *            The array in which to store the vectors as consecutive x, y,
+	 *            and z coordinates.
+	 * @param offset
+	 *            The index of the first vector's x coordinate.
+	 * @param count
+	 *            The number of vectors to read.
+	 * @param range
+	 *            The range used to write the vectors.
+	 * @return A reference to the array.
+	 * @throws IndexOutOfBoundsException
+	 *             If the range of vectors exceeds the array bounds.
+	 * @throws BufferUnderflowException
+	 *             If the buffer does not contain all the vectors.
+	 */
+	public static float[] getVectors16(ByteBuffer buffer, float[] dst,
+			int offset, int count, AABB range) {
+		checkRange(dst, offset, count, 3);
+		checkRemaining(buffer, count, VECTOR16_BYTES, false);
+		final float minX = range.min.x;
+		final float minY = range.min.y;
+		final float minZ = range.min.z;
+		final float maxX = range.max.x;
+		final float maxY = range.max.y;
+		final float maxZ = range.max.z;
+		for (int i = offset, end = offset + count * 3; i < end; i += 3) {
+			dst[i] = dequantize16(buffer.getShort(), minX, maxX);
+			dst[i + 1] = dequantize16(buffer.getShort(), minY, maxY);
+			dst[i + 2] = dequantize16(buffer.getShort(), minZ, maxZ);
+		}
+		return dst;
+	}
+
+	/**
+	 * Quantizes a value in [min, max] to an unsigned 16-bit value.
+	 */
+	private static short quantize16(float value, float min, float max) {
+		float size = max - min;
+		if (!(size > 0f)) {
+			return 0;
+		}
+		return (short) quantize(value - min, MAX_16 / size, 0f, MAX_16);
+	}
+
+	/**
+	 * Dequantizes a value written by {@link #quantize16(float, float, float)}.
+	 */
+	private static float dequantize16(short value, float min, float max) {
+		return min + (value & MAX_16) * ((max - min) / MAX_16);
+	}
+	// ----------------- //
+
+	// ---- Half Floats ---- //
+
+	/**
+	 * Converts a float to a half (16-bit) float, rounding to the nearest half
+	 * float. Values too large for a half float become infinity, and NaNs
+	 * remain NaNs.
+	 *
+	 * @param value
+	 *            The float to convert.
+	 * @return The half float's bits.
+	 */
+	public static short toHalf(float value) {
+		int bits = Float.floatToRawIntBits(value);
+		int sign = (bits >>> 16) & 0x8000;
+		int exponent = (bits >>> 23) & 0xff;
+		int mantissa = bits & 0x7fffff;
+
+		// Infinity and NaN. Keep the NaN's high mantissa bits, and make sure
+		// at least one is set so it is not converted to infinity.
+		if (exponent == 0xff) {
+			return (short) (sign | 0x7c00 | (mantissa != 0 ? 0x200
+					| (mantissa >>> 13) : 0));
+		}
+
+		// Re-bias the exponent from 127 to 15.
+		exponent -= 112;
+		if (exponent >= 0x1f) {
+			// Too large. Round to infinity.
+			return (short) (sign | 0x7c00);
+		} else if (exponent <= 0) {
+			// Too small for a normal half float. Values less than half the
+			// smallest subnormal round to zero.
+			if (exponent < -10) {
+				return (short) sign;
+			}
+			// Shift the mantissa, including its implicit leading 1, to the
+			// subnormal position.
+			mantissa |= 0x800000;
+			int shift = 14 - exponent;
+			int half = mantissa >>> shift;
+			int remainder = mantissa & ((1 << shift) - 1);
+			int midpoint = 1 << (shift - 1);
+			if (remainder > midpoint
+					|| (remainder == midpoint && (half & 1) != 0)) {
+				half++;
+			}
+			return (short) (sign | half);
+		}
+
+		// Round to nearest even. A carry out of the mantissa correctly
+		// increments the exponent, including up to infinity.
+		int half = (exponent << 10) | (mantissa >>> 13);
+		int remainder = mantissa & 0x1fff;
+		if (remainder > 0x1000 || (remainder == 0x1000 && (half & 1) != 0)) {
+			half++;
+		}
+		return (short) (sign | half);
+	}
+
+	/**
+	 * Converts a half (16-bit) float to a float. This is exact.
+	 *
+	 * @param half
+	 *            The half float's bits.
+	 * @return The equivalent float.
+	 */
+	public static float fromHalf(short half) {
+		int sign = (half & 0x8000) << 16;
+		int exponent = (half >>> 10) & 0x1f;
+		int mantissa = half & 0x3ff;
+
+		if (exponent == 0x1f) {
+			// Infinity and NaN.
+			return Float.intBitsToFloat(sign | 0x7f800000 | (mantissa << 13));
+		} else if (exponent == 0) {
+			// Zero and subnormals, which are mantissa * 2^-24.
+			float value = mantissa * 0x1p-24f;
+			return sign != 0 ? -value : value;
+		}
+		return Float.intBitsToFloat(sign | ((exponent + 112) << 23)
+				| (mantissa << 13));
+	}
+
+	/**
+	 * Writes a float as a half float.
+	 *
+	 * @param buffer
+	 *            The buffer to write to.
+	 * @param value
+	 *            The float to write.
+	 * @return A reference to the buffer.
+	 * @throws BufferOverflowException
+	 *             If the buffer has less than 2 bytes remaining.
+	 * @see #toHalf(float)
+	 */
+	public static ByteBuffer putHalf(ByteBuffer buffer, float value) {
+		return buffer.putShort(toHalf(value));
+	}
+
+	/**
+	 * Reads a half float written by {@link #putHalf(ByteBuffer, float)}.
+	 *
+	 * @param buffer
+	 *            The buffer to read from.
+	 * @return The float value.
+	 * @throws BufferUnderflowException
+	 *             If the buffer has less than 2 bytes remaining.
+	 */
+	public static float getHalf(ByteBuffer buffer) {
+		return fromHalf(buffer.getShort());
+	}
+
+	/**
+	 * Writes floats from an array as half floats.
+	 *
+	 * @param buffer
+	 *            The buffer to write to.
+	 * @param src
+	 *            The floats to write.
+	 * @param offset
+	 *            The index of the first float.
+	 * @param count
+	 *            The number of floats to write.
+	 * @return A reference to the buffer.
+	 * @throws IndexOutOfBoundsException
+	 *             If the range of floats exceeds the array bounds.
+	 * @throws BufferOverflowException
+	 *             If the buffer does not have room for all the floats.
+	 */
+	public static ByteBuffer putHalfs(ByteBuffer buffer, float[] src,
+			int offset, int count) {
+		checkRange(src, offset, count, 1);
+		checkRemaining(buffer, count, HALF_BYTES, true);
+		for (int i = offset, end = offset + count; i < end; i++) {
+			buffer.putShort(toHalf(src[i]));
+		}
+		return buffer;
+	}
+
+	/**
+	 * Reads half floats written by {@link #putHalf(ByteBuffer, float)} into an
+	 * array.
+	 *
+	 * @param buffer
+	 *            The buffer to read from.
+	 * @param dst
+	 *            The array in which to store the floats.
+	 * @param offset
+	 *            The index of the first float.
+	 * @param count
+	 *            The number of floats to read.
+	 * @return A reference to the array.
+	 * @throws IndexOutOfBoundsException
+	 *             If the range of floats exceeds the array bounds.
+	 * @throws BufferUnderflowException
+	 *             If the buffer does not contain all the floats.
+	 */
+	public static float[] getHalfs(ByteBuffer buffer, float[] dst,
+			int offset, int count) {
+		checkRange(dst, offset, count, 1);
+		checkRemaining(buffer, count, HALF_BYTES, false);
+		for (int i = offset, end = offset + count; i < end; i++) {
+			dst[i] = fromHalf(buffer.getShort());
+		}
+		return dst;
+	}
+	// --------------------- //
+
+	/**
+	 * Makes sure the range of values is within the array.
+	 */
+	private static void checkRange(float[] array, int offset, int count,
+			int stride) {
+		if (offset < 0 || count < 0
+				|| (long) offset + (long) count * stride > array.length) {
+			throw new IndexOutOfBoundsException("Encoding error: "
+					+ "The range of values exceeds the array bounds.");
+		}
+	}
+
+	/**
+	 * Makes sure the buffer has room for, or contains, all of the values
+	 * before any are written or read, so a failed bulk operation does not
+	 * leave the buffer partly written or read.
+	 */
+	private static void checkRemaining(ByteBuffer buffer, int count,
+			int bytes, boolean writing) {
+		if ((long) count * bytes > buffer.remaining()) {
+			if (writing) {
+				throw new BufferOverflowException();
+			}
+			throw new BufferUnderflowException();
+		}
+	}
+}
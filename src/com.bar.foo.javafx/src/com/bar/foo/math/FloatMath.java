@@ -6,14 +6,49 @@ package com.bar.foo.math;
 /**
  * This class provides convenient math operations on floats. This prevents any
  * unnecessary type casting.
+ * <p>
+ * The methods ending in {@code Fast} trade accuracy for speed and are meant
+ * for visual-only work (e.g., animation and camera updates), not for physics
+ * or anything that accumulates error. Each documents its maximum error. The
+ * table-based trigonometric functions use tables with
+ * 2<sup>{@link #getTableBits() bits}</sup> entries, which can be changed with
+ * {@link #setTableBits(int)} or the system property
+ * {@value #TABLE_BITS_PROPERTY}.
+ * </p>
  * 
  * @author Jordan Deyton
  *
  */
 public class FloatMath {
 
-	// TODO Test this class.
-	
+	/**
+	 * The system property used to set the initial table precision for the fast
+	 * trigonometric functions. See {@link #setTableBits(int)}.
+	 */
+	public static final String TABLE_BITS_PROPERTY = "com.bar.foo.math.FloatMath.tableBits";
+	/**
+	 * The default table precision for the fast trigonometric functions.
+	 */
+	public static final int DEFAULT_TABLE_BITS = 12;
+	/**
+	 * The minimum table precision for the fast trigonometric functions.
+	 */
+	public static final int MIN_TABLE_BITS = 4;
+	/**
+	 * The maximum table precision for the fast trigonometric functions.
+	 */
+	public static final int MAX_TABLE_BITS = 20;
+
+	private static final float PI = (float) Math.PI;
+	private static final float HALF_PI = (float) (Math.PI / 2.0);
+
+	/**
+	 * The current tables. These are replaced as a whole so that readers on
+	 * other threads always see a consistent set.
+	 */
+	private static volatile Tables tables = new Tables(Integer.getInteger(
+			TABLE_BITS_PROPERTY, DEFAULT_TABLE_BITS));
+
 	/**
 	 * Computes and returns the square root of a float value.
 	 * 
@@ -48,6 +83,151 @@ public class FloatMath {
 		return (float) Math.sin(value);
 	}
 
+	/**
+	 * Computes and returns the inverse square root of a float value.
+	 * 
+	 * @param value
+	 *            The value to take the inverse square root of.
+	 * @return 1 / sqrt(value).
+	 */
+	public static float invSqrt(float value) {
+		return (float) (1.0 / Math.sqrt(value));
+	}
+
+	// ---- Fast Approximations ---- //
+	/**
+	 * Approximates the inverse square root of a positive float value. This
+	 * uses the well-known bit-level initial guess followed by one Newton-Raphson
+	 * step. Values near 1, such as the squared length of a vector that has
+	 * drifted slightly from unit length, instead use a short Taylor series,
+	 * which is both cheaper and more accurate there.
+	 * <p>
+	 * <b>Error:</b> the relative error is at most 1.76e-3 for all positive
+	 * normal values. For values within 1e-3 of 1, it is at most 1e-6, so
+	 * repeated re-normalization does not accumulate error. The result is
+	 * undefined for zero, negative, and subnormal values.
+	 * </p>
+	 * 
+	 * @param value
+	 *            A positive value.
+	 * @return An approximation of 1 / sqrt(value).
+	 */
+	public static float invSqrtFast(float value) {
+		float d = value - 1f;
+		if (d > -0.0625f && d < 0.0625f) {
+			// 1 - d/2 + 3d^2/8. The error is about 5|d|^3/16.
+			return 1f - d * (0.5f - 0.375f * d);
+		}
+		float half = 0.5f * value;
+		float y = Float.intBitsToFloat(0x5f375a86 - (Float.floatToRawIntBits(value) >> 1));
+		return y * (1.5f - half * y * y);
+	}
+
+	/**
+	 * Approximates the square root of a non-negative float value using
+	 * {@link #invSqrtFast(float)}.
+	 * <p>
+	 * <b>Error:</b> the relative error is at most 1.76e-3 for all positive
+	 * normal values. Zero returns zero.
+	 * </p>
+	 * 
+	 * @param value
+	 *            A non-negative value.
+	 * @return An approximation of sqrt(value).
+	 */
+	public static float sqrtFast(float value) {
+		return value > 0f ? value * invSqrtFast(value) : 0f;
+	}
+
+	/**
+	 * Approximates the sine of a float angle using linear interpolation in a
+	 * lookup table.
+	 * <p>
+	 * <b>Error:</b> the absolute error is at most
+	 * (2&pi;/2<sup>bits</sup>)<sup>2</sup>/8 + 1.2e-7, which is 4.1e-7 at the
+	 * default 12 bits, 4.8e-6 at 10 bits, and 7.6e-5 at 8 bits.
+	 * This holds for angles of magnitude up to 1e5 radians.
+	 * </p>
+	 * 
+	 * @param value
+	 *            An angle, in radians.
+	 * @return An approximation of sin(value).
+	 */
+	public static float sinFast(float value) {
+		return tables.sin(value, 0);
+	}
+
+	/**
+	 * Approximates the cosine of a float angle using linear interpolation in a
+	 * lookup table.
+	 * <p>
+	 * <b>Error:</b> the same as {@link #sinFast(float)}.
+	 * </p>
+	 * 
+	 * @param value
+	 *            An angle, in radians.
+	 * @return An approximation of cos(value).
+	 */
+	public static float cosFast(float value) {
+		Tables tables = FloatMath.tables;
+		return tables.sin(value, tables.quarter);
+	}
+
+	/**
+	 * Approximates the angle of the point (x, y) from the positive x axis using
+	 * linear interpolation in an arctangent lookup table.
+	 * <p>
+	 * <b>Error:</b> the absolute error is at most
+	 * 0.65(1/2<sup>bits</sup>)<sup>2</sup>/8 + 2.9e-7, which is 3e-7 radians at
+	 * the default 12 bits and 1.6e-6 at 8 bits.
+	 * </p>
+	 * 
+	 * @param y
+	 *            The y coordinate.
+	 * @param x
+	 *            The x coordinate.
+	 * @return An approximation of atan2(y, x), in the range [-&pi;, &pi;].
+	 * @see Math#atan2(double, double)
+	 */
+	public static float atan2Fast(float y, float x) {
+		return tables.atan2(y, x);
+	}
+
+	/**
+	 * Sets the precision of the lookup tables used by {@link #sinFast(float)},
+	 * {@link #cosFast(float)}, and {@link #atan2Fast(float, float)}. Each table
+	 * has 2<sup>bits</sup> entries. The tables are rebuilt immediately, so
+	 * this should be called during startup rather than every frame.
+	 * 
+	 * @param bits
+	 *            The number of bits of precision, between
+	 *            {@value #MIN_TABLE_BITS} and {@value #MAX_TABLE_BITS}.
+	 * @throws IllegalArgumentException
+	 *             If the number of bits is out of range.
+	 */
+	public static void setTableBits(int bits) {
+		if (bits < MIN_TABLE_BITS || bits > MAX_TABLE_BITS) {
+			throw new IllegalArgumentException("FloatMath error: "
+					+ "Table bits must be between " + MIN_TABLE_BITS + " and "
+					+ MAX_TABLE_BITS + ".");
+		}
+		if (bits != tables.bits) {
+			tables = new Tables(bits);
+		}
+	}
+
+	/**
+	 * Gets the precision of the lookup tables used by the fast trigonometric
+	 * functions.
+	 * 
+	 * @return The number of bits. Each table has 2<sup>bits</sup> entries.
+	 */
+	public static int getTableBits() {
+		return tables.bits;
+	}
+
+	// ----------------------------- //
+
 	/**
 	 * Gets a value restricted (or "clamped") to the provided range.
 	 * 
@@ -64,4 +244,95 @@ public class FloatMath {
 		return (value < min ? min : value > max ? max : value);
 	}
 
+	/**
+	 * The lookup tables for the fast trigonometric functions. Both tables have
+	 * an extra entry at the end so that interpolation never wraps.
+	 */
+	private static final class Tables {
+
+		private final int bits;
+		private final int mask;
+		private final int quarter;
+
+		/**
+		 * sin(2&pi;i/n) for i in [0, n].
+		 */
+		private final float[] sin;
+		/**
+		 * The number of sine table entries per radian.
+		 */
+		private final double sinScale;
+
+		/**
+		 * atan(i/n) for i in [0, n].
+		 */
+		private final float[] atan;
+
+		private Tables(int bits) {
+			// Out-of-range system properties fall back to the default.
+			if (bits < MIN_TABLE_BITS || bits > MAX_TABLE_BITS) {
+				bits = DEFAULT_TABLE_BITS;
+			}
+			this.bits = bits;
+			int n = 1 << bits;
+			mask = n - 1;
+			quarter = n / 4;
+
+			sin = new float[n + 1];
+			atan = new float[n + 1];
+			for (int i = 0; i <= n; i++) {
+				sin[i] = (float) Math.sin(2.0 * Math.PI * i / n);
+				atan[i] = (float) Math.atan((double) i / n);
+			}
+			sinScale = n / (2.0 * Math.PI);
+			return;
+		}
+
+		/**
+		 * Interpolates the sine table.
+		 * 
+		 * @param value
+		 *            The angle, in radians.
+		 * @param offset
+		 *            An offset in table entries, e.g. a quarter of the table
+		 *            for cosine.
+		 */
+		private float sin(float value, int offset) {
+			double t = value * sinScale;
+			double floor = Math.floor(t);
+			int i = (int) ((long) floor + offset & mask);
+			float fraction = (float) (t - floor);
+			return sin[i] + (sin[i + 1] - sin[i]) * fraction;
+		}
+
+		/**
+		 * Reduces the point to the first octant and interpolates the
+		 * arctangent table.
+		 */
+		private float atan2(float y, float x) {
+			float ax = Math.abs(x);
+			float ay = Math.abs(y);
+			if (ax == 0f && ay == 0f) {
+				// Match Math.atan2 for +/-0 arguments.
+				return (float) Math.atan2(y, x);
+			}
+			// Look up the angle for the ratio in [0, 1].
+			boolean steep = ay > ax;
+			float t = (steep ? ax / ay : ay / ax) * (mask + 1);
+			int i = (int) t;
+			float angle = atan[i];
+			if (i <= mask) {
+				angle += (atan[i + 1] - angle) * (t - i);
+			}
+			// Undo the reduction.
+			if (steep) {
+				angle = HALF_PI - angle;
+			}
+			if (x < 0f) {
+				angle = PI - angle;
+			}
+			// Check the sign bit so that -0 behaves like Math.atan2.
+			return Float.floatToRawIntBits(y) < 0 ? -angle : angle;
+		}
+	}
 }
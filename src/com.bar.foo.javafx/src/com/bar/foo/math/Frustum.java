@@ -0,0 +1,546 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This class provides a perspective view frustum: the truncated pyramid of
+ * space visible to a camera. It is bounded by six planes whose normals point
+ * into the frustum.
+ * <p>
+ * The frustum is defined in the camera's local space, where the camera sits
+ * at the origin looking down the negative z axis with positive y up and
+ * positive x to the right, and is then moved into world space by the camera's
+ * transformation. It is rebuilt via one of the {@code set} methods whenever
+ * the camera moves or its projection changes.
+ * </p>
+ * <p>
+ * The simple {@code intersects} methods report whether a volume is at least
+ * partly visible. For culling many volumes each frame, the {@code test}
+ * methods additionally support two optimizations:
+ * </p>
+ * <ul>
+ * <li><b>Masking</b> - Each test takes a bit mask of the planes to check and
+ * returns the mask of planes the volume straddles. If a parent volume is
+ * entirely inside a plane, so are its children, so the returned mask can be
+ * passed on when testing the children. A mask of {@link #INSIDE} means the
+ * volume is entirely visible.</li>
+ * <li><b>Plane coherency</b> - When a volume is rejected, the result records
+ * the plane that rejected it (see {@link #getRejectingPlane(int)}). Objects
+ * rarely move far between frames, so testing that plane first next frame
+ * usually rejects the volume again after a single plane test.</li>
+ * </ul>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class Frustum {
+
+	/**
+	 * The index of the left plane.
+	 */
+	public static final int LEFT = 0;
+	/**
+	 * The index of the right plane.
+	 */
+	public static final int RIGHT = 1;
+	/**
+	 * The index of the bottom plane.
+	 */
+	public static final int BOTTOM = 2;
+	/**
+	 * The index of the top plane.
+	 */
+	public static final int TOP = 3;
+	/**
+	 * The index of the near plane.
+	 */
+	public static final int NEAR = 4;
+	/**
+	 * The index of the far plane.
+	 */
+	public static final int FAR = 5;
+	/**
+	 * The number of planes bounding the frustum.
+	 */
+	public static final int PLANE_COUNT = 6;
+
+	/**
+	 * The plane mask used to test a volume against every plane. Pass this as
+	 * the mask for volumes without a parent.
+	 */
+	public static final int ALL_PLANES = (1 << PLANE_COUNT) - 1;
+	/**
+	 * The plane mask returned for volumes entirely inside the frustum.
+	 */
+	public static final int INSIDE = 0;
+
+	/**
+	 * The planes, stored as consecutive (nx, ny, nz, d) quadruples in the
+	 * order of the plane indices. A point p is inside a plane when n . p + d
+	 * >= 0. The normals are always unit length, so this is also the distance
+	 * from the plane.
+	 */
+	private final float[] planes = new float[PLANE_COUNT * 4];
+
+	/**
+	 * The vertical field of view, in radians.
+	 */
+	private float fieldOfView;
+	/**
+	 * The ratio of the view's width to its height.
+	 */
+	private float aspectRatio;
+	/**
+	 * The distance to the near clipping plane.
+	 */
+	private float near;
+	/**
+	 * The distance to the far clipping plane.
+	 */
+	private float far;
+
+	/**
+	 * The default constructor. Creates a frustum at the origin with a 30
+	 * degree vertical field of view, a square aspect ratio, and clipping
+	 * planes at 0.1 and 1000.
+	 */
+	public Frustum() {
+		set((float) Math.toRadians(30.0), 1f, 0.1f, 1000f, Quaternion.IDENTITY,
+				Vector3f.ZERO);
+		return;
+	}
+
+	/**
+	 * A copy constructor.
+	 *
+	 * @param frustum
+	 *            The frustum to copy.
+	 */
+	public Frustum(Frustum frustum) {
+		set(frustum);
+		return;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object object) {
+		boolean equals = false;
+		if (object == this) {
+			equals = true;
+		} else if (object instanceof Frustum) {
+			Frustum frustum = (Frustum) object;
+			equals = fieldOfView == frustum.fieldOfView
+					&& aspectRatio == frustum.aspectRatio
+					&& near == frustum.near && far == frustum.far;
+			for (int i = 0; equals && i < planes.length; i++) {
+				equals = planes[i] == frustum.planes[i];
+			}
+		}
+		return equals;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		int hash = 31 + Float.floatToIntBits(fieldOfView);
+		hash = hash * 31 + Float.floatToIntBits(aspectRatio);
+		hash = hash * 31 + Float.floatToIntBits(near);
+		hash = hash * 31 + Float.floatToIntBits(far);
+		for (int i = 0; i < planes.length; i++) {
+			hash = hash * 31 + Float.floatToIntBits(planes[i]);
+		}
+		return hash;
+	}
+
+	// ---- Getters and Setters ---- //
+
+	/**
+	 * Gets the vertical field of view.
+	 *
+	 * @return The field of view, in radians.
+	 */
+	public float getFieldOfView() {
+		return fieldOfView;
+	}
+
+	/**
+	 * Gets the aspect ratio.
+	 *
+	 * @return The ratio of the view's width to its height.
+	 */
+	public float getAspectRatio() {
+		return aspectRatio;
+	}
+
+	/**
+	 * Gets the distance to the near clipping plane.
+	 *
+	 * @return The near distance.
+	 */
+	public float getNear() {
+		return near;
+	}
+
+	/**
+	 * Gets the distance to the far clipping plane.
+	 *
+	 * @return The far distance.
+	 */
+	public float getFar() {
+		return far;
+	}
+
+	/**
+	 * Gets one of the bounding planes in world space.
+	 *
+	 * @param plane
+	 *            The index of the plane, e.g. {@link #LEFT}.
+	 * @param normal
+	 *            The vector in which to store the plane's unit normal, which
+	 *            points into the frustum. If null, a new vector is created.
+	 * @return The plane's offset <i>d</i>, so that points <i>p</i> on the
+	 *         plane satisfy <i>normal . p + d = 0</i>.
+	 * @throws IndexOutOfBoundsException
+	 *             If the index is not a valid plane index.
+	 */
+	public float getPlane(int plane, Vector3f normal) {
+		if (plane < 0 || plane >= PLANE_COUNT) {
+			throw new IndexOutOfBoundsException("Frustum error: "
+					+ "Invalid plane index " + plane + ".");
+		}
+		int i = plane * 4;
+		if (normal != null) {
+			normal.set(planes[i], planes[i + 1], planes[i + 2]);
+		}
+		return planes[i + 3];
+	}
+
+	/**
+	 * Sets this frustum to the specified frustum.
+	 *
+	 * @param frustum
+	 *            The frustum to copy.
+	 * @return A reference to this frustum.
+	 */
+	public Frustum set(Frustum frustum) {
+		fieldOfView = frustum.fieldOfView;
+		aspectRatio = frustum.aspectRatio;
+		near = frustum.near;
+		far = frustum.far;
+		System.arraycopy(frustum.planes, 0, planes, 0, planes.length);
+		return this;
+	}
+
+	/**
+	 * Sets the frustum for a camera with the specified projection and a rigid
+	 * transformation (i.e., no scale).
+	 *
+	 * @param fieldOfView
+	 *            The vertical field of view, in radians. This must be between
+	 *            0 and pi.
+	 * @param aspectRatio
+	 *            The ratio of the view's width to its height. This must be
+	 *            positive.
+	 * @param near
+	 *            The distance to the near clipping plane. This must be
+	 *            positive.
+	 * @param far
+	 *            The distance to the far clipping plane. This must be greater
+	 *            than the near distance.
+	 * @param rotation
+	 *            The camera's rotation. This is expected to be a unit
+	 *            quaternion.
+	 * @param position
+	 *            The camera's position.
+	 * @return A reference to this frustum.
+	 * @throws IllegalArgumentException
+	 *             If the projection values are invalid.
+	 */
+	public Frustum set(float fieldOfView, float aspectRatio, float near,
+			float far, Quaternionc rotation, Vector3fc position) {
+		setLocal(fieldOfView, aspectRatio, near, far);
+
+		try (Scratch scratch = Scratch.open()) {
+			Vector3f normal = scratch.vector3f();
+			for (int i = 0; i < planes.length; i += 4) {
+				normal.set(planes[i], planes[i + 1], planes[i + 2]);
+				rotation.rotate(normal);
+				// The plane moves with the camera, so its offset decreases by
+				// the distance it was moved along its normal.
+				planes[i] = normal.x;
+				planes[i + 1] = normal.y;
+				planes[i + 2] = normal.z;
+				planes[i + 3] -= normal.dot(position);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Sets the frustum for a camera with the specified projection and an
+	 * affine transformation, which may include scale.
+	 *
+	 * @param fieldOfView
+	 *            The vertical field of view, in radians. This must be between
+	 *            0 and pi.
+	 * @param aspectRatio
+	 *            The ratio of the view's width to its height. This must be
+	 *            positive.
+	 * @param near
+	 *            The distance to the near clipping plane in camera space. This
+	 *            must be positive.
+	 * @param far
+	 *            The distance to the far clipping plane in camera space. This
+	 *            must be greater than the near distance.
+	 * @param cameraToWorld
+	 *            The camera's affine transformation from its local space to
+	 *            world space.
+	 * @return A reference to this frustum.
+	 * @throws IllegalArgumentException
+	 *             If the projection values are invalid.
+	 * @throws IllegalStateException
+	 *             If the transformation is singular.
+	 */
+	public Frustum set(float fieldOfView, float aspectRatio, float near,
+			float far, Matrix4fc cameraToWorld) {
+		setLocal(fieldOfView, aspectRatio, near, far);
+
+		try (Scratch scratch = Scratch.open()) {
+			// Planes transform by the inverse transpose: the new plane is the
+			// old plane (as a row vector) times the inverse matrix.
+			Matrix4f m = cameraToWorld.invertAffine(scratch.matrix4f());
+			for (int i = 0; i < planes.length; i += 4) {
+				float a = planes[i];
+				float b = planes[i + 1];
+				float c = planes[i + 2];
+				float d = planes[i + 3];
+				float nx = a * m.m00 + b * m.m10 + c * m.m20;
+				float ny = a * m.m01 + b * m.m11 + c * m.m21;
+				float nz = a * m.m02 + b * m.m12 + c * m.m22;
+				float nd = a * m.m03 + b * m.m13 + c * m.m23 + d;
+				// Scales change the normal's length, so renormalize it.
+				float inverseLength = 1f / (float) Math
+						.sqrt(nx * nx + ny * ny + nz * nz);
+				planes[i] = nx * inverseLength;
+				planes[i + 1] = ny * inverseLength;
+				planes[i + 2] = nz * inverseLength;
+				planes[i + 3] = nd * inverseLength;
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Validates and sets the projection, then sets the planes in camera
+	 * space.
+	 */
+	private void setLocal(float fieldOfView, float aspectRatio, float near,
+			float far) {
+		if (!(fieldOfView > 0f && fieldOfView < (float) Math.PI)) {
+			throw new IllegalArgumentException("Frustum error: "
+					+ "The field of view must be between 0 and pi.");
+		} else if (!(aspectRatio > 0f)) {
+			throw new IllegalArgumentException("Frustum error: "
+					+ "The aspect ratio must be positive.");
+		} else if (!(near > 0f && far > near)) {
+			throw new IllegalArgumentException("Frustum error: "
+					+ "The clipping distances must satisfy 0 < near < far.");
+		}
+		this.fieldOfView = fieldOfView;
+		this.aspectRatio = aspectRatio;
+		this.near = near;
+		this.far = far;
+
+		// The side planes pass through the camera. Their normals are the
+		// normalized (1, 0, -tan) for the left plane and so on.
+		float tanY = (float) Math.tan(fieldOfView * 0.5f);
+		float tanX = tanY * aspectRatio;
+		float inverseX = 1f / (float) Math.sqrt(1f + tanX * tanX);
+		float inverseY = 1f / (float) Math.sqrt(1f + tanY * tanY);
+		setPlane(LEFT, inverseX, 0f, -tanX * inverseX, 0f);
+		setPlane(RIGHT, -inverseX, 0f, -tanX * inverseX, 0f);
+		setPlane(BOTTOM, 0f, inverseY, -tanY * inverseY, 0f);
+		setPlane(TOP, 0f, -inverseY, -tanY * inverseY, 0f);
+		setPlane(NEAR, 0f, 0f, -1f, -near);
+		setPlane(FAR, 0f, 0f, 1f, far);
+		return;
+	}
+
+	private void setPlane(int plane, float nx, float ny, float nz, float d) {
+		int i = plane * 4;
+		planes[i] = nx;
+		planes[i + 1] = ny;
+		planes[i + 2] = nz;
+		planes[i + 3] = d;
+	}
+	// ----------------------------- //
+
+	// ---- Intersection Tests ---- //
+
+	/**
+	 * Determines whether the frustum contains the specified point.
+	 *
+	 * @param point
+	 *            The point to test.
+	 * @return True if the point is inside or on the frustum, false otherwise.
+	 */
+	public boolean contains(Vector3fc point) {
+		for (int i = 0; i < planes.length; i += 4) {
+			if (planes[i] * point.x() + planes[i + 1] * point.y()
+					+ planes[i + 2] * point.z() + planes[i + 3] < 0f) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determines whether the specified sphere is at least partly inside the
+	 * frustum. Like most frustum tests, this is conservative: spheres near
+	 * (but outside) the frustum's corners may be reported as intersecting.
+	 *
+	 * @param sphere
+	 *            The sphere to test.
+	 * @return True if the sphere may be visible, false if it is definitely
+	 *         not visible.
+	 */
+	public boolean intersects(BoundingSphere sphere) {
+		return test(sphere, ALL_PLANES, 0) >= 0;
+	}
+
+	/**
+	 * Determines whether the specified box is at least partly inside the
+	 * frustum. Like most frustum tests, this is conservative: boxes near (but
+	 * outside) the frustum's corners may be reported as intersecting.
+	 *
+	 * @param box
+	 *            The box to test.
+	 * @return True if the box may be visible, false if it is definitely not
+	 *         visible.
+	 */
+	public boolean intersects(AABB box) {
+		return test(box, ALL_PLANES, 0) >= 0;
+	}
+
+	/**
+	 * Tests the specified sphere against the frustum planes in the mask.
+	 *
+	 * @param sphere
+	 *            The sphere to test.
+	 * @param mask
+	 *            The planes to test, e.g. {@link #ALL_PLANES} or the result of
+	 *            testing a volume enclosing this sphere.
+	 * @param firstPlane
+	 *            The index of the plane to test first, e.g. the plane that
+	 *            rejected the sphere last frame.
+	 * @return If non-negative, the sphere may be visible and the result is
+	 *         the mask of planes it straddles ({@link #INSIDE} if it is
+	 *         entirely inside). If negative, the sphere is not visible, and
+	 *         {@link #getRejectingPlane(int)} gives the plane that rejected it.
+	 */
+	public int test(BoundingSphere sphere, int mask, int firstPlane) {
+		if (sphere.isEmpty()) {
+			return -1 - firstPlane;
+		}
+		final float x = sphere.center.x;
+		final float y = sphere.center.y;
+		final float z = sphere.center.z;
+		final float r = sphere.radius;
+
+		int plane = firstPlane;
+		for (int n = 0; n < PLANE_COUNT && mask != INSIDE; n++) {
+			int bit = 1 << plane;
+			if ((mask & bit) != 0) {
+				int i = plane * 4;
+				float distance = planes[i] * x + planes[i + 1] * y
+						+ planes[i + 2] * z + planes[i + 3];
+				if (distance < -r) {
+					return -1 - plane;
+				} else if (distance >= r) {
+					mask &= ~bit;
+				}
+			}
+			if (++plane == PLANE_COUNT) {
+				plane = 0;
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Tests the specified box against the frustum planes in the mask.
+	 *
+	 * @param box
+	 *            The box to test.
+	 * @param mask
+	 *            The planes to test, e.g. {@link #ALL_PLANES} or the result of
+	 *            testing a volume enclosing this box.
+	 * @param firstPlane
+	 *            The index of the plane to test first, e.g. the plane that
+	 *            rejected the box last frame.
+	 * @return If non-negative, the box may be visible and the result is the
+	 *         mask of planes it straddles ({@link #INSIDE} if it is entirely
+	 *         inside). If negative, the box is not visible, and
+	 *         {@link #getRejectingPlane(int)} gives the plane that rejected it.
+	 */
+	public int test(AABB box, int mask, int firstPlane) {
+		if (box.isEmpty()) {
+			return -1 - firstPlane;
+		}
+		final float cx = (box.min.x + box.max.x) * 0.5f;
+		final float cy = (box.min.y + box.max.y) * 0.5f;
+		final float cz = (box.min.z + box.max.z) * 0.5f;
+		final float ex = (box.max.x - box.min.x) * 0.5f;
+		final float ey = (box.max.y - box.min.y) * 0.5f;
+		final float ez = (box.max.z - box.min.z) * 0.5f;
+
+		int plane = firstPlane;
+		for (int n = 0; n < PLANE_COUNT && mask != INSIDE; n++) {
+			int bit = 1 << plane;
+			if ((mask & bit) != 0) {
+				int i = plane * 4;
+				float nx = planes[i];
+				float ny = planes[i + 1];
+				float nz = planes[i + 2];
+				// The distance from the plane to the box's center, and the
+				// box's projected radius onto the plane normal. This is
+				// equivalent to testing the corners nearest and farthest
+				// along the normal.
+				float distance = nx * cx + ny * cy + nz * cz + planes[i + 3];
+				float radius = Math.abs(nx) * ex + Math.abs(ny) * ey
+						+ Math.abs(nz) * ez;
+				if (distance < -radius) {
+					return -1 - plane;
+				} else if (distance >= radius) {
+					mask &= ~bit;
+				}
+			}
+			if (++plane == PLANE_COUNT) {
+				plane = 0;
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Gets the plane that rejected a volume.
+	 *
+	 * @param result
+	 *            A negative result from one of the {@code test} methods.
+	 * @return The index of the plane that rejected the volume. This should be
+	 *         passed as the first plane the next time the volume is tested.
+	 */
+	public static int getRejectingPlane(int result) {
+		return -1 - result;
+	}
+	// ---------------------------- //
+}
@@ -0,0 +1,940 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+import java.util.Arrays;
+
+/**
+ * This class provides a dynamic loose octree, a spatial index that answers
+ * box, radius, frustum, and nearest-neighbour queries over items keyed on a
+ * position ({@link Vector3fc}) or a bounding box ({@link AABB}).
+ * <p>
+ * Each node's cell is a cube, and each node has 8 children whose cells split
+ * the parent's cell in half along each axis. In a <i>loose</i> octree, each
+ * node's bounds extend its cell by half its size on every side (twice its
+ * size overall). An item is stored in the deepest node whose cell contains the
+ * item's center and whose cell is at least as large as the item. The item is
+ * then always inside the node's loose bounds, so the node for an item can be
+ * found from its center and size alone, and an item that moves a little
+ * usually stays in the same node. Items outside the tree's bounds are kept in
+ * the root.
+ * </p>
+ * <p>
+ * Items are identified by the <i>handle</i> returned when they are inserted.
+ * Handles of removed items are re-used. Nodes are pooled, so once the tree has
+ * grown to its peak size, inserting, moving, and removing items and running
+ * queries create no objects. Query results are passed to a {@link Visitor},
+ * which should be created once and re-used.
+ * </p>
+ * <p>
+ * This class is not thread-safe, even for concurrent queries, and the tree
+ * must not be modified by a visitor during a query.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ * @param <T>
+ *            The type of item stored in the tree.
+ */
+public class LooseOctree<T> {
+
+	/**
+	 * A visitor for the items found by a query.
+	 *
+	 * @param <T>
+	 *            The type of item stored in the tree.
+	 */
+	public interface Visitor<T> {
+		/**
+		 * Visits an item found by a query.
+		 *
+		 * @param handle
+		 *            The item's handle.
+		 * @param item
+		 *            The item.
+		 * @return True to continue the query, false to stop it.
+		 */
+		boolean visit(int handle, T item);
+	}
+
+	/**
+	 * The default maximum depth of the tree. The root is at depth 0.
+	 */
+	public static final int DEFAULT_MAX_DEPTH = 8;
+	/**
+	 * The largest supported maximum depth. Deeper cells would be smaller than
+	 * a float can resolve for most trees.
+	 */
+	public static final int MAX_DEPTH_LIMIT = 20;
+	/**
+	 * The handle returned when no item is found.
+	 */
+	public static final int NONE = -1;
+
+	/**
+	 * The initial number of item slots.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * The maximum depth of the tree.
+	 */
+	private final int maxDepth;
+	/**
+	 * The root node. It is never released.
+	 */
+	private final Node root;
+
+	// ---- Items ---- //
+	/**
+	 * The item for each handle.
+	 */
+	private Object[] items;
+	/**
+	 * The bounds for each handle. These are created once per slot and re-used.
+	 */
+	private AABB[] bounds;
+	/**
+	 * The node containing each handle, or null if the handle is not in use.
+	 */
+	private Node[] owners;
+	/**
+	 * The next handle in the same node, or the next free handle.
+	 */
+	private int[] next;
+	/**
+	 * The previous handle in the same node.
+	 */
+	private int[] previous;
+	/**
+	 * The first free handle.
+	 */
+	private int firstFree = NONE;
+	/**
+	 * The number of handles that have ever been used.
+	 */
+	private int usedSlots = 0;
+	/**
+	 * The number of items in the tree.
+	 */
+	private int size = 0;
+	// --------------- //
+
+	// ---- Nodes ---- //
+	/**
+	 * Released nodes available for re-use.
+	 */
+	private Node[] pool = new Node[8];
+	/**
+	 * The number of nodes in the {@link #pool}.
+	 */
+	private int pooled = 0;
+	/**
+	 * The number of nodes in the tree, including the root.
+	 */
+	private int nodeCount = 1;
+	// --------------- //
+
+	// ---- Query State ---- //
+	/**
+	 * The loose bounds of the node currently being tested.
+	 */
+	private final AABB nodeBounds = new AABB();
+	/**
+	 * The distances to each child, per depth, for nearest-neighbour queries.
+	 */
+	private final float[][] childDistances;
+	/**
+	 * The children in order of distance, per depth, for nearest-neighbour
+	 * queries.
+	 */
+	private final int[][] childOrder;
+	/**
+	 * The number of items visited by the current query.
+	 */
+	private int visited;
+	/**
+	 * The frustum plane that last rejected a node or item.
+	 */
+	private int lastPlane = 0;
+	/**
+	 * The best handle found by the current nearest-neighbour query.
+	 */
+	private int nearest;
+	/**
+	 * The distance (squared) to the {@link #nearest} item.
+	 */
+	private float nearestDistanceSquared;
+	// --------------------- //
+
+	/**
+	 * Creates an octree with the default maximum depth.
+	 *
+	 * @param bounds
+	 *            The region covered by the tree. Items outside this region can
+	 *            be stored, but they are not indexed.
+	 * @throws IllegalArgumentException
+	 *             If the bounds are null or empty.
+	 */
+	public LooseOctree(AABB bounds) {
+		this(bounds, DEFAULT_MAX_DEPTH);
+	}
+
+	/**
+	 * Creates an octree.
+	 *
+	 * @param bounds
+	 *            The region covered by the tree. Items outside this region can
+	 *            be stored, but they are not indexed.
+	 * @param maxDepth
+	 *            The maximum depth of the tree, between 0 and
+	 *            {@link #MAX_DEPTH_LIMIT}.
+	 * @throws IllegalArgumentException
+	 *             If the bounds are null or empty or the depth is invalid.
+	 */
+	public LooseOctree(AABB bounds, int maxDepth) {
+		if (bounds == null || bounds.isEmpty()) {
+			throw new IllegalArgumentException("LooseOctree error: "
+					+ "The bounds cannot be null or empty.");
+		} else if (maxDepth < 0 || maxDepth > MAX_DEPTH_LIMIT) {
+			throw new IllegalArgumentException("LooseOctree error: "
+					+ "The maximum depth must be between 0 and "
+					+ MAX_DEPTH_LIMIT + ".");
+		}
+		this.maxDepth = maxDepth;
+
+		// The root cell is the cube around the bounds.
+		float half = 0.5f * Math.max(bounds.max.x - bounds.min.x,
+				Math.max(bounds.max.y - bounds.min.y, bounds.max.z
+						- bounds.min.z));
+		root = new Node();
+		root.x = 0.5f * (bounds.min.x + bounds.max.x);
+		root.y = 0.5f * (bounds.min.y + bounds.max.y);
+		root.z = 0.5f * (bounds.min.z + bounds.max.z);
+		root.half = (half > 0f ? half : 1f);
+
+		items = new Object[INITIAL_CAPACITY];
+		this.bounds = new AABB[INITIAL_CAPACITY];
+		owners = new Node[INITIAL_CAPACITY];
+		next = new int[INITIAL_CAPACITY];
+		previous = new int[INITIAL_CAPACITY];
+
+		childDistances = new float[maxDepth + 1][8];
+		childOrder = new int[maxDepth + 1][8];
+		return;
+	}
+
+	// ---- Getters ---- //
+	/**
+	 * Gets the number of items in the tree.
+	 *
+	 * @return The number of items.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the maximum depth of the tree.
+	 *
+	 * @return The maximum depth. The root is at depth 0.
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * Gets the number of nodes currently in the tree, including the root.
+	 * Empty nodes are returned to the pool, so this shrinks as items are
+	 * removed.
+	 *
+	 * @return The number of nodes.
+	 */
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Gets whether the handle refers to an item in the tree.
+	 *
+	 * @param handle
+	 *            The handle.
+	 * @return True if the handle is in use, false otherwise.
+	 */
+	public boolean contains(int handle) {
+		return handle >= 0 && handle < usedSlots && owners[handle] != null;
+	}
+
+	/**
+	 * Gets an item.
+	 *
+	 * @param handle
+	 *            The item's handle.
+	 * @return The item.
+	 * @throws IllegalArgumentException
+	 *             If the handle is not in use.
+	 */
+	public T get(int handle) {
+		checkHandle(handle);
+		return item(handle);
+	}
+
+	/**
+	 * Gets an item's bounds.
+	 *
+	 * @param handle
+	 *            The item's handle.
+	 * @param cache
+	 *            The box in which to store the bounds. If null, a new box is
+	 *            created.
+	 * @return The cache.
+	 * @throws IllegalArgumentException
+	 *             If the handle is not in use.
+	 */
+	public AABB getBounds(int handle, AABB cache) {
+		checkHandle(handle);
+		if (cache != null) {
+			cache.set(bounds[handle]);
+		} else {
+			cache = new AABB(bounds[handle]);
+		}
+		return cache;
+	}
+	// ----------------- //
+
+	// ---- Updates ---- //
+	/**
+	 * Inserts an item at a point.
+	 *
+	 * @param item
+	 *            The item. This may be null.
+	 * @param position
+	 *            The item's position.
+	 * @return The item's handle.
+	 */
+	public int insert(T item, Vector3fc position) {
+		float x = position.x(), y = position.y(), z = position.z();
+		return insert(item, x, y, z, x, y, z);
+	}
+
+	/**
+	 * Inserts an item with a bounding box.
+	 *
+	 * @param item
+	 *            The item. This may be null.
+	 * @param box
+	 *            The item's bounds.
+	 * @return The item's handle.
+	 * @throws IllegalArgumentException
+	 *             If the box is empty.
+	 */
+	public int insert(T item, AABB box) {
+		checkBox(box);
+		return insert(item, box.min.x, box.min.y, box.min.z, box.max.x,
+				box.max.y, box.max.z);
+	}
+
+	/**
+	 * Moves an item to a point.
+	 *
+	 * @param handle
+	 *            The item's handle.
+	 * @param position
+	 *            The item's new position.
+	 * @return True if the item changed nodes, false if it only needed its
+	 *         bounds updated.
+	 * @throws IllegalArgumentException
+	 *             If the handle is not in use.
+	 */
+	public boolean move(int handle, Vector3fc position) {
+		checkHandle(handle);
+		float x = position.x(), y = position.y(), z = position.z();
+		return move(handle, x, y, z, x, y, z);
+	}
+
+	/**
+	 * Moves an item to a new bounding box. If the item moves within its
+	 * node's cell and does not change size much, this only updates its bounds.
+	 *
+	 * @param handle
+	 *            The item's handle.
+	 * @param box
+	 *            The item's new bounds.
+	 * @return True if the item changed nodes, false if it only needed its
+	 *         bounds updated.
+	 * @throws IllegalArgumentException
+	 *             If the handle is not in use or the box is empty.
+	 */
+	public boolean move(int handle, AABB box) {
+		checkHandle(handle);
+		checkBox(box);
+		return move(handle, box.min.x, box.min.y, box.min.z, box.max.x,
+				box.max.y, box.max.z);
+	}
+
+	/**
+	 * Removes an item.
+	 *
+	 * @param handle
+	 *            The item's handle. It may be re-used by later insertions.
+	 * @return The removed item.
+	 * @throws IllegalArgumentException
+	 *             If the handle is not in use.
+	 */
+	public T remove(int handle) {
+		checkHandle(handle);
+		T item = item(handle);
+		unlink(handle);
+		items[handle] = null;
+		next[handle] = firstFree;
+		firstFree = handle;
+		size--;
+		return item;
+	}
+
+	/**
+	 * Removes all items. All handles become invalid, and all nodes except the
+	 * root are returned to the pool.
+	 */
+	public void clear() {
+		releaseChildren(root);
+		root.first = NONE;
+		root.count = 0;
+		root.total = 0;
+		// Chain every slot into the free list, lowest handles first.
+		firstFree = NONE;
+		for (int handle = usedSlots - 1; handle >= 0; handle--) {
+			items[handle] = null;
+			owners[handle] = null;
+			next[handle] = firstFree;
+			firstFree = handle;
+		}
+		size = 0;
+	}
+	// ----------------- //
+
+	// ---- Queries ---- //
+	/**
+	 * Visits every item whose bounds intersect the box.
+	 *
+	 * @param box
+	 *            The query box.
+	 * @param visitor
+	 *            The visitor for the items found.
+	 * @return The number of items visited.
+	 */
+	public int queryBox(AABB box, Visitor<? super T> visitor) {
+		visited = 0;
+		if (size > 0 && !box.isEmpty()) {
+			visitBox(root, box, visitor);
+		}
+		return visited;
+	}
+
+	/**
+	 * Visits every item whose bounds are within the radius of the point.
+	 *
+	 * @param center
+	 *            The query point.
+	 * @param radius
+	 *            The query radius.
+	 * @param visitor
+	 *            The visitor for the items found.
+	 * @return The number of items visited.
+	 */
+	public int queryRadius(Vector3fc center, float radius,
+			Visitor<? super T> visitor) {
+		visited = 0;
+		if (size > 0 && radius >= 0f) {
+			visitRadius(root, center, radius * radius, visitor);
+		}
+		return visited;
+	}
+
+	/**
+	 * Visits every item whose bounds may be inside the frustum, as determined
+	 * by {@link Frustum#intersects(AABB)}. Nodes entirely inside a frustum
+	 * plane are not tested against it again, and nodes entirely inside the
+	 * frustum are visited without any further tests.
+	 *
+	 * @param frustum
+	 *            The query frustum.
+	 * @param visitor
+	 *            The visitor for the items found.
+	 * @return The number of items visited.
+	 */
+	public int queryFrustum(Frustum frustum, Visitor<? super T> visitor) {
+		visited = 0;
+		if (size > 0) {
+			visitFrustum(root, frustum, Frustum.ALL_PLANES, visitor);
+		}
+		return visited;
+	}
+
+	/**
+	 * Finds the item nearest to a point. The distance to an item is the
+	 * distance to its bounds, which is 0 for points inside the bounds.
+	 *
+	 * @param point
+	 *            The query point.
+	 * @param maxDistance
+	 *            The maximum distance to search, e.g.
+	 *            {@link Float#POSITIVE_INFINITY}.
+	 * @return The nearest item's handle, or {@link #NONE} if there are no
+	 *         items within the maximum distance.
+	 */
+	public int nearest(Vector3fc point, float maxDistance) {
+		nearest = NONE;
+		nearestDistanceSquared = maxDistance * maxDistance;
+		if (size > 0 && maxDistance >= 0f) {
+			searchNearest(root, point);
+		}
+		return nearest;
+	}
+	// ----------------- //
+
+	// ---- Item Management ---- //
+	/**
+	 * Inserts an item with the specified bounds.
+	 *
+	 * @return The item's handle.
+	 */
+	private int insert(T item, float minX, float minY, float minZ,
+			float maxX, float maxY, float maxZ) {
+		int handle;
+		if (firstFree != NONE) {
+			handle = firstFree;
+			firstFree = next[handle];
+		} else {
+			if (usedSlots == items.length) {
+				grow();
+			}
+			handle = usedSlots++;
+			bounds[handle] = new AABB();
+		}
+		items[handle] = item;
+		bounds[handle].set(minX, minY, minZ, maxX, maxY, maxZ);
+		link(handle, minX, minY, minZ, maxX, maxY, maxZ);
+		size++;
+		return handle;
+	}
+
+	/**
+	 * Moves an item to the specified bounds.
+	 *
+	 * @return True if the item changed nodes, false otherwise.
+	 */
+	private boolean move(int handle, float minX, float minY, float minZ,
+			float maxX, float maxY, float maxZ) {
+		bounds[handle].set(minX, minY, minZ, maxX, maxY, maxZ);
+
+		// Most moves are small enough that the item stays in its node.
+		Node node = owners[handle];
+		float x = 0.5f * (minX + maxX);
+		float y = 0.5f * (minY + maxY);
+		float z = 0.5f * (minZ + maxZ);
+		int depth = getDepth(x, y, z, getRadius(minX, minY, minZ, maxX, maxY,
+				maxZ));
+		if (depth == node.depth && (depth == 0 || node.cellContains(x, y, z))) {
+			return false;
+		}
+
+		unlink(handle);
+		link(handle, minX, minY, minZ, maxX, maxY, maxZ);
+		return true;
+	}
+
+	/**
+	 * Adds a handle to the node for the specified bounds, creating nodes as
+	 * necessary.
+	 */
+	private void link(int handle, float minX, float minY, float minZ,
+			float maxX, float maxY, float maxZ) {
+		float x = 0.5f * (minX + maxX);
+		float y = 0.5f * (minY + maxY);
+		float z = 0.5f * (minZ + maxZ);
+		int depth = getDepth(x, y, z, getRadius(minX, minY, minZ, maxX, maxY,
+				maxZ));
+
+		Node node = root;
+		for (int d = 0; d < depth; d++) {
+			int octant = node.getOctant(x, y, z);
+			Node child = node.children[octant];
+			if (child == null) {
+				child = acquireNode(node, octant);
+			}
+			node = child;
+		}
+
+		previous[handle] = NONE;
+		next[handle] = node.first;
+		if (node.first != NONE) {
+			previous[node.first] = handle;
+		}
+		node.first = handle;
+		node.count++;
+		owners[handle] = node;
+		for (Node n = node; n != null; n = n.parent) {
+			n.total++;
+		}
+	}
+
+	/**
+	 * Removes a handle from its node and releases any nodes left empty.
+	 */
+	private void unlink(int handle) {
+		Node node = owners[handle];
+		int p = previous[handle];
+		int n = next[handle];
+		if (p != NONE) {
+			next[p] = n;
+		} else {
+			node.first = n;
+		}
+		if (n != NONE) {
+			previous[n] = p;
+		}
+		node.count--;
+		owners[handle] = null;
+		for (Node ancestor = node; ancestor != null; ancestor = ancestor.parent) {
+			ancestor.total--;
+		}
+		// Empty nodes have no children, so they can be released bottom-up.
+		while (node != root && node.total == 0) {
+			Node parent = node.parent;
+			parent.children[node.octant] = null;
+			releaseNode(node);
+			node = parent;
+		}
+	}
+
+	/**
+	 * Doubles the number of item slots.
+	 */
+	private void grow() {
+		int capacity = items.length * 2;
+		items = Arrays.copyOf(items, capacity);
+		bounds = Arrays.copyOf(bounds, capacity);
+		owners = Arrays.copyOf(owners, capacity);
+		next = Arrays.copyOf(next, capacity);
+		previous = Arrays.copyOf(previous, capacity);
+	}
+
+	/**
+	 * Gets the depth of the node for an item.
+	 *
+	 * @param x
+	 *            The x coordinate of the item's center.
+	 * @param y
+	 *            The y coordinate of the item's center.
+	 * @param z
+	 *            The z coordinate of the item's center.
+	 * @param radius
+	 *            The item's largest half-extent.
+	 * @return The depth of the deepest node whose cell can hold the item, or
+	 *         0 if the item is outside the root cell.
+	 */
+	private int getDepth(float x, float y, float z, float radius) {
+		if (!root.cellContains(x, y, z)) {
+			return 0;
+		}
+		int depth = 0;
+		float childHalf = root.half * 0.5f;
+		while (depth < maxDepth && childHalf >= radius) {
+			depth++;
+			childHalf *= 0.5f;
+		}
+		return depth;
+	}
+
+	/**
+	 * Gets the largest half-extent of the specified bounds.
+	 */
+	private static float getRadius(float minX, float minY, float minZ,
+			float maxX, float maxY, float maxZ) {
+		return 0.5f * Math.max(maxX - minX, Math.max(maxY - minY, maxZ
+				- minZ));
+	}
+	// ------------------------- //
+
+	// ---- Node Management ---- //
+	/**
+	 * Gets a node from the pool (or creates one) and adds it as a child.
+	 *
+	 * @param parent
+	 *            The parent node.
+	 * @param octant
+	 *            The index of the child in the parent.
+	 * @return The child node.
+	 */
+	private Node acquireNode(Node parent, int octant) {
+		Node node;
+		if (pooled > 0) {
+			node = pool[--pooled];
+			pool[pooled] = null;
+		} else {
+			node = new Node();
+		}
+		float half = parent.half * 0.5f;
+		node.parent = parent;
+		node.octant = octant;
+		node.depth = parent.depth + 1;
+		node.half = half;
+		node.x = parent.x + ((octant & 1) != 0 ? half : -half);
+		node.y = parent.y + ((octant & 2) != 0 ? half : -half);
+		node.z = parent.z + ((octant & 4) != 0 ? half : -half);
+		node.first = NONE;
+		node.count = 0;
+		node.total = 0;
+		parent.children[octant] = node;
+		nodeCount++;
+		return node;
+	}
+
+	/**
+	 * Returns a node to the pool. The node must already be detached from its
+	 * parent and have no children.
+	 *
+	 * @param node
+	 *            The node to release.
+	 */
+	private void releaseNode(Node node) {
+		node.parent = null;
+		if (pooled == pool.length) {
+			pool = Arrays.copyOf(pool, pooled * 2);
+		}
+		pool[pooled++] = node;
+		nodeCount--;
+	}
+
+	/**
+	 * Releases all descendants of a node.
+	 *
+	 * @param node
+	 *            The node whose children should be released.
+	 */
+	private void releaseChildren(Node node) {
+		for (int i = 0; i < 8; i++) {
+			Node child = node.children[i];
+			if (child != null) {
+				releaseChildren(child);
+				node.children[i] = null;
+				releaseNode(child);
+			}
+		}
+	}
+
+	/**
+	 * Gets the loose bounds of a node. This returns a shared box that is
+	 * overwritten by the next call.
+	 *
+	 * @param node
+	 *            The node.
+	 * @return The node's loose bounds.
+	 */
+	private AABB getLooseBounds(Node node) {
+		float size = node.half * 2f;
+		return nodeBounds.set(node.x - size, node.y - size, node.z - size,
+				node.x + size, node.y + size, node.z + size);
+	}
+	// ------------------------- //
+
+	// ---- Traversal ---- //
+	// Each of these returns false if the visitor stopped the query. The root
+	// is never culled, since it also holds items outside the tree's bounds.
+
+	private boolean visitBox(Node node, AABB box, Visitor<? super T> visitor) {
+		if (node != root && !getLooseBounds(node).intersects(box)) {
+			return true;
+		}
+		for (int handle = node.first; handle != NONE; handle = next[handle]) {
+			if (bounds[handle].intersects(box)) {
+				visited++;
+				if (!visitor.visit(handle, item(handle))) {
+					return false;
+				}
+			}
+		}
+		for (int i = 0; i < 8; i++) {
+			Node child = node.children[i];
+			if (child != null && !visitBox(child, box, visitor)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean visitRadius(Node node, Vector3fc center,
+			float radiusSquared, Visitor<? super T> visitor) {
+		if (node != root
+				&& getLooseBounds(node).distanceSquared(center) > radiusSquared) {
+			return true;
+		}
+		for (int handle = node.first; handle != NONE; handle = next[handle]) {
+			if (bounds[handle].distanceSquared(center) <= radiusSquared) {
+				visited++;
+				if (!visitor.visit(handle, item(handle))) {
+					return false;
+				}
+			}
+		}
+		for (int i = 0; i < 8; i++) {
+			Node child = node.children[i];
+			if (child != null
+					&& !visitRadius(child, center, radiusSquared, visitor)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean visitFrustum(Node node, Frustum frustum, int mask,
+			Visitor<? super T> visitor) {
+		if (node != root && mask != Frustum.INSIDE) {
+			int result = frustum.test(getLooseBounds(node), mask, lastPlane);
+			if (result < 0) {
+				lastPlane = Frustum.getRejectingPlane(result);
+				return true;
+			}
+			mask = result;
+		}
+		for (int handle = node.first; handle != NONE; handle = next[handle]) {
+			if (mask != Frustum.INSIDE) {
+				int result = frustum.test(bounds[handle], mask, lastPlane);
+				if (result < 0) {
+					lastPlane = Frustum.getRejectingPlane(result);
+					continue;
+				}
+			}
+			visited++;
+			if (!visitor.visit(handle, item(handle))) {
+				return false;
+			}
+		}
+		for (int i = 0; i < 8; i++) {
+			Node child = node.children[i];
+			if (child != null
+					&& !visitFrustum(child, frustum, mask, visitor)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void searchNearest(Node node, Vector3fc point) {
+		for (int handle = node.first; handle != NONE; handle = next[handle]) {
+			float distanceSquared = bounds[handle].distanceSquared(point);
+			if (distanceSquared <= nearestDistanceSquared) {
+				nearest = handle;
+				nearestDistanceSquared = distanceSquared;
+			}
+		}
+
+		// Visit the closest children first so the search radius shrinks as
+		// quickly as possible. The children are insertion-sorted into
+		// per-depth arrays so that no objects are needed.
+		float[] distances = childDistances[node.depth];
+		int[] order = childOrder[node.depth];
+		int count = 0;
+		for (int i = 0; i < 8; i++) {
+			Node child = node.children[i];
+			if (child != null) {
+				float distanceSquared = getLooseBounds(child).distanceSquared(
+						point);
+				if (distanceSquared <= nearestDistanceSquared) {
+					int j = count++;
+					while (j > 0 && distances[j - 1] > distanceSquared) {
+						distances[j] = distances[j - 1];
+						order[j] = order[j - 1];
+						j--;
+					}
+					distances[j] = distanceSquared;
+					order[j] = i;
+				}
+			}
+		}
+		for (int k = 0; k < count; k++) {
+			if (distances[k] > nearestDistanceSquared) {
+				break;
+			}
+			searchNearest(node.children[order[k]], point);
+		}
+	}
+	// ------------------- //
+
+	// ---- Utility methods ---- //
+	@SuppressWarnings("unchecked")
+	private T item(int handle) {
+		return (T) items[handle];
+	}
+
+	private void checkHandle(int handle) {
+		if (!contains(handle)) {
+			throw new IllegalArgumentException("LooseOctree error: "
+					+ "The handle " + handle + " is not in use.");
+		}
+	}
+
+	private static void checkBox(AABB box) {
+		if (box.isEmpty()) {
+			throw new IllegalArgumentException("LooseOctree error: "
+					+ "Item bounds cannot be empty.");
+		}
+	}
+	// ------------------------- //
+
+	/**
+	 * A node in the tree. Nodes are pooled by their tree.
+	 */
+	private static final class Node {
+		/**
+		 * The child nodes, indexed by octant. Bit 0 of the index is set for
+		 * the +x half, bit 1 for the +y half, and bit 2 for the +z half.
+		 */
+		private final Node[] children = new Node[8];
+		/**
+		 * The parent node, or null for the root.
+		 */
+		private Node parent;
+		/**
+		 * The index of this node in its parent.
+		 */
+		private int octant;
+		/**
+		 * The depth of the node. The root is at depth 0.
+		 */
+		private int depth;
+		/**
+		 * The center of the node's cell.
+		 */
+		private float x, y, z;
+		/**
+		 * Half the width of the node's cell.
+		 */
+		private float half;
+		/**
+		 * The first item handle in the node.
+		 */
+		private int first = NONE;
+		/**
+		 * The number of items in the node.
+		 */
+		private int count;
+		/**
+		 * The number of items in the node and its descendants.
+		 */
+		private int total;
+
+		private int getOctant(float x, float y, float z) {
+			return (x >= this.x ? 1 : 0) | (y >= this.y ? 2 : 0)
+					| (z >= this.z ? 4 : 0);
+		}
+
+		private boolean cellContains(float x, float y, float z) {
+			return Math.abs(x - this.x) <= half
+					&& Math.abs(y - this.y) <= half
+					&& Math.abs(z - this.z) <= half;
+		}
+	}
+}
@@ -0,0 +1,370 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This class provides a 3x3 matrix composed of doubles. It is the
+ * double-precision counterpart of {@link Matrix3f} and follows the same
+ * conventions: methods that return a {@code Matrix3d} return either
+ * {@code this} or the specified <i>cache</i> (or a new matrix if the cache is
+ * {@code null}).
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class Matrix3d {
+
+	/**
+	 * First row, first element.
+	 */
+	public double m00;
+	/**
+	 * First row, second element.
+	 */
+	public double m01;
+	/**
+	 * First row, third element.
+	 */
+	public double m02;
+	/**
+	 * Second row, first element.
+	 */
+	public double m10;
+	/**
+	 * Second row, second element.
+	 */
+	public double m11;
+	/**
+	 * Second row, third element.
+	 */
+	public double m12;
+	/**
+	 * Third row, first element.
+	 */
+	public double m20;
+	/**
+	 * Third row, second element.
+	 */
+	public double m21;
+	/**
+	 * Third row, third element.
+	 */
+	public double m22;
+
+	/**
+	 * The default constructor. Creates a zero matrix.
+	 */
+	public Matrix3d() {
+		// Zero out the values.
+		m00 = m01 = m02 = 0.0;
+		m10 = m11 = m12 = 0.0;
+		m20 = m21 = m22 = 0.0;
+		return;
+	}
+
+	/**
+	 * Creates a matrix with the specified elements. A value {@code mij}
+	 * corresponds to the element in the <i>i</i>th row and <i>j</i>th column.
+	 * Indexing starts at 0.
+	 */
+	public Matrix3d(double m00, double m01, double m02, double m10,
+			double m11, double m12, double m20, double m21, double m22) {
+		set(m00, m01, m02, m10, m11, m12, m20, m21, m22);
+		return;
+	}
+
+	/**
+	 * A copy constructor.
+	 *
+	 * @param matrix
+	 *            The matrix to copy.
+	 */
+	public Matrix3d(Matrix3d matrix) {
+		set(matrix);
+		return;
+	}
+
+	/**
+	 * Creates a matrix with the same elements as the specified float matrix.
+	 *
+	 * @param matrix
+	 *            The matrix to copy.
+	 */
+	public Matrix3d(Matrix3fc matrix) {
+		set(matrix.m00(), matrix.m01(), matrix.m02(), matrix.m10(),
+				matrix.m11(), matrix.m12(), matrix.m20(), matrix.m21(),
+				matrix.m22());
+		return;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object object) {
+		boolean equals = super.equals(object);
+		if (!equals && object instanceof Matrix3d) {
+			Matrix3d m = (Matrix3d) object;
+			equals = (Double.compare(m00, m.m00) == 0
+					&& Double.compare(m01, m.m01) == 0
+					&& Double.compare(m02, m.m02) == 0
+					&& Double.compare(m10, m.m10) == 0
+					&& Double.compare(m11, m.m11) == 0
+					&& Double.compare(m12, m.m12) == 0
+					&& Double.compare(m20, m.m20) == 0
+					&& Double.compare(m21, m.m21) == 0 && Double.compare(m22,
+					m.m22) == 0);
+		}
+		return equals;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		long hash = 31 + Double.doubleToLongBits(m00);
+		hash = 31 * hash + Double.doubleToLongBits(m01);
+		hash = 31 * hash + Double.doubleToLongBits(m02);
+		hash = 31 * hash + Double.doubleToLongBits(m10);
+		hash = 31 * hash + Double.doubleToLongBits(m11);
+		hash = 31 * hash + Double.doubleToLongBits(m12);
+		hash = 31 * hash + Double.doubleToLongBits(m20);
+		hash = 31 * hash + Double.doubleToLongBits(m21);
+		hash = 31 * hash + Double.doubleToLongBits(m22);
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	/**
+	 * Sets the elements of this matrix. A value {@code mij} corresponds to the
+	 * element in the <i>i</i>th row and <i>j</i>th column.
+	 *
+	 * @return A reference to this matrix.
+	 */
+	public Matrix3d set(double m00, double m01, double m02, double m10,
+			double m11, double m12, double m20, double m21, double m22) {
+		this.m00 = m00;
+		this.m01 = m01;
+		this.m02 = m02;
+		this.m10 = m10;
+		this.m11 = m11;
+		this.m12 = m12;
+		this.m20 = m20;
+		this.m21 = m21;
+		this.m22 = m22;
+		return this;
+	}
+
+	/**
+	 * Sets the elements of this matrix to those of another matrix.
+	 *
+	 * @param matrix
+	 *            The matrix to copy.
+	 * @return A reference to this matrix.
+	 */
+	public Matrix3d set(Matrix3d matrix) {
+		return set(matrix.m00, matrix.m01, matrix.m02, matrix.m10, matrix.m11,
+				matrix.m12, matrix.m20, matrix.m21, matrix.m22);
+	}
+
+	/**
+	 * Sets this matrix to the identity matrix.
+	 *
+	 * @return A reference to this matrix.
+	 */
+	public Matrix3d setIdentity() {
+		return set(1.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 1.0);
+	}
+
+	/**
+	 * Multiplies this matrix by the given matrix and stores the result in
+	 * <i>this</i> matrix.
+	 *
+	 * @param matrix
+	 *            The matrix against which to multiply this one.
+	 * @return A reference to this matrix.
+	 */
+	public Matrix3d multiply(Matrix3d matrix) {
+		return multiply(matrix, this);
+	}
+
+	/**
+	 * Multiplies this matrix by the given matrix and stores the result in the
+	 * <i>cache</i> matrix. It is safe for the cache to be either matrix.
+	 *
+	 * @param matrix
+	 *            The matrix against which to multiply this one.
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Matrix3d multiply(Matrix3d matrix, Matrix3d cache) {
+		double p00 = m00 * matrix.m00 + m01 * matrix.m10 + m02 * matrix.m20;
+		double p10 = m10 * matrix.m00 + m11 * matrix.m10 + m12 * matrix.m20;
+		double p20 = m20 * matrix.m00 + m21 * matrix.m10 + m22 * matrix.m20;
+
+		double p01 = m00 * matrix.m01 + m01 * matrix.m11 + m02 * matrix.m21;
+		double p11 = m10 * matrix.m01 + m11 * matrix.m11 + m12 * matrix.m21;
+		double p21 = m20 * matrix.m01 + m21 * matrix.m11 + m22 * matrix.m21;
+
+		double p02 = m00 * matrix.m02 + m01 * matrix.m12 + m02 * matrix.m22;
+		double p12 = m10 * matrix.m02 + m11 * matrix.m12 + m12 * matrix.m22;
+		double p22 = m20 * matrix.m02 + m21 * matrix.m12 + m22 * matrix.m22;
+
+		if (cache != null) {
+			cache.set(p00, p01, p02, p10, p11, p12, p20, p21, p22);
+		} else {
+			cache = new Matrix3d(p00, p01, p02, p10, p11, p12, p20, p21, p22);
+		}
+		return cache;
+	}
+
+	/**
+	 * Multiplies this matrix by the given vector and stores the result in a new
+	 * vector.
+	 *
+	 * @param vector
+	 *            The vector against which to multiply this matrix.
+	 * @return A <i>new</i> vector containing the result.
+	 */
+	public Vector3d multiply(Vector3d vector) {
+		return multiply(vector, null);
+	}
+
+	/**
+	 * Multiplies this matrix by the given vector and stores the result in the
+	 * <i>cache</i> vector. It is safe for the cache to be the vector.
+	 *
+	 * @param vector
+	 *            The vector against which to multiply this matrix.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Vector3d multiply(Vector3d vector, Vector3d cache) {
+		double x = m00 * vector.x + m01 * vector.y + m02 * vector.z;
+		double y = m10 * vector.x + m11 * vector.y + m12 * vector.z;
+		double z = m20 * vector.x + m21 * vector.y + m22 * vector.z;
+
+		if (cache != null) {
+			cache.set(x, y, z);
+		} else {
+			cache = new Vector3d(x, y, z);
+		}
+		return cache;
+	}
+
+	/**
+	 * Transposes this matrix.
+	 *
+	 * @return A reference to this matrix.
+	 */
+	public Matrix3d transpose() {
+		return transpose(this);
+	}
+
+	/**
+	 * Transposes this matrix, but stores the result in the <i>cache</i>
+	 * matrix.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Matrix3d transpose(Matrix3d cache) {
+		if (cache != null) {
+			cache.set(m00, m10, m20, m01, m11, m21, m02, m12, m22);
+		} else {
+			cache = new Matrix3d(m00, m10, m20, m01, m11, m21, m02, m12, m22);
+		}
+		return cache;
+	}
+
+	/**
+	 * Computes the determinant of this matrix.
+	 *
+	 * @return The determinant.
+	 */
+	public double determinant() {
+		return m00 * (m11 * m22 - m12 * m21) + m01 * (m12 * m20 - m10 * m22)
+				+ m02 * (m10 * m21 - m11 * m20);
+	}
+
+	/**
+	 * Inverts this matrix.
+	 *
+	 * @return A reference to this matrix.
+	 * @throws IllegalStateException
+	 *             If the matrix is singular (its determinant is 0).
+	 */
+	public Matrix3d invert() {
+		return invert(this);
+	}
+
+	/**
+	 * Inverts this matrix, but stores the result in the <i>cache</i> matrix.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return A reference to the cache.
+	 * @throws IllegalStateException
+	 *             If the matrix is singular (its determinant is 0).
+	 */
+	public Matrix3d invert(Matrix3d cache) {
+		// Compute the cofactors for the first column. These are re-used for
+		// the determinant.
+		double c00 = m11 * m22 - m12 * m21;
+		double c10 = m12 * m20 - m10 * m22;
+		double c20 = m10 * m21 - m11 * m20;
+
+		double det = m00 * c00 + m01 * c10 + m02 * c20;
+		if (det == 0.0) {
+			throw new IllegalStateException("Matrix3d error: "
+					+ "Cannot invert a singular matrix.");
+		}
+		double inverseDet = 1.0 / det;
+
+		// The inverse is the transposed cofactor matrix over the determinant.
+		double i00 = c00 * inverseDet;
+		double i01 = (m02 * m21 - m01 * m22) * inverseDet;
+		double i02 = (m01 * m12 - m02 * m11) * inverseDet;
+		double i10 = c10 * inverseDet;
+		double i11 = (m00 * m22 - m02 * m20) * inverseDet;
+		double i12 = (m02 * m10 - m00 * m12) * inverseDet;
+		double i20 = c20 * inverseDet;
+		double i21 = (m01 * m20 - m00 * m21) * inverseDet;
+		double i22 = (m00 * m11 - m01 * m10) * inverseDet;
+
+		if (cache != null) {
+			cache.set(i00, i01, i02, i10, i11, i12, i20, i21, i22);
+		} else {
+			cache = new Matrix3d(i00, i01, i02, i10, i11, i12, i20, i21, i22);
+		}
+		return cache;
+	}
+
+	// ---- Single-precision Conversion ---- //
+	/**
+	 * Rounds this matrix to single precision and stores the result in the
+	 * <i>cache</i>.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the rounded values. If
+	 *            {@code null}, a new matrix is created.
+	 * @return The <i>cache</i> matrix.
+	 */
+	public Matrix3f toMatrix3f(Matrix3f cache) {
+		if (cache == null) {
+			cache = new Matrix3f();
+		}
+		return cache.set((float) m00, (float) m01, (float) m02, (float) m10,
+				(float) m11, (float) m12, (float) m20, (float) m21,
+				(float) m22);
+	}
+	// ------------------------------------- //
+}
@@ -14,36 +14,27 @@ package com.bar.foo.math;
  * </p>
  * <p>
  * This class additionally provides static matrices representing the zero and
- * identity matrices as a convenience. Note that if you plan to manipulate these
- * values, <b>DO NOT MANIPULATE THESE VALUES!</b> Instead, use
- * <b><i>copies</i></b> of them by calling the copy constructor, e.g.,
- * {@code new Matrix3f(Matrix3f.ZERO)} or by using them with the set operation,
- * e.g., {@code myMatrix.set(Matrix3f.IDENTITY)}.
+ * identity matrices as a convenience. These are read-only {@link Matrix3fc}s
+ * that cannot be modified, so they can be passed directly to any method that
+ * only reads a matrix. To get a modifiable matrix, use the copy constructor,
+ * e.g., {@code new Matrix3f(Matrix3f.ZERO)}, or the set operation, e.g.,
+ * {@code myMatrix.set(Matrix3f.IDENTITY)}.
  * </p>
  * 
  * @author Jordan Deyton
  *
  */
-public class Matrix3f {
+public class Matrix3f implements Matrix3fc {
 
 	/**
-	 * The zero-matrix.
-	 * <p>
-	 * <b>DO NOT MANIPULATE THIS MATRIX!</b> Instead, use a <b><i>copy</i></b>
-	 * of it by calling the copy constructor, e.g.,
-	 * {@code new Matrix3f(Matrix3f.ZERO)}.
-	 * </p>
+	 * The zero-matrix. This matrix cannot be modified.
 	 */
-	public static final Matrix3f ZERO = new Matrix3f();
+	public static final Matrix3fc ZERO = new Constant(0f, 0f, 0f, 0f, 0f, 0f,
+			0f, 0f, 0f);
 	/**
-	 * The identity-matrix.
-	 * <p>
-	 * <b>DO NOT MANIPULATE THIS MATRIX!</b> Instead, use a <b><i>copy</i></b>
-	 * of it by calling the copy constructor, e.g.,
-	 * {@code new Matrix3f(Matrix3f.IDENTITY)}.
-	 * </p>
+	 * The identity-matrix. This matrix cannot be modified.
 	 */
-	public static final Matrix3f IDENTITY = new Matrix3f(1f, 0f, 0f, 0f, 1f,
+	public static final Matrix3fc IDENTITY = new Constant(1f, 0f, 0f, 0f, 1f,
 			0f, 0f, 0f, 1f);
 
 	/**
@@ -144,7 +135,7 @@ public class Matrix3f {
 	 * @param v2
 	 *            The third row of float elements.
 	 */
-	public Matrix3f(Vector3f v0, Vector3f v1, Vector3f v2) {
+	public Matrix3f(Vector3fc v0, Vector3fc v1, Vector3fc v2) {
 		this(v0, v1, v2, true);
 	}
 
@@ -166,27 +157,28 @@ public class Matrix3f {
 	 *            <b>false</b>, then each vector corresponds to a <b>column</b>
 	 *            in the matrix.
 	 */
-	public Matrix3f(Vector3f v0, Vector3f v1, Vector3f v2, boolean rowVectors) {
+	public Matrix3f(Vector3fc v0, Vector3fc v1, Vector3fc v2,
+			boolean rowVectors) {
 		if (rowVectors) {
-			m00 = v0.x;
-			m01 = v0.y;
-			m02 = v0.z;
-			m10 = v1.x;
-			m11 = v1.y;
-			m12 = v1.z;
-			m20 = v2.x;
-			m21 = v2.y;
-			m22 = v2.z;
+			m00 = v0.x();
+			m01 = v0.y();
+			m02 = v0.z();
+			m10 = v1.x();
+			m11 = v1.y();
+			m12 = v1.z();
+			m20 = v2.x();
+			m21 = v2.y();
+			m22 = v2.z();
 		} else {
-			m00 = v0.x;
-			m01 = v1.x;
-			m02 = v2.x;
-			m10 = v0.y;
-			m11 = v1.y;
-			m12 = v2.y;
-			m20 = v0.z;
-			m21 = v1.z;
-			m22 = v2.z;
+			m00 = v0.x();
+			m01 = v1.x();
+			m02 = v2.x();
+			m10 = v0.y();
+			m11 = v1.y();
+			m12 = v2.y();
+			m20 = v0.z();
+			m21 = v1.z();
+			m22 = v2.z();
 		}
 		return;
 	}
@@ -198,17 +190,17 @@ public class Matrix3f {
 	 * @param matrix
 	 *            The matrix to copy.
 	 */
-	public Matrix3f(Matrix3f matrix) {
+	public Matrix3f(Matrix3fc matrix) {
 		if (matrix != null) {
-			m00 = matrix.m00;
-			m01 = matrix.m01;
-			m02 = matrix.m02;
-			m10 = matrix.m10;
-			m11 = matrix.m11;
-			m12 = matrix.m12;
-			m20 = matrix.m20;
-			m21 = matrix.m21;
-			m22 = matrix.m22;
+			m00 = matrix.m00();
+			m01 = matrix.m01();
+			m02 = matrix.m02();
+			m10 = matrix.m10();
+			m11 = matrix.m11();
+			m12 = matrix.m12();
+			m20 = matrix.m20();
+			m21 = matrix.m21();
+			m22 = matrix.m22();
 		} else {
 			// Zero out the values.
 			m00 = m01 = m02 = 0f;
@@ -226,17 +218,17 @@ public class Matrix3f {
 	@Override
 	public boolean equals(Object object) {
 		boolean equals = (this == object);
-		if (!equals && object instanceof Matrix3f) {
-			Matrix3f matrix = (Matrix3f) object;
-			equals = (Float.compare(m00, matrix.m00) == 0
-					&& Float.compare(m01, matrix.m01) == 0
-					&& Float.compare(m02, matrix.m02) == 0
-					&& Float.compare(m10, matrix.m10) == 0
-					&& Float.compare(m11, matrix.m11) == 0
-					&& Float.compare(m12, matrix.m12) == 0
-					&& Float.compare(m20, matrix.m20) == 0
-					&& Float.compare(m21, matrix.m21) == 0 && Float.compare(
-					m22, matrix.m22) == 0);
+		if (!equals && object instanceof Matrix3fc) {
+			Matrix3fc matrix = (Matrix3fc) object;
+			equals = (Float.compare(m00, matrix.m00()) == 0
+					&& Float.compare(m01, matrix.m01()) == 0
+					&& Float.compare(m02, matrix.m02()) == 0
+					&& Float.compare(m10, matrix.m10()) == 0
+					&& Float.compare(m11, matrix.m11()) == 0
+					&& Float.compare(m12, matrix.m12()) == 0
+					&& Float.compare(m20, matrix.m20()) == 0
+					&& Float.compare(m21, matrix.m21()) == 0 && Float.compare(
+					m22, matrix.m22()) == 0);
 		}
 		return equals;
 	}
@@ -259,6 +251,96 @@ public class Matrix3f {
 		return hash * 31 + Float.hashCode(m22);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Matrix3fc#m00()
+	 */
+	@Override
+	public float m00() {
+		return m00;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Matrix3fc#m01()
+	 */
+	@Override
+	public float m01() {
+		return m01;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Matrix3fc#m02()
+	 */
+	@Override
+	public float m02() {
+		return m02;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Matrix3fc#m10()
+	 */
+	@Override
+	public float m10() {
+		return m10;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Matrix3fc#m11()
+	 */
+	@Override
+	public float m11() {
+		return m11;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Matrix3fc#m12()
+	 */
+	@Override
+	public float m12() {
+		return m12;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Matrix3fc#m20()
+	 */
+	@Override
+	public float m20() {
+		return m20;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Matrix3fc#m21()
+	 */
+	@Override
+	public float m21() {
+		return m21;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Matrix3fc#m22()
+	 */
+	@Override
+	public float m22() {
+		return m22;
+	}
+
 	/**
 	 * Sets the values of the matrix to the specified elements. A value
 	 * {@code mij} corresponds to the element in the <i>i</i>th row and
@@ -311,7 +393,7 @@ public class Matrix3f {
 	 *            The third row of float elements.
 	 * @return A reference to this matrix.
 	 */
-	public Matrix3f set(Vector3f v0, Vector3f v1, Vector3f v2) {
+	public Matrix3f set(Vector3fc v0, Vector3fc v1, Vector3fc v2) {
 		return set(v0, v1, v2, true);
 	}
 
@@ -329,32 +411,33 @@ public class Matrix3f {
 	 * @param rowVectors
 	 *            If <b>true</b>, then each vector corresponds to a <b>row</b>
 	 *            in the matrix (this is the same as calling
-	 *            {@link #set(Vector3f, Vector3f, Vector3f)}). If <b>false</b>,
-	 *            then each vector corresponds to a <b>column</b> in the matrix.
+	 *            {@link #set(Vector3fc, Vector3fc, Vector3fc)}). If
+	 *            <b>false</b>, then each vector corresponds to a <b>column</b>
+	 *            in the matrix.
 	 * @return
 	 */
-	public Matrix3f set(Vector3f v0, Vector3f v1, Vector3f v2,
+	public Matrix3f set(Vector3fc v0, Vector3fc v1, Vector3fc v2,
 			boolean rowVectors) {
 		if (rowVectors) {
-			m00 = v0.x;
-			m01 = v0.y;
-			m02 = v0.z;
-			m10 = v1.x;
-			m11 = v1.y;
-			m12 = v1.z;
-			m20 = v2.x;
-			m21 = v2.y;
-			m22 = v2.z;
+			m00 = v0.x();
+			m01 = v0.y();
+			m02 = v0.z();
+			m10 = v1.x();
+			m11 = v1.y();
+			m12 = v1.z();
+			m20 = v2.x();
+			m21 = v2.y();
+			m22 = v2.z();
 		} else {
-			m00 = v0.x;
-			m01 = v1.x;
-			m02 = v2.x;
-			m10 = v0.y;
-			m11 = v1.y;
-			m12 = v2.y;
-			m20 = v0.z;
-			m21 = v1.z;
-			m22 = v2.z;
+			m00 = v0.x();
+			m01 = v1.x();
+			m02 = v2.x();
+			m10 = v0.y();
+			m11 = v1.y();
+			m12 = v2.y();
+			m20 = v0.z();
+			m21 = v1.z();
+			m22 = v2.z();
 		}
 		return this;
 	}
@@ -366,16 +449,16 @@ public class Matrix3f {
 	 *            The matrix whose values will be copied.
 	 * @return A reference to this matrix.
 	 */
-	public Matrix3f set(Matrix3f matrix) {
-		m00 = matrix.m00;
-		m01 = matrix.m01;
-		m02 = matrix.m02;
-		m10 = matrix.m10;
-		m11 = matrix.m11;
-		m12 = matrix.m12;
-		m20 = matrix.m20;
-		m21 = matrix.m21;
-		m22 = matrix.m22;
+	public Matrix3f set(Matrix3fc matrix) {
+		m00 = matrix.m00();
+		m01 = matrix.m01();
+		m02 = matrix.m02();
+		m10 = matrix.m10();
+		m11 = matrix.m11();
+		m12 = matrix.m12();
+		m20 = matrix.m20();
+		m21 = matrix.m21();
+		m22 = matrix.m22();
 		return this;
 	}
 
@@ -422,19 +505,19 @@ public class Matrix3f {
 	 *            third elements in the row of the matrix.
 	 * @return A reference to this matrix.
 	 */
-	public Matrix3f setRow(int row, Vector3f vector) {
+	public Matrix3f setRow(int row, Vector3fc vector) {
 		if (row == 0) {
-			m00 = vector.x;
-			m01 = vector.y;
-			m02 = vector.z;
+			m00 = vector.x();
+			m01 = vector.y();
+			m02 = vector.z();
 		} else if (row == 1) {
-			m10 = vector.x;
-			m11 = vector.y;
-			m12 = vector.z;
+			m10 = vector.x();
+			m11 = vector.y();
+			m12 = vector.z();
 		} else if (row == 2) {
-			m20 = vector.x;
-			m21 = vector.y;
-			m22 = vector.z;
+			m20 = vector.x();
+			m21 = vector.y();
+			m22 = vector.z();
 		}
 		return this;
 	}
@@ -482,19 +565,19 @@ public class Matrix3f {
 	 *            third elements in the column of the matrix.
 	 * @return A reference to this matrix.
 	 */
-	public Matrix3f setColumn(int column, Vector3f vector) {
+	public Matrix3f setColumn(int column, Vector3fc vector) {
 		if (column == 0) {
-			m00 = vector.x;
-			m10 = vector.y;
-			m20 = vector.z;
+			m00 = vector.x();
+			m10 = vector.y();
+			m20 = vector.z();
 		} else if (column == 1) {
-			m01 = vector.x;
-			m11 = vector.y;
-			m21 = vector.z;
+			m01 = vector.x();
+			m11 = vector.y();
+			m21 = vector.z();
 		} else if (column == 2) {
-			m02 = vector.x;
-			m12 = vector.y;
-			m22 = vector.z;
+			m02 = vector.x();
+			m12 = vector.y();
+			m22 = vector.z();
 		}
 		return this;
 	}
@@ -569,7 +652,7 @@ public class Matrix3f {
 	 *            The matrix against which to multiply this one.
 	 * @return A reference to this matrix.
 	 */
-	public Matrix3f multiply(Matrix3f matrix) {
+	public Matrix3f multiply(Matrix3fc matrix) {
 		return multiply(matrix, this);
 	}
 
@@ -583,18 +666,27 @@ public class Matrix3f {
 	 *            The matrix in which to store the computed values.
 	 * @return A reference to the cache.
 	 */
-	public Matrix3f multiply(Matrix3f matrix, Matrix3f cache) {
-		float p00 = m00 * matrix.m00 + m01 * matrix.m10 + m02 * matrix.m20;
-		float p10 = m10 * matrix.m00 + m11 * matrix.m10 + m12 * matrix.m20;
-		float p20 = m20 * matrix.m00 + m21 * matrix.m10 + m22 * matrix.m20;
+	public Matrix3f multiply(Matrix3fc matrix, Matrix3f cache) {
+		float p00 = m00 * matrix.m00() + m01 * matrix.m10() + m02
+				* matrix.m20();
+		float p10 = m10 * matrix.m00() + m11 * matrix.m10() + m12
+				* matrix.m20();
+		float p20 = m20 * matrix.m00() + m21 * matrix.m10() + m22
+				* matrix.m20();
 
-		float p01 = m00 * matrix.m01 + m01 * matrix.m11 + m02 * matrix.m21;
-		float p11 = m10 * matrix.m01 + m11 * matrix.m11 + m12 * matrix.m21;
-		float p21 = m20 * matrix.m01 + m21 * matrix.m11 + m22 * matrix.m21;
+		float p01 = m00 * matrix.m01() + m01 * matrix.m11() + m02
+				* matrix.m21();
+		float p11 = m10 * matrix.m01() + m11 * matrix.m11() + m12
+				* matrix.m21();
+		float p21 = m20 * matrix.m01() + m21 * matrix.m11() + m22
+				* matrix.m21();
 
-		float p02 = m00 * matrix.m02 + m01 * matrix.m12 + m02 * matrix.m22;
-		float p12 = m10 * matrix.m02 + m11 * matrix.m12 + m12 * matrix.m22;
-		float p22 = m20 * matrix.m02 + m21 * matrix.m12 + m22 * matrix.m22;
+		float p02 = m00 * matrix.m02() + m01 * matrix.m12() + m02
+				* matrix.m22();
+		float p12 = m10 * matrix.m02() + m11 * matrix.m12() + m12
+				* matrix.m22();
+		float p22 = m20 * matrix.m02() + m21 * matrix.m12() + m22
+				* matrix.m22();
 
 		if (cache != null) {
 			cache.set(p00, p01, p02, p10, p11, p12, p20, p21, p22);
@@ -612,7 +704,7 @@ public class Matrix3f {
 	 *            The vector against which to multiply this matrix.
 	 * @return A <i>new</i> vector containing the result.
 	 */
-	public Vector3f multiply(Vector3f vector) {
+	public Vector3f multiply(Vector3fc vector) {
 		return multiply(vector, null);
 	}
 
@@ -626,10 +718,10 @@ public class Matrix3f {
 	 *            The vector in which to store the computed values.
 	 * @return A reference to the cache.
 	 */
-	public Vector3f multiply(Vector3f vector, Vector3f cache) {
-		float x = m00 * vector.x + m01 * vector.y + m02 * vector.z;
-		float y = m10 * vector.x + m11 * vector.y + m12 * vector.z;
-		float z = m20 * vector.x + m21 * vector.y + m22 * vector.z;
+	public Vector3f multiply(Vector3fc vector, Vector3f cache) {
+		float x = m00 * vector.x() + m01 * vector.y() + m02 * vector.z();
+		float y = m10 * vector.x() + m11 * vector.y() + m12 * vector.z();
+		float z = m20 * vector.x() + m21 * vector.y() + m22 * vector.z();
 
 		if (cache != null) {
 			cache.set(x, y, z);
@@ -639,4 +731,417 @@ public class Matrix3f {
 		return cache;
 	}
 
+	/**
+	 * Transposes this matrix.
+	 * 
+	 * @return A reference to this matrix.
+	 */
+	public Matrix3f transpose() {
+		return transpose(this);
+	}
+
+	/**
+	 * Transposes this matrix, but stores the result in the <i>cache</i>
+	 * matrix.
+	 * 
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Matrix3f transpose(Matrix3f cache) {
+		if (cache != null) {
+			cache.set(m00, m10, m20, m01, m11, m21, m02, m12, m22);
+		} else {
+			cache = new Matrix3f(m00, m10, m20, m01, m11, m21, m02, m12, m22);
+		}
+		return cache;
+	}
+
+	/**
+	 * Computes the determinant of this matrix.
+	 * 
+	 * @return The determinant.
+	 */
+	public float determinant() {
+		return m00 * (m11 * m22 - m12 * m21) + m01 * (m12 * m20 - m10 * m22)
+				+ m02 * (m10 * m21 - m11 * m20);
+	}
+
+	/**
+	 * Inverts this matrix.
+	 * 
+	 * @return A reference to this matrix.
+	 * @throws IllegalStateException
+	 *             If the matrix is singular (its determinant is 0).
+	 */
+	public Matrix3f invert() {
+		return invert(this);
+	}
+
+	/**
+	 * Inverts this matrix, but stores the result in the <i>cache</i> matrix.
+	 * If the matrix is known to be a pure rotation, {@link #transpose(Matrix3f)}
+	 * gives the same result more cheaply.
+	 * 
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return A reference to the cache.
+	 * @throws IllegalStateException
+	 *             If the matrix is singular (its determinant is 0).
+	 */
+	public Matrix3f invert(Matrix3f cache) {
+		// Compute the cofactors for the first column. These are re-used for
+		// the determinant.
+		float c00 = m11 * m22 - m12 * m21;
+		float c10 = m12 * m20 - m10 * m22;
+		float c20 = m10 * m21 - m11 * m20;
+
+		float det = m00 * c00 + m01 * c10 + m02 * c20;
+		if (det == 0f) {
+			throw new IllegalStateException("Matrix3f error: "
+					+ "Cannot invert a singular matrix.");
+		}
+		float inverseDet = 1f / det;
+
+		// The inverse is the transposed cofactor matrix over the determinant.
+		float i00 = c00 * inverseDet;
+		float i01 = (m02 * m21 - m01 * m22) * inverseDet;
+		float i02 = (m01 * m12 - m02 * m11) * inverseDet;
+		float i10 = c10 * inverseDet;
+		float i11 = (m00 * m22 - m02 * m20) * inverseDet;
+		float i12 = (m02 * m10 - m00 * m12) * inverseDet;
+		float i20 = c20 * inverseDet;
+		float i21 = (m01 * m20 - m00 * m21) * inverseDet;
+		float i22 = (m00 * m11 - m01 * m10) * inverseDet;
+
+		if (cache != null) {
+			cache.set(i00, i01, i02, i10, i11, i12, i20, i21, i22);
+		} else {
+			cache = new Matrix3f(i00, i01, i02, i10, i11, i12, i20, i21, i22);
+		}
+		return cache;
+	}
+
+	/**
+	 * Orthonormalizes this matrix's columns using the Gram-Schmidt process.
+	 * This is useful for removing the drift that builds up in a rotation matrix
+	 * after many multiplications. The first column keeps its direction, the
+	 * second is made perpendicular to the first, and the third is made
+	 * perpendicular to both.
+	 * <p>
+	 * If the columns are linearly dependent, the dependent columns are left as
+	 * zero vectors.
+	 * </p>
+	 * 
+	 * @return A reference to this matrix.
+	 */
+	public Matrix3f orthonormalize() {
+		return orthonormalize(this);
+	}
+
+	/**
+	 * Orthonormalizes this matrix's columns using the Gram-Schmidt process,
+	 * but stores the result in the <i>cache</i> matrix. See
+	 * {@link #orthonormalize()}.
+	 * 
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Matrix3f orthonormalize(Matrix3f cache) {
+		// Normalize the first column.
+		float x0 = m00, y0 = m10, z0 = m20;
+		float scale = inverseLength(x0, y0, z0);
+		x0 *= scale;
+		y0 *= scale;
+		z0 *= scale;
+
+		// Remove the first column from the second and normalize.
+		float x1 = m01, y1 = m11, z1 = m21;
+		float dot = x0 * x1 + y0 * y1 + z0 * z1;
+		x1 -= dot * x0;
+		y1 -= dot * y0;
+		z1 -= dot * z0;
+		scale = inverseLength(x1, y1, z1);
+		x1 *= scale;
+		y1 *= scale;
+		z1 *= scale;
+
+		// Remove the first two columns from the third and normalize.
+		float x2 = m02, y2 = m12, z2 = m22;
+		dot = x0 * x2 + y0 * y2 + z0 * z2;
+		x2 -= dot * x0;
+		y2 -= dot * y0;
+		z2 -= dot * z0;
+		dot = x1 * x2 + y1 * y2 + z1 * z2;
+		x2 -= dot * x1;
+		y2 -= dot * y1;
+		z2 -= dot * z1;
+		scale = inverseLength(x2, y2, z2);
+		x2 *= scale;
+		y2 *= scale;
+		z2 *= scale;
+
+		if (cache != null) {
+			cache.set(x0, x1, x2, y0, y1, y2, z0, z1, z2);
+		} else {
+			cache = new Matrix3f(x0, x1, x2, y0, y1, y2, z0, z1, z2);
+		}
+		return cache;
+	}
+
+	/**
+	 * Multiplies this matrix by many vectors stored in an interleaved float
+	 * array (x0, y0, z0, x1, y1, z1, ...). This is suitable for points and
+	 * directions, e.g. when deforming a mesh's vertices. No objects are
+	 * created.
+	 * <p>
+	 * It is safe for the source and destination arrays to be the same array
+	 * as long as the offsets are the same.
+	 * </p>
+	 * 
+	 * @param src
+	 *            The interleaved array of vectors to transform.
+	 * @param srcOffset
+	 *            The index in {@code src} of the first vector's x coordinate.
+	 * @param dst
+	 *            The interleaved array in which to store the transformed
+	 *            vectors.
+	 * @param dstOffset
+	 *            The index in {@code dst} of the first vector's x coordinate.
+	 * @param count
+	 *            The number of vectors to transform.
+	 * @return The destination array.
+	 * @see #transformNormals(float[], int, float[], int, int)
+	 */
+	public float[] transform(float[] src, int srcOffset, float[] dst,
+			int dstOffset, int count) {
+		checkRange(src, srcOffset, dst, dstOffset, count);
+
+		// Copy the elements to locals so they can stay in registers.
+		final float m00 = this.m00, m01 = this.m01, m02 = this.m02;
+		final float m10 = this.m10, m11 = this.m11, m12 = this.m12;
+		final float m20 = this.m20, m21 = this.m21, m22 = this.m22;
+
+		final int end = srcOffset + count * 3;
+		for (int i = srcOffset, j = dstOffset; i < end; i += 3, j += 3) {
+			float x = src[i];
+			float y = src[i + 1];
+			float z = src[i + 2];
+			dst[j] = m00 * x + m01 * y + m02 * z;
+			dst[j + 1] = m10 * x + m11 * y + m12 * z;
+			dst[j + 2] = m20 * x + m21 * y + m22 * z;
+		}
+		return dst;
+	}
+
+	/**
+	 * Transforms many normals stored in an interleaved float array (x0, y0,
+	 * z0, x1, y1, z1, ...) by this matrix. Normals must be multiplied by the
+	 * inverse transpose of the matrix to stay perpendicular to their surfaces
+	 * under non-uniform scaling. This uses the cofactor matrix, which is the
+	 * inverse transpose scaled by the determinant, and re-normalizes each
+	 * result, so the matrix does not need to be invertible. Zero-length
+	 * results are left as zero vectors. No objects are created.
+	 * <p>
+	 * It is safe for the source and destination arrays to be the same array
+	 * as long as the offsets are the same.
+	 * </p>
+	 * 
+	 * @param src
+	 *            The interleaved array of normals to transform.
+	 * @param srcOffset
+	 *            The index in {@code src} of the first normal's x coordinate.
+	 * @param dst
+	 *            The interleaved array in which to store the transformed unit
+	 *            normals.
+	 * @param dstOffset
+	 *            The index in {@code dst} of the first normal's x coordinate.
+	 * @param count
+	 *            The number of normals to transform.
+	 * @return The destination array.
+	 * @see #transform(float[], int, float[], int, int)
+	 */
+	public float[] transformNormals(float[] src, int srcOffset, float[] dst,
+			int dstOffset, int count) {
+		checkRange(src, srcOffset, dst, dstOffset, count);
+
+		// Compute the cofactor matrix. If the determinant is negative (the
+		// matrix includes a reflection), negate it so normals still point out.
+		float c00 = m11 * m22 - m12 * m21;
+		float c01 = m12 * m20 - m10 * m22;
+		float c02 = m10 * m21 - m11 * m20;
+		float c10 = m02 * m21 - m01 * m22;
+		float c11 = m00 * m22 - m02 * m20;
+		float c12 = m01 * m20 - m00 * m21;
+		float c20 = m01 * m12 - m02 * m11;
+		float c21 = m02 * m10 - m00 * m12;
+		float c22 = m00 * m11 - m01 * m10;
+		if (m00 * c00 + m01 * c01 + m02 * c02 < 0f) {
+			c00 = -c00;
+			c01 = -c01;
+			c02 = -c02;
+			c10 = -c10;
+			c11 = -c11;
+			c12 = -c12;
+			c20 = -c20;
+			c21 = -c21;
+			c22 = -c22;
+		}
+
+		final int end = srcOffset + count * 3;
+		for (int i = srcOffset, j = dstOffset; i < end; i += 3, j += 3) {
+			float x = src[i];
+			float y = src[i + 1];
+			float z = src[i + 2];
+			float nx = c00 * x + c01 * y + c02 * z;
+			float ny = c10 * x + c11 * y + c12 * z;
+			float nz = c20 * x + c21 * y + c22 * z;
+			float scale = inverseLength(nx, ny, nz);
+			dst[j] = nx * scale;
+			dst[j + 1] = ny * scale;
+			dst[j + 2] = nz * scale;
+		}
+		return dst;
+	}
+
+	// ---- Utility methods ---- //
+	/**
+	 * Gets the inverse length of a vector, or 0 if the vector has no length.
+	 */
+	private static float inverseLength(float x, float y, float z) {
+		float lengthSquared = x * x + y * y + z * z;
+		return lengthSquared > 0f ? 1f / FloatMath.sqrt(lengthSquared) : 0f;
+	}
+
+	/**
+	 * Makes sure the bulk transform ranges fit in their arrays.
+	 */
+	private static void checkRange(float[] src, int srcOffset, float[] dst,
+			int dstOffset, int count) {
+		if (srcOffset < 0 || dstOffset < 0 || count < 0
+				|| srcOffset + count * 3 > src.length
+				|| dstOffset + count * 3 > dst.length) {
+			throw new IndexOutOfBoundsException("Matrix3f error: "
+					+ "The range of vectors exceeds the array bounds.");
+		}
+	}
+	// ------------------------- //
+
+	/**
+	 * A read-only matrix that cannot be modified. It delegates to a private
+	 * matrix that is never exposed.
+	 */
+	private static final class Constant implements Matrix3fc {
+
+		private final Matrix3f matrix;
+
+		private Constant(float m00, float m01, float m02, float m10,
+				float m11, float m12, float m20, float m21, float m22) {
+			matrix = new Matrix3f(m00, m01, m02, m10, m11, m12, m20, m21, m22);
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			return object == this || matrix.equals(object);
+		}
+
+		@Override
+		public int hashCode() {
+			return matrix.hashCode();
+		}
+
+		@Override
+		public float m00() {
+			return matrix.m00;
+		}
+
+		@Override
+		public float m01() {
+			return matrix.m01;
+		}
+
+		@Override
+		public float m02() {
+			return matrix.m02;
+		}
+
+		@Override
+		public float m10() {
+			return matrix.m10;
+		}
+
+		@Override
+		public float m11() {
+			return matrix.m11;
+		}
+
+		@Override
+		public float m12() {
+			return matrix.m12;
+		}
+
+		@Override
+		public float m20() {
+			return matrix.m20;
+		}
+
+		@Override
+		public float m21() {
+			return matrix.m21;
+		}
+
+		@Override
+		public float m22() {
+			return matrix.m22;
+		}
+
+		@Override
+		public Matrix3f multiply(Matrix3fc matrix, Matrix3f cache) {
+			return this.matrix.multiply(matrix, cache);
+		}
+
+		@Override
+		public Vector3f multiply(Vector3fc vector) {
+			return matrix.multiply(vector);
+		}
+
+		@Override
+		public Vector3f multiply(Vector3fc vector, Vector3f cache) {
+			return matrix.multiply(vector, cache);
+		}
+
+		@Override
+		public Matrix3f transpose(Matrix3f cache) {
+			return matrix.transpose(cache);
+		}
+
+		@Override
+		public float determinant() {
+			return matrix.determinant();
+		}
+
+		@Override
+		public Matrix3f invert(Matrix3f cache) {
+			return matrix.invert(cache);
+		}
+
+		@Override
+		public Matrix3f orthonormalize(Matrix3f cache) {
+			return matrix.orthonormalize(cache);
+		}
+
+		@Override
+		public float[] transform(float[] src, int srcOffset, float[] dst,
+				int dstOffset, int count) {
+			return matrix.transform(src, srcOffset, dst, dstOffset, count);
+		}
+
+		@Override
+		public float[] transformNormals(float[] src, int srcOffset,
+				float[] dst, int dstOffset, int count) {
+			return matrix.transformNormals(src, srcOffset, dst, dstOffset,
+					count);
+		}
+	}
 }
@@ -0,0 +1,175 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This interface provides a read-only view of a {@link Matrix3f}. It includes
+ * the accessors for the matrix's elements and every operation that does not
+ * modify the matrix. Operations that produce a matrix or vector store the
+ * result in a <i>cache</i> object (or a new object if the cache is
+ * {@code null}).
+ * <p>
+ * Methods in the math library accept this type for matrices they only read, so
+ * constants such as {@link Matrix3f#IDENTITY} can be passed in directly.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public interface Matrix3fc {
+
+	/**
+	 * Gets the first row, first element.
+	 *
+	 * @return The element.
+	 */
+	float m00();
+
+	/**
+	 * Gets the first row, second element.
+	 *
+	 * @return The element.
+	 */
+	float m01();
+
+	/**
+	 * Gets the first row, third element.
+	 *
+	 * @return The element.
+	 */
+	float m02();
+
+	/**
+	 * Gets the second row, first element.
+	 *
+	 * @return The element.
+	 */
+	float m10();
+
+	/**
+	 * Gets the second row, second element.
+	 *
+	 * @return The element.
+	 */
+	float m11();
+
+	/**
+	 * Gets the second row, third element.
+	 *
+	 * @return The element.
+	 */
+	float m12();
+
+	/**
+	 * Gets the third row, first element.
+	 *
+	 * @return The element.
+	 */
+	float m20();
+
+	/**
+	 * Gets the third row, second element.
+	 *
+	 * @return The element.
+	 */
+	float m21();
+
+	/**
+	 * Gets the third row, third element.
+	 *
+	 * @return The element.
+	 */
+	float m22();
+
+	/**
+	 * Multiplies this matrix by the specified matrix (this * matrix), but
+	 * stores the resulting values in the specified <i>cache</i> matrix.
+	 *
+	 * @param matrix
+	 *            The right-hand matrix.
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return The <i>cache</i> matrix.
+	 */
+	Matrix3f multiply(Matrix3fc matrix, Matrix3f cache);
+
+	/**
+	 * Multiplies this matrix by the specified column vector. <b>The returned
+	 * value is a <i>new</i> {@code Vector3f}!!!</b>
+	 *
+	 * @param vector
+	 *            The column vector.
+	 * @return The product as a new vector.
+	 */
+	Vector3f multiply(Vector3fc vector);
+
+	/**
+	 * Multiplies this matrix by the specified column vector, but stores the
+	 * resulting values in the specified <i>cache</i> vector.
+	 *
+	 * @param vector
+	 *            The column vector.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	Vector3f multiply(Vector3fc vector, Vector3f cache);
+
+	/**
+	 * Transposes this matrix, but stores the resulting values in the specified
+	 * <i>cache</i> matrix.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return The <i>cache</i> matrix.
+	 */
+	Matrix3f transpose(Matrix3f cache);
+
+	/**
+	 * Computes the determinant of the matrix.
+	 *
+	 * @return The determinant.
+	 */
+	float determinant();
+
+	/**
+	 * Inverts this matrix, but stores the resulting values in the specified
+	 * <i>cache</i> matrix.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return The <i>cache</i> matrix.
+	 * @throws IllegalStateException
+	 *             If the matrix is singular.
+	 */
+	Matrix3f invert(Matrix3f cache);
+
+	/**
+	 * Orthonormalizes the columns of this matrix, but stores the resulting
+	 * values in the specified <i>cache</i> matrix.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return The <i>cache</i> matrix.
+	 * @see Matrix3f#orthonormalize()
+	 */
+	Matrix3f orthonormalize(Matrix3f cache);
+
+	/**
+	 * Transforms a packed array of xyz vectors by this matrix.
+	 *
+	 * @see Matrix3f#transform(float[], int, float[], int, int)
+	 */
+	float[] transform(float[] src, int srcOffset, float[] dst, int dstOffset,
+			int count);
+
+	/**
+	 * Transforms a packed array of xyz normals by the inverse-transpose of
+	 * this matrix.
+	 *
+	 * @see Matrix3f#transformNormals(float[], int, float[], int, int)
+	 */
+	float[] transformNormals(float[] src, int srcOffset, float[] dst,
+			int dstOffset, int count);
+}
@@ -1,12 +1,1242 @@
 /**
- * 
+ *
  */
 package com.bar.foo.math;
 
 /**
+ * This class provides a square 4x4 matrix composed of floats as an alternative
+ * to the JavaFX library. It is primarily intended to represent full affine
+ * (scale, rotation, and translation) or projective transformations.
+ * <p>
+ * Methods may return a reference to {@code this} or a reference to the
+ * specified <i>cache</i> {@code Matrix4f}, {@code Vector3f}, etc. When a
+ * <i>cache</i> is provided, no new objects are created, so these methods are
+ * safe to call every frame. It is highly recommended to pay attention to the
+ * documentation of methods in this class.
+ * </p>
+ * <p>
+ * Points and directions are treated as column vectors, so a transformation
+ * matrix <i>M</i> is applied to a point <i>p</i> via <i>Mp</i>, and the
+ * translation is stored in the fourth column ({@link #m03}, {@link #m13},
+ * {@link #m23}).
+ * </p>
+ * <p>
+ * This class additionally provides static matrices representing the zero and
+ * identity matrices as a convenience. These are read-only {@link Matrix4fc}s
+ * that cannot be modified, so they can be passed directly to any method that
+ * only reads a matrix. To get a modifiable matrix, use the copy constructor,
+ * e.g., {@code new Matrix4f(Matrix4f.ZERO)}, or the set operation, e.g.,
+ * {@code myMatrix.set(Matrix4f.IDENTITY)}.
+ * </p>
+ *
  * @author Jordan Deyton
  *
  */
-public class Matrix4f {
+public class Matrix4f implements Matrix4fc {
+
+	/**
+	 * The zero-matrix. This matrix cannot be modified.
+	 */
+	public static final Matrix4fc ZERO = new Constant(new Matrix4f());
+	/**
+	 * The identity-matrix. This matrix cannot be modified.
+	 */
+	public static final Matrix4fc IDENTITY = new Constant(new Matrix4f(1f, 0f,
+			0f, 0f, 0f, 1f, 0f, 0f, 0f, 0f, 1f, 0f, 0f, 0f, 0f, 1f));
+
+	/**
+	 * First row, first element.
+	 */
+	public float m00;
+	/**
+	 * First row, second element.
+	 */
+	public float m01;
+	/**
+	 * First row, third element.
+	 */
+	public float m02;
+	/**
+	 * First row, fourth element (x translation).
+	 */
+	public float m03;
+	/**
+	 * Second row, first element.
+	 */
+	public float m10;
+	/**
+	 * Second row, second element.
+	 */
+	public float m11;
+	/**
+	 * Second row, third element.
+	 */
+	public float m12;
+	/**
+	 * Second row, fourth element (y translation).
+	 */
+	public float m13;
+	/**
+	 * Third row, first element.
+	 */
+	public float m20;
+	/**
+	 * Third row, second element.
+	 */
+	public float m21;
+	/**
+	 * Third row, third element.
+	 */
+	public float m22;
+	/**
+	 * Third row, fourth element (z translation).
+	 */
+	public float m23;
+	/**
+	 * Fourth row, first element.
+	 */
+	public float m30;
+	/**
+	 * Fourth row, second element.
+	 */
+	public float m31;
+	/**
+	 * Fourth row, third element.
+	 */
+	public float m32;
+	/**
+	 * Fourth row, fourth element.
+	 */
+	public float m33;
+
+	/**
+	 * The default constructor. Creates a zero matrix.
+	 */
+	public Matrix4f() {
+		// Zero out the values.
+		m00 = m01 = m02 = m03 = 0f;
+		m10 = m11 = m12 = m13 = 0f;
+		m20 = m21 = m22 = m23 = 0f;
+		m30 = m31 = m32 = m33 = 0f;
+		return;
+	}
+
+	/**
+	 * Creates a matrix with the specified elements. A value {@code mij}
+	 * corresponds to the element in the <i>i</i>th row and <i>j</i>th column.
+	 * Indexing starts at 0.
+	 *
+	 * @param m00
+	 *            First row, first element.
+	 * @param m01
+	 *            First row, second element.
+	 * @param m02
+	 *            First row, third element.
+	 * @param m03
+	 *            First row, fourth element.
+	 * @param m10
+	 *            Second row, first element.
+	 * @param m11
+	 *            Second row, second element.
+	 * @param m12
+	 *            Second row, third element.
+	 * @param m13
+	 *            Second row, fourth element.
+	 * @param m20
+	 *            Third row, first element.
+	 * @param m21
+	 *            Third row, second element.
+	 * @param m22
+	 *            Third row, third element.
+	 * @param m23
+	 *            Third row, fourth element.
+	 * @param m30
+	 *            Fourth row, first element.
+	 * @param m31
+	 *            Fourth row, second element.
+	 * @param m32
+	 *            Fourth row, third element.
+	 * @param m33
+	 *            Fourth row, fourth element.
+	 */
+	public Matrix4f(float m00, float m01, float m02, float m03, float m10,
+			float m11, float m12, float m13, float m20, float m21, float m22,
+			float m23, float m30, float m31, float m32, float m33) {
+		set(m00, m01, m02, m03, m10, m11, m12, m13, m20, m21, m22, m23, m30,
+				m31, m32, m33);
+		return;
+	}
+
+	/**
+	 * Creates an affine transformation matrix from the specified 3x3 matrix
+	 * (the upper-left scale and rotation elements) and translation vector. The
+	 * bottom row is set to (0, 0, 0, 1).
+	 *
+	 * @param matrix
+	 *            The 3x3 scale and rotation matrix.
+	 * @param translation
+	 *            The translation vector.
+	 */
+	public Matrix4f(Matrix3fc matrix, Vector3fc translation) {
+		set(matrix, translation);
+		return;
+	}
+
+	/**
+	 * A copy constructor. Creates a matrix with the same values as the
+	 * specified matrix or zeroes if the matrix is null.
+	 *
+	 * @param matrix
+	 *            The matrix to copy.
+	 */
+	public Matrix4f(Matrix4fc matrix) {
+		if (matrix != null) {
+			set(matrix);
+		} else {
+			// Zero out the values.
+			m00 = m01 = m02 = m03 = 0f;
+			m10 = m11 = m12 = m13 = 0f;
+			m20 = m21 = m22 = m23 = 0f;
+			m30 = m31 = m32 = m33 = 0f;
+		}
+		return;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object object) {
+		boolean equals = (this == object);
+		if (!equals && object instanceof Matrix4fc) {
+			Matrix4fc matrix = (Matrix4fc) object;
+			equals = (Float.compare(m00, matrix.m00()) == 0
+					&& Float.compare(m01, matrix.m01()) == 0
+					&& Float.compare(m02, matrix.m02()) == 0
+					&& Float.compare(m03, matrix.m03()) == 0
+					&& Float.compare(m10, matrix.m10()) == 0
+					&& Float.compare(m11, matrix.m11()) == 0
+					&& Float.compare(m12, matrix.m12()) == 0
+					&& Float.compare(m13, matrix.m13()) == 0
+					&& Float.compare(m20, matrix.m20()) == 0
+					&& Float.compare(m21, matrix.m21()) == 0
+					&& Float.compare(m22, matrix.m22()) == 0
+					&& Float.compare(m23, matrix.m23()) == 0
+					&& Float.compare(m30, matrix.m30()) == 0
+					&& Float.compare(m31, matrix.m31()) == 0
+					&& Float.compare(m32, matrix.m32()) == 0
+					&& Float.compare(m33, matrix.m33()) == 0);
+		}
+		return equals;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		int hash = Float.hashCode(m00);
+		hash = hash * 31 + Float.hashCode(m01);
+		hash = hash * 31 + Float.hashCode(m02);
+		hash = hash * 31 + Float.hashCode(m03);
+		hash = hash * 31 + Float.hashCode(m10);
+		hash = hash * 31 + Float.hashCode(m11);
+		hash = hash * 31 + Float.hashCode(m12);
+		hash = hash * 31 + Float.hashCode(m13);
+		hash = hash * 31 + Float.hashCode(m20);
+		hash = hash * 31 + Float.hashCode(m21);
+		hash = hash * 31 + Float.hashCode(m22);
+		hash = hash * 31 + Float.hashCode(m23);
+		hash = hash * 31 + Float.hashCode(m30);
+		hash = hash * 31 + Float.hashCode(m31);
+		hash = hash * 31 + Float.hashCode(m32);
+		return hash * 31 + Float.hashCode(m33);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m00()
+	 */
+	@Override
+	public float m00() {
+		return m00;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m01()
+	 */
+	@Override
+	public float m01() {
+		return m01;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m02()
+	 */
+	@Override
+	public float m02() {
+		return m02;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m03()
+	 */
+	@Override
+	public float m03() {
+		return m03;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m10()
+	 */
+	@Override
+	public float m10() {
+		return m10;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m11()
+	 */
+	@Override
+	public float m11() {
+		return m11;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m12()
+	 */
+	@Override
+	public float m12() {
+		return m12;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m13()
+	 */
+	@Override
+	public float m13() {
+		return m13;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m20()
+	 */
+	@Override
+	public float m20() {
+		return m20;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m21()
+	 */
+	@Override
+	public float m21() {
+		return m21;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m22()
+	 */
+	@Override
+	public float m22() {
+		return m22;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m23()
+	 */
+	@Override
+	public float m23() {
+		return m23;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m30()
+	 */
+	@Override
+	public float m30() {
+		return m30;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m31()
+	 */
+	@Override
+	public float m31() {
+		return m31;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m32()
+	 */
+	@Override
+	public float m32() {
+		return m32;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.bar.foo.math.Matrix4fc#m33()
+	 */
+	@Override
+	public float m33() {
+		return m33;
+	}
+
+	/**
+	 * Sets the values of the matrix to the specified elements. A value
+	 * {@code mij} corresponds to the element in the <i>i</i>th row and
+	 * <i>j</i>th column. Indexing starts at 0.
+	 *
+	 * @param m00
+	 *            First row, first element.
+	 * @param m01
+	 *            First row, second element.
+	 * @param m02
+	 *            First row, third element.
+	 * @param m03
+	 *            First row, fourth element.
+	 * @param m10
+	 *            Second row, first element.
+	 * @param m11
+	 *            Second row, second element.
+	 * @param m12
+	 *            Second row, third element.
+	 * @param m13
+	 *            Second row, fourth element.
+	 * @param m20
+	 *            Third row, first element.
+	 * @param m21
+	 *            Third row, second element.
+	 * @param m22
+	 *            Third row, third element.
+	 * @param m23
+	 *            Third row, fourth element.
+	 * @param m30
+	 *            Fourth row, first element.
+	 * @param m31
+	 *            Fourth row, second element.
+	 * @param m32
+	 *            Fourth row, third element.
+	 * @param m33
+	 *            Fourth row, fourth element.
+	 * @return A reference to this matrix.
+	 */
+	public Matrix4f set(float m00, float m01, float m02, float m03, float m10,
+			float m11, float m12, float m13, float m20, float m21, float m22,
+			float m23, float m30, float m31, float m32, float m33) {
+		this.m00 = m00;
+		this.m01 = m01;
+		this.m02 = m02;
+		this.m03 = m03;
+		this.m10 = m10;
+		this.m11 = m11;
+		this.m12 = m12;
+		this.m13 = m13;
+		this.m20 = m20;
+		this.m21 = m21;
+		this.m22 = m22;
+		this.m23 = m23;
+		this.m30 = m30;
+		this.m31 = m31;
+		this.m32 = m32;
+		this.m33 = m33;
+		return this;
+	}
+
+	/**
+	 * Sets the values of the matrix to the same values in the specified matrix.
+	 *
+	 * @param matrix
+	 *            The matrix whose values will be copied.
+	 * @return A reference to this matrix.
+	 */
+	public Matrix4f set(Matrix4fc matrix) {
+		m00 = matrix.m00();
+		m01 = matrix.m01();
+		m02 = matrix.m02();
+		m03 = matrix.m03();
+		m10 = matrix.m10();
+		m11 = matrix.m11();
+		m12 = matrix.m12();
+		m13 = matrix.m13();
+		m20 = matrix.m20();
+		m21 = matrix.m21();
+		m22 = matrix.m22();
+		m23 = matrix.m23();
+		m30 = matrix.m30();
+		m31 = matrix.m31();
+		m32 = matrix.m32();
+		m33 = matrix.m33();
+		return this;
+	}
+
+	/**
+	 * Sets the values of the matrix to the affine transformation described by
+	 * the specified 3x3 matrix (the upper-left scale and rotation elements) and
+	 * translation vector. The bottom row is set to (0, 0, 0, 1).
+	 *
+	 * @param matrix
+	 *            The 3x3 scale and rotation matrix.
+	 * @param translation
+	 *            The translation vector.
+	 * @return A reference to this matrix.
+	 */
+	public Matrix4f set(Matrix3fc matrix, Vector3fc translation) {
+		m00 = matrix.m00();
+		m01 = matrix.m01();
+		m02 = matrix.m02();
+		m03 = translation.x();
+		m10 = matrix.m10();
+		m11 = matrix.m11();
+		m12 = matrix.m12();
+		m13 = translation.y();
+		m20 = matrix.m20();
+		m21 = matrix.m21();
+		m22 = matrix.m22();
+		m23 = translation.z();
+		m30 = m31 = m32 = 0f;
+		m33 = 1f;
+		return this;
+	}
+
+	/**
+	 * Sets the translation elements of the matrix (the first three elements in
+	 * the fourth column). No other elements are modified.
+	 *
+	 * @param translation
+	 *            The new translation vector.
+	 * @return A reference to this matrix.
+	 */
+	public Matrix4f setTranslation(Vector3fc translation) {
+		m03 = translation.x();
+		m13 = translation.y();
+		m23 = translation.z();
+		return this;
+	}
+
+	/**
+	 * Gets the translation elements of the matrix (the first three elements in
+	 * the fourth column) and stores them in the <i>cache</i> vector.
+	 *
+	 * @param cache
+	 *            The vector in which to store the translation.
+	 * @return The <i>cache</i> vector, or a new vector if the cache was null.
+	 */
+	public Vector3f getTranslation(Vector3f cache) {
+		if (cache != null) {
+			cache.set(m03, m13, m23);
+		} else {
+			cache = new Vector3f(m03, m13, m23);
+		}
+		return cache;
+	}
+
+	/**
+	 * Gets the upper-left 3x3 elements of the matrix (the scale and rotation
+	 * for an affine transformation) and stores them in the <i>cache</i> matrix.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the elements.
+	 * @return The <i>cache</i> matrix, or a new matrix if the cache was null.
+	 */
+	public Matrix3f getMatrix3f(Matrix3f cache) {
+		if (cache != null) {
+			cache.set(m00, m01, m02, m10, m11, m12, m20, m21, m22);
+		} else {
+			cache = new Matrix3f(m00, m01, m02, m10, m11, m12, m20, m21, m22);
+		}
+		return cache;
+	}
+
+	/**
+	 * Multiplies this matrix by the given matrix and stores the result in
+	 * <i>this</i> matrix.
+	 *
+	 * @param matrix
+	 *            The matrix against which to multiply this one.
+	 * @return A reference to this matrix.
+	 */
+	public Matrix4f multiply(Matrix4fc matrix) {
+		return multiply(matrix, this);
+	}
+
+	/**
+	 * Multiplies this matrix by the given matrix and stores the result in the
+	 * <i>cache</i> matrix. It is safe for the cache to be either this matrix or
+	 * the argument matrix.
+	 *
+	 * @param matrix
+	 *            The matrix against which to multiply this one.
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Matrix4f multiply(Matrix4fc matrix, Matrix4f cache) {
+		// Read each element of the right-hand matrix only once.
+		float n00 = matrix.m00(), n01 = matrix.m01(), n02 = matrix.m02();
+		float n03 = matrix.m03(), n10 = matrix.m10(), n11 = matrix.m11();
+		float n12 = matrix.m12(), n13 = matrix.m13(), n20 = matrix.m20();
+		float n21 = matrix.m21(), n22 = matrix.m22(), n23 = matrix.m23();
+		float n30 = matrix.m30(), n31 = matrix.m31(), n32 = matrix.m32();
+		float n33 = matrix.m33();
+
+		float p00 = m00 * n00 + m01 * n10 + m02 * n20 + m03 * n30;
+		float p01 = m00 * n01 + m01 * n11 + m02 * n21 + m03 * n31;
+		float p02 = m00 * n02 + m01 * n12 + m02 * n22 + m03 * n32;
+		float p03 = m00 * n03 + m01 * n13 + m02 * n23 + m03 * n33;
+
+		float p10 = m10 * n00 + m11 * n10 + m12 * n20 + m13 * n30;
+		float p11 = m10 * n01 + m11 * n11 + m12 * n21 + m13 * n31;
+		float p12 = m10 * n02 + m11 * n12 + m12 * n22 + m13 * n32;
+		float p13 = m10 * n03 + m11 * n13 + m12 * n23 + m13 * n33;
+
+		float p20 = m20 * n00 + m21 * n10 + m22 * n20 + m23 * n30;
+		float p21 = m20 * n01 + m21 * n11 + m22 * n21 + m23 * n31;
+		float p22 = m20 * n02 + m21 * n12 + m22 * n22 + m23 * n32;
+		float p23 = m20 * n03 + m21 * n13 + m22 * n23 + m23 * n33;
+
+		float p30 = m30 * n00 + m31 * n10 + m32 * n20 + m33 * n30;
+		float p31 = m30 * n01 + m31 * n11 + m32 * n21 + m33 * n31;
+		float p32 = m30 * n02 + m31 * n12 + m32 * n22 + m33 * n32;
+		float p33 = m30 * n03 + m31 * n13 + m32 * n23 + m33 * n33;
+
+		if (cache != null) {
+			cache.set(p00, p01, p02, p03, p10, p11, p12, p13, p20, p21, p22,
+					p23, p30, p31, p32, p33);
+		} else {
+			cache = new Matrix4f(p00, p01, p02, p03, p10, p11, p12, p13, p20,
+					p21, p22, p23, p30, p31, p32, p33);
+		}
+		return cache;
+	}
+
+	/**
+	 * Transposes this matrix.
+	 *
+	 * @return A reference to this matrix.
+	 */
+	public Matrix4f transpose() {
+		return transpose(this);
+	}
+
+	/**
+	 * Transposes this matrix, but stores the result in the <i>cache</i>
+	 * matrix.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Matrix4f transpose(Matrix4f cache) {
+		if (cache != null) {
+			cache.set(m00, m10, m20, m30, m01, m11, m21, m31, m02, m12, m22,
+					m32, m03, m13, m23, m33);
+		} else {
+			cache = new Matrix4f(m00, m10, m20, m30, m01, m11, m21, m31, m02,
+					m12, m22, m32, m03, m13, m23, m33);
+		}
+		return cache;
+	}
+
+	/**
+	 * Computes the determinant of this matrix.
+	 *
+	 * @return The determinant.
+	 */
+	public float determinant() {
+		// Expand using the 2x2 sub-determinants of the top two and bottom two
+		// rows (Laplace expansion).
+		float s0 = m00 * m11 - m10 * m01;
+		float s1 = m00 * m12 - m10 * m02;
+		float s2 = m00 * m13 - m10 * m03;
+		float s3 = m01 * m12 - m11 * m02;
+		float s4 = m01 * m13 - m11 * m03;
+		float s5 = m02 * m13 - m12 * m03;
+
+		float c5 = m22 * m33 - m32 * m23;
+		float c4 = m21 * m33 - m31 * m23;
+		float c3 = m21 * m32 - m31 * m22;
+		float c2 = m20 * m33 - m30 * m23;
+		float c1 = m20 * m32 - m30 * m22;
+		float c0 = m20 * m31 - m30 * m21;
+
+		return s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+	}
+
+	/**
+	 * Inverts this matrix.
+	 *
+	 * @return A reference to this matrix.
+	 * @throws IllegalStateException
+	 *             If the matrix is singular (its determinant is 0).
+	 * @see #invertAffine()
+	 * @see #invertRigid()
+	 */
+	public Matrix4f invert() {
+		return invert(this);
+	}
+
+	/**
+	 * Inverts this matrix, but stores the result in the <i>cache</i> matrix.
+	 * This works for any non-singular matrix. If the matrix is known to be an
+	 * affine or rigid transformation, {@link #invertAffine(Matrix4f)} and
+	 * {@link #invertRigid(Matrix4f)} are faster.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return A reference to the cache.
+	 * @throws IllegalStateException
+	 *             If the matrix is singular (its determinant is 0).
+	 */
+	public Matrix4f invert(Matrix4f cache) {
+		// The same 2x2 sub-determinants used in determinant() double as the
+		// building blocks for the adjugate matrix.
+		float s0 = m00 * m11 - m10 * m01;
+		float s1 = m00 * m12 - m10 * m02;
+		float s2 = m00 * m13 - m10 * m03;
+		float s3 = m01 * m12 - m11 * m02;
+		float s4 = m01 * m13 - m11 * m03;
+		float s5 = m02 * m13 - m12 * m03;
+
+		float c5 = m22 * m33 - m32 * m23;
+		float c4 = m21 * m33 - m31 * m23;
+		float c3 = m21 * m32 - m31 * m22;
+		float c2 = m20 * m33 - m30 * m23;
+		float c1 = m20 * m32 - m30 * m22;
+		float c0 = m20 * m31 - m30 * m21;
+
+		float det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+		if (det == 0f) {
+			throw new IllegalStateException("Matrix4f error: "
+					+ "Cannot invert a singular matrix.");
+		}
+		float inverseDet = 1f / det;
+
+		float i00 = (m11 * c5 - m12 * c4 + m13 * c3) * inverseDet;
+		float i01 = (-m01 * c5 + m02 * c4 - m03 * c3) * inverseDet;
+		float i02 = (m31 * s5 - m32 * s4 + m33 * s3) * inverseDet;
+		float i03 = (-m21 * s5 + m22 * s4 - m23 * s3) * inverseDet;
+
+		float i10 = (-m10 * c5 + m12 * c2 - m13 * c1) * inverseDet;
+		float i11 = (m00 * c5 - m02 * c2 + m03 * c1) * inverseDet;
+		float i12 = (-m30 * s5 + m32 * s2 - m33 * s1) * inverseDet;
+		float i13 = (m20 * s5 - m22 * s2 + m23 * s1) * inverseDet;
+
+		float i20 = (m10 * c4 - m11 * c2 + m13 * c0) * inverseDet;
+		float i21 = (-m00 * c4 + m01 * c2 - m03 * c0) * inverseDet;
+		float i22 = (m30 * s4 - m31 * s2 + m33 * s0) * inverseDet;
+		float i23 = (-m20 * s4 + m21 * s2 - m23 * s0) * inverseDet;
+
+		float i30 = (-m10 * c3 + m11 * c1 - m12 * c0) * inverseDet;
+		float i31 = (m00 * c3 - m01 * c1 + m02 * c0) * inverseDet;
+		float i32 = (-m30 * s3 + m31 * s1 - m32 * s0) * inverseDet;
+		float i33 = (m20 * s3 - m21 * s1 + m22 * s0) * inverseDet;
+
+		if (cache != null) {
+			cache.set(i00, i01, i02, i03, i10, i11, i12, i13, i20, i21, i22,
+					i23, i30, i31, i32, i33);
+		} else {
+			cache = new Matrix4f(i00, i01, i02, i03, i10, i11, i12, i13, i20,
+					i21, i22, i23, i30, i31, i32, i33);
+		}
+		return cache;
+	}
+
+	/**
+	 * Inverts this matrix assuming it is an affine transformation, i.e., its
+	 * bottom row is (0, 0, 0, 1).
+	 *
+	 * @return A reference to this matrix.
+	 * @throws IllegalStateException
+	 *             If the upper-left 3x3 matrix is singular.
+	 */
+	public Matrix4f invertAffine() {
+		return invertAffine(this);
+	}
+
+	/**
+	 * Inverts this matrix assuming it is an affine transformation, i.e., its
+	 * bottom row is (0, 0, 0, 1), but stores the result in the <i>cache</i>
+	 * matrix. Only the upper-left 3x3 matrix needs to be inverted, so this is
+	 * considerably cheaper than {@link #invert(Matrix4f)}.
+	 * <p>
+	 * For the affine matrix [A t; 0 1], the inverse is [A<sup>-1</sup>
+	 * -A<sup>-1</sup>t; 0 1].
+	 * </p>
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return A reference to the cache.
+	 * @throws IllegalStateException
+	 *             If the upper-left 3x3 matrix is singular.
+	 */
+	public Matrix4f invertAffine(Matrix4f cache) {
+		// Compute the cofactors for the first column. These are re-used for
+		// the determinant.
+		float c00 = m11 * m22 - m12 * m21;
+		float c10 = m12 * m20 - m10 * m22;
+		float c20 = m10 * m21 - m11 * m20;
+
+		float det = m00 * c00 + m01 * c10 + m02 * c20;
+		if (det == 0f) {
+			throw new IllegalStateException("Matrix4f error: "
+					+ "Cannot invert a singular matrix.");
+		}
+		float inverseDet = 1f / det;
+
+		// The inverse is the transposed cofactor matrix over the determinant.
+		float i00 = c00 * inverseDet;
+		float i01 = (m02 * m21 - m01 * m22) * inverseDet;
+		float i02 = (m01 * m12 - m02 * m11) * inverseDet;
+		float i10 = c10 * inverseDet;
+		float i11 = (m00 * m22 - m02 * m20) * inverseDet;
+		float i12 = (m02 * m10 - m00 * m12) * inverseDet;
+		float i20 = c20 * inverseDet;
+		float i21 = (m01 * m20 - m00 * m21) * inverseDet;
+		float i22 = (m00 * m11 - m01 * m10) * inverseDet;
+
+		// The new translation is the inverse 3x3 applied to the negated
+		// translation.
+		float t0 = -(i00 * m03 + i01 * m13 + i02 * m23);
+		float t1 = -(i10 * m03 + i11 * m13 + i12 * m23);
+		float t2 = -(i20 * m03 + i21 * m13 + i22 * m23);
+
+		if (cache != null) {
+			cache.set(i00, i01, i02, t0, i10, i11, i12, t1, i20, i21, i22, t2,
+					0f, 0f, 0f, 1f);
+		} else {
+			cache = new Matrix4f(i00, i01, i02, t0, i10, i11, i12, t1, i20,
+					i21, i22, t2, 0f, 0f, 0f, 1f);
+		}
+		return cache;
+	}
+
+	/**
+	 * Inverts this matrix assuming it is a rigid transformation, i.e., it is
+	 * composed of only a rotation and a translation.
+	 *
+	 * @return A reference to this matrix.
+	 */
+	public Matrix4f invertRigid() {
+		return invertRigid(this);
+	}
+
+	/**
+	 * Inverts this matrix assuming it is a rigid transformation, i.e., it is
+	 * composed of only a rotation and a translation, but stores the result in
+	 * the <i>cache</i> matrix. Since the inverse of a rotation matrix is its
+	 * transpose, this is the cheapest inverse available. <b>Unexpected results
+	 * will occur if the matrix contains a scale or projection!</b>
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Matrix4f invertRigid(Matrix4f cache) {
+		// The new translation is -R^T * t.
+		float t0 = -(m00 * m03 + m10 * m13 + m20 * m23);
+		float t1 = -(m01 * m03 + m11 * m13 + m21 * m23);
+		float t2 = -(m02 * m03 + m12 * m13 + m22 * m23);
+
+		if (cache != null) {
+			cache.set(m00, m10, m20, t0, m01, m11, m21, t1, m02, m12, m22, t2,
+					0f, 0f, 0f, 1f);
+		} else {
+			cache = new Matrix4f(m00, m10, m20, t0, m01, m11, m21, t1, m02,
+					m12, m22, t2, 0f, 0f, 0f, 1f);
+		}
+		return cache;
+	}
+
+	/**
+	 * Transforms the specified point by this matrix. The point's fourth
+	 * (homogeneous) coordinate is assumed to be 1, and the bottom row of this
+	 * matrix is assumed to be (0, 0, 0, 1). <b>The result is stored in the
+	 * point!</b>
+	 *
+	 * @param point
+	 *            The point to transform.
+	 * @return A reference to the point.
+	 */
+	public Vector3f transformPoint(Vector3f point) {
+		return transformPoint(point, point);
+	}
+
+	/**
+	 * Transforms the specified point by this matrix and stores the result in
+	 * the <i>cache</i> vector. The point's fourth (homogeneous) coordinate is
+	 * assumed to be 1, and the bottom row of this matrix is assumed to be (0,
+	 * 0, 0, 1). It is safe for the cache to be the point.
+	 *
+	 * @param point
+	 *            The point to transform.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return A reference to the cache.
+	 * @see #projectPoint(Vector3fc, Vector3f)
+	 */
+	public Vector3f transformPoint(Vector3fc point, Vector3f cache) {
+		float x = m00 * point.x() + m01 * point.y() + m02 * point.z() + m03;
+		float y = m10 * point.x() + m11 * point.y() + m12 * point.z() + m13;
+		float z = m20 * point.x() + m21 * point.y() + m22 * point.z() + m23;
+
+		if (cache != null) {
+			cache.set(x, y, z);
+		} else {
+			cache = new Vector3f(x, y, z);
+		}
+		return cache;
+	}
+
+	/**
+	 * Transforms the specified point by this (projective) matrix, including
+	 * the division by the resulting homogeneous coordinate, and stores the
+	 * result in the <i>cache</i> vector. It is safe for the cache to be the
+	 * point.
+	 *
+	 * @param point
+	 *            The point to transform.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Vector3f projectPoint(Vector3fc point, Vector3f cache) {
+		float x = m00 * point.x() + m01 * point.y() + m02 * point.z() + m03;
+		float y = m10 * point.x() + m11 * point.y() + m12 * point.z() + m13;
+		float z = m20 * point.x() + m21 * point.y() + m22 * point.z() + m23;
+		float w = m30 * point.x() + m31 * point.y() + m32 * point.z() + m33;
+
+		// Avoid dividing by zero. Points on the plane w = 0 are at infinity,
+		// so we leave them unscaled.
+		if (w != 1f && w != 0f) {
+			float inverseW = 1f / w;
+			x *= inverseW;
+			y *= inverseW;
+			z *= inverseW;
+		}
+
+		if (cache != null) {
+			cache.set(x, y, z);
+		} else {
+			cache = new Vector3f(x, y, z);
+		}
+		return cache;
+	}
+
+	/**
+	 * Transforms the specified direction by this matrix. Directions are not
+	 * affected by translation. <b>The result is stored in the direction!</b>
+	 *
+	 * @param direction
+	 *            The direction to transform.
+	 * @return A reference to the direction.
+	 */
+	public Vector3f transformDirection(Vector3f direction) {
+		return transformDirection(direction, direction);
+	}
+
+	/**
+	 * Transforms the specified direction by this matrix and stores the result
+	 * in the <i>cache</i> vector. Directions are not affected by translation.
+	 * It is safe for the cache to be the direction.
+	 *
+	 * @param direction
+	 *            The direction to transform.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Vector3f transformDirection(Vector3fc direction, Vector3f cache) {
+		float x = m00 * direction.x() + m01 * direction.y() + m02
+				* direction.z();
+		float y = m10 * direction.x() + m11 * direction.y() + m12
+				* direction.z();
+		float z = m20 * direction.x() + m21 * direction.y() + m22
+				* direction.z();
+
+		if (cache != null) {
+			cache.set(x, y, z);
+		} else {
+			cache = new Vector3f(x, y, z);
+		}
+		return cache;
+	}
+
+	// ---- Static Helpers for Creating Matrices ---- //
+
+	/**
+	 * Computes an affine transformation matrix from a scale, rotation, and
+	 * translation. The scale is applied first, then the rotation, then the
+	 * translation (i.e., <i>M = TRS</i>). The result is stored in a new matrix.
+	 *
+	 * @param scale
+	 *            The scale along each axis.
+	 * @param rotation
+	 *            The rotation. This is expected to be a unit quaternion.
+	 * @param translation
+	 *            The translation.
+	 * @return A new matrix containing the combined transformation.
+	 */
+	public static Matrix4f fromTransform(Vector3fc scale, Quaternionc rotation,
+			Vector3fc translation) {
+		return fromTransform(scale, rotation, translation, null);
+	}
+
+	/**
+	 * Computes an affine transformation matrix from a scale, rotation, and
+	 * translation. The scale is applied first, then the rotation, then the
+	 * translation (i.e., <i>M = TRS</i>). The result is stored in the cache.
+	 *
+	 * @param scale
+	 *            The scale along each axis.
+	 * @param rotation
+	 *            The rotation. This is expected to be a unit quaternion.
+	 * @param translation
+	 *            The translation.
+	 * @param cache
+	 *            The matrix in which to store the combined transformation.
+	 * @return The cache matrix.
+	 */
+	public static Matrix4f fromTransform(Vector3fc scale, Quaternionc rotation,
+			Vector3fc translation, Matrix4f cache) {
+		if (cache == null) {
+			cache = new Matrix4f();
+		}
+
+		// This is the same rotation matrix computed in
+		// Quaternion#fillRotationMatrix(Matrix3f), inlined here so that no
+		// intermediate Matrix3f is required.
+		float x = rotation.x();
+		float y = rotation.y();
+		float z = rotation.z();
+		float w = rotation.w();
+		float fx = 2f * x;
+		float fy = 2f * y;
+		float fz = 2f * z;
+		float fwx = fx * w;
+		float fwy = fy * w;
+		float fwz = fz * w;
+		float fxx = fx * x;
+		float fyy = fy * y;
+		float fzz = fz * z;
+		float fxy = fx * y;
+		float fxz = fx * z;
+		float fyz = fy * z;
+
+		// Multiplying R by the diagonal scale matrix S scales each column of R
+		// by the corresponding axis scale.
+		cache.m00 = (1f - (fyy + fzz)) * scale.x();
+		cache.m01 = (fxy - fwz) * scale.y();
+		cache.m02 = (fxz + fwy) * scale.z();
+		cache.m03 = translation.x();
+		cache.m10 = (fxy + fwz) * scale.x();
+		cache.m11 = (1f - (fxx + fzz)) * scale.y();
+		cache.m12 = (fyz - fwx) * scale.z();
+		cache.m13 = translation.y();
+		cache.m20 = (fxz - fwy) * scale.x();
+		cache.m21 = (fyz + fwx) * scale.y();
+		cache.m22 = (1f - (fxx + fyy)) * scale.z();
+		cache.m23 = translation.z();
+		cache.m30 = 0f;
+		cache.m31 = 0f;
+		cache.m32 = 0f;
+		cache.m33 = 1f;
+
+		return cache;
+	}
+	// ---------------------------------------------- //
+
+	/**
+	 * A read-only matrix that cannot be modified. It delegates to a private
+	 * matrix that is never exposed.
+	 */
+	private static final class Constant implements Matrix4fc {
+
+		private final Matrix4f matrix;
+
+		private Constant(Matrix4f matrix) {
+			this.matrix = matrix;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			return object == this || matrix.equals(object);
+		}
+
+		@Override
+		public int hashCode() {
+			return matrix.hashCode();
+		}
+
+		@Override
+		public float m00() {
+			return matrix.m00;
+		}
+
+		@Override
+		public float m01() {
+			return matrix.m01;
+		}
+
+		@Override
+		public float m02() {
+			return matrix.m02;
+		}
+
+		@Override
+		public float m03() {
+			return matrix.m03;
+		}
+
+		@Override
+		public float m10() {
+			return matrix.m10;
+		}
+
+		@Override
+		public float m11() {
+			return matrix.m11;
+		}
+
+		@Override
+		public float m12() {
+			return matrix.m12;
+		}
+
+		@Override
+		public float m13() {
+			return matrix.m13;
+		}
+
+		@Override
+		public float m20() {
+			return matrix.m20;
+		}
+
+		@Override
+		public float m21() {
+			return matrix.m21;
+		}
+
+		@Override
+		public float m22() {
+			return matrix.m22;
+		}
+
+		@Override
+		public float m23() {
+			return matrix.m23;
+		}
+
+		@Override
+		public float m30() {
+			return matrix.m30;
+		}
+
+		@Override
+		public float m31() {
+			return matrix.m31;
+		}
+
+		@Override
+		public float m32() {
+			return matrix.m32;
+		}
+
+		@Override
+		public float m33() {
+			return matrix.m33;
+		}
+
+		@Override
+		public Vector3f getTranslation(Vector3f cache) {
+			return matrix.getTranslation(cache);
+		}
+
+		@Override
+		public Matrix3f getMatrix3f(Matrix3f cache) {
+			return matrix.getMatrix3f(cache);
+		}
+
+		@Override
+		public Matrix4f multiply(Matrix4fc matrix, Matrix4f cache) {
+			return this.matrix.multiply(matrix, cache);
+		}
+
+		@Override
+		public Matrix4f transpose(Matrix4f cache) {
+			return matrix.transpose(cache);
+		}
+
+		@Override
+		public float determinant() {
+			return matrix.determinant();
+		}
+
+		@Override
+		public Matrix4f invert(Matrix4f cache) {
+			return matrix.invert(cache);
+		}
+
+		@Override
+		public Matrix4f invertAffine(Matrix4f cache) {
+			return matrix.invertAffine(cache);
+		}
+
+		@Override
+		public Matrix4f invertRigid(Matrix4f cache) {
+			return matrix.invertRigid(cache);
+		}
+
+		@Override
+		public Vector3f transformPoint(Vector3fc point, Vector3f cache) {
+			return matrix.transformPoint(point, cache);
+		}
+
+		@Override
+		public Vector3f projectPoint(Vector3fc point, Vector3f cache) {
+			return matrix.projectPoint(point, cache);
+		}
 
+		@Override
+		public Vector3f transformDirection(Vector3fc direction,
+				Vector3f cache) {
+			return matrix.transformDirection(direction, cache);
+		}
+	}
 }
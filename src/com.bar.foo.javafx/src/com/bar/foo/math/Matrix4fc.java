@@ -0,0 +1,240 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This interface provides a read-only view of a {@link Matrix4f}. It includes
+ * the accessors for the matrix's elements and every operation that does not
+ * modify the matrix. Operations that produce a matrix or vector store the
+ * result in a <i>cache</i> object (or a new object if the cache is
+ * {@code null}).
+ * <p>
+ * Methods in the math library accept this type for matrices they only read, so
+ * constants such as {@link Matrix4f#IDENTITY} can be passed in directly.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public interface Matrix4fc {
+
+	/**
+	 * Gets the first row, first element.
+	 *
+	 * @return The element.
+	 */
+	float m00();
+
+	/**
+	 * Gets the first row, second element.
+	 *
+	 * @return The element.
+	 */
+	float m01();
+
+	/**
+	 * Gets the first row, third element.
+	 *
+	 * @return The element.
+	 */
+	float m02();
+
+	/**
+	 * Gets the first row, fourth element.
+	 *
+	 * @return The element.
+	 */
+	float m03();
+
+	/**
+	 * Gets the second row, first element.
+	 *
+	 * @return The element.
+	 */
+	float m10();
+
+	/**
+	 * Gets the second row, second element.
+	 *
+	 * @return The element.
+	 */
+	float m11();
+
+	/**
+	 * Gets the second row, third element.
+	 *
+	 * @return The element.
+	 */
+	float m12();
+
+	/**
+	 * Gets the second row, fourth element.
+	 *
+	 * @return The element.
+	 */
+	float m13();
+
+	/**
+	 * Gets the third row, first element.
+	 *
+	 * @return The element.
+	 */
+	float m20();
+
+	/**
+	 * Gets the third row, second element.
+	 *
+	 * @return The element.
+	 */
+	float m21();
+
+	/**
+	 * Gets the third row, third element.
+	 *
+	 * @return The element.
+	 */
+	float m22();
+
+	/**
+	 * Gets the third row, fourth element.
+	 *
+	 * @return The element.
+	 */
+	float m23();
+
+	/**
+	 * Gets the fourth row, first element.
+	 *
+	 * @return The element.
+	 */
+	float m30();
+
+	/**
+	 * Gets the fourth row, second element.
+	 *
+	 * @return The element.
+	 */
+	float m31();
+
+	/**
+	 * Gets the fourth row, third element.
+	 *
+	 * @return The element.
+	 */
+	float m32();
+
+	/**
+	 * Gets the fourth row, fourth element.
+	 *
+	 * @return The element.
+	 */
+	float m33();
+
+	/**
+	 * Gets the translation elements of the matrix (the first three elements in
+	 * the fourth column) and stores them in the <i>cache</i> vector.
+	 *
+	 * @param cache
+	 *            The vector in which to store the translation.
+	 * @return The <i>cache</i> vector, or a new vector if the cache was null.
+	 */
+	Vector3f getTranslation(Vector3f cache);
+
+	/**
+	 * Gets the upper-left 3x3 elements of the matrix (the scale and rotation
+	 * for an affine transformation) and stores them in the <i>cache</i> matrix.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the elements.
+	 * @return The <i>cache</i> matrix, or a new matrix if the cache was null.
+	 */
+	Matrix3f getMatrix3f(Matrix3f cache);
+
+	/**
+	 * Multiplies this matrix by the specified matrix (this * matrix), but
+	 * stores the resulting values in the specified <i>cache</i> matrix.
+	 *
+	 * @param matrix
+	 *            The right-hand matrix.
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return The <i>cache</i> matrix.
+	 */
+	Matrix4f multiply(Matrix4fc matrix, Matrix4f cache);
+
+	/**
+	 * Transposes this matrix, but stores the resulting values in the specified
+	 * <i>cache</i> matrix.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return The <i>cache</i> matrix.
+	 */
+	Matrix4f transpose(Matrix4f cache);
+
+	/**
+	 * Computes the determinant of the matrix.
+	 *
+	 * @return The determinant.
+	 */
+	float determinant();
+
+	/**
+	 * Inverts this matrix, but stores the resulting values in the specified
+	 * <i>cache</i> matrix.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return The <i>cache</i> matrix.
+	 * @throws IllegalStateException
+	 *             If the matrix is singular.
+	 */
+	Matrix4f invert(Matrix4f cache);
+
+	/**
+	 * Inverts this affine matrix, but stores the resulting values in the
+	 * specified <i>cache</i> matrix.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return The <i>cache</i> matrix.
+	 * @throws IllegalStateException
+	 *             If the upper-left 3x3 matrix is singular.
+	 * @see Matrix4f#invertAffine(Matrix4f)
+	 */
+	Matrix4f invertAffine(Matrix4f cache);
+
+	/**
+	 * Inverts this rigid matrix, but stores the resulting values in the
+	 * specified <i>cache</i> matrix.
+	 *
+	 * @param cache
+	 *            The matrix in which to store the computed values.
+	 * @return The <i>cache</i> matrix.
+	 * @see Matrix4f#invertRigid(Matrix4f)
+	 */
+	Matrix4f invertRigid(Matrix4f cache);
+
+	/**
+	 * Transforms a point by this affine matrix.
+	 *
+	 * @see Matrix4f#transformPoint(Vector3fc, Vector3f)
+	 */
+	Vector3f transformPoint(Vector3fc point, Vector3f cache);
+
+	/**
+	 * Transforms a point by this projective matrix, including the division by
+	 * the homogeneous coordinate.
+	 *
+	 * @see Matrix4f#projectPoint(Vector3fc, Vector3f)
+	 */
+	Vector3f projectPoint(Vector3fc point, Vector3f cache);
+
+	/**
+	 * Transforms a direction by this matrix, ignoring the translation.
+	 *
+	 * @see Matrix4f#transformDirection(Vector3fc, Vector3f)
+	 */
+	Vector3f transformDirection(Vector3fc direction, Vector3f cache);
+}
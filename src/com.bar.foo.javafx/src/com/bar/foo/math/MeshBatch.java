@@ -0,0 +1,466 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class merges several triangle meshes into one, baking each member's
+ * transformation into its points, so that many small static objects sharing a
+ * material can be drawn as a single mesh.
+ * <p>
+ * Like {@link TriangleBVH}, this works on the packed arrays of a JavaFX
+ * {@code TriangleMesh} with the default vertex format (a point index and a
+ * texture coordinate index for each vertex). Each member's points, texture
+ * coordinates, faces, and face smoothing groups are stored in one contiguous
+ * range of the merged arrays. Members are merged in parallel on the common
+ * {@link ForkJoinPool} when there are enough points.
+ * </p>
+ * <p>
+ * Once built, a member can be moved or re-shaped (as long as its number of
+ * points does not change) with {@link #update(int, float[], Matrix4fc)},
+ * which only rewrites its ranges. The member arrays are not copied, so they
+ * should not be changed while the batch is used.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class MeshBatch {
+
+	/**
+	 * The number of ints per face.
+	 */
+	private static final int FACE_STRIDE = TriangleBVH.DEFAULT_FACE_STRIDE;
+	/**
+	 * The number of points merged by each parallel task.
+	 */
+	private static final int GRAIN = 8192;
+	/**
+	 * The smoothing group given to the faces of members without smoothing
+	 * groups when other members have them. Members do not share points, so
+	 * this does not smooth them together.
+	 */
+	private static final int DEFAULT_SMOOTHING_GROUP = 1;
+
+	/**
+	 * A mesh in the batch.
+	 */
+	private static final class Member {
+		private float[] points;
+		private final float[] texCoords;
+		private final int[] faces;
+		private final int[] smoothingGroups;
+		private final Matrix4f transform;
+		/**
+		 * The index of the member's first point in the merged points.
+		 */
+		private int pointOffset;
+		/**
+		 * The index of the member's first texture coordinate in the merged
+		 * texture coordinates.
+		 */
+		private int texCoordOffset;
+		/**
+		 * The index of the member's first face in the merged faces.
+		 */
+		private int faceOffset;
+
+		private Member(float[] points, float[] texCoords, int[] faces,
+				int[] smoothingGroups, Matrix4fc transform) {
+			this.points = points;
+			this.texCoords = texCoords;
+			this.faces = faces;
+			this.smoothingGroups = smoothingGroups;
+			this.transform = new Matrix4f(transform);
+		}
+	}
+
+	/**
+	 * The members, in the order of their ranges in the merged arrays.
+	 */
+	private final List<Member> members = new ArrayList<Member>();
+
+	/**
+	 * The merged points.
+	 */
+	private float[] points = new float[0];
+	/**
+	 * The merged texture coordinates.
+	 */
+	private float[] texCoords = new float[0];
+	/**
+	 * The merged faces.
+	 */
+	private int[] faces = new int[0];
+	/**
+	 * The merged face smoothing groups. This is empty if no member has
+	 * smoothing groups.
+	 */
+	private int[] smoothingGroups = new int[0];
+	/**
+	 * Whether the merged arrays include every member.
+	 */
+	private boolean built = true;
+
+	/**
+	 * Adds a mesh to the batch. The batch must be {@link #build(boolean)
+	 * built} again to include it.
+	 *
+	 * @param points
+	 *            The mesh's points (x0, y0, z0, x1, ...), as in
+	 *            {@code TriangleMesh.getPoints()}.
+	 * @param texCoords
+	 *            The mesh's texture coordinates, as in
+	 *            {@code TriangleMesh.getTexCoords()}.
+	 * @param faces
+	 *            The mesh's faces, as in {@code TriangleMesh.getFaces()}.
+	 * @param smoothingGroups
+	 *            The mesh's face smoothing groups, or {@code null} or an empty
+	 *            array if all of its faces are smoothed together.
+	 * @param transform
+	 *            The transformation from the mesh's coordinates to the
+	 *            batch's. This is copied.
+	 * @return The index of the new member.
+	 * @throws IllegalArgumentException
+	 *             If an array other than the smoothing groups or the
+	 *             transformation is {@code null}, or the faces or smoothing
+	 *             groups are malformed.
+	 */
+	public int add(float[] points, float[] texCoords, int[] faces,
+			int[] smoothingGroups, Matrix4fc transform) {
+		if (points == null || texCoords == null || faces == null
+				|| transform == null) {
+			throw new IllegalArgumentException("MeshBatch error: "
+					+ "Null arguments not allowed.");
+		} else if (faces.length % FACE_STRIDE != 0) {
+			throw new IllegalArgumentException("MeshBatch error: "
+					+ "The faces must have a stride of " + FACE_STRIDE + ".");
+		}
+		int pointCount = points.length / 3;
+		int texCoordCount = texCoords.length / 2;
+		for (int i = 0; i < faces.length; i += 2) {
+			if (faces[i] < 0 || faces[i] >= pointCount || faces[i + 1] < 0
+					|| faces[i + 1] >= texCoordCount) {
+				throw new IllegalArgumentException("MeshBatch error: "
+						+ "Face " + (i / FACE_STRIDE) + " has an invalid index.");
+			}
+		}
+		if (smoothingGroups != null && smoothingGroups.length == 0) {
+			smoothingGroups = null;
+		} else if (smoothingGroups != null
+				&& smoothingGroups.length != faces.length / FACE_STRIDE) {
+			throw new IllegalArgumentException("MeshBatch error: "
+					+ "There must be a smoothing group for each face.");
+		}
+
+		members.add(new Member(points, texCoords, faces, smoothingGroups,
+				transform));
+		built = false;
+		return members.size() - 1;
+	}
+
+	/**
+	 * Gets the number of members.
+	 *
+	 * @return The number of meshes in the batch.
+	 */
+	public int size() {
+		return members.size();
+	}
+
+	/**
+	 * Merges the members into new arrays.
+	 *
+	 * @param parallel
+	 *            Whether the members may be merged in parallel.
+	 */
+	public void build(boolean parallel) {
+		// Lay out each member's ranges.
+		int pointCount = 0;
+		int texCoordCount = 0;
+		int faceCount = 0;
+		boolean smoothed = false;
+		for (int i = 0; i < members.size(); i++) {
+			Member member = members.get(i);
+			member.pointOffset = pointCount;
+			member.texCoordOffset = texCoordCount;
+			member.faceOffset = faceCount;
+			pointCount += member.points.length / 3;
+			texCoordCount += member.texCoords.length / 2;
+			faceCount += member.faces.length / FACE_STRIDE;
+			smoothed |= (member.smoothingGroups != null);
+		}
+		points = new float[pointCount * 3];
+		texCoords = new float[texCoordCount * 2];
+		faces = new int[faceCount * FACE_STRIDE];
+		smoothingGroups = new int[smoothed ? faceCount : 0];
+
+		if (parallel && members.size() > 1 && pointCount > GRAIN
+				&& ForkJoinPool.getCommonPoolParallelism() > 1) {
+			ForkJoinPool.commonPool().invoke(new Merge(0, members.size()));
+		} else {
+			for (int i = 0; i < members.size(); i++) {
+				merge(members.get(i));
+			}
+		}
+		built = true;
+		return;
+	}
+
+	/**
+	 * Gets whether the merged arrays include every member.
+	 *
+	 * @return True if the batch is built, false if members were added since.
+	 */
+	public boolean isBuilt() {
+		return built;
+	}
+
+	/**
+	 * Gets the merged points. <b>The returned array should not be
+	 * modified.</b>
+	 *
+	 * @return The merged points.
+	 */
+	public float[] getPoints() {
+		return points;
+	}
+
+	/**
+	 * Gets the merged texture coordinates. <b>The returned array should not be
+	 * modified.</b>
+	 *
+	 * @return The merged texture coordinates.
+	 */
+	public float[] getTexCoords() {
+		return texCoords;
+	}
+
+	/**
+	 * Gets the merged faces. <b>The returned array should not be
+	 * modified.</b>
+	 *
+	 * @return The merged faces.
+	 */
+	public int[] getFaces() {
+		return faces;
+	}
+
+	/**
+	 * Gets the merged face smoothing groups. <b>The returned array should not
+	 * be modified.</b>
+	 *
+	 * @return The merged smoothing groups. This is empty if no member has
+	 *         smoothing groups.
+	 */
+	public int[] getSmoothingGroups() {
+		return smoothingGroups;
+	}
+
+	/**
+	 * Gets the index of a member's first point in the merged points.
+	 *
+	 * @param member
+	 *            The index of the member.
+	 * @return The offset in points (not floats).
+	 * @throws IndexOutOfBoundsException
+	 *             If the index is not a valid member index.
+	 */
+	public int getPointOffset(int member) {
+		return members.get(member).pointOffset;
+	}
+
+	/**
+	 * Gets the index of a member's first face in the merged faces.
+	 *
+	 * @param member
+	 *            The index of the member.
+	 * @return The offset in faces (not ints).
+	 * @throws IndexOutOfBoundsException
+	 *             If the index is not a valid member index.
+	 */
+	public int getFaceOffset(int member) {
+		return members.get(member).faceOffset;
+	}
+
+	/**
+	 * Gets the number of points in a member.
+	 *
+	 * @param member
+	 *            The index of the member.
+	 * @return The member's number of points.
+	 * @throws IndexOutOfBoundsException
+	 *             If the index is not a valid member index.
+	 */
+	public int getPointCount(int member) {
+		return members.get(member).points.length / 3;
+	}
+
+	/**
+	 * Gets the number of faces in a member.
+	 *
+	 * @param member
+	 *            The index of the member.
+	 * @return The member's number of faces.
+	 * @throws IndexOutOfBoundsException
+	 *             If the index is not a valid member index.
+	 */
+	public int getFaceCount(int member) {
+		return members.get(member).faces.length / FACE_STRIDE;
+	}
+
+	/**
+	 * Moves or re-shapes a member of a built batch, rewriting only its points
+	 * and faces in the merged arrays. Its faces are rewritten in case the
+	 * transformation's handedness changed.
+	 *
+	 * @param member
+	 *            The index of the member.
+	 * @param points
+	 *            The member's new points. If {@code null}, its points are not
+	 *            changed.
+	 * @param transform
+	 *            The member's new transformation. This is copied.
+	 * @return True if the member was updated, false if the batch is not built
+	 *         or the number of points changed, in which case the batch must
+	 *         be rebuilt.
+	 * @throws IllegalArgumentException
+	 *             If the transformation is {@code null}.
+	 * @throws IndexOutOfBoundsException
+	 *             If the index is not a valid member index.
+	 */
+	public boolean update(int member, float[] points, Matrix4fc transform) {
+		if (transform == null) {
+			throw new IllegalArgumentException("MeshBatch error: "
+					+ "Null transform not allowed.");
+		}
+		Member m = members.get(member);
+		boolean updated = built
+				&& (points == null || points.length == m.points.length);
+		if (updated) {
+			if (points != null) {
+				m.points = points;
+			}
+			m.transform.set(transform);
+			mergePoints(m);
+			mergeFaces(m);
+		}
+		return updated;
+	}
+
+	/**
+	 * Writes all of a member's ranges in the merged arrays.
+	 *
+	 * @param member
+	 *            The member.
+	 */
+	private void merge(Member member) {
+		mergePoints(member);
+		mergeFaces(member);
+		System.arraycopy(member.texCoords, 0, texCoords,
+				member.texCoordOffset * 2, member.texCoords.length);
+		if (smoothingGroups.length > 0) {
+			int faceCount = member.faces.length / FACE_STRIDE;
+			if (member.smoothingGroups != null) {
+				System.arraycopy(member.smoothingGroups, 0, smoothingGroups,
+						member.faceOffset, faceCount);
+			} else {
+				for (int f = 0; f < faceCount; f++) {
+					smoothingGroups[member.faceOffset + f] = DEFAULT_SMOOTHING_GROUP;
+				}
+			}
+		}
+		return;
+	}
+
+	/**
+	 * Transforms a member's points into the merged points.
+	 *
+	 * @param member
+	 *            The member.
+	 */
+	private void mergePoints(Member member) {
+		final Matrix4f m = member.transform;
+		final float[] source = member.points;
+		final int offset = member.pointOffset * 3;
+		for (int i = 0; i < source.length; i += 3) {
+			float x = source[i];
+			float y = source[i + 1];
+			float z = source[i + 2];
+			points[offset + i] = m.m00 * x + m.m01 * y + m.m02 * z + m.m03;
+			points[offset + i + 1] = m.m10 * x + m.m11 * y + m.m12 * z + m.m13;
+			points[offset + i + 2] = m.m20 * x + m.m21 * y + m.m22 * z + m.m23;
+		}
+		return;
+	}
+
+	/**
+	 * Offsets a member's faces into the merged faces. If its transformation
+	 * mirrors it, the winding of each face is reversed so that its front
+	 * still faces out.
+	 *
+	 * @param member
+	 *            The member.
+	 */
+	private void mergeFaces(Member member) {
+		final Matrix4f m = member.transform;
+		float determinant = m.m00 * (m.m11 * m.m22 - m.m12 * m.m21) - m.m01
+				* (m.m10 * m.m22 - m.m12 * m.m20) + m.m02
+				* (m.m10 * m.m21 - m.m11 * m.m20);
+		final boolean mirrored = (determinant < 0f);
+		final int[] source = member.faces;
+		final int offset = member.faceOffset * FACE_STRIDE;
+		final int pointOffset = member.pointOffset;
+		final int texCoordOffset = member.texCoordOffset;
+		for (int f = 0; f < source.length; f += FACE_STRIDE) {
+			for (int k = 0; k < FACE_STRIDE; k += 2) {
+				// Swap the second and third vertices if mirrored.
+				int target = (mirrored && k > 0 ? 6 - k : k);
+				faces[offset + f + target] = source[f + k] + pointOffset;
+				faces[offset + f + target + 1] = source[f + k + 1]
+						+ texCoordOffset;
+			}
+		}
+		return;
+	}
+
+	/**
+	 * Merges a range of members, splitting the range in half until it has
+	 * few enough points or only one member.
+	 */
+	private final class Merge extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int start;
+		private final int end;
+
+		private Merge(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			int pointCount = (end < members.size() ? members.get(end).pointOffset
+					: points.length / 3) - members.get(start).pointOffset;
+			if (end - start == 1 || pointCount <= GRAIN) {
+				for (int i = start; i < end; i++) {
+					merge(members.get(i));
+				}
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(new Merge(start, middle), new Merge(middle, end));
+			}
+		}
+	}
+}
@@ -0,0 +1,483 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class builds coarser versions of a triangle mesh for levels of detail
+ * by vertex clustering. The mesh's bounds are divided into a grid of cubic
+ * cells, the points in each cell are merged into one point at their average
+ * position, and the faces that collapse (because two of their corners were
+ * merged) are dropped. Larger cells give coarser meshes. A good cell size is
+ * the size of the detail that can no longer be seen at the level's distance.
+ * <p>
+ * Like {@link TriangleBVH}, this works on the packed point and face arrays of
+ * a JavaFX {@code TriangleMesh}. Only the point indices of each face are
+ * changed, so the remaining face data (e.g., texture coordinate indices)
+ * still refers to the source mesh's arrays. Large meshes are clustered in
+ * parallel on the common {@link ForkJoinPool}, and
+ * {@link #decimateAll(float[])} builds several levels at once. A decimator
+ * does not change its arrays, so it may be used by several threads, e.g. to
+ * build the levels in the background.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class MeshDecimator {
+
+	/**
+	 * The number of bits used for each axis of a cell's key.
+	 */
+	private static final int AXIS_BITS = 21;
+	/**
+	 * The largest cell index along each axis.
+	 */
+	private static final int AXIS_MASK = (1 << AXIS_BITS) - 1;
+	/**
+	 * The number of points or faces processed by each parallel task.
+	 */
+	private static final int GRAIN = 8192;
+
+	/**
+	 * A coarser version of the mesh.
+	 */
+	public static final class Level {
+		/**
+		 * The size of the cells used to build this level.
+		 */
+		public final float cellSize;
+		/**
+		 * The merged points (x0, y0, z0, x1, ...).
+		 */
+		public final float[] points;
+		/**
+		 * The faces that did not collapse, with the same stride as the source
+		 * mesh.
+		 */
+		public final int[] faces;
+
+		private Level(float cellSize, float[] points, int[] faces) {
+			this.cellSize = cellSize;
+			this.points = points;
+			this.faces = faces;
+		}
+	}
+
+	/**
+	 * The source mesh's points.
+	 */
+	private final float[] points;
+	/**
+	 * The source mesh's faces.
+	 */
+	private final int[] faces;
+	/**
+	 * The number of ints per face.
+	 */
+	private final int faceStride;
+	/**
+	 * The number of points.
+	 */
+	private final int pointCount;
+	/**
+	 * The number of faces.
+	 */
+	private final int faceCount;
+	/**
+	 * Whether large meshes are clustered in parallel.
+	 */
+	private final boolean parallel;
+	/**
+	 * The minimum corner of the source mesh's bounds, where the grid starts.
+	 */
+	private final Vector3f min = new Vector3f();
+
+	/**
+	 * Creates a decimator for a mesh with the default face format, clustering
+	 * in parallel if the mesh is large.
+	 *
+	 * @param points
+	 *            The mesh's points (x0, y0, z0, x1, ...), as in
+	 *            {@code TriangleMesh.getPoints()}.
+	 * @param faces
+	 *            The mesh's faces, as in {@code TriangleMesh.getFaces()}.
+	 * @throws IllegalArgumentException
+	 *             If an array is null or the faces are malformed.
+	 */
+	public MeshDecimator(float[] points, int[] faces) {
+		this(points, faces, TriangleBVH.DEFAULT_FACE_STRIDE, true);
+	}
+
+	/**
+	 * Creates a decimator for a mesh. The arrays are not copied, so they
+	 * should not be changed while the decimator is used.
+	 *
+	 * @param points
+	 *            The mesh's points (x0, y0, z0, x1, ...), as in
+	 *            {@code TriangleMesh.getPoints()}.
+	 * @param faces
+	 *            The mesh's faces, as in {@code TriangleMesh.getFaces()}.
+	 * @param faceStride
+	 *            The number of ints per face. This is 6 for the
+	 *            {@code POINT_TEXCOORD} vertex format and 9 for
+	 *            {@code POINT_NORMAL_TEXCOORD}. The point index of each vertex
+	 *            must be the first of its <i>faceStride</i>/3 ints.
+	 * @param parallel
+	 *            Whether large meshes may be clustered in parallel.
+	 * @throws IllegalArgumentException
+	 *             If an array is null, the face stride is not a positive
+	 *             multiple of 3, or the faces are malformed.
+	 */
+	public MeshDecimator(float[] points, int[] faces, int faceStride,
+			boolean parallel) {
+		if (points == null || faces == null) {
+			throw new IllegalArgumentException("MeshDecimator error: "
+					+ "Null arrays not allowed.");
+		} else if (faceStride < 3 || faceStride % 3 != 0
+				|| faces.length % faceStride != 0) {
+			throw new IllegalArgumentException("MeshDecimator error: "
+					+ "The faces must have a stride that is a multiple of 3.");
+		}
+		this.points = points;
+		this.faces = faces;
+		this.faceStride = faceStride;
+		this.parallel = parallel;
+		pointCount = points.length / 3;
+		faceCount = faces.length / faceStride;
+
+		// Check the point indices.
+		final int vertexStride = faceStride / 3;
+		for (int i = 0; i < faces.length; i += vertexStride) {
+			if (faces[i] < 0 || faces[i] >= pointCount) {
+				throw new IllegalArgumentException("MeshDecimator error: "
+						+ "Face " + (i / faceStride)
+						+ " has an invalid point index.");
+			}
+		}
+
+		// The grid starts at the minimum corner of the points.
+		if (pointCount > 0) {
+			min.set(points[0], points[1], points[2]);
+			for (int i = 3; i < pointCount * 3; i += 3) {
+				min.x = Math.min(min.x, points[i]);
+				min.y = Math.min(min.y, points[i + 1]);
+				min.z = Math.min(min.z, points[i + 2]);
+			}
+		}
+		return;
+	}
+
+	/**
+	 * Gets the number of points in the source mesh.
+	 *
+	 * @return The number of points.
+	 */
+	public int getPointCount() {
+		return pointCount;
+	}
+
+	/**
+	 * Gets the number of faces in the source mesh.
+	 *
+	 * @return The number of faces.
+	 */
+	public int getFaceCount() {
+		return faceCount;
+	}
+
+	/**
+	 * Builds a coarser version of the mesh.
+	 *
+	 * @param cellSize
+	 *            The size of the grid cells. Points closer together than this
+	 *            are likely to be merged. This must be positive.
+	 * @return A new level.
+	 * @throws IllegalArgumentException
+	 *             If the cell size is not positive.
+	 */
+	public Level decimate(float cellSize) {
+		if (!(cellSize > 0f) || Float.isInfinite(cellSize)) {
+			throw new IllegalArgumentException("MeshDecimator error: "
+					+ "The cell size must be positive.");
+		}
+		return new Clustering(cellSize).run();
+	}
+
+	/**
+	 * Builds several coarser versions of the mesh. The levels are built in
+	 * parallel unless parallelism is disabled.
+	 *
+	 * @param cellSizes
+	 *            The size of the grid cells for each level. Each must be
+	 *            positive.
+	 * @return A new level for each cell size, in the same order.
+	 * @throws IllegalArgumentException
+	 *             If the array is null or a cell size is not positive.
+	 */
+	public Level[] decimateAll(float[] cellSizes) {
+		if (cellSizes == null) {
+			throw new IllegalArgumentException("MeshDecimator error: "
+					+ "Null arrays not allowed.");
+		}
+		final Clustering[] clusterings = new Clustering[cellSizes.length];
+		for (int i = 0; i < cellSizes.length; i++) {
+			if (!(cellSizes[i] > 0f) || Float.isInfinite(cellSizes[i])) {
+				throw new IllegalArgumentException("MeshDecimator error: "
+						+ "The cell size must be positive.");
+			}
+			clusterings[i] = new Clustering(cellSizes[i]);
+		}
+
+		final Level[] levels = new Level[cellSizes.length];
+		if (parallel && levels.length > 1
+				&& ForkJoinPool.getCommonPoolParallelism() > 1) {
+			ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					RecursiveAction[] tasks = new RecursiveAction[levels.length];
+					for (int i = 0; i < tasks.length; i++) {
+						final int level = i;
+						tasks[i] = new RecursiveAction() {
+							private static final long serialVersionUID = 1L;
+
+							@Override
+							protected void compute() {
+								levels[level] = clusterings[level].run();
+							}
+						};
+					}
+					invokeAll(tasks);
+				}
+			});
+		} else {
+			for (int i = 0; i < levels.length; i++) {
+				levels[i] = clusterings[i].run();
+			}
+		}
+		return levels;
+	}
+
+	/**
+	 * Clusters the mesh's points with one cell size. Each step of the
+	 * clustering runs over a range of points or faces, so it can be split
+	 * between {@link Pass}es.
+	 */
+	private final class Clustering {
+		/**
+		 * The step that computes each point's cell key.
+		 */
+		private static final int KEYS = 0;
+		/**
+		 * The step that finds each point's cluster.
+		 */
+		private static final int CLUSTERS = 1;
+		/**
+		 * The step that moves each face to the clusters.
+		 */
+		private static final int FACES = 2;
+
+		private final float cellSize;
+		private final float inverseCellSize;
+		/**
+		 * The cell key of each point.
+		 */
+		private final long[] keys = new long[pointCount];
+		/**
+		 * The sorted, distinct cell keys. The index of a key is the index of
+		 * its cluster.
+		 */
+		private long[] cells;
+		/**
+		 * The number of distinct {@link #cells}.
+		 */
+		private int clusterCount;
+		/**
+		 * The cluster of each point.
+		 */
+		private final int[] clusters = new int[pointCount];
+		/**
+		 * The faces with their point indices replaced by clusters.
+		 */
+		private final int[] clusteredFaces = new int[faces.length];
+		/**
+		 * Whether each clustered face still has three distinct corners.
+		 */
+		private final boolean[] kept = new boolean[faceCount];
+
+		private Clustering(float cellSize) {
+			this.cellSize = cellSize;
+			inverseCellSize = 1f / cellSize;
+		}
+
+		/**
+		 * Clusters the points and builds the level.
+		 *
+		 * @return The new level.
+		 */
+		private Level run() {
+			// Find the distinct cells and number them in order.
+			run(KEYS, pointCount);
+			cells = keys.clone();
+			if (parallel) {
+				Arrays.parallelSort(cells);
+			} else {
+				Arrays.sort(cells);
+			}
+			clusterCount = 0;
+			for (int i = 0; i < cells.length; i++) {
+				if (i == 0 || cells[i] != cells[i - 1]) {
+					cells[clusterCount++] = cells[i];
+				}
+			}
+			run(CLUSTERS, pointCount);
+
+			// Each cluster's point is the average of its points.
+			double[] sums = new double[clusterCount * 3];
+			int[] counts = new int[clusterCount];
+			for (int i = 0; i < pointCount; i++) {
+				int c = clusters[i];
+				sums[c * 3] += points[i * 3];
+				sums[c * 3 + 1] += points[i * 3 + 1];
+				sums[c * 3 + 2] += points[i * 3 + 2];
+				counts[c]++;
+			}
+			float[] newPoints = new float[clusterCount * 3];
+			for (int c = 0; c < clusterCount; c++) {
+				newPoints[c * 3] = (float) (sums[c * 3] / counts[c]);
+				newPoints[c * 3 + 1] = (float) (sums[c * 3 + 1] / counts[c]);
+				newPoints[c * 3 + 2] = (float) (sums[c * 3 + 2] / counts[c]);
+			}
+
+			// Drop the faces that collapsed.
+			run(FACES, faceCount);
+			int keptCount = 0;
+			for (int f = 0; f < faceCount; f++) {
+				if (kept[f]) {
+					keptCount++;
+				}
+			}
+			int[] newFaces = new int[keptCount * faceStride];
+			for (int f = 0, i = 0; f < faceCount; f++) {
+				if (kept[f]) {
+					System.arraycopy(clusteredFaces, f * faceStride, newFaces,
+							i, faceStride);
+					i += faceStride;
+				}
+			}
+			return new Level(cellSize, newPoints, newFaces);
+		}
+
+		/**
+		 * Runs a step over all points or faces, in parallel if there are
+		 * enough of them.
+		 *
+		 * @param step
+		 *            The step.
+		 * @param count
+		 *            The number of points or faces.
+		 */
+		private void run(int step, int count) {
+			if (parallel && count > GRAIN
+					&& ForkJoinPool.getCommonPoolParallelism() > 1) {
+				new Pass(this, step, 0, count).invoke();
+			} else {
+				run(step, 0, count);
+			}
+			return;
+		}
+
+		/**
+		 * Runs a step over a range of points or faces.
+		 *
+		 * @param step
+		 *            The step.
+		 * @param start
+		 *            The first point or face.
+		 * @param end
+		 *            The point or face after the last one.
+		 */
+		private void run(int step, int start, int end) {
+			if (step == KEYS) {
+				for (int i = start; i < end; i++) {
+					keys[i] = getKey(points[i * 3] - min.x, points[i * 3 + 1]
+							- min.y, points[i * 3 + 2] - min.z);
+				}
+			} else if (step == CLUSTERS) {
+				for (int i = start; i < end; i++) {
+					clusters[i] = Arrays.binarySearch(cells, 0, clusterCount,
+							keys[i]);
+				}
+			} else {
+				final int vertexStride = faceStride / 3;
+				for (int f = start; f < end; f++) {
+					int base = f * faceStride;
+					System.arraycopy(faces, base, clusteredFaces, base,
+							faceStride);
+					int a = clusters[faces[base]];
+					int b = clusters[faces[base + vertexStride]];
+					int c = clusters[faces[base + vertexStride * 2]];
+					clusteredFaces[base] = a;
+					clusteredFaces[base + vertexStride] = b;
+					clusteredFaces[base + vertexStride * 2] = c;
+					kept[f] = (a != b && b != c && a != c);
+				}
+			}
+			return;
+		}
+
+		/**
+		 * Gets the key of the cell containing a point.
+		 *
+		 * @return The cell's indices along each axis packed into a long.
+		 */
+		private long getKey(float x, float y, float z) {
+			long i = Math.min((int) (x * inverseCellSize), AXIS_MASK);
+			long j = Math.min((int) (y * inverseCellSize), AXIS_MASK);
+			long k = Math.min((int) (z * inverseCellSize), AXIS_MASK);
+			return (i << (AXIS_BITS * 2)) | (j << AXIS_BITS) | k;
+		}
+	}
+
+	/**
+	 * Runs one step of a {@link Clustering} over a range of points or faces,
+	 * splitting the range in half until it is small enough.
+	 */
+	private static final class Pass extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Clustering clustering;
+		private final int step;
+		private final int start;
+		private final int end;
+
+		private Pass(Clustering clustering, int step, int start, int end) {
+			this.clustering = clustering;
+			this.step = step;
+			this.start = start;
+			this.end = end;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			if (end - start <= GRAIN) {
+				clustering.run(step, start, end);
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(new Pass(clustering, step, start, middle), new Pass(
+						clustering, step, middle, end));
+			}
+		}
+	}
+}
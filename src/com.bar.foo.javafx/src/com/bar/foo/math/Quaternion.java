@@ -7,7 +7,7 @@ package com.bar.foo.math;
  * @author Jordan Deyton
  *
  */
-public class Quaternion {
+public class Quaternion implements Quaternionc {
 
 	/**
 	 * The scalar part of the quaternion.
@@ -26,8 +26,15 @@ public class Quaternion {
 	 */
 	public float z;
 
-	public static final Quaternion ZERO = new Quaternion(0f, 0f, 0f, 0f);
-	public static final Quaternion IDENTITY = new Quaternion(1f, 0f, 0f, 0f);
+	/**
+	 * The zero quaternion. This quaternion cannot be modified.
+	 */
+	public static final Quaternionc ZERO = new Constant(0f, 0f, 0f, 0f);
+	/**
+	 * The identity quaternion (no rotation). This quaternion cannot be
+	 * modified.
+	 */
+	public static final Quaternionc IDENTITY = new Constant(1f, 0f, 0f, 0f);
 
 	public Quaternion() {
 		w = 1f;
@@ -41,18 +48,18 @@ public class Quaternion {
 		this.z = z;
 	}
 
-	public Quaternion(float w, Vector3f vector) {
+	public Quaternion(float w, Vector3fc vector) {
 		this.w = w;
-		x = vector.x;
-		y = vector.y;
-		z = vector.z;
+		x = vector.x();
+		y = vector.y();
+		z = vector.z();
 	}
 
-	public Quaternion(Quaternion quaternion) {
-		w = quaternion.w;
-		x = quaternion.x;
-		y = quaternion.y;
-		z = quaternion.z;
+	public Quaternion(Quaternionc quaternion) {
+		w = quaternion.w();
+		x = quaternion.x();
+		y = quaternion.y();
+		z = quaternion.z();
 	}
 
 	public Quaternion set(float w, float x, float y, float z) {
@@ -63,27 +70,67 @@ public class Quaternion {
 		return this;
 	}
 
-	public Quaternion set(float w, Vector3f vector) {
+	public Quaternion set(float w, Vector3fc vector) {
 		this.w = w;
-		x = vector.x;
-		y = vector.y;
-		z = vector.z;
+		x = vector.x();
+		y = vector.y();
+		z = vector.z();
 		return this;
 	}
 
-	public Quaternion set(Quaternion q) {
-		w = q.w;
-		x = q.x;
-		y = q.y;
-		z = q.z;
+	public Quaternion set(Quaternionc q) {
+		w = q.w();
+		x = q.x();
+		y = q.y();
+		z = q.z();
 		return this;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Quaternionc#w()
+	 */
+	@Override
+	public float w() {
+		return w;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Quaternionc#x()
+	 */
+	@Override
+	public float x() {
+		return x;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Quaternionc#y()
+	 */
+	@Override
+	public float y() {
+		return y;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Quaternionc#z()
+	 */
+	@Override
+	public float z() {
+		return z;
+	}
+
 	public Quaternion add(float w, float x, float y, float z) {
 		return add(w, x, y, z, this);
 	}
 
-	public Quaternion add(float w, Vector3f vector) {
+	public Quaternion add(float w, Vector3fc vector) {
 		return add(w, vector, this);
 	}
 
@@ -100,15 +147,15 @@ public class Quaternion {
 		return cache;
 	}
 
-	public Quaternion add(float w, Vector3f vector, Quaternion cache) {
+	public Quaternion add(float w, Vector3fc vector, Quaternion cache) {
 		if (cache != null) {
 			cache.w = this.w + w;
-			cache.x = x + vector.x;
-			cache.y = y + vector.y;
-			cache.z = z + vector.z;
+			cache.x = x + vector.x();
+			cache.y = y + vector.y();
+			cache.z = z + vector.z();
 		} else {
-			cache = new Quaternion(this.w + w, x + vector.x, vector.y
-					+ vector.y, z + vector.z);
+			cache = new Quaternion(this.w + w, x + vector.x(), y
+					+ vector.y(), z + vector.z());
 		}
 		return cache;
 	}
@@ -134,11 +181,11 @@ public class Quaternion {
 		return multiply(w, x, y, z, this);
 	}
 
-	public Quaternion multiply(float w, Vector3f v) {
+	public Quaternion multiply(float w, Vector3fc v) {
 		return multiply(w, v, this);
 	}
 
-	public Quaternion multiply(Quaternion q) {
+	public Quaternion multiply(Quaternionc q) {
 		return multiply(q, this);
 	}
 
@@ -160,11 +207,11 @@ public class Quaternion {
 		return cache;
 	}
 
-	public Quaternion multiply(float w, Vector3f v, Quaternion cache) {
-		float pqW = this.w * w - x * v.x - y * v.y - z * v.z;
-		float pqX = this.w * v.x + x * w + y * v.z - z * v.y;
-		float pqY = this.w * v.y - x * v.z + y * w + z * v.x;
-		float pqZ = this.w * v.z + x * v.y - y * v.x + z * w;
+	public Quaternion multiply(float w, Vector3fc v, Quaternion cache) {
+		float pqW = this.w * w - x * v.x() - y * v.y() - z * v.z();
+		float pqX = this.w * v.x() + x * w + y * v.z() - z * v.y();
+		float pqY = this.w * v.y() - x * v.z() + y * w + z * v.x();
+		float pqZ = this.w * v.z() + x * v.y() - y * v.x() + z * w;
 
 		if (cache != null) {
 			cache.w = pqW;
@@ -177,11 +224,11 @@ public class Quaternion {
 		return cache;
 	}
 
-	public Quaternion multiply(Quaternion q, Quaternion cache) {
-		float pqW = w * q.w - x * q.x - y * q.y - z * q.z;
-		float pqX = w * q.x + x * q.w + y * q.z - z * q.y;
-		float pqY = w * q.y - x * q.z + y * q.w + z * q.x;
-		float pqZ = w * q.z + x * q.y - y * q.x + z * q.w;
+	public Quaternion multiply(Quaternionc q, Quaternion cache) {
+		float pqW = w * q.w() - x * q.x() - y * q.y() - z * q.z();
+		float pqX = w * q.x() + x * q.w() + y * q.z() - z * q.y();
+		float pqY = w * q.y() - x * q.z() + y * q.w() + z * q.x();
+		float pqZ = w * q.z() + x * q.y() - y * q.x() + z * q.w();
 
 		if (cache != null) {
 			cache.w = pqW;
@@ -230,6 +277,46 @@ public class Quaternion {
 		return cache;
 	}
 
+	/**
+	 * Normalizes the quaternion using {@link FloatMath#invSqrtFast(float)}.
+	 * This is faster than {@link #normalize()}, but the norm of the result may
+	 * be off by up to 1.76e-3 (or 1e-6 if the quaternion was already close to
+	 * unit length, as it is when re-normalizing after a few multiplications).
+	 * 
+	 * @return A reference to this quaternion.
+	 */
+	public Quaternion normalizeFast() {
+		return normalizeFast(this);
+	}
+
+	/**
+	 * Normalizes the quaternion using {@link FloatMath#invSqrtFast(float)} and
+	 * stores the result in the <i>cache</i>. See {@link #normalizeFast()} for
+	 * the error bounds.
+	 * 
+	 * @param cache
+	 *            The quaternion in which to store the computed values. If
+	 *            {@code null}, a new quaternion is created.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public Quaternion normalizeFast(Quaternion cache) {
+		float normSquared = normSquared();
+		float inverseLength = 1f;
+		if (normSquared != 1f && normSquared > 0f) {
+			inverseLength = FloatMath.invSqrtFast(normSquared);
+		}
+		if (cache != null) {
+			cache.w = w * inverseLength;
+			cache.x = x * inverseLength;
+			cache.y = y * inverseLength;
+			cache.z = z * inverseLength;
+		} else {
+			cache = new Quaternion(w * inverseLength, x * inverseLength, y
+					* inverseLength, z * inverseLength);
+		}
+		return cache;
+	}
+
 	public Quaternion conjugate() {
 		return conjugate(this);
 	}
@@ -253,18 +340,17 @@ public class Quaternion {
 	public Quaternion reciprocate(Quaternion cache) {
 		float normSquared = normSquared();
 		if (normSquared > 0f) {
-			float inverseNormSquared = 1f / normSquared();
-			Quaternion conjugate = conjugate(null);
+			// The reciprocal is the conjugate divided by the norm squared.
+			float inverseNormSquared = 1f / normSquared;
 			if (cache != null) {
-				cache.w = conjugate.w * inverseNormSquared;
-				cache.x = conjugate.x * inverseNormSquared;
-				cache.y = conjugate.y * inverseNormSquared;
-				cache.z = conjugate.z * inverseNormSquared;
+				cache.w = w * inverseNormSquared;
+				cache.x = -x * inverseNormSquared;
+				cache.y = -y * inverseNormSquared;
+				cache.z = -z * inverseNormSquared;
 			} else {
-				cache = new Quaternion(conjugate.w * inverseNormSquared,
-						conjugate.x * inverseNormSquared, conjugate.y
-								* inverseNormSquared, conjugate.z
-								* inverseNormSquared);
+				cache = new Quaternion(w * inverseNormSquared, -x
+						* inverseNormSquared, -y * inverseNormSquared, -z
+						* inverseNormSquared);
 			}
 		} else if (cache != null) {
 			cache.w = w;
@@ -277,25 +363,179 @@ public class Quaternion {
 		return cache;
 	}
 
+	/**
+	 * Rotates the specified vector by this quaternion. <b>The result is stored
+	 * in the vector!</b>
+	 * 
+	 * @param vector
+	 *            The vector to rotate.
+	 * @return A reference to the vector.
+	 * @see #rotate(Vector3fc, Vector3f)
+	 */
 	public Vector3f rotate(Vector3f vector) {
 		return rotate(vector, vector);
 	}
 
-	public Vector3f rotate(Vector3f vector, Vector3f cache) {
-		// To rotate a vector v, convert it to quaternion p = (0, x, y, z),
-		// compute p' = qp(q^-1), and extract the x, y, and z from p'.
-		Quaternion p = new Quaternion(0f, vector);
-		Quaternion qReciprocal = reciprocate(null);
-		multiply(p, p).multiply(qReciprocal);
+	/**
+	 * Rotates the specified vector by this quaternion and stores the result in
+	 * the <i>cache</i> vector. It is safe for the cache to be the vector.
+	 * <p>
+	 * This quaternion does not need to be normalized. The rotation of a
+	 * non-unit quaternion is the same as that of its normalized form, so
+	 * non-unit quaternions only cost an extra division. If this quaternion is
+	 * known to be a unit quaternion, {@link #rotateUnit(Vector3fc, Vector3f)}
+	 * skips the norm check entirely.
+	 * </p>
+	 * 
+	 * @param vector
+	 *            The vector to rotate.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Vector3f rotate(Vector3fc vector, Vector3f cache) {
+		// This factor is 2 for normalized quaternions and 2/norm^2 for
+		// non-normalized quaternions. As in fillRotationMatrix(Matrix3f), it is
+		// 0 for the zero quaternion, which leaves the vector unchanged.
+		float normSquared = normSquared();
+		float f = (normSquared == 1f ? 2f : normSquared > 0f ? 2f
+				/ normSquared : 0f);
+		return rotate(vector, cache, f);
+	}
+
+	/**
+	 * Rotates the specified vector by this quaternion, which <b>must</b> be a
+	 * unit quaternion. <b>The result is stored in the vector!</b>
+	 * 
+	 * @param vector
+	 *            The vector to rotate.
+	 * @return A reference to the vector.
+	 * @see #rotateUnit(Vector3fc, Vector3f)
+	 */
+	public Vector3f rotateUnit(Vector3f vector) {
+		return rotate(vector, vector, 2f);
+	}
+
+	/**
+	 * Rotates the specified vector by this quaternion, which <b>must</b> be a
+	 * unit quaternion, and stores the result in the <i>cache</i> vector. It is
+	 * safe for the cache to be the vector. <b><i>Unexpected results may occur
+	 * if the quaternion is not normalized!</i></b>
+	 * 
+	 * @param vector
+	 *            The vector to rotate.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Vector3f rotateUnit(Vector3fc vector, Vector3f cache) {
+		return rotate(vector, cache, 2f);
+	}
+
+	/**
+	 * Rotates the specified vector using the expanded form of <i>qpq</i>
+	 * <sup>-1</sup>. For a quaternion with vector part <i>u</i> and scalar
+	 * part <i>w</i>, the rotated vector is <i>v' = v + f(w(u &times; v) + u
+	 * &times; (u &times; v))</i>, where <i>f</i> is 2 for unit quaternions.
+	 * This avoids the temporary quaternions and the two full Hamilton products.
+	 * 
+	 * @param vector
+	 *            The vector to rotate.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @param f
+	 *            The factor 2/norm^2, or 0 for the zero quaternion.
+	 * @return A reference to the cache.
+	 */
+	private Vector3f rotate(Vector3fc vector, Vector3f cache, float f) {
+		float vx = vector.x();
+		float vy = vector.y();
+		float vz = vector.z();
+
+		// t = u x v
+		float tx = y * vz - z * vy;
+		float ty = z * vx - x * vz;
+		float tz = x * vy - y * vx;
+
+		// v' = v + f * (w * t + u x t)
+		float rx = vx + f * (w * tx + y * tz - z * ty);
+		float ry = vy + f * (w * ty + z * tx - x * tz);
+		float rz = vz + f * (w * tz + x * ty - y * tx);
 
 		if (cache != null) {
-			cache.set(p.x, p.y, p.z);
+			cache.set(rx, ry, rz);
 		} else {
-			cache = new Vector3f(p.x, p.y, p.z);
+			cache = new Vector3f(rx, ry, rz);
 		}
 		return cache;
 	}
 
+	/**
+	 * Rotates many vectors stored in an interleaved float array (x0, y0, z0,
+	 * x1, y1, z1, ...) by this quaternion. The quaternion is converted to a
+	 * rotation matrix once, and the matrix is then applied to each vector, so
+	 * this is much cheaper than calling {@link #rotate(Vector3f)} repeatedly.
+	 * No objects are created.
+	 * <p>
+	 * It is safe for the input and output arrays to be the same array.
+	 * </p>
+	 * 
+	 * @param in
+	 *            The interleaved array of vectors to rotate.
+	 * @param out
+	 *            The interleaved array in which to store the rotated vectors.
+	 * @param offset
+	 *            The index in both arrays of the first vector's x coordinate.
+	 * @param count
+	 *            The number of vectors to rotate.
+	 * @return The output array.
+	 */
+	public float[] rotateAll(float[] in, float[] out, int offset, int count) {
+		int end = offset + count * 3;
+		if (offset < 0 || count < 0 || end > in.length || end > out.length) {
+			throw new IndexOutOfBoundsException("Quaternion error: "
+					+ "The range of vectors exceeds the array bounds.");
+		}
+
+		// Compute the rotation matrix as in fillRotationMatrix(Matrix3f), but
+		// store it in locals rather than a Matrix3f.
+		float normSquared = normSquared();
+		float f = (normSquared == 1f ? 2f : normSquared > 0f ? 2f
+				/ normSquared : 0f);
+		float fx = f * x;
+		float fy = f * y;
+		float fz = f * z;
+		float fwx = fx * w;
+		float fwy = fy * w;
+		float fwz = fz * w;
+		float fxx = fx * x;
+		float fyy = fy * y;
+		float fzz = fz * z;
+		float fxy = fx * y;
+		float fxz = fx * z;
+		float fyz = fy * z;
+
+		final float m00 = 1f - (fyy + fzz);
+		final float m01 = fxy - fwz;
+		final float m02 = fxz + fwy;
+		final float m10 = fxy + fwz;
+		final float m11 = 1f - (fxx + fzz);
+		final float m12 = fyz - fwx;
+		final float m20 = fxz - fwy;
+		final float m21 = fyz + fwx;
+		final float m22 = 1f - (fxx + fyy);
+
+		for (int i = offset; i < end; i += 3) {
+			float vx = in[i];
+			float vy = in[i + 1];
+			float vz = in[i + 2];
+			out[i] = m00 * vx + m01 * vy + m02 * vz;
+			out[i + 1] = m10 * vx + m11 * vy + m12 * vz;
+			out[i + 2] = m20 * vx + m21 * vy + m22 * vz;
+		}
+		return out;
+	}
+
 	// TODO Change this to a static Matrix3f method, e.g.,
 	// Matrix3f.fromQuaternion(Quaternion q, Matrix3f cache)
 	public Matrix3f fillRotationMatrix(Matrix3f matrix) {
@@ -313,7 +553,6 @@ public class Quaternion {
 			if (norm > 0f) {
 				f = 2f / normSquared();
 			} else {
-				w = x = y = z = 0f;
 				f = 0f;
 			}
 		}
@@ -368,7 +607,7 @@ public class Quaternion {
 	 *            The rotation angle.
 	 * @return A new quaternion representing the angle-axis rotation.
 	 */
-	public static Quaternion fromAxisAngle(Vector3f axis, float angle) {
+	public static Quaternion fromAxisAngle(Vector3fc axis, float angle) {
 		return fromAxisAngle(axis, angle, null);
 	}
 
@@ -386,9 +625,27 @@ public class Quaternion {
 	 *            The quaternion in which to store the angle-axis rotation.
 	 * @return The cache quaternion.
 	 */
-	public static Quaternion fromAxisAngle(Vector3f axis, float angle,
+	public static Quaternion fromAxisAngle(Vector3fc axis, float angle,
 			Quaternion cache) {
-		return fromUnitAxisAngle(axis.normalize(null), angle, cache);
+		if (cache == null) {
+			cache = new Quaternion();
+		}
+		// Normalize the axis inline rather than creating a normalized copy.
+		float lengthSquared = axis.lengthSquared();
+		if (angle != 0f && lengthSquared > 0f) {
+			float halfAngle = 0.5f * angle;
+			float scale = FloatMath.sin(halfAngle);
+			if (lengthSquared != 1f) {
+				scale /= FloatMath.sqrt(lengthSquared);
+			}
+			cache.w = FloatMath.cos(halfAngle);
+			cache.x = axis.x() * scale;
+			cache.y = axis.y() * scale;
+			cache.z = axis.z() * scale;
+		} else {
+			cache.set(IDENTITY);
+		}
+		return cache;
 	}
 
 	/**
@@ -404,7 +661,7 @@ public class Quaternion {
 	 *            The rotation angle.
 	 * @return A new quaternion representing the angle-axis rotation.
 	 */
-	public static Quaternion fromUnitAxisAngle(Vector3f axis, float angle) {
+	public static Quaternion fromUnitAxisAngle(Vector3fc axis, float angle) {
 		return fromUnitAxisAngle(axis, angle, null);
 	}
 
@@ -423,27 +680,25 @@ public class Quaternion {
 	 *            The quaternion in which to store the angle-axis rotation.
 	 * @return The cache quaternion.
 	 */
-	public static Quaternion fromUnitAxisAngle(Vector3f axis, float angle,
+	public static Quaternion fromUnitAxisAngle(Vector3fc axis, float angle,
 			Quaternion cache) {
 		if (cache == null) {
 			cache = new Quaternion();
 		}
 		// Make sure this isn't a rotation around the origin. If not, normalize
 		// the vector, then compute the rotation quaternion.
-		if (angle != 0f && (axis.x != 0f || axis.y != 0f || axis.x != 0f)) {
+		if (angle != 0f
+				&& (axis.x() != 0f || axis.y() != 0f || axis.z() != 0f)) {
 			float halfAngle = 0.5f * angle;
 			float sinHalfAngle = FloatMath.sin(halfAngle);
 			cache.w = FloatMath.cos(halfAngle);
-			cache.x = axis.x * sinHalfAngle;
-			cache.y = axis.y * sinHalfAngle;
-			cache.z = axis.z * sinHalfAngle;
+			cache.x = axis.x() * sinHalfAngle;
+			cache.y = axis.y() * sinHalfAngle;
+			cache.z = axis.z() * sinHalfAngle;
 		}
 		// If this is rotation about the origin, load the identity quaternion.
 		else {
-			cache.w = IDENTITY.w;
-			cache.x = IDENTITY.x;
-			cache.y = IDENTITY.y;
-			cache.z = IDENTITY.z;
+			cache.set(IDENTITY);
 		}
 		// TODO Test case where angle is 0.
 		return cache;
@@ -457,11 +712,11 @@ public class Quaternion {
 	 * @param v
 	 * @return
 	 */
-	public static Quaternion fromTwoVectors(Vector3f u, Vector3f v) {
+	public static Quaternion fromTwoVectors(Vector3fc u, Vector3fc v) {
 		return fromTwoVectors(u, v, null);
 	}
 
-	public static Quaternion fromTwoVectors(Vector3f u, Vector3f v,
+	public static Quaternion fromTwoVectors(Vector3fc u, Vector3fc v,
 			Quaternion cache) {
 		if (cache == null) {
 			cache = new Quaternion();
@@ -470,35 +725,11 @@ public class Quaternion {
 		// See the site below for a good discussion on how to simplify the code.
 		// http://lolengine.net/blog/2013/09/18/beautiful-maths-quaternion-from-vectors
 
-		float w;
-		Vector3f orthogonal;
-
 		float uDotV = u.dot(v);
 		// ||u||*||v|| can be combined into a single square root.
 		float magUmagV = FloatMath.sqrt(u.lengthSquared() * v.lengthSquared());
 
-		w = uDotV + magUmagV;
-
-		// If the dot product + magnitude of u * magnitude of v is zero, the
-		// vectors u and v are (nearly) opposite (u.v = |u||v|cos(theta) where
-		// theta is 180 yields u.v = -|u||v|).
-		if (Math.abs(w) > 1e-5f) {
-			// For non-opposite vectors, use the cross product to get an
-			// orthogonal vector.
-			orthogonal = u.cross(v);
-		} else {
-			// For opposite vectors, select an arbitrary orthogonal vector.
-
-			w = 0f; // Why isn't this u.dot(w) + magUmagW?
-			// u.dot(w) is 0, but magUmagW is not...
-			if (Math.abs(u.x) > Math.abs(u.z)) {
-				orthogonal = new Vector3f(-u.y, u.x, 0f);
-			} else {
-				orthogonal = new Vector3f(0f, -u.z, u.y);
-			}
-		}
-
-		return cache.set(w, orthogonal).normalize();
+		return fromTwoVectors(u, v, uDotV + magUmagV, cache);
 
 //		// Fleshing out the above operations lets us avoid normalize calls...
 //		// This results in 3 fewer additions and 2 fewer multiplications
@@ -513,11 +744,11 @@ public class Quaternion {
 		// TODO Test this method.
 	}
 
-	public static Quaternion fromTwoUnitVectors(Vector3f u, Vector3f v) {
+	public static Quaternion fromTwoUnitVectors(Vector3fc u, Vector3fc v) {
 		return fromTwoUnitVectors(u, v, null);
 	}
 
-	public static Quaternion fromTwoUnitVectors(Vector3f u, Vector3f v,
+	public static Quaternion fromTwoUnitVectors(Vector3fc u, Vector3fc v,
 			Quaternion cache) {
 		if (cache == null) {
 			cache = new Quaternion();
@@ -526,44 +757,62 @@ public class Quaternion {
 		// See the site below for a good discussion on how to simplify the code.
 		// http://lolengine.net/blog/2013/09/18/beautiful-maths-quaternion-from-vectors
 
-		float w;
-		Vector3f orthogonal;
-
 		float uDotV = u.dot(v);
 		// ||u||*||v|| can be combined into a single square root.
 		// Since u and v are unit vectors, their magnitudes are 1.
 		float magUmagV = 1f;
 
-		w = uDotV + magUmagV;
+		return fromTwoVectors(u, v, uDotV + magUmagV, cache);
+		// TODO Test this method.
+	}
 
+	/**
+	 * Computes the (normalized) rotation from a vector <i>u</i> to a vector
+	 * <i>v</i> given the scalar part <i>w = u.v + |u||v|</i>. The orthogonal
+	 * vector part is computed in place in the cache so that no temporary
+	 * vectors are created.
+	 * 
+	 * @param u
+	 *            The source vector.
+	 * @param v
+	 *            The destination vector.
+	 * @param w
+	 *            The dot product of u and v plus the product of their
+	 *            magnitudes.
+	 * @param cache
+	 *            The quaternion in which to store the rotation.
+	 * @return The cache quaternion.
+	 */
+	private static Quaternion fromTwoVectors(Vector3fc u, Vector3fc v, float w,
+			Quaternion cache) {
 		// If the dot product + magnitude of u * magnitude of v is zero, the
 		// vectors u and v are (nearly) opposite (u.v = |u||v|cos(theta) where
 		// theta is 180 yields u.v = -|u||v|).
 		if (Math.abs(w) > 1e-5f) {
 			// For non-opposite vectors, use the cross product to get an
 			// orthogonal vector.
-			orthogonal = u.cross(v);
+			cache.set(w, u.y() * v.z() - u.z() * v.y(), u.z() * v.x() - u.x()
+					* v.z(), u.x() * v.y() - u.y() * v.x());
 		} else {
 			// For opposite vectors, select an arbitrary orthogonal vector.
 
 			w = 0f; // Why isn't this u.dot(w) + magUmagW?
 			// u.dot(w) is 0, but magUmagW is not...
-			if (Math.abs(u.x) > Math.abs(u.z)) {
-				orthogonal = new Vector3f(-u.y, u.x, 0f);
+			if (Math.abs(u.x()) > Math.abs(u.z())) {
+				cache.set(w, -u.y(), u.x(), 0f);
 			} else {
-				orthogonal = new Vector3f(0f, -u.z, u.y);
+				cache.set(w, 0f, -u.z(), u.y());
 			}
 		}
 
-		return cache.set(w, orthogonal).normalize();
-		// TODO Test this method.
+		return cache.normalize();
 	}
 
-	public static Quaternion fromRotationMatrix(Matrix3f rotation) {
+	public static Quaternion fromRotationMatrix(Matrix3fc rotation) {
 		return fromRotationMatrix(rotation, null);
 	}
 
-	public static Quaternion fromRotationMatrix(Matrix3f rotation,
+	public static Quaternion fromRotationMatrix(Matrix3fc rotation,
 			Quaternion cache) {
 		if (cache == null) {
 			cache = new Quaternion();
@@ -578,46 +827,50 @@ public class Quaternion {
 		// We have four possible divisors for determining the quaternion from
 		// the rotation matrix. We should use the greatest divisor furthest from
 		// 0! Note that all values are positive.
-		float wD = Math.abs(1f + rotation.m00 + rotation.m11 + rotation.m22);
-		float xD = Math.abs(1f + rotation.m00 - rotation.m11 - rotation.m22);
-		float yD = Math.abs(1f - rotation.m00 + rotation.m11 - rotation.m22);
-		float zD = Math.abs(1f - rotation.m00 - rotation.m11 + rotation.m22);
+		float wD = Math.abs(1f + rotation.m00() + rotation.m11()
+				+ rotation.m22());
+		float xD = Math.abs(1f + rotation.m00() - rotation.m11()
+				- rotation.m22());
+		float yD = Math.abs(1f - rotation.m00() + rotation.m11()
+				- rotation.m22());
+		float zD = Math.abs(1f - rotation.m00() - rotation.m11()
+				+ rotation.m22());
 
 		// See if the w divisor is the greatest.
 		if (wD > xD && wD > yD && wD > zD) {
 			wD = FloatMath.sqrt(wD);
 			cache.w = 0.5f * wD;
 			wD = 0.5f / wD;
-			cache.x = (rotation.m21 - rotation.m12) * wD;
-			cache.y = (rotation.m02 - rotation.m20) * wD;
-			cache.z = (rotation.m10 - rotation.m01) * wD;
+			cache.x = (rotation.m21() - rotation.m12()) * wD;
+			cache.y = (rotation.m02() - rotation.m20()) * wD;
+			cache.z = (rotation.m10() - rotation.m01()) * wD;
 		}
 		// See if the x divisor is the greatest. We have ruled out w.
 		else if (xD > yD && xD > zD) {
 			xD = FloatMath.sqrt(xD);
 			cache.x = 0.5f * xD;
 			xD = 0.5f / xD;
-			cache.w = (rotation.m21 - rotation.m12) * xD;
-			cache.y = (rotation.m01 + rotation.m10) * xD;
-			cache.z = (rotation.m02 + rotation.m20) * xD;
+			cache.w = (rotation.m21() - rotation.m12()) * xD;
+			cache.y = (rotation.m01() + rotation.m10()) * xD;
+			cache.z = (rotation.m02() + rotation.m20()) * xD;
 		}
 		// See if the y divisor is the greatest. We have ruled out w and x.
 		else if (yD > zD) {
 			yD = FloatMath.sqrt(yD);
 			cache.y = 0.5f * yD;
 			yD = 0.5f / yD;
-			cache.w = (rotation.m02 - rotation.m20) * yD;
-			cache.x = (rotation.m01 + rotation.m10) * yD;
-			cache.z = (rotation.m12 + rotation.m21) * yD;
+			cache.w = (rotation.m02() - rotation.m20()) * yD;
+			cache.x = (rotation.m01() + rotation.m10()) * yD;
+			cache.z = (rotation.m12() + rotation.m21()) * yD;
 		}
 		// The z divisor is greatest. We have ruled out w, x, and y.
 		else {
 			zD = FloatMath.sqrt(zD);
 			cache.z = 0.5f * zD;
 			zD = 0.5f / zD;
-			cache.w = (rotation.m10 - rotation.m01) * zD;
-			cache.x = (rotation.m02 + rotation.m20) * zD;
-			cache.y = (rotation.m12 + rotation.m21) * zD;
+			cache.w = (rotation.m10() - rotation.m01()) * zD;
+			cache.x = (rotation.m02() + rotation.m20()) * zD;
+			cache.y = (rotation.m12() + rotation.m21()) * zD;
 		}
 
 		// TODO Test this method!
@@ -625,4 +878,394 @@ public class Quaternion {
 
 		return cache;
 	}
+
+	// ---- Interpolation ---- //
+	/**
+	 * When the cosine of the angle between two quaternions is above this
+	 * threshold, {@link #slerp(Quaternionc, Quaternionc, float, Quaternion)}
+	 * falls back to a normalized linear interpolation. The two are visually
+	 * identical at such small angles, and slerp's sin(&theta;) denominator
+	 * would otherwise lose precision.
+	 */
+	private static final float SLERP_THRESHOLD = 0.9995f;
+
+	/**
+	 * Spherically interpolates between two unit quaternions along the shortest
+	 * path. The rotation changes at a constant angular velocity as <i>t</i>
+	 * goes from 0 to 1. For very small angles, this falls back to
+	 * {@link #nlerp(Quaternionc, Quaternionc, float, Quaternion)}.
+	 * 
+	 * @param from
+	 *            The rotation at <i>t</i> = 0.
+	 * @param to
+	 *            The rotation at <i>t</i> = 1.
+	 * @param t
+	 *            The interpolation parameter, usually between 0 and 1.
+	 * @param cache
+	 *            The quaternion in which to store the result. If
+	 *            {@code null}, a new quaternion is created. This may be
+	 *            either of the other quaternions.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public static Quaternion slerp(Quaternionc from, Quaternionc to, float t,
+			Quaternion cache) {
+		return slerp(from.w(), from.x(), from.y(), from.z(), to.w(), to.x(),
+				to.y(), to.z(), t, cache);
+	}
+
+	/**
+	 * Linearly interpolates between two unit quaternions along the shortest
+	 * path and normalizes the result. This is cheaper than
+	 * {@link #slerp(Quaternionc, Quaternionc, float, Quaternion)} and follows
+	 * the same path, but the angular velocity is not constant. The difference
+	 * is negligible for small angles, such as between closely spaced
+	 * keyframes.
+	 * 
+	 * @param from
+	 *            The rotation at <i>t</i> = 0.
+	 * @param to
+	 *            The rotation at <i>t</i> = 1.
+	 * @param t
+	 *            The interpolation parameter, usually between 0 and 1.
+	 * @param cache
+	 *            The quaternion in which to store the result. If
+	 *            {@code null}, a new quaternion is created. This may be
+	 *            either of the other quaternions.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public static Quaternion nlerp(Quaternionc from, Quaternionc to, float t,
+			Quaternion cache) {
+		float dot = from.w() * to.w() + from.x() * to.x() + from.y() * to.y()
+				+ from.z() * to.z();
+		// Negate the second quaternion if necessary to take the shortest path.
+		float t1 = dot < 0f ? -t : t;
+		return lerp(from.w(), from.x(), from.y(), from.z(), to.w(), to.x(),
+				to.y(), to.z(), 1f - t, t1, cache).normalize();
+	}
+
+	/**
+	 * Interpolates smoothly between two unit quaternions using spherical
+	 * quadrangle interpolation (SQUAD). Unlike
+	 * {@link #slerp(Quaternionc, Quaternionc, float, Quaternion)}, the angular
+	 * velocity is continuous across keys when each key's tangent is computed
+	 * with
+	 * {@link #squadTangent(Quaternionc, Quaternionc, Quaternionc, Quaternion)
+	 * squadTangent}, so a camera following a series of rotations does not jerk as it
+	 * passes each one.
+	 * 
+	 * @param from
+	 *            The rotation at <i>t</i> = 0.
+	 * @param fromTangent
+	 *            The tangent quaternion for <i>from</i>.
+	 * @param toTangent
+	 *            The tangent quaternion for <i>to</i>.
+	 * @param to
+	 *            The rotation at <i>t</i> = 1.
+	 * @param t
+	 *            The interpolation parameter, usually between 0 and 1.
+	 * @param cache
+	 *            The quaternion in which to store the result. If
+	 *            {@code null}, a new quaternion is created. This may be any of
+	 *            the other quaternions.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public static Quaternion squad(Quaternionc from, Quaternionc fromTangent,
+			Quaternionc toTangent, Quaternionc to, float t, Quaternion cache) {
+		return squad(from.w(), from.x(), from.y(), from.z(), fromTangent.w(),
+				fromTangent.x(), fromTangent.y(), fromTangent.z(),
+				toTangent.w(), toTangent.x(), toTangent.y(), toTangent.z(),
+				to.w(), to.x(), to.y(), to.z(), t, cache);
+	}
+
+	/**
+	 * Computes the tangent quaternion for a key in a sequence of unit
+	 * quaternions, for use with
+	 * {@link #squad(Quaternionc, Quaternionc, Quaternionc, Quaternionc, float, Quaternion)
+	 * squad}. For the first or last key, pass the key itself as the missing
+	 * neighbor.
+	 * 
+	 * @param previous
+	 *            The key before the current key.
+	 * @param current
+	 *            The key whose tangent is computed.
+	 * @param next
+	 *            The key after the current key.
+	 * @param cache
+	 *            The quaternion in which to store the tangent. If
+	 *            {@code null}, a new quaternion is created. This may be any of
+	 *            the other quaternions.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public static Quaternion squadTangent(Quaternionc previous,
+			Quaternionc current, Quaternionc next, Quaternion cache) {
+		return squadTangent(previous.w(), previous.x(), previous.y(),
+				previous.z(), current.w(), current.x(), current.y(),
+				current.z(), next.w(), next.x(), next.y(), next.z(), cache);
+	}
+
+	/**
+	 * Computes a SQUAD interpolation between quaternions given by their
+	 * components. This is used by
+	 * {@link #squad(Quaternionc, Quaternionc, Quaternionc, Quaternionc, float, Quaternion)}
+	 * and by {@link QuaternionTrack}.
+	 */
+	static Quaternion squad(float aw, float ax, float ay, float az, float sw,
+			float sx, float sy, float sz, float tw, float tx, float ty,
+			float tz, float bw, float bx, float by, float bz, float t,
+			Quaternion cache) {
+		try (Scratch scratch = Scratch.open()) {
+			Quaternion inner = slerp(sw, sx, sy, sz, tw, tx, ty, tz, t,
+					scratch.quaternion());
+			cache = slerp(aw, ax, ay, az, bw, bx, by, bz, t, cache);
+			return slerp(cache.w, cache.x, cache.y, cache.z, inner.w,
+					inner.x, inner.y, inner.z, 2f * t * (1f - t), cache);
+		}
+	}
+
+	/**
+	 * Computes the SQUAD tangent of the quaternion <i>c</i> given its
+	 * neighbors <i>p</i> and <i>n</i>: c * exp(-(log(c<sup>-1</sup>n) +
+	 * log(c<sup>-1</sup>p)) / 4).
+	 */
+	static Quaternion squadTangent(float pw, float px, float py, float pz,
+			float cw, float cx, float cy, float cz, float nw, float nx,
+			float ny, float nz, Quaternion cache) {
+		// Move the neighbors into the current key's hemisphere.
+		if (pw * cw + px * cx + py * cy + pz * cz < 0f) {
+			pw = -pw;
+			px = -px;
+			py = -py;
+			pz = -pz;
+		}
+		if (nw * cw + nx * cx + ny * cy + nz * cz < 0f) {
+			nw = -nw;
+			nx = -nx;
+			ny = -ny;
+			nz = -nz;
+		}
+
+		// The inverse of the unit quaternion c is its conjugate. Compute the
+		// vector parts of the logs of c^-1 * n and c^-1 * p and sum them.
+		float rw = cw * nw + cx * nx + cy * ny + cz * nz;
+		float rx = cw * nx - cx * nw - cy * nz + cz * ny;
+		float ry = cw * ny + cx * nz - cy * nw - cz * nx;
+		float rz = cw * nz - cx * ny + cy * nx - cz * nw;
+		float scale = logScale(rw, rx, ry, rz);
+		float lx = rx * scale;
+		float ly = ry * scale;
+		float lz = rz * scale;
+
+		rw = cw * pw + cx * px + cy * py + cz * pz;
+		rx = cw * px - cx * pw - cy * pz + cz * py;
+		ry = cw * py + cx * pz - cy * pw - cz * px;
+		rz = cw * pz - cx * py + cy * px - cz * pw;
+		scale = logScale(rw, rx, ry, rz);
+		lx = (lx + rx * scale) * -0.25f;
+		ly = (ly + ry * scale) * -0.25f;
+		lz = (lz + rz * scale) * -0.25f;
+
+		// Exponentiate the (pure) sum and multiply c by it.
+		float angle = FloatMath.sqrt(lx * lx + ly * ly + lz * lz);
+		float ew = FloatMath.cos(angle);
+		scale = angle > 1e-6f ? FloatMath.sin(angle) / angle : 1f;
+		float ex = lx * scale;
+		float ey = ly * scale;
+		float ez = lz * scale;
+
+		float w = cw * ew - cx * ex - cy * ey - cz * ez;
+		float x = cw * ex + cx * ew + cy * ez - cz * ey;
+		float y = cw * ey - cx * ez + cy * ew + cz * ex;
+		float z = cw * ez + cx * ey - cy * ex + cz * ew;
+		if (cache != null) {
+			cache.set(w, x, y, z);
+		} else {
+			cache = new Quaternion(w, x, y, z);
+		}
+		return cache.normalize();
+	}
+
+	/**
+	 * Gets the factor that scales the vector part of a unit quaternion to its
+	 * logarithm, i.e., &theta; / sin(&theta;) where the quaternion is
+	 * (cos(&theta;), sin(&theta;)v).
+	 */
+	private static float logScale(float w, float x, float y, float z) {
+		float sinTheta = FloatMath.sqrt(x * x + y * y + z * z);
+		return sinTheta > 1e-6f ? (float) Math.atan2(sinTheta, w) / sinTheta
+				: 1f;
+	}
+
+	/**
+	 * Spherically interpolates between two quaternions given by their
+	 * components. This is used by
+	 * {@link #slerp(Quaternionc, Quaternionc, float, Quaternion)} and by
+	 * {@link QuaternionTrack}, which stores its keys in arrays.
+	 */
+	static Quaternion slerp(float aw, float ax, float ay, float az, float bw,
+			float bx, float by, float bz, float t, Quaternion cache) {
+		float dot = aw * bw + ax * bx + ay * by + az * bz;
+		// q and -q are the same rotation. Negate the second quaternion if
+		// necessary to take the shortest path.
+		float sign = 1f;
+		if (dot < 0f) {
+			dot = -dot;
+			sign = -1f;
+		}
+
+		if (dot > SLERP_THRESHOLD) {
+			return lerp(aw, ax, ay, az, bw, bx, by, bz, 1f - t, sign * t, cache)
+					.normalize();
+		}
+
+		float theta = (float) Math.acos(dot);
+		float inverseSinTheta = 1f / FloatMath.sqrt(1f - dot * dot);
+		float s0 = FloatMath.sin((1f - t) * theta) * inverseSinTheta;
+		float s1 = sign * FloatMath.sin(t * theta) * inverseSinTheta;
+		return lerp(aw, ax, ay, az, bw, bx, by, bz, s0, s1, cache);
+	}
+
+	/**
+	 * Computes s0 * a + s1 * b and stores the result in the cache.
+	 */
+	private static Quaternion lerp(float aw, float ax, float ay, float az,
+			float bw, float bx, float by, float bz, float s0, float s1,
+			Quaternion cache) {
+		float w = s0 * aw + s1 * bw;
+		float x = s0 * ax + s1 * bx;
+		float y = s0 * ay + s1 * by;
+		float z = s0 * az + s1 * bz;
+		if (cache != null) {
+			cache.set(w, x, y, z);
+		} else {
+			cache = new Quaternion(w, x, y, z);
+		}
+		return cache;
+	}
+	// ----------------------- //
+
+	/**
+	 * A read-only quaternion that cannot be modified. It delegates to a private
+	 * quaternion that is never exposed.
+	 */
+	private static final class Constant implements Quaternionc {
+
+		private final Quaternion quaternion;
+
+		private Constant(float w, float x, float y, float z) {
+			quaternion = new Quaternion(w, x, y, z);
+		}
+
+		@Override
+		public float w() {
+			return quaternion.w;
+		}
+
+		@Override
+		public float x() {
+			return quaternion.x;
+		}
+
+		@Override
+		public float y() {
+			return quaternion.y;
+		}
+
+		@Override
+		public float z() {
+			return quaternion.z;
+		}
+
+		@Override
+		public float norm() {
+			return quaternion.norm();
+		}
+
+		@Override
+		public float normSquared() {
+			return quaternion.normSquared();
+		}
+
+		@Override
+		public Quaternion add(float w, float x, float y, float z,
+				Quaternion cache) {
+			return quaternion.add(w, x, y, z, cache);
+		}
+
+		@Override
+		public Quaternion add(float w, Vector3fc vector, Quaternion cache) {
+			return quaternion.add(w, vector, cache);
+		}
+
+		@Override
+		public Quaternion multiply(float scalar, Quaternion cache) {
+			return quaternion.multiply(scalar, cache);
+		}
+
+		@Override
+		public Quaternion multiply(float w, float x, float y, float z,
+				Quaternion cache) {
+			return quaternion.multiply(w, x, y, z, cache);
+		}
+
+		@Override
+		public Quaternion multiply(float w, Vector3fc v, Quaternion cache) {
+			return quaternion.multiply(w, v, cache);
+		}
+
+		@Override
+		public Quaternion multiply(Quaternionc q, Quaternion cache) {
+			return quaternion.multiply(q, cache);
+		}
+
+		@Override
+		public Quaternion normalize(Quaternion cache) {
+			return quaternion.normalize(cache);
+		}
+
+		@Override
+		public Quaternion normalizeFast(Quaternion cache) {
+			return quaternion.normalizeFast(cache);
+		}
+
+		@Override
+		public Quaternion conjugate(Quaternion cache) {
+			return quaternion.conjugate(cache);
+		}
+
+		@Override
+		public Quaternion reciprocate(Quaternion cache) {
+			return quaternion.reciprocate(cache);
+		}
+
+		@Override
+		public Vector3f rotate(Vector3f vector) {
+			return quaternion.rotate(vector);
+		}
+
+		@Override
+		public Vector3f rotate(Vector3fc vector, Vector3f cache) {
+			return quaternion.rotate(vector, cache);
+		}
+
+		@Override
+		public Vector3f rotateUnit(Vector3f vector) {
+			return quaternion.rotateUnit(vector);
+		}
+
+		@Override
+		public Vector3f rotateUnit(Vector3fc vector, Vector3f cache) {
+			return quaternion.rotateUnit(vector, cache);
+		}
+
+		@Override
+		public float[] rotateAll(float[] in, float[] out, int offset,
+				int count) {
+			return quaternion.rotateAll(in, out, offset, count);
+		}
+
+		@Override
+		public Matrix3f fillRotationMatrix(Matrix3f matrix) {
+			return quaternion.fillRotationMatrix(matrix);
+		}
+	}
 }
@@ -0,0 +1,476 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This class provides a quaternion composed of 4 doubles. It is the
+ * double-precision counterpart of {@link Quaternion} and follows the same
+ * conventions: methods that return a {@code Quaternion4d} return either
+ * {@code this} or the specified <i>cache</i> (or a new quaternion if the cache
+ * is {@code null}).
+ * <p>
+ * Orientations accumulated over many small steps, e.g. the attitude of a
+ * craft integrated every frame, drift noticeably in single precision. Keep
+ * them in a {@code Quaternion4d} and round them with
+ * {@link #toQuaternion(Quaternion)} when handing them to the renderer.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class Quaternion4d {
+
+	/**
+	 * The scalar part of the quaternion.
+	 */
+	public double w;
+	/**
+	 * The x coordinate of the vector part of the quaternion.
+	 */
+	public double x;
+	/**
+	 * The y coordinate of the vector part of the quaternion.
+	 */
+	public double y;
+	/**
+	 * The z coordinate of the vector part of the quaternion.
+	 */
+	public double z;
+
+	/**
+	 * When the cosine of the angle between two quaternions is above this
+	 * threshold, {@link #slerp(Quaternion4d, Quaternion4d, double, Quaternion4d)}
+	 * falls back to a normalized linear interpolation.
+	 */
+	private static final double SLERP_THRESHOLD = 0.9999995;
+
+	/**
+	 * The default constructor. Creates the identity quaternion.
+	 */
+	public Quaternion4d() {
+		w = 1.0;
+		x = y = z = 0.0;
+	}
+
+	/**
+	 * Creates a quaternion with the specified components.
+	 *
+	 * @param w
+	 *            The scalar part.
+	 * @param x
+	 *            The x coordinate of the vector part.
+	 * @param y
+	 *            The y coordinate of the vector part.
+	 * @param z
+	 *            The z coordinate of the vector part.
+	 */
+	public Quaternion4d(double w, double x, double y, double z) {
+		this.w = w;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+	/**
+	 * A copy constructor.
+	 *
+	 * @param quaternion
+	 *            The quaternion to copy.
+	 */
+	public Quaternion4d(Quaternion4d quaternion) {
+		w = quaternion.w;
+		x = quaternion.x;
+		y = quaternion.y;
+		z = quaternion.z;
+	}
+
+	/**
+	 * Creates a quaternion with the same components as the specified float
+	 * quaternion.
+	 *
+	 * @param quaternion
+	 *            The quaternion to copy.
+	 */
+	public Quaternion4d(Quaternionc quaternion) {
+		w = quaternion.w();
+		x = quaternion.x();
+		y = quaternion.y();
+		z = quaternion.z();
+	}
+
+	/**
+	 * Sets the quaternion's components.
+	 *
+	 * @return A reference to this quaternion.
+	 */
+	public Quaternion4d set(double w, double x, double y, double z) {
+		this.w = w;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		return this;
+	}
+
+	/**
+	 * Sets the quaternion's components to those of another quaternion.
+	 *
+	 * @return A reference to this quaternion.
+	 */
+	public Quaternion4d set(Quaternion4d q) {
+		return set(q.w, q.x, q.y, q.z);
+	}
+
+	/**
+	 * Sets the quaternion's components to those of a float quaternion.
+	 *
+	 * @return A reference to this quaternion.
+	 */
+	public Quaternion4d set(Quaternionc q) {
+		return set(q.w(), q.x(), q.y(), q.z());
+	}
+
+	public Quaternion4d multiply(double scalar) {
+		return multiply(scalar, this);
+	}
+
+	public Quaternion4d multiply(double scalar, Quaternion4d cache) {
+		if (cache != null) {
+			cache.set(w * scalar, x * scalar, y * scalar, z * scalar);
+		} else {
+			cache = new Quaternion4d(w * scalar, x * scalar, y * scalar, z
+					* scalar);
+		}
+		return cache;
+	}
+
+	public Quaternion4d multiply(Quaternion4d q) {
+		return multiply(q, this);
+	}
+
+	/**
+	 * Multiplies this quaternion by another (this * q) and stores the result
+	 * in the <i>cache</i>. It is safe for the cache to be either quaternion.
+	 *
+	 * @param q
+	 *            The quaternion on the right of the product.
+	 * @param cache
+	 *            The quaternion in which to store the product. If
+	 *            {@code null}, a new quaternion is created.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public Quaternion4d multiply(Quaternion4d q, Quaternion4d cache) {
+		double pqW = w * q.w - x * q.x - y * q.y - z * q.z;
+		double pqX = w * q.x + x * q.w + y * q.z - z * q.y;
+		double pqY = w * q.y - x * q.z + y * q.w + z * q.x;
+		double pqZ = w * q.z + x * q.y - y * q.x + z * q.w;
+
+		if (cache != null) {
+			cache.set(pqW, pqX, pqY, pqZ);
+		} else {
+			cache = new Quaternion4d(pqW, pqX, pqY, pqZ);
+		}
+		return cache;
+	}
+
+	public double norm() {
+		return Math.sqrt(normSquared());
+	}
+
+	public double normSquared() {
+		return w * w + x * x + y * y + z * z;
+	}
+
+	public Quaternion4d normalize() {
+		return normalize(this);
+	}
+
+	/**
+	 * Normalizes this quaternion and stores the result in the <i>cache</i>. A
+	 * zero quaternion is copied unchanged.
+	 *
+	 * @param cache
+	 *            The quaternion in which to store the computed values. If
+	 *            {@code null}, a new quaternion is created.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public Quaternion4d normalize(Quaternion4d cache) {
+		double normSquared = normSquared();
+		double inverseLength = 1.0;
+		if (normSquared != 1.0 && normSquared > 0.0) {
+			inverseLength = 1.0 / Math.sqrt(normSquared);
+		}
+		return multiply(inverseLength, cache);
+	}
+
+	public Quaternion4d conjugate() {
+		return conjugate(this);
+	}
+
+	public Quaternion4d conjugate(Quaternion4d cache) {
+		if (cache != null) {
+			cache.set(w, -x, -y, -z);
+		} else {
+			cache = new Quaternion4d(w, -x, -y, -z);
+		}
+		return cache;
+	}
+
+	public Quaternion4d reciprocate() {
+		return reciprocate(this);
+	}
+
+	/**
+	 * Computes the reciprocal (inverse) of this quaternion and stores the
+	 * result in the <i>cache</i>. A zero quaternion is copied unchanged.
+	 *
+	 * @param cache
+	 *            The quaternion in which to store the computed values. If
+	 *            {@code null}, a new quaternion is created.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public Quaternion4d reciprocate(Quaternion4d cache) {
+		double normSquared = normSquared();
+		if (normSquared > 0.0) {
+			// The reciprocal is the conjugate divided by the norm squared.
+			double inverseNormSquared = 1.0 / normSquared;
+			if (cache != null) {
+				cache.set(w * inverseNormSquared, -x * inverseNormSquared, -y
+						* inverseNormSquared, -z * inverseNormSquared);
+			} else {
+				cache = new Quaternion4d(w * inverseNormSquared, -x
+						* inverseNormSquared, -y * inverseNormSquared, -z
+						* inverseNormSquared);
+			}
+		} else {
+			cache = multiply(1.0, cache);
+		}
+		return cache;
+	}
+
+	/**
+	 * Rotates the specified vector by this quaternion. <b>The result is stored
+	 * in the vector!</b>
+	 *
+	 * @param vector
+	 *            The vector to rotate.
+	 * @return A reference to the vector.
+	 * @see #rotate(Vector3d, Vector3d)
+	 */
+	public Vector3d rotate(Vector3d vector) {
+		return rotate(vector, vector);
+	}
+
+	/**
+	 * Rotates the specified vector by this quaternion and stores the result in
+	 * the <i>cache</i> vector. It is safe for the cache to be the vector. As
+	 * with {@link Quaternion#rotate(Vector3fc, Vector3f)}, the quaternion does
+	 * not need to be normalized.
+	 *
+	 * @param vector
+	 *            The vector to rotate.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return A reference to the cache.
+	 */
+	public Vector3d rotate(Vector3d vector, Vector3d cache) {
+		// This factor is 2 for normalized quaternions and 2/norm^2 for
+		// non-normalized quaternions. A zero quaternion collapses the vector.
+		double normSquared = normSquared();
+		double f = (normSquared == 1.0 ? 2.0 : normSquared > 0.0 ? 2.0
+				/ normSquared : 0.0);
+		double vectorScale = (normSquared > 0.0 ? 1.0 : 0.0);
+
+		double vx = vector.x;
+		double vy = vector.y;
+		double vz = vector.z;
+
+		// t = u x v
+		double tx = y * vz - z * vy;
+		double ty = z * vx - x * vz;
+		double tz = x * vy - y * vx;
+
+		// v' = v + f * (w * t + u x t)
+		double rx = vx * vectorScale + f * (w * tx + y * tz - z * ty);
+		double ry = vy * vectorScale + f * (w * ty + z * tx - x * tz);
+		double rz = vz * vectorScale + f * (w * tz + x * ty - y * tx);
+
+		if (cache != null) {
+			cache.set(rx, ry, rz);
+		} else {
+			cache = new Vector3d(rx, ry, rz);
+		}
+		return cache;
+	}
+
+	/**
+	 * Fills a rotation matrix with the rotation represented by this
+	 * quaternion.
+	 *
+	 * @param matrix
+	 *            The matrix to fill. If {@code null}, a new matrix is created.
+	 * @return The <i>matrix</i>.
+	 * @see Quaternion#fillRotationMatrix(Matrix3f)
+	 */
+	public Matrix3d fillRotationMatrix(Matrix3d matrix) {
+		if (matrix == null) {
+			matrix = new Matrix3d();
+		}
+
+		double normSquared = normSquared();
+		double f = (normSquared == 1.0 ? 2.0 : normSquared > 0.0 ? 2.0
+				/ normSquared : 0.0);
+
+		double fx = f * x;
+		double fy = f * y;
+		double fz = f * z;
+		double fwx = fx * w;
+		double fwy = fy * w;
+		double fwz = fz * w;
+		double fxx = fx * x;
+		double fyy = fy * y;
+		double fzz = fz * z;
+		double fxy = fx * y;
+		double fxz = fx * z;
+		double fyz = fy * z;
+
+		return matrix.set(1.0 - (fyy + fzz), fxy - fwz, fxz + fwy, fxy + fwz,
+				1.0 - (fxx + fzz), fyz - fwx, fxz - fwy, fyz + fwx,
+				1.0 - (fxx + fyy));
+	}
+
+	// ---- Single-precision Conversion ---- //
+	/**
+	 * Rounds this quaternion to single precision and stores the result in the
+	 * <i>cache</i>.
+	 *
+	 * @param cache
+	 *            The quaternion in which to store the rounded values. If
+	 *            {@code null}, a new quaternion is created.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public Quaternion toQuaternion(Quaternion cache) {
+		if (cache != null) {
+			cache.set((float) w, (float) x, (float) y, (float) z);
+		} else {
+			cache = new Quaternion((float) w, (float) x, (float) y, (float) z);
+		}
+		return cache;
+	}
+	// ------------------------------------- //
+
+	// ---- Static Helpers for Creating Quaternions ---- //
+	/**
+	 * Computes a quaternion representing a rotation by an angle around a fixed
+	 * (Euler) axis. The result is stored in the cache.
+	 *
+	 * @param axis
+	 *            The vector representing an Euler axis. If this is the zero
+	 *            vector, the returned quaternion is the identity.
+	 * @param angle
+	 *            The rotation angle in radians.
+	 * @param cache
+	 *            The quaternion in which to store the rotation. If
+	 *            {@code null}, a new quaternion is created.
+	 * @return The cache quaternion.
+	 */
+	public static Quaternion4d fromAxisAngle(Vector3d axis, double angle,
+			Quaternion4d cache) {
+		if (cache == null) {
+			cache = new Quaternion4d();
+		}
+		double lengthSquared = axis.lengthSquared();
+		if (angle != 0.0 && lengthSquared > 0.0) {
+			double halfAngle = 0.5 * angle;
+			double scale = Math.sin(halfAngle) / Math.sqrt(lengthSquared);
+			cache.set(Math.cos(halfAngle), axis.x * scale, axis.y * scale,
+					axis.z * scale);
+		} else {
+			cache.set(1.0, 0.0, 0.0, 0.0);
+		}
+		return cache;
+	}
+	// ------------------------------------------------- //
+
+	// ---- Interpolation ---- //
+	/**
+	 * Spherically interpolates between two unit quaternions along the shortest
+	 * path. See
+	 * {@link Quaternion#slerp(Quaternionc, Quaternionc, float, Quaternion)}.
+	 *
+	 * @param from
+	 *            The rotation at <i>t</i> = 0.
+	 * @param to
+	 *            The rotation at <i>t</i> = 1.
+	 * @param t
+	 *            The interpolation parameter, usually between 0 and 1.
+	 * @param cache
+	 *            The quaternion in which to store the result. If
+	 *            {@code null}, a new quaternion is created. This may be
+	 *            either of the other quaternions.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public static Quaternion4d slerp(Quaternion4d from, Quaternion4d to,
+			double t, Quaternion4d cache) {
+		double dot = from.w * to.w + from.x * to.x + from.y * to.y + from.z
+				* to.z;
+		// Negate the second quaternion if necessary to take the shortest path.
+		double sign = 1.0;
+		if (dot < 0.0) {
+			dot = -dot;
+			sign = -1.0;
+		}
+
+		if (dot > SLERP_THRESHOLD) {
+			return lerp(from, to, 1.0 - t, sign * t, cache).normalize();
+		}
+
+		double theta = Math.acos(dot);
+		double inverseSinTheta = 1.0 / Math.sqrt(1.0 - dot * dot);
+		double s0 = Math.sin((1.0 - t) * theta) * inverseSinTheta;
+		double s1 = sign * Math.sin(t * theta) * inverseSinTheta;
+		return lerp(from, to, s0, s1, cache);
+	}
+
+	/**
+	 * Linearly interpolates between two unit quaternions along the shortest
+	 * path and normalizes the result. See
+	 * {@link Quaternion#nlerp(Quaternionc, Quaternionc, float, Quaternion)}.
+	 *
+	 * @param from
+	 *            The rotation at <i>t</i> = 0.
+	 * @param to
+	 *            The rotation at <i>t</i> = 1.
+	 * @param t
+	 *            The interpolation parameter, usually between 0 and 1.
+	 * @param cache
+	 *            The quaternion in which to store the result. If
+	 *            {@code null}, a new quaternion is created. This may be
+	 *            either of the other quaternions.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public static Quaternion4d nlerp(Quaternion4d from, Quaternion4d to,
+			double t, Quaternion4d cache) {
+		double dot = from.w * to.w + from.x * to.x + from.y * to.y + from.z
+				* to.z;
+		return lerp(from, to, 1.0 - t, dot < 0.0 ? -t : t, cache).normalize();
+	}
+
+	/**
+	 * Computes s0 * a + s1 * b and stores the result in the cache.
+	 */
+	private static Quaternion4d lerp(Quaternion4d a, Quaternion4d b,
+			double s0, double s1, Quaternion4d cache) {
+		double w = s0 * a.w + s1 * b.w;
+		double x = s0 * a.x + s1 * b.x;
+		double y = s0 * a.y + s1 * b.y;
+		double z = s0 * a.z + s1 * b.z;
+		if (cache != null) {
+			cache.set(w, x, y, z);
+		} else {
+			cache = new Quaternion4d(w, x, y, z);
+		}
+		return cache;
+	}
+	// ----------------------- //
+}
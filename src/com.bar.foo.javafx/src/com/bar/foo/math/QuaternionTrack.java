@@ -0,0 +1,391 @@
+/**
+ * 
+ */
+package com.bar.foo.math;
+
+/**
+ * This class stores an animation track of rotation keyframes. The key times
+ * and quaternion components are stored in primitive arrays, so a track with
+ * many keys is only a handful of objects.
+ * <p>
+ * A track is immutable and may be shared by any number of animated objects.
+ * Each object that plays the track should get its own {@link Sampler}, which
+ * remembers the segment it last sampled. Playing forward in time then only
+ * ever checks the current and next segments, which is O(1). Jumping to an
+ * arbitrary time (e.g., when an animation loops) falls back to a binary
+ * search.
+ * </p>
+ * <p>
+ * Samples between keys are interpolated with
+ * {@link Quaternion#slerp(Quaternionc, Quaternionc, float, Quaternion)} or,
+ * for smoother motion through the keys (e.g., for camera paths), with
+ * {@link Quaternion#squad(Quaternionc, Quaternionc, Quaternionc, Quaternionc, float, Quaternion)
+ * squad}. Samples before the first key or after the last key are clamped to
+ * those keys.
+ * </p>
+ * 
+ * @author Jordan Deyton
+ *
+ */
+public class QuaternionTrack {
+
+	/**
+	 * The key times, in strictly increasing order.
+	 */
+	private final float[] times;
+	/**
+	 * The scalar parts of the key rotations.
+	 */
+	private final float[] w;
+	/**
+	 * The x coordinates of the key rotations.
+	 */
+	private final float[] x;
+	/**
+	 * The y coordinates of the key rotations.
+	 */
+	private final float[] y;
+	/**
+	 * The z coordinates of the key rotations.
+	 */
+	private final float[] z;
+	/**
+	 * The SQUAD tangents of the keys, stored like the key rotations.
+	 */
+	private final float[] tangents;
+
+	/**
+	 * Creates a track from an array of times and an array of rotations. Both
+	 * arrays are copied.
+	 * 
+	 * @param times
+	 *            The key times, in strictly increasing order.
+	 * @param rotations
+	 *            The key rotations. These are normalized when copied.
+	 * @throws IllegalArgumentException
+	 *             If either array is {@code null} or empty, if their lengths
+	 *             differ, if a rotation is {@code null}, or if the times are
+	 *             not strictly increasing.
+	 */
+	public QuaternionTrack(float[] times, Quaternion[] rotations) {
+		this(times);
+		if (rotations == null || rotations.length != times.length) {
+			throw new IllegalArgumentException("QuaternionTrack error: "
+					+ "There must be one rotation for each time.");
+		}
+		for (int i = 0; i < rotations.length; i++) {
+			Quaternion q = rotations[i];
+			if (q == null) {
+				throw new IllegalArgumentException("QuaternionTrack error: "
+						+ "Null rotations not allowed.");
+			}
+			setKey(i, q.w, q.x, q.y, q.z);
+		}
+		setTangents();
+		return;
+	}
+
+	/**
+	 * Creates a track from an array of times and an interleaved array of
+	 * rotations (w0, x0, y0, z0, w1, x1, ...). Both arrays are copied. This is
+	 * convenient when loading animations, as no quaternions need to be
+	 * created.
+	 * 
+	 * @param times
+	 *            The key times, in strictly increasing order.
+	 * @param rotations
+	 *            The interleaved key rotations. These are normalized when
+	 *            copied.
+	 * @throws IllegalArgumentException
+	 *             If either array is {@code null} or empty, if there are not
+	 *             four components for each time, or if the times are not
+	 *             strictly increasing.
+	 */
+	public QuaternionTrack(float[] times, float[] rotations) {
+		this(times);
+		if (rotations == null || rotations.length != times.length * 4) {
+			throw new IllegalArgumentException("QuaternionTrack error: "
+					+ "There must be four rotation components for each time.");
+		}
+		for (int i = 0, j = 0; i < times.length; i++, j += 4) {
+			setKey(i, rotations[j], rotations[j + 1], rotations[j + 2],
+					rotations[j + 3]);
+		}
+		setTangents();
+		return;
+	}
+
+	/**
+	 * Copies and validates the times and creates the rotation arrays.
+	 */
+	private QuaternionTrack(float[] times) {
+		if (times == null || times.length == 0) {
+			throw new IllegalArgumentException("QuaternionTrack error: "
+					+ "A track must have at least one key.");
+		}
+		for (int i = 1; i < times.length; i++) {
+			if (!(times[i] > times[i - 1])) {
+				throw new IllegalArgumentException("QuaternionTrack error: "
+						+ "Key times must be strictly increasing.");
+			}
+		}
+		this.times = times.clone();
+		w = new float[times.length];
+		x = new float[times.length];
+		y = new float[times.length];
+		z = new float[times.length];
+		tangents = new float[times.length * 4];
+		return;
+	}
+
+	/**
+	 * Stores a normalized key rotation. Each key is flipped if necessary to be
+	 * in the same hemisphere as the previous key, which ensures each segment
+	 * takes the shortest path without checking while sampling.
+	 */
+	private void setKey(int i, float qw, float qx, float qy, float qz) {
+		float normSquared = qw * qw + qx * qx + qy * qy + qz * qz;
+		if (normSquared == 0f) {
+			throw new IllegalArgumentException("QuaternionTrack error: "
+					+ "Zero rotations not allowed.");
+		}
+		float scale = 1f / FloatMath.sqrt(normSquared);
+		if (i > 0
+				&& qw * w[i - 1] + qx * x[i - 1] + qy * y[i - 1] + qz
+						* z[i - 1] < 0f) {
+			scale = -scale;
+		}
+		w[i] = qw * scale;
+		x[i] = qx * scale;
+		y[i] = qy * scale;
+		z[i] = qz * scale;
+	}
+
+	/**
+	 * Computes the SQUAD tangent of each key. The first and last keys are
+	 * treated as their own missing neighbors.
+	 */
+	private void setTangents() {
+		final int last = times.length - 1;
+		Quaternion tangent = new Quaternion();
+		for (int i = 0; i <= last; i++) {
+			int p = i > 0 ? i - 1 : 0;
+			int n = i < last ? i + 1 : last;
+			Quaternion.squadTangent(w[p], x[p], y[p], z[p], w[i], x[i], y[i],
+					z[i], w[n], x[n], y[n], z[n], tangent);
+			tangents[i * 4] = tangent.w;
+			tangents[i * 4 + 1] = tangent.x;
+			tangents[i * 4 + 2] = tangent.y;
+			tangents[i * 4 + 3] = tangent.z;
+		}
+	}
+
+	/**
+	 * Gets the number of keys in the track.
+	 * 
+	 * @return The number of keys, at least 1.
+	 */
+	public int size() {
+		return times.length;
+	}
+
+	/**
+	 * Gets the time of the first key.
+	 * 
+	 * @return The start time.
+	 */
+	public float getStartTime() {
+		return times[0];
+	}
+
+	/**
+	 * Gets the time of the last key.
+	 * 
+	 * @return The end time.
+	 */
+	public float getEndTime() {
+		return times[times.length - 1];
+	}
+
+	/**
+	 * Gets the time of a key.
+	 * 
+	 * @param index
+	 *            The index of the key.
+	 * @return The key's time.
+	 */
+	public float getTime(int index) {
+		return times[index];
+	}
+
+	/**
+	 * Gets the rotation of a key. This is normalized and may be negated
+	 * relative to the rotation passed to the constructor, which is the same
+	 * rotation.
+	 * 
+	 * @param index
+	 *            The index of the key.
+	 * @param cache
+	 *            The quaternion in which to store the rotation. If
+	 *            {@code null}, a new quaternion is created.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	public Quaternion getRotation(int index, Quaternion cache) {
+		if (cache != null) {
+			cache.set(w[index], x[index], y[index], z[index]);
+		} else {
+			cache = new Quaternion(w[index], x[index], y[index], z[index]);
+		}
+		return cache;
+	}
+
+	/**
+	 * Creates a new sampler for this track. Each object playing the track
+	 * should have its own sampler.
+	 * 
+	 * @return A new sampler, positioned at the start of the track.
+	 */
+	public Sampler sampler() {
+		return new Sampler();
+	}
+
+	/**
+	 * Finds the index of the segment that contains the specified time, i.e.,
+	 * the largest index <i>i</i> such that {@code times[i] <= time}. The time
+	 * must be strictly between the first and last key times.
+	 */
+	private int search(float time) {
+		int low = 0;
+		int high = times.length - 2;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (times[middle] <= time) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Samples a {@link QuaternionTrack}, remembering the last segment sampled.
+	 * A sampler is not thread-safe.
+	 * 
+	 * @author Jordan Deyton
+	 *
+	 */
+	public final class Sampler {
+
+		/**
+		 * The index of the key at the start of the last segment sampled.
+		 */
+		private int segment = 0;
+		/**
+		 * The interpolation parameter within the segment found by the last
+		 * call to {@link #find(float)}.
+		 */
+		private float t;
+
+		/**
+		 * Samples the track's rotation at the specified time using
+		 * {@link Quaternion#slerp(Quaternionc, Quaternionc, float, Quaternion)
+		 * slerp}. If the time is within or just after the last segment
+		 * sampled, this takes constant time. Otherwise, the segment is found
+		 * with a binary search.
+		 * 
+		 * @param time
+		 *            The time at which to sample.
+		 * @param cache
+		 *            The quaternion in which to store the rotation. If
+		 *            {@code null}, a new quaternion is created.
+		 * @return The <i>cache</i> quaternion.
+		 */
+		public Quaternion sample(float time, Quaternion cache) {
+			int i = find(time);
+			if (i < 0) {
+				return getRotation(-1 - i, cache);
+			}
+			int j = i + 1;
+			return Quaternion.slerp(w[i], x[i], y[i], z[i], w[j], x[j], y[j],
+					z[j], t, cache);
+		}
+
+		/**
+		 * Samples the track's rotation at the specified time using
+		 * {@link Quaternion#squad(Quaternionc, Quaternionc, Quaternionc, Quaternionc, float, Quaternion)
+		 * squad}. This passes through the same keys as
+		 * {@link #sample(float, Quaternion)}, but the angular velocity does
+		 * not jump at each key. It costs roughly three slerps.
+		 * 
+		 * @param time
+		 *            The time at which to sample.
+		 * @param cache
+		 *            The quaternion in which to store the rotation. If
+		 *            {@code null}, a new quaternion is created.
+		 * @return The <i>cache</i> quaternion.
+		 */
+		public Quaternion sampleSmooth(float time, Quaternion cache) {
+			int i = find(time);
+			if (i < 0) {
+				return getRotation(-1 - i, cache);
+			}
+			int j = i + 1;
+			final float[] tangents = QuaternionTrack.this.tangents;
+			int a = i * 4;
+			int b = j * 4;
+			return Quaternion.squad(w[i], x[i], y[i], z[i], tangents[a],
+					tangents[a + 1], tangents[a + 2], tangents[a + 3],
+					tangents[b], tangents[b + 1], tangents[b + 2],
+					tangents[b + 3], w[j], x[j], y[j], z[j], t, cache);
+		}
+
+		/**
+		 * Finds the segment containing the specified time and updates
+		 * {@link #segment} and {@link #t}.
+		 * 
+		 * @param time
+		 *            The time at which to sample.
+		 * @return The index of the key at the start of the segment, or, if
+		 *         the time is clamped to a key, -1 minus that key's index.
+		 */
+		private int find(float time) {
+			final float[] times = QuaternionTrack.this.times;
+			final int last = times.length - 1;
+
+			// Clamp to the first or last key.
+			if (time <= times[0]) {
+				segment = 0;
+				return -1;
+			} else if (time >= times[last]) {
+				segment = last > 0 ? last - 1 : 0;
+				return -1 - last;
+			}
+
+			// The time is now strictly inside the track, so there are at least
+			// two keys. Check the last segment, then the next one, and only
+			// then search.
+			int i = segment;
+			if (time < times[i] || time >= times[i + 1]) {
+				if (time >= times[i] && time < times[i + 2]) {
+					i++;
+				} else {
+					i = search(time);
+				}
+				segment = i;
+			}
+
+			t = (time - times[i]) / (times[i + 1] - times[i]);
+			return i;
+		}
+
+		/**
+		 * Gets the track sampled by this sampler.
+		 * 
+		 * @return The track.
+		 */
+		public QuaternionTrack getTrack() {
+			return QuaternionTrack.this;
+		}
+	}
+}
@@ -0,0 +1,267 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This interface provides a read-only view of a {@link Quaternion}. It
+ * includes the accessors for the quaternion's components and every operation
+ * that does not modify the quaternion. Operations that produce a quaternion,
+ * vector, or matrix store the result in a <i>cache</i> object (or a new object
+ * if the cache is {@code null}).
+ * <p>
+ * Methods in the math library accept this type for quaternions they only read,
+ * so constants such as {@link Quaternion#IDENTITY} can be passed in directly.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public interface Quaternionc {
+
+	/**
+	 * Gets the scalar part of the quaternion.
+	 *
+	 * @return The scalar part.
+	 */
+	float w();
+
+	/**
+	 * Gets the x coordinate of the vector part of the quaternion.
+	 *
+	 * @return The x coordinate.
+	 */
+	float x();
+
+	/**
+	 * Gets the y coordinate of the vector part of the quaternion.
+	 *
+	 * @return The y coordinate.
+	 */
+	float y();
+
+	/**
+	 * Gets the z coordinate of the vector part of the quaternion.
+	 *
+	 * @return The z coordinate.
+	 */
+	float z();
+
+	/**
+	 * Computes the norm (magnitude) of the quaternion.
+	 *
+	 * @return The norm of the quaternion.
+	 */
+	float norm();
+
+	/**
+	 * Computes the norm (squared) of the quaternion.
+	 *
+	 * @return The norm (squared) of the quaternion.
+	 */
+	float normSquared();
+
+	/**
+	 * Adds the specified components to this quaternion, but stores the
+	 * resulting values in the specified <i>cache</i> quaternion.
+	 *
+	 * @param w
+	 *            The value added to the scalar part.
+	 * @param x
+	 *            The value added to the x coordinate.
+	 * @param y
+	 *            The value added to the y coordinate.
+	 * @param z
+	 *            The value added to the z coordinate.
+	 * @param cache
+	 *            The quaternion in which to store the computed values.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	Quaternion add(float w, float x, float y, float z, Quaternion cache);
+
+	/**
+	 * Adds the specified scalar and vector parts to this quaternion, but
+	 * stores the resulting values in the specified <i>cache</i> quaternion.
+	 *
+	 * @param w
+	 *            The value added to the scalar part.
+	 * @param vector
+	 *            The vector added to the vector part.
+	 * @param cache
+	 *            The quaternion in which to store the computed values.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	Quaternion add(float w, Vector3fc vector, Quaternion cache);
+
+	/**
+	 * Scales this quaternion, but stores the resulting values in the specified
+	 * <i>cache</i> quaternion.
+	 *
+	 * @param scalar
+	 *            The value by which each component is multiplied.
+	 * @param cache
+	 *            The quaternion in which to store the computed values.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	Quaternion multiply(float scalar, Quaternion cache);
+
+	/**
+	 * Computes the product of this quaternion and the specified quaternion,
+	 * but stores the resulting values in the specified <i>cache</i>
+	 * quaternion.
+	 *
+	 * @param w
+	 *            The scalar part of the right-hand quaternion.
+	 * @param x
+	 *            The x coordinate of the right-hand quaternion.
+	 * @param y
+	 *            The y coordinate of the right-hand quaternion.
+	 * @param z
+	 *            The z coordinate of the right-hand quaternion.
+	 * @param cache
+	 *            The quaternion in which to store the computed values.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	Quaternion multiply(float w, float x, float y, float z, Quaternion cache);
+
+	/**
+	 * Computes the product of this quaternion and the specified quaternion,
+	 * but stores the resulting values in the specified <i>cache</i>
+	 * quaternion.
+	 *
+	 * @param w
+	 *            The scalar part of the right-hand quaternion.
+	 * @param v
+	 *            The vector part of the right-hand quaternion.
+	 * @param cache
+	 *            The quaternion in which to store the computed values.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	Quaternion multiply(float w, Vector3fc v, Quaternion cache);
+
+	/**
+	 * Computes the product of this quaternion and the specified quaternion,
+	 * but stores the resulting values in the specified <i>cache</i>
+	 * quaternion.
+	 *
+	 * @param q
+	 *            The right-hand quaternion.
+	 * @param cache
+	 *            The quaternion in which to store the computed values.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	Quaternion multiply(Quaternionc q, Quaternion cache);
+
+	/**
+	 * Normalizes this quaternion, but stores the resulting values in the
+	 * specified <i>cache</i> quaternion.
+	 *
+	 * @param cache
+	 *            The quaternion in which to store the computed values.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	Quaternion normalize(Quaternion cache);
+
+	/**
+	 * Normalizes this quaternion with a fast approximation, but stores the
+	 * resulting values in the specified <i>cache</i> quaternion.
+	 *
+	 * @param cache
+	 *            The quaternion in which to store the computed values.
+	 * @return The <i>cache</i> quaternion.
+	 * @see Quaternion#normalizeFast()
+	 */
+	Quaternion normalizeFast(Quaternion cache);
+
+	/**
+	 * Computes the conjugate of this quaternion, but stores the resulting
+	 * values in the specified <i>cache</i> quaternion.
+	 *
+	 * @param cache
+	 *            The quaternion in which to store the computed values.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	Quaternion conjugate(Quaternion cache);
+
+	/**
+	 * Computes the reciprocal (inverse) of this quaternion, but stores the
+	 * resulting values in the specified <i>cache</i> quaternion.
+	 *
+	 * @param cache
+	 *            The quaternion in which to store the computed values.
+	 * @return The <i>cache</i> quaternion.
+	 */
+	Quaternion reciprocate(Quaternion cache);
+
+	/**
+	 * Rotates the specified vector in place.
+	 *
+	 * @param vector
+	 *            The vector to rotate.
+	 * @return The rotated vector.
+	 * @see Quaternion#rotate(Vector3f)
+	 */
+	Vector3f rotate(Vector3f vector);
+
+	/**
+	 * Rotates the specified vector, but stores the result in the specified
+	 * <i>cache</i> vector.
+	 *
+	 * @param vector
+	 *            The vector to rotate.
+	 * @param cache
+	 *            The vector in which to store the rotated vector.
+	 * @return The <i>cache</i> vector.
+	 * @see Quaternion#rotate(Vector3fc, Vector3f)
+	 */
+	Vector3f rotate(Vector3fc vector, Vector3f cache);
+
+	/**
+	 * Rotates the specified vector in place, assuming this is a unit
+	 * quaternion.
+	 *
+	 * @param vector
+	 *            The vector to rotate.
+	 * @return The rotated vector.
+	 * @see Quaternion#rotateUnit(Vector3f)
+	 */
+	Vector3f rotateUnit(Vector3f vector);
+
+	/**
+	 * Rotates the specified vector, assuming this is a unit quaternion, but
+	 * stores the result in the specified <i>cache</i> vector.
+	 *
+	 * @param vector
+	 *            The vector to rotate.
+	 * @param cache
+	 *            The vector in which to store the rotated vector.
+	 * @return The <i>cache</i> vector.
+	 * @see Quaternion#rotateUnit(Vector3fc, Vector3f)
+	 */
+	Vector3f rotateUnit(Vector3fc vector, Vector3f cache);
+
+	/**
+	 * Rotates a packed array of xyz vectors.
+	 *
+	 * @param in
+	 *            The packed input vectors.
+	 * @param out
+	 *            The array in which to store the rotated vectors.
+	 * @param offset
+	 *            The offset of the first vector in both arrays.
+	 * @param count
+	 *            The number of vectors to rotate.
+	 * @return The <i>out</i> array.
+	 * @see Quaternion#rotateAll(float[], float[], int, int)
+	 */
+	float[] rotateAll(float[] in, float[] out, int offset, int count);
+
+	/**
+	 * Computes the rotation matrix for this quaternion.
+	 *
+	 * @param matrix
+	 *            The matrix in which to store the rotation.
+	 * @return The <i>matrix</i>.
+	 */
+	Matrix3f fillRotationMatrix(Matrix3f matrix);
+}
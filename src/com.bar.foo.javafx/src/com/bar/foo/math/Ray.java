@@ -0,0 +1,296 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This class provides a ray defined by an origin and a direction, along with
+ * ray/box and ray/triangle intersection tests for picking.
+ * <p>
+ * The direction does not need to be normalized. Distances along the ray,
+ * including those reported in a {@link RayHit}, are measured in multiples of
+ * the direction's length. This means a ray can be transformed into an
+ * object's local space with {@link #transform(Matrix3fc, Vector3fc, Ray)}
+ * without renormalizing, and hits in different objects can still be compared
+ * by distance.
+ * </p>
+ * <p>
+ * As with the other math classes, the tests create no objects.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class Ray {
+
+	/**
+	 * The origin of the ray.
+	 */
+	public final Vector3f origin;
+	/**
+	 * The direction of the ray.
+	 */
+	public final Vector3f direction;
+
+	/**
+	 * The default constructor. Creates a ray from the origin along the
+	 * negative z axis.
+	 */
+	public Ray() {
+		origin = new Vector3f();
+		direction = new Vector3f(0f, 0f, -1f);
+		return;
+	}
+
+	/**
+	 * Creates a ray with the specified origin and direction. The vectors are
+	 * copied.
+	 *
+	 * @param origin
+	 *            The origin of the ray.
+	 * @param direction
+	 *            The direction of the ray.
+	 */
+	public Ray(Vector3fc origin, Vector3fc direction) {
+		this.origin = new Vector3f(origin);
+		this.direction = new Vector3f(direction);
+		return;
+	}
+
+	/**
+	 * A copy constructor.
+	 *
+	 * @param ray
+	 *            The ray to copy.
+	 */
+	public Ray(Ray ray) {
+		this(ray.origin, ray.direction);
+	}
+
+	/**
+	 * Sets the origin and direction of the ray.
+	 *
+	 * @param origin
+	 *            The new origin.
+	 * @param direction
+	 *            The new direction.
+	 * @return A reference to this ray.
+	 */
+	public Ray set(Vector3fc origin, Vector3fc direction) {
+		this.origin.set(origin);
+		this.direction.set(direction);
+		return this;
+	}
+
+	/**
+	 * Sets the origin and direction of the ray to those of another ray.
+	 *
+	 * @param ray
+	 *            The ray to copy.
+	 * @return A reference to this ray.
+	 */
+	public Ray set(Ray ray) {
+		return set(ray.origin, ray.direction);
+	}
+
+	/**
+	 * Gets the point at a distance along the ray.
+	 *
+	 * @param distance
+	 *            The distance along the ray, in multiples of the direction's
+	 *            length.
+	 * @param cache
+	 *            The vector in which to store the point. If {@code null}, a
+	 *            new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3f getPoint(float distance, Vector3f cache) {
+		if (cache == null) {
+			cache = new Vector3f();
+		}
+		return cache.set(origin.x + direction.x * distance, origin.y
+				+ direction.y * distance, origin.z + direction.z * distance);
+	}
+
+	/**
+	 * Transforms this ray by a matrix and translation, as in
+	 * <i>p' = Mp + t</i>, and stores the result in the <i>cache</i>. The
+	 * direction is transformed by the matrix alone and is not renormalized,
+	 * so distances along the transformed ray match distances along this one.
+	 *
+	 * @param matrix
+	 *            The matrix to apply.
+	 * @param translation
+	 *            The translation to add to the origin.
+	 * @param cache
+	 *            The ray in which to store the result. If {@code null}, a new
+	 *            ray is created. This may be this ray.
+	 * @return The <i>cache</i> ray.
+	 */
+	public Ray transform(Matrix3fc matrix, Vector3fc translation, Ray cache) {
+		if (cache == null) {
+			cache = new Ray();
+		}
+		matrix.multiply(origin, cache.origin).add(translation);
+		matrix.multiply(direction, cache.direction);
+		return cache;
+	}
+
+	// ---- Intersection Tests ---- //
+	/**
+	 * Computes where this ray enters a box.
+	 *
+	 * @param box
+	 *            The box to test.
+	 * @return The distance along the ray at which it enters the box, 0 if the
+	 *         origin is inside the box, or {@link Float#POSITIVE_INFINITY} if
+	 *         the ray misses the box or the box is behind the ray.
+	 */
+	public float intersect(AABB box) {
+		return intersectBox(origin.x, origin.y, origin.z, 1f / direction.x,
+				1f / direction.y, 1f / direction.z, box.min.x, box.min.y,
+				box.min.z, box.max.x, box.max.y, box.max.z,
+				Float.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Tests this ray against a triangle with the M&ouml;ller&ndash;Trumbore
+	 * algorithm. Both sides of the triangle are hit. If the triangle is hit
+	 * closer than the <i>hit</i>'s current distance, the hit's distance and
+	 * barycentric coordinates are updated. Its face is left alone.
+	 *
+	 * @param v0
+	 *            The first vertex of the triangle.
+	 * @param v1
+	 *            The second vertex of the triangle.
+	 * @param v2
+	 *            The third vertex of the triangle.
+	 * @param hit
+	 *            The closest hit so far. Reset it before the first test.
+	 * @return True if the hit was updated, false otherwise.
+	 */
+	public boolean intersect(Vector3fc v0, Vector3fc v1, Vector3fc v2,
+			RayHit hit) {
+		return intersectTriangle(origin.x, origin.y, origin.z, direction.x,
+				direction.y, direction.z, v0.x(), v0.y(), v0.z(), v1.x(),
+				v1.y(), v1.z(), v2.x(), v2.y(), v2.z(), hit);
+	}
+
+	/**
+	 * Computes where a ray enters a box using the slab method. This is used
+	 * by {@link #intersect(AABB)} and by {@link TriangleBVH}, which stores its
+	 * boxes in arrays.
+	 *
+	 * @param ix
+	 *            The reciprocal of the ray direction's x component, and so on.
+	 *            Infinite reciprocals are handled.
+	 * @param maxDistance
+	 *            Boxes entered beyond this distance are treated as misses.
+	 * @return The entry distance, or {@link Float#POSITIVE_INFINITY} on a
+	 *         miss.
+	 */
+	static float intersectBox(float ox, float oy, float oz, float ix,
+			float iy, float iz, float minX, float minY, float minZ,
+			float maxX, float maxY, float maxZ, float maxDistance) {
+		float near = 0f;
+		float far = maxDistance;
+
+		// NaNs (from a zero direction component with the origin on the slab's
+		// plane) fail the comparisons below and so leave the interval alone.
+		float t0 = (minX - ox) * ix;
+		float t1 = (maxX - ox) * ix;
+		if (t0 > t1) {
+			float t = t0;
+			t0 = t1;
+			t1 = t;
+		}
+		if (t0 > near) {
+			near = t0;
+		}
+		if (t1 < far) {
+			far = t1;
+		}
+
+		t0 = (minY - oy) * iy;
+		t1 = (maxY - oy) * iy;
+		if (t0 > t1) {
+			float t = t0;
+			t0 = t1;
+			t1 = t;
+		}
+		if (t0 > near) {
+			near = t0;
+		}
+		if (t1 < far) {
+			far = t1;
+		}
+
+		t0 = (minZ - oz) * iz;
+		t1 = (maxZ - oz) * iz;
+		if (t0 > t1) {
+			float t = t0;
+			t0 = t1;
+			t1 = t;
+		}
+		if (t0 > near) {
+			near = t0;
+		}
+		if (t1 < far) {
+			far = t1;
+		}
+
+		return (near <= far ? near : Float.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Tests a ray against a triangle given by its components. This is used by
+	 * {@link #intersect(Vector3fc, Vector3fc, Vector3fc, RayHit)} and by
+	 * {@link TriangleBVH}.
+	 *
+	 * @return True if the hit was updated, false otherwise.
+	 */
+	static boolean intersectTriangle(float ox, float oy, float oz, float dx,
+			float dy, float dz, float ax, float ay, float az, float bx,
+			float by, float bz, float cx, float cy, float cz, RayHit hit) {
+		// The two edges from the first vertex.
+		float e1x = bx - ax, e1y = by - ay, e1z = bz - az;
+		float e2x = cx - ax, e2y = cy - ay, e2z = cz - az;
+
+		// p = d x e2. The determinant is 0 if the ray is parallel to the
+		// triangle or the triangle is degenerate.
+		float px = dy * e2z - dz * e2y;
+		float py = dz * e2x - dx * e2z;
+		float pz = dx * e2y - dy * e2x;
+		float det = e1x * px + e1y * py + e1z * pz;
+		if (det == 0f) {
+			return false;
+		}
+		float inverseDet = 1f / det;
+
+		// The first barycentric coordinate.
+		float sx = ox - ax, sy = oy - ay, sz = oz - az;
+		float u = (sx * px + sy * py + sz * pz) * inverseDet;
+		if (u < 0f || u > 1f) {
+			return false;
+		}
+
+		// q = s x e1 gives the second coordinate and the distance.
+		float qx = sy * e1z - sz * e1y;
+		float qy = sz * e1x - sx * e1z;
+		float qz = sx * e1y - sy * e1x;
+		float v = (dx * qx + dy * qy + dz * qz) * inverseDet;
+		if (v < 0f || u + v > 1f) {
+			return false;
+		}
+		float t = (e2x * qx + e2y * qy + e2z * qz) * inverseDet;
+		if (t < 0f || !(t < hit.distance)) {
+			return false;
+		}
+
+		hit.distance = t;
+		hit.u = u;
+		hit.v = v;
+		return true;
+	}
+	// ---------------------------- //
+}
@@ -0,0 +1,105 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This class records the closest intersection found so far between a
+ * {@link Ray} and a set of triangles. Intersection tests only update a hit if
+ * they find something closer, so the same hit can be passed to several tests
+ * (e.g., one per mesh) to find the closest triangle among them.
+ * <p>
+ * The point that was hit can be recovered from the ray with
+ * {@link Ray#getPoint(float, Vector3f) ray.getPoint(hit.distance, cache)} or
+ * from the triangle's vertices with the barycentric coordinates: the point is
+ * <i>(1 - u - v)v0 + u v1 + v v2</i>. The same weights interpolate any other
+ * per-vertex value, such as texture coordinates.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class RayHit {
+
+	/**
+	 * The distance along the ray to the hit, or
+	 * {@link Float#POSITIVE_INFINITY} if nothing has been hit.
+	 */
+	public float distance;
+	/**
+	 * The barycentric weight of the triangle's second vertex.
+	 */
+	public float u;
+	/**
+	 * The barycentric weight of the triangle's third vertex.
+	 */
+	public float v;
+	/**
+	 * The index of the face that was hit, or -1 if nothing has been hit or the
+	 * triangle was not part of a mesh.
+	 */
+	public int face;
+
+	/**
+	 * The default constructor. Creates a hit that has not hit anything.
+	 */
+	public RayHit() {
+		reset();
+		return;
+	}
+
+	/**
+	 * Clears the hit so that the next test records anything it hits.
+	 *
+	 * @return A reference to this hit.
+	 */
+	public RayHit reset() {
+		return reset(Float.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Clears the hit so that the next test records anything it hits within a
+	 * maximum distance.
+	 *
+	 * @param maxDistance
+	 *            The distance beyond which triangles are ignored.
+	 * @return A reference to this hit.
+	 */
+	public RayHit reset(float maxDistance) {
+		distance = maxDistance;
+		u = v = 0f;
+		face = -1;
+		return this;
+	}
+
+	/**
+	 * Sets this hit to the values of another hit.
+	 *
+	 * @param hit
+	 *            The hit to copy.
+	 * @return A reference to this hit.
+	 */
+	public RayHit set(RayHit hit) {
+		distance = hit.distance;
+		u = hit.u;
+		v = hit.v;
+		face = hit.face;
+		return this;
+	}
+
+	/**
+	 * Gets the barycentric coordinates of the hit as the weights of the
+	 * triangle's first, second, and third vertices.
+	 *
+	 * @param cache
+	 *            The vector in which to store the weights. If {@code null}, a
+	 *            new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3f getBarycentric(Vector3f cache) {
+		if (cache == null) {
+			cache = new Vector3f();
+		}
+		return cache.set(1f - u - v, u, v);
+	}
+}
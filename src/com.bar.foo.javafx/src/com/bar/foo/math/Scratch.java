@@ -0,0 +1,390 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+import java.util.Arrays;
+
+/**
+ * This class provides a per-thread pool of temporary {@link Vector3f},
+ * {@link Quaternion}, {@link Matrix3f}, and {@link Matrix4f} objects for use
+ * as <i>cache</i> arguments in the math library. It lets per-frame code be
+ * written without calling {@code new}.
+ * <p>
+ * Temporaries are acquired from a <i>scope</i> and are all released together
+ * when the scope is closed, which is best done with try-with-resources:
+ * </p>
+ *
+ * <pre>
+ * try (Scratch scratch = Scratch.open()) {
+ * 	Vector3f right = direction.cross(up, scratch.vector3f()).normalize();
+ * 	Quaternion.fromTwoUnitVectors(defaultRight, right, rotation);
+ * }
+ * </pre>
+ * <p>
+ * Scopes may be nested, but they must be closed in the reverse order they
+ * were opened, and temporaries must not be used after their scope is closed.
+ * The contents of an acquired temporary are undefined; set it (or pass it as
+ * a cache) before reading it. Each thread has its own pool, and scopes must
+ * not be shared between threads.
+ * </p>
+ * <p>
+ * Once a thread's pool has grown to its peak usage, opening scopes and
+ * acquiring temporaries creates no objects at all. By default, the only
+ * bookkeeping is a few array index updates. If debugging is enabled (via
+ * {@link #setDebug(boolean)} or the system property
+ * {@value #DEBUG_PROPERTY}), the pool also checks for scopes that are closed
+ * twice, closed out of order, never closed, or used while a nested scope is
+ * open. Errors are reported as {@link IllegalStateException}s whose cause
+ * records the call site that opened the offending scope.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public final class Scratch implements AutoCloseable {
+
+	/**
+	 * The system property that, when set to {@code true}, enables debugging
+	 * for every thread's pool by default.
+	 */
+	public static final String DEBUG_PROPERTY = "com.bar.foo.math.Scratch.debug";
+
+	/**
+	 * The pool for each thread.
+	 */
+	private static final ThreadLocal<Pool> pools = new ThreadLocal<Pool>() {
+		@Override
+		protected Pool initialValue() {
+			return new Pool(Boolean.getBoolean(DEBUG_PROPERTY));
+		}
+	};
+
+	/**
+	 * The pool that owns this scope.
+	 */
+	private final Pool pool;
+	/**
+	 * The nesting depth of this scope in its pool's stack of scopes.
+	 */
+	private final int depth;
+
+	/**
+	 * The number of vectors in use when this scope was opened.
+	 */
+	private int vectorMark;
+	/**
+	 * The number of quaternions in use when this scope was opened.
+	 */
+	private int quaternionMark;
+	/**
+	 * The number of 3x3 matrices in use when this scope was opened.
+	 */
+	private int matrix3fMark;
+	/**
+	 * The number of 4x4 matrices in use when this scope was opened.
+	 */
+	private int matrix4fMark;
+
+	/**
+	 * Whether or not the scope is currently open. Only used when debugging.
+	 */
+	private boolean open = false;
+	/**
+	 * The call site that last opened this scope. Only used when debugging.
+	 */
+	private Throwable openedAt = null;
+	/**
+	 * The call site that last closed this scope. Only used when debugging.
+	 */
+	private Throwable closedAt = null;
+
+	/**
+	 * Creates a scope. Scopes are only created by their pools, and each is
+	 * re-used every time a scope is opened at the same depth.
+	 *
+	 * @param pool
+	 *            The owning pool.
+	 * @param depth
+	 *            The nesting depth of the scope.
+	 */
+	private Scratch(Pool pool, int depth) {
+		this.pool = pool;
+		this.depth = depth;
+	}
+
+	/**
+	 * Opens a new scope on the current thread's pool. All temporaries acquired
+	 * from the scope are released when it is closed.
+	 *
+	 * @return The opened scope. This should be closed by the same thread, ideally
+	 *         via try-with-resources.
+	 */
+	public static Scratch open() {
+		return pools.get().open();
+	}
+
+	/**
+	 * Enables or disables debugging for the current thread's pool. This should
+	 * only be changed while the thread has no open scopes.
+	 *
+	 * @param debug
+	 *            Whether or not to check for misused scopes.
+	 */
+	public static void setDebug(boolean debug) {
+		pools.get().debug = debug;
+	}
+
+	/**
+	 * Gets whether debugging is enabled for the current thread's pool.
+	 *
+	 * @return True if misused scopes are detected, false otherwise.
+	 */
+	public static boolean isDebug() {
+		return pools.get().debug;
+	}
+
+	/**
+	 * Makes sure the current thread has no open scopes. This is a convenient
+	 * check to run at the end of each frame or in tests.
+	 *
+	 * @throws IllegalStateException
+	 *             If a scope is still open. If debugging is enabled, the cause
+	 *             records where the scope was opened.
+	 */
+	public static void checkReleased() {
+		Pool pool = pools.get();
+		if (pool.depth > 0) {
+			Scratch leaked = pool.scopes[pool.depth - 1];
+			throw new IllegalStateException("Scratch error: "
+					+ pool.depth + " scope(s) were never closed.",
+					leaked.openedAt);
+		}
+	}
+
+	/**
+	 * Acquires a temporary vector from this scope.
+	 *
+	 * @return A vector with undefined contents that is valid until this scope
+	 *         is closed.
+	 */
+	public Vector3f vector3f() {
+		if (pool.debug) {
+			checkAcquire();
+		}
+		return pool.vector3f();
+	}
+
+	/**
+	 * Acquires a temporary quaternion from this scope.
+	 *
+	 * @return A quaternion with undefined contents that is valid until this
+	 *         scope is closed.
+	 */
+	public Quaternion quaternion() {
+		if (pool.debug) {
+			checkAcquire();
+		}
+		return pool.quaternion();
+	}
+
+	/**
+	 * Acquires a temporary 3x3 matrix from this scope.
+	 *
+	 * @return A matrix with undefined contents that is valid until this scope
+	 *         is closed.
+	 */
+	public Matrix3f matrix3f() {
+		if (pool.debug) {
+			checkAcquire();
+		}
+		return pool.matrix3f();
+	}
+
+	/**
+	 * Acquires a temporary 4x4 matrix from this scope.
+	 *
+	 * @return A matrix with undefined contents that is valid until this scope
+	 *         is closed.
+	 */
+	public Matrix4f matrix4f() {
+		if (pool.debug) {
+			checkAcquire();
+		}
+		return pool.matrix4f();
+	}
+
+	/**
+	 * Closes this scope, releasing all temporaries acquired from it (and from
+	 * any scopes nested inside it). If debugging is disabled, closing a scope
+	 * that is already closed has no effect.
+	 *
+	 * @throws IllegalStateException
+	 *             If debugging is enabled and the scope was already closed or
+	 *             a nested scope was never closed.
+	 */
+	@Override
+	public void close() {
+		if (pool.debug) {
+			if (!open) {
+				throw new IllegalStateException("Scratch error: "
+						+ "Scope closed twice. The cause is the first close.",
+						closedAt);
+			} else if (pool.depth != depth + 1) {
+				Scratch leaked = pool.scopes[pool.depth - 1];
+				// Unwind the leaked scopes so the pool remains usable.
+				for (int i = depth + 1; i < pool.depth; i++) {
+					pool.scopes[i].open = false;
+				}
+				pool.close(this);
+				open = false;
+				closedAt = new Throwable("Scratch scope closed here.");
+				throw new IllegalStateException("Scratch error: "
+						+ "Nested scope was never closed. "
+						+ "The cause is where it was opened.", leaked.openedAt);
+			}
+			open = false;
+			closedAt = new Throwable("Scratch scope closed here.");
+		}
+		// A scope that was already closed must not rewind the pool below the
+		// temporaries its enclosing scopes acquired since.
+		if (pool.depth > depth) {
+			pool.close(this);
+		}
+	}
+
+	/**
+	 * Makes sure temporaries are only acquired from the innermost open scope.
+	 * Otherwise, the innermost scope would release temporaries that belong to
+	 * this one.
+	 */
+	private void checkAcquire() {
+		if (!open) {
+			throw new IllegalStateException("Scratch error: "
+					+ "Temporary acquired from a closed scope. "
+					+ "The cause is where it was closed.", closedAt);
+		} else if (pool.depth != depth + 1) {
+			throw new IllegalStateException("Scratch error: "
+					+ "Temporary acquired from an outer scope while a nested "
+					+ "scope is open. The cause is where the nested scope "
+					+ "was opened.", pool.scopes[pool.depth - 1].openedAt);
+		}
+	}
+
+	/**
+	 * A per-thread pool of temporaries and scopes. Each type is kept in a
+	 * stack that only grows when a thread needs more temporaries than it has
+	 * ever needed before.
+	 */
+	private static final class Pool {
+
+		/**
+		 * Whether or not misused scopes should be detected.
+		 */
+		private boolean debug;
+
+		private Scratch[] scopes = new Scratch[4];
+		private int depth = 0;
+
+		private Vector3f[] vectors = new Vector3f[16];
+		private int vectorCount = 0;
+
+		private Quaternion[] quaternions = new Quaternion[8];
+		private int quaternionCount = 0;
+
+		private Matrix3f[] matrix3fs = new Matrix3f[4];
+		private int matrix3fCount = 0;
+
+		private Matrix4f[] matrix4fs = new Matrix4f[4];
+		private int matrix4fCount = 0;
+
+		private Pool(boolean debug) {
+			this.debug = debug;
+		}
+
+		private Scratch open() {
+			if (depth == scopes.length) {
+				scopes = Arrays.copyOf(scopes, depth * 2);
+			}
+			Scratch scope = scopes[depth];
+			if (scope == null) {
+				scope = new Scratch(this, depth);
+				scopes[depth] = scope;
+			}
+			depth++;
+
+			scope.vectorMark = vectorCount;
+			scope.quaternionMark = quaternionCount;
+			scope.matrix3fMark = matrix3fCount;
+			scope.matrix4fMark = matrix4fCount;
+			if (debug) {
+				scope.open = true;
+				scope.openedAt = new Throwable("Scratch scope opened here.");
+			}
+			return scope;
+		}
+
+		private void close(Scratch scope) {
+			depth = scope.depth;
+			vectorCount = scope.vectorMark;
+			quaternionCount = scope.quaternionMark;
+			matrix3fCount = scope.matrix3fMark;
+			matrix4fCount = scope.matrix4fMark;
+		}
+
+		private Vector3f vector3f() {
+			if (vectorCount == vectors.length) {
+				vectors = Arrays.copyOf(vectors, vectorCount * 2);
+			}
+			Vector3f vector = vectors[vectorCount];
+			if (vector == null) {
+				vector = new Vector3f();
+				vectors[vectorCount] = vector;
+			}
+			vectorCount++;
+			return vector;
+		}
+
+		private Quaternion quaternion() {
+			if (quaternionCount == quaternions.length) {
+				quaternions = Arrays.copyOf(quaternions,
+						quaternionCount * 2);
+			}
+			Quaternion quaternion = quaternions[quaternionCount];
+			if (quaternion == null) {
+				quaternion = new Quaternion();
+				quaternions[quaternionCount] = quaternion;
+			}
+			quaternionCount++;
+			return quaternion;
+		}
+
+		private Matrix3f matrix3f() {
+			if (matrix3fCount == matrix3fs.length) {
+				matrix3fs = Arrays.copyOf(matrix3fs,
+						matrix3fCount * 2);
+			}
+			Matrix3f matrix = matrix3fs[matrix3fCount];
+			if (matrix == null) {
+				matrix = new Matrix3f();
+				matrix3fs[matrix3fCount] = matrix;
+			}
+			matrix3fCount++;
+			return matrix;
+		}
+
+		private Matrix4f matrix4f() {
+			if (matrix4fCount == matrix4fs.length) {
+				matrix4fs = Arrays.copyOf(matrix4fs,
+						matrix4fCount * 2);
+			}
+			Matrix4f matrix = matrix4fs[matrix4fCount];
+			if (matrix == null) {
+				matrix = new Matrix4f();
+				matrix4fs[matrix4fCount] = matrix;
+			}
+			matrix4fCount++;
+			return matrix;
+		}
+	}
+}
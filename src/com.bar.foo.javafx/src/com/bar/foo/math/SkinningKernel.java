@@ -0,0 +1,427 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class deforms a mesh's vertex positions on the CPU with dual
+ * quaternion skinning. Each vertex is bound to a fixed number of bones with
+ * weights. Each frame, the bones' poses are set as {@link DualQuaternion}s and
+ * {@link #skin(float[])} writes the deformed positions to an interleaved
+ * array (x0, y0, z0, x1, ...) that can be passed straight to
+ * {@code TriangleMesh.getPoints().setAll(...)}.
+ * <p>
+ * All of the mesh data is kept in primitive arrays: the bind-pose positions,
+ * the bone indices and weights for each vertex (<i>influences</i> entries per
+ * vertex), and the bone poses (8 floats per bone). The inner loop therefore
+ * touches no objects.
+ * </p>
+ * <p>
+ * Large meshes are split into chunks of {@link #getGrain()} vertices that
+ * are skinned in parallel on the common {@link ForkJoinPool}. The tasks are
+ * created once and re-used, so skinning creates no objects either way. Small
+ * meshes, or kernels with parallelism disabled, are skinned on the calling
+ * thread.
+ * </p>
+ * <p>
+ * The kernel keeps references to the arrays passed to its constructor, so
+ * the mesh data can be shared without copying; the arrays must not be
+ * changed while skinning. A kernel is not thread-safe.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class SkinningKernel {
+
+	/**
+	 * The default number of vertices skinned by each parallel task.
+	 */
+	public static final int DEFAULT_GRAIN = 4096;
+
+	/**
+	 * The bind-pose vertex positions, stored as x0, y0, z0, x1, ...
+	 */
+	private final float[] positions;
+	/**
+	 * The bone indices for each vertex, <i>influences</i> per vertex.
+	 */
+	private final int[] boneIndices;
+	/**
+	 * The bone weights for each vertex, <i>influences</i> per vertex.
+	 */
+	private final float[] boneWeights;
+	/**
+	 * The number of bones that influence each vertex.
+	 */
+	private final int influences;
+	/**
+	 * The number of vertices.
+	 */
+	private final int vertexCount;
+	/**
+	 * The bone poses, stored as the real (w, x, y, z) and dual (w, x, y, z)
+	 * parts of each bone's dual quaternion.
+	 */
+	private final float[] bones;
+
+	/**
+	 * The number of vertices skinned by each parallel task.
+	 */
+	private final int grain;
+	/**
+	 * The task that runs all {@link #chunks} in parallel.
+	 */
+	private final Batch batch;
+	/**
+	 * The parallel tasks, one per chunk of {@link #grain} vertices.
+	 */
+	private final Chunk[] chunks;
+	/**
+	 * Whether large meshes are skinned in parallel.
+	 */
+	private boolean parallel = true;
+	/**
+	 * The array being written by the current parallel skin.
+	 */
+	private float[] target;
+
+	/**
+	 * Creates a kernel for a mesh using the default grain size.
+	 *
+	 * @param positions
+	 *            The bind-pose vertex positions (x0, y0, z0, x1, ...).
+	 * @param boneIndices
+	 *            The indices of the bones that influence each vertex,
+	 *            <i>influences</i> per vertex.
+	 * @param boneWeights
+	 *            The weight of each bone index. The weights for each vertex
+	 *            should sum to 1. Unused influences should have weight 0.
+	 * @param influences
+	 *            The number of bones that influence each vertex, at least 1.
+	 * @param boneCount
+	 *            The number of bones.
+	 * @throws IllegalArgumentException
+	 *             If an array is null, the array lengths do not agree, or a
+	 *             bone index is out of range.
+	 */
+	public SkinningKernel(float[] positions, int[] boneIndices,
+			float[] boneWeights, int influences, int boneCount) {
+		this(positions, boneIndices, boneWeights, influences, boneCount,
+				DEFAULT_GRAIN);
+	}
+
+	/**
+	 * Creates a kernel for a mesh.
+	 *
+	 * @param positions
+	 *            The bind-pose vertex positions (x0, y0, z0, x1, ...).
+	 * @param boneIndices
+	 *            The indices of the bones that influence each vertex,
+	 *            <i>influences</i> per vertex.
+	 * @param boneWeights
+	 *            The weight of each bone index. The weights for each vertex
+	 *            should sum to 1. Unused influences should have weight 0.
+	 * @param influences
+	 *            The number of bones that influence each vertex, at least 1.
+	 * @param boneCount
+	 *            The number of bones.
+	 * @param grain
+	 *            The number of vertices skinned by each parallel task. This
+	 *            must be positive.
+	 * @throws IllegalArgumentException
+	 *             If an array is null, the array lengths do not agree, a bone
+	 *             index is out of range, or the grain is not positive.
+	 */
+	public SkinningKernel(float[] positions, int[] boneIndices,
+			float[] boneWeights, int influences, int boneCount, int grain) {
+		if (positions == null || boneIndices == null || boneWeights == null) {
+			throw new IllegalArgumentException("SkinningKernel error: "
+					+ "Null arrays not allowed.");
+		} else if (influences < 1 || boneCount < 1 || grain < 1) {
+			throw new IllegalArgumentException("SkinningKernel error: "
+					+ "The influences, bone count, and grain must be positive.");
+		} else if (positions.length % 3 != 0
+				|| boneIndices.length != positions.length / 3 * influences
+				|| boneWeights.length != boneIndices.length) {
+			throw new IllegalArgumentException("SkinningKernel error: "
+					+ "There must be three coordinates and " + influences
+					+ " bone indices and weights per vertex.");
+		}
+		for (int i = 0; i < boneIndices.length; i++) {
+			if (boneIndices[i] < 0 || boneIndices[i] >= boneCount) {
+				throw new IllegalArgumentException("SkinningKernel error: "
+						+ "Bone index " + boneIndices[i] + " is out of range.");
+			}
+		}
+
+		this.positions = positions;
+		this.boneIndices = boneIndices;
+		this.boneWeights = boneWeights;
+		this.influences = influences;
+		this.grain = grain;
+		vertexCount = positions.length / 3;
+
+		// All bones start at the identity.
+		bones = new float[boneCount * 8];
+		for (int i = 0; i < bones.length; i += 8) {
+			bones[i] = 1f;
+		}
+
+		// Create the parallel tasks once.
+		int chunkCount = (vertexCount + grain - 1) / grain;
+		chunks = new Chunk[chunkCount];
+		for (int i = 0; i < chunkCount; i++) {
+			int offset = i * grain;
+			chunks[i] = new Chunk(offset, Math.min(grain, vertexCount - offset));
+		}
+		batch = new Batch();
+		return;
+	}
+
+	// ---- Getters and Setters ---- //
+	/**
+	 * Gets the number of vertices in the mesh.
+	 *
+	 * @return The number of vertices.
+	 */
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * Gets the number of bones.
+	 *
+	 * @return The number of bones.
+	 */
+	public int getBoneCount() {
+		return bones.length / 8;
+	}
+
+	/**
+	 * Gets the number of vertices skinned by each parallel task.
+	 *
+	 * @return The grain size.
+	 */
+	public int getGrain() {
+		return grain;
+	}
+
+	/**
+	 * Sets whether large meshes are skinned in parallel. This is enabled by
+	 * default.
+	 *
+	 * @param parallel
+	 *            Whether or not to skin in parallel.
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Sets the pose of a bone. This is the transformation from the bind pose
+	 * to the current pose, i.e., the bone's current transformation times the
+	 * inverse of its bind transformation.
+	 *
+	 * @param bone
+	 *            The index of the bone.
+	 * @param pose
+	 *            The bone's pose. This should be a unit dual quaternion.
+	 * @throws IndexOutOfBoundsException
+	 *             If the bone index is out of range.
+	 */
+	public void setBone(int bone, DualQuaternion pose) {
+		if (bone < 0 || bone >= bones.length / 8) {
+			throw new IndexOutOfBoundsException("SkinningKernel error: "
+					+ "Bone index " + bone + " is out of range.");
+		}
+		final Quaternion r = pose.real, d = pose.dual;
+		int i = bone * 8;
+		bones[i] = r.w;
+		bones[i + 1] = r.x;
+		bones[i + 2] = r.y;
+		bones[i + 3] = r.z;
+		bones[i + 4] = d.w;
+		bones[i + 5] = d.x;
+		bones[i + 6] = d.y;
+		bones[i + 7] = d.z;
+	}
+	// ----------------------------- //
+
+	// ---- Skinning ---- //
+	/**
+	 * Skins the whole mesh with the current bone poses. Meshes larger than
+	 * two chunks are skinned in parallel unless parallelism is disabled.
+	 *
+	 * @param output
+	 *            The array in which to store the deformed positions (x0, y0,
+	 *            z0, x1, ...). If {@code null}, a new array is created.
+	 *            Otherwise, it must hold at least 3 floats per vertex.
+	 * @return The <i>output</i> array.
+	 * @throws IllegalArgumentException
+	 *             If the output array is too small.
+	 */
+	public float[] skin(float[] output) {
+		if (output == null) {
+			output = new float[vertexCount * 3];
+		} else if (output.length < vertexCount * 3) {
+			throw new IllegalArgumentException("SkinningKernel error: "
+					+ "The output array is too small.");
+		}
+
+		if (parallel && chunks.length > 2
+				&& ForkJoinPool.getCommonPoolParallelism() > 1) {
+			target = output;
+			batch.reinitialize();
+			ForkJoinPool.commonPool().invoke(batch);
+			target = null;
+		} else {
+			skin(output, 0, vertexCount);
+		}
+		return output;
+	}
+
+	/**
+	 * Skins a range of vertices with the current bone poses on the calling
+	 * thread.
+	 *
+	 * @param output
+	 *            The array in which to store the deformed positions. Vertex
+	 *            <i>i</i> is written at index 3<i>i</i>.
+	 * @param offset
+	 *            The index of the first vertex to skin.
+	 * @param count
+	 *            The number of vertices to skin.
+	 * @return The <i>output</i> array.
+	 */
+	public float[] skin(float[] output, int offset, int count) {
+		final float[] positions = this.positions;
+		final int[] boneIndices = this.boneIndices;
+		final float[] boneWeights = this.boneWeights;
+		final float[] bones = this.bones;
+		final int influences = this.influences;
+
+		final int end = offset + count;
+		for (int v = offset; v < end; v++) {
+			int b = v * influences;
+
+			// Start the blend with the first bone, whose real part also picks
+			// the hemisphere for the other bones.
+			int k = boneIndices[b] * 8;
+			float weight = boneWeights[b];
+			float hw = bones[k], hx = bones[k + 1], hy = bones[k + 2], hz = bones[k + 3];
+			float rw = weight * hw, rx = weight * hx, ry = weight * hy, rz = weight
+					* hz;
+			float dw = weight * bones[k + 4], dx = weight * bones[k + 5], dy = weight
+					* bones[k + 6], dz = weight * bones[k + 7];
+
+			for (int j = 1; j < influences; j++) {
+				weight = boneWeights[b + j];
+				if (weight != 0f) {
+					k = boneIndices[b + j] * 8;
+					if (hw * bones[k] + hx * bones[k + 1] + hy * bones[k + 2]
+							+ hz * bones[k + 3] < 0f) {
+						weight = -weight;
+					}
+					rw += weight * bones[k];
+					rx += weight * bones[k + 1];
+					ry += weight * bones[k + 2];
+					rz += weight * bones[k + 3];
+					dw += weight * bones[k + 4];
+					dx += weight * bones[k + 5];
+					dy += weight * bones[k + 6];
+					dz += weight * bones[k + 7];
+				}
+			}
+
+			int p = v * 3;
+			float px = positions[p], py = positions[p + 1], pz = positions[p + 2];
+
+			// Normalize the blend by the length of its real part. Vertices
+			// without weights keep their bind-pose positions.
+			float normSquared = rw * rw + rx * rx + ry * ry + rz * rz;
+			if (normSquared == 0f) {
+				output[p] = px;
+				output[p + 1] = py;
+				output[p + 2] = pz;
+				continue;
+			}
+			float scale = 1f / FloatMath.sqrt(normSquared);
+			rw *= scale;
+			rx *= scale;
+			ry *= scale;
+			rz *= scale;
+			dw *= scale;
+			dx *= scale;
+			dy *= scale;
+			dz *= scale;
+
+			// Transform the point as in DualQuaternion.transformPoint(...).
+			float cx = ry * pz - rz * py + rw * px;
+			float cy = rz * px - rx * pz + rw * py;
+			float cz = rx * py - ry * px + rw * pz;
+			output[p] = px + 2f
+					* (ry * cz - rz * cy + rw * dx - dw * rx + ry * dz - rz * dy);
+			output[p + 1] = py + 2f
+					* (rz * cx - rx * cz + rw * dy - dw * ry + rz * dx - rx * dz);
+			output[p + 2] = pz + 2f
+					* (rx * cy - ry * cx + rw * dz - dw * rz + rx * dy - ry * dx);
+		}
+		return output;
+	}
+	// ------------------ //
+
+	/**
+	 * Runs all chunks in parallel.
+	 */
+	private final class Batch extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			for (int i = 0; i < chunks.length; i++) {
+				chunks[i].reinitialize();
+			}
+			invokeAll(chunks);
+		}
+	}
+
+	/**
+	 * Skins one chunk of vertices into the current {@link #target}.
+	 */
+	private final class Chunk extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The index of the first vertex in the chunk.
+		 */
+		private final int offset;
+		/**
+		 * The number of vertices in the chunk.
+		 */
+		private final int count;
+
+		private Chunk(int offset, int count) {
+			this.offset = offset;
+			this.count = count;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			skin(target, offset, count);
+		}
+	}
+}
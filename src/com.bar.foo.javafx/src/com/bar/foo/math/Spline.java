@@ -0,0 +1,316 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This class is the base for piecewise cubic curves through 3D space, such as
+ * camera paths. The control points are stored in a primitive array, so a
+ * spline with many points is only a handful of objects.
+ * <p>
+ * A spline's natural parameter does not move along the curve at a constant
+ * speed: points are spaced more widely where control points are far apart.
+ * Each spline therefore builds an arc-length table when it is created, which
+ * maps distances along the curve back to the curve parameter. This allows
+ * the curve to be sampled by distance (see {@link #getPointAtDistance(float,
+ * Vector3f)}), so that an object following the spline at a fixed rate moves
+ * at a constant speed.
+ * </p>
+ * <p>
+ * A spline is immutable and may be shared by any number of moving objects.
+ * Like {@link QuaternionTrack}, each object that follows the spline should
+ * get its own {@link Sampler}, which remembers where it last sampled, so that
+ * moving forward along the spline takes constant time.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public abstract class Spline {
+
+	/**
+	 * The default number of arc-length table entries per segment.
+	 */
+	public static final int DEFAULT_SAMPLES = 32;
+
+	/**
+	 * The control points, stored as x0, y0, z0, x1, y1, ...
+	 */
+	protected final float[] points;
+	/**
+	 * The number of cubic segments in the spline.
+	 */
+	private final int segments;
+	/**
+	 * The number of arc-length table entries per segment.
+	 */
+	private final int samples;
+	/**
+	 * The arc-length table. Entry <i>k</i> is the distance along the curve to
+	 * the parameter <i>k</i> / {@link #samples}, so the first entry is 0 and
+	 * the last is the length of the spline.
+	 */
+	private final float[] lengths;
+
+	/**
+	 * Creates a spline and builds its arc-length table. Subclasses must
+	 * validate the points before calling this constructor, and
+	 * {@link #getPoint(int, float, Vector3f)} must only depend on
+	 * {@link #points}.
+	 *
+	 * @param points
+	 *            The control points. These are copied.
+	 * @param segments
+	 *            The number of cubic segments defined by the points.
+	 * @param samples
+	 *            The number of arc-length table entries per segment.
+	 * @throws IllegalArgumentException
+	 *             If the number of samples is not positive.
+	 */
+	Spline(float[] points, int segments, int samples) {
+		if (samples < 1) {
+			throw new IllegalArgumentException("Spline error: "
+					+ "There must be at least one sample per segment.");
+		}
+		this.points = points.clone();
+		this.segments = segments;
+		this.samples = samples;
+
+		// Approximate each segment by the chords between evenly spaced
+		// parameters.
+		lengths = new float[segments * samples + 1];
+		Vector3f previous = getPoint(0, 0f, new Vector3f());
+		Vector3f current = new Vector3f();
+		float length = 0f;
+		for (int k = 1; k < lengths.length; k++) {
+			int segment = (k - 1) / samples;
+			float t = (float) (k - segment * samples) / samples;
+			getPoint(segment, t, current);
+			length += current.distance(previous);
+			lengths[k] = length;
+			previous.set(current);
+		}
+		return;
+	}
+
+	/**
+	 * Copies the control points from an array of vectors.
+	 *
+	 * @param points
+	 *            The control points.
+	 * @param name
+	 *            The name of the calling class, used in exception messages.
+	 * @return An interleaved array of the points' coordinates.
+	 * @throws IllegalArgumentException
+	 *             If the array or any of its points is {@code null}.
+	 */
+	static float[] toArray(Vector3fc[] points, String name) {
+		if (points == null) {
+			throw new IllegalArgumentException(name + " error: "
+					+ "Null points not allowed.");
+		}
+		float[] array = new float[points.length * 3];
+		for (int i = 0, j = 0; i < points.length; i++, j += 3) {
+			Vector3fc point = points[i];
+			if (point == null) {
+				throw new IllegalArgumentException(name + " error: "
+						+ "Null points not allowed.");
+			}
+			array[j] = point.x();
+			array[j + 1] = point.y();
+			array[j + 2] = point.z();
+		}
+		return array;
+	}
+
+	/**
+	 * Gets the number of control points.
+	 *
+	 * @return The number of control points.
+	 */
+	public int size() {
+		return points.length / 3;
+	}
+
+	/**
+	 * Gets a control point.
+	 *
+	 * @param index
+	 *            The index of the control point.
+	 * @param cache
+	 *            The vector in which to store the point. If {@code null}, a
+	 *            new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3f getControlPoint(int index, Vector3f cache) {
+		int i = index * 3;
+		if (cache != null) {
+			cache.set(points[i], points[i + 1], points[i + 2]);
+		} else {
+			cache = new Vector3f(points[i], points[i + 1], points[i + 2]);
+		}
+		return cache;
+	}
+
+	/**
+	 * Gets the number of cubic segments in the spline.
+	 *
+	 * @return The number of segments, at least 1.
+	 */
+	public int getSegmentCount() {
+		return segments;
+	}
+
+	/**
+	 * Gets the length of the spline. This is measured when the spline is
+	 * created by summing short chords along the curve, so it is slightly
+	 * shorter than the true length.
+	 *
+	 * @return The length of the spline.
+	 */
+	public float getLength() {
+		return lengths[lengths.length - 1];
+	}
+
+	/**
+	 * Gets a point on one segment of the spline.
+	 *
+	 * @param segment
+	 *            The index of the segment, from 0 to
+	 *            {@link #getSegmentCount()} - 1.
+	 * @param t
+	 *            The parameter within the segment, from 0 to 1.
+	 * @param cache
+	 *            The vector in which to store the point. If {@code null}, a
+	 *            new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public abstract Vector3f getPoint(int segment, float t, Vector3f cache);
+
+	/**
+	 * Gets the point at a distance along the spline. This uses a binary
+	 * search of the arc-length table. To sample many increasing distances,
+	 * use a {@link Sampler} instead.
+	 *
+	 * @param distance
+	 *            The distance along the spline. This is clamped to the
+	 *            spline's length.
+	 * @param cache
+	 *            The vector in which to store the point. If {@code null}, a
+	 *            new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3f getPointAtDistance(float distance, Vector3f cache) {
+		if (distance <= 0f) {
+			return getPoint(0, 0f, cache);
+		} else if (distance >= getLength()) {
+			return getPoint(segments - 1, 1f, cache);
+		}
+		return getPointAfter(search(distance), distance, cache);
+	}
+
+	/**
+	 * Creates a new sampler for this spline. Each object following the spline
+	 * should have its own sampler.
+	 *
+	 * @return A new sampler, positioned at the start of the spline.
+	 */
+	public Sampler sampler() {
+		return new Sampler();
+	}
+
+	/**
+	 * Finds the arc-length table entry for the specified distance, i.e., the
+	 * largest index <i>k</i> such that {@code lengths[k] <= distance}. The
+	 * distance must be strictly between 0 and the spline's length.
+	 */
+	private int search(float distance) {
+		int low = 0;
+		int high = lengths.length - 2;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (lengths[middle] <= distance) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Gets the point at a distance that falls after the specified arc-length
+	 * table entry. The curve parameter is interpolated linearly between the
+	 * entry and the next one.
+	 */
+	private Vector3f getPointAfter(int entry, float distance, Vector3f cache) {
+		float span = lengths[entry + 1] - lengths[entry];
+		float fraction = span > 0f ? (distance - lengths[entry]) / span : 0f;
+		int segment = entry / samples;
+		float t = (entry - segment * samples + fraction) / samples;
+		return getPoint(segment, t, cache);
+	}
+
+	/**
+	 * Samples a {@link Spline} by distance, remembering the last arc-length
+	 * table entry used. A sampler is not thread-safe.
+	 *
+	 * @author Jordan Deyton
+	 *
+	 */
+	public final class Sampler {
+
+		/**
+		 * The arc-length table entry used by the last sample.
+		 */
+		private int entry = 0;
+
+		/**
+		 * Samples the point at a distance along the spline. If the distance is
+		 * within or just after the last table entry sampled, this takes
+		 * constant time. Otherwise, the entry is found with a binary search.
+		 *
+		 * @param distance
+		 *            The distance along the spline. This is clamped to the
+		 *            spline's length.
+		 * @param cache
+		 *            The vector in which to store the point. If {@code null},
+		 *            a new vector is created.
+		 * @return The <i>cache</i> vector.
+		 */
+		public Vector3f sample(float distance, Vector3f cache) {
+			final float[] lengths = Spline.this.lengths;
+			final int last = lengths.length - 1;
+
+			// Clamp to the ends of the spline.
+			if (distance <= 0f) {
+				entry = 0;
+				return getPoint(0, 0f, cache);
+			} else if (distance >= lengths[last]) {
+				entry = last - 1;
+				return getPoint(segments - 1, 1f, cache);
+			}
+
+			// Check the last entry, then the next one, and only then search.
+			int k = entry;
+			if (distance < lengths[k] || distance >= lengths[k + 1]) {
+				if (distance >= lengths[k] && distance < lengths[k + 2]) {
+					k++;
+				} else {
+					k = search(distance);
+				}
+				entry = k;
+			}
+			return getPointAfter(k, distance, cache);
+		}
+
+		/**
+		 * Gets the spline sampled by this sampler.
+		 *
+		 * @return The spline.
+		 */
+		public Spline getSpline() {
+			return Spline.this;
+		}
+	}
+}
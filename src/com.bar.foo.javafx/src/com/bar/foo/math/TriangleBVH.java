@@ -0,0 +1,646 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class provides a bounding volume hierarchy (BVH) over the triangles of
+ * a mesh for fast ray casting, e.g. for picking with the mouse. A ray only
+ * tests the triangles in the boxes it passes through, so a pick takes time
+ * roughly proportional to the logarithm of the number of triangles rather
+ * than the number itself.
+ * <p>
+ * The tree is built from the packed point and face arrays of a JavaFX
+ * {@code TriangleMesh}. Each node is split where the surface area heuristic
+ * (SAH) estimates rays will be cheapest to trace, evaluated over a fixed
+ * number of bins along each axis. Large subtrees are built in parallel on the
+ * common {@link ForkJoinPool}.
+ * </p>
+ * <p>
+ * The nodes and the triangles' vertices are stored in flat arrays in the
+ * order they are visited, so {@link #intersect(Ray, RayHit)} creates no
+ * objects. The tree is a snapshot of the mesh: if the mesh's points change,
+ * build a new tree. Queries re-use an internal stack, so a tree must not be
+ * queried by multiple threads at once.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class TriangleBVH {
+
+	/**
+	 * The number of ints per face in a {@code TriangleMesh} with the default
+	 * vertex format (a point index and a texture coordinate index for each
+	 * vertex).
+	 */
+	public static final int DEFAULT_FACE_STRIDE = 6;
+
+	/**
+	 * The number of bins along each axis when searching for a split.
+	 */
+	private static final int BINS = 12;
+	/**
+	 * The largest number of triangles put in a leaf when splitting would not
+	 * be cheaper.
+	 */
+	private static final int MAX_LEAF_SIZE = 4;
+	/**
+	 * The cost of visiting a node relative to testing a triangle.
+	 */
+	private static final float TRAVERSAL_COST = 1f;
+	/**
+	 * Subtrees with more triangles than this are built in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 8192;
+
+	/**
+	 * The number of triangles.
+	 */
+	private final int triangleCount;
+	/**
+	 * The vertices of each triangle in leaf order, 9 floats per triangle.
+	 */
+	private final float[] triangles;
+	/**
+	 * The mesh's face index for each triangle in leaf order.
+	 */
+	private final int[] faces;
+	/**
+	 * The bounds of each node, stored as minX, minY, minZ, maxX, maxY, maxZ.
+	 */
+	private final float[] nodeBounds;
+	/**
+	 * Two ints for each node. For a leaf, these are the index of its first
+	 * triangle and its (positive) triangle count. For an inner node, these are
+	 * the index of its left child (the right child follows it) and 0.
+	 */
+	private final int[] nodes;
+	/**
+	 * The number of nodes.
+	 */
+	private final int nodeCount;
+	/**
+	 * The number of levels below the root.
+	 */
+	private final int depth;
+
+	/**
+	 * The nodes waiting to be visited during a query.
+	 */
+	private final int[] stack;
+	/**
+	 * The entry distances of the nodes in the {@link #stack}.
+	 */
+	private final float[] stackDistances;
+
+	/**
+	 * Builds a tree for a mesh with the default face format, building in
+	 * parallel if the mesh is large.
+	 *
+	 * @param points
+	 *            The mesh's points (x0, y0, z0, x1, ...), as in
+	 *            {@code TriangleMesh.getPoints()}.
+	 * @param faces
+	 *            The mesh's faces, as in {@code TriangleMesh.getFaces()}.
+	 * @throws IllegalArgumentException
+	 *             If an array is null or the faces are malformed.
+	 */
+	public TriangleBVH(float[] points, int[] faces) {
+		this(points, faces, DEFAULT_FACE_STRIDE, true);
+	}
+
+	/**
+	 * Builds a tree for a mesh.
+	 *
+	 * @param points
+	 *            The mesh's points (x0, y0, z0, x1, ...), as in
+	 *            {@code TriangleMesh.getPoints()}.
+	 * @param faces
+	 *            The mesh's faces, as in {@code TriangleMesh.getFaces()}.
+	 * @param faceStride
+	 *            The number of ints per face. This is 6 for the
+	 *            {@code POINT_TEXCOORD} vertex format and 9 for
+	 *            {@code POINT_NORMAL_TEXCOORD}. The point index of each vertex
+	 *            must be the first of its <i>faceStride</i>/3 ints.
+	 * @param parallel
+	 *            Whether large meshes may be built in parallel.
+	 * @throws IllegalArgumentException
+	 *             If an array is null, the face stride is not a positive
+	 *             multiple of 3, or the faces are malformed.
+	 */
+	public TriangleBVH(float[] points, int[] faces, int faceStride,
+			boolean parallel) {
+		if (points == null || faces == null) {
+			throw new IllegalArgumentException("TriangleBVH error: "
+					+ "Null arrays not allowed.");
+		} else if (faceStride < 3 || faceStride % 3 != 0
+				|| faces.length % faceStride != 0) {
+			throw new IllegalArgumentException("TriangleBVH error: "
+					+ "The faces must have a stride that is a multiple of 3.");
+		}
+
+		triangleCount = faces.length / faceStride;
+		final int n = triangleCount;
+		final int vertexStride = faceStride / 3;
+		final int pointCount = points.length / 3;
+
+		// Gather each triangle's vertices, centroid, and bounds.
+		float[] vertices = new float[n * 9];
+		float[] centroids = new float[n * 3];
+		float[] boxes = new float[n * 6];
+		for (int f = 0; f < n; f++) {
+			for (int k = 0; k < 3; k++) {
+				int point = faces[f * faceStride + k * vertexStride];
+				if (point < 0 || point >= pointCount) {
+					throw new IllegalArgumentException("TriangleBVH error: "
+							+ "Face " + f + " has an invalid point index.");
+				}
+				System.arraycopy(points, point * 3, vertices, f * 9 + k * 3, 3);
+			}
+			int v = f * 9;
+			for (int axis = 0; axis < 3; axis++) {
+				float a = vertices[v + axis];
+				float b = vertices[v + 3 + axis];
+				float c = vertices[v + 6 + axis];
+				boxes[f * 6 + axis] = Math.min(a, Math.min(b, c));
+				boxes[f * 6 + 3 + axis] = Math.max(a, Math.max(b, c));
+				centroids[f * 3 + axis] = (a + b + c) / 3f;
+			}
+		}
+
+		// Build the tree. There are at most 2n - 1 nodes.
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		int maxNodes = Math.max(2 * n - 1, 0);
+		float[] bounds = new float[maxNodes * 6];
+		int[] data = new int[maxNodes * 2];
+		if (n > 0) {
+			Builder builder = new Builder(centroids, boxes, order, bounds,
+					data, parallel);
+			Build root = new Build(builder, 0, 0, n);
+			if (parallel && n > PARALLEL_THRESHOLD
+					&& ForkJoinPool.getCommonPoolParallelism() > 1) {
+				ForkJoinPool.commonPool().invoke(root);
+			} else {
+				builder.parallel = false;
+				builder.build(new Bins(), 0, 0, n);
+			}
+			nodeCount = builder.nextNode.get();
+		} else {
+			nodeCount = 0;
+		}
+		nodeBounds = Arrays.copyOf(bounds, nodeCount * 6);
+		nodes = Arrays.copyOf(data, nodeCount * 2);
+
+		// Store the triangles in leaf order so leaves read contiguous memory.
+		triangles = new float[n * 9];
+		this.faces = new int[n];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(vertices, order[i] * 9, triangles, i * 9, 9);
+			this.faces[i] = order[i];
+		}
+
+		depth = computeDepth();
+		stack = new int[depth + 2];
+		stackDistances = new float[depth + 2];
+		return;
+	}
+
+	// ---- Getters ---- //
+	/**
+	 * Gets the number of triangles in the tree.
+	 *
+	 * @return The number of triangles.
+	 */
+	public int getTriangleCount() {
+		return triangleCount;
+	}
+
+	/**
+	 * Gets the number of nodes in the tree.
+	 *
+	 * @return The number of nodes.
+	 */
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Gets the number of levels below the root.
+	 *
+	 * @return The depth of the tree.
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Gets the bounds of all the triangles.
+	 *
+	 * @param cache
+	 *            The box in which to store the bounds. If {@code null}, a new
+	 *            box is created.
+	 * @return The <i>cache</i> box. This is empty if there are no triangles.
+	 */
+	public AABB getBounds(AABB cache) {
+		if (cache == null) {
+			cache = new AABB();
+		}
+		if (nodeCount > 0) {
+			cache.set(nodeBounds[0], nodeBounds[1], nodeBounds[2],
+					nodeBounds[3], nodeBounds[4], nodeBounds[5]);
+		} else {
+			cache.setEmpty();
+		}
+		return cache;
+	}
+	// ----------------- //
+
+	// ---- Queries ---- //
+	/**
+	 * Finds the closest triangle hit by a ray. If it is closer than the
+	 * <i>hit</i>'s current distance, the hit's distance, barycentric
+	 * coordinates, and face are updated. This creates no objects.
+	 *
+	 * @param ray
+	 *            The ray, in the mesh's coordinate space.
+	 * @param hit
+	 *            The closest hit so far. Reset it before the first query.
+	 * @return True if the hit was updated, false otherwise.
+	 */
+	public boolean intersect(Ray ray, RayHit hit) {
+		if (nodeCount == 0) {
+			return false;
+		}
+		final float ox = ray.origin.x, oy = ray.origin.y, oz = ray.origin.z;
+		final float dx = ray.direction.x, dy = ray.direction.y, dz = ray.direction.z;
+		final float ix = 1f / dx, iy = 1f / dy, iz = 1f / dz;
+		final float[] b = nodeBounds;
+		final float[] t = triangles;
+
+		float entry = Ray.intersectBox(ox, oy, oz, ix, iy, iz, b[0], b[1],
+				b[2], b[3], b[4], b[5], hit.distance);
+		if (entry == Float.POSITIVE_INFINITY) {
+			return false;
+		}
+
+		boolean found = false;
+		int size = 0;
+		stack[size] = 0;
+		stackDistances[size++] = entry;
+		while (size > 0) {
+			int node = stack[--size];
+			// Skip nodes entered beyond a closer hit found since they were
+			// pushed.
+			if (!(stackDistances[size] < hit.distance)) {
+				continue;
+			}
+
+			int first = nodes[node * 2];
+			int count = nodes[node * 2 + 1];
+			if (count > 0) {
+				for (int i = first, end = first + count; i < end; i++) {
+					int v = i * 9;
+					if (Ray.intersectTriangle(ox, oy, oz, dx, dy, dz, t[v],
+							t[v + 1], t[v + 2], t[v + 3], t[v + 4], t[v + 5],
+							t[v + 6], t[v + 7], t[v + 8], hit)) {
+						hit.face = faces[i];
+						found = true;
+					}
+				}
+			} else {
+				// Push the farther child first so the nearer one is visited
+				// first and can shrink the hit distance.
+				int l = first * 6, r = l + 6;
+				float left = Ray.intersectBox(ox, oy, oz, ix, iy, iz, b[l],
+						b[l + 1], b[l + 2], b[l + 3], b[l + 4], b[l + 5],
+						hit.distance);
+				float right = Ray.intersectBox(ox, oy, oz, ix, iy, iz, b[r],
+						b[r + 1], b[r + 2], b[r + 3], b[r + 4], b[r + 5],
+						hit.distance);
+				if (left <= right) {
+					size = push(first + 1, right, size);
+					size = push(first, left, size);
+				} else {
+					size = push(first, left, size);
+					size = push(first + 1, right, size);
+				}
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Pushes a node onto the query stack if the ray enters it.
+	 *
+	 * @return The new stack size.
+	 */
+	private int push(int node, float entry, int size) {
+		if (entry != Float.POSITIVE_INFINITY) {
+			stack[size] = node;
+			stackDistances[size++] = entry;
+		}
+		return size;
+	}
+	// ----------------- //
+
+	/**
+	 * Computes the number of levels below the root.
+	 */
+	private int computeDepth() {
+		if (nodeCount == 0) {
+			return 0;
+		}
+		// Walk the tree breadth-first, one level at a time. Children are
+		// always stored after their parents.
+		int[] levels = new int[nodeCount];
+		int max = 0;
+		for (int node = 0; node < nodeCount; node++) {
+			if (nodes[node * 2 + 1] == 0) {
+				int left = nodes[node * 2];
+				levels[left] = levels[left + 1] = levels[node] + 1;
+				if (levels[node] + 1 > max) {
+					max = levels[node] + 1;
+				}
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Holds the arrays shared by all build tasks and builds subtrees. Each
+	 * task writes only its own range of the triangle order and its own nodes,
+	 * so the tasks do not need to synchronize except to allocate nodes.
+	 */
+	private static final class Builder {
+		private final float[] centroids;
+		private final float[] boxes;
+		private final int[] order;
+		private final float[] bounds;
+		private final int[] data;
+		/**
+		 * The index of the next unused node.
+		 */
+		private final AtomicInteger nextNode = new AtomicInteger(1);
+		/**
+		 * Whether subtrees may be built in parallel.
+		 */
+		private boolean parallel;
+
+		private Builder(float[] centroids, float[] boxes, int[] order,
+				float[] bounds, int[] data, boolean parallel) {
+			this.centroids = centroids;
+			this.boxes = boxes;
+			this.order = order;
+			this.bounds = bounds;
+			this.data = data;
+			this.parallel = parallel;
+		}
+
+		/**
+		 * Builds the subtree for a node from a range of the triangle order.
+		 *
+		 * @param bins
+		 *            The scratch space for the build. Each task has its own.
+		 * @param node
+		 *            The node's index.
+		 * @param start
+		 *            The first index in the order.
+		 * @param end
+		 *            One past the last index in the order.
+		 */
+		private void build(Bins bins, int node, int start, int end) {
+			final int count = end - start;
+
+			// Compute the node's bounds and the bounds of the centroids.
+			float minX = Float.POSITIVE_INFINITY, minY = minX, minZ = minX;
+			float maxX = Float.NEGATIVE_INFINITY, maxY = maxX, maxZ = maxX;
+			final float[] centroidMin = bins.centroidMin;
+			final float[] centroidMax = bins.centroidMax;
+			Arrays.fill(centroidMin, minX);
+			Arrays.fill(centroidMax, maxX);
+			for (int i = start; i < end; i++) {
+				int f = order[i];
+				int box = f * 6;
+				minX = Math.min(minX, boxes[box]);
+				minY = Math.min(minY, boxes[box + 1]);
+				minZ = Math.min(minZ, boxes[box + 2]);
+				maxX = Math.max(maxX, boxes[box + 3]);
+				maxY = Math.max(maxY, boxes[box + 4]);
+				maxZ = Math.max(maxZ, boxes[box + 5]);
+				for (int axis = 0; axis < 3; axis++) {
+					float c = centroids[f * 3 + axis];
+					centroidMin[axis] = Math.min(centroidMin[axis], c);
+					centroidMax[axis] = Math.max(centroidMax[axis], c);
+				}
+			}
+			int b = node * 6;
+			bounds[b] = minX;
+			bounds[b + 1] = minY;
+			bounds[b + 2] = minZ;
+			bounds[b + 3] = maxX;
+			bounds[b + 4] = maxY;
+			bounds[b + 5] = maxZ;
+
+			if (count <= 2) {
+				makeLeaf(node, start, count);
+				return;
+			}
+
+			// Find the cheapest split over the bins of each axis.
+			int bestAxis = -1;
+			int bestBin = -1;
+			float bestCost = Float.POSITIVE_INFINITY;
+			final int[] binCounts = bins.counts;
+			final float[] binBounds = bins.bounds;
+			final float[] rightAreas = bins.rightAreas;
+			final int[] rightCounts = bins.rightCounts;
+			final float[] sweep = bins.sweep;
+			for (int axis = 0; axis < 3; axis++) {
+				float extent = centroidMax[axis] - centroidMin[axis];
+				if (!(extent > 0f)) {
+					continue;
+				}
+				float scale = BINS / extent;
+				Arrays.fill(binCounts, 0);
+				for (int bin = 0; bin < BINS; bin++) {
+					setEmpty(binBounds, bin * 6);
+				}
+				for (int i = start; i < end; i++) {
+					int f = order[i];
+					int bin = getBin(centroids[f * 3 + axis],
+							centroidMin[axis], scale);
+					binCounts[bin]++;
+					merge(binBounds, bin * 6, boxes, f * 6);
+				}
+
+				// Sweep from the right to get the area and count to the right
+				// of each split, then sweep from the left to cost each split.
+				setEmpty(sweep, 0);
+				int sweepCount = 0;
+				for (int bin = BINS - 1; bin > 0; bin--) {
+					merge(sweep, 0, binBounds, bin * 6);
+					sweepCount += binCounts[bin];
+					rightAreas[bin] = getArea(sweep, 0);
+					rightCounts[bin] = sweepCount;
+				}
+				setEmpty(sweep, 0);
+				sweepCount = 0;
+				for (int bin = 0; bin < BINS - 1; bin++) {
+					merge(sweep, 0, binBounds, bin * 6);
+					sweepCount += binCounts[bin];
+					if (sweepCount == 0 || rightCounts[bin + 1] == 0) {
+						continue;
+					}
+					float cost = getArea(sweep, 0) * sweepCount
+							+ rightAreas[bin + 1] * rightCounts[bin + 1];
+					if (cost < bestCost) {
+						bestCost = cost;
+						bestAxis = axis;
+						bestBin = bin;
+					}
+				}
+			}
+
+			// Compare the best split with testing every triangle in a leaf.
+			if (bestAxis == -1) {
+				// The centroids all coincide, so no split separates them.
+				// Split the range in half if it is too big for a leaf.
+				if (count <= MAX_LEAF_SIZE) {
+					makeLeaf(node, start, count);
+				} else {
+					split(bins, node, start, start + count / 2, end);
+				}
+				return;
+			}
+			float area = getArea(bounds, b);
+			float splitCost = TRAVERSAL_COST
+					+ (area > 0f ? bestCost / area : count);
+			if (count <= MAX_LEAF_SIZE && splitCost >= count) {
+				makeLeaf(node, start, count);
+				return;
+			}
+
+			// Partition the range so the triangles in bins up to the best bin
+			// come first.
+			float min = centroidMin[bestAxis];
+			float scale = BINS / (centroidMax[bestAxis] - min);
+			int i = start, j = end - 1;
+			while (i <= j) {
+				if (getBin(centroids[order[i] * 3 + bestAxis], min, scale) <= bestBin) {
+					i++;
+				} else {
+					int swap = order[i];
+					order[i] = order[j];
+					order[j--] = swap;
+				}
+			}
+			split(bins, node, start, i, end);
+		}
+
+		/**
+		 * Makes a node an inner node and builds its children, in parallel if
+		 * the node is large. The <i>bins</i> are re-used by the children, so
+		 * the caller must be done with them.
+		 */
+		private void split(Bins bins, int node, int start, int middle,
+				int end) {
+			int left = nextNode.getAndAdd(2);
+			data[node * 2] = left;
+			data[node * 2 + 1] = 0;
+			if (parallel && end - start > PARALLEL_THRESHOLD) {
+				RecursiveAction.invokeAll(new Build(this, left, start, middle),
+						new Build(this, left + 1, middle, end));
+			} else {
+				build(bins, left, start, middle);
+				build(bins, left + 1, middle, end);
+			}
+		}
+
+		private void makeLeaf(int node, int start, int count) {
+			data[node * 2] = start;
+			data[node * 2 + 1] = count;
+		}
+
+		private static int getBin(float centroid, float min, float scale) {
+			int bin = (int) ((centroid - min) * scale);
+			return (bin < BINS ? bin : BINS - 1);
+		}
+
+		private static void setEmpty(float[] box, int offset) {
+			box[offset] = box[offset + 1] = box[offset + 2] = Float.POSITIVE_INFINITY;
+			box[offset + 3] = box[offset + 4] = box[offset + 5] = Float.NEGATIVE_INFINITY;
+		}
+
+		private static void merge(float[] box, int offset, float[] other,
+				int otherOffset) {
+			for (int k = 0; k < 3; k++) {
+				box[offset + k] = Math.min(box[offset + k], other[otherOffset
+						+ k]);
+				box[offset + 3 + k] = Math.max(box[offset + 3 + k],
+						other[otherOffset + 3 + k]);
+			}
+		}
+
+		/**
+		 * Gets half the surface area of a box, which is all the SAH needs.
+		 */
+		private static float getArea(float[] box, int offset) {
+			float x = box[offset + 3] - box[offset];
+			float y = box[offset + 4] - box[offset + 1];
+			float z = box[offset + 5] - box[offset + 2];
+			return x * y + y * z + z * x;
+		}
+	}
+
+	/**
+	 * The scratch space used to find a split. This is re-used for every node
+	 * built by a task rather than allocated for each node.
+	 */
+	private static final class Bins {
+		private final float[] centroidMin = new float[3];
+		private final float[] centroidMax = new float[3];
+		private final int[] counts = new int[BINS];
+		private final float[] bounds = new float[BINS * 6];
+		private final float[] rightAreas = new float[BINS];
+		private final int[] rightCounts = new int[BINS];
+		private final float[] sweep = new float[6];
+	}
+
+	/**
+	 * Builds a subtree on the fork/join pool.
+	 */
+	private static final class Build extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Builder builder;
+		private final int node;
+		private final int start;
+		private final int end;
+
+		private Build(Builder builder, int node, int start, int end) {
+			this.builder = builder;
+			this.node = node;
+			this.start = start;
+			this.end = end;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			builder.build(new Bins(), node, start, end);
+		}
+	}
+}
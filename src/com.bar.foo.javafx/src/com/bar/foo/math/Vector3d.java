@@ -0,0 +1,534 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This class provides a vector composed of 3 doubles. It is the
+ * double-precision counterpart of {@link Vector3f} and is meant for values
+ * that need more precision than a float provides, such as world positions in
+ * scenes that span kilometres but must be accurate to a millimetre.
+ * <p>
+ * Like {@code Vector3f}, methods that return a {@code Vector3d} will return
+ * either a reference to {@code this} or a reference to the specified
+ * <i>cache</i> {@code Vector3d} (or a new {@code Vector3d} if the cache was
+ * specified as {@code null}). {@link #cross(Vector3d)} always returns a new
+ * vector; use {@link #crossLocal(Vector3d)} to overwrite {@code this}.
+ * </p>
+ * <p>
+ * Rendering still happens in single precision. To hand a position to the
+ * renderer, convert its offset from a nearby origin with
+ * {@link #offsetFrom(Vector3d, Vector3f)}, which subtracts in double
+ * precision before rounding, so that the small result keeps its precision.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class Vector3d {
+
+	/**
+	 * The x coordinate of the vector.
+	 */
+	public double x;
+	/**
+	 * The y coordinate of the vector.
+	 */
+	public double y;
+	/**
+	 * The z coordinate of the vector.
+	 */
+	public double z;
+
+	/**
+	 * The default constructor. Creates a zero vector.
+	 */
+	public Vector3d() {
+		x = y = z = 0.0;
+	}
+
+	/**
+	 * Creates a vector with the specified coordinates.
+	 *
+	 * @param x
+	 *            The x coordinate of the vector.
+	 * @param y
+	 *            The y coordinate of the vector.
+	 * @param z
+	 *            The z coordinate of the vector.
+	 */
+	public Vector3d(double x, double y, double z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+	/**
+	 * A copy constructor. Creates a vector with the same values as the
+	 * specified vector or zeroes if the vector is null.
+	 *
+	 * @param vector
+	 *            The vector to copy.
+	 */
+	public Vector3d(Vector3d vector) {
+		if (vector != null) {
+			x = vector.x;
+			y = vector.y;
+			z = vector.z;
+		} else {
+			x = y = z = 0.0;
+		}
+	}
+
+	/**
+	 * Creates a vector with the same values as the specified float vector or
+	 * zeroes if the vector is null.
+	 *
+	 * @param vector
+	 *            The vector to copy.
+	 */
+	public Vector3d(Vector3fc vector) {
+		if (vector != null) {
+			x = vector.x();
+			y = vector.y();
+			z = vector.z();
+		} else {
+			x = y = z = 0.0;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object object) {
+		boolean equals = super.equals(object);
+		if (!equals && object instanceof Vector3d) {
+			Vector3d vector = (Vector3d) object;
+			equals = (Double.compare(x, vector.x) == 0
+					&& Double.compare(y, vector.y) == 0 && Double.compare(z,
+					vector.z) == 0);
+		}
+		return equals;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		long hash = 31 + Double.doubleToLongBits(x);
+		hash = 31 * hash + Double.doubleToLongBits(y);
+		hash = 31 * hash + Double.doubleToLongBits(z);
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	/**
+	 * Gets the length of the vector.
+	 *
+	 * @return The length of the vector.
+	 */
+	public double length() {
+		return Math.sqrt(lengthSquared());
+	}
+
+	/**
+	 * Gets the squared length of the vector. This is cheaper than
+	 * {@link #length()}.
+	 *
+	 * @return The squared length of the vector.
+	 */
+	public double lengthSquared() {
+		return x * x + y * y + z * z;
+	}
+
+	/**
+	 * Sets the vector's coordinates to the supplied values.
+	 *
+	 * @param x
+	 *            The new x value.
+	 * @param y
+	 *            The new y value.
+	 * @param z
+	 *            The new z value.
+	 * @return A reference to this vector.
+	 */
+	public Vector3d set(double x, double y, double z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		return this;
+	}
+
+	/**
+	 * Sets the vector's coordinates to the supplied vector's coordinates.
+	 *
+	 * @param vector
+	 *            The vector containing the new coordinates.
+	 * @return A reference to this vector.
+	 */
+	public Vector3d set(Vector3d vector) {
+		x = vector.x;
+		y = vector.y;
+		z = vector.z;
+		return this;
+	}
+
+	/**
+	 * Sets the vector's coordinates to the supplied float vector's
+	 * coordinates.
+	 *
+	 * @param vector
+	 *            The vector containing the new coordinates.
+	 * @return A reference to this vector.
+	 */
+	public Vector3d set(Vector3fc vector) {
+		x = vector.x();
+		y = vector.y();
+		z = vector.z();
+		return this;
+	}
+
+	/**
+	 * Negates the x, y, and z values of this vector.
+	 *
+	 * @return A reference to this vector.
+	 */
+	public Vector3d negate() {
+		return negate(this);
+	}
+
+	/**
+	 * Negates the x, y, and z values of this vector, but stores the resulting
+	 * values in the specified <i>cache</i> vector.
+	 *
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3d negate(Vector3d cache) {
+		if (cache != null) {
+			cache.x = -x;
+			cache.y = -y;
+			cache.z = -z;
+		} else {
+			cache = new Vector3d(-x, -y, -z);
+		}
+		return cache;
+	}
+
+	/**
+	 * Normalizes the vector's values. After this operation, the vector will be
+	 * a <i>unit</i> vector (i.e., its length is 1). A zero vector is left
+	 * unchanged.
+	 *
+	 * @return A reference to this vector.
+	 */
+	public Vector3d normalize() {
+		return normalize(this);
+	}
+
+	/**
+	 * Normalizes the vector's values, but stores the resulting values in the
+	 * specified <i>cache</i> vector. A zero vector is copied unchanged.
+	 *
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3d normalize(Vector3d cache) {
+		double lengthSquared = lengthSquared();
+		double inverseLength = 1.0;
+		if (lengthSquared != 1.0 && lengthSquared > 0.0) {
+			inverseLength = 1.0 / Math.sqrt(lengthSquared);
+		}
+		return multiply(inverseLength, cache);
+	}
+
+	/**
+	 * Adds the specified values to this vector's x, y, and z values.
+	 *
+	 * @param x
+	 *            The amount to add to the x value.
+	 * @param y
+	 *            The amount to add to the y value.
+	 * @param z
+	 *            The amount to add to the z value.
+	 * @return A reference to this vector.
+	 */
+	public Vector3d add(double x, double y, double z) {
+		return add(x, y, z, this);
+	}
+
+	/**
+	 * Adds the specified vector to this vector.
+	 *
+	 * @param vector
+	 *            The vector to add.
+	 * @return A reference to this vector.
+	 */
+	public Vector3d add(Vector3d vector) {
+		return add(vector.x, vector.y, vector.z, this);
+	}
+
+	/**
+	 * Adds the specified values to this vector's x, y, and z values, but
+	 * stores the resulting values in the specified <i>cache</i> vector.
+	 *
+	 * @param x
+	 *            The amount to add to the x value.
+	 * @param y
+	 *            The amount to add to the y value.
+	 * @param z
+	 *            The amount to add to the z value.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3d add(double x, double y, double z, Vector3d cache) {
+		if (cache != null) {
+			cache.x = this.x + x;
+			cache.y = this.y + y;
+			cache.z = this.z + z;
+		} else {
+			cache = new Vector3d(this.x + x, this.y + y, this.z + z);
+		}
+		return cache;
+	}
+
+	/**
+	 * Adds the specified vector to this vector, but stores the resulting
+	 * values in the specified <i>cache</i> vector.
+	 *
+	 * @param vector
+	 *            The vector to add.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3d add(Vector3d vector, Vector3d cache) {
+		return add(vector.x, vector.y, vector.z, cache);
+	}
+
+	/**
+	 * Subtracts the specified values from this vector's x, y, and z values.
+	 *
+	 * @param x
+	 *            The amount to subtract from the x value.
+	 * @param y
+	 *            The amount to subtract from the y value.
+	 * @param z
+	 *            The amount to subtract from the z value.
+	 * @return A reference to this vector.
+	 */
+	public Vector3d subtract(double x, double y, double z) {
+		return add(-x, -y, -z, this);
+	}
+
+	/**
+	 * Subtracts the specified vector from this vector.
+	 *
+	 * @param vector
+	 *            The vector to subtract.
+	 * @return A reference to this vector.
+	 */
+	public Vector3d subtract(Vector3d vector) {
+		return add(-vector.x, -vector.y, -vector.z, this);
+	}
+
+	/**
+	 * Subtracts the specified values from this vector's x, y, and z values,
+	 * but stores the resulting values in the specified <i>cache</i> vector.
+	 *
+	 * @param x
+	 *            The amount to subtract from the x value.
+	 * @param y
+	 *            The amount to subtract from the y value.
+	 * @param z
+	 *            The amount to subtract from the z value.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3d subtract(double x, double y, double z, Vector3d cache) {
+		return add(-x, -y, -z, cache);
+	}
+
+	/**
+	 * Subtracts the specified vector from this vector, but stores the
+	 * resulting values in the specified <i>cache</i> vector.
+	 *
+	 * @param vector
+	 *            The vector to subtract.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3d subtract(Vector3d vector, Vector3d cache) {
+		return add(-vector.x, -vector.y, -vector.z, cache);
+	}
+
+	/**
+	 * Multiplies this vector's x, y, and z values by the specified scalar.
+	 *
+	 * @param scalar
+	 *            The scalar to multiply.
+	 * @return A reference to this vector.
+	 */
+	public Vector3d multiply(double scalar) {
+		return multiply(scalar, this);
+	}
+
+	/**
+	 * Multiplies this vector's x, y, and z values by the specified scalar, but
+	 * stores the resulting values in the specified <i>cache</i> vector.
+	 *
+	 * @param scalar
+	 *            The scalar to multiply.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3d multiply(double scalar, Vector3d cache) {
+		if (cache != null) {
+			cache.x = x * scalar;
+			cache.y = y * scalar;
+			cache.z = z * scalar;
+		} else {
+			cache = new Vector3d(x * scalar, y * scalar, z * scalar);
+		}
+		return cache;
+	}
+
+	/**
+	 * Computes the dot product of this vector and the specified vector.
+	 *
+	 * @param vector
+	 *            The other vector.
+	 * @return The dot product.
+	 */
+	public double dot(Vector3d vector) {
+		return x * vector.x + y * vector.y + z * vector.z;
+	}
+
+	/**
+	 * Computes the cross product of this vector and the specified vector. The
+	 * result is stored in a <i>new</i> vector.
+	 *
+	 * @param vector
+	 *            The other vector.
+	 * @return A new vector containing the cross product.
+	 */
+	public Vector3d cross(Vector3d vector) {
+		return cross(vector, null);
+	}
+
+	/**
+	 * Computes the cross product of this vector and the specified vector, and
+	 * stores the resulting values in the specified <i>cache</i> vector. It is
+	 * safe for the cache to be either vector.
+	 *
+	 * @param vector
+	 *            The other vector.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3d cross(Vector3d vector, Vector3d cache) {
+		double crossX = y * vector.z - z * vector.y;
+		double crossY = z * vector.x - x * vector.z;
+		double crossZ = x * vector.y - y * vector.x;
+		if (cache != null) {
+			cache.set(crossX, crossY, crossZ);
+		} else {
+			cache = new Vector3d(crossX, crossY, crossZ);
+		}
+		return cache;
+	}
+
+	/**
+	 * Computes the cross product of this vector and the specified vector, and
+	 * stores the result in this vector.
+	 *
+	 * @param vector
+	 *            The other vector.
+	 * @return A reference to this vector.
+	 */
+	public Vector3d crossLocal(Vector3d vector) {
+		return cross(vector, this);
+	}
+
+	/**
+	 * Computes the distance between this vector and the specified vector.
+	 *
+	 * @param vector
+	 *            The other vector.
+	 * @return The distance between the two vectors.
+	 */
+	public double distance(Vector3d vector) {
+		return Math.sqrt(distanceSquared(vector));
+	}
+
+	/**
+	 * Computes the squared distance between this vector and the specified
+	 * vector. This is cheaper than {@link #distance(Vector3d)}.
+	 *
+	 * @param vector
+	 *            The other vector.
+	 * @return The squared distance between the two vectors.
+	 */
+	public double distanceSquared(Vector3d vector) {
+		double dx = x - vector.x;
+		double dy = y - vector.y;
+		double dz = z - vector.z;
+		return dx * dx + dy * dy + dz * dz;
+	}
+
+	// ---- Single-precision Conversion ---- //
+	/**
+	 * Rounds this vector to single precision and stores the result in the
+	 * <i>cache</i>.
+	 *
+	 * @param cache
+	 *            The vector in which to store the rounded values. If
+	 *            {@code null}, a new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3f toVector3f(Vector3f cache) {
+		if (cache != null) {
+			cache.set((float) x, (float) y, (float) z);
+		} else {
+			cache = new Vector3f((float) x, (float) y, (float) z);
+		}
+		return cache;
+	}
+
+	/**
+	 * Computes the offset of this vector from an origin and rounds it to
+	 * single precision. The subtraction is performed in double precision, so
+	 * the offset is accurate even when both vectors are far from zero.
+	 *
+	 * @param origin
+	 *            The origin from which to measure the offset.
+	 * @param cache
+	 *            The vector in which to store the offset. If {@code null}, a
+	 *            new vector is created.
+	 * @return The <i>cache</i> vector.
+	 */
+	public Vector3f offsetFrom(Vector3d origin, Vector3f cache) {
+		float offsetX = (float) (x - origin.x);
+		float offsetY = (float) (y - origin.y);
+		float offsetZ = (float) (z - origin.z);
+		if (cache != null) {
+			cache.set(offsetX, offsetY, offsetZ);
+		} else {
+			cache = new Vector3f(offsetX, offsetY, offsetZ);
+		}
+		return cache;
+	}
+	// ------------------------------------- //
+}
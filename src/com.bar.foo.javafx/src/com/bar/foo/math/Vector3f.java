@@ -12,24 +12,24 @@ package com.bar.foo.math;
  * Methods that return a {@code Vector3f} will return either a reference to
  * {@code this} or a reference to the specified <i>cache</i> {@code Vector3f}
  * (or a new {@code Vector3f} if the cache was specified as {@code null}). The
- * exception to this rule is {@link #cross(Vector3f)}, which <i>always returns a
- * new {@code Vector3f} containing the cross product by default</i>. If you wish
- * to compute the cross product and overwrite the contents of {@code this}, you
- * may use {@link #crossLocal(Vector3f)} instead.
+ * exception to this rule is {@link #cross(Vector3fc)}, which <i>always returns
+ * a new {@code Vector3f} containing the cross product by default</i>. If you
+ * wish to compute the cross product and overwrite the contents of
+ * {@code this}, you may use {@link #crossLocal(Vector3fc)} instead.
  * </p>
  * <p>
  * This class additionally provides static vectors representing the zero,
- * identity, and unit vectors as a convenience. Note that if you plan to
- * manipulate these values, <b>DO NOT MANIPULATE THESE VALUES!</b> Instead, use
- * <b><i>copies</i></b> of them by calling the copy constructor, e.g.,
- * {@code new Vector3f(Vector3f.ZERO)} or by using them with the set operation,
- * e.g., {@code myVector.set(Vector3f.IDENTITY)}.
+ * identity, and unit vectors as a convenience. These are read-only
+ * {@link Vector3fc}s that cannot be modified, so they can be passed directly
+ * to any method that only reads a vector. To get a modifiable vector, use the
+ * copy constructor, e.g., {@code new Vector3f(Vector3f.ZERO)}, or the set
+ * operation, e.g., {@code myVector.set(Vector3f.IDENTITY)}.
  * </p>
  * 
  * @author Jordan Deyton
  *
  */
-public class Vector3f {
+public class Vector3f implements Vector3fc {
 
 	/**
 	 * The x coordinate of the vector.
@@ -45,50 +45,26 @@ public class Vector3f {
 	public float z;
 
 	/**
-	 * The zero-vector.
-	 * <p>
-	 * <b>DO NOT MANIPULATE THIS VECTOR!</b> Instead, use a <b><i>copy</i></b>
-	 * of it by calling the copy constructor, e.g.,
-	 * {@code new Vector3f(Vector3f.ZERO)}.
-	 * </p>
+	 * The zero-vector. This vector cannot be modified.
 	 */
-	public static final Vector3f ZERO = new Vector3f();
+	public static final Vector3fc ZERO = new Constant(0f, 0f, 0f);
 	/**
-	 * The unit-x vector.
-	 * <p>
-	 * <b>DO NOT MANIPULATE THIS VECTOR!</b> Instead, use a <b><i>copy</i></b>
-	 * of it by calling the copy constructor, e.g.,
-	 * {@code new Vector3f(Vector3f.UNIT_X)} .
-	 * </p>
+	 * The unit-x vector. This vector cannot be modified.
 	 */
-	public static final Vector3f UNIT_X = new Vector3f(1f, 0f, 0f);
+	public static final Vector3fc UNIT_X = new Constant(1f, 0f, 0f);
 	/**
-	 * The unit-y vector.
-	 * <p>
-	 * <b>DO NOT MANIPULATE THIS VECTOR!</b> Instead, use a <b><i>copy</i></b>
-	 * of it by calling the copy constructor, e.g.,
-	 * {@code new Vector3f(Vector3f.UNIT_Y)} .
-	 * </p>
+	 * The unit-y vector. This vector cannot be modified.
 	 */
-	public static final Vector3f UNIT_Y = new Vector3f(0f, 1f, 0f);
+	public static final Vector3fc UNIT_Y = new Constant(0f, 1f, 0f);
 	/**
-	 * The unit-z vector.
-	 * <p>
-	 * <b>DO NOT MANIPULATE THIS VECTOR!</b> Instead, use a <b><i>copy</i></b>
-	 * of it by calling the copy constructor, e.g.,
-	 * {@code new Vector3f(Vector3f.UNIT_Z)} .
-	 * </p>
+	 * The unit-z vector. This vector cannot be modified.
 	 */
-	public static final Vector3f UNIT_Z = new Vector3f(0f, 0f, 1f);
+	public static final Vector3fc UNIT_Z = new Constant(0f, 0f, 1f);
 	/**
-	 * The identity vector. It does NOT have unit length!
-	 * <p>
-	 * <b>DO NOT MANIPULATE THIS VECTOR!</b> Instead, use a <b><i>copy</i></b>
-	 * of it by calling the copy constructor, e.g.,
-	 * {@code new Vector3f(Vector3f.IDENTITY)}.
-	 * </p>
+	 * The identity vector. It does NOT have unit length! This vector cannot be
+	 * modified.
 	 */
-	public static final Vector3f IDENTITY = new Vector3f(1f, 1f, 1f);
+	public static final Vector3fc IDENTITY = new Constant(1f, 1f, 1f);
 
 	/**
 	 * The default constructor. Creates a zero vector.
@@ -120,11 +96,11 @@ public class Vector3f {
 	 * @param vector
 	 *            The vector to copy.
 	 */
-	public Vector3f(Vector3f vector) {
+	public Vector3f(Vector3fc vector) {
 		if (vector != null) {
-			x = vector.x;
-			y = vector.y;
-			z = vector.z;
+			x = vector.x();
+			y = vector.y();
+			z = vector.z();
 		} else {
 			x = y = z = 0f;
 		}
@@ -138,11 +114,11 @@ public class Vector3f {
 	@Override
 	public boolean equals(Object object) {
 		boolean equals = super.equals(object);
-		if (!equals && object instanceof Vector3f) {
-			Vector3f vector = (Vector3f) object;
-			equals = (Float.compare(x, vector.x) == 0
-					&& Float.compare(y, vector.y) == 0 && Float.compare(z,
-					vector.z) == 0);
+		if (!equals && object instanceof Vector3fc) {
+			Vector3fc vector = (Vector3fc) object;
+			equals = (Float.compare(x, vector.x()) == 0
+					&& Float.compare(y, vector.y()) == 0 && Float.compare(z,
+					vector.z()) == 0);
 		}
 		return equals;
 	}
@@ -159,6 +135,36 @@ public class Vector3f {
 		return hash * 31 + Float.hashCode(z);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Vector3fc#x()
+	 */
+	@Override
+	public float x() {
+		return x;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Vector3fc#y()
+	 */
+	@Override
+	public float y() {
+		return y;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.bar.foo.math.Vector3fc#z()
+	 */
+	@Override
+	public float z() {
+		return z;
+	}
+
 	/**
 	 * Computes the length of the vector.
 	 * 
@@ -205,10 +211,10 @@ public class Vector3f {
 	 *            The vector containing the new coordinates.
 	 * @return A reference to this vector.
 	 */
-	public Vector3f set(Vector3f vector) {
-		x = vector.x;
-		y = vector.y;
-		z = vector.z;
+	public Vector3f set(Vector3fc vector) {
+		x = vector.x();
+		y = vector.y();
+		z = vector.z();
 		return this;
 	}
 
@@ -293,6 +299,46 @@ public class Vector3f {
 		return cache;
 	}
 
+	/**
+	 * Normalizes the vector's values with a fast approximation. This is faster
+	 * than {@link #normalize()}, but the length of the resulting vector may be
+	 * off by up to 1.76e-3 (or 1e-6 if the vector was already close to unit
+	 * length). Use this for visual-only work.
+	 * 
+	 * @return A reference to this vector.
+	 */
+	public Vector3f normalizeFast() {
+		return normalizeFast(this);
+	}
+
+	/**
+	 * Normalizes the vector's values with a fast approximation, but stores the
+	 * resulting values in the specified <i>cache</i> vector. See
+	 * {@link #normalizeFast()} for the error bounds.
+	 * 
+	 * @param cache
+	 *            The vector in which to store the computed values. If
+	 *            {@code null}, a new vector is created.
+	 * @return The <i>cache</i> vector.
+	 * @see FloatMath#invSqrtFast(float)
+	 */
+	public Vector3f normalizeFast(Vector3f cache) {
+		float lengthSquared = lengthSquared();
+		float inverseLength = 1f;
+		if (lengthSquared != 1f && lengthSquared > 0f) {
+			inverseLength = FloatMath.invSqrtFast(lengthSquared);
+		}
+		if (cache != null) {
+			cache.x = x * inverseLength;
+			cache.y = y * inverseLength;
+			cache.z = z * inverseLength;
+		} else {
+			cache = new Vector3f(x * inverseLength, y * inverseLength, z
+					* inverseLength);
+		}
+		return cache;
+	}
+
 	/**
 	 * Adds the specified x, y, and z values to this vector's coordinates.
 	 * 
@@ -319,10 +365,10 @@ public class Vector3f {
 	 *            vector's coordinates.
 	 * @return A reference to this vector.
 	 */
-	public Vector3f add(Vector3f vector) {
-		x += vector.x;
-		y += vector.y;
-		z += vector.z;
+	public Vector3f add(Vector3fc vector) {
+		x += vector.x();
+		y += vector.y();
+		z += vector.z();
 		return this;
 	}
 
@@ -362,13 +408,14 @@ public class Vector3f {
 	 *            The vector in which to store the computed values.
 	 * @return The <i>cache</i> vector.
 	 */
-	public Vector3f add(Vector3f vector, Vector3f cache) {
+	public Vector3f add(Vector3fc vector, Vector3f cache) {
 		if (cache != null) {
-			cache.x = x + vector.x;
-			cache.y = y + vector.y;
-			cache.z = z + vector.z;
+			cache.x = x + vector.x();
+			cache.y = y + vector.y();
+			cache.z = z + vector.z();
 		} else {
-			cache = new Vector3f(x + vector.x, y + vector.y, z + vector.z);
+			cache = new Vector3f(x + vector.x(), y + vector.y(), z
+					+ vector.z());
 		}
 		return cache;
 	}
@@ -401,10 +448,10 @@ public class Vector3f {
 	 *            this vector's coordinates.
 	 * @return A reference to this vector.
 	 */
-	public Vector3f subtract(Vector3f vector) {
-		x -= vector.x;
-		y -= vector.y;
-		z -= vector.z;
+	public Vector3f subtract(Vector3fc vector) {
+		x -= vector.x();
+		y -= vector.y();
+		z -= vector.z();
 		return this;
 	}
 
@@ -447,13 +494,14 @@ public class Vector3f {
 	 *            The vector in which to store the computed values.
 	 * @return The <i>cache</i> vector.
 	 */
-	public Vector3f subtract(Vector3f vector, Vector3f cache) {
+	public Vector3f subtract(Vector3fc vector, Vector3f cache) {
 		if (cache != null) {
-			cache.x = x - vector.x;
-			cache.y = y - vector.y;
-			cache.z = z - vector.z;
+			cache.x = x - vector.x();
+			cache.y = y - vector.y();
+			cache.z = z - vector.z();
 		} else {
-			cache = new Vector3f(x - vector.x, y - vector.y, z - vector.z);
+			cache = new Vector3f(x - vector.x(), y - vector.y(), z
+					- vector.z());
 		}
 		return cache;
 	}
@@ -554,8 +602,8 @@ public class Vector3f {
 	 *            The opposite vector in the dot product.
 	 * @return The scalar dot product value.
 	 */
-	public float dot(Vector3f vector) {
-		return x * vector.x + y * vector.y + z * vector.z;
+	public float dot(Vector3fc vector) {
+		return x * vector.x() + y * vector.y() + z * vector.z();
 	}
 
 	/**
@@ -572,9 +620,9 @@ public class Vector3f {
 	 *            The opposite vector in the cross product.
 	 * @return The cross product between this vector and the supplied vector.
 	 *         <b>This is a <i>new</i> {@code Vector3f}!!!</b>
-	 * @see #crossLocal(Vector3f)
+	 * @see #crossLocal(Vector3fc)
 	 */
-	public Vector3f cross(Vector3f vector) {
+	public Vector3f cross(Vector3fc vector) {
 		return cross(vector, null);
 	}
 
@@ -595,10 +643,10 @@ public class Vector3f {
 	 * @return The cross product between this vector and the supplied vector.
 	 *         <b>This is the <i>cache</i> {@code Vector3f}!!!</b>
 	 */
-	public Vector3f cross(Vector3f vector, Vector3f cache) {
-		float cx = y * vector.z - z * vector.y;
-		float cy = z * vector.x - x * vector.z;
-		float cz = x * vector.y - y * vector.x;
+	public Vector3f cross(Vector3fc vector, Vector3f cache) {
+		float cx = y * vector.z() - z * vector.y();
+		float cy = z * vector.x() - x * vector.z();
+		float cz = x * vector.y() - y * vector.x();
 		if (cache != null) {
 			cache.x = cx;
 			cache.y = cy;
@@ -619,13 +667,13 @@ public class Vector3f {
 	 *         product between this vector's previous values and the supplied
 	 *         vector.
 	 * 
-	 * @see #cross(Vector3f)
+	 * @see #cross(Vector3fc)
 	 */
-	public Vector3f crossLocal(Vector3f vector) {
+	public Vector3f crossLocal(Vector3fc vector) {
 		// This has been shortened to as few operations as possible.
-		float x = y * vector.z - z * vector.y;
-		float y = z * vector.x - this.x * vector.z;
-		z = this.x * vector.y - this.y * vector.x;
+		float x = y * vector.z() - z * vector.y();
+		float y = z * vector.x() - this.x * vector.z();
+		z = this.x * vector.y() - this.y * vector.x();
 		this.x = x;
 		this.y = y;
 		return this;
@@ -639,7 +687,7 @@ public class Vector3f {
 	 *            calculated.
 	 * @return The distance between this vector and the supplied vector.
 	 */
-	public float distance(Vector3f vector) {
+	public float distance(Vector3fc vector) {
 		return FloatMath.sqrt(distanceSquared(vector));
 	}
 
@@ -653,11 +701,145 @@ public class Vector3f {
 	 * @return The distance (squared) between this vector and the supplied
 	 *         vector.
 	 */
-	public float distanceSquared(Vector3f vector) {
-		double distX = x - vector.x;
-		double distY = y - vector.y;
-		double distZ = z - vector.z;
+	public float distanceSquared(Vector3fc vector) {
+		double distX = x - vector.x();
+		double distY = y - vector.y();
+		double distZ = z - vector.z();
 		return (float) (distX * distX + distY * distY + distZ * distZ);
 	}
 
+	/**
+	 * Creates a read-only vector that cannot be modified, e.g. for use as a
+	 * constant.
+	 * 
+	 * @param x
+	 *            The x coordinate of the vector.
+	 * @param y
+	 *            The y coordinate of the vector.
+	 * @param z
+	 *            The z coordinate of the vector.
+	 * @return A new read-only vector.
+	 */
+	public static Vector3fc constant(float x, float y, float z) {
+		return new Constant(x, y, z);
+	}
+
+	/**
+	 * A read-only vector that cannot be modified. It delegates to a private
+	 * vector that is never exposed.
+	 */
+	private static final class Constant implements Vector3fc {
+
+		private final Vector3f vector;
+
+		private Constant(float x, float y, float z) {
+			vector = new Vector3f(x, y, z);
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			return object == this || vector.equals(object);
+		}
+
+		@Override
+		public int hashCode() {
+			return vector.hashCode();
+		}
+
+		@Override
+		public float x() {
+			return vector.x;
+		}
+
+		@Override
+		public float y() {
+			return vector.y;
+		}
+
+		@Override
+		public float z() {
+			return vector.z;
+		}
+
+		@Override
+		public float length() {
+			return vector.length();
+		}
+
+		@Override
+		public float lengthSquared() {
+			return vector.lengthSquared();
+		}
+
+		@Override
+		public Vector3f negate(Vector3f cache) {
+			return vector.negate(cache);
+		}
+
+		@Override
+		public Vector3f normalize(Vector3f cache) {
+			return vector.normalize(cache);
+		}
+
+		@Override
+		public Vector3f normalizeFast(Vector3f cache) {
+			return vector.normalizeFast(cache);
+		}
+
+		@Override
+		public Vector3f add(float x, float y, float z, Vector3f cache) {
+			return vector.add(x, y, z, cache);
+		}
+
+		@Override
+		public Vector3f add(Vector3fc vector, Vector3f cache) {
+			return this.vector.add(vector, cache);
+		}
+
+		@Override
+		public Vector3f subtract(float x, float y, float z, Vector3f cache) {
+			return vector.subtract(x, y, z, cache);
+		}
+
+		@Override
+		public Vector3f subtract(Vector3fc vector, Vector3f cache) {
+			return this.vector.subtract(vector, cache);
+		}
+
+		@Override
+		public Vector3f multiply(float scalar, Vector3f cache) {
+			return vector.multiply(scalar, cache);
+		}
+
+		@Override
+		public Vector3f multiply(float xScale, float yScale, float zScale,
+				Vector3f cache) {
+			return vector.multiply(xScale, yScale, zScale, cache);
+		}
+
+		@Override
+		public float dot(Vector3fc vector) {
+			return this.vector.dot(vector);
+		}
+
+		@Override
+		public Vector3f cross(Vector3fc vector) {
+			return this.vector.cross(vector);
+		}
+
+		@Override
+		public Vector3f cross(Vector3fc vector, Vector3f cache) {
+			return this.vector.cross(vector, cache);
+		}
+
+		@Override
+		public float distance(Vector3fc vector) {
+			return this.vector.distance(vector);
+		}
+
+		@Override
+		public float distanceSquared(Vector3fc vector) {
+			return this.vector.distanceSquared(vector);
+		}
+	}
 }
@@ -0,0 +1,667 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This class provides a packed array of 3-float vectors for bulk geometry
+ * math. Instead of an array of {@link Vector3f} objects, the x, y, and z
+ * coordinates are stored in three separate float arrays (a
+ * "structure of arrays"). This keeps the coordinates contiguous in memory and
+ * lets each bulk operation be written as a simple counted loop over primitive
+ * arrays, which the JIT compiler can unroll and auto-vectorize.
+ * <p>
+ * All bulk operations work on a range of vectors given by an <i>offset</i> (the
+ * index of the first vector) and a <i>count</i> (the number of vectors).
+ * Operations either modify {@code this} array or store their results in a
+ * <i>cache</i> array, which must be at least as large as the range. It is
+ * safe for the cache to be {@code this} array or one of the arguments.
+ * </p>
+ * <p>
+ * To exchange data with APIs that expect interleaved coordinates (x0, y0, z0,
+ * x1, y1, z1, ...), such as mesh point arrays, use
+ * {@link #fromInterleaved(float[], int, int, int)} and
+ * {@link #toInterleaved(float[], int, int, int)}.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public class Vector3fArray {
+
+	/**
+	 * The x coordinates of the vectors.
+	 */
+	public final float[] x;
+	/**
+	 * The y coordinates of the vectors.
+	 */
+	public final float[] y;
+	/**
+	 * The z coordinates of the vectors.
+	 */
+	public final float[] z;
+
+	/**
+	 * The number of vectors in the array.
+	 */
+	private final int size;
+
+	/**
+	 * A matrix used to store rotations computed from quaternions, so that
+	 * rotating the array does not create a new matrix.
+	 */
+	private final Matrix3f rotationMatrix = new Matrix3f();
+
+	/**
+	 * Creates an array of zero vectors.
+	 *
+	 * @param size
+	 *            The number of vectors in the array. This must not be
+	 *            negative.
+	 */
+	public Vector3fArray(int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("Vector3fArray error: "
+					+ "The size cannot be negative.");
+		}
+		this.size = size;
+		x = new float[size];
+		y = new float[size];
+		z = new float[size];
+		return;
+	}
+
+	/**
+	 * A copy constructor. Creates an array with the same size and values as
+	 * the specified array.
+	 *
+	 * @param array
+	 *            The array to copy.
+	 */
+	public Vector3fArray(Vector3fArray array) {
+		size = array.size;
+		x = array.x.clone();
+		y = array.y.clone();
+		z = array.z.clone();
+		return;
+	}
+
+	/**
+	 * Gets the number of vectors in the array.
+	 *
+	 * @return The size of the array.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the vector at the specified index and stores it in the <i>cache</i>
+	 * vector.
+	 *
+	 * @param index
+	 *            The index of the vector.
+	 * @param cache
+	 *            The vector in which to store the values.
+	 * @return The <i>cache</i> vector, or a new vector if the cache was null.
+	 */
+	public Vector3f get(int index, Vector3f cache) {
+		if (cache != null) {
+			cache.set(x[index], y[index], z[index]);
+		} else {
+			cache = new Vector3f(x[index], y[index], z[index]);
+		}
+		return cache;
+	}
+
+	/**
+	 * Sets the vector at the specified index.
+	 *
+	 * @param index
+	 *            The index of the vector.
+	 * @param x
+	 *            The new x value.
+	 * @param y
+	 *            The new y value.
+	 * @param z
+	 *            The new z value.
+	 * @return A reference to this array.
+	 */
+	public Vector3fArray set(int index, float x, float y, float z) {
+		this.x[index] = x;
+		this.y[index] = y;
+		this.z[index] = z;
+		return this;
+	}
+
+	/**
+	 * Sets the vector at the specified index.
+	 *
+	 * @param index
+	 *            The index of the vector.
+	 * @param vector
+	 *            The vector containing the new coordinates.
+	 * @return A reference to this array.
+	 */
+	public Vector3fArray set(int index, Vector3fc vector) {
+		x[index] = vector.x();
+		y[index] = vector.y();
+		z[index] = vector.z();
+		return this;
+	}
+
+	// ---- Interleaved Conversions ---- //
+
+	/**
+	 * Loads vectors from an interleaved array (x0, y0, z0, x1, y1, z1, ...).
+	 *
+	 * @param source
+	 *            The interleaved source array.
+	 * @param sourceOffset
+	 *            The index of the first float to read in the source array.
+	 * @param offset
+	 *            The index of the first vector to write in this array.
+	 * @param count
+	 *            The number of vectors to load.
+	 * @return A reference to this array.
+	 */
+	public Vector3fArray fromInterleaved(float[] source, int sourceOffset,
+			int offset, int count) {
+		checkRange(offset, count);
+		for (int i = 0, j = sourceOffset; i < count; i++, j += 3) {
+			x[offset + i] = source[j];
+			y[offset + i] = source[j + 1];
+			z[offset + i] = source[j + 2];
+		}
+		return this;
+	}
+
+	/**
+	 * Stores vectors in an interleaved array (x0, y0, z0, x1, y1, z1, ...).
+	 *
+	 * @param destination
+	 *            The interleaved destination array.
+	 * @param destinationOffset
+	 *            The index of the first float to write in the destination
+	 *            array.
+	 * @param offset
+	 *            The index of the first vector to read in this array.
+	 * @param count
+	 *            The number of vectors to store.
+	 * @return The destination array.
+	 */
+	public float[] toInterleaved(float[] destination, int destinationOffset,
+			int offset, int count) {
+		checkRange(offset, count);
+		for (int i = 0, j = destinationOffset; i < count; i++, j += 3) {
+			destination[j] = x[offset + i];
+			destination[j + 1] = y[offset + i];
+			destination[j + 2] = z[offset + i];
+		}
+		return destination;
+	}
+
+	// -------------------------------- //
+
+	// ---- Bulk Arithmetic ---- //
+
+	/**
+	 * Adds the specified vector to each vector in the range.
+	 *
+	 * @param vector
+	 *            The vector to add.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return A reference to this array.
+	 */
+	public Vector3fArray add(Vector3fc vector, int offset, int count) {
+		checkRange(offset, count);
+		final float vx = vector.x();
+		final float vy = vector.y();
+		final float vz = vector.z();
+		final int end = offset + count;
+		for (int i = offset; i < end; i++) {
+			x[i] += vx;
+		}
+		for (int i = offset; i < end; i++) {
+			y[i] += vy;
+		}
+		for (int i = offset; i < end; i++) {
+			z[i] += vz;
+		}
+		return this;
+	}
+
+	/**
+	 * Adds the vectors in the specified array to the vectors in this array.
+	 *
+	 * @param array
+	 *            The array whose vectors will be added to this one.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return A reference to this array.
+	 */
+	public Vector3fArray add(Vector3fArray array, int offset, int count) {
+		return add(array, this, offset, count);
+	}
+
+	/**
+	 * Adds the vectors in the specified array to the vectors in this array,
+	 * but stores the results in the <i>cache</i> array.
+	 *
+	 * @param array
+	 *            The array whose vectors will be added to this one.
+	 * @param cache
+	 *            The array in which to store the computed values.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return The <i>cache</i> array.
+	 */
+	public Vector3fArray add(Vector3fArray array, Vector3fArray cache,
+			int offset, int count) {
+		checkRange(offset, count);
+		array.checkRange(offset, count);
+		cache.checkRange(offset, count);
+		add(x, array.x, cache.x, offset, count);
+		add(y, array.y, cache.y, offset, count);
+		add(z, array.z, cache.z, offset, count);
+		return cache;
+	}
+
+	/**
+	 * Subtracts the specified vector from each vector in the range.
+	 *
+	 * @param vector
+	 *            The vector to subtract.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return A reference to this array.
+	 */
+	public Vector3fArray subtract(Vector3fc vector, int offset, int count) {
+		checkRange(offset, count);
+		final float vx = vector.x();
+		final float vy = vector.y();
+		final float vz = vector.z();
+		final int end = offset + count;
+		for (int i = offset; i < end; i++) {
+			x[i] -= vx;
+		}
+		for (int i = offset; i < end; i++) {
+			y[i] -= vy;
+		}
+		for (int i = offset; i < end; i++) {
+			z[i] -= vz;
+		}
+		return this;
+	}
+
+	/**
+	 * Subtracts the vectors in the specified array from the vectors in this
+	 * array.
+	 *
+	 * @param array
+	 *            The array whose vectors will be subtracted from this one.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return A reference to this array.
+	 */
+	public Vector3fArray subtract(Vector3fArray array, int offset, int count) {
+		return subtract(array, this, offset, count);
+	}
+
+	/**
+	 * Subtracts the vectors in the specified array from the vectors in this
+	 * array, but stores the results in the <i>cache</i> array.
+	 *
+	 * @param array
+	 *            The array whose vectors will be subtracted from this one.
+	 * @param cache
+	 *            The array in which to store the computed values.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return The <i>cache</i> array.
+	 */
+	public Vector3fArray subtract(Vector3fArray array, Vector3fArray cache,
+			int offset, int count) {
+		checkRange(offset, count);
+		array.checkRange(offset, count);
+		cache.checkRange(offset, count);
+		subtract(x, array.x, cache.x, offset, count);
+		subtract(y, array.y, cache.y, offset, count);
+		subtract(z, array.z, cache.z, offset, count);
+		return cache;
+	}
+
+	/**
+	 * Multiplies or scales each vector in the range by the scalar argument.
+	 *
+	 * @param scalar
+	 *            The scalar value by which the coordinates are multiplied.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return A reference to this array.
+	 */
+	public Vector3fArray multiply(float scalar, int offset, int count) {
+		return multiply(scalar, this, offset, count);
+	}
+
+	/**
+	 * Multiplies or scales each vector in the range by the scalar argument,
+	 * but stores the results in the <i>cache</i> array.
+	 *
+	 * @param scalar
+	 *            The scalar value by which the coordinates are multiplied.
+	 * @param cache
+	 *            The array in which to store the computed values.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return The <i>cache</i> array.
+	 */
+	public Vector3fArray multiply(float scalar, Vector3fArray cache,
+			int offset, int count) {
+		checkRange(offset, count);
+		cache.checkRange(offset, count);
+		multiply(x, scalar, cache.x, offset, count);
+		multiply(y, scalar, cache.y, offset, count);
+		multiply(z, scalar, cache.z, offset, count);
+		return cache;
+	}
+
+	/**
+	 * Computes the dot product between each vector in this array and the
+	 * corresponding vector in the specified array.
+	 *
+	 * @param array
+	 *            The opposite array in the dot products.
+	 * @param cache
+	 *            The array in which to store the dot products. The dot product
+	 *            for vector <i>i</i> is stored at index <i>i</i>.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return The <i>cache</i> array, or a new array of size
+	 *         {@code offset + count} if the cache was null.
+	 */
+	public float[] dot(Vector3fArray array, float[] cache, int offset,
+			int count) {
+		checkRange(offset, count);
+		array.checkRange(offset, count);
+		final int end = offset + count;
+		if (cache == null) {
+			cache = new float[end];
+		}
+		final float[] ax = array.x;
+		final float[] ay = array.y;
+		final float[] az = array.z;
+		for (int i = offset; i < end; i++) {
+			cache[i] = x[i] * ax[i] + y[i] * ay[i] + z[i] * az[i];
+		}
+		return cache;
+	}
+
+	/**
+	 * Computes the cross product between each vector in this array and the
+	 * corresponding vector in the specified array, storing the results in the
+	 * <i>cache</i> array.
+	 *
+	 * @param array
+	 *            The opposite array in the cross products.
+	 * @param cache
+	 *            The array in which to store the computed values.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return The <i>cache</i> array.
+	 */
+	public Vector3fArray cross(Vector3fArray array, Vector3fArray cache,
+			int offset, int count) {
+		checkRange(offset, count);
+		array.checkRange(offset, count);
+		cache.checkRange(offset, count);
+		final float[] ax = array.x;
+		final float[] ay = array.y;
+		final float[] az = array.z;
+		final float[] cx = cache.x;
+		final float[] cy = cache.y;
+		final float[] cz = cache.z;
+		final int end = offset + count;
+		for (int i = offset; i < end; i++) {
+			// Read everything first in case the cache is one of the inputs.
+			float ux = x[i], uy = y[i], uz = z[i];
+			float vx = ax[i], vy = ay[i], vz = az[i];
+			cx[i] = uy * vz - uz * vy;
+			cy[i] = uz * vx - ux * vz;
+			cz[i] = ux * vy - uy * vx;
+		}
+		return cache;
+	}
+
+	/**
+	 * Normalizes each vector in the range. Zero-length vectors are left
+	 * unchanged.
+	 *
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return A reference to this array.
+	 */
+	public Vector3fArray normalize(int offset, int count) {
+		checkRange(offset, count);
+		final int end = offset + count;
+		for (int i = offset; i < end; i++) {
+			float lengthSquared = x[i] * x[i] + y[i] * y[i] + z[i] * z[i];
+			// Use a multiplier of 1 for zero vectors rather than branching on
+			// the coordinate updates.
+			float inverseLength = lengthSquared > 0f ? 1f / FloatMath
+					.sqrt(lengthSquared) : 1f;
+			x[i] *= inverseLength;
+			y[i] *= inverseLength;
+			z[i] *= inverseLength;
+		}
+		return this;
+	}
+
+	/**
+	 * Linearly interpolates each vector in the range toward the corresponding
+	 * vector in the specified array, storing the results in the <i>cache</i>
+	 * array. The result is {@code this + t * (array - this)}.
+	 *
+	 * @param array
+	 *            The target array.
+	 * @param t
+	 *            The interpolation factor. 0 yields this array, 1 yields the
+	 *            target array.
+	 * @param cache
+	 *            The array in which to store the computed values.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return The <i>cache</i> array.
+	 */
+	public Vector3fArray lerp(Vector3fArray array, float t,
+			Vector3fArray cache, int offset, int count) {
+		checkRange(offset, count);
+		array.checkRange(offset, count);
+		cache.checkRange(offset, count);
+		lerp(x, array.x, t, cache.x, offset, count);
+		lerp(y, array.y, t, cache.y, offset, count);
+		lerp(z, array.z, t, cache.z, offset, count);
+		return cache;
+	}
+
+	// ------------------------- //
+
+	// ---- Bulk Transformations ---- //
+
+	/**
+	 * Multiplies each vector in the range by the specified matrix (i.e., each
+	 * vector <i>v</i> becomes <i>Mv</i>).
+	 *
+	 * @param matrix
+	 *            The matrix to apply.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return A reference to this array.
+	 */
+	public Vector3fArray multiply(Matrix3fc matrix, int offset, int count) {
+		return multiply(matrix, this, offset, count);
+	}
+
+	/**
+	 * Multiplies each vector in the range by the specified matrix (i.e., each
+	 * vector <i>v</i> becomes <i>Mv</i>), but stores the results in the
+	 * <i>cache</i> array.
+	 *
+	 * @param matrix
+	 *            The matrix to apply.
+	 * @param cache
+	 *            The array in which to store the computed values.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return The <i>cache</i> array.
+	 */
+	public Vector3fArray multiply(Matrix3fc matrix, Vector3fArray cache,
+			int offset, int count) {
+		checkRange(offset, count);
+		cache.checkRange(offset, count);
+		// Copy the matrix into locals so the loop body only touches arrays.
+		final float m00 = matrix.m00(), m01 = matrix.m01(), m02 = matrix.m02();
+		final float m10 = matrix.m10(), m11 = matrix.m11(), m12 = matrix.m12();
+		final float m20 = matrix.m20(), m21 = matrix.m21(), m22 = matrix.m22();
+		final float[] cx = cache.x;
+		final float[] cy = cache.y;
+		final float[] cz = cache.z;
+		final int end = offset + count;
+		for (int i = offset; i < end; i++) {
+			float vx = x[i], vy = y[i], vz = z[i];
+			cx[i] = m00 * vx + m01 * vy + m02 * vz;
+			cy[i] = m10 * vx + m11 * vy + m12 * vz;
+			cz[i] = m20 * vx + m21 * vy + m22 * vz;
+		}
+		return cache;
+	}
+
+	/**
+	 * Rotates each vector in the range by the specified quaternion. The
+	 * quaternion is converted to a rotation matrix once, so this is much
+	 * cheaper than calling {@link Quaternion#rotate(Vector3f)} on each vector.
+	 *
+	 * @param rotation
+	 *            The rotation to apply.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return A reference to this array.
+	 */
+	public Vector3fArray rotate(Quaternionc rotation, int offset, int count) {
+		return rotate(rotation, this, offset, count);
+	}
+
+	/**
+	 * Rotates each vector in the range by the specified quaternion, but
+	 * stores the results in the <i>cache</i> array. The quaternion is
+	 * converted to a rotation matrix once, so this is much cheaper than
+	 * calling {@link Quaternion#rotate(Vector3fc, Vector3f)} on each vector.
+	 *
+	 * @param rotation
+	 *            The rotation to apply.
+	 * @param cache
+	 *            The array in which to store the computed values.
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @return The <i>cache</i> array.
+	 */
+	public Vector3fArray rotate(Quaternionc rotation, Vector3fArray cache,
+			int offset, int count) {
+		rotation.fillRotationMatrix(rotationMatrix);
+		return multiply(rotationMatrix, cache, offset, count);
+	}
+
+	// ------------------------------ //
+
+	// ---- Component Kernels ---- //
+	// Each of these loops touches a single coordinate array (plus one or two
+	// inputs) and has no dependencies between iterations, which is the form
+	// the JIT's superword optimization can turn into SIMD instructions.
+
+	private static void add(float[] a, float[] b, float[] result, int offset,
+			int count) {
+		final int end = offset + count;
+		for (int i = offset; i < end; i++) {
+			result[i] = a[i] + b[i];
+		}
+	}
+
+	private static void subtract(float[] a, float[] b, float[] result,
+			int offset, int count) {
+		final int end = offset + count;
+		for (int i = offset; i < end; i++) {
+			result[i] = a[i] - b[i];
+		}
+	}
+
+	private static void multiply(float[] a, float scalar, float[] result,
+			int offset, int count) {
+		final int end = offset + count;
+		for (int i = offset; i < end; i++) {
+			result[i] = a[i] * scalar;
+		}
+	}
+
+	private static void lerp(float[] a, float[] b, float t, float[] result,
+			int offset, int count) {
+		final int end = offset + count;
+		for (int i = offset; i < end; i++) {
+			result[i] = a[i] + t * (b[i] - a[i]);
+		}
+	}
+
+	// --------------------------- //
+
+	/**
+	 * Makes sure the range of vectors fits in this array. Checking once up
+	 * front lets the JIT drop the per-element bounds checks in the loops.
+	 *
+	 * @param offset
+	 *            The index of the first vector.
+	 * @param count
+	 *            The number of vectors.
+	 * @throws IndexOutOfBoundsException
+	 *             If the range is outside the array.
+	 */
+	private void checkRange(int offset, int count) {
+		if (offset < 0 || count < 0 || offset > size - count) {
+			throw new IndexOutOfBoundsException("Vector3fArray error: "
+					+ "Range [" + offset + ", " + (offset + count)
+					+ ") is outside an array of size " + size + ".");
+		}
+	}
+}
@@ -0,0 +1,234 @@
+/**
+ *
+ */
+package com.bar.foo.math;
+
+/**
+ * This interface provides a read-only view of a {@link Vector3f}. It includes
+ * the accessors for the vector's coordinates and every operation that does not
+ * modify the vector. Operations that produce a vector store the result in a
+ * <i>cache</i> {@code Vector3f} (or a new {@code Vector3f} if the cache is
+ * {@code null}).
+ * <p>
+ * Methods in the math library accept this type for vectors they only read, so
+ * constants such as {@link Vector3f#ZERO} can be passed in directly, and
+ * classes can hand out their internal vectors through this type instead of
+ * copying them. Note that a view of a mutable vector will still reflect any
+ * changes made by the vector's owner.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+public interface Vector3fc {
+
+	/**
+	 * Gets the x coordinate of the vector.
+	 *
+	 * @return The x coordinate.
+	 */
+	float x();
+
+	/**
+	 * Gets the y coordinate of the vector.
+	 *
+	 * @return The y coordinate.
+	 */
+	float y();
+
+	/**
+	 * Gets the z coordinate of the vector.
+	 *
+	 * @return The z coordinate.
+	 */
+	float z();
+
+	/**
+	 * Computes the length of the vector.
+	 *
+	 * @return The length of the vector.
+	 */
+	float length();
+
+	/**
+	 * Computes the length (squared) of the vector.
+	 *
+	 * @return The length (squared) of the vector.
+	 */
+	float lengthSquared();
+
+	/**
+	 * Negates the x, y, and z values of this vector, but stores the resulting
+	 * values in the specified <i>cache</i> vector.
+	 *
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	Vector3f negate(Vector3f cache);
+
+	/**
+	 * Normalizes the vector's values, but stores the resulting values in the
+	 * specified <i>cache</i> vector.
+	 *
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	Vector3f normalize(Vector3f cache);
+
+	/**
+	 * Normalizes the vector's values with a fast approximation, but stores the
+	 * resulting values in the specified <i>cache</i> vector.
+	 *
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 * @see Vector3f#normalizeFast()
+	 */
+	Vector3f normalizeFast(Vector3f cache);
+
+	/**
+	 * Adds the specified x, y, and z values to this vector's coordinates, but
+	 * stores the resulting values in the specified <i>cache</i> vector.
+	 *
+	 * @param x
+	 *            The value added to the vector's x coordinate.
+	 * @param y
+	 *            The value added to the vector's y coordinate.
+	 * @param z
+	 *            The value added to the vector's z coordinate.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	Vector3f add(float x, float y, float z, Vector3f cache);
+
+	/**
+	 * Adds the specified vector's coordinates to this vector's coordinates, but
+	 * stores the resulting values in the specified <i>cache</i> vector.
+	 *
+	 * @param vector
+	 *            The vector whose x, y, and z values will be added to this
+	 *            vector's coordinates.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	Vector3f add(Vector3fc vector, Vector3f cache);
+
+	/**
+	 * Subtracts the specified x, y, and z values from this vector's
+	 * coordinates, but stores the resulting values in the specified
+	 * <i>cache</i> vector.
+	 *
+	 * @param x
+	 *            The value subtracted from the vector's x coordinate.
+	 * @param y
+	 *            The value subtracted from the vector's y coordinate.
+	 * @param z
+	 *            The value subtracted from the vector's z coordinate.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	Vector3f subtract(float x, float y, float z, Vector3f cache);
+
+	/**
+	 * Subtracts the specified vector's coordinates from this vector's
+	 * coordinates, but stores the resulting values in the specified
+	 * <i>cache</i> vector.
+	 *
+	 * @param vector
+	 *            The vector whose x, y, and z values will be subtracted from
+	 *            this vector's coordinates.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	Vector3f subtract(Vector3fc vector, Vector3f cache);
+
+	/**
+	 * Multiplies or scales this vector by the scalar argument, but stores the
+	 * resulting values in the specified <i>cache</i> vector.
+	 *
+	 * @param scalar
+	 *            The scalar value by which this vector's coordinates are
+	 *            multiplied.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	Vector3f multiply(float scalar, Vector3f cache);
+
+	/**
+	 * Multiplies or scales this vector by the scalar arguments, but stores the
+	 * resulting values in the specified <i>cache</i> vector.
+	 *
+	 * @param xScale
+	 *            The scalar value by which this vector's x coordinate is
+	 *            multiplied.
+	 * @param yScale
+	 *            The scalar value by which this vector's y coordinate is
+	 *            multiplied.
+	 * @param zScale
+	 *            The scalar value by which this vector's z coordinate is
+	 *            multiplied.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	Vector3f multiply(float xScale, float yScale, float zScale, Vector3f cache);
+
+	/**
+	 * Computes the dot product between this vector and the supplied vector.
+	 *
+	 * @param vector
+	 *            The opposite vector in the dot product.
+	 * @return The scalar dot product value.
+	 */
+	float dot(Vector3fc vector);
+
+	/**
+	 * Computes the cross product between this vector and the supplied vector.
+	 * <b>The returned value is a <i>new</i> {@code Vector3f}!!!</b>
+	 *
+	 * @param vector
+	 *            The opposite vector in the cross product.
+	 * @return The cross product between this vector and the supplied vector.
+	 * @see Vector3f#cross(Vector3fc)
+	 */
+	Vector3f cross(Vector3fc vector);
+
+	/**
+	 * Computes the cross product between this vector and the supplied vector,
+	 * and stores it in the specified <i>cache</i> vector.
+	 *
+	 * @param vector
+	 *            The opposite vector in the cross product.
+	 * @param cache
+	 *            The vector in which to store the computed values.
+	 * @return The <i>cache</i> vector.
+	 */
+	Vector3f cross(Vector3fc vector, Vector3f cache);
+
+	/**
+	 * Computes the distance between this vector and the supplied vector.
+	 *
+	 * @param vector
+	 *            The other vector.
+	 * @return The distance between this vector and the supplied vector.
+	 */
+	float distance(Vector3fc vector);
+
+	/**
+	 * Computes the distance (squared) between this vector and the supplied
+	 * vector.
+	 *
+	 * @param vector
+	 *            The other vector.
+	 * @return The distance (squared) between this vector and the supplied
+	 *         vector.
+	 */
+	float distanceSquared(Vector3fc vector);
+}
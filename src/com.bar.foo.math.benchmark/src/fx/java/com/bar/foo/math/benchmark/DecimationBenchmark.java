@@ -0,0 +1,80 @@
+package com.bar.foo.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bar.foo.math.MeshDecimator;
+import com.bar.foo.math.TriangleBVH;
+
+/**
+ * Measures building three levels of detail for a 131072-triangle height
+ * field with {@link MeshDecimator}, on one thread and in parallel.
+ *
+ * @author Jordan Deyton
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecimationBenchmark {
+
+	private static final int SIZE = 256;
+	private static final float[] CELL_SIZES = { 2f, 4f, 8f };
+
+	private MeshDecimator sequential;
+	private MeshDecimator parallel;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		float[] points = new float[(SIZE + 1) * (SIZE + 1) * 3];
+		for (int j = 0, p = 0; j <= SIZE; j++) {
+			for (int i = 0; i <= SIZE; i++) {
+				points[p++] = i;
+				points[p++] = j;
+				points[p++] = random.nextFloat() * 4f;
+			}
+		}
+		int[] faces = new int[SIZE * SIZE * 2 * 6];
+		for (int j = 0, f = 0; j < SIZE; j++) {
+			for (int i = 0; i < SIZE; i++) {
+				int corner = j * (SIZE + 1) + i;
+				faces[f] = corner;
+				faces[f + 2] = corner + 1;
+				faces[f + 4] = corner + SIZE + 2;
+				faces[f + 6] = corner;
+				faces[f + 8] = corner + SIZE + 2;
+				faces[f + 10] = corner + SIZE + 1;
+				f += 12;
+			}
+		}
+		sequential = new MeshDecimator(points, faces,
+				TriangleBVH.DEFAULT_FACE_STRIDE, false);
+		parallel = new MeshDecimator(points, faces,
+				TriangleBVH.DEFAULT_FACE_STRIDE, true);
+	}
+
+	@Benchmark
+	public MeshDecimator.Level[] decimateSequential() {
+		return sequential.decimateAll(CELL_SIZES);
+	}
+
+	@Benchmark
+	public MeshDecimator.Level[] decimateParallel() {
+		return parallel.decimateAll(CELL_SIZES);
+	}
+}
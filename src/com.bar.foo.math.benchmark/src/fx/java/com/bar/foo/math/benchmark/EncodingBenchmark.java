@@ -0,0 +1,110 @@
+package com.bar.foo.math.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bar.foo.math.AABB;
+import com.bar.foo.math.Encoding;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * Compares writing and reading a batch of poses (a rotation and a position)
+ * as raw floats (28 bytes per pose) with the {@link Encoding} formats: a
+ * 32-bit rotation and 48-bit position (10 bytes), or a 48-bit rotation and
+ * position (12 bytes).
+ *
+ * @author Jordan Deyton
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodingBenchmark {
+
+	private static final int POSES = 1024;
+
+	private final AABB range = new AABB(-1000f, -1000f, -1000f, 1000f, 1000f,
+			1000f);
+	private final float[] rotations = new float[POSES * 4];
+	private final float[] positions = new float[POSES * 3];
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(POSES * 28)
+			.order(ByteOrder.nativeOrder());
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		Quaternion q = new Quaternion();
+		for (int i = 0; i < POSES; i++) {
+			Quaternion.fromAxisAngle(new Vector3f(random.nextFloat(),
+					random.nextFloat(), random.nextFloat()),
+					random.nextFloat() * 6f, q);
+			rotations[i * 4] = q.w;
+			rotations[i * 4 + 1] = q.x;
+			rotations[i * 4 + 2] = q.y;
+			rotations[i * 4 + 3] = q.z;
+			positions[i * 3] = random.nextFloat() * 2000f - 1000f;
+			positions[i * 3 + 1] = random.nextFloat() * 2000f - 1000f;
+			positions[i * 3 + 2] = random.nextFloat() * 2000f - 1000f;
+		}
+	}
+
+	@Benchmark
+	public float[] rawRoundTrip() {
+		buffer.clear();
+		for (int i = 0; i < POSES; i++) {
+			buffer.putFloat(rotations[i * 4]).putFloat(rotations[i * 4 + 1])
+					.putFloat(rotations[i * 4 + 2])
+					.putFloat(rotations[i * 4 + 3]);
+			buffer.putFloat(positions[i * 3]).putFloat(positions[i * 3 + 1])
+					.putFloat(positions[i * 3 + 2]);
+		}
+		buffer.flip();
+		for (int i = 0; i < POSES; i++) {
+			rotations[i * 4] = buffer.getFloat();
+			rotations[i * 4 + 1] = buffer.getFloat();
+			rotations[i * 4 + 2] = buffer.getFloat();
+			rotations[i * 4 + 3] = buffer.getFloat();
+			positions[i * 3] = buffer.getFloat();
+			positions[i * 3 + 1] = buffer.getFloat();
+			positions[i * 3 + 2] = buffer.getFloat();
+		}
+		return positions;
+	}
+
+	@Benchmark
+	public float[] encoded32RoundTrip() {
+		buffer.clear();
+		Encoding.putQuaternions32(buffer, rotations, 0, POSES);
+		Encoding.putVectors16(buffer, positions, 0, POSES, range);
+		buffer.flip();
+		Encoding.getQuaternions32(buffer, rotations, 0, POSES);
+		return Encoding.getVectors16(buffer, positions, 0, POSES, range);
+	}
+
+	@Benchmark
+	public float[] encoded48RoundTrip() {
+		buffer.clear();
+		Encoding.putQuaternions48(buffer, rotations, 0, POSES);
+		Encoding.putVectors16(buffer, positions, 0, POSES, range);
+		buffer.flip();
+		Encoding.getQuaternions48(buffer, rotations, 0, POSES);
+		return Encoding.getVectors16(buffer, positions, 0, POSES, range);
+	}
+}
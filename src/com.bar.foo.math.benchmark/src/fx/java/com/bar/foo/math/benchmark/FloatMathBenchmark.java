@@ -0,0 +1,145 @@
+package com.bar.foo.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bar.foo.math.FloatMath;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * Compares the exact {@link FloatMath} functions and normalizations with
+ * their fast approximations. Each pair is named {@code <op>} and
+ * {@code <op>Fast} so they sort next to each other in the results.
+ * <p>
+ * The inputs advance on every invocation so that the JIT cannot fold the
+ * calls into constants and the table lookups touch the whole table.
+ * </p>
+ * 
+ * @author Jordan Deyton
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FloatMathBenchmark {
+
+	/**
+	 * The precision of the trigonometric tables.
+	 */
+	@Param({ "8", "12" })
+	public int tableBits;
+
+	private float angle = 0f;
+	private float value = 1f;
+
+	private final Vector3f vector = new Vector3f(3f, 4f, 12f);
+	private final Vector3f vectorCache = new Vector3f();
+	private final Quaternion quaternion = new Quaternion(1f, 2f, 3f, 4f);
+	private final Quaternion quaternionCache = new Quaternion();
+
+	@Setup
+	public void setUp() {
+		FloatMath.setTableBits(tableBits);
+	}
+
+	private float nextAngle() {
+		angle += 0.37f;
+		if (angle > 100f) {
+			angle -= 200f;
+		}
+		return angle;
+	}
+
+	private float nextValue() {
+		value += 0.37f;
+		if (value > 100f) {
+			value -= 99.9f;
+		}
+		return value;
+	}
+
+	// ---- Functions ---- //
+	@Benchmark
+	public float invSqrt() {
+		return FloatMath.invSqrt(nextValue());
+	}
+
+	@Benchmark
+	public float invSqrtFast() {
+		return FloatMath.invSqrtFast(nextValue());
+	}
+
+	@Benchmark
+	public float sin() {
+		return FloatMath.sin(nextAngle());
+	}
+
+	@Benchmark
+	public float sinFast() {
+		return FloatMath.sinFast(nextAngle());
+	}
+
+	@Benchmark
+	public float cos() {
+		return FloatMath.cos(nextAngle());
+	}
+
+	@Benchmark
+	public float cosFast() {
+		return FloatMath.cosFast(nextAngle());
+	}
+
+	@Benchmark
+	public float atan2() {
+		float a = nextAngle();
+		return (float) Math.atan2(a, 50f - a);
+	}
+
+	@Benchmark
+	public float atan2Fast() {
+		float a = nextAngle();
+		return FloatMath.atan2Fast(a, 50f - a);
+	}
+	// ------------------- //
+
+	// ---- Normalization ---- //
+	@Benchmark
+	public Vector3f vectorNormalize() {
+		vector.z = nextValue();
+		return vector.normalize(vectorCache);
+	}
+
+	@Benchmark
+	public Vector3f vectorNormalizeFast() {
+		vector.z = nextValue();
+		return vector.normalizeFast(vectorCache);
+	}
+
+	@Benchmark
+	public Quaternion quaternionNormalize() {
+		quaternion.w = nextValue();
+		return quaternion.normalize(quaternionCache);
+	}
+
+	@Benchmark
+	public Quaternion quaternionNormalizeFast() {
+		quaternion.w = nextValue();
+		return quaternion.normalizeFast(quaternionCache);
+	}
+	// ----------------------- //
+}
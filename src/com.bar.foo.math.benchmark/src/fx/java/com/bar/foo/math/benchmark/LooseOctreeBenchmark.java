@@ -0,0 +1,148 @@
+package com.bar.foo.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bar.foo.math.AABB;
+import com.bar.foo.math.Frustum;
+import com.bar.foo.math.LooseOctree;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * Compares radius, frustum, and nearest-neighbour queries over 32768 small
+ * boxes using a {@link LooseOctree} with a linear scan over the same boxes,
+ * and measures the cost of moving every box a small step.
+ *
+ * @author Jordan Deyton
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LooseOctreeBenchmark {
+
+	private static final int ITEMS = 32768;
+
+	private final AABB world = new AABB(-1000f, -1000f, -1000f, 1000f, 1000f,
+			1000f);
+	private final LooseOctree<Integer> tree = new LooseOctree<Integer>(world);
+	private final AABB[] boxes = new AABB[ITEMS];
+	private final int[] handles = new int[ITEMS];
+	private final Vector3f point = new Vector3f(100f, -50f, 25f);
+	private final Vector3f position = new Vector3f();
+	private final Frustum frustum = new Frustum();
+	private final Counter counter = new Counter();
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		for (int i = 0; i < ITEMS; i++) {
+			float x = random.nextFloat() * 2000f - 1000f;
+			float y = random.nextFloat() * 2000f - 1000f;
+			float z = random.nextFloat() * 2000f - 1000f;
+			float size = random.nextFloat() * 2f;
+			boxes[i] = new AABB(x - size, y - size, z - size, x + size, y
+					+ size, z + size);
+			handles[i] = tree.insert(i, boxes[i]);
+		}
+		frustum.set(1f, 1.5f, 1f, 500f,
+				Quaternion.fromAxisAngle(Vector3f.UNIT_Y, 0.5f), Vector3f.ZERO);
+	}
+
+	@Benchmark
+	public int radiusOctree() {
+		counter.count = 0;
+		tree.queryRadius(point, 100f, counter);
+		return counter.count;
+	}
+
+	@Benchmark
+	public int radiusScan() {
+		int count = 0;
+		for (int i = 0; i < ITEMS; i++) {
+			if (boxes[i].distanceSquared(point) <= 100f * 100f) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public int frustumOctree() {
+		counter.count = 0;
+		tree.queryFrustum(frustum, counter);
+		return counter.count;
+	}
+
+	@Benchmark
+	public int frustumScan() {
+		int count = 0;
+		for (int i = 0; i < ITEMS; i++) {
+			if (frustum.intersects(boxes[i])) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public int nearestOctree() {
+		return tree.nearest(point, Float.POSITIVE_INFINITY);
+	}
+
+	@Benchmark
+	public int nearestScan() {
+		int nearest = -1;
+		float best = Float.POSITIVE_INFINITY;
+		for (int i = 0; i < ITEMS; i++) {
+			float distanceSquared = boxes[i].distanceSquared(point);
+			if (distanceSquared < best) {
+				best = distanceSquared;
+				nearest = i;
+			}
+		}
+		return nearest;
+	}
+
+	@Benchmark
+	public int moveAll() {
+		int relinked = 0;
+		for (int i = 0; i < ITEMS; i++) {
+			AABB box = boxes[i];
+			box.getCenter(position);
+			// Step along x, wrapping around inside the world.
+			float step = (position.x > 999f ? -1998f : 0.5f);
+			box.min.x += step;
+			box.max.x += step;
+			if (tree.move(handles[i], box)) {
+				relinked++;
+			}
+		}
+		return relinked;
+	}
+
+	private static final class Counter implements LooseOctree.Visitor<Integer> {
+		private int count;
+
+		@Override
+		public boolean visit(int handle, Integer item) {
+			count++;
+			return true;
+		}
+	}
+}
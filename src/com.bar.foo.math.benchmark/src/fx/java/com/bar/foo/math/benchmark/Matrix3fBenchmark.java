@@ -0,0 +1,138 @@
+package com.bar.foo.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * Benchmarks each {@link Matrix3f} operation from the javafx bundle.
+ * <p>
+ * In-place operations are measured as {@code target.set(a).op(...)} so that
+ * the state does not drift between invocations. The {@link #set()} benchmark
+ * measures the cost of that copy on its own.
+ * </p>
+ * 
+ * @author Jordan Deyton
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Matrix3fBenchmark {
+
+	private final Matrix3f a = new Matrix3f(0.5f, -1.25f, 2f, 1.75f, 0.25f,
+			-0.5f, -2f, 1f, 0.75f);
+	private final Matrix3f b = new Matrix3f(1f, 0.5f, -0.25f, -1.5f, 2f,
+			0.125f, 0.75f, -1f, 1.5f);
+	private final Matrix3f target = new Matrix3f();
+	private final Matrix3f cache = new Matrix3f();
+	private final Vector3f vector = new Vector3f(1.5f, -2.25f, 3.125f);
+	private final Vector3f vectorCache = new Vector3f();
+
+	/**
+	 * The number of vectors in the bulk transform benchmarks.
+	 */
+	private static final int count = 1024;
+	private final float[] src = new float[count * 3];
+	private final float[] dst = new float[count * 3];
+
+	{
+		for (int i = 0; i < src.length; i++) {
+			src[i] = (i % 7) * 0.25f - 0.75f;
+		}
+	}
+
+	@Benchmark
+	public Matrix3f set() {
+		return target.set(a);
+	}
+
+	@Benchmark
+	public Matrix3f setRows() {
+		return target.set(vector, vector, vector);
+	}
+
+	@Benchmark
+	public Matrix3f newMatrix() {
+		return new Matrix3f(a);
+	}
+
+	@Benchmark
+	public Matrix3f multiplyMatrix() {
+		return target.set(a).multiply(b);
+	}
+
+	@Benchmark
+	public Matrix3f multiplyMatrixCache() {
+		return a.multiply(b, cache);
+	}
+
+	@Benchmark
+	public Vector3f multiplyVector() {
+		return a.multiply(vector);
+	}
+
+	@Benchmark
+	public Vector3f multiplyVectorCache() {
+		return a.multiply(vector, vectorCache);
+	}
+
+	@Benchmark
+	public Matrix3f transposeCache() {
+		return a.transpose(cache);
+	}
+
+	@Benchmark
+	public float determinant() {
+		return a.determinant();
+	}
+
+	@Benchmark
+	public Matrix3f invertCache() {
+		return a.invert(cache);
+	}
+
+	@Benchmark
+	public Matrix3f orthonormalizeCache() {
+		return a.orthonormalize(cache);
+	}
+
+	/**
+	 * Transforms {@value #count} vectors one {@code Vector3f} at a time, as a
+	 * baseline for {@link #transformBulk()}.
+	 */
+	@Benchmark
+	public float[] transformLoop() {
+		for (int i = 0; i < src.length; i += 3) {
+			a.multiply(vector.set(src[i], src[i + 1], src[i + 2]), vectorCache);
+			dst[i] = vectorCache.x;
+			dst[i + 1] = vectorCache.y;
+			dst[i + 2] = vectorCache.z;
+		}
+		return dst;
+	}
+
+	@Benchmark
+	public float[] transformBulk() {
+		return a.transform(src, 0, dst, 0, count);
+	}
+
+	@Benchmark
+	public float[] transformNormalsBulk() {
+		return a.transformNormals(src, 0, dst, 0, count);
+	}
+}
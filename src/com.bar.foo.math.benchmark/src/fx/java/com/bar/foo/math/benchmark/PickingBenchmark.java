@@ -0,0 +1,125 @@
+package com.bar.foo.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bar.foo.math.Ray;
+import com.bar.foo.math.RayHit;
+import com.bar.foo.math.TriangleBVH;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * Compares picking a 131072-triangle height field with a {@link TriangleBVH}
+ * against testing every triangle, and measures building the tree on one
+ * thread and in parallel.
+ *
+ * @author Jordan Deyton
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PickingBenchmark {
+
+	private static final int SIZE = 256;
+	private static final int RAYS = 64;
+
+	private float[] points;
+	private int[] faces;
+	private TriangleBVH tree;
+	private final Ray[] rays = new Ray[RAYS];
+	private final RayHit hit = new RayHit();
+	private final Vector3f v0 = new Vector3f();
+	private final Vector3f v1 = new Vector3f();
+	private final Vector3f v2 = new Vector3f();
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		points = new float[(SIZE + 1) * (SIZE + 1) * 3];
+		for (int j = 0, p = 0; j <= SIZE; j++) {
+			for (int i = 0; i <= SIZE; i++) {
+				points[p++] = i;
+				points[p++] = j;
+				points[p++] = random.nextFloat() * 4f;
+			}
+		}
+		faces = new int[SIZE * SIZE * 2 * 6];
+		for (int j = 0, f = 0; j < SIZE; j++) {
+			for (int i = 0; i < SIZE; i++) {
+				int corner = j * (SIZE + 1) + i;
+				faces[f] = corner;
+				faces[f + 2] = corner + 1;
+				faces[f + 4] = corner + SIZE + 2;
+				faces[f + 6] = corner;
+				faces[f + 8] = corner + SIZE + 2;
+				faces[f + 10] = corner + SIZE + 1;
+				f += 12;
+			}
+		}
+		tree = new TriangleBVH(points, faces);
+
+		// Look down at the height field from above at an angle.
+		for (int i = 0; i < RAYS; i++) {
+			Vector3f origin = new Vector3f(random.nextFloat() * SIZE,
+					random.nextFloat() * SIZE, 50f);
+			Vector3f direction = new Vector3f(random.nextFloat() - 0.5f,
+					random.nextFloat() - 0.5f, -1f).normalize();
+			rays[i] = new Ray(origin, direction);
+		}
+	}
+
+	@Benchmark
+	public float pickTree() {
+		Ray ray = rays[next++ & (RAYS - 1)];
+		tree.intersect(ray, hit.reset());
+		return hit.distance;
+	}
+
+	@Benchmark
+	public float pickBruteForce() {
+		Ray ray = rays[next++ & (RAYS - 1)];
+		hit.reset();
+		for (int f = 0; f < faces.length; f += 6) {
+			int a = faces[f] * 3;
+			int b = faces[f + 2] * 3;
+			int c = faces[f + 4] * 3;
+			v0.set(points[a], points[a + 1], points[a + 2]);
+			v1.set(points[b], points[b + 1], points[b + 2]);
+			v2.set(points[c], points[c + 1], points[c + 2]);
+			ray.intersect(v0, v1, v2, hit);
+		}
+		return hit.distance;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public TriangleBVH buildSequential() {
+		return new TriangleBVH(points, faces, TriangleBVH.DEFAULT_FACE_STRIDE,
+				false);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public TriangleBVH buildParallel() {
+		return new TriangleBVH(points, faces, TriangleBVH.DEFAULT_FACE_STRIDE,
+				true);
+	}
+}
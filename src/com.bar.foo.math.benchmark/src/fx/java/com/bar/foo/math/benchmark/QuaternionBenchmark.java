@@ -0,0 +1,227 @@
+package com.bar.foo.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.QuaternionTrack;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * Benchmarks each {@link Quaternion} operation from the javafx bundle.
+ * <p>
+ * In-place operations are measured as {@code target.set(a).op(...)} so that
+ * the state does not drift between invocations. The {@link #set()} benchmark
+ * measures the cost of that copy on its own.
+ * </p>
+ * 
+ * @author Jordan Deyton
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuaternionBenchmark {
+
+	private final Quaternion a = Quaternion.fromAxisAngle(new Vector3f(1f, 2f,
+			3f), 0.75f);
+	private final Quaternion b = Quaternion.fromAxisAngle(new Vector3f(-2f,
+			0.5f, 1f), -1.25f);
+	private final Quaternion nonUnit = new Quaternion(1.5f, -0.5f, 2f, 0.25f);
+	private final Quaternion target = new Quaternion();
+	private final Quaternion cache = new Quaternion();
+	private final Vector3f vector = new Vector3f(1.5f, -2.25f, 3.125f);
+	private final Vector3f u = new Vector3f(1f, 0f, 0f);
+	private final Vector3f v = new Vector3f(0f, 0.6f, 0.8f);
+	private final Vector3f vectorCache = new Vector3f();
+	private final Matrix3f matrix = a.fillRotationMatrix(null);
+	private final Matrix3f matrixCache = new Matrix3f();
+	private float scalar = 1.125f;
+	private float angle = 0.5f;
+	private float t = 0.3f;
+
+	/**
+	 * A track with one key per frame at 30 fps for 10 seconds.
+	 */
+	private final QuaternionTrack track = createTrack(300, 1f / 30f);
+	private final QuaternionTrack.Sampler sampler = track.sampler();
+	private float time = 0f;
+
+	private static QuaternionTrack createTrack(int size, float step) {
+		float[] times = new float[size];
+		Quaternion[] rotations = new Quaternion[size];
+		for (int i = 0; i < size; i++) {
+			times[i] = i * step;
+			rotations[i] = Quaternion.fromAxisAngle(new Vector3f(1f, 2f, 3f),
+					i * 0.05f);
+		}
+		return new QuaternionTrack(times, rotations);
+	}
+
+	@Benchmark
+	public Quaternion set() {
+		return target.set(a);
+	}
+
+	@Benchmark
+	public Quaternion addFloats() {
+		return target.set(a).add(0.5f, vector);
+	}
+
+	@Benchmark
+	public Quaternion addFloatsCache() {
+		return a.add(0.5f, vector, cache);
+	}
+
+	@Benchmark
+	public Quaternion multiplyScalar() {
+		return target.set(a).multiply(scalar);
+	}
+
+	@Benchmark
+	public Quaternion multiplyScalarCache() {
+		return a.multiply(scalar, cache);
+	}
+
+	@Benchmark
+	public Quaternion multiplyQuaternion() {
+		return target.set(a).multiply(b);
+	}
+
+	@Benchmark
+	public Quaternion multiplyQuaternionCache() {
+		return a.multiply(b, cache);
+	}
+
+	@Benchmark
+	public float norm() {
+		return nonUnit.norm();
+	}
+
+	@Benchmark
+	public Quaternion normalize() {
+		return target.set(nonUnit).normalize();
+	}
+
+	@Benchmark
+	public Quaternion normalizeCache() {
+		return nonUnit.normalize(cache);
+	}
+
+	@Benchmark
+	public Quaternion conjugate() {
+		return target.set(a).conjugate();
+	}
+
+	@Benchmark
+	public Quaternion conjugateCache() {
+		return a.conjugate(cache);
+	}
+
+	@Benchmark
+	public Quaternion reciprocate() {
+		return target.set(nonUnit).reciprocate();
+	}
+
+	@Benchmark
+	public Quaternion reciprocateCache() {
+		return nonUnit.reciprocate(cache);
+	}
+
+	@Benchmark
+	public Vector3f rotate() {
+		return a.rotate(vectorCache.set(vector));
+	}
+
+	@Benchmark
+	public Vector3f rotateCache() {
+		return a.rotate(vector, vectorCache);
+	}
+
+	@Benchmark
+	public Vector3f rotateUnitCache() {
+		return a.rotateUnit(vector, vectorCache);
+	}
+
+	@Benchmark
+	public Vector3f rotateNonUnitCache() {
+		return nonUnit.rotate(vector, vectorCache);
+	}
+
+	@Benchmark
+	public Matrix3f fillRotationMatrix() {
+		return a.fillRotationMatrix(matrixCache);
+	}
+
+	@Benchmark
+	public Quaternion fromAxisAngleCache() {
+		return Quaternion.fromAxisAngle(vector, angle, cache);
+	}
+
+	@Benchmark
+	public Quaternion fromUnitAxisAngleCache() {
+		return Quaternion.fromUnitAxisAngle(u, angle, cache);
+	}
+
+	@Benchmark
+	public Quaternion fromTwoVectorsCache() {
+		return Quaternion.fromTwoVectors(vector, v, cache);
+	}
+
+	@Benchmark
+	public Quaternion fromTwoUnitVectorsCache() {
+		return Quaternion.fromTwoUnitVectors(u, v, cache);
+	}
+
+	@Benchmark
+	public Quaternion fromRotationMatrixCache() {
+		return Quaternion.fromRotationMatrix(matrix, cache);
+	}
+
+	@Benchmark
+	public Quaternion slerpCache() {
+		return Quaternion.slerp(a, b, t, cache);
+	}
+
+	@Benchmark
+	public Quaternion nlerpCache() {
+		return Quaternion.nlerp(a, b, t, cache);
+	}
+
+	/**
+	 * Samples the track at 60 fps, looping at the end.
+	 */
+	@Benchmark
+	public Quaternion trackSampleForward() {
+		time += 1f / 60f;
+		if (time > track.getEndTime()) {
+			time = 0f;
+		}
+		return sampler.sample(time, cache);
+	}
+
+	/**
+	 * Samples the track at times that jump around, which requires a search.
+	 */
+	@Benchmark
+	public Quaternion trackSampleSeek() {
+		time += 3.7f;
+		if (time > track.getEndTime()) {
+			time -= track.getEndTime();
+		}
+		return sampler.sample(time, cache);
+	}
+}
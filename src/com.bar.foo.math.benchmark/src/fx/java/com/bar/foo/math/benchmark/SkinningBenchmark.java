@@ -0,0 +1,95 @@
+package com.bar.foo.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bar.foo.math.DualQuaternion;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.SkinningKernel;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * Compares sequential and parallel dual quaternion skinning of a 65536-vertex
+ * mesh with four influences per vertex and 64 bones.
+ *
+ * @author Jordan Deyton
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkinningBenchmark {
+
+	private static final int VERTICES = 65536;
+	private static final int INFLUENCES = 4;
+	private static final int BONES = 64;
+
+	private SkinningKernel sequential;
+	private SkinningKernel parallel;
+	private final float[] output = new float[VERTICES * 3];
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		float[] positions = new float[VERTICES * 3];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = random.nextFloat() * 10f - 5f;
+		}
+		int[] indices = new int[VERTICES * INFLUENCES];
+		float[] weights = new float[indices.length];
+		for (int b = 0; b < indices.length; b += INFLUENCES) {
+			float sum = 0f;
+			for (int j = 0; j < INFLUENCES; j++) {
+				indices[b + j] = random.nextInt(BONES);
+				weights[b + j] = random.nextFloat();
+				sum += weights[b + j];
+			}
+			for (int j = 0; j < INFLUENCES; j++) {
+				weights[b + j] /= sum;
+			}
+		}
+
+		sequential = new SkinningKernel(positions, indices, weights,
+				INFLUENCES, BONES);
+		sequential.setParallel(false);
+		parallel = new SkinningKernel(positions, indices, weights,
+				INFLUENCES, BONES);
+		DualQuaternion pose = new DualQuaternion();
+		Vector3f axis = new Vector3f();
+		Vector3f translation = new Vector3f();
+		for (int i = 0; i < BONES; i++) {
+			axis.set(random.nextFloat(), random.nextFloat(),
+					random.nextFloat() + 0.1f);
+			translation.set(random.nextFloat(), random.nextFloat(),
+					random.nextFloat());
+			pose.set(Quaternion.fromAxisAngle(axis, random.nextFloat()),
+					translation);
+			sequential.setBone(i, pose);
+			parallel.setBone(i, pose);
+		}
+	}
+
+	@Benchmark
+	public float[] skinSequential() {
+		return sequential.skin(output);
+	}
+
+	@Benchmark
+	public float[] skinParallel() {
+		return parallel.skin(output);
+	}
+}
@@ -0,0 +1,127 @@
+package com.bar.foo.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bar.foo.math.Matrix3f;
+import com.bar.foo.math.Quaternion;
+import com.bar.foo.math.Vector3f;
+
+/**
+ * Compares the two ways GeneralTransform can transform points after its
+ * rotation changes: rebuilding its 3x3 matrix and multiplying each point by
+ * it, or applying the rotation quaternion, scale, and translation to each
+ * point directly. GeneralTransform needs JavaFX, so its two paths are
+ * mirrored here over the same double arrays JavaFX passes in.
+ * <p>
+ * The number of points transformed per change decides which path is faster.
+ * GeneralTransform uses the direct path below its crossover and rebuilds the
+ * matrix above it.
+ * </p>
+ *
+ * @author Jordan Deyton
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformStrategyBenchmark {
+
+	@Param({ "1", "2", "4", "16", "256" })
+	public int points;
+
+	private final Vector3f scale = new Vector3f(1f, 2f, 0.5f);
+	private final Quaternion rotation = new Quaternion();
+	private final Quaternion step = Quaternion.fromAxisAngle(
+			new Vector3f(1f, 2f, 3f).normalize(), 0.001f);
+	private final Vector3f translation = new Vector3f(1f, 2f, 3f);
+	private final Matrix3f matrix = new Matrix3f();
+	private double[] source;
+	private double[] destination;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		source = new double[points * 3];
+		destination = new double[points * 3];
+		for (int i = 0; i < source.length; i++) {
+			source[i] = random.nextDouble() * 10.0 - 5.0;
+		}
+		rotation.set(Quaternion.fromAxisAngle(Vector3f.UNIT_Y, 0.5f));
+	}
+
+	@Benchmark
+	public double[] matrix() {
+		rotation.multiply(step);
+		// Rebuild the matrix as GeneralTransform.recomputeTransformMatrix().
+		rotation.fillRotationMatrix(matrix);
+		matrix.m00 *= scale.x;
+		matrix.m01 *= scale.x;
+		matrix.m02 *= scale.x;
+		matrix.m10 *= scale.y;
+		matrix.m11 *= scale.y;
+		matrix.m12 *= scale.y;
+		matrix.m20 *= scale.z;
+		matrix.m21 *= scale.z;
+		matrix.m22 *= scale.z;
+		return transformMatrix();
+	}
+
+	@Benchmark
+	public double[] cachedMatrix() {
+		// The per-point cost once the matrix is up to date.
+		return transformMatrix();
+	}
+
+	@Benchmark
+	public double[] direct() {
+		rotation.multiply(step);
+		double w = rotation.w, x = rotation.x, y = rotation.y, z = rotation.z;
+		double normSquared = w * w + x * x + y * y + z * z;
+		double f = (normSquared > 0.0 ? 2.0 / normSquared : 0.0);
+		double sx = scale.x, sy = scale.y, sz = scale.z;
+		double tx = translation.x, ty = translation.y, tz = translation.z;
+		for (int i = 0; i < source.length; i += 3) {
+			double vx = source[i], vy = source[i + 1], vz = source[i + 2];
+			// v' = v + f * (w * (u x v) + u x (u x v))
+			double cx = y * vz - z * vy;
+			double cy = z * vx - x * vz;
+			double cz = x * vy - y * vx;
+			destination[i] = sx * (vx + f * (w * cx + y * cz - z * cy)) + tx;
+			destination[i + 1] = sy * (vy + f * (w * cy + z * cx - x * cz))
+					+ ty;
+			destination[i + 2] = sz * (vz + f * (w * cz + x * cy - y * cx))
+					+ tz;
+		}
+		return destination;
+	}
+
+	private double[] transformMatrix() {
+		double m00 = matrix.m00, m01 = matrix.m01, m02 = matrix.m02;
+		double m10 = matrix.m10, m11 = matrix.m11, m12 = matrix.m12;
+		double m20 = matrix.m20, m21 = matrix.m21, m22 = matrix.m22;
+		double tx = translation.x, ty = translation.y, tz = translation.z;
+		for (int i = 0; i < source.length; i += 3) {
+			double x = source[i], y = source[i + 1], z = source[i + 2];
+			destination[i] = m00 * x + m01 * y + m02 * z + tx;
+			destination[i + 1] = m10 * x + m11 * y + m12 * z + ty;
+			destination[i + 2] = m20 * x + m21 * y + m22 * z + tz;
+		}
+		return destination;
+	}
+}
@@ -0,0 +1,174 @@
+package com.bar.foo.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bar.foo.math.Vector3f;
+
+/**
+ * Benchmarks each {@link Vector3f} operation from the javafx bundle.
+ * <p>
+ * In-place operations are measured as {@code target.set(a).op(...)} so that
+ * the state does not drift between invocations. The {@link #set()} benchmark
+ * measures the cost of that copy on its own. Cache operations write into
+ * {@code cache}, so they should report no allocation.
+ * </p>
+ * <p>
+ * The standalone math bundle has a benchmark with the same name and method
+ * names so the two copies can be compared directly.
+ * </p>
+ * 
+ * @author Jordan Deyton
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Vector3fBenchmark {
+
+	private final Vector3f a = new Vector3f(1.5f, -2.25f, 3.125f);
+	private final Vector3f b = new Vector3f(-0.75f, 4.5f, 0.5f);
+	private final Vector3f target = new Vector3f();
+	private final Vector3f cache = new Vector3f();
+	private float x = 0.25f;
+	private float y = -1.75f;
+	private float z = 2.5f;
+	private float scalar = 1.125f;
+
+	@Benchmark
+	public Vector3f set() {
+		return target.set(a);
+	}
+
+	@Benchmark
+	public Vector3f newVector() {
+		return new Vector3f(a);
+	}
+
+	@Benchmark
+	public Vector3f addVector() {
+		return target.set(a).add(b);
+	}
+
+	@Benchmark
+	public Vector3f addVectorCache() {
+		return a.add(b, cache);
+	}
+
+	@Benchmark
+	public Vector3f addFloats() {
+		return target.set(a).add(x, y, z);
+	}
+
+	@Benchmark
+	public Vector3f addFloatsCache() {
+		return a.add(x, y, z, cache);
+	}
+
+	@Benchmark
+	public Vector3f subtractVector() {
+		return target.set(a).subtract(b);
+	}
+
+	@Benchmark
+	public Vector3f subtractVectorCache() {
+		return a.subtract(b, cache);
+	}
+
+	@Benchmark
+	public Vector3f subtractFloats() {
+		return target.set(a).subtract(x, y, z);
+	}
+
+	@Benchmark
+	public Vector3f subtractFloatsCache() {
+		return a.subtract(x, y, z, cache);
+	}
+
+	@Benchmark
+	public Vector3f multiplyScalar() {
+		return target.set(a).multiply(scalar);
+	}
+
+	@Benchmark
+	public Vector3f multiplyScalarCache() {
+		return a.multiply(scalar, cache);
+	}
+
+	@Benchmark
+	public Vector3f multiplyFloats() {
+		return target.set(a).multiply(x, y, z);
+	}
+
+	@Benchmark
+	public Vector3f multiplyFloatsCache() {
+		return a.multiply(x, y, z, cache);
+	}
+
+	@Benchmark
+	public Vector3f negate() {
+		return target.set(a).negate();
+	}
+
+	@Benchmark
+	public Vector3f negateCache() {
+		return a.negate(cache);
+	}
+
+	@Benchmark
+	public Vector3f normalize() {
+		return target.set(a).normalize();
+	}
+
+	@Benchmark
+	public Vector3f normalizeCache() {
+		return a.normalize(cache);
+	}
+
+	@Benchmark
+	public Vector3f cross() {
+		return target.set(a).crossLocal(b);
+	}
+
+	@Benchmark
+	public Vector3f crossCache() {
+		return a.cross(b, cache);
+	}
+
+	@Benchmark
+	public float dot() {
+		return a.dot(b);
+	}
+
+	@Benchmark
+	public float length() {
+		return a.length();
+	}
+
+	@Benchmark
+	public float lengthSquared() {
+		return a.lengthSquared();
+	}
+
+	@Benchmark
+	public float distance() {
+		return a.distance(b);
+	}
+
+	@Benchmark
+	public float distanceSquared() {
+		return a.distanceSquared(b);
+	}
+}
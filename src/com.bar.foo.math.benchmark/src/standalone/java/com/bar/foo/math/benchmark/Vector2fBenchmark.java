@@ -0,0 +1,416 @@
+package com.bar.foo.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bar.foo.math.IVector2f;
+import com.bar.foo.math.Vector2f;
+
+/**
+ * Compares the {@link Vector2f} operations in {@code com.bar.foo.math}, which
+ * are called through the {@code IVector2f} interface, with the same operations
+ * in {@code com.bar.foo.math2}, which has no interfaces.
+ * <p>
+ * Each pair of benchmarks is named {@code generic<Op>} and {@code primitive<Op>}
+ * so that they sort next to each other in the results. In-place operations
+ * are measured as {@code target.set(a).op(...)} so that the state does not
+ * drift between invocations.
+ * </p>
+ * 
+ * @author Jordan Deyton
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Vector2fBenchmark {
+
+	private final Vector2f a = new Vector2f(1.5f, -2.25f);
+	private final Vector2f b = new Vector2f(-0.75f, 4.5f);
+	private final Vector2f target = new Vector2f();
+	private final Vector2f cache = new Vector2f();
+
+	private final com.bar.foo.math2.Vector2f a2 = new com.bar.foo.math2.Vector2f(
+			1.5f, -2.25f);
+	private final com.bar.foo.math2.Vector2f b2 = new com.bar.foo.math2.Vector2f(
+			-0.75f, 4.5f);
+	private final com.bar.foo.math2.Vector2f target2 = new com.bar.foo.math2.Vector2f();
+	private final com.bar.foo.math2.Vector2f cache2 = new com.bar.foo.math2.Vector2f();
+
+	private float x = 0.25f;
+	private float y = -1.75f;
+	private float scalar = 1.125f;
+
+	/**
+	 * Calls the operations through the interface, as generic code would.
+	 */
+	private final IVector2f<Vector2f> ia = a;
+
+	// ---- Copies ---- //
+	@Benchmark
+	public Vector2f genericSet() {
+		return target.set(a);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveSet() {
+		return target2.set(a2);
+	}
+	// ---------------- //
+
+	// ---- Arithmetic ---- //
+	@Benchmark
+	public Vector2f genericAdd() {
+		return target.set(a).add(b);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveAdd() {
+		return target2.set(a2).add(b2);
+	}
+
+	@Benchmark
+	public Vector2f genericAddCache() {
+		return ia.add(b, cache);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveAddCache() {
+		return a2.add(b2, cache2);
+	}
+
+	@Benchmark
+	public Vector2f genericAddFloats() {
+		return target.set(a).add(x, y);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveAddFloats() {
+		return target2.set(a2).add(x, y);
+	}
+
+	@Benchmark
+	public Vector2f genericAddFloatsCache() {
+		return ia.add(x, y, cache);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveAddFloatsCache() {
+		return a2.add(x, y, cache2);
+	}
+
+	@Benchmark
+	public Vector2f genericAddScalar() {
+		return target.set(a).add(scalar);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveAddScalar() {
+		return target2.set(a2).add(scalar);
+	}
+
+	@Benchmark
+	public Vector2f genericAddScalarCache() {
+		return ia.add(scalar, cache);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveAddScalarCache() {
+		return a2.add(scalar, cache2);
+	}
+
+	@Benchmark
+	public Vector2f genericSubtract() {
+		return target.set(a).subtract(b);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveSubtract() {
+		return target2.set(a2).subtract(b2);
+	}
+
+	@Benchmark
+	public Vector2f genericSubtractCache() {
+		return ia.subtract(b, cache);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveSubtractCache() {
+		return a2.subtract(b2, cache2);
+	}
+
+	@Benchmark
+	public Vector2f genericSubtractFloats() {
+		return target.set(a).subtract(x, y);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveSubtractFloats() {
+		return target2.set(a2).subtract(x, y);
+	}
+
+	@Benchmark
+	public Vector2f genericSubtractFloatsCache() {
+		return ia.subtract(x, y, cache);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveSubtractFloatsCache() {
+		return a2.subtract(x, y, cache2);
+	}
+
+	@Benchmark
+	public Vector2f genericSubtractScalar() {
+		return target.set(a).subtract(scalar);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveSubtractScalar() {
+		return target2.set(a2).subtract(scalar);
+	}
+
+	@Benchmark
+	public Vector2f genericSubtractScalarCache() {
+		return ia.subtract(scalar, cache);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveSubtractScalarCache() {
+		return a2.subtract(scalar, cache2);
+	}
+
+	@Benchmark
+	public Vector2f genericMultiply() {
+		return target.set(a).multiply(b);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveMultiply() {
+		return target2.set(a2).multiply(b2);
+	}
+
+	@Benchmark
+	public Vector2f genericMultiplyCache() {
+		return ia.multiply(b, cache);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveMultiplyCache() {
+		return a2.multiply(b2, cache2);
+	}
+
+	@Benchmark
+	public Vector2f genericMultiplyFloats() {
+		return target.set(a).multiply(x, y);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveMultiplyFloats() {
+		return target2.set(a2).multiply(x, y);
+	}
+
+	@Benchmark
+	public Vector2f genericMultiplyFloatsCache() {
+		return ia.multiply(x, y, cache);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveMultiplyFloatsCache() {
+		return a2.multiply(x, y, cache2);
+	}
+
+	@Benchmark
+	public Vector2f genericMultiplyScalar() {
+		return target.set(a).multiply(scalar);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveMultiplyScalar() {
+		return target2.set(a2).multiply(scalar);
+	}
+
+	@Benchmark
+	public Vector2f genericMultiplyScalarCache() {
+		return ia.multiply(scalar, cache);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveMultiplyScalarCache() {
+		return a2.multiply(scalar, cache2);
+	}
+
+	@Benchmark
+	public Vector2f genericDivide() {
+		return target.set(a).divide(scalar);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveDivide() {
+		return target2.set(a2).divide(scalar);
+	}
+
+	@Benchmark
+	public Vector2f genericDivideCache() {
+		return ia.divide(scalar, cache);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveDivideCache() {
+		return a2.divide(scalar, cache2);
+	}
+
+	@Benchmark
+	public Vector2f genericNegate() {
+		return target.set(a).negate();
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveNegate() {
+		return target2.set(a2).negate();
+	}
+
+	@Benchmark
+	public Vector2f genericNegateCache() {
+		return ia.negate(cache);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveNegateCache() {
+		return a2.negate(cache2);
+	}
+
+	@Benchmark
+	public Vector2f genericNormalize() {
+		return target.set(a).normalize();
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveNormalize() {
+		return target2.set(a2).normalize();
+	}
+
+	@Benchmark
+	public Vector2f genericNormalizeCache() {
+		return ia.normalize(cache);
+	}
+
+	@Benchmark
+	public com.bar.foo.math2.Vector2f primitiveNormalizeCache() {
+		return a2.normalize(cache2);
+	}
+	// -------------------- //
+
+	// ---- Scalar results ---- //
+	@Benchmark
+	public float genericDot() {
+		return ia.dot(b);
+	}
+
+	@Benchmark
+	public float primitiveDot() {
+		return a2.dot(b2);
+	}
+
+	@Benchmark
+	public float genericCross() {
+		return ia.cross(b);
+	}
+
+	@Benchmark
+	public float primitiveCross() {
+		return a2.cross(b2);
+	}
+
+	@Benchmark
+	public float genericLength() {
+		return ia.length();
+	}
+
+	@Benchmark
+	public float primitiveLength() {
+		return a2.length();
+	}
+
+	@Benchmark
+	public float genericDistance() {
+		return ia.distance(b);
+	}
+
+	@Benchmark
+	public float primitiveDistance() {
+		return a2.distance(b2);
+	}
+
+	@Benchmark
+	public float genericDotFloats() {
+		return ia.dot(x, y);
+	}
+
+	@Benchmark
+	public float primitiveDotFloats() {
+		return a2.dot(x, y);
+	}
+
+	@Benchmark
+	public float genericCrossFloats() {
+		return ia.cross(x, y);
+	}
+
+	@Benchmark
+	public float primitiveCrossFloats() {
+		return a2.cross(x, y);
+	}
+
+	@Benchmark
+	public float genericLengthSquared() {
+		return ia.lengthSquared();
+	}
+
+	@Benchmark
+	public float primitiveLengthSquared() {
+		return a2.lengthSquared();
+	}
+
+	@Benchmark
+	public float genericDistanceFloats() {
+		return ia.distance(x, y);
+	}
+
+	@Benchmark
+	public float primitiveDistanceFloats() {
+		return a2.distance(x, y);
+	}
+
+	@Benchmark
+	public float genericDistanceSquared() {
+		return ia.distanceSquared(b);
+	}
+
+	@Benchmark
+	public float primitiveDistanceSquared() {
+		return a2.distanceSquared(b2);
+	}
+
+	@Benchmark
+	public float genericDistanceSquaredFloats() {
+		return ia.distanceSquared(x, y);
+	}
+
+	@Benchmark
+	public float primitiveDistanceSquaredFloats() {
+		return a2.distanceSquared(x, y);
+	}
+	// ------------------------ //
+}
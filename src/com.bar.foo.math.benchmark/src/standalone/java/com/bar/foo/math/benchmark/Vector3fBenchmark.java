@@ -0,0 +1,242 @@
+package com.bar.foo.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bar.foo.math.Vector3f;
+
+/**
+ * Benchmarks each {@link Vector3f} operation from the standalone math bundle.
+ * <p>
+ * In-place operations are measured as {@code target.set(a).op(...)} so that
+ * the state does not drift between invocations. The {@link #set()} benchmark
+ * measures the cost of that copy on its own. Cache operations write into
+ * {@code cache}, so they should report no allocation.
+ * </p>
+ * <p>
+ * The javafx bundle has a benchmark with the same name and method names so
+ * the two copies can be compared directly. The scalar add, subtract, and
+ * divide, the component-wise multiply, and the float overloads of dot,
+ * cross, and distance only exist in this bundle, so they are only
+ * benchmarked here.
+ * </p>
+ * 
+ * @author Jordan Deyton
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Vector3fBenchmark {
+
+	private final Vector3f a = new Vector3f(1.5f, -2.25f, 3.125f);
+	private final Vector3f b = new Vector3f(-0.75f, 4.5f, 0.5f);
+	private final Vector3f target = new Vector3f();
+	private final Vector3f cache = new Vector3f();
+	private float x = 0.25f;
+	private float y = -1.75f;
+	private float z = 2.5f;
+	private float scalar = 1.125f;
+
+	@Benchmark
+	public Vector3f set() {
+		return target.set(a);
+	}
+
+	@Benchmark
+	public Vector3f newVector() {
+		return new Vector3f(a);
+	}
+
+	@Benchmark
+	public Vector3f addVector() {
+		return target.set(a).add(b);
+	}
+
+	@Benchmark
+	public Vector3f addVectorCache() {
+		return a.add(b, cache);
+	}
+
+	@Benchmark
+	public Vector3f addFloats() {
+		return target.set(a).add(x, y, z);
+	}
+
+	@Benchmark
+	public Vector3f addFloatsCache() {
+		return a.add(x, y, z, cache);
+	}
+
+	@Benchmark
+	public Vector3f addScalar() {
+		return target.set(a).add(scalar);
+	}
+
+	@Benchmark
+	public Vector3f addScalarCache() {
+		return a.add(scalar, cache);
+	}
+
+	@Benchmark
+	public Vector3f subtractVector() {
+		return target.set(a).subtract(b);
+	}
+
+	@Benchmark
+	public Vector3f subtractVectorCache() {
+		return a.subtract(b, cache);
+	}
+
+	@Benchmark
+	public Vector3f subtractFloats() {
+		return target.set(a).subtract(x, y, z);
+	}
+
+	@Benchmark
+	public Vector3f subtractFloatsCache() {
+		return a.subtract(x, y, z, cache);
+	}
+
+	@Benchmark
+	public Vector3f subtractScalar() {
+		return target.set(a).subtract(scalar);
+	}
+
+	@Benchmark
+	public Vector3f subtractScalarCache() {
+		return a.subtract(scalar, cache);
+	}
+
+	@Benchmark
+	public Vector3f multiplyScalar() {
+		return target.set(a).multiply(scalar);
+	}
+
+	@Benchmark
+	public Vector3f multiplyScalarCache() {
+		return a.multiply(scalar, cache);
+	}
+
+	@Benchmark
+	public Vector3f multiplyFloats() {
+		return target.set(a).multiply(x, y, z);
+	}
+
+	@Benchmark
+	public Vector3f multiplyFloatsCache() {
+		return a.multiply(x, y, z, cache);
+	}
+
+	@Benchmark
+	public Vector3f multiplyVector() {
+		return target.set(a).multiply(b);
+	}
+
+	@Benchmark
+	public Vector3f multiplyVectorCache() {
+		return a.multiply(b, cache);
+	}
+
+	@Benchmark
+	public Vector3f divideScalar() {
+		return target.set(a).divide(scalar);
+	}
+
+	@Benchmark
+	public Vector3f divideScalarCache() {
+		return a.divide(scalar, cache);
+	}
+
+	@Benchmark
+	public Vector3f negate() {
+		return target.set(a).negate();
+	}
+
+	@Benchmark
+	public Vector3f negateCache() {
+		return a.negate(cache);
+	}
+
+	@Benchmark
+	public Vector3f normalize() {
+		return target.set(a).normalize();
+	}
+
+	@Benchmark
+	public Vector3f normalizeCache() {
+		return a.normalize(cache);
+	}
+
+	@Benchmark
+	public Vector3f cross() {
+		return target.set(a).cross(b);
+	}
+
+	@Benchmark
+	public Vector3f crossCache() {
+		return a.cross(b, cache);
+	}
+
+	@Benchmark
+	public Vector3f crossFloats() {
+		return target.set(a).cross(x, y, z);
+	}
+
+	@Benchmark
+	public Vector3f crossFloatsCache() {
+		return a.cross(x, y, z, cache);
+	}
+
+	@Benchmark
+	public float dot() {
+		return a.dot(b);
+	}
+
+	@Benchmark
+	public float dotFloats() {
+		return a.dot(x, y, z);
+	}
+
+	@Benchmark
+	public float length() {
+		return a.length();
+	}
+
+	@Benchmark
+	public float lengthSquared() {
+		return a.lengthSquared();
+	}
+
+	@Benchmark
+	public float distance() {
+		return a.distance(b);
+	}
+
+	@Benchmark
+	public float distanceFloats() {
+		return a.distance(x, y, z);
+	}
+
+	@Benchmark
+	public float distanceSquared() {
+		return a.distanceSquared(b);
+	}
+
+	@Benchmark
+	public float distanceSquaredFloats() {
+		return a.distanceSquared(x, y, z);
+	}
+}
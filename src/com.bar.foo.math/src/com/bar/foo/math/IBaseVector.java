@@ -0,0 +1,51 @@
+package com.bar.foo.math;
+
+/**
+ * The operations shared by all vectors that do not produce a scalar result.
+ * Scalar results are declared by the sub-interfaces, either as a boxed
+ * {@link Number} ({@link IVector}) or as a primitive ({@link IVectorf},
+ * {@link IVectord}).
+ * 
+ * @author Jordan Deyton
+ *
+ * @param <V>
+ *            The implementing vector type.
+ */
+public interface IBaseVector<V extends IBaseVector<V>> {
+
+	int n();
+
+	int size();
+
+	V set(V v);
+
+	V add(V v);
+
+	V add(V v, V cache);
+
+	V subtract(V v);
+
+	V subtract(V v, V cache);
+
+	V multiply(V v);
+
+	V multiply(V v, V cache);
+
+	// ---- Properties ---- //
+	V normalize();
+
+	V normalize(V cache);
+
+	V negate();
+
+	V negate(V cache);
+
+	// -------------------- //
+
+	// ---- Equals/Hash ---- //
+	boolean equals(Object object);
+
+	int hashCode();
+	// --------------------- //
+
+}
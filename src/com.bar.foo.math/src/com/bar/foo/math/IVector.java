@@ -1,49 +1,33 @@
 package com.bar.foo.math;
 
-public interface IVector<V extends IVector<V, T>, T extends Number> {
-
-	int n();
-
-	int size();
-
-	V set(V v);
-
-	V add(V v);
-
-	V add(V v, V cache);
-
-	V subtract(V v);
-
-	V subtract(V v, V cache);
-
-	V multiply(V v);
-
-	V multiply(V v, V cache);
+/**
+ * A vector whose scalar results are boxed as {@code T}. This is useful for
+ * code that must work over arbitrary {@link Number} types, but every scalar
+ * result is an allocation. Code that only needs {@code float} or
+ * {@code double} vectors should use {@link IVectorf} or {@link IVectord}
+ * instead.
+ * 
+ * @author Jordan Deyton
+ *
+ * @param <V>
+ *            The implementing vector type.
+ * @param <T>
+ *            The type of scalar results.
+ */
+public interface IVector<V extends IVector<V, T>, T extends Number> extends
+		IBaseVector<V> {
 
 	T dot(V v);
+
 	// ---- Properties ---- //
 	T lengthSquared();
 
 	T length();
 
-	V normalize();
-
-	V normalize(V cache);
-
-	V negate();
-
-	V negate(V cache);
-
 	T distanceSquared(V v);
 
 	T distance(V v);
 
 	// -------------------- //
 
-	// ---- Equals/Hash ---- //
-	boolean equals(Object object);
-
-	int hashCode();
-	// --------------------- //
-
 }
@@ -0,0 +1,37 @@
+package com.bar.foo.math;
+
+public interface IVector2d<V extends IVector2d<V>> extends IVectord<V> {
+
+	double getX();
+
+	double getY();
+
+	V set(double x, double y);
+
+	V add(double x, double y);
+
+	V add(double x, double y, V cache);
+
+	V subtract(double x, double y);
+
+	V subtract(double x, double y, V cache);
+
+	V multiply(double x, double y);
+
+	V multiply(double x, double y, V cache);
+
+	double dot(double x, double y);
+
+	// ---- Properties ---- //
+
+	double distanceSquared(double x, double y);
+
+	double distance(double x, double y);
+
+	// -------------------- //
+
+	double cross(double x, double y);
+
+	double cross(V v);
+
+}
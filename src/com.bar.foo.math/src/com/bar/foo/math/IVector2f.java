@@ -1,10 +1,10 @@
 package com.bar.foo.math;
 
-interface IVector2f<V extends IVector2f<V>> extends IVectorf<V> {
+public interface IVector2f<V extends IVector2f<V>> extends IVectorf<V> {
 
-	Float getX();
+	float getX();
 
-	Float getY();
+	float getY();
 
 	V set(float x, float y);
 
@@ -20,18 +20,18 @@ interface IVector2f<V extends IVector2f<V>> extends IVectorf<V> {
 
 	V multiply(float x, float y, V cache);
 
-	Float dot(float x, float y);
+	float dot(float x, float y);
 
 	// ---- Properties ---- //
 
-	Float distanceSquared(float x, float y);
+	float distanceSquared(float x, float y);
 
-	Float distance(float x, float y);
+	float distance(float x, float y);
 
 	// -------------------- //
 
-	Float cross(float x, float y);
+	float cross(float x, float y);
 
-	Float cross(V v);
+	float cross(V v);
 
 }
@@ -0,0 +1,42 @@
+package com.bar.foo.math;
+
+public interface IVector3d<V extends IVector3d<V>> extends IVectord<V> {
+
+	double getX();
+
+	double getY();
+
+	double getZ();
+
+	V set(double x, double y, double z);
+
+	V add(double x, double y, double z);
+
+	V add(double x, double y, double z, V cache);
+
+	V subtract(double x, double y, double z);
+
+	V subtract(double x, double y, double z, V cache);
+
+	V multiply(double x, double y, double z);
+
+	V multiply(double x, double y, double z, V cache);
+
+	double dot(double x, double y, double z);
+
+	// ---- Properties ---- //
+
+	double distanceSquared(double x, double y, double z);
+
+	double distance(double x, double y, double z);
+
+	// -------------------- //
+
+	V cross(double x, double y, double z);
+
+	V cross(double x, double y, double z, V cache);
+
+	V cross(V v);
+
+	V cross(V v, V cache);
+}
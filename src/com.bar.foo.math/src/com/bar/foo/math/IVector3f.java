@@ -2,11 +2,11 @@ package com.bar.foo.math;
 
 public interface IVector3f<V extends IVector3f<V>> extends IVectorf<V> {
 
-	Float getX();
+	float getX();
 
-	Float getY();
+	float getY();
 
-	Float getZ();
+	float getZ();
 
 	V set(float x, float y, float z);
 
@@ -22,13 +22,13 @@ public interface IVector3f<V extends IVector3f<V>> extends IVectorf<V> {
 
 	V multiply(float x, float y, float z, V cache);
 
-	Float dot(float x, float y, float z);
+	float dot(float x, float y, float z);
 
 	// ---- Properties ---- //
 
-	Float distanceSquared(float x, float y, float z);
+	float distanceSquared(float x, float y, float z);
 
-	Float distance(float x, float y, float z);
+	float distance(float x, float y, float z);
 
 	// -------------------- //
 
@@ -0,0 +1,45 @@
+package com.bar.foo.math;
+
+/**
+ * A vector of {@code double}s whose scalar results are primitives, so generic
+ * code written against this interface never boxes.
+ * 
+ * @author Jordan Deyton
+ *
+ * @param <V>
+ *            The implementing vector type.
+ */
+public interface IVectord<V extends IVectord<V>> extends IBaseVector<V> {
+
+	double dot(V v);
+
+	// ---- Properties ---- //
+	double lengthSquared();
+
+	double length();
+
+	double distanceSquared(V v);
+
+	double distance(V v);
+
+	// -------------------- //
+
+	// ---- Scalar Operations ---- //
+	V add(double scalar);
+
+	V add(double scalar, V cache);
+
+	V subtract(double scalar);
+
+	V subtract(double scalar, V cache);
+
+	V multiply(double scalar);
+
+	V multiply(double scalar, V cache);
+
+	V divide(double scalar);
+
+	V divide(double scalar, V cache);
+	// --------------------------- //
+
+}
@@ -1,6 +1,28 @@
 package com.bar.foo.math;
 
-interface IVectorf<V extends IVectorf<V>> extends IVector<V, Float> {
+/**
+ * A vector of {@code float}s whose scalar results are primitives, so generic
+ * code written against this interface never boxes.
+ * 
+ * @author Jordan Deyton
+ *
+ * @param <V>
+ *            The implementing vector type.
+ */
+public interface IVectorf<V extends IVectorf<V>> extends IBaseVector<V> {
+
+	float dot(V v);
+
+	// ---- Properties ---- //
+	float lengthSquared();
+
+	float length();
+
+	float distanceSquared(V v);
+
+	float distance(V v);
+
+	// -------------------- //
 
 	// ---- Scalar Operations ---- //
 	V add(float scalar);
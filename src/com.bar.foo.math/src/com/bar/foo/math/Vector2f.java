@@ -64,12 +64,12 @@ public class Vector2f implements IVector2f<Vector2f> {
 	}
 
 	@Override
-	public Float getX() {
+	public float getX() {
 		return x;
 	}
 
 	@Override
-	public Float getY() {
+	public float getY() {
 		return y;
 	}
 
@@ -279,14 +279,14 @@ public class Vector2f implements IVector2f<Vector2f> {
 	// ---- Other Vector Operations ---- //
 
 	@Override
-	public Float lengthSquared() {
+	public float lengthSquared() {
 		double x2 = x * x;
 		double y2 = y * y;
 		return (float) (x2 + y2);
 	}
 
 	@Override
-	public Float length() {
+	public float length() {
 		return FloatMath.sqrt(lengthSquared());
 	}
 
@@ -337,29 +337,29 @@ public class Vector2f implements IVector2f<Vector2f> {
 	}
 
 	@Override
-	public Float distanceSquared(float x, float y) {
+	public float distanceSquared(float x, float y) {
 		double dx = this.x - x;
 		double dy = this.y - y;
 		return (float) (dx * dx + dy * dy);
 	}
 
 	@Override
-	public Float distance(float x, float y) {
+	public float distance(float x, float y) {
 		return FloatMath.sqrt(distanceSquared(x, y));
 	}
 
 	@Override
-	public Float dot(float x, float y) {
+	public float dot(float x, float y) {
 		return this.x * x + this.y * y;
 	}
 
 	@Override
-	public Float cross(float x, float y) {
+	public float cross(float x, float y) {
 		return this.x * y - this.y * x;
 	}
 
 	@Override
-	public Float distanceSquared(Vector2f v) {
+	public float distanceSquared(Vector2f v) {
 		if (v == null) {
 			throw new NullPointerException("Vector2f error: "
 					+ "Null arguments not allowed.");
@@ -368,7 +368,7 @@ public class Vector2f implements IVector2f<Vector2f> {
 	}
 
 	@Override
-	public Float distance(Vector2f v) {
+	public float distance(Vector2f v) {
 		if (v == null) {
 			throw new NullPointerException("Vector2f error: "
 					+ "Null arguments not allowed.");
@@ -377,7 +377,7 @@ public class Vector2f implements IVector2f<Vector2f> {
 	}
 
 	@Override
-	public Float dot(Vector2f v) {
+	public float dot(Vector2f v) {
 		if (v == null) {
 			throw new NullPointerException("Vector2f error: "
 					+ "Null arguments not allowed.");
@@ -386,7 +386,7 @@ public class Vector2f implements IVector2f<Vector2f> {
 	}
 
 	@Override
-	public Float cross(Vector2f v) {
+	public float cross(Vector2f v) {
 		if (v == null) {
 			throw new NullPointerException("Vector2f error: "
 					+ "Null arguments not allowed.");
@@ -144,7 +144,7 @@ public class Vector3f implements IVector3f<Vector3f> {
 	 * Implements IVector3f.
 	 */
 	@Override
-	public Float getX() {
+	public float getX() {
 		return x;
 	}
 
@@ -152,7 +152,7 @@ public class Vector3f implements IVector3f<Vector3f> {
 	 * Implements IVector3f.
 	 */
 	@Override
-	public Float getY() {
+	public float getY() {
 		return y;
 	}
 
@@ -160,7 +160,7 @@ public class Vector3f implements IVector3f<Vector3f> {
 	 * Implements IVector3f.
 	 */
 	@Override
-	public Float getZ() {
+	public float getZ() {
 		return z;
 	}
 
@@ -453,7 +453,7 @@ public class Vector3f implements IVector3f<Vector3f> {
 	 * Implements IVector3f.
 	 */
 	@Override
-	public Float lengthSquared() {
+	public float lengthSquared() {
 		double x2 = x * x;
 		double y2 = y * y;
 		double z2 = z * z;
@@ -464,7 +464,7 @@ public class Vector3f implements IVector3f<Vector3f> {
 	 * Implements IVector3f.
 	 */
 	@Override
-	public Float length() {
+	public float length() {
 		return FloatMath.sqrt(lengthSquared());
 	}
 
@@ -532,7 +532,7 @@ public class Vector3f implements IVector3f<Vector3f> {
 	 * Implements IVector3f.
 	 */
 	@Override
-	public Float distanceSquared(float x, float y, float z) {
+	public float distanceSquared(float x, float y, float z) {
 		double dx = this.x - x;
 		double dy = this.y - y;
 		double dz = this.z - z;
@@ -543,7 +543,7 @@ public class Vector3f implements IVector3f<Vector3f> {
 	 * Implements IVector3f.
 	 */
 	@Override
-	public Float distance(float x, float y, float z) {
+	public float distance(float x, float y, float z) {
 		return FloatMath.sqrt(distanceSquared(x, y, z));
 	}
 
@@ -551,7 +551,7 @@ public class Vector3f implements IVector3f<Vector3f> {
 	 * Implements IVector3f.
 	 */
 	@Override
-	public Float dot(float x, float y, float z) {
+	public float dot(float x, float y, float z) {
 		return this.x * x + this.y * y + this.z * z;
 	}
 
@@ -587,7 +587,7 @@ public class Vector3f implements IVector3f<Vector3f> {
 	 * Implements IVector3f.
 	 */
 	@Override
-	public Float distanceSquared(Vector3f v) {
+	public float distanceSquared(Vector3f v) {
 		if (v == null) {
 			throw new NullPointerException("Vector3f error: "
 					+ "Null arguments not allowed.");
@@ -599,7 +599,7 @@ public class Vector3f implements IVector3f<Vector3f> {
 	 * Implements IVector3f.
 	 */
 	@Override
-	public Float distance(Vector3f v) {
+	public float distance(Vector3f v) {
 		if (v == null) {
 			throw new NullPointerException("Vector3f error: "
 					+ "Null arguments not allowed.");
@@ -611,7 +611,7 @@ public class Vector3f implements IVector3f<Vector3f> {
 	 * Implements IVector3f.
 	 */
 	@Override
-	public Float dot(Vector3f v) {
+	public float dot(Vector3f v) {
 		if (v == null) {
 			throw new NullPointerException("Vector3f error: "
 					+ "Null arguments not allowed.");